@@ -0,0 +1,207 @@
+/*
+ * MementoBuilderTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 8:57:12 PM.
+ */
+
+package org.gamegineer.common.core.util.memento;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link MementoBuilder} class.
+ */
+public final class MementoBuilderTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The memento builder under test in the fixture. */
+    private Optional<MementoBuilder> mementoBuilder_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code MementoBuilderTest} class.
+     */
+    public MementoBuilderTest()
+    {
+        mementoBuilder_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the memento builder under test in the fixture.
+     * 
+     * @return The memento builder under test in the fixture.
+     */
+    private MementoBuilder getMementoBuilder()
+    {
+        return mementoBuilder_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        mementoBuilder_ = Optional.of( new MementoBuilder() );
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#beginMementoAttribute} method throws an
+     * exception when no memento is under construction.
+     */
+    @Test( expected = IllegalStateException.class )
+    public void testBeginMementoAttribute_NoMemento()
+    {
+        getMementoBuilder().beginMementoAttribute( "name" ); //$NON-NLS-1$
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#beginMemento} method throws an
+     * exception when the memento has been completely visited.
+     */
+    @Test( expected = IllegalStateException.class )
+    public void testBeginMemento_MementoComplete()
+    {
+        final MementoBuilder mementoBuilder = getMementoBuilder();
+        mementoBuilder.beginMemento();
+        mementoBuilder.endMemento();
+
+        mementoBuilder.beginMemento();
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#endMementoAttribute} method throws an
+     * exception when the attribute memento has not been visited.
+     */
+    @Test( expected = IllegalStateException.class )
+    public void testEndMementoAttribute_NoMemento()
+    {
+        final MementoBuilder mementoBuilder = getMementoBuilder();
+        mementoBuilder.beginMemento();
+        mementoBuilder.beginMementoAttribute( "name" ); //$NON-NLS-1$
+
+        mementoBuilder.endMementoAttribute();
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#getMemento} method throws an exception
+     * when the memento has not been completely visited.
+     */
+    @Test( expected = IllegalStateException.class )
+    public void testGetMemento_MementoIncomplete()
+    {
+        final MementoBuilder mementoBuilder = getMementoBuilder();
+        mementoBuilder.beginMemento();
+
+        mementoBuilder.getMemento();
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#getMemento} method returns the
+     * materialized memento when the visited memento contains nested mementos.
+     */
+    @Test
+    public void testGetMemento_NestedMementos()
+    {
+        final MementoBuilder mementoBuilder = getMementoBuilder();
+        mementoBuilder.beginMemento();
+        mementoBuilder.beginMementoAttribute( "child" ); //$NON-NLS-1$
+        mementoBuilder.beginMemento();
+        mementoBuilder.visitAttribute( "value", "child" ); //$NON-NLS-1$ //$NON-NLS-2$
+        mementoBuilder.endMemento();
+        mementoBuilder.endMementoAttribute();
+        mementoBuilder.beginMementoListAttribute( "children" ); //$NON-NLS-1$
+        mementoBuilder.beginMemento();
+        mementoBuilder.visitAttribute( "value", "first" ); //$NON-NLS-1$ //$NON-NLS-2$
+        mementoBuilder.endMemento();
+        mementoBuilder.beginMemento();
+        mementoBuilder.visitAttribute( "value", "second" ); //$NON-NLS-1$ //$NON-NLS-2$
+        mementoBuilder.endMemento();
+        mementoBuilder.endMementoListAttribute();
+        mementoBuilder.endMemento();
+        final Map<String, Object> expectedMemento = new HashMap<>();
+        expectedMemento.put( "child", Collections.singletonMap( "value", "child" ) ); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        expectedMemento.put( "children", Arrays.asList( //$NON-NLS-1$
+            Collections.singletonMap( "value", "first" ), //$NON-NLS-1$ //$NON-NLS-2$
+            Collections.singletonMap( "value", "second" ) ) ); //$NON-NLS-1$ //$NON-NLS-2$
+
+        final Object actualMemento = mementoBuilder.getMemento();
+
+        assertEquals( expectedMemento, actualMemento );
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#getMemento} method returns an
+     * immutable memento.
+     */
+    @Test( expected = UnsupportedOperationException.class )
+    @SuppressWarnings( "unchecked" )
+    public void testGetMemento_ReturnValue_Immutable()
+    {
+        final MementoBuilder mementoBuilder = getMementoBuilder();
+        mementoBuilder.beginMemento();
+        mementoBuilder.endMemento();
+
+        ((Map<String, Object>)mementoBuilder.getMemento()).put( "name", "value" ); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Ensures the {@link MementoBuilder#getMemento} method returns the
+     * materialized memento when the visited memento contains only simple
+     * attributes.
+     */
+    @Test
+    public void testGetMemento_SimpleAttributes()
+    {
+        final MementoBuilder mementoBuilder = getMementoBuilder();
+        mementoBuilder.beginMemento();
+        mementoBuilder.visitAttribute( "name1", "value1" ); //$NON-NLS-1$ //$NON-NLS-2$
+        mementoBuilder.visitAttribute( "name2", null ); //$NON-NLS-1$
+        mementoBuilder.endMemento();
+        final Map<String, Object> expectedMemento = new HashMap<>();
+        expectedMemento.put( "name1", "value1" ); //$NON-NLS-1$ //$NON-NLS-2$
+        expectedMemento.put( "name2", null ); //$NON-NLS-1$
+
+        final Object actualMemento = mementoBuilder.getMemento();
+
+        assertEquals( expectedMemento, actualMemento );
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * IMementoVisitor.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 8:31:52 PM.
+ */
+
+package org.gamegineer.common.core.util.memento;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A visitor that receives the content of a memento as a sequence of events
+ * rather than as a materialized memento.
+ * 
+ * <p>
+ * A memento is visited as a call to {@link #beginMemento()}, followed by one
+ * event for each of its attributes, followed by a call to
+ * {@link #endMemento()}. An attribute whose value is not a memento is visited
+ * by a call to {@link #visitAttribute(String, Object)}. An attribute whose
+ * value is a memento is visited by a call to
+ * {@link #beginMementoAttribute(String)}, followed by exactly one memento,
+ * followed by a call to {@link #endMementoAttribute()}. An attribute whose
+ * value is a list of mementos is visited by a call to
+ * {@link #beginMementoListAttribute(String)}, followed by zero or more
+ * mementos, followed by a call to {@link #endMementoListAttribute()}.
+ * </p>
+ */
+public interface IMementoVisitor
+{
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Begins visiting a memento.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the memento.
+     */
+    public void beginMemento()
+        throws MementoException;
+
+    /**
+     * Begins visiting an attribute whose value is a memento.
+     * 
+     * @param name
+     *        The attribute name.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the attribute.
+     */
+    public void beginMementoAttribute(
+        String name )
+        throws MementoException;
+
+    /**
+     * Begins visiting an attribute whose value is a list of mementos.
+     * 
+     * @param name
+     *        The attribute name.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the attribute.
+     */
+    public void beginMementoListAttribute(
+        String name )
+        throws MementoException;
+
+    /**
+     * Ends visiting a memento.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the memento.
+     */
+    public void endMemento()
+        throws MementoException;
+
+    /**
+     * Ends visiting an attribute whose value is a memento.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the attribute.
+     */
+    public void endMementoAttribute()
+        throws MementoException;
+
+    /**
+     * Ends visiting an attribute whose value is a list of mementos.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the attribute.
+     */
+    public void endMementoListAttribute()
+        throws MementoException;
+
+    /**
+     * Visits an attribute whose value is not a memento.
+     * 
+     * @param name
+     *        The attribute name.
+     * @param value
+     *        The attribute value; may be {@code null}.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the attribute.
+     */
+    public void visitAttribute(
+        String name,
+        @Nullable Object value )
+        throws MementoException;
+}
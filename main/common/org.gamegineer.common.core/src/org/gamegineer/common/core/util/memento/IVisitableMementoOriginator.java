@@ -0,0 +1,60 @@
+/*
+ * IVisitableMementoOriginator.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 8:34:15 PM.
+ */
+
+package org.gamegineer.common.core.util.memento;
+
+/**
+ * A memento originator that can stream its state to a memento visitor without
+ * materializing a memento.
+ */
+public interface IVisitableMementoOriginator
+    extends IMementoOriginator
+{
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Visits the state of the originator using the specified memento visitor.
+     * 
+     * <p>
+     * The sequence of events delivered to the visitor describes a memento
+     * equivalent to the memento returned from {@link #createMemento()}.
+     * </p>
+     * 
+     * <p>
+     * The names of the attributes and the order in which they are visited are
+     * part of the contract of the originator. An originator whose clients may
+     * depend on them must publish the attribute names and document the order
+     * of events in its own specification of this method; otherwise, clients
+     * must not depend on either.
+     * </p>
+     * 
+     * @param visitor
+     *        The memento visitor.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the state of the originator.
+     */
+    public void acceptMementoVisitor(
+        IMementoVisitor visitor )
+        throws MementoException;
+}
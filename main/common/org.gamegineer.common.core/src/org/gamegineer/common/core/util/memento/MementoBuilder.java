@@ -0,0 +1,306 @@
+/*
+ * MementoBuilder.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 8:38:06 PM.
+ */
+
+package org.gamegineer.common.core.util.memento;
+
+import static org.gamegineer.common.core.runtime.Assert.assertStateLegal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A memento visitor that materializes the visited memento.
+ * 
+ * <p>
+ * Each visited memento is materialized as an unmodifiable map from attribute
+ * name to attribute value. Each list of mementos is materialized as a list.
+ * </p>
+ */
+@NotThreadSafe
+public final class MementoBuilder
+    implements IMementoVisitor
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The stack of elements under construction. Each element is a memento, a
+     * memento attribute, or a memento list attribute.
+     */
+    private final Deque<Object> elements_;
+
+    /**
+     * The materialized memento or {@code null} if the memento has not been
+     * completely visited.
+     */
+    private @Nullable Object memento_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code MementoBuilder} class.
+     */
+    public MementoBuilder()
+    {
+        elements_ = new ArrayDeque<>();
+        memento_ = null;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMemento()
+     */
+    @Override
+    public void beginMemento()
+    {
+        final Object element = elements_.peek();
+        if( element == null )
+        {
+            assertStateLegal( memento_ == null, NonNlsMessages.MementoBuilder_mementoComplete );
+        }
+        else if( element instanceof MementoAttribute )
+        {
+            assertStateLegal( ((MementoAttribute)element).memento == null, NonNlsMessages.MementoBuilder_illegalEvent );
+        }
+        else
+        {
+            assertStateLegal( element instanceof MementoListAttribute, NonNlsMessages.MementoBuilder_illegalEvent );
+        }
+
+        elements_.push( new HashMap<String, Object>() );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoAttribute(java.lang.String)
+     */
+    @Override
+    public void beginMementoAttribute(
+        final String name )
+    {
+        getMemento( elements_.peek() );
+
+        elements_.push( new MementoAttribute( name ) );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoListAttribute(java.lang.String)
+     */
+    @Override
+    public void beginMementoListAttribute(
+        final String name )
+    {
+        getMemento( elements_.peek() );
+
+        elements_.push( new MementoListAttribute( name ) );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMemento()
+     */
+    @Override
+    public void endMemento()
+    {
+        final Map<String, Object> memento = Collections.unmodifiableMap( getMemento( elements_.poll() ) );
+
+        final Object element = elements_.peek();
+        if( element == null )
+        {
+            memento_ = memento;
+        }
+        else if( element instanceof MementoAttribute )
+        {
+            ((MementoAttribute)element).memento = memento;
+        }
+        else
+        {
+            ((MementoListAttribute)element).mementos.add( memento );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoAttribute()
+     */
+    @Override
+    public void endMementoAttribute()
+    {
+        final Object element = elements_.peek();
+        assertStateLegal( element instanceof MementoAttribute, NonNlsMessages.MementoBuilder_illegalEvent );
+        final MementoAttribute mementoAttribute = (MementoAttribute)element;
+        final Object memento = mementoAttribute.memento;
+        assertStateLegal( memento != null, NonNlsMessages.MementoBuilder_illegalEvent );
+
+        elements_.pop();
+        getMemento( elements_.peek() ).put( mementoAttribute.name, memento );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoListAttribute()
+     */
+    @Override
+    public void endMementoListAttribute()
+    {
+        final Object element = elements_.peek();
+        assertStateLegal( element instanceof MementoListAttribute, NonNlsMessages.MementoBuilder_illegalEvent );
+        final MementoListAttribute mementoListAttribute = (MementoListAttribute)element;
+
+        elements_.pop();
+        getMemento( elements_.peek() ).put( mementoListAttribute.name, mementoListAttribute.mementos );
+    }
+
+    /**
+     * Gets the materialized memento.
+     * 
+     * @return The materialized memento.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the memento has not been completely visited.
+     */
+    public Object getMemento()
+    {
+        final Object memento = memento_;
+        assertStateLegal( memento != null, NonNlsMessages.MementoBuilder_getMemento_mementoIncomplete );
+        return memento;
+    }
+
+    /**
+     * Gets the specified element as a memento under construction.
+     * 
+     * @param element
+     *        The element or {@code null} if there is no element.
+     * 
+     * @return The memento under construction.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If {@code element} is not a memento under construction.
+     */
+    @SuppressWarnings( "unchecked" )
+    private static Map<String, Object> getMemento(
+        final @Nullable Object element )
+    {
+        assertStateLegal( element instanceof Map, NonNlsMessages.MementoBuilder_illegalEvent );
+        return (Map<String, Object>)element;
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#visitAttribute(java.lang.String, java.lang.Object)
+     */
+    @Override
+    public void visitAttribute(
+        final String name,
+        final @Nullable Object value )
+    {
+        getMemento( elements_.peek() ).put( name, value );
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * An attribute whose value is a memento under construction.
+     */
+    @NotThreadSafe
+    private static final class MementoAttribute
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /**
+         * The attribute value or {@code null} if the memento has not been
+         * completely visited.
+         */
+        @Nullable
+        Object memento;
+
+        /** The attribute name. */
+        final String name;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code MementoAttribute} class.
+         * 
+         * @param name
+         *        The attribute name.
+         */
+        MementoAttribute(
+            final String name )
+        {
+            this.memento = null;
+            this.name = name;
+        }
+    }
+
+    /**
+     * An attribute whose value is a list of mementos under construction.
+     */
+    @NotThreadSafe
+    private static final class MementoListAttribute
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The attribute value. */
+        final List<Object> mementos;
+
+        /** The attribute name. */
+        final String name;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code MementoListAttribute}
+         * class.
+         * 
+         * @param name
+         *        The attribute name.
+         */
+        MementoListAttribute(
+            final String name )
+        {
+            this.mementos = new ArrayList<>();
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * NonNlsMessages.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 8:38:51 PM.
+ */
+
+package org.gamegineer.common.core.util.memento;
+
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * A utility class to manage non-localized messages for the package.
+ */
+@ThreadSafe
+final class NonNlsMessages
+    extends NLS
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    // --- MementoBuilder ---------------------------------------------------
+
+    /** The memento has not been completely visited. */
+    public static String MementoBuilder_getMemento_mementoIncomplete = ""; //$NON-NLS-1$
+
+    /** The memento event is not legal in the current state. */
+    public static String MementoBuilder_illegalEvent = ""; //$NON-NLS-1$
+
+    /** The memento has already been completely visited. */
+    public static String MementoBuilder_mementoComplete = ""; //$NON-NLS-1$
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes the {@code NonNlsMessages} class.
+     */
+    static
+    {
+        NLS.initializeMessages( NonNlsMessages.class.getName(), NonNlsMessages.class );
+    }
+
+    /**
+     * Initializes a new instance of the {@code NonNlsMessages} class.
+     */
+    private NonNlsMessages()
+    {
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 import net.jcip.annotations.GuardedBy;
@@ -43,6 +44,15 @@ import org.osgi.framework.ServiceReference;
 
 /**
  * Implementation of {@link IPersistenceDelegateRegistry}.
+ * 
+ * <p>
+ * Lookups do not acquire the instance lock. Each registration change publishes
+ * a new immutable snapshot of the registered persistence delegates, and each
+ * snapshot caches the result of every lookup by type, including lookups for
+ * which no persistence delegate is registered. Because the cache belongs to
+ * the snapshot, it is discarded whenever a persistence delegate is registered
+ * or unregistered, including in response to service registry events.
+ * </p>
  */
 @ThreadSafe
 public final class PersistenceDelegateRegistry
@@ -64,11 +74,10 @@ public final class PersistenceDelegateRegistry
     private final Map<ServiceReference<IPersistenceDelegate>, PersistenceDelegateProxyRegistration> persistenceDelegateProxyRegistrations_;
 
     /**
-     * The collection of registered persistence delegates. The key is the type
-     * name; the value is the associated persistence delegate.
+     * The current snapshot of registered persistence delegates. It is only
+     * replaced while holding the instance lock but may be read without it.
      */
-    @GuardedBy( "lock_" )
-    private final Map<String, IPersistenceDelegate> persistenceDelegates_;
+    private volatile Snapshot snapshot_;
 
 
     // ======================================================================
@@ -83,7 +92,7 @@ public final class PersistenceDelegateRegistry
     {
         lock_ = new Object();
         persistenceDelegateProxyRegistrations_ = new HashMap<>();
-        persistenceDelegates_ = new HashMap<>();
+        snapshot_ = new Snapshot( Collections.<@NonNull String, @NonNull IPersistenceDelegate>emptyMap() );
     }
 
 
@@ -125,7 +134,7 @@ public final class PersistenceDelegateRegistry
     public @Nullable IPersistenceDelegate getPersistenceDelegate(
         final Class<?> type )
     {
-        return getPersistenceDelegate( type.getName() );
+        return snapshot_.getPersistenceDelegate( type );
     }
 
     /*
@@ -135,10 +144,7 @@ public final class PersistenceDelegateRegistry
     public @Nullable IPersistenceDelegate getPersistenceDelegate(
         final String typeName )
     {
-        synchronized( lock_ )
-        {
-            return persistenceDelegates_.get( typeName );
-        }
+        return snapshot_.persistenceDelegates.get( typeName );
     }
 
     /*
@@ -147,10 +153,7 @@ public final class PersistenceDelegateRegistry
     @Override
     public Set<String> getTypeNames()
     {
-        synchronized( lock_ )
-        {
-            return new HashSet<>( persistenceDelegates_.keySet() );
-        }
+        return new HashSet<>( snapshot_.persistenceDelegates.keySet() );
     }
 
     /*
@@ -163,7 +166,9 @@ public final class PersistenceDelegateRegistry
     {
         synchronized( lock_ )
         {
-            registerPersistenceDelegate( type.getName(), persistenceDelegate );
+            final Map<String, IPersistenceDelegate> persistenceDelegates = new HashMap<>( snapshot_.persistenceDelegates );
+            registerPersistenceDelegate( type.getName(), persistenceDelegate, persistenceDelegates );
+            snapshot_ = new Snapshot( persistenceDelegates );
         }
     }
 
@@ -190,12 +195,13 @@ public final class PersistenceDelegateRegistry
         synchronized( lock_ )
         {
             final PersistenceDelegateProxy persistenceDelegateProxy = new PersistenceDelegateProxy( persistenceDelegateReference );
+            final Map<String, IPersistenceDelegate> persistenceDelegates = new HashMap<>( snapshot_.persistenceDelegates );
             final Set<String> typeNames = new HashSet<>();
             for( final String typeName : getDelegatorTypeNames( persistenceDelegateReference ) )
             {
                 try
                 {
-                    registerPersistenceDelegate( typeName, persistenceDelegateProxy );
+                    registerPersistenceDelegate( typeName, persistenceDelegateProxy, persistenceDelegates );
                     typeNames.add( typeName );
                 }
                 catch( final IllegalArgumentException e )
@@ -206,6 +212,7 @@ public final class PersistenceDelegateRegistry
 
             if( !typeNames.isEmpty() )
             {
+                snapshot_ = new Snapshot( persistenceDelegates );
                 final PersistenceDelegateProxyRegistration persistenceDelegateProxyRegistration = new PersistenceDelegateProxyRegistration( typeNames, persistenceDelegateProxy );
                 persistenceDelegateProxyRegistrations_.put( persistenceDelegateReference, persistenceDelegateProxyRegistration );
             }
@@ -213,12 +220,16 @@ public final class PersistenceDelegateRegistry
     }
 
     /**
-     * Registers the specified persistence delegate for the specified type.
+     * Registers the specified persistence delegate for the specified type in
+     * the specified collection of persistence delegates.
      * 
      * @param typeName
      *        The name of the type associated with the persistence delegate.
      * @param persistenceDelegate
      *        The persistence delegate.
+     * @param persistenceDelegates
+     *        The collection of persistence delegates to be modified. The key is
+     *        the type name; the value is the associated persistence delegate.
      * 
      * @throws java.lang.IllegalArgumentException
      *         If a persistence delegate is already registered for the specified
@@ -227,12 +238,13 @@ public final class PersistenceDelegateRegistry
     @GuardedBy( "lock_" )
     private void registerPersistenceDelegate(
         final String typeName,
-        final IPersistenceDelegate persistenceDelegate )
+        final IPersistenceDelegate persistenceDelegate,
+        final Map<String, IPersistenceDelegate> persistenceDelegates )
     {
         assert Thread.holdsLock( lock_ );
 
-        assertArgumentLegal( !persistenceDelegates_.containsKey( typeName ), "typeName", NonNlsMessages.PersistenceDelegateRegistry_registerPersistenceDelegate_type_registered( typeName ) ); //$NON-NLS-1$
-        persistenceDelegates_.put( typeName, persistenceDelegate );
+        assertArgumentLegal( !persistenceDelegates.containsKey( typeName ), "typeName", NonNlsMessages.PersistenceDelegateRegistry_registerPersistenceDelegate_type_registered( typeName ) ); //$NON-NLS-1$
+        persistenceDelegates.put( typeName, persistenceDelegate );
         Debug.getDefault().trace( Debug.OPTION_SERIALIZABLE, String.format( "Registered persistence delegate '%1$s' for type '%2$s'", persistenceDelegate, typeName ) ); //$NON-NLS-1$
     }
 
@@ -246,7 +258,9 @@ public final class PersistenceDelegateRegistry
     {
         synchronized( lock_ )
         {
-            unregisterPersistenceDelegate( type.getName(), persistenceDelegate );
+            final Map<String, IPersistenceDelegate> persistenceDelegates = new HashMap<>( snapshot_.persistenceDelegates );
+            unregisterPersistenceDelegate( type.getName(), persistenceDelegate, persistenceDelegates );
+            snapshot_ = new Snapshot( persistenceDelegates );
         }
     }
 
@@ -273,22 +287,28 @@ public final class PersistenceDelegateRegistry
             if( persistenceDelegateProxyRegistration != null )
             {
                 final PersistenceDelegateProxy persistenceDelegateProxy = persistenceDelegateProxyRegistration.persistenceDelegateProxy;
+                final Map<String, IPersistenceDelegate> persistenceDelegates = new HashMap<>( snapshot_.persistenceDelegates );
                 for( final String typeName : persistenceDelegateProxyRegistration.typeNames )
                 {
-                    unregisterPersistenceDelegate( typeName, persistenceDelegateProxy );
+                    unregisterPersistenceDelegate( typeName, persistenceDelegateProxy, persistenceDelegates );
                 }
+                snapshot_ = new Snapshot( persistenceDelegates );
                 persistenceDelegateProxy.dispose();
             }
         }
     }
 
     /**
-     * Unregisters the persistence delegate for the specified type.
+     * Unregisters the persistence delegate for the specified type from the
+     * specified collection of persistence delegates.
      * 
      * @param typeName
      *        The name of the type associated with the persistence delegate.
      * @param persistenceDelegate
      *        The persistence delegate.
+     * @param persistenceDelegates
+     *        The collection of persistence delegates to be modified. The key is
+     *        the type name; the value is the associated persistence delegate.
      * 
      * @throws java.lang.IllegalArgumentException
      *         If the specified persistence delegate was not previously
@@ -297,12 +317,13 @@ public final class PersistenceDelegateRegistry
     @GuardedBy( "lock_" )
     private void unregisterPersistenceDelegate(
         final String typeName,
-        final IPersistenceDelegate persistenceDelegate )
+        final IPersistenceDelegate persistenceDelegate,
+        final Map<String, IPersistenceDelegate> persistenceDelegates )
     {
         assert Thread.holdsLock( lock_ );
 
-        assertArgumentLegal( persistenceDelegate.equals( persistenceDelegates_.get( typeName ) ), "typeName", NonNlsMessages.PersistenceDelegateRegistry_unregisterPersistenceDelegate_type_unregistered( typeName ) ); //$NON-NLS-1$
-        persistenceDelegates_.remove( typeName );
+        assertArgumentLegal( persistenceDelegate.equals( persistenceDelegates.get( typeName ) ), "typeName", NonNlsMessages.PersistenceDelegateRegistry_unregisterPersistenceDelegate_type_unregistered( typeName ) ); //$NON-NLS-1$
+        persistenceDelegates.remove( typeName );
         Debug.getDefault().trace( Debug.OPTION_SERIALIZABLE, String.format( "Unregistered persistence delegate '%1$s' for type '%2$s'", persistenceDelegate, typeName ) ); //$NON-NLS-1$
     }
 
@@ -354,4 +375,83 @@ public final class PersistenceDelegateRegistry
             this.persistenceDelegateProxy = persistenceDelegateProxy;
         }
     }
+
+    /**
+     * An immutable snapshot of the registered persistence delegates together
+     * with a cache of the lookups performed against it.
+     */
+    @ThreadSafe
+    private static final class Snapshot
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /**
+         * The cache of persistence delegates looked up by type. The value
+         * associated with a type is its persistence delegate or an empty value
+         * if no persistence delegate is registered for the type.
+         * 
+         * <p>
+         * The cache is a class value so that it does not prevent the class
+         * loaders of uninstalled or updated bundles from being reclaimed.
+         * </p>
+         */
+        private final ClassValue<Optional<IPersistenceDelegate>> cachedPersistenceDelegates_;
+
+        /**
+         * The collection of registered persistence delegates. The key is the
+         * type name; the value is the associated persistence delegate.
+         */
+        final Map<String, IPersistenceDelegate> persistenceDelegates;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code Snapshot} class.
+         * 
+         * @param persistenceDelegates
+         *        The collection of registered persistence delegates. The key
+         *        is the type name; the value is the associated persistence
+         *        delegate.
+         */
+        Snapshot(
+            final Map<String, IPersistenceDelegate> persistenceDelegates )
+        {
+            final Map<String, IPersistenceDelegate> persistenceDelegatesCopy = Collections.unmodifiableMap( new HashMap<>( persistenceDelegates ) );
+            cachedPersistenceDelegates_ = new ClassValue<Optional<IPersistenceDelegate>>()
+            {
+                @Override
+                protected Optional<IPersistenceDelegate> computeValue(
+                    final Class<?> type )
+                {
+                    return Optional.ofNullable( persistenceDelegatesCopy.get( type.getName() ) );
+                }
+            };
+            this.persistenceDelegates = persistenceDelegatesCopy;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the persistence delegate associated with the specified type.
+         * 
+         * @param type
+         *        The type associated with the persistence delegate.
+         * 
+         * @return The persistence delegate associated with the specified type
+         *         or {@code null} if no such type is registered.
+         */
+        @Nullable IPersistenceDelegate getPersistenceDelegate(
+            final Class<?> type )
+        {
+            return cachedPersistenceDelegates_.get( type ).orElse( null );
+        }
+    }
 }
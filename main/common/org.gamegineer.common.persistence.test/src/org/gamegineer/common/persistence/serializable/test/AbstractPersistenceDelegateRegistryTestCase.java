@@ -219,6 +219,25 @@ public abstract class AbstractPersistenceDelegateRegistryTestCase
         assertSame( expectedPersistenceDelegate, persistenceDelegateRegistry.getPersistenceDelegate( type ) );
     }
 
+    /**
+     * Ensures the
+     * {@link IPersistenceDelegateRegistry#registerPersistenceDelegate} method
+     * registers a persistence delegate whose type is unregistered but was
+     * previously looked up.
+     */
+    @Test
+    public void testRegisterPersistenceDelegate_Type_Unregistered_PreviouslyLookedUp()
+    {
+        final IPersistenceDelegateRegistry persistenceDelegateRegistry = getPersistenceDelegateRegistry();
+        final Class<?> type = Object.class;
+        final IPersistenceDelegate expectedPersistenceDelegate = new FakePersistenceDelegate();
+        assertNull( persistenceDelegateRegistry.getPersistenceDelegate( type ) );
+
+        persistenceDelegateRegistry.registerPersistenceDelegate( type, expectedPersistenceDelegate );
+
+        assertSame( expectedPersistenceDelegate, persistenceDelegateRegistry.getPersistenceDelegate( type ) );
+    }
+
     /**
      * Ensures the
      * {@link IPersistenceDelegateRegistry#unregisterPersistenceDelegate} method
@@ -235,6 +254,26 @@ public abstract class AbstractPersistenceDelegateRegistryTestCase
         persistenceDelegateRegistry.unregisterPersistenceDelegate( type, new FakePersistenceDelegate() );
     }
 
+    /**
+     * Ensures the
+     * {@link IPersistenceDelegateRegistry#unregisterPersistenceDelegate} method
+     * unregisters a persistence delegate for a previously registered type that
+     * was previously looked up.
+     */
+    @Test
+    public void testUnregisterPersistenceDelegate_Type_Registered_PreviouslyLookedUp()
+    {
+        final IPersistenceDelegateRegistry persistenceDelegateRegistry = getPersistenceDelegateRegistry();
+        final Class<?> type = Object.class;
+        final IPersistenceDelegate persistenceDelegate = new FakePersistenceDelegate();
+        persistenceDelegateRegistry.registerPersistenceDelegate( type, persistenceDelegate );
+        assertSame( persistenceDelegate, persistenceDelegateRegistry.getPersistenceDelegate( type ) );
+
+        persistenceDelegateRegistry.unregisterPersistenceDelegate( type, persistenceDelegate );
+
+        assertNull( persistenceDelegateRegistry.getPersistenceDelegate( type ) );
+    }
+
     /**
      * Ensures the
      * {@link IPersistenceDelegateRegistry#unregisterPersistenceDelegate} method
@@ -23,6 +23,7 @@ package org.gamegineer.common.persistence.serializable;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -142,9 +143,107 @@ public final class ObjectStreamTest
                 return null;
             }
         } ).anyTimes();
+        EasyMock.expect( persistenceDelegateRegistry.getPersistenceDelegate( EasyMock.<@NonNull Class<?>>notNull() ) ).andAnswer( new IAnswer<@Nullable IPersistenceDelegate>()
+        {
+            @Override
+            public @Nullable IPersistenceDelegate answer()
+            {
+                final Class<?> type = (Class<?>)EasyMock.getCurrentArguments()[ 0 ];
+                if( type == FakeNonSerializableClass.class )
+                {
+                    return new FakeNonSerializableClassPersistenceDelegate();
+                }
+
+                return null;
+            }
+        } ).anyTimes();
         mocksControl.replay();
     }
 
+    /**
+     * Ensures the object serialization streams can round-trip a sequence of
+     * objects separated by resets when class descriptors are retained across
+     * resets and that each class descriptor is written in full only once.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testRoundTrip_ClassDescriptorTableRetained()
+        throws Exception
+    {
+        final FakeNonSerializableClass obj1 = new FakeNonSerializableClass( 2112, "42" ); //$NON-NLS-1$
+        final FakeNonSerializableClass obj2 = new FakeNonSerializableClass( 1221, "24" ); //$NON-NLS-1$
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final int obj1Length;
+        final int obj2Length;
+        try( final ObjectOutputStream oos = new ObjectOutputStream( baos, getPersistenceDelegateRegistry(), true ) )
+        {
+            oos.flush();
+            final int headerLength = baos.size();
+            oos.writeObject( obj1 );
+            oos.flush();
+            obj1Length = baos.size() - headerLength;
+            oos.reset();
+            oos.writeObject( obj2 );
+            oos.flush();
+            obj2Length = baos.size() - headerLength - obj1Length;
+        }
+
+        final FakeNonSerializableClass deserializedObj1;
+        final FakeNonSerializableClass deserializedObj2;
+        try( final ObjectInputStream ois = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ), getPersistenceDelegateRegistry(), true ) )
+        {
+            deserializedObj1 = (FakeNonSerializableClass)ois.readObject();
+            deserializedObj2 = (FakeNonSerializableClass)ois.readObject();
+        }
+
+        assertEquals( obj1, deserializedObj1 );
+        assertEquals( obj2, deserializedObj2 );
+        assertTrue( obj2Length < obj1Length );
+    }
+
+    /**
+     * Ensures the object serialization streams can round-trip an object when
+     * class descriptors are retained across resets and the class descriptors
+     * introduced by a previous object that was never read were discarded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testRoundTrip_ClassDescriptorTableRetained_DiscardedClassDescriptors()
+        throws Exception
+    {
+        final FakeNonSerializableClass obj1 = new FakeNonSerializableClass( 2112, "42" ); //$NON-NLS-1$
+        final FakeNonSerializableClass obj2 = new FakeNonSerializableClass( 1221, "24" ); //$NON-NLS-1$
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final ByteArrayOutputStream readableBaos = new ByteArrayOutputStream();
+        try( final ObjectOutputStream oos = new ObjectOutputStream( baos, getPersistenceDelegateRegistry(), true ) )
+        {
+            oos.flush();
+            baos.writeTo( readableBaos );
+            baos.reset();
+            oos.reset();
+            oos.writeObject( obj1 );
+            oos.flush();
+            oos.discardClassDescriptors();
+            baos.reset();
+            oos.reset();
+            oos.writeObject( obj2 );
+            oos.flush();
+            baos.writeTo( readableBaos );
+        }
+
+        final FakeNonSerializableClass deserializedObj2;
+        try( final ObjectInputStream ois = new ObjectInputStream( new ByteArrayInputStream( readableBaos.toByteArray() ), getPersistenceDelegateRegistry(), true ) )
+        {
+            deserializedObj2 = (FakeNonSerializableClass)ois.readObject();
+        }
+
+        assertEquals( obj2, deserializedObj2 );
+    }
+
     /**
      * Ensures the object serialization streams can round-trip a
      * non-serializable object if a suitable persistence delegate is available.
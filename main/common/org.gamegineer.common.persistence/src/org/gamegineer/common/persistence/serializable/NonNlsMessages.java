@@ -35,6 +35,17 @@ final class NonNlsMessages
     // Fields
     // ======================================================================
 
+    // --- ObjectInputStream ------------------------------------------------
+
+    /** The class descriptor handle is illegal. */
+    public static String ObjectInputStream_readClassDescriptor_illegalHandle = ""; //$NON-NLS-1$
+
+    /** The class descriptor tag is illegal. */
+    public static String ObjectInputStream_readClassDescriptor_illegalTag = ""; //$NON-NLS-1$
+
+    /** The class descriptor table is full. */
+    public static String ObjectInputStream_readClassDescriptor_tableFull = ""; //$NON-NLS-1$
+
     // --- ObjectStreams ----------------------------------------------------
 
     /**
@@ -61,4 +72,45 @@ final class NonNlsMessages
     private NonNlsMessages()
     {
     }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    // --- ObjectInputStream ------------------------------------------------
+
+    /**
+     * Gets the formatted message indicating the class descriptor handle is
+     * illegal.
+     * 
+     * @param handle
+     *        The class descriptor handle.
+     * 
+     * @return The formatted message indicating the class descriptor handle is
+     *         illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String ObjectInputStream_readClassDescriptor_illegalHandle(
+        final int handle )
+    {
+        return bind( ObjectInputStream_readClassDescriptor_illegalHandle, handle );
+    }
+
+    /**
+     * Gets the formatted message indicating the class descriptor tag is
+     * illegal.
+     * 
+     * @param tag
+     *        The class descriptor tag.
+     * 
+     * @return The formatted message indicating the class descriptor tag is
+     *         illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String ObjectInputStream_readClassDescriptor_illegalTag(
+        final int tag )
+    {
+        return bind( ObjectInputStream_readClassDescriptor_illegalTag, tag );
+    }
 }
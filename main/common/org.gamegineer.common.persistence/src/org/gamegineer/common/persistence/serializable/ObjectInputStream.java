@@ -24,6 +24,9 @@ package org.gamegineer.common.persistence.serializable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -41,6 +44,13 @@ import org.eclipse.jdt.annotation.Nullable;
  * To contribute a persistence delegate for a specific class, register it with
  * the {@code IPersistenceDelegateRegistry} passed to the input stream.
  * </p>
+ * 
+ * <p>
+ * The stream may optionally retain the class descriptors it reads across
+ * resets. Such a stream may only read a stream written by an
+ * {@code ObjectOutputStream} that also retains class descriptors across
+ * resets.
+ * </p>
  */
 @NotThreadSafe
 public final class ObjectInputStream
@@ -50,6 +60,13 @@ public final class ObjectInputStream
     // Fields
     // ======================================================================
 
+    /**
+     * The collection of class descriptors retained across resets indexed by
+     * handle or {@code null} if class descriptors are not retained across
+     * resets.
+     */
+    private final @Nullable List<ObjectStreamClass> classDescriptors_;
+
     /** The persistence delegate registry. */
     private final IPersistenceDelegateRegistry persistenceDelegateRegistry_;
 
@@ -75,9 +92,36 @@ public final class ObjectInputStream
         final InputStream in,
         final IPersistenceDelegateRegistry persistenceDelegateRegistry )
         throws IOException
+    {
+        this( in, persistenceDelegateRegistry, false );
+    }
+
+    /**
+     * Initializes a new instance of the {@code ObjectInputStream} class that
+     * optionally retains class descriptors across resets.
+     * 
+     * @param in
+     *        The input stream from which to read.
+     * @param persistenceDelegateRegistry
+     *        The persistence delegate registry.
+     * @param isClassDescriptorTableRetained
+     *        {@code true} if class descriptors read from the stream should be
+     *        retained across resets; otherwise {@code false}.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs while reading the stream header.
+     * @throws java.io.StreamCorruptedException
+     *         If the stream header is incorrect.
+     */
+    public ObjectInputStream(
+        final InputStream in,
+        final IPersistenceDelegateRegistry persistenceDelegateRegistry,
+        final boolean isClassDescriptorTableRetained )
+        throws IOException
     {
         super( in );
 
+        classDescriptors_ = isClassDescriptorTableRetained ? new ArrayList<>() : null;
         persistenceDelegateRegistry_ = persistenceDelegateRegistry;
 
         enableResolveObject( true );
@@ -88,6 +132,53 @@ public final class ObjectInputStream
     // Methods
     // ======================================================================
 
+    /*
+     * @see java.io.ObjectInputStream#readClassDescriptor()
+     */
+    @Override
+    protected ObjectStreamClass readClassDescriptor()
+        throws IOException, ClassNotFoundException
+    {
+        final List<ObjectStreamClass> classDescriptors = classDescriptors_;
+        if( classDescriptors == null )
+        {
+            return super.readClassDescriptor();
+        }
+
+        final int tag = readUnsignedByte();
+        switch( tag )
+        {
+            case ObjectOutputStream.CLASS_DESCRIPTOR_TAG_NEW:
+            {
+                if( classDescriptors.size() >= ObjectOutputStream.MAXIMUM_CLASS_DESCRIPTOR_COUNT )
+                {
+                    throw new StreamCorruptedException( NonNlsMessages.ObjectInputStream_readClassDescriptor_tableFull );
+                }
+
+                final ObjectStreamClass desc = super.readClassDescriptor();
+                classDescriptors.add( desc );
+                return desc;
+            }
+
+            case ObjectOutputStream.CLASS_DESCRIPTOR_TAG_REFERENCE:
+            {
+                final int handle = readUnsignedShort();
+                if( handle >= classDescriptors.size() )
+                {
+                    throw new StreamCorruptedException( NonNlsMessages.ObjectInputStream_readClassDescriptor_illegalHandle( handle ) );
+                }
+
+                return classDescriptors.get( handle );
+            }
+
+            case ObjectOutputStream.CLASS_DESCRIPTOR_TAG_UNSHARED:
+                return super.readClassDescriptor();
+
+            default:
+                throw new StreamCorruptedException( NonNlsMessages.ObjectInputStream_readClassDescriptor_illegalTag( tag ) );
+        }
+    }
+
     /*
      * @see java.io.ObjectInputStream#resolveClass(java.io.ObjectStreamClass)
      */
@@ -121,7 +212,7 @@ public final class ObjectInputStream
         {
             if( object != null )
             {
-                final IPersistenceDelegate delegate = persistenceDelegateRegistry_.getPersistenceDelegate( object.getClass().getName() );
+                final IPersistenceDelegate delegate = persistenceDelegateRegistry_.getPersistenceDelegate( object.getClass() );
                 final Object resolvedObject = (delegate != null) ? delegate.resolveObject( object ) : super.resolveObject( object );
                 if( object != resolvedObject )
                 {
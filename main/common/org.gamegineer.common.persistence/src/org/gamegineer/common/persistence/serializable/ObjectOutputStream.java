@@ -22,7 +22,11 @@
 package org.gamegineer.common.persistence.serializable;
 
 import java.io.IOException;
+import java.io.ObjectStreamClass;
 import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -39,6 +43,18 @@ import org.eclipse.jdt.annotation.Nullable;
  * To contribute a persistence delegate for a specific class, register it with
  * the {@code IPersistenceDelegateRegistry} passed to the output stream.
  * </p>
+ * 
+ * <p>
+ * The stream may optionally retain the class descriptors it writes across
+ * calls to {@link #reset()}. In this mode, the first time a class descriptor
+ * is written it is assigned a handle, and each subsequent time it is written
+ * only its handle is written. Such a stream may only be read by an
+ * {@code ObjectInputStream} that also retains class descriptors across
+ * resets. This mode is intended for long-lived streams that write a sequence
+ * of independent object graphs separated by resets. If the objects written
+ * since the most recent reset will never be read, the class descriptors they
+ * introduced must be discarded using {@link #discardClassDescriptors()}.
+ * </p>
  */
 @NotThreadSafe
 public final class ObjectOutputStream
@@ -48,6 +64,36 @@ public final class ObjectOutputStream
     // Fields
     // ======================================================================
 
+    /**
+     * The tag preceding a class descriptor that is written in full and
+     * assigned the next class descriptor handle.
+     */
+    static final int CLASS_DESCRIPTOR_TAG_NEW = 0x00;
+
+    /** The tag preceding the handle of a previously written class descriptor. */
+    static final int CLASS_DESCRIPTOR_TAG_REFERENCE = 0x01;
+
+    /**
+     * The tag preceding a class descriptor that is written in full but is not
+     * assigned a handle because the class descriptor table is full.
+     */
+    static final int CLASS_DESCRIPTOR_TAG_UNSHARED = 0x02;
+
+    /** The maximum number of class descriptors retained across resets. */
+    static final int MAXIMUM_CLASS_DESCRIPTOR_COUNT = 0xFFFF;
+
+    /**
+     * The collection of handles of class descriptors retained across resets
+     * or {@code null} if class descriptors are not retained across resets.
+     */
+    private final @Nullable Map<ObjectStreamClass, Integer> classDescriptorHandles_;
+
+    /**
+     * The count of class descriptors retained across resets at the time of
+     * the most recent reset.
+     */
+    private int resetClassDescriptorCount_;
+
     /** The persistence delegate registry. */
     private final IPersistenceDelegateRegistry persistenceDelegateRegistry_;
 
@@ -71,10 +117,36 @@ public final class ObjectOutputStream
         final OutputStream out,
         final IPersistenceDelegateRegistry persistenceDelegateRegistry )
         throws IOException
+    {
+        this( out, persistenceDelegateRegistry, false );
+    }
+
+    /**
+     * Initializes a new instance of the {@code ObjectOutputStream} class that
+     * optionally retains class descriptors across resets.
+     * 
+     * @param out
+     *        The output stream on which to write.
+     * @param persistenceDelegateRegistry
+     *        The persistence delegate registry.
+     * @param isClassDescriptorTableRetained
+     *        {@code true} if class descriptors written to the stream should be
+     *        retained across resets; otherwise {@code false}.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs while writing the stream header.
+     */
+    public ObjectOutputStream(
+        final OutputStream out,
+        final IPersistenceDelegateRegistry persistenceDelegateRegistry,
+        final boolean isClassDescriptorTableRetained )
+        throws IOException
     {
         super( out );
 
+        classDescriptorHandles_ = isClassDescriptorTableRetained ? new IdentityHashMap<>() : null;
         persistenceDelegateRegistry_ = persistenceDelegateRegistry;
+        resetClassDescriptorCount_ = 0;
 
         enableReplaceObject( true );
     }
@@ -94,7 +166,7 @@ public final class ObjectOutputStream
     {
         if( cl != null )
         {
-            final IPersistenceDelegate delegate = persistenceDelegateRegistry_.getPersistenceDelegate( cl.getName() );
+            final IPersistenceDelegate delegate = persistenceDelegateRegistry_.getPersistenceDelegate( cl );
             if( delegate != null )
             {
                 delegate.annotateClass( this, cl );
@@ -110,6 +182,35 @@ public final class ObjectOutputStream
         }
     }
 
+    /**
+     * Discards the class descriptors retained across resets that were first
+     * written to the stream since the most recent reset.
+     * 
+     * <p>
+     * This method should be invoked when the objects written since the most
+     * recent reset will never be read so that the class descriptors retained
+     * by the stream remain consistent with those retained by the reader. This
+     * method does nothing if class descriptors are not retained across resets.
+     * </p>
+     */
+    @SuppressWarnings( "boxing" )
+    public void discardClassDescriptors()
+    {
+        final Map<ObjectStreamClass, Integer> classDescriptorHandles = classDescriptorHandles_;
+        if( classDescriptorHandles == null )
+        {
+            return;
+        }
+
+        for( final Iterator<Integer> iterator = classDescriptorHandles.values().iterator(); iterator.hasNext(); )
+        {
+            if( iterator.next() >= resetClassDescriptorCount_ )
+            {
+                iterator.remove();
+            }
+        }
+    }
+
     /*
      * @see java.io.ObjectOutputStream#replaceObject(java.lang.Object)
      */
@@ -123,7 +224,7 @@ public final class ObjectOutputStream
         {
             if( object != null )
             {
-                final IPersistenceDelegate delegate = persistenceDelegateRegistry_.getPersistenceDelegate( object.getClass().getName() );
+                final IPersistenceDelegate delegate = persistenceDelegateRegistry_.getPersistenceDelegate( object.getClass() );
                 final Object replacedObject = (delegate != null) ? delegate.replaceObject( object ) : super.replaceObject( object );
                 if( object != replacedObject )
                 {
@@ -142,4 +243,55 @@ public final class ObjectOutputStream
 
         return object;
     }
+
+    /*
+     * @see java.io.ObjectOutputStream#reset()
+     */
+    @Override
+    public void reset()
+        throws IOException
+    {
+        super.reset();
+
+        final Map<ObjectStreamClass, Integer> classDescriptorHandles = classDescriptorHandles_;
+        if( classDescriptorHandles != null )
+        {
+            resetClassDescriptorCount_ = classDescriptorHandles.size();
+        }
+    }
+
+    /*
+     * @see java.io.ObjectOutputStream#writeClassDescriptor(java.io.ObjectStreamClass)
+     */
+    @Override
+    @SuppressWarnings( "boxing" )
+    protected void writeClassDescriptor(
+        final @Nullable ObjectStreamClass desc )
+        throws IOException
+    {
+        final Map<ObjectStreamClass, Integer> classDescriptorHandles = classDescriptorHandles_;
+        if( (classDescriptorHandles == null) || (desc == null) )
+        {
+            super.writeClassDescriptor( desc );
+            return;
+        }
+
+        final Integer handle = classDescriptorHandles.get( desc );
+        if( handle != null )
+        {
+            writeByte( CLASS_DESCRIPTOR_TAG_REFERENCE );
+            writeShort( handle );
+        }
+        else if( classDescriptorHandles.size() < MAXIMUM_CLASS_DESCRIPTOR_COUNT )
+        {
+            writeByte( CLASS_DESCRIPTOR_TAG_NEW );
+            super.writeClassDescriptor( desc );
+            classDescriptorHandles.put( desc, classDescriptorHandles.size() );
+        }
+        else
+        {
+            writeByte( CLASS_DESCRIPTOR_TAG_UNSHARED );
+            super.writeClassDescriptor( desc );
+        }
+    }
 }
@@ -82,7 +82,33 @@ public final class ObjectStreams
         final InputStream in )
         throws IOException
     {
-        return new ObjectInputStream( in, getPlatformPersistenceDelegateRegistry() );
+        return createPlatformObjectInputStream( in, false );
+    }
+
+    /**
+     * Initializes a new instance of the {@code ObjectInputStream} class using
+     * the platform's persistence delegate registry that optionally retains
+     * class descriptors across resets.
+     * 
+     * @param in
+     *        The input stream from which to read.
+     * @param isClassDescriptorTableRetained
+     *        {@code true} if class descriptors read from the stream should be
+     *        retained across resets; otherwise {@code false}.
+     * 
+     * @return A new instance of the {@code ObjectInputStream} class.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs while reading the stream header.
+     * @throws java.io.StreamCorruptedException
+     *         If the stream header is incorrect.
+     */
+    public static ObjectInputStream createPlatformObjectInputStream(
+        final InputStream in,
+        final boolean isClassDescriptorTableRetained )
+        throws IOException
+    {
+        return new ObjectInputStream( in, getPlatformPersistenceDelegateRegistry(), isClassDescriptorTableRetained );
     }
 
     /**
@@ -101,7 +127,31 @@ public final class ObjectStreams
         final OutputStream out )
         throws IOException
     {
-        return new ObjectOutputStream( out, getPlatformPersistenceDelegateRegistry() );
+        return createPlatformObjectOutputStream( out, false );
+    }
+
+    /**
+     * Initializes a new instance of the {@code ObjectOutputStream} class using
+     * the platform's persistence delegate registry that optionally retains
+     * class descriptors across resets.
+     * 
+     * @param out
+     *        The output stream on which to write.
+     * @param isClassDescriptorTableRetained
+     *        {@code true} if class descriptors written to the stream should be
+     *        retained across resets; otherwise {@code false}.
+     * 
+     * @return A new instance of the {@code ObjectOutputStream} class.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs while writing the stream header.
+     */
+    public static ObjectOutputStream createPlatformObjectOutputStream(
+        final OutputStream out,
+        final boolean isClassDescriptorTableRetained )
+        throws IOException
+    {
+        return new ObjectOutputStream( out, getPlatformPersistenceDelegateRegistry(), isClassDescriptorTableRetained );
     }
 
     /**
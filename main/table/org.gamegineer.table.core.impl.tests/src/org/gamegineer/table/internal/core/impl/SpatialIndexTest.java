@@ -0,0 +1,238 @@
+/*
+ * SpatialIndexTest.java
+ * Copyright 2008-2017 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:12:05 PM.
+ */
+
+package org.gamegineer.table.internal.core.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.gamegineer.table.core.ComponentOrientation;
+import org.gamegineer.table.core.IComponent;
+import org.gamegineer.table.core.SingleThreadedTableEnvironmentContext;
+import org.gamegineer.table.core.test.TestComponentStrategies;
+import org.gamegineer.table.core.test.TestComponentSurfaceDesigns;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link SpatialIndex} class.
+ */
+public final class SpatialIndexTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The spatial index under test in the fixture. */
+    private Optional<SpatialIndex> spatialIndex_;
+
+    /** The table environment for use in the fixture. */
+    private Optional<TableEnvironment> tableEnvironment_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code SpatialIndexTest} class.
+     */
+    public SpatialIndexTest()
+    {
+        spatialIndex_ = Optional.empty();
+        tableEnvironment_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new component with the specified bounds using the fixture table
+     * environment.
+     * 
+     * @param bounds
+     *        The component bounds.
+     * 
+     * @return A new component.
+     */
+    private Component createComponent(
+        final Rectangle bounds )
+    {
+        final Component component = new Component( getTableEnvironment(), TestComponentStrategies.createUniqueComponentStrategy() );
+        for( final ComponentOrientation orientation : component.getSupportedOrientations() )
+        {
+            component.setSurfaceDesign( orientation, TestComponentSurfaceDesigns.createUniqueComponentSurfaceDesign( bounds.width, bounds.height ) );
+        }
+        component.setLocation( bounds.getLocation() );
+
+        return component;
+    }
+
+    /**
+     * Gets the components in the spatial index under test in the fixture that
+     * intersect the specified region.
+     * 
+     * @param region
+     *        The region.
+     * 
+     * @return The components that intersect the specified region.
+     */
+    private Set<IComponent> getComponents(
+        final Rectangle region )
+    {
+        final Set<IComponent> components = new HashSet<>();
+        getSpatialIndex().getComponents( region, components );
+        return components;
+    }
+
+    /**
+     * Gets the spatial index under test in the fixture.
+     * 
+     * @return The spatial index under test in the fixture.
+     */
+    private SpatialIndex getSpatialIndex()
+    {
+        return spatialIndex_.get();
+    }
+
+    /**
+     * Gets the fixture table environment.
+     * 
+     * @return The fixture table environment.
+     */
+    private TableEnvironment getTableEnvironment()
+    {
+        return tableEnvironment_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        spatialIndex_ = Optional.of( new SpatialIndex() );
+        tableEnvironment_ = Optional.of( new TableEnvironment( new SingleThreadedTableEnvironmentContext() ) );
+    }
+
+    /**
+     * Ensures the {@link SpatialIndex#getComponents} method returns a
+     * component whose bounds overlap too many cells to be stored in the grid.
+     */
+    @Test
+    public void testGetComponents_OversizedComponent()
+    {
+        final SpatialIndex spatialIndex = getSpatialIndex();
+        final Component component = createComponent( new Rectangle( Short.MIN_VALUE, Short.MIN_VALUE, 65536, 65536 ) );
+        spatialIndex.invalidate( component );
+
+        assertEquals( new HashSet<>( Arrays.asList( component ) ), getComponents( new Rectangle( 0, 0, 1, 1 ) ) );
+        assertTrue( getComponents( new Rectangle( Short.MAX_VALUE + 1, 0, 1, 1 ) ).isEmpty() );
+    }
+
+    /**
+     * Ensures the {@link SpatialIndex#getComponents} method returns the
+     * components whose bounds intersect the specified region when the region
+     * spans multiple cells.
+     */
+    @Test
+    public void testGetComponents_Region_MultipleCells()
+    {
+        final SpatialIndex spatialIndex = getSpatialIndex();
+        final Component component1 = createComponent( new Rectangle( 0, 0, 10, 10 ) );
+        spatialIndex.invalidate( component1 );
+        final Component component2 = createComponent( new Rectangle( 1000, 0, 10, 10 ) );
+        spatialIndex.invalidate( component2 );
+        final Component component3 = createComponent( new Rectangle( 5000, 5000, 10, 10 ) );
+        spatialIndex.invalidate( component3 );
+
+        final Set<IComponent> actualComponents = getComponents( new Rectangle( 5, 5, 1000, 1000 ) );
+
+        assertEquals( new HashSet<>( Arrays.asList( component1, component2 ) ), actualComponents );
+    }
+
+    /**
+     * Ensures the {@link SpatialIndex#getComponents} method returns the
+     * components whose bounds contain the specified point when the region is a
+     * single point.
+     */
+    @Test
+    public void testGetComponents_Region_SinglePoint()
+    {
+        final SpatialIndex spatialIndex = getSpatialIndex();
+        final Component component1 = createComponent( new Rectangle( 0, 0, 100, 100 ) );
+        spatialIndex.invalidate( component1 );
+        final Component component2 = createComponent( new Rectangle( 50, 50, 100, 100 ) );
+        spatialIndex.invalidate( component2 );
+
+        assertEquals( new HashSet<>( Arrays.asList( component1 ) ), getComponents( new Rectangle( 0, 0, 1, 1 ) ) );
+        assertEquals( new HashSet<>( Arrays.asList( component1, component2 ) ), getComponents( new Rectangle( 99, 99, 1, 1 ) ) );
+        assertEquals( new HashSet<>( Arrays.asList( component2 ) ), getComponents( new Rectangle( 100, 100, 1, 1 ) ) );
+        assertTrue( getComponents( new Rectangle( -1, -1, 1, 1 ) ).isEmpty() );
+    }
+
+    /**
+     * Ensures the {@link SpatialIndex#getComponents} method does not return a
+     * component that was removed from the index.
+     */
+    @Test
+    public void testGetComponents_RemovedComponent()
+    {
+        final SpatialIndex spatialIndex = getSpatialIndex();
+        final Component component = createComponent( new Rectangle( 0, 0, 10, 10 ) );
+        spatialIndex.invalidate( component );
+        getComponents( new Rectangle( 0, 0, 1, 1 ) );
+
+        spatialIndex.remove( component );
+
+        assertTrue( getComponents( new Rectangle( 0, 0, 1, 1 ) ).isEmpty() );
+    }
+
+    /**
+     * Ensures the {@link SpatialIndex#getComponents} method uses the current
+     * bounds of a component whose indexed bounds were invalidated.
+     */
+    @Test
+    public void testGetComponents_StaleComponent()
+    {
+        final SpatialIndex spatialIndex = getSpatialIndex();
+        final Component component = createComponent( new Rectangle( 0, 0, 10, 10 ) );
+        spatialIndex.invalidate( component );
+        getComponents( new Rectangle( 0, 0, 1, 1 ) );
+
+        component.setLocation( new Point( 1000, 1000 ) );
+        spatialIndex.invalidate( component );
+
+        assertTrue( getComponents( new Rectangle( 0, 0, 1, 1 ) ).isEmpty() );
+        assertEquals( new HashSet<>( Arrays.asList( component ) ), getComponents( new Rectangle( 1005, 1005, 1, 1 ) ) );
+    }
+}
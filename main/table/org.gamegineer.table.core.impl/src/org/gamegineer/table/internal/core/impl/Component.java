@@ -26,10 +26,8 @@ import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
@@ -37,6 +35,8 @@ import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.ThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.common.core.util.memento.MementoBuilder;
 import org.gamegineer.common.core.util.memento.MementoException;
 import org.gamegineer.table.core.ComponentEvent;
 import org.gamegineer.table.core.ComponentOrientation;
@@ -49,6 +49,7 @@ import org.gamegineer.table.core.IComponentListener;
 import org.gamegineer.table.core.IComponentStrategy;
 import org.gamegineer.table.core.ITableEnvironmentLock;
 import org.gamegineer.table.core.NoSuchComponentSurfaceDesignException;
+import org.gamegineer.table.core.TableMementoAttributeNames;
 
 /**
  * Implementation of {@link IComponent}.
@@ -62,21 +63,21 @@ class Component
     // ======================================================================
 
     /** The name of the memento attribute that stores the component location. */
-    private static final String LOCATION_MEMENTO_ATTRIBUTE_NAME = "component.location"; //$NON-NLS-1$
+    private static final String LOCATION_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.COMPONENT_LOCATION;
 
     /**
      * The name of the memento attribute that stores the component orientation.
      */
-    private static final String ORIENTATION_MEMENTO_ATTRIBUTE_NAME = "component.orientation"; //$NON-NLS-1$
+    private static final String ORIENTATION_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.COMPONENT_ORIENTATION;
 
     /** The name of the memento attribute that stores the component origin. */
-    private static final String ORIGIN_MEMENTO_ATTRIBUTE_NAME = "component.origin"; //$NON-NLS-1$
+    private static final String ORIGIN_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.COMPONENT_ORIGIN;
 
     /**
      * The name of the memento attribute that stores the component surface
      * design identifiers.
      */
-    private static final String SURFACE_DESIGN_IDS_MEMENTO_ATTRIBUTE_NAME = "component.surfaceDesignIds"; //$NON-NLS-1$
+    private static final String SURFACE_DESIGN_IDS_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.COMPONENT_SURFACE_DESIGN_IDS;
 
     /** The collection of component listeners. */
     @GuardedBy( "getLock()" )
@@ -98,6 +99,18 @@ class Component
     @GuardedBy( "getLock()" )
     private @Nullable IComponentParent parent_;
 
+    /**
+     * The cached component path or {@code null} if the component path has not
+     * been computed since it was last invalidated.
+     * 
+     * <p>
+     * If this component has a cached path, then its parent also has a cached
+     * path.
+     * </p>
+     */
+    @GuardedBy( "getLock()" )
+    private @Nullable ComponentPath path_;
+
     /** The component strategy. */
     private final IComponentStrategy strategy_;
 
@@ -133,6 +146,7 @@ class Component
         orientation_ = strategy.getDefaultOrientation();
         origin_ = strategy.getDefaultOrigin();
         parent_ = null;
+        path_ = null;
         strategy_ = strategy;
         surfaceDesigns_ = strategy.getDefaultSurfaceDesigns();
         tableEnvironment_ = tableEnvironment;
@@ -143,6 +157,28 @@ class Component
     // Methods
     // ======================================================================
 
+    /*
+     * @see org.gamegineer.common.core.util.memento.IVisitableMementoOriginator#acceptMementoVisitor(org.gamegineer.common.core.util.memento.IMementoVisitor)
+     */
+    @Override
+    public final void acceptMementoVisitor(
+        final IMementoVisitor visitor )
+        throws MementoException
+    {
+        getLock().lock();
+        try
+        {
+            visitor.beginMemento();
+            ComponentFactory.writeMemento( this, visitor );
+            writeMemento( visitor );
+            visitor.endMemento();
+        }
+        finally
+        {
+            getLock().unlock();
+        }
+    }
+
     /*
      * @see org.gamegineer.table.core.IComponent#addComponentListener(org.gamegineer.table.core.IComponentListener)
      */
@@ -161,6 +197,48 @@ class Component
         }
     }
 
+    /**
+     * Adds this component to the specified spatial index.
+     * 
+     * <p>
+     * This implementation adds this component to the specified spatial index.
+     * Subclasses may override and must call the superclass implementation.
+     * </p>
+     * 
+     * @param spatialIndex
+     *        The spatial index.
+     */
+    @GuardedBy( "getLock()" )
+    void addToSpatialIndex(
+        final SpatialIndex spatialIndex )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        spatialIndex.invalidate( this );
+    }
+
+    /**
+     * Caches the path of this component if it is not already cached.
+     * 
+     * @param parentPath
+     *        The path of the component parent; must be the cached path of the
+     *        component parent.
+     * @param index
+     *        The component index relative to its parent.
+     */
+    @GuardedBy( "getLock()" )
+    final void cachePath(
+        final ComponentPath parentPath,
+        final int index )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        if( path_ == null )
+        {
+            path_ = new ComponentPath( parentPath, index );
+        }
+    }
+
     /**
      * Creates a component event for this component.
      * 
@@ -180,19 +258,18 @@ class Component
     @Override
     public final Object createMemento()
     {
-        final Map<String, Object> memento = ComponentFactory.createMemento( this );
-
-        getLock().lock();
+        final MementoBuilder mementoBuilder = new MementoBuilder();
         try
         {
-            writeMemento( memento );
+            acceptMementoVisitor( mementoBuilder );
         }
-        finally
+        catch( final MementoException e )
         {
-            getLock().unlock();
+            // MementoBuilder never throws MementoException
+            throw new AssertionError( e );
         }
 
-        return Collections.unmodifiableMap( memento );
+        return mementoBuilder.getMemento();
     }
 
     /**
@@ -205,7 +282,7 @@ class Component
 
         final ComponentEvent event = createComponentEvent();
         final Iterator<IComponentListener> iterator = componentListeners_.iterator();
-        fireEventNotification( new Runnable()
+        fireEventNotification( "componentBoundsChanged", new Runnable() //$NON-NLS-1$
         {
             @Override
             public void run()
@@ -235,7 +312,7 @@ class Component
 
         final ComponentEvent event = createComponentEvent();
         final Iterator<IComponentListener> iterator = componentListeners_.iterator();
-        fireEventNotification( new Runnable()
+        fireEventNotification( "componentOrientationChanged", new Runnable() //$NON-NLS-1$
         {
             @Override
             public void run()
@@ -265,7 +342,7 @@ class Component
 
         final ComponentEvent event = createComponentEvent();
         final Iterator<IComponentListener> iterator = componentListeners_.iterator();
-        fireEventNotification( new Runnable()
+        fireEventNotification( "componentSurfaceDesignChanged", new Runnable() //$NON-NLS-1$
         {
             @Override
             public void run()
@@ -300,6 +377,30 @@ class Component
         tableEnvironment_.fireEventNotification( eventNotification );
     }
 
+    /**
+     * Fires the specified event notification describing a change to the state
+     * of this component.
+     * 
+     * <p>
+     * Within a batch, the event notification replaces any pending event
+     * notification of the same type for this component.
+     * </p>
+     * 
+     * @param eventType
+     *        The event type.
+     * @param eventNotification
+     *        The event notification.
+     */
+    @GuardedBy( "getLock()" )
+    final void fireEventNotification(
+        final String eventType,
+        final Runnable eventNotification )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        tableEnvironment_.fireEventNotification( this, eventType, eventNotification );
+    }
+
     /**
      * This implementation defines the component bounds using the component
      * location and the size of the surface design in the current orientation.
@@ -403,7 +504,14 @@ class Component
         getLock().lock();
         try
         {
-            return (parent_ != null) ? parent_.getChildPath( this ) : null;
+            ComponentPath path = path_;
+            if( (path == null) && (parent_ != null) )
+            {
+                path = parent_.getChildPath( this );
+                path_ = path;
+            }
+
+            return path;
         }
         finally
         {
@@ -523,57 +631,88 @@ class Component
     }
 
     /**
-     * Hit tests this component against the specified location.
+     * Increments the revision number of the table associated with this
+     * component.
      * 
      * <p>
-     * This implementation adds this component to the specified collection if it
-     * occupies the specified location. Subclasses may override and must call
-     * the superclass implementation.
+     * This method does nothing if this component is not associated with a
+     * table.
      * </p>
-     * 
-     * @param location
-     *        The location in table coordinates.
-     * @param components
-     *        The collection that receives the components that occupy the
-     *        specified location.
-     * 
-     * @return {@code true} if this component occupies the specified location;
-     *         otherwise {@code false}.
      */
     @GuardedBy( "getLock()" )
-    boolean hitTest(
-        final Point location,
-        final List<IComponent> components )
+    final void incrementTableRevisionNumber()
     {
         assert getLock().isHeldByCurrentThread();
 
-        if( getBounds().contains( location ) )
+        final Table table = getTable();
+        if( table != null )
         {
-            components.add( this );
-            return true;
+            table.incrementRevisionNumber();
         }
-
-        return false;
     }
 
     /**
-     * Increments the revision number of the table associated with this
-     * component.
+     * Invalidates the bounds of this component.
      * 
      * <p>
-     * This method does nothing if this component is not associated with a
-     * table.
+     * This method must be called whenever the bounds of this component may
+     * have changed. This implementation invalidates the entry for this
+     * component in the spatial index of the associated table and invalidates
+     * the bounds of the container of this component. Subclasses may override
+     * and must call the superclass implementation.
      * </p>
      */
     @GuardedBy( "getLock()" )
-    final void incrementTableRevisionNumber()
+    void invalidateBounds()
     {
         assert getLock().isHeldByCurrentThread();
 
         final Table table = getTable();
         if( table != null )
         {
-            table.incrementRevisionNumber();
+            table.getSpatialIndex().invalidate( this );
+        }
+
+        final Container container = getContainer();
+        if( container != null )
+        {
+            container.invalidateBounds();
+        }
+    }
+
+    /**
+     * Invalidates the cached paths of the children of this component.
+     * 
+     * <p>
+     * This implementation does nothing. Subclasses that have children must
+     * override and invalidate the path of each child.
+     * </p>
+     */
+    @GuardedBy( "getLock()" )
+    void invalidateChildPaths()
+    {
+        assert getLock().isHeldByCurrentThread();
+    }
+
+    /**
+     * Invalidates the cached path of this component and of all its
+     * descendants.
+     * 
+     * <p>
+     * This method must be called whenever the path of this component may have
+     * changed.
+     * </p>
+     */
+    @GuardedBy( "getLock()" )
+    final void invalidatePath()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        // descendants can only have a cached path if this component does
+        if( path_ != null )
+        {
+            path_ = null;
+            invalidateChildPaths();
         }
     }
 
@@ -643,6 +782,27 @@ class Component
         }
     }
 
+    /**
+     * Removes this component from the specified spatial index.
+     * 
+     * <p>
+     * This implementation removes this component from the specified spatial
+     * index. Subclasses may override and must call the superclass
+     * implementation.
+     * </p>
+     * 
+     * @param spatialIndex
+     *        The spatial index.
+     */
+    @GuardedBy( "getLock()" )
+    void removeFromSpatialIndex(
+        final SpatialIndex spatialIndex )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        spatialIndex.remove( this );
+    }
+
     /*
      * @see org.gamegineer.table.core.IComponent#setLocation(java.awt.Point)
      */
@@ -653,7 +813,10 @@ class Component
         getLock().lock();
         try
         {
-            translate( new Dimension( location.x - location_.x, location.y - location_.y ) );
+            if( !location.equals( location_ ) )
+            {
+                translate( new Dimension( location.x - location_.x, location.y - location_.y ) );
+            }
         }
         finally
         {
@@ -672,7 +835,18 @@ class Component
         getLock().lock();
         try
         {
-            readMemento( memento );
+            final boolean isOutermostBatch = tableEnvironment_.beginBatch();
+            try
+            {
+                readMemento( memento );
+            }
+            finally
+            {
+                if( isOutermostBatch )
+                {
+                    tableEnvironment_.endBatch();
+                }
+            }
         }
         finally
         {
@@ -693,6 +867,7 @@ class Component
         try
         {
             orientation_ = orientation;
+            invalidateBounds();
             incrementTableRevisionNumber();
             fireComponentOrientationChanged();
         }
@@ -733,7 +908,20 @@ class Component
     {
         assert getLock().isHeldByCurrentThread();
 
+        final Table oldTable = getTable();
+        if( oldTable != null )
+        {
+            removeFromSpatialIndex( oldTable.getSpatialIndex() );
+        }
+
         parent_ = parent;
+        invalidatePath();
+
+        final Table newTable = getTable();
+        if( newTable != null )
+        {
+            addToSpatialIndex( newTable.getSpatialIndex() );
+        }
     }
 
     /*
@@ -750,6 +938,7 @@ class Component
         try
         {
             surfaceDesigns_.put( orientation, surfaceDesign );
+            invalidateBounds();
             incrementTableRevisionNumber();
             fireComponentSurfaceDesignChanged();
         }
@@ -826,31 +1015,35 @@ class Component
 
         location_.translate( offset.width, offset.height );
         origin_.translate( offset.width, offset.height );
+        invalidateBounds();
         incrementTableRevisionNumber();
         fireComponentBoundsChanged();
     }
 
     /**
-     * Writes the state of this object to the specified memento.
+     * Writes the state of this object to the specified memento visitor.
      * 
      * <p>
-     * This implementation writes the component attributes to the specified
-     * memento. Subclasses may override and must call the superclass
-     * implementation.
+     * This implementation visits the component attributes. Subclasses may
+     * override and must call the superclass implementation.
      * </p>
      * 
-     * @param memento
-     *        The memento.
+     * @param visitor
+     *        The memento visitor.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If an error occurs while visiting the memento.
      */
     @GuardedBy( "getLock()" )
     void writeMemento(
-        final Map<String, Object> memento )
+        final IMementoVisitor visitor )
+        throws MementoException
     {
         assert getLock().isHeldByCurrentThread();
 
-        memento.put( LOCATION_MEMENTO_ATTRIBUTE_NAME, new Point( location_ ) );
-        memento.put( ORIENTATION_MEMENTO_ATTRIBUTE_NAME, orientation_ );
-        memento.put( ORIGIN_MEMENTO_ATTRIBUTE_NAME, new Point( origin_ ) );
-        memento.put( SURFACE_DESIGN_IDS_MEMENTO_ATTRIBUTE_NAME, getSurfaceDesignIds() );
+        visitor.visitAttribute( LOCATION_MEMENTO_ATTRIBUTE_NAME, new Point( location_ ) );
+        visitor.visitAttribute( ORIENTATION_MEMENTO_ATTRIBUTE_NAME, orientation_ );
+        visitor.visitAttribute( ORIGIN_MEMENTO_ATTRIBUTE_NAME, new Point( origin_ ) );
+        visitor.visitAttribute( SURFACE_DESIGN_IDS_MEMENTO_ATTRIBUTE_NAME, getSurfaceDesignIds() );
     }
 }
@@ -21,16 +21,16 @@
 
 package org.gamegineer.table.internal.core.impl;
 
-import java.util.HashMap;
-import java.util.Map;
 import net.jcip.annotations.ThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
 import org.gamegineer.common.core.util.memento.MementoException;
 import org.gamegineer.table.core.ComponentStrategyId;
 import org.gamegineer.table.core.ComponentStrategyRegistry;
 import org.gamegineer.table.core.IComponentStrategy;
 import org.gamegineer.table.core.IContainerStrategy;
 import org.gamegineer.table.core.NoSuchComponentStrategyException;
+import org.gamegineer.table.core.TableMementoAttributeNames;
 
 /**
  * A factory for creating table components.
@@ -45,13 +45,13 @@ final class ComponentFactory
     /**
      * The name of the memento attribute that stores the component class name.
      */
-    private static final String CLASS_NAME_MEMENTO_ATTRIBUTE_NAME = "componentFactory.className"; //$NON-NLS-1$
+    private static final String CLASS_NAME_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.COMPONENT_CLASS_NAME;
 
     /**
      * The name of the memento attribute that stores the component strategy
      * identifier.
      */
-    private static final String STRATEGY_ID_MEMENTO_ATTRIBUTE_NAME = "componentFactory.strategyId"; //$NON-NLS-1$
+    private static final String STRATEGY_ID_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.COMPONENT_STRATEGY_ID;
 
 
     // ======================================================================
@@ -134,22 +134,6 @@ final class ComponentFactory
         throw new MementoException( NonNlsMessages.ComponentFactory_createComponent_unknownComponentType );
     }
 
-    /**
-     * Creates a new empty memento for the specified component.
-     * 
-     * @param component
-     *        The component.
-     * 
-     * @return A new empty memento for the specified component.
-     */
-    static Map<String, Object> createMemento(
-        final Component component )
-    {
-        final Map<String, Object> memento = new HashMap<>();
-        memento.put( CLASS_NAME_MEMENTO_ATTRIBUTE_NAME, component.getClass().getName() );
-        memento.put( STRATEGY_ID_MEMENTO_ATTRIBUTE_NAME, component.getStrategy().getId() );
-        return memento;
-    }
 
     /**
      * Gets the component strategy associated with the specified identifier.
@@ -175,4 +159,25 @@ final class ComponentFactory
             throw new MementoException( e );
         }
     }
+
+    /**
+     * Writes the attributes required to create the specified component to the
+     * specified memento visitor.
+     * 
+     * @param component
+     *        The component.
+     * @param visitor
+     *        The memento visitor.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If an error occurs while visiting the memento.
+     */
+    static void writeMemento(
+        final Component component,
+        final IMementoVisitor visitor )
+        throws MementoException
+    {
+        visitor.visitAttribute( CLASS_NAME_MEMENTO_ATTRIBUTE_NAME, component.getClass().getName() );
+        visitor.visitAttribute( STRATEGY_ID_MEMENTO_ATTRIBUTE_NAME, component.getStrategy().getId() );
+    }
 }
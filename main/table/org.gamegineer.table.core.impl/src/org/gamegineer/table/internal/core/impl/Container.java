@@ -23,13 +23,11 @@ package org.gamegineer.table.internal.core.impl;
 
 import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import java.awt.Dimension;
-import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import net.jcip.annotations.GuardedBy;
@@ -38,6 +36,7 @@ import net.jcip.annotations.ThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.IterableUtils;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
 import org.gamegineer.common.core.util.memento.MementoException;
 import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.core.ContainerContentChangedEvent;
@@ -50,6 +49,7 @@ import org.gamegineer.table.core.IContainerLayout;
 import org.gamegineer.table.core.IContainerListener;
 import org.gamegineer.table.core.IContainerStrategy;
 import org.gamegineer.table.core.NoSuchContainerLayoutException;
+import org.gamegineer.table.core.TableMementoAttributeNames;
 
 /**
  * Implementation of {@link IContainer}.
@@ -67,13 +67,25 @@ final class Container
      * The name of the memento attribute that stores the collection of
      * components in the container.
      */
-    private static final String COMPONENTS_MEMENTO_ATTRIBUTE_NAME = "container.components"; //$NON-NLS-1$
+    private static final String COMPONENTS_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.CONTAINER_COMPONENTS;
 
     /**
      * The name of the memento attribute that stores the container layout
      * identifier.
      */
-    private static final String LAYOUT_ID_MEMENTO_ATTRIBUTE_NAME = "container.layoutId"; //$NON-NLS-1$
+    private static final String LAYOUT_ID_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.CONTAINER_LAYOUT_ID;
+
+    /**
+     * The cached container bounds or {@code null} if the container bounds have
+     * not been computed since they were last invalidated.
+     * 
+     * <p>
+     * If this container has no cached bounds, then its container also has no
+     * cached bounds.
+     * </p>
+     */
+    @GuardedBy( "getLock()" )
+    private @Nullable Rectangle bounds_;
 
     /**
      * The collection of components in this container ordered from bottom to
@@ -86,6 +98,14 @@ final class Container
     @GuardedBy( "getLock()" )
     private final CopyOnWriteArrayList<IContainerListener> containerListeners_;
 
+    /**
+     * The index of the first component whose layout has been deferred by the
+     * active batch or {@link Integer#MAX_VALUE} if no layout has been
+     * deferred.
+     */
+    @GuardedBy( "getLock()" )
+    private int deferredLayoutIndex_;
+
     /** The container layout. */
     @GuardedBy( "getLock()" )
     private IContainerLayout layout_;
@@ -109,8 +129,10 @@ final class Container
     {
         super( tableEnvironment, strategy );
 
+        bounds_ = null;
         components_ = new ArrayList<>();
         containerListeners_ = new CopyOnWriteArrayList<>();
+        deferredLayoutIndex_ = Integer.MAX_VALUE;
         layout_ = strategy.getDefaultLayout();
     }
 
@@ -205,7 +227,10 @@ final class Container
                 ++index;
             }
 
-            layout_.layout( this );
+            invalidateChildPaths( index );
+            invalidateBounds();
+
+            layout( firstComponentIndex );
 
             final Rectangle newBounds = getBounds();
             final boolean containerBoundsChanged = !newBounds.equals( oldBounds );
@@ -250,6 +275,23 @@ final class Container
         }
     }
 
+    /*
+     * @see org.gamegineer.table.internal.core.Component#addToSpatialIndex(org.gamegineer.table.internal.core.SpatialIndex)
+     */
+    @Override
+    void addToSpatialIndex(
+        final SpatialIndex spatialIndex )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        super.addToSpatialIndex( spatialIndex );
+
+        for( final Component component : components_ )
+        {
+            component.addToSpatialIndex( spatialIndex );
+        }
+    }
+
     /**
      * Creates a container content changed event for this container.
      * 
@@ -371,7 +413,7 @@ final class Container
 
         final ContainerEvent event = createContainerEvent();
         final Iterator<IContainerListener> iterator = containerListeners_.iterator();
-        fireEventNotification( new Runnable()
+        fireEventNotification( "containerLayoutChanged", new Runnable() //$NON-NLS-1$
         {
             @Override
             public void run()
@@ -400,14 +442,19 @@ final class Container
         getLock().lock();
         try
         {
-            Rectangle bounds = super.getBounds();
-
-            for( final IComponent component : components_ )
+            Rectangle bounds = bounds_;
+            if( bounds == null )
             {
-                bounds = bounds.union( component.getBounds() );
+                bounds = super.getBounds();
+                for( final IComponent component : components_ )
+                {
+                    bounds = bounds.union( component.getBounds() );
+                }
+
+                bounds_ = bounds;
             }
 
-            return bounds;
+            return new Rectangle( bounds );
         }
         finally
         {
@@ -431,10 +478,16 @@ final class Container
             return null;
         }
 
-        final int index = components_.indexOf( component );
-        assert index != -1;
+        // cache the paths of all children in a single pass so that the
+        // children of a renumbered container do not each search for their index
+        for( int index = 0, size = components_.size(); index < size; ++index )
+        {
+            components_.get( index ).cachePath( path, index );
+        }
 
-        return new ComponentPath( path, index );
+        final ComponentPath childPath = component.getPath();
+        assert childPath != null;
+        return childPath;
     }
 
     /*
@@ -459,31 +512,35 @@ final class Container
     /**
      * Gets the component in this container at the specified path.
      * 
-     * @param paths
-     *        The collection of constituent component paths of the overall
-     *        component path; must not be empty.
+     * @param path
+     *        The overall component path.
+     * @param position
+     *        The position within the overall component path of the index of
+     *        the component in this container; must be less than
+     *        {@code path.getIndexCount()}.
      * 
      * @return The component in this container at the specified path; or
      *         {@code null} if no component exists at the specified path.
      */
     @GuardedBy( "getLock()" )
     @Nullable Component getComponent(
-        final List<ComponentPath> paths )
+        final ComponentPath path,
+        final int position )
     {
-        assert !paths.isEmpty();
+        assert position < path.getIndexCount();
         assert getLock().isHeldByCurrentThread();
 
-        final ComponentPath path = paths.get( 0 );
-        if( path.getIndex() < components_.size() )
+        final int index = path.getIndex( position );
+        if( index < components_.size() )
         {
-            final Component component = components_.get( path.getIndex() );
-            if( paths.size() == 1 )
+            final Component component = components_.get( index );
+            if( position == (path.getIndexCount() - 1) )
             {
                 return component;
             }
             else if( component instanceof Container )
             {
-                return ((Container)component).getComponent( paths.subList( 1, paths.size() ) );
+                return ((Container)component).getComponent( path, position + 1 );
             }
         }
 
@@ -507,27 +564,6 @@ final class Container
         }
     }
 
-    /**
-     * Gets the collection of mementos representing the components in this
-     * container.
-     * 
-     * @return The collection of mementos representing the components in this
-     *         container.
-     */
-    @GuardedBy( "getLock()" )
-    private List<Object> getComponentMementos()
-    {
-        assert getLock().isHeldByCurrentThread();
-
-        final List<Object> componentMementos = new ArrayList<>( components_.size() );
-        for( final Component component : components_ )
-        {
-            componentMementos.add( component.createMemento() );
-        }
-
-        return componentMementos;
-    }
-
     /*
      * @see org.gamegineer.table.core.IContainer#getComponents()
      */
@@ -585,26 +621,96 @@ final class Container
     }
 
     /*
-     * @see org.gamegineer.table.internal.core.Component#hitTest(java.awt.Point, java.util.List)
+     * @see org.gamegineer.table.internal.core.Component#invalidateBounds()
      */
     @Override
-    boolean hitTest(
-        final Point location,
-        final List<IComponent> components )
+    void invalidateBounds()
     {
         assert getLock().isHeldByCurrentThread();
 
-        if( super.hitTest( location, components ) )
+        // containers without cached bounds have already been invalidated
+        if( bounds_ != null )
         {
-            for( final Component component : components_ )
-            {
-                component.hitTest( location, components );
-            }
+            bounds_ = null;
+            super.invalidateBounds();
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.core.Component#invalidateChildPaths()
+     */
+    @Override
+    void invalidateChildPaths()
+    {
+        assert getLock().isHeldByCurrentThread();
 
-            return true;
+        invalidateChildPaths( 0 );
+    }
+
+    /**
+     * Invalidates the cached paths of the children of this container beginning
+     * at the specified index.
+     * 
+     * @param index
+     *        The index of the first child whose path is to be invalidated.
+     */
+    @GuardedBy( "getLock()" )
+    private void invalidateChildPaths(
+        final int index )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        for( int childIndex = index, size = components_.size(); childIndex < size; ++childIndex )
+        {
+            components_.get( childIndex ).invalidatePath();
         }
+    }
+
+    /**
+     * Lays out the components in this container beginning at the specified
+     * index or, if a batch is active, defers the layout until the batch
+     * completes.
+     * 
+     * @param index
+     *        The index of the first component to be laid out.
+     */
+    @GuardedBy( "getLock()" )
+    private void layout(
+        final int index )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        if( getTableEnvironment().deferLayout( this ) )
+        {
+            deferredLayoutIndex_ = Math.min( deferredLayoutIndex_, index );
+        }
+        else
+        {
+            layout_.layout( this, index );
+        }
+    }
+
+    /**
+     * Lays out the components in this container after the layout was deferred
+     * by a batch.
+     */
+    @GuardedBy( "getLock()" )
+    void layoutDeferred()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final Rectangle oldBounds = getBounds();
+        final int index = deferredLayoutIndex_;
+        deferredLayoutIndex_ = Integer.MAX_VALUE;
+
+        layout_.layout( this, Math.min( index, components_.size() ) );
 
-        return false;
+        final Rectangle newBounds = getBounds();
+        if( !newBounds.equals( oldBounds ) )
+        {
+            incrementTableRevisionNumber();
+            fireComponentBoundsChanged();
+        }
     }
 
     /*
@@ -742,7 +848,10 @@ final class Container
                 component.setParent( null );
             }
 
-            layout_.layout( this );
+            invalidateChildPaths( componentRangeStrategy.getLowerIndex() );
+            invalidateBounds();
+
+            layout( componentRangeStrategy.getLowerIndex() );
 
             final Rectangle newBounds = getBounds();
             final boolean containerBoundsChanged = !newBounds.equals( oldBounds );
@@ -790,6 +899,23 @@ final class Container
         }
     }
 
+    /*
+     * @see org.gamegineer.table.internal.core.Component#removeFromSpatialIndex(org.gamegineer.table.internal.core.SpatialIndex)
+     */
+    @Override
+    void removeFromSpatialIndex(
+        final SpatialIndex spatialIndex )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        super.removeFromSpatialIndex( spatialIndex );
+
+        for( final Component component : components_ )
+        {
+            component.removeFromSpatialIndex( spatialIndex );
+        }
+    }
+
     /**
      * Sets the collection of mementos representing the components in this
      * container.
@@ -837,7 +963,7 @@ final class Container
             {
                 final Rectangle oldBounds = getBounds();
 
-                layout_.layout( this );
+                layout( 0 );
 
                 final Rectangle newBounds = getBounds();
                 containerBoundsChanged = !newBounds.equals( oldBounds );
@@ -900,18 +1026,24 @@ final class Container
     }
 
     /*
-     * @see org.gamegineer.table.internal.core.Component#writeMemento(java.util.Map)
+     * @see org.gamegineer.table.internal.core.Component#writeMemento(org.gamegineer.common.core.util.memento.IMementoVisitor)
      */
     @Override
     void writeMemento(
-        final Map<String, Object> memento )
+        final IMementoVisitor visitor )
+        throws MementoException
     {
         assert getLock().isHeldByCurrentThread();
 
-        super.writeMemento( memento );
+        super.writeMemento( visitor );
 
-        memento.put( COMPONENTS_MEMENTO_ATTRIBUTE_NAME, getComponentMementos() );
-        memento.put( LAYOUT_ID_MEMENTO_ATTRIBUTE_NAME, getLayoutId() );
+        visitor.beginMementoListAttribute( COMPONENTS_MEMENTO_ATTRIBUTE_NAME );
+        for( final Component component : components_ )
+        {
+            component.acceptMementoVisitor( visitor );
+        }
+        visitor.endMementoListAttribute();
+        visitor.visitAttribute( LAYOUT_ID_MEMENTO_ATTRIBUTE_NAME, getLayoutId() );
     }
 
 
@@ -193,6 +193,24 @@ final class NonNlsMessages
     /** Failed to queue the event notification. */
     public static String TableEnvironment_addEventNotification_queueFailed = ""; //$NON-NLS-1$
 
+    /** The table environment listener is already registered. */
+    public static String TableEnvironment_addTableEnvironmentListener_listener_registered = ""; //$NON-NLS-1$
+
+    /**
+     * An unexpected exception was thrown from
+     * ITableEnvironmentListener.batchBegun().
+     */
+    public static String TableEnvironment_batchBegun_unexpectedException = ""; //$NON-NLS-1$
+
+    /**
+     * An unexpected exception was thrown from
+     * ITableEnvironmentListener.batchEnded().
+     */
+    public static String TableEnvironment_batchEnded_unexpectedException = ""; //$NON-NLS-1$
+
+    /** The table environment listener is not registered. */
+    public static String TableEnvironment_removeTableEnvironmentListener_listener_notRegistered = ""; //$NON-NLS-1$
+
 
     // ======================================================================
     // Constructors
@@ -0,0 +1,347 @@
+/*
+ * SpatialIndex.java
+ * Copyright 2008-2017 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:41:27 PM.
+ */
+
+package org.gamegineer.table.internal.core.impl;
+
+import java.awt.Rectangle;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import net.jcip.annotations.NotThreadSafe;
+import org.gamegineer.table.core.IComponent;
+
+/**
+ * A spatial index of the components in a table.
+ * 
+ * <p>
+ * The index is a uniform grid of square cells. Each component is registered in
+ * every cell its bounds overlap; components whose bounds overlap too many cells
+ * are kept in a separate collection that is searched linearly. Bounds changes
+ * are recorded as stale components and are only applied to the grid at the
+ * next query, so a burst of changes to the same component costs a single
+ * update.
+ * </p>
+ * 
+ * <p>
+ * All methods must be called while the table environment lock is held.
+ * </p>
+ */
+@NotThreadSafe
+final class SpatialIndex
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The number of bits by which a table coordinate is shifted to obtain its
+     * cell coordinate.
+     */
+    private static final int CELL_SHIFT = 7;
+
+    /**
+     * The maximum number of cells a component may occupy before it is treated
+     * as an oversized component.
+     */
+    private static final long MAXIMUM_CELL_COUNT = 64L;
+
+    /**
+     * The collection of indexed component bounds. The key is the component.
+     * The value is the component bounds at the time it was indexed.
+     */
+    private final Map<Component, Rectangle> bounds_;
+
+    /**
+     * The grid cells. The key is the packed cell coordinates. The value is the
+     * collection of components whose bounds overlap the cell.
+     */
+    private final Map<Long, Set<Component>> cells_;
+
+    /** The collection of components whose bounds overlap too many cells. */
+    private final Set<Component> oversizedComponents_;
+
+    /** The collection of components whose indexed bounds may be stale. */
+    private final Set<Component> staleComponents_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code SpatialIndex} class.
+     */
+    SpatialIndex()
+    {
+        bounds_ = new IdentityHashMap<>();
+        cells_ = new HashMap<>();
+        oversizedComponents_ = Collections.newSetFromMap( new IdentityHashMap<Component, Boolean>() );
+        staleComponents_ = Collections.newSetFromMap( new IdentityHashMap<Component, Boolean>() );
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Adds the specified component to the cells overlapped by the specified
+     * bounds.
+     * 
+     * @param component
+     *        The component.
+     * @param bounds
+     *        The component bounds.
+     */
+    private void addToCells(
+        final Component component,
+        final Rectangle bounds )
+    {
+        if( bounds.isEmpty() )
+        {
+            return;
+        }
+
+        final int minCellX = toCellCoordinate( bounds.x );
+        final int minCellY = toCellCoordinate( bounds.y );
+        final int maxCellX = toCellCoordinate( (long)bounds.x + bounds.width - 1L );
+        final int maxCellY = toCellCoordinate( (long)bounds.y + bounds.height - 1L );
+        if( (((long)maxCellX - minCellX + 1L) * ((long)maxCellY - minCellY + 1L)) > MAXIMUM_CELL_COUNT )
+        {
+            oversizedComponents_.add( component );
+            return;
+        }
+
+        for( int cellX = minCellX; cellX <= maxCellX; ++cellX )
+        {
+            for( int cellY = minCellY; cellY <= maxCellY; ++cellY )
+            {
+                final Long key = toCellKey( cellX, cellY );
+                Set<Component> components = cells_.get( key );
+                if( components == null )
+                {
+                    components = Collections.newSetFromMap( new IdentityHashMap<Component, Boolean>() );
+                    cells_.put( key, components );
+                }
+
+                components.add( component );
+            }
+        }
+    }
+
+    /**
+     * Gets the components whose bounds intersect the specified region.
+     * 
+     * <p>
+     * The components are added to the specified collection in no particular
+     * order.
+     * </p>
+     * 
+     * @param region
+     *        The region in table coordinates.
+     * @param components
+     *        The collection that receives the components whose bounds
+     *        intersect the specified region.
+     */
+    void getComponents(
+        final Rectangle region,
+        final Collection<IComponent> components )
+    {
+        refresh();
+
+        if( region.isEmpty() )
+        {
+            return;
+        }
+
+        final Set<Component> candidateComponents = Collections.newSetFromMap( new IdentityHashMap<Component, Boolean>() );
+        candidateComponents.addAll( oversizedComponents_ );
+
+        final int minCellX = toCellCoordinate( region.x );
+        final int minCellY = toCellCoordinate( region.y );
+        final int maxCellX = toCellCoordinate( (long)region.x + region.width - 1L );
+        final int maxCellY = toCellCoordinate( (long)region.y + region.height - 1L );
+        if( (((long)maxCellX - minCellX + 1L) * ((long)maxCellY - minCellY + 1L)) > cells_.size() )
+        {
+            // the region spans more cells than are occupied
+            for( final Set<Component> cellComponents : cells_.values() )
+            {
+                candidateComponents.addAll( cellComponents );
+            }
+        }
+        else
+        {
+            for( int cellX = minCellX; cellX <= maxCellX; ++cellX )
+            {
+                for( int cellY = minCellY; cellY <= maxCellY; ++cellY )
+                {
+                    final Set<Component> cellComponents = cells_.get( toCellKey( cellX, cellY ) );
+                    if( cellComponents != null )
+                    {
+                        candidateComponents.addAll( cellComponents );
+                    }
+                }
+            }
+        }
+
+        for( final Component component : candidateComponents )
+        {
+            final Rectangle bounds = bounds_.get( component );
+            assert bounds != null;
+            if( bounds.intersects( region ) )
+            {
+                components.add( component );
+            }
+        }
+    }
+
+    /**
+     * Invalidates the indexed bounds of the specified component.
+     * 
+     * <p>
+     * The component is (re-)indexed using its current bounds at the next
+     * query.
+     * </p>
+     * 
+     * @param component
+     *        The component.
+     */
+    void invalidate(
+        final Component component )
+    {
+        staleComponents_.add( component );
+    }
+
+    /**
+     * Re-indexes all stale components using their current bounds.
+     */
+    private void refresh()
+    {
+        for( final Iterator<Component> iterator = staleComponents_.iterator(); iterator.hasNext(); )
+        {
+            final Component component = iterator.next();
+            iterator.remove();
+
+            final Rectangle bounds = component.getBounds();
+            final Rectangle oldBounds = bounds_.put( component, bounds );
+            if( oldBounds != null )
+            {
+                removeFromCells( component, oldBounds );
+            }
+
+            addToCells( component, bounds );
+        }
+    }
+
+    /**
+     * Removes the specified component from this index.
+     * 
+     * @param component
+     *        The component.
+     */
+    void remove(
+        final Component component )
+    {
+        staleComponents_.remove( component );
+
+        final Rectangle bounds = bounds_.remove( component );
+        if( bounds != null )
+        {
+            removeFromCells( component, bounds );
+        }
+    }
+
+    /**
+     * Removes the specified component from the cells overlapped by the
+     * specified bounds.
+     * 
+     * @param component
+     *        The component.
+     * @param bounds
+     *        The component bounds at the time it was added to the cells.
+     */
+    private void removeFromCells(
+        final Component component,
+        final Rectangle bounds )
+    {
+        if( oversizedComponents_.remove( component ) || bounds.isEmpty() )
+        {
+            return;
+        }
+
+        final int minCellX = toCellCoordinate( bounds.x );
+        final int minCellY = toCellCoordinate( bounds.y );
+        final int maxCellX = toCellCoordinate( (long)bounds.x + bounds.width - 1L );
+        final int maxCellY = toCellCoordinate( (long)bounds.y + bounds.height - 1L );
+        for( int cellX = minCellX; cellX <= maxCellX; ++cellX )
+        {
+            for( int cellY = minCellY; cellY <= maxCellY; ++cellY )
+            {
+                final Long key = toCellKey( cellX, cellY );
+                final Set<Component> components = cells_.get( key );
+                if( components != null )
+                {
+                    components.remove( component );
+                    if( components.isEmpty() )
+                    {
+                        cells_.remove( key );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the specified table coordinate to a cell coordinate.
+     * 
+     * @param coordinate
+     *        The table coordinate.
+     * 
+     * @return The cell coordinate.
+     */
+    private static int toCellCoordinate(
+        final long coordinate )
+    {
+        return (int)(coordinate >> CELL_SHIFT);
+    }
+
+    /**
+     * Packs the specified cell coordinates into a cell key.
+     * 
+     * @param cellX
+     *        The cell x coordinate.
+     * @param cellY
+     *        The cell y coordinate.
+     * 
+     * @return The cell key.
+     */
+    @SuppressWarnings( "boxing" )
+    private static Long toCellKey(
+        final int cellX,
+        final int cellY )
+    {
+        return (((long)cellX) << 32) | (cellY & 0xFFFFFFFFL);
+    }
+}
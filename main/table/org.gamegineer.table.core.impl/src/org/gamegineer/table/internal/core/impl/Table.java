@@ -24,22 +24,24 @@ package org.gamegineer.table.internal.core.impl;
 import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import static org.gamegineer.common.core.runtime.Assert.assertStateLegal;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.ThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.common.core.util.memento.MementoBuilder;
 import org.gamegineer.common.core.util.memento.MementoException;
 import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.core.IComponent;
 import org.gamegineer.table.core.IContainer;
 import org.gamegineer.table.core.ITable;
 import org.gamegineer.table.core.ITableEnvironmentLock;
+import org.gamegineer.table.core.TableMementoAttributeNames;
 import org.gamegineer.table.core.dnd.IDragContext;
 import org.gamegineer.table.core.dnd.IDragSource;
 import org.gamegineer.table.core.dnd.IDragStrategyFactory;
@@ -76,7 +78,7 @@ final class Table
     };
 
     /** The name of the memento attribute that stores the tabletop memento. */
-    private static final String TABLETOP_MEMENTO_ATTRIBUTE_NAME = "table.tabletop"; //$NON-NLS-1$
+    private static final String TABLETOP_MEMENTO_ATTRIBUTE_NAME = TableMementoAttributeNames.TABLE_TABLETOP;
 
     /** The path to the tabletop component. */
     private static final ComponentPath TABLETOP_PATH = ComponentPath.ROOT;
@@ -92,6 +94,10 @@ final class Table
     @GuardedBy( "getLock()" )
     private long revisionNumber_;
 
+    /** The spatial index of the components in the table. */
+    @GuardedBy( "getLock()" )
+    private final SpatialIndex spatialIndex_;
+
     /** The table environment. */
     private final TableEnvironment tableEnvironment_;
 
@@ -114,6 +120,7 @@ final class Table
     {
         dragContext_ = null;
         revisionNumber_ = 0L;
+        spatialIndex_ = new SpatialIndex();
         tableEnvironment_ = tableEnvironment;
         tabletop_ = new Container( tableEnvironment, InternalComponentStrategies.TABLETOP );
 
@@ -133,6 +140,29 @@ final class Table
     // Methods
     // ======================================================================
 
+    /*
+     * @see org.gamegineer.common.core.util.memento.IVisitableMementoOriginator#acceptMementoVisitor(org.gamegineer.common.core.util.memento.IMementoVisitor)
+     */
+    @Override
+    public void acceptMementoVisitor(
+        final IMementoVisitor visitor )
+        throws MementoException
+    {
+        getLock().lock();
+        try
+        {
+            visitor.beginMemento();
+            visitor.beginMementoAttribute( TABLETOP_MEMENTO_ATTRIBUTE_NAME );
+            tabletop_.acceptMementoVisitor( visitor );
+            visitor.endMementoAttribute();
+            visitor.endMemento();
+        }
+        finally
+        {
+            getLock().unlock();
+        }
+    }
+
     /*
      * @see org.gamegineer.table.core.dnd.IDragSource#beginDrag(java.awt.Point, org.gamegineer.table.core.IComponent, org.gamegineer.table.core.dnd.IDragStrategyFactory)
      */
@@ -164,19 +194,18 @@ final class Table
     @Override
     public Object createMemento()
     {
-        final Map<String, Object> memento = new HashMap<>();
-
-        getLock().lock();
+        final MementoBuilder mementoBuilder = new MementoBuilder();
         try
         {
-            memento.put( TABLETOP_MEMENTO_ATTRIBUTE_NAME, tabletop_.createMemento() );
+            acceptMementoVisitor( mementoBuilder );
         }
-        finally
+        catch( final MementoException e )
         {
-            getLock().unlock();
+            // MementoBuilder never throws MementoException
+            throw new AssertionError( e );
         }
 
-        return Collections.unmodifiableMap( memento );
+        return mementoBuilder.getMemento();
     }
 
     /**
@@ -239,12 +268,7 @@ final class Table
     public @Nullable IComponent getComponent(
         final ComponentPath path )
     {
-        final List<ComponentPath> paths = path.toList();
-        if( !TABLETOP_PATH.equals( paths.get( 0 ) ) )
-        {
-            return null;
-        }
-        else if( paths.size() == 1 )
+        if( TABLETOP_PATH.equals( path ) )
         {
             return tabletop_;
         }
@@ -252,7 +276,7 @@ final class Table
         getLock().lock();
         try
         {
-            return tabletop_.getComponent( paths.subList( 1, paths.size() ) );
+            return tabletop_.getComponent( path, 0 );
         }
         finally
         {
@@ -272,10 +296,8 @@ final class Table
         getLock().lock();
         try
         {
-            if( tabletop_.hitTest( location, components ) )
-            {
-                Collections.sort( components, COMPONENT_COMPARATOR );
-            }
+            spatialIndex_.getComponents( new Rectangle( location.x, location.y, 1, 1 ), components );
+            Collections.sort( components, COMPONENT_COMPARATOR );
         }
         finally
         {
@@ -327,6 +349,19 @@ final class Table
         }
     }
 
+    /**
+     * Gets the spatial index of the components in the table.
+     * 
+     * @return The spatial index of the components in the table.
+     */
+    @GuardedBy( "getLock()" )
+    SpatialIndex getSpatialIndex()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        return spatialIndex_;
+    }
+
     /*
      * @see org.gamegineer.table.internal.core.IComponentParent#getTable()
      */
@@ -355,14 +390,18 @@ final class Table
     }
 
     /**
-     * Increments the table revision number.
+     * Increments the table revision number or, if a batch is active, defers
+     * the increment until the batch completes.
      */
     @GuardedBy( "getLock()" )
     void incrementRevisionNumber()
     {
         assert getLock().isHeldByCurrentThread();
 
-        ++revisionNumber_;
+        if( !tableEnvironment_.deferRevisionNumberIncrement( this ) )
+        {
+            ++revisionNumber_;
+        }
     }
 
     /**
@@ -379,6 +418,16 @@ final class Table
         return dragContext_ != null;
     }
 
+    /*
+     * @see org.gamegineer.table.core.ITable#runBatch(java.lang.Runnable)
+     */
+    @Override
+    public void runBatch(
+        final Runnable batch )
+    {
+        tableEnvironment_.runBatch( batch );
+    }
+
     /*
      * @see org.gamegineer.common.core.util.memento.IMementoOriginator#setMemento(java.lang.Object)
      */
@@ -390,9 +439,20 @@ final class Table
         getLock().lock();
         try
         {
-            final Table table = fromMemento( tableEnvironment_, memento );
+            final boolean isOutermostBatch = tableEnvironment_.beginBatch();
+            try
+            {
+                final Table table = fromMemento( tableEnvironment_, memento );
 
-            tabletop_.setMemento( table.tabletop_.createMemento() );
+                tabletop_.setMemento( table.tabletop_.createMemento() );
+            }
+            finally
+            {
+                if( isOutermostBatch )
+                {
+                    tableEnvironment_.endBatch();
+                }
+            }
         }
         finally
         {
@@ -1,6 +1,6 @@
 /*
  * TableEnvironment.java
- * Copyright 2008-2015 Gamegineer contributors and others.
+ * Copyright 2008-2017 Gamegineer contributors and others.
  * All rights reserved.
  *
  * This program is free software: you can redistribute it and/or modify
@@ -21,8 +21,21 @@
 
 package org.gamegineer.table.internal.core.impl;
 
+import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
 import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
 import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.memento.MementoException;
 import org.gamegineer.table.core.IComponent;
 import org.gamegineer.table.core.IComponentStrategy;
@@ -31,7 +44,9 @@ import org.gamegineer.table.core.IContainerStrategy;
 import org.gamegineer.table.core.ITable;
 import org.gamegineer.table.core.ITableEnvironment;
 import org.gamegineer.table.core.ITableEnvironmentContext;
+import org.gamegineer.table.core.ITableEnvironmentListener;
 import org.gamegineer.table.core.ITableEnvironmentLock;
+import org.gamegineer.table.core.TableEnvironmentEvent;
 
 /**
  * Implementation of {@link ITableEnvironment}.
@@ -44,9 +59,16 @@ final class TableEnvironment
     // Fields
     // ======================================================================
 
+    /** The active batch or {@code null} if no batch is active. */
+    @GuardedBy( "getLock()" )
+    private @Nullable Batch batch_;
+
     /** The table environment context. */
     private final ITableEnvironmentContext context_;
 
+    /** The collection of table environment listeners. */
+    private final CopyOnWriteArrayList<ITableEnvironmentListener> tableEnvironmentListeners_;
+
 
     // ======================================================================
     // Constructors
@@ -61,7 +83,9 @@ final class TableEnvironment
     TableEnvironment(
         final ITableEnvironmentContext context )
     {
+        batch_ = null;
         context_ = context;
+        tableEnvironmentListeners_ = new CopyOnWriteArrayList<>();
     }
 
 
@@ -69,6 +93,51 @@ final class TableEnvironment
     // Methods
     // ======================================================================
 
+    /*
+     * @see org.gamegineer.table.core.ITableEnvironment#addTableEnvironmentListener(org.gamegineer.table.core.ITableEnvironmentListener)
+     */
+    @Override
+    public void addTableEnvironmentListener(
+        final ITableEnvironmentListener listener )
+    {
+        getLock().lock();
+        try
+        {
+            assertArgumentLegal( tableEnvironmentListeners_.addIfAbsent( listener ), "listener", NonNlsMessages.TableEnvironment_addTableEnvironmentListener_listener_registered ); //$NON-NLS-1$
+        }
+        finally
+        {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * Begins a batch of table mutations.
+     * 
+     * <p>
+     * A batch that begins while another batch is active is part of the active
+     * batch. The caller must call {@link #endBatch()} only if this method
+     * returns {@code true}.
+     * </p>
+     * 
+     * @return {@code true} if a new batch was begun; {@code false} if a batch
+     *         is already active.
+     */
+    @GuardedBy( "getLock()" )
+    boolean beginBatch()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        if( batch_ != null )
+        {
+            return false;
+        }
+
+        batch_ = new Batch();
+        fireBatchBegun();
+        return true;
+    }
+
     /*
      * @see org.gamegineer.table.core.ITableEnvironment#createComponent(java.lang.Object)
      */
@@ -109,6 +178,169 @@ final class TableEnvironment
         return new Table( this );
     }
 
+    /**
+     * Defers the layout of the specified container until the active batch
+     * completes.
+     * 
+     * @param container
+     *        The container.
+     * 
+     * @return {@code true} if the layout of the container was deferred;
+     *         {@code false} if no batch is active and the caller should lay out
+     *         the container immediately.
+     */
+    @GuardedBy( "getLock()" )
+    boolean deferLayout(
+        final Container container )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final Batch batch = batch_;
+        if( batch == null )
+        {
+            return false;
+        }
+
+        batch.containers_.add( container );
+        return true;
+    }
+
+    /**
+     * Defers the increment of the revision number of the specified table until
+     * the active batch completes.
+     * 
+     * @param table
+     *        The table.
+     * 
+     * @return {@code true} if the increment of the table revision number was
+     *         deferred; {@code false} if no batch is active and the caller
+     *         should increment the table revision number immediately.
+     */
+    @GuardedBy( "getLock()" )
+    boolean deferRevisionNumberIncrement(
+        final Table table )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final Batch batch = batch_;
+        if( batch == null )
+        {
+            return false;
+        }
+
+        batch.tables_.add( table );
+        return true;
+    }
+
+    /**
+     * Ends the active batch of table mutations.
+     * 
+     * <p>
+     * The deferred container layouts are performed, the deferred table
+     * revision number increments are made, and the deferred event
+     * notifications are fired.
+     * </p>
+     */
+    @GuardedBy( "getLock()" )
+    void endBatch()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final Batch batch = batch_;
+        assert batch != null;
+        try
+        {
+            // containers are laid out while the batch is still active so the
+            // resulting revision number increments and event notifications are
+            // coalesced with those made by the batch
+            for( final Container container : batch.containers_ )
+            {
+                container.layoutDeferred();
+            }
+        }
+        finally
+        {
+            batch_ = null;
+
+            for( final Table table : batch.tables_ )
+            {
+                table.incrementRevisionNumber();
+            }
+
+            for( final Runnable eventNotification : batch.getEventNotifications() )
+            {
+                context_.fireEventNotification( eventNotification );
+            }
+
+            fireBatchEnded();
+        }
+    }
+
+    /**
+     * Fires a batch begun event.
+     * 
+     * <p>
+     * The event notification is deferred with the other event notifications
+     * of the active batch so that it is fired before any of them.
+     * </p>
+     */
+    @GuardedBy( "getLock()" )
+    private void fireBatchBegun()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final TableEnvironmentEvent event = new TableEnvironmentEvent( this );
+        final Iterator<ITableEnvironmentListener> iterator = tableEnvironmentListeners_.iterator();
+        fireEventNotification( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                while( iterator.hasNext() )
+                {
+                    try
+                    {
+                        iterator.next().batchBegun( event );
+                    }
+                    catch( final RuntimeException e )
+                    {
+                        Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.TableEnvironment_batchBegun_unexpectedException, e );
+                    }
+                }
+            }
+        } );
+    }
+
+    /**
+     * Fires a batch ended event.
+     */
+    @GuardedBy( "getLock()" )
+    private void fireBatchEnded()
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final TableEnvironmentEvent event = new TableEnvironmentEvent( this );
+        final Iterator<ITableEnvironmentListener> iterator = tableEnvironmentListeners_.iterator();
+        fireEventNotification( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                while( iterator.hasNext() )
+                {
+                    try
+                    {
+                        iterator.next().batchEnded( event );
+                    }
+                    catch( final RuntimeException e )
+                    {
+                        Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.TableEnvironment_batchEnded_unexpectedException, e );
+                    }
+                }
+            }
+        } );
+    }
+
     /**
      * Fires the specified event notification.
      * 
@@ -121,7 +353,54 @@ final class TableEnvironment
     {
         assert getLock().isHeldByCurrentThread();
 
-        context_.fireEventNotification( eventNotification );
+        final Batch batch = batch_;
+        if( batch == null )
+        {
+            context_.fireEventNotification( eventNotification );
+        }
+        else
+        {
+            batch.eventNotifications_.put( new Object(), eventNotification );
+        }
+    }
+
+    /**
+     * Fires the specified event notification describing a change to the state
+     * of the specified source.
+     * 
+     * <p>
+     * If a batch is active, the event notification replaces any pending event
+     * notification of the same type for the same source. Therefore, the event
+     * notification must not convey any information beyond the fact that the
+     * state of the source has changed.
+     * </p>
+     * 
+     * @param source
+     *        The event source.
+     * @param eventType
+     *        The event type.
+     * @param eventNotification
+     *        The event notification.
+     */
+    @GuardedBy( "getLock()" )
+    void fireEventNotification(
+        final Object source,
+        final String eventType,
+        final Runnable eventNotification )
+    {
+        assert getLock().isHeldByCurrentThread();
+
+        final Batch batch = batch_;
+        if( batch == null )
+        {
+            context_.fireEventNotification( eventNotification );
+        }
+        else
+        {
+            final EventNotificationKey key = new EventNotificationKey( source, eventType );
+            batch.eventNotifications_.remove( key );
+            batch.eventNotifications_.put( key, eventNotification );
+        }
     }
 
     /*
@@ -132,4 +411,192 @@ final class TableEnvironment
     {
         return context_.getLock();
     }
+
+    /*
+     * @see org.gamegineer.table.core.ITableEnvironment#removeTableEnvironmentListener(org.gamegineer.table.core.ITableEnvironmentListener)
+     */
+    @Override
+    public void removeTableEnvironmentListener(
+        final ITableEnvironmentListener listener )
+    {
+        getLock().lock();
+        try
+        {
+            assertArgumentLegal( tableEnvironmentListeners_.remove( listener ), "listener", NonNlsMessages.TableEnvironment_removeTableEnvironmentListener_listener_notRegistered ); //$NON-NLS-1$
+        }
+        finally
+        {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the specified batch of table mutations.
+     * 
+     * @param batch
+     *        The batch of table mutations.
+     * 
+     * @see org.gamegineer.table.core.ITable#runBatch(java.lang.Runnable)
+     */
+    void runBatch(
+        final Runnable batch )
+    {
+        getLock().lock();
+        try
+        {
+            final boolean isOutermostBatch = beginBatch();
+            try
+            {
+                batch.run();
+            }
+            finally
+            {
+                if( isOutermostBatch )
+                {
+                    endBatch();
+                }
+            }
+        }
+        finally
+        {
+            getLock().unlock();
+        }
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * The work deferred by a batch of table mutations.
+     */
+    @NotThreadSafe
+    private static final class Batch
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The collection of containers whose layout has been deferred. */
+        final Set<Container> containers_;
+
+        /**
+         * The collection of pending event notifications in the order in which
+         * they are to be fired.
+         */
+        final Map<Object, Runnable> eventNotifications_;
+
+        /**
+         * The collection of tables whose revision number increment has been
+         * deferred.
+         */
+        final Set<Table> tables_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code Batch} class.
+         */
+        Batch()
+        {
+            containers_ = new LinkedHashSet<>();
+            eventNotifications_ = new LinkedHashMap<>();
+            tables_ = new LinkedHashSet<>();
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the collection of pending event notifications.
+         * 
+         * @return The collection of pending event notifications in the order
+         *         in which they are to be fired.
+         */
+        Collection<Runnable> getEventNotifications()
+        {
+            return new ArrayList<>( eventNotifications_.values() );
+        }
+    }
+
+    /**
+     * The key used to coalesce pending event notifications of the same type for
+     * the same source.
+     */
+    @Immutable
+    private static final class EventNotificationKey
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The event type. */
+        private final String eventType_;
+
+        /** The event source. */
+        private final Object source_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code EventNotificationKey}
+         * class.
+         * 
+         * @param source
+         *        The event source.
+         * @param eventType
+         *        The event type.
+         */
+        EventNotificationKey(
+            final Object source,
+            final String eventType )
+        {
+            eventType_ = eventType;
+            source_ = source;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(
+            final @Nullable Object obj )
+        {
+            if( this == obj )
+            {
+                return true;
+            }
+
+            if( !(obj instanceof EventNotificationKey) )
+            {
+                return false;
+            }
+
+            final EventNotificationKey other = (EventNotificationKey)obj;
+            return (source_ == other.source_) && eventType_.equals( other.eventType_ );
+        }
+
+        /*
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode()
+        {
+            return 31 * System.identityHashCode( source_ ) + eventType_.hashCode();
+        }
+    }
 }
@@ -95,4 +95,13 @@ final class AccordianLayout
 
         return new Dimension( index * offset_.width, index * offset_.height );
     }
+
+    /*
+     * @see org.gamegineer.table.core.AbstractContainerLayout#isComponentOffsetIndexDependentOnly()
+     */
+    @Override
+    protected boolean isComponentOffsetIndexDependentOnly()
+    {
+        return true;
+    }
 }
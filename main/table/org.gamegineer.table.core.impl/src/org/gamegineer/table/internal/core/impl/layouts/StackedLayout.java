@@ -100,4 +100,13 @@ final class StackedLayout
         final int stackLevel = index / componentsPerStackLevel_;
         return new Dimension( stackLevelOffset_.width * stackLevel, stackLevelOffset_.height * stackLevel );
     }
+
+    /*
+     * @see org.gamegineer.table.core.AbstractContainerLayout#isComponentOffsetIndexDependentOnly()
+     */
+    @Override
+    protected boolean isComponentOffsetIndexDependentOnly()
+    {
+        return true;
+    }
 }
@@ -130,4 +130,15 @@ public abstract class AbstractAbstractContainerLayoutTestCase<ContainerLayoutTyp
     {
         getComponentOffsetAt( getContainerLayout(), EasyMock.createMock( IContainer.class ), -1 );
     }
+
+    /**
+     * Ensures the {@link AbstractContainerLayout#layout(IContainer, int)}
+     * method throws an exception when passed an illegal index that is
+     * negative.
+     */
+    @Test( expected = IllegalArgumentException.class )
+    public void testLayout_Index_Illegal_Negative()
+    {
+        getContainerLayout().layout( EasyMock.createMock( IContainer.class ), -1 );
+    }
 }
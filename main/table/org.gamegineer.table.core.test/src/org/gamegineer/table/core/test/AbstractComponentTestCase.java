@@ -29,10 +29,12 @@ import static org.junit.Assert.assertNull;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -40,6 +42,7 @@ import org.easymock.EasyMock;
 import org.easymock.IMocksControl;
 import org.eclipse.jdt.annotation.NonNull;
 import org.gamegineer.common.core.util.memento.IMementoOriginator;
+import org.gamegineer.common.core.util.memento.MementoBuilder;
 import org.gamegineer.common.core.util.memento.test.AbstractMementoOriginatorTestCase;
 import org.gamegineer.table.core.ComponentEvent;
 import org.gamegineer.table.core.ComponentOrientation;
@@ -318,6 +321,50 @@ public abstract class AbstractComponentTestCase<TableEnvironmentType extends ITa
         super.setUp();
     }
 
+    /**
+     * Ensures the {@link IComponent#acceptMementoVisitor} method visits the
+     * component memento attributes in the documented order.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAcceptMementoVisitor_VisitsAttributesInDocumentedOrder()
+        throws Exception
+    {
+        final ComponentType component = getComponent();
+        final RecordingMementoVisitor visitor = new RecordingMementoVisitor();
+        final List<String> expectedEvents = new ArrayList<>();
+        expectedEvents.add( RecordingMementoVisitor.BEGIN_MEMENTO );
+        expectedEvents.addAll( RecordingMementoVisitor.componentAttributeEvents() );
+
+        component.acceptMementoVisitor( visitor );
+
+        final List<String> actualEvents = visitor.getEvents();
+        assertEquals( expectedEvents, actualEvents.subList( 0, expectedEvents.size() ) );
+        assertEquals( RecordingMementoVisitor.END_MEMENTO, actualEvents.get( actualEvents.size() - 1 ) );
+    }
+
+    /**
+     * Ensures the {@link IComponent#acceptMementoVisitor} method visits a
+     * memento equal to the memento returned by the
+     * {@link IComponent#createMemento} method.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAcceptMementoVisitor_VisitsMemento()
+        throws Exception
+    {
+        final ComponentType component = getComponent();
+        final MementoBuilder mementoBuilder = new MementoBuilder();
+
+        component.acceptMementoVisitor( mementoBuilder );
+
+        assertEquals( component.createMemento(), mementoBuilder.getMemento() );
+    }
+
     /**
      * Ensures the {@link IComponent#addComponentListener} method throws an
      * exception when passed a listener that is present in the component
@@ -773,6 +820,24 @@ public abstract class AbstractComponentTestCase<TableEnvironmentType extends ITa
         assertEquals( expectedLocation, component.getLocation() );
     }
 
+    /**
+     * Ensures the {@link IComponent#setLocation} method does not fire a
+     * component bounds changed event when the location is unchanged.
+     */
+    @Test
+    public void testSetLocation_Location_Unchanged_DoesNotFireComponentBoundsChangedEvent()
+    {
+        final ComponentType component = getComponent();
+        final IMocksControl mocksControl = getMocksControl();
+        final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
+        mocksControl.replay();
+        component.addComponentListener( listener );
+
+        component.setLocation( component.getLocation() );
+
+        mocksControl.verify();
+    }
+
     /**
      * Ensures the {@link IComponent#setOrientation} method fires a component
      * orientation changed event.
@@ -22,6 +22,8 @@
 package org.gamegineer.table.core.test;
 
 import java.util.Optional;
+import org.easymock.EasyMock;
+import org.gamegineer.table.core.IContainer;
 import org.gamegineer.table.core.IContainerLayout;
 import org.junit.Before;
 import org.junit.Test;
@@ -93,11 +95,12 @@ public abstract class AbstractContainerLayoutTestCase
     }
 
     /**
-     * Placeholder for future interface tests.
+     * Ensures the {@link IContainerLayout#layout(IContainer, int)} method
+     * throws an exception when passed an illegal index that is negative.
      */
-    @Test
-    public void testDummy()
+    @Test( expected = IllegalArgumentException.class )
+    public void testLayoutWithIndex_Index_Illegal_Negative()
     {
-        // do nothing
+        getContainerLayout().layout( EasyMock.createMock( IContainer.class ), -1 );
     }
 }
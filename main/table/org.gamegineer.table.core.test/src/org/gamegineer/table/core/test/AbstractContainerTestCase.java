@@ -38,6 +38,7 @@ import org.easymock.IMocksControl;
 import org.eclipse.jdt.annotation.NonNull;
 import org.gamegineer.common.core.util.memento.IMementoOriginator;
 import org.gamegineer.table.core.ComponentEvent;
+import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.core.ContainerContentChangedEvent;
 import org.gamegineer.table.core.ContainerEvent;
 import org.gamegineer.table.core.IComponent;
@@ -45,7 +46,9 @@ import org.gamegineer.table.core.IComponentListener;
 import org.gamegineer.table.core.IContainer;
 import org.gamegineer.table.core.IContainerLayout;
 import org.gamegineer.table.core.IContainerListener;
+import org.gamegineer.table.core.ITable;
 import org.gamegineer.table.core.ITableEnvironment;
+import org.gamegineer.table.core.TableMementoAttributeNames;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -219,6 +222,40 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         super.setUp();
     }
 
+    /**
+     * Ensures the {@link IContainer#acceptMementoVisitor} method visits the
+     * container memento attributes in the documented order.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAcceptMementoVisitor_VisitsContainerAttributesInDocumentedOrder()
+        throws Exception
+    {
+        final ContainerType container = getComponent();
+        container.addComponent( createUniqueComponent() );
+        container.addComponent( createUniqueComponent() );
+        final RecordingMementoVisitor visitor = new RecordingMementoVisitor();
+        final List<String> expectedEvents = new ArrayList<>();
+        expectedEvents.add( RecordingMementoVisitor.BEGIN_MEMENTO );
+        expectedEvents.addAll( RecordingMementoVisitor.componentAttributeEvents() );
+        expectedEvents.add( RecordingMementoVisitor.beginMementoListAttributeEvent( TableMementoAttributeNames.CONTAINER_COMPONENTS ) );
+        for( int index = 0; index < 2; ++index )
+        {
+            expectedEvents.add( RecordingMementoVisitor.BEGIN_MEMENTO );
+            expectedEvents.addAll( RecordingMementoVisitor.componentAttributeEvents() );
+            expectedEvents.add( RecordingMementoVisitor.END_MEMENTO );
+        }
+        expectedEvents.add( RecordingMementoVisitor.END_MEMENTO_LIST_ATTRIBUTE );
+        expectedEvents.add( RecordingMementoVisitor.visitAttributeEvent( TableMementoAttributeNames.CONTAINER_LAYOUT_ID ) );
+        expectedEvents.add( RecordingMementoVisitor.END_MEMENTO );
+
+        container.acceptMementoVisitor( visitor );
+
+        assertEquals( expectedEvents, visitor.getEvents() );
+    }
+
     /**
      * Ensures the {@link IContainer#addComponent(IComponent)} method adds a
      * component to the top of the container.
@@ -272,14 +309,17 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
     @Test
     public void testAddComponent_ChangesComponentLocation()
     {
+        final ContainerType container = getContainer();
         final IMocksControl mocksControl = getMocksControl();
+        container.setLayout( TestContainerLayouts.createHorizontalContainerLayout() );
+        container.setLocation( new Point( 1010, 2020 ) );
         final IComponent component = createUniqueComponent();
         final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
         listener.componentBoundsChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
         mocksControl.replay();
         component.addComponentListener( listener );
 
-        getContainer().addComponent( component );
+        container.addComponent( component );
 
         mocksControl.verify();
     }
@@ -336,6 +376,28 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         assertEquals( 2, eventCapture.getValue().getComponentIndex() );
     }
 
+    /**
+     * Ensures the {@link IContainer#addComponent(IComponent)} method lays out
+     * only the added component.
+     */
+    @Test
+    public void testAddComponent_LaysOutAddedComponent()
+    {
+        final ContainerType container = getContainer();
+        final IMocksControl mocksControl = getMocksControl();
+        container.addComponent( createUniqueComponent() );
+        container.addComponent( createUniqueComponent() );
+        final IContainerLayout layout = mocksControl.createMock( IContainerLayout.class );
+        layout.layout( container, 0 );
+        layout.layout( container, 2 );
+        mocksControl.replay();
+        container.setLayout( layout );
+
+        container.addComponent( createUniqueComponent() );
+
+        mocksControl.verify();
+    }
+
     /**
      * Ensures the {@link IContainer#addComponent(IComponent, int)} method adds
      * a component to the container at the specified index.
@@ -393,14 +455,17 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
     @Test
     public void testAddComponentAtIndex_ChangesComponentLocation()
     {
+        final ContainerType container = getContainer();
         final IMocksControl mocksControl = getMocksControl();
+        container.setLayout( TestContainerLayouts.createHorizontalContainerLayout() );
+        container.setLocation( new Point( 1010, 2020 ) );
         final IComponent component = createUniqueComponent();
         final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
         listener.componentBoundsChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
         mocksControl.replay();
         component.addComponentListener( listener );
 
-        getContainer().addComponent( component, 0 );
+        container.addComponent( component, 0 );
 
         mocksControl.verify();
     }
@@ -481,6 +546,62 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         getContainer().addComponent( createUniqueComponent(), -1 );
     }
 
+    /**
+     * Ensures the {@link IContainer#addComponent(IComponent, int)} method lays
+     * out only the components at or above the specified index.
+     */
+    @Test
+    public void testAddComponentAtIndex_LaysOutComponentsFromIndex()
+    {
+        final ContainerType container = getContainer();
+        final IMocksControl mocksControl = getMocksControl();
+        container.addComponent( createUniqueComponent() );
+        container.addComponent( createUniqueComponent() );
+        final IContainerLayout layout = mocksControl.createMock( IContainerLayout.class );
+        layout.layout( container, 0 );
+        layout.layout( container, 1 );
+        mocksControl.replay();
+        container.setLayout( layout );
+
+        container.addComponent( createUniqueComponent(), 1 );
+
+        mocksControl.verify();
+    }
+
+    /**
+     * Ensures the {@link IContainer#addComponent(IComponent, int)} method
+     * renumbers the paths of the components that follow the added component
+     * and of their descendants.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAddComponentAtIndex_RenumbersComponentPaths()
+        throws Exception
+    {
+        final ITable table = getTableEnvironment().createTable();
+        final ContainerType container = getContainer();
+        table.getTabletop().addComponent( container );
+        final IComponent component1 = createUniqueComponent();
+        container.addComponent( component1 );
+        final IContainer childContainer = createUniqueContainer();
+        container.addComponent( childContainer );
+        final IComponent grandchildComponent = createUniqueComponent();
+        childContainer.addComponent( grandchildComponent );
+        final ComponentPath containerPath = new ComponentPath( ComponentPath.ROOT, 0 );
+        assertEquals( new ComponentPath( containerPath, 0 ), component1.getPath() );
+        assertEquals( new ComponentPath( new ComponentPath( containerPath, 1 ), 0 ), grandchildComponent.getPath() );
+        final IComponent component2 = createUniqueComponent();
+
+        container.addComponent( component2, 0 );
+
+        assertEquals( new ComponentPath( containerPath, 0 ), component2.getPath() );
+        assertEquals( new ComponentPath( containerPath, 1 ), component1.getPath() );
+        assertEquals( new ComponentPath( containerPath, 2 ), childContainer.getPath() );
+        assertEquals( new ComponentPath( new ComponentPath( containerPath, 2 ), 0 ), grandchildComponent.getPath() );
+    }
+
     /**
      * Ensures the {@link IContainer#addComponents(List)} method adds components
      * to the top of the container.
@@ -537,14 +658,17 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
     @Test
     public void testAddComponents_ChangesComponentLocation()
     {
+        final ContainerType container = getContainer();
         final IMocksControl mocksControl = getMocksControl();
+        container.setLayout( TestContainerLayouts.createHorizontalContainerLayout() );
+        container.setLocation( new Point( 1010, 2020 ) );
         final IComponent component = createUniqueComponent();
         final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
         listener.componentBoundsChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
         mocksControl.replay();
         component.addComponentListener( listener );
 
-        getContainer().addComponents( Collections.singletonList( component ) );
+        container.addComponents( Collections.singletonList( component ) );
 
         mocksControl.verify();
     }
@@ -666,14 +790,17 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
     @Test
     public void testAddComponentsAtIndex_ChangesComponentLocation()
     {
+        final ContainerType container = getContainer();
         final IMocksControl mocksControl = getMocksControl();
+        container.setLayout( TestContainerLayouts.createHorizontalContainerLayout() );
+        container.setLocation( new Point( 1010, 2020 ) );
         final IComponent component = createUniqueComponent();
         final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
         listener.componentBoundsChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
         mocksControl.replay();
         component.addComponentListener( listener );
 
-        getContainer().addComponents( Collections.singletonList( component ), 0 );
+        container.addComponents( Collections.singletonList( component ), 0 );
 
         mocksControl.verify();
     }
@@ -957,7 +1084,7 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         container.addComponent( createUniqueComponent() );
         container.addComponent( createUniqueComponent() );
         final IContainerLayout layout = mocksControl.createMock( IContainerLayout.class );
-        layout.layout( container );
+        layout.layout( container, 0 );
         EasyMock.expectLastCall().times( 2 );
         mocksControl.replay();
         container.setLayout( layout );
@@ -1062,7 +1189,7 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         container.addComponent( component );
         container.addComponent( createUniqueComponent() );
         final IContainerLayout layout = mocksControl.createMock( IContainerLayout.class );
-        layout.layout( container );
+        layout.layout( container, 0 );
         EasyMock.expectLastCall().times( 2 );
         mocksControl.replay();
         container.setLayout( layout );
@@ -1169,7 +1296,7 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         container.addComponent( createUniqueComponent() );
         container.addComponent( createUniqueComponent() );
         final IContainerLayout layout = mocksControl.createMock( IContainerLayout.class );
-        layout.layout( container );
+        layout.layout( container, 0 );
         EasyMock.expectLastCall().times( 2 );
         mocksControl.replay();
         container.setLayout( layout );
@@ -1277,6 +1404,38 @@ public abstract class AbstractContainerTestCase<TableEnvironmentType extends ITa
         assertNull( component.getContainer() );
     }
 
+    /**
+     * Ensures the {@link IContainer#removeComponent(int)} method renumbers the
+     * paths of the components that follow the removed component and of their
+     * descendants.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testRemoveComponentAtIndex_RenumbersComponentPaths()
+        throws Exception
+    {
+        final ITable table = getTableEnvironment().createTable();
+        final ContainerType container = getContainer();
+        table.getTabletop().addComponent( container );
+        final IComponent component = createUniqueComponent();
+        container.addComponent( component );
+        final IContainer childContainer = createUniqueContainer();
+        container.addComponent( childContainer );
+        final IComponent grandchildComponent = createUniqueComponent();
+        childContainer.addComponent( grandchildComponent );
+        final ComponentPath containerPath = new ComponentPath( ComponentPath.ROOT, 0 );
+        assertEquals( new ComponentPath( containerPath, 0 ), component.getPath() );
+        assertEquals( new ComponentPath( new ComponentPath( containerPath, 1 ), 0 ), grandchildComponent.getPath() );
+
+        container.removeComponent( 0 );
+
+        assertNull( component.getPath() );
+        assertEquals( new ComponentPath( containerPath, 0 ), childContainer.getPath() );
+        assertEquals( new ComponentPath( new ComponentPath( containerPath, 0 ), 0 ), grandchildComponent.getPath() );
+    }
+
     /**
      * Ensures the {@link IContainer#removeContainerListener} method throws an
      * exception when passed a listener that is absent from the container
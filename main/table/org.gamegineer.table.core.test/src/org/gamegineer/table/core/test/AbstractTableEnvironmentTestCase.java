@@ -23,13 +23,20 @@ package org.gamegineer.table.core.test;
 
 import static org.junit.Assert.assertEquals;
 import java.util.Optional;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.eclipse.jdt.annotation.NonNull;
+import org.gamegineer.table.core.ContainerContentChangedEvent;
 import org.gamegineer.table.core.IComponent;
 import org.gamegineer.table.core.IComponentStrategy;
 import org.gamegineer.table.core.IContainer;
+import org.gamegineer.table.core.IContainerListener;
 import org.gamegineer.table.core.ITable;
 import org.gamegineer.table.core.ITableEnvironment;
 import org.gamegineer.table.core.ITableEnvironmentContext;
+import org.gamegineer.table.core.ITableEnvironmentListener;
 import org.gamegineer.table.core.SingleThreadedTableEnvironmentContext;
+import org.gamegineer.table.core.TableEnvironmentEvent;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -103,6 +110,54 @@ public abstract class AbstractTableEnvironmentTestCase
         tableEnvironment_ = Optional.of( createTableEnvironment( new SingleThreadedTableEnvironmentContext() ) );
     }
 
+    /**
+     * Ensures the {@link ITableEnvironment#addTableEnvironmentListener} method
+     * throws an exception when passed a listener that is present in the table
+     * environment listener collection.
+     */
+    @Test( expected = IllegalArgumentException.class )
+    public void testAddTableEnvironmentListener_Listener_Present()
+    {
+        final ITableEnvironment tableEnvironment = getTableEnvironment();
+        final ITableEnvironmentListener listener = EasyMock.createMock( ITableEnvironmentListener.class );
+        tableEnvironment.addTableEnvironmentListener( listener );
+
+        tableEnvironment.addTableEnvironmentListener( listener );
+    }
+
+    /**
+     * Ensures the batch begun and batch ended events are fired before and after,
+     * respectively, the events resulting from the mutations made within a
+     * batch.
+     */
+    @Test
+    public void testBatchEvents_SurroundEventsFiredByBatch()
+    {
+        final ITableEnvironment tableEnvironment = getTableEnvironment();
+        final ITable table = tableEnvironment.createTable();
+        final IComponent component = tableEnvironment.createComponent( TestComponentStrategies.createUniqueComponentStrategy() );
+        final IMocksControl mocksControl = EasyMock.createStrictControl();
+        final ITableEnvironmentListener tableEnvironmentListener = mocksControl.createMock( ITableEnvironmentListener.class );
+        final IContainerListener containerListener = mocksControl.createMock( IContainerListener.class );
+        tableEnvironmentListener.batchBegun( EasyMock.<@NonNull TableEnvironmentEvent>notNull() );
+        containerListener.componentAdded( EasyMock.<@NonNull ContainerContentChangedEvent>notNull() );
+        tableEnvironmentListener.batchEnded( EasyMock.<@NonNull TableEnvironmentEvent>notNull() );
+        mocksControl.replay();
+        tableEnvironment.addTableEnvironmentListener( tableEnvironmentListener );
+        table.getTabletop().addContainerListener( containerListener );
+
+        table.runBatch( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                table.getTabletop().addComponent( component );
+            }
+        } );
+
+        mocksControl.verify();
+    }
+
     /**
      * Ensures the {@link ITableEnvironment#createComponent(IComponentStrategy)}
      * method returns a component that is associated with the table environment.
@@ -141,4 +196,42 @@ public abstract class AbstractTableEnvironmentTestCase
 
         assertEquals( tableEnvironment, table.getTableEnvironment() );
     }
+
+    /**
+     * Ensures the {@link ITableEnvironment#removeTableEnvironmentListener}
+     * method throws an exception when passed a listener that is absent from
+     * the table environment listener collection.
+     */
+    @Test( expected = IllegalArgumentException.class )
+    public void testRemoveTableEnvironmentListener_Listener_Absent()
+    {
+        getTableEnvironment().removeTableEnvironmentListener( EasyMock.createMock( ITableEnvironmentListener.class ) );
+    }
+
+    /**
+     * Ensures the {@link ITableEnvironment#removeTableEnvironmentListener}
+     * method removes a listener that is present in the table environment
+     * listener collection.
+     */
+    @Test
+    public void testRemoveTableEnvironmentListener_Listener_Present()
+    {
+        final ITableEnvironment tableEnvironment = getTableEnvironment();
+        final ITable table = tableEnvironment.createTable();
+        final ITableEnvironmentListener listener = EasyMock.createMock( ITableEnvironmentListener.class );
+        EasyMock.replay( listener );
+        tableEnvironment.addTableEnvironmentListener( listener );
+
+        tableEnvironment.removeTableEnvironmentListener( listener );
+        table.runBatch( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                // do nothing
+            }
+        } );
+
+        EasyMock.verify( listener );
+    }
 }
@@ -23,23 +23,34 @@ package org.gamegineer.table.core.test;
 
 import static org.gamegineer.table.core.test.Assert.assertTableEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import java.awt.Point;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.eclipse.jdt.annotation.NonNull;
 import org.gamegineer.common.core.util.memento.IMementoOriginator;
+import org.gamegineer.common.core.util.memento.MementoBuilder;
 import org.gamegineer.common.core.util.memento.test.AbstractMementoOriginatorTestCase;
+import org.gamegineer.table.core.ComponentEvent;
 import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.core.ContainerContentChangedEvent;
 import org.gamegineer.table.core.IComponent;
+import org.gamegineer.table.core.IComponentListener;
 import org.gamegineer.table.core.IContainer;
+import org.gamegineer.table.core.IContainerListener;
 import org.gamegineer.table.core.ITable;
 import org.gamegineer.table.core.ITableEnvironment;
 import org.gamegineer.table.core.ITableEnvironmentContext;
 import org.gamegineer.table.core.SingleThreadedTableEnvironmentContext;
+import org.gamegineer.table.core.TableMementoAttributeNames;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -217,6 +228,59 @@ public abstract class AbstractTableTestCase<TableEnvironmentType extends ITableE
         super.setUp();
     }
 
+    /**
+     * Ensures the {@link ITable#acceptMementoVisitor} method visits the table
+     * memento attributes in the documented order.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAcceptMementoVisitor_VisitsAttributesInDocumentedOrder()
+        throws Exception
+    {
+        final TableType table = getTable();
+        final RecordingMementoVisitor visitor = new RecordingMementoVisitor();
+        final List<String> expectedEvents = new ArrayList<>();
+        expectedEvents.add( RecordingMementoVisitor.BEGIN_MEMENTO );
+        expectedEvents.add( RecordingMementoVisitor.beginMementoAttributeEvent( TableMementoAttributeNames.TABLE_TABLETOP ) );
+        expectedEvents.add( RecordingMementoVisitor.BEGIN_MEMENTO );
+        expectedEvents.addAll( RecordingMementoVisitor.componentAttributeEvents() );
+        expectedEvents.add( RecordingMementoVisitor.beginMementoListAttributeEvent( TableMementoAttributeNames.CONTAINER_COMPONENTS ) );
+        expectedEvents.add( RecordingMementoVisitor.END_MEMENTO_LIST_ATTRIBUTE );
+        expectedEvents.add( RecordingMementoVisitor.visitAttributeEvent( TableMementoAttributeNames.CONTAINER_LAYOUT_ID ) );
+        expectedEvents.add( RecordingMementoVisitor.END_MEMENTO );
+        expectedEvents.add( RecordingMementoVisitor.END_MEMENTO_ATTRIBUTE );
+        expectedEvents.add( RecordingMementoVisitor.END_MEMENTO );
+
+        table.acceptMementoVisitor( visitor );
+
+        assertEquals( expectedEvents, visitor.getEvents() );
+    }
+
+    /**
+     * Ensures the {@link ITable#acceptMementoVisitor} method visits a memento
+     * equal to the memento returned by the {@link ITable#createMemento} method.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAcceptMementoVisitor_VisitsMemento()
+        throws Exception
+    {
+        final TableType table = getTable();
+        final IContainer container = createUniqueContainer();
+        table.getTabletop().addComponent( container );
+        container.addComponent( createUniqueComponent() );
+        table.getTabletop().addComponent( createUniqueComponent() );
+        final MementoBuilder mementoBuilder = new MementoBuilder();
+
+        table.acceptMementoVisitor( mementoBuilder );
+
+        assertEquals( table.createMemento(), mementoBuilder.getMemento() );
+    }
+
     /**
      * Ensures the {@link ITable#getComponent} method returns {@code null} when
      * passed a path that is absent.
@@ -268,6 +332,30 @@ public abstract class AbstractTableTestCase<TableEnvironmentType extends ITableE
         assertTrue( getTable().getComponents( new Point( Integer.MIN_VALUE, Integer.MIN_VALUE ) ).isEmpty() );
     }
 
+    /**
+     * Ensures the {@link ITable#getComponents} method returns the correct
+     * components after a component has been moved.
+     */
+    @Test
+    public void testGetComponents_Location_ComponentMoved()
+    {
+        final TableType table = getTable();
+        final Point oldLocation = new Point( 7, 42 );
+        final Point newLocation = new Point( 5007, 5042 );
+        final IComponent component = createUniqueComponent();
+        component.setLocation( oldLocation );
+        table.getTabletop().addComponent( component );
+        assertTrue( table.getComponents( oldLocation ).contains( component ) );
+        final List<IComponent> expectedComponents = Arrays.asList( //
+            table.getTabletop(), //
+            component );
+
+        component.setLocation( newLocation );
+
+        assertFalse( table.getComponents( oldLocation ).contains( component ) );
+        assertEquals( expectedComponents, table.getComponents( newLocation ) );
+    }
+
     /**
      * Ensures the {@link ITable#getComponents} method returns the correct
      * component collection when multiple components are present at the
@@ -347,6 +435,52 @@ public abstract class AbstractTableTestCase<TableEnvironmentType extends ITableE
         assertEquals( expectedComponents, actualComponents );
     }
 
+    /**
+     * Ensures the {@link ITable#getComponents} method does not return a
+     * component that has been removed from the table.
+     */
+    @Test
+    public void testGetComponents_Location_ComponentRemoved()
+    {
+        final TableType table = getTable();
+        final Point location = new Point( 7, 42 );
+        final IComponent component = createUniqueComponent();
+        component.setLocation( location );
+        table.getTabletop().addComponent( component );
+        assertTrue( table.getComponents( location ).contains( component ) );
+
+        table.getTabletop().removeComponent( component );
+
+        assertFalse( table.getComponents( location ).contains( component ) );
+    }
+
+    /**
+     * Ensures the {@link ITable#getComponents} method returns the correct
+     * components after a container has been moved together with its
+     * children.
+     */
+    @Test
+    public void testGetComponents_Location_ContainerMoved()
+    {
+        final TableType table = getTable();
+        final IContainer container = createUniqueContainer();
+        container.setLocation( new Point( 7, 42 ) );
+        table.getTabletop().addComponent( container );
+        final IComponent component = createUniqueComponent();
+        container.addComponent( component );
+        final Point oldLocation = component.getLocation();
+        assertTrue( table.getComponents( oldLocation ).contains( component ) );
+
+        container.setLocation( new Point( 5007, 5042 ) );
+
+        final Point newLocation = component.getLocation();
+        final List<IComponent> actualComponents = table.getComponents( newLocation );
+        assertFalse( oldLocation.equals( newLocation ) );
+        assertTrue( actualComponents.contains( container ) );
+        assertTrue( actualComponents.contains( component ) );
+        assertFalse( table.getComponents( oldLocation ).contains( component ) );
+    }
+
     /**
      * Ensures the {@link ITable#getComponents} method returns a copy of the
      * component collection.
@@ -362,4 +496,98 @@ public abstract class AbstractTableTestCase<TableEnvironmentType extends ITableE
 
         assertEquals( expectedComponentsSize, components.size() );
     }
+
+    /**
+     * Ensures the {@link ITable#runBatch} method coalesces the component bounds
+     * changed events fired by the batch.
+     */
+    @Test
+    public void testRunBatch_CoalescesComponentBoundsChangedEvents()
+    {
+        final TableType table = getTable();
+        final IComponent component = createUniqueComponent();
+        table.getTabletop().addComponent( component );
+        final IMocksControl mocksControl = EasyMock.createControl();
+        final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
+        listener.componentBoundsChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
+        mocksControl.replay();
+        component.addComponentListener( listener );
+
+        table.runBatch( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                component.setLocation( new Point( 1010, 2020 ) );
+                component.setLocation( new Point( 3030, 4040 ) );
+                component.setLocation( new Point( 5050, 6060 ) );
+            }
+        } );
+
+        mocksControl.verify();
+    }
+
+    /**
+     * Ensures the {@link ITable#runBatch} method does not coalesce the component
+     * added events fired by the batch.
+     */
+    @Test
+    public void testRunBatch_DoesNotCoalesceComponentAddedEvents()
+    {
+        final TableType table = getTable();
+        final IContainer tabletop = table.getTabletop();
+        final IComponent component1 = createUniqueComponent();
+        final IComponent component2 = createUniqueComponent();
+        final IMocksControl mocksControl = EasyMock.createControl();
+        final IContainerListener listener = mocksControl.createMock( IContainerListener.class );
+        listener.componentAdded( EasyMock.<@NonNull ContainerContentChangedEvent>notNull() );
+        listener.componentAdded( EasyMock.<@NonNull ContainerContentChangedEvent>notNull() );
+        mocksControl.replay();
+        tabletop.addContainerListener( listener );
+
+        table.runBatch( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                tabletop.addComponent( component1 );
+                tabletop.addComponent( component2 );
+            }
+        } );
+
+        mocksControl.verify();
+    }
+
+    /**
+     * Ensures the {@link ITable#setMemento} method coalesces the component
+     * bounds changed events fired by the tabletop.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testSetMemento_CoalescesTabletopBoundsChangedEvents()
+        throws Exception
+    {
+        final TableType table = getTable();
+        final IContainer tabletop = table.getTabletop();
+        tabletop.addComponent( createUniqueComponent() );
+        tabletop.addComponent( createUniqueComponent() );
+        final Object memento = table.createMemento();
+        tabletop.removeAllComponents();
+        tabletop.setLocation( new Point( 1010, 2020 ) );
+        final IMocksControl mocksControl = EasyMock.createControl();
+        final IComponentListener listener = mocksControl.createMock( IComponentListener.class );
+        listener.componentBoundsChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
+        listener.componentOrientationChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
+        EasyMock.expectLastCall().anyTimes();
+        listener.componentSurfaceDesignChanged( EasyMock.<@NonNull ComponentEvent>notNull() );
+        EasyMock.expectLastCall().anyTimes();
+        mocksControl.replay();
+        tabletop.addComponentListener( listener );
+
+        table.setMemento( memento );
+
+        mocksControl.verify();
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * RecordingMementoVisitor.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:41:05 AM.
+ */
+
+package org.gamegineer.table.core.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.table.core.TableMementoAttributeNames;
+
+/**
+ * A memento visitor that records the sequence of events it receives.
+ */
+@NotThreadSafe
+final class RecordingMementoVisitor
+    implements IMementoVisitor
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The event that begins a memento. */
+    static final String BEGIN_MEMENTO = "beginMemento"; //$NON-NLS-1$
+
+    /** The event that ends a memento. */
+    static final String END_MEMENTO = "endMemento"; //$NON-NLS-1$
+
+    /** The event that ends a memento attribute. */
+    static final String END_MEMENTO_ATTRIBUTE = "endMementoAttribute"; //$NON-NLS-1$
+
+    /** The event that ends a memento list attribute. */
+    static final String END_MEMENTO_LIST_ATTRIBUTE = "endMementoListAttribute"; //$NON-NLS-1$
+
+    /** The recorded events. */
+    private final List<String> events_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code RecordingMementoVisitor} class.
+     */
+    RecordingMementoVisitor()
+    {
+        events_ = new ArrayList<>();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMemento()
+     */
+    @Override
+    public void beginMemento()
+    {
+        events_.add( BEGIN_MEMENTO );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoAttribute(java.lang.String)
+     */
+    @Override
+    public void beginMementoAttribute(
+        final String name )
+    {
+        events_.add( beginMementoAttributeEvent( name ) );
+    }
+
+    /**
+     * Gets the event that begins the specified memento attribute.
+     * 
+     * @param name
+     *        The attribute name.
+     * 
+     * @return The event that begins the specified memento attribute.
+     */
+    static String beginMementoAttributeEvent(
+        final String name )
+    {
+        return "beginMementoAttribute(" + name + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoListAttribute(java.lang.String)
+     */
+    @Override
+    public void beginMementoListAttribute(
+        final String name )
+    {
+        events_.add( beginMementoListAttributeEvent( name ) );
+    }
+
+    /**
+     * Gets the event that begins the specified memento list attribute.
+     * 
+     * @param name
+     *        The attribute name.
+     * 
+     * @return The event that begins the specified memento list attribute.
+     */
+    static String beginMementoListAttributeEvent(
+        final String name )
+    {
+        return "beginMementoListAttribute(" + name + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Gets the documented events that visit the attributes of a component
+     * memento.
+     * 
+     * @return The documented events that visit the attributes of a component
+     *         memento.
+     */
+    static List<String> componentAttributeEvents()
+    {
+        return Arrays.asList( //
+            visitAttributeEvent( TableMementoAttributeNames.COMPONENT_CLASS_NAME ), //
+            visitAttributeEvent( TableMementoAttributeNames.COMPONENT_STRATEGY_ID ), //
+            visitAttributeEvent( TableMementoAttributeNames.COMPONENT_LOCATION ), //
+            visitAttributeEvent( TableMementoAttributeNames.COMPONENT_ORIENTATION ), //
+            visitAttributeEvent( TableMementoAttributeNames.COMPONENT_ORIGIN ), //
+            visitAttributeEvent( TableMementoAttributeNames.COMPONENT_SURFACE_DESIGN_IDS ) );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMemento()
+     */
+    @Override
+    public void endMemento()
+    {
+        events_.add( END_MEMENTO );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoAttribute()
+     */
+    @Override
+    public void endMementoAttribute()
+    {
+        events_.add( END_MEMENTO_ATTRIBUTE );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoListAttribute()
+     */
+    @Override
+    public void endMementoListAttribute()
+    {
+        events_.add( END_MEMENTO_LIST_ATTRIBUTE );
+    }
+
+    /**
+     * Gets the recorded events.
+     * 
+     * @return The recorded events.
+     */
+    List<String> getEvents()
+    {
+        return Collections.unmodifiableList( events_ );
+    }
+
+    /*
+     * @see org.gamegineer.common.core.util.memento.IMementoVisitor#visitAttribute(java.lang.String, java.lang.Object)
+     */
+    @Override
+    public void visitAttribute(
+        final String name,
+        @SuppressWarnings( "unused" )
+        final @Nullable Object value )
+    {
+        events_.add( visitAttributeEvent( name ) );
+    }
+
+    /**
+     * Gets the event that visits the specified memento attribute.
+     * 
+     * @param name
+     *        The attribute name.
+     * 
+     * @return The event that visits the specified memento attribute.
+     */
+    static String visitAttributeEvent(
+        final String name )
+    {
+        return "visitAttribute(" + name + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
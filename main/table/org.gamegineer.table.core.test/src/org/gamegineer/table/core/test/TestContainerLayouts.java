@@ -88,6 +88,14 @@ public final class TestContainerLayouts
             {
                 containerLayout.layout( container );
             }
+
+            @Override
+            public void layout(
+                final IContainer container,
+                final int index )
+            {
+                containerLayout.layout( container, index );
+            }
         };
     }
 
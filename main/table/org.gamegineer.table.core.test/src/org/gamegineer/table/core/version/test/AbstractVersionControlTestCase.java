@@ -203,6 +203,32 @@ public abstract class AbstractVersionControlTestCase
         assertEquals( oldRevisionNumber, newRevisionNumber );
     }
 
+    /**
+     * Ensures running a batch of table mutations increments the table revision
+     * number once.
+     */
+    @Test
+    public void testRunBatch_IncrementsRevisionNumberOnce()
+    {
+        final IVersionControl versionControl = getVersionControl();
+        final IComponent component = createUniqueComponent();
+        final long expectedRevisionNumber = versionControl.getRevisionNumber() + 1L;
+
+        getTable().runBatch( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                getTabletop().addComponent( component );
+                component.setLocation( new Point( 1000, 1000 ) );
+                getTabletop().addComponent( createUniqueComponent() );
+            }
+        } );
+        final long actualRevisionNumber = versionControl.getRevisionNumber();
+
+        assertEquals( expectedRevisionNumber, actualRevisionNumber );
+    }
+
     /**
      * Ensures setting the location of a component that is associated with the
      * table increments the table revision number.
@@ -387,4 +413,30 @@ public abstract class AbstractVersionControlTestCase
 
         assertEquals( oldRevisionNumber, newRevisionNumber );
     }
+
+    /**
+     * Ensures setting the table memento increments the table revision number
+     * once.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testSetMemento_IncrementsRevisionNumberOnce()
+        throws Exception
+    {
+        final IVersionControl versionControl = getVersionControl();
+        final IComponent component = createUniqueComponent();
+        getTabletop().addComponent( component );
+        component.setLocation( new Point( 1000, 1000 ) );
+        getTabletop().addComponent( createUniqueComponent() );
+        final Object memento = getTable().createMemento();
+        getTabletop().removeAllComponents();
+        final long expectedRevisionNumber = versionControl.getRevisionNumber() + 1L;
+
+        getTable().setMemento( memento );
+        final long actualRevisionNumber = versionControl.getRevisionNumber();
+
+        assertEquals( expectedRevisionNumber, actualRevisionNumber );
+    }
 }
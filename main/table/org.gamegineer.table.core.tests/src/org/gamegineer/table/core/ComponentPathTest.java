@@ -22,6 +22,8 @@
 package org.gamegineer.table.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
@@ -47,6 +49,35 @@ public final class ComponentPathTest
     // Methods
     // ======================================================================
 
+    /**
+     * Ensures the {@link ComponentPath#compareTo} method orders a shallower
+     * path before a deeper path regardless of their indexes.
+     */
+    @Test
+    public void testCompareTo_DifferentDepths()
+    {
+        final ComponentPath shallowerPath = new ComponentPath( ComponentPath.ROOT, 5 );
+        final ComponentPath deeperPath = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 0 ), 0 );
+
+        assertTrue( shallowerPath.compareTo( deeperPath ) < 0 );
+        assertTrue( deeperPath.compareTo( shallowerPath ) > 0 );
+    }
+
+    /**
+     * Ensures the {@link ComponentPath#compareTo} method orders paths of the
+     * same depth by their indexes beginning at the root-most component.
+     */
+    @Test
+    public void testCompareTo_SameDepth()
+    {
+        final ComponentPath path1 = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 0 ), 9 );
+        final ComponentPath path2 = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 1 ), 0 );
+
+        assertTrue( path1.compareTo( path2 ) < 0 );
+        assertTrue( path2.compareTo( path1 ) > 0 );
+        assertEquals( 0, path1.compareTo( new ComponentPath( new ComponentPath( ComponentPath.ROOT, 0 ), 9 ) ) );
+    }
+
     /**
      * Ensures the {@link ComponentPath#ComponentPath} constructor throws an
      * exception when passed an illegal index that is negative.
@@ -57,6 +88,68 @@ public final class ComponentPathTest
         new ComponentPath( ComponentPath.ROOT, -1 );
     }
 
+    /**
+     * Ensures the {@link ComponentPath#equals} and
+     * {@link ComponentPath#hashCode} methods agree for equal paths that were
+     * constructed independently.
+     */
+    @Test
+    public void testEqualsAndHashCode_EqualPaths()
+    {
+        final ComponentPath path1 = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 3 ), 7 );
+        final ComponentPath path2 = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 3 ), 7 );
+
+        assertEquals( path1, path2 );
+        assertEquals( path1.hashCode(), path2.hashCode() );
+        assertFalse( path1.equals( new ComponentPath( new ComponentPath( ComponentPath.ROOT, 7 ), 3 ) ) );
+    }
+
+    /**
+     * Ensures the {@link ComponentPath#getIndex(int)} and
+     * {@link ComponentPath#getIndexCount} methods return the container indexes
+     * ordered from the root-most component.
+     */
+    @Test
+    public void testGetIndexAtPosition()
+    {
+        final ComponentPath componentPath = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 10 ), 100 );
+
+        assertEquals( 0, ComponentPath.ROOT.getIndexCount() );
+        assertEquals( 2, componentPath.getIndexCount() );
+        assertEquals( 10, componentPath.getIndex( 0 ) );
+        assertEquals( 100, componentPath.getIndex( 1 ) );
+    }
+
+    /**
+     * Ensures the {@link ComponentPath#getIndex(int)} method throws an
+     * exception when passed a position beyond the end of a parent path derived
+     * from a deeper path.
+     */
+    @Test( expected = IndexOutOfBoundsException.class )
+    public void testGetIndexAtPosition_Position_Illegal_BeyondParentPath()
+    {
+        final ComponentPath componentPath = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 10 ), 100 );
+
+        componentPath.getParentPath().get().getIndex( 1 );
+    }
+
+    /**
+     * Ensures the {@link ComponentPath#getParentPath} method returns a path
+     * equal to the path from which the component path was constructed.
+     */
+    @Test
+    public void testGetParentPath()
+    {
+        final ComponentPath parentPath = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 3 ), 7 );
+        final ComponentPath componentPath = new ComponentPath( parentPath, 11 );
+
+        assertEquals( parentPath, componentPath.getParentPath().get() );
+        assertEquals( parentPath.hashCode(), componentPath.getParentPath().get().hashCode() );
+        assertEquals( 7, componentPath.getParentPath().get().getIndex() );
+        assertEquals( ComponentPath.ROOT, parentPath.getParentPath().get().getParentPath().get() );
+        assertFalse( ComponentPath.ROOT.getParentPath().isPresent() );
+    }
+
     /**
      * Ensures the {@link ComponentPath#toList} method returns the correct value
      * when the component hierarchy is one level deep.
@@ -0,0 +1,111 @@
+/*
+ * MinimalContainerLayoutAsContainerLayoutTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:32:07 AM.
+ */
+
+package org.gamegineer.table.core;
+
+import net.jcip.annotations.Immutable;
+import org.gamegineer.table.core.test.AbstractContainerLayoutTestCase;
+
+/**
+ * A fixture for testing a container layout that implements only the abstract
+ * methods of the {@link IContainerLayout} interface to ensure the default
+ * methods of the interface do not violate its contract.
+ */
+public final class MinimalContainerLayoutAsContainerLayoutTest
+    extends AbstractContainerLayoutTestCase
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code MinimalContainerLayoutAsContainerLayoutTest} class.
+     */
+    public MinimalContainerLayoutAsContainerLayoutTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.table.core.test.AbstractContainerLayoutTestCase#createContainerLayout()
+     */
+    @Override
+    protected IContainerLayout createContainerLayout()
+    {
+        return new MinimalContainerLayout();
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A container layout that implements only the abstract methods of the
+     * {@link IContainerLayout} interface.
+     */
+    @Immutable
+    private static final class MinimalContainerLayout
+        implements IContainerLayout
+    {
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code MinimalContainerLayout}
+         * class.
+         */
+        MinimalContainerLayout()
+        {
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see org.gamegineer.table.core.IContainerLayout#getId()
+         */
+        @Override
+        public ContainerLayoutId getId()
+        {
+            return ContainerLayoutId.fromString( "minimal" ); //$NON-NLS-1$
+        }
+
+        /*
+         * @see org.gamegineer.table.core.IContainerLayout#layout(org.gamegineer.table.core.IContainer)
+         */
+        @Override
+        public void layout(
+            @SuppressWarnings( "unused" )
+            final IContainer container )
+        {
+            // do nothing
+        }
+    }
+}
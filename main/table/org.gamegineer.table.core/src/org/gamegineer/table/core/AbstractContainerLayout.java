@@ -21,6 +21,7 @@
 
 package org.gamegineer.table.core;
 
+import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import java.awt.Dimension;
 import java.awt.Point;
 import net.jcip.annotations.Immutable;
@@ -65,6 +66,12 @@ public abstract class AbstractContainerLayout
      * Gets the offset from the container origin in table coordinates of the
      * component at the specified index.
      * 
+     * <p>
+     * If {@link #isComponentOffsetIndexDependentOnly} returns {@code true},
+     * the offset must depend only on the specified index and not on the number
+     * or state of the other components in the container.
+     * </p>
+     * 
      * @param container
      *        The container.
      * @param index
@@ -89,6 +96,29 @@ public abstract class AbstractContainerLayout
         return id_;
     }
 
+    /**
+     * Indicates the offset of each component returned by
+     * {@link #getComponentOffsetAt} depends only on the component index.
+     * 
+     * <p>
+     * When this method returns {@code true}, an incremental layout only
+     * repositions the components at or above the index at which the container
+     * changed. Otherwise, every incremental layout repositions all components.
+     * </p>
+     * 
+     * <p>
+     * This implementation returns {@code false}. Subclasses may override and
+     * are not required to call the superclass implementation.
+     * </p>
+     * 
+     * @return {@code true} if the offset of each component depends only on
+     *         the component index; otherwise {@code false}.
+     */
+    protected boolean isComponentOffsetIndexDependentOnly()
+    {
+        return false;
+    }
+
     /*
      * @see org.gamegineer.table.core.IContainerLayout#layout(org.gamegineer.table.core.IContainer)
      */
@@ -96,14 +126,32 @@ public abstract class AbstractContainerLayout
     public final void layout(
         final IContainer container )
     {
+        layout( container, 0 );
+    }
+
+    /**
+     * This implementation only lays out the components at or above the
+     * specified index if {@link #isComponentOffsetIndexDependentOnly} returns
+     * {@code true}; otherwise, it lays out all components.
+     * 
+     * @see org.gamegineer.table.core.IContainerLayout#layout(org.gamegineer.table.core.IContainer, int)
+     */
+    @Override
+    public final void layout(
+        final IContainer container,
+        final int index )
+    {
+        assertArgumentLegal( index >= 0, "index", NonNlsMessages.AbstractContainerLayout_layout_index_negative ); //$NON-NLS-1$
+
         final Point containerOrigin = container.getOrigin();
         final Point componentLocation = new Point();
-        for( int index = 0, size = container.getComponentCount(); index < size; ++index )
+        final int firstComponentIndex = isComponentOffsetIndexDependentOnly() ? index : 0;
+        for( int componentIndex = firstComponentIndex, size = container.getComponentCount(); componentIndex < size; ++componentIndex )
         {
             componentLocation.setLocation( containerOrigin );
-            final Dimension componentOffset = getComponentOffsetAt( container, index );
+            final Dimension componentOffset = getComponentOffsetAt( container, componentIndex );
             componentLocation.translate( componentOffset.width, componentOffset.height );
-            container.getComponent( index ).setLocation( componentLocation );
+            container.getComponent( componentIndex ).setLocation( componentLocation );
         }
     }
 }
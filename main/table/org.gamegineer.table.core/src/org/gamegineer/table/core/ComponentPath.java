@@ -23,14 +23,11 @@ package org.gamegineer.table.core;
 
 import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import net.jcip.annotations.Immutable;
 import org.eclipse.jdt.annotation.Nullable;
-import org.gamegineer.common.core.util.ComparableUtils;
 
 /**
  * The path to a component from its associated table.
@@ -56,16 +53,28 @@ public final class ComponentPath
     // ======================================================================
 
     /** The path to the root component of a component hierarchy */
-    public static final ComponentPath ROOT = new ComponentPath( Optional.empty(), -1 );
+    public static final ComponentPath ROOT = new ComponentPath( new int[ 0 ], 0 );
+
+    /** The component path hash code. */
+    private final int hashCode_;
 
     /**
-     * The component index relative to its parent or -1 if the component has no
-     * parent.
+     * The number of container indexes in this component path; only this many
+     * leading elements of {@link #indexes_} belong to this component path.
      */
-    private final int index_;
+    private final int indexCount_;
 
-    /** The parent path or empty if the component has no parent. */
-    private final Optional<ComponentPath> parentPath_;
+    /**
+     * The sequence of container indexes ordered from the root-most component to
+     * the leaf-most component. The root component has no index and therefore
+     * does not appear in the sequence.
+     * 
+     * <p>
+     * The array may be shared with descendant paths, which is how an ancestor
+     * path is derived without copying; it must never be modified.
+     * </p>
+     */
+    private final int[] indexes_;
 
 
     // ======================================================================
@@ -75,20 +84,29 @@ public final class ComponentPath
     /**
      * Initializes a new instance of the {@code ComponentPath} class.
      * 
-     * @param parentPath
-     *        The parent path or empty if the component has no parent.
-     * @param index
-     *        component index relative to its parent or -1 if the component has
-     *        no parent.
+     * @param indexes
+     *        The sequence of container indexes ordered from the root-most
+     *        component to the leaf-most component; the array is shared, not
+     *        copied, and must never be modified.
+     * @param indexCount
+     *        The number of leading elements of {@code indexes} that belong to
+     *        the component path.
      */
     private ComponentPath(
-        final Optional<ComponentPath> parentPath,
-        final int index )
+        final int[] indexes,
+        final int indexCount )
     {
-        assert index >= -1;
+        assert (indexCount >= 0) && (indexCount <= indexes.length);
 
-        index_ = index;
-        parentPath_ = parentPath;
+        int hashCode = 1;
+        for( int position = 0; position < indexCount; ++position )
+        {
+            hashCode = 31 * hashCode + indexes[ position ];
+        }
+
+        hashCode_ = hashCode;
+        indexCount_ = indexCount;
+        indexes_ = indexes;
     }
 
     /**
@@ -106,9 +124,7 @@ public final class ComponentPath
         final ComponentPath parentPath,
         final int index )
     {
-        this( Optional.of( parentPath ), index );
-
-        assertArgumentLegal( index >= 0, "index", NonNlsMessages.ComponentPath_ctor_index_negative ); //$NON-NLS-1$
+        this( appendIndex( parentPath, index ), parentPath.indexCount_ + 1 );
     }
 
 
@@ -116,6 +132,31 @@ public final class ComponentPath
     // Methods
     // ======================================================================
 
+    /**
+     * Creates a new sequence of container indexes by appending the specified
+     * index to the container indexes of the specified component path.
+     * 
+     * @param componentPath
+     *        The component path.
+     * @param index
+     *        The index to append.
+     * 
+     * @return A new sequence of container indexes.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code index} is negative.
+     */
+    private static int[] appendIndex(
+        final ComponentPath componentPath,
+        final int index )
+    {
+        assertArgumentLegal( index >= 0, "index", NonNlsMessages.ComponentPath_ctor_index_negative ); //$NON-NLS-1$
+
+        final int[] newIndexes = Arrays.copyOf( componentPath.indexes_, componentPath.indexCount_ + 1 );
+        newIndexes[ componentPath.indexCount_ ] = index;
+        return newIndexes;
+    }
+
     /*
      * @see java.lang.Comparable#compareTo(java.lang.Object)
      */
@@ -128,15 +169,23 @@ public final class ComponentPath
             throw new NullPointerException( "other" ); //$NON-NLS-1$
         }
 
-        final @Nullable ComponentPath parentPath = parentPath_.isPresent() ? parentPath_.get() : null;
-        final @Nullable ComponentPath otherParentPath = other.parentPath_.isPresent() ? other.parentPath_.get() : null;
-        final int parentPathCompareResult = ComparableUtils.compareTo( parentPath, otherParentPath );
-        if( parentPathCompareResult != 0 )
+        // shallower paths precede deeper paths; paths of equal depth are
+        // ordered by their indexes from the root-most component
+        final int[] otherIndexes = other.indexes_;
+        if( indexCount_ != other.indexCount_ )
+        {
+            return indexCount_ - other.indexCount_;
+        }
+
+        for( int position = 0; position < indexCount_; ++position )
         {
-            return parentPathCompareResult;
+            if( indexes_[ position ] != otherIndexes[ position ] )
+            {
+                return indexes_[ position ] - otherIndexes[ position ];
+            }
         }
 
-        return index_ - other.index_;
+        return 0;
     }
 
     /*
@@ -156,7 +205,8 @@ public final class ComponentPath
             return false;
         }
 
-        return compareTo( (ComponentPath)obj ) == 0;
+        final ComponentPath other = (ComponentPath)obj;
+        return (hashCode_ == other.hashCode_) && (compareTo( other ) == 0);
     }
 
     /**
@@ -167,27 +217,77 @@ public final class ComponentPath
      */
     public int getIndex()
     {
-        return index_;
+        return (indexCount_ > 0) ? indexes_[ indexCount_ - 1 ] : -1;
+    }
+
+    /**
+     * Gets the container index at the specified position in this component
+     * path.
+     * 
+     * <p>
+     * Position 0 is the index of the root-most component beneath the root
+     * component; position {@code getIndexCount() - 1} is the index of the
+     * leaf-most component.
+     * </p>
+     * 
+     * @param position
+     *        The position.
+     * 
+     * @return The container index at the specified position.
+     * 
+     * @throws java.lang.IndexOutOfBoundsException
+     *         If {@code position} is out of range (
+     *         {@code position < 0 || position >= getIndexCount()}).
+     */
+    public int getIndex(
+        final int position )
+    {
+        if( (position < 0) || (position >= indexCount_) )
+        {
+            throw new IndexOutOfBoundsException( Integer.toString( position ) );
+        }
+
+        return indexes_[ position ];
+    }
+
+    /**
+     * Gets the number of container indexes in this component path.
+     * 
+     * @return The number of container indexes in this component path; 0 if
+     *         this component path is the root path.
+     */
+    public int getIndexCount()
+    {
+        return indexCount_;
     }
 
     /**
      * Gets the parent path.
      * 
+     * <p>
+     * The parent path shares the container indexes of this component path and
+     * is therefore derived without copying them.
+     * </p>
+     * 
      * @return The parent path or empty if the component has no parent.
      */
     public Optional<ComponentPath> getParentPath()
     {
-        return parentPath_;
+        if( indexCount_ == 0 )
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of( (indexCount_ == 1) ? ROOT : new ComponentPath( indexes_, indexCount_ - 1 ) );
     }
 
     /*
      * @see java.lang.Object#hashCode()
      */
     @Override
-    @SuppressWarnings( "boxing" )
     public int hashCode()
     {
-        return Objects.hash( parentPath_, index_ );
+        return hashCode_;
     }
 
     /**
@@ -200,17 +300,17 @@ public final class ComponentPath
      */
     public List<ComponentPath> toList()
     {
-        final List<ComponentPath> componentPaths = new ArrayList<>();
-
-        Optional<ComponentPath> componentPath = Optional.of( this );
-        while( componentPath.isPresent() )
+        final List<ComponentPath> componentPaths = new ArrayList<>( indexCount_ + 1 );
+        componentPaths.add( ROOT );
+        for( int indexCount = 1; indexCount < indexCount_; ++indexCount )
         {
-            final ComponentPath value = componentPath.get();
-            componentPaths.add( value );
-            componentPath = value.getParentPath();
+            componentPaths.add( new ComponentPath( indexes_, indexCount ) );
+        }
+        if( indexCount_ > 0 )
+        {
+            componentPaths.add( this );
         }
 
-        Collections.reverse( componentPaths );
         return componentPaths;
     }
 
@@ -222,10 +322,12 @@ public final class ComponentPath
     {
         final StringBuilder sb = new StringBuilder();
         sb.append( "ComponentPath[" ); //$NON-NLS-1$
-        sb.append( toList().stream() //
-            .map( ComponentPath::getIndex ) //
-            .map( Object::toString ) //
-            .collect( Collectors.joining( "." ) ) ); //$NON-NLS-1$
+        sb.append( ROOT.getIndex() );
+        for( int position = 0; position < indexCount_; ++position )
+        {
+            sb.append( '.' );
+            sb.append( indexes_[ position ] );
+        }
         sb.append( "]" ); //$NON-NLS-1$
         return sb.toString();
     }
@@ -27,7 +27,9 @@ import java.awt.Rectangle;
 import java.util.Collection;
 import java.util.Map;
 import org.eclipse.jdt.annotation.Nullable;
-import org.gamegineer.common.core.util.memento.IMementoOriginator;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.common.core.util.memento.IVisitableMementoOriginator;
+import org.gamegineer.common.core.util.memento.MementoException;
 
 /**
  * A table component.
@@ -35,12 +37,49 @@ import org.gamegineer.common.core.util.memento.IMementoOriginator;
  * @noextend This interface is not intended to be extended by clients.
  */
 public interface IComponent
-    extends IMementoOriginator
+    extends IVisitableMementoOriginator
 {
     // ======================================================================
     // Methods
     // ======================================================================
 
+    /**
+     * Visits the state of this component using the specified memento visitor.
+     * 
+     * <p>
+     * The visitor receives the following events in order:
+     * </p>
+     * 
+     * <ol>
+     * <li>{@code beginMemento}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#COMPONENT_CLASS_NAME}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#COMPONENT_STRATEGY_ID}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#COMPONENT_LOCATION}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#COMPONENT_ORIENTATION}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#COMPONENT_ORIGIN}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#COMPONENT_SURFACE_DESIGN_IDS}</li>
+     * <li>the events of the container, if this component is a container (see
+     * {@link IContainer#acceptMementoVisitor(IMementoVisitor)})</li>
+     * <li>{@code endMemento}</li>
+     * </ol>
+     * 
+     * @param visitor
+     *        The memento visitor.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the state of this component.
+     */
+    @Override
+    public void acceptMementoVisitor(
+        IMementoVisitor visitor )
+        throws MementoException;
+
     /**
      * Adds the specified component listener to this component.
      * 
@@ -22,6 +22,8 @@
 package org.gamegineer.table.core;
 
 import java.util.List;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.common.core.util.memento.MementoException;
 
 /**
  * A table component that can contain other table components.
@@ -35,6 +37,36 @@ public interface IContainer
     // Methods
     // ======================================================================
 
+    /**
+     * Visits the state of this container using the specified memento visitor.
+     * 
+     * <p>
+     * The visitor receives the events of a component (see
+     * {@link IComponent#acceptMementoVisitor(IMementoVisitor)}) followed by
+     * the following events in order before {@code endMemento}:
+     * </p>
+     * 
+     * <ol>
+     * <li>{@code beginMementoListAttribute} for
+     * {@link TableMementoAttributeNames#CONTAINER_COMPONENTS}</li>
+     * <li>the events of each component in this container, from the bottom-most
+     * component to the top-most component</li>
+     * <li>{@code endMementoListAttribute}</li>
+     * <li>{@code visitAttribute} for
+     * {@link TableMementoAttributeNames#CONTAINER_LAYOUT_ID}</li>
+     * </ol>
+     * 
+     * @param visitor
+     *        The memento visitor.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the state of this container.
+     */
+    @Override
+    public void acceptMementoVisitor(
+        IMementoVisitor visitor )
+        throws MementoException;
+
     /**
      * Adds the specified component to the top of this container.
      * 
@@ -21,6 +21,8 @@
 
 package org.gamegineer.table.core;
 
+import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
+
 /**
  * A container layout.
  * 
@@ -52,4 +54,37 @@ public interface IContainerLayout
      */
     public void layout(
         IContainer container );
+
+    /**
+     * Lays out the child components of the specified container according to the
+     * rules of this layout beginning at the specified index.
+     * 
+     * <p>
+     * The caller guarantees the child components below the specified index
+     * have not changed since the container was last laid out. Implementations
+     * may use this guarantee to avoid laying out those components again but
+     * are not required to do so.
+     * </p>
+     * 
+     * <p>
+     * The default implementation lays out all child components by invoking
+     * {@link #layout(IContainer)}.
+     * </p>
+     * 
+     * @param container
+     *        The container.
+     * @param index
+     *        The index of the first child component to be laid out.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code index} is negative.
+     */
+    public default void layout(
+        final IContainer container,
+        final int index )
+    {
+        assertArgumentLegal( index >= 0, "index", NonNlsMessages.IContainerLayout_layout_index_negative ); //$NON-NLS-1$
+
+        layout( container );
+    }
 }
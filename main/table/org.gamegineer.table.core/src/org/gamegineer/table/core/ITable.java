@@ -24,7 +24,9 @@ package org.gamegineer.table.core;
 import java.awt.Point;
 import java.util.List;
 import org.eclipse.jdt.annotation.Nullable;
-import org.gamegineer.common.core.util.memento.IMementoOriginator;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.common.core.util.memento.IVisitableMementoOriginator;
+import org.gamegineer.common.core.util.memento.MementoException;
 
 /**
  * A virtual game table.
@@ -32,12 +34,40 @@ import org.gamegineer.common.core.util.memento.IMementoOriginator;
  * @noextend This interface is not intended to be extended by clients.
  */
 public interface ITable
-    extends IMementoOriginator
+    extends IVisitableMementoOriginator
 {
     // ======================================================================
     // Methods
     // ======================================================================
 
+    /**
+     * Visits the state of this table using the specified memento visitor.
+     * 
+     * <p>
+     * The visitor receives the following events in order:
+     * </p>
+     * 
+     * <ol>
+     * <li>{@code beginMemento}</li>
+     * <li>{@code beginMementoAttribute} for
+     * {@link TableMementoAttributeNames#TABLE_TABLETOP}</li>
+     * <li>the events of the tabletop (see
+     * {@link IContainer#acceptMementoVisitor(IMementoVisitor)})</li>
+     * <li>{@code endMementoAttribute}</li>
+     * <li>{@code endMemento}</li>
+     * </ol>
+     * 
+     * @param visitor
+     *        The memento visitor.
+     * 
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the visitor cannot accept the state of this table.
+     */
+    @Override
+    public void acceptMementoVisitor(
+        IMementoVisitor visitor )
+        throws MementoException;
+
     /**
      * Gets the component in this table at the specified path.
      * 
@@ -101,4 +131,37 @@ public interface ITable
      * @return The tabletop.
      */
     public IContainer getTabletop();
+
+    /**
+     * Runs the specified batch of table mutations.
+     * 
+     * <p>
+     * The table environment lock is held for the duration of the batch. Any
+     * container layouts, table revision number increments, and event
+     * notifications resulting from mutations made within the batch to any
+     * component in the table environment are deferred until the batch
+     * completes. At that time, each affected container is laid out once, the
+     * revision number of each affected table is incremented once, and the
+     * pending event notifications are fired with redundant component state
+     * change notifications coalesced.
+     * </p>
+     * 
+     * <p>
+     * The pending event notifications are preceded by a
+     * {@link ITableEnvironmentListener#batchBegun} event and followed by a
+     * {@link ITableEnvironmentListener#batchEnded} event fired by the table
+     * environment.
+     * </p>
+     * 
+     * <p>
+     * Batches may be nested; the deferred work is performed only when the
+     * outermost batch completes. The deferred work is performed even if the
+     * batch completes abruptly.
+     * </p>
+     * 
+     * @param batch
+     *        The batch of table mutations.
+     */
+    public void runBatch(
+        Runnable batch );
 }
@@ -44,6 +44,19 @@ public interface ITableEnvironment
     // Methods
     // ======================================================================
 
+    /**
+     * Adds the specified table environment listener to this table environment.
+     * 
+     * @param listener
+     *        The table environment listener.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code listener} is already a registered table environment
+     *         listener.
+     */
+    public void addTableEnvironmentListener(
+        ITableEnvironmentListener listener );
+
     /**
      * Creates a new component from the specified memento.
      * 
@@ -102,4 +115,18 @@ public interface ITableEnvironment
      * @return The table environment lock.
      */
     public ITableEnvironmentLock getLock();
+
+    /**
+     * Removes the specified table environment listener from this table
+     * environment.
+     * 
+     * @param listener
+     *        The table environment listener.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code listener} is not a registered table environment
+     *         listener.
+     */
+    public void removeTableEnvironmentListener(
+        ITableEnvironmentListener listener );
 }
@@ -0,0 +1,67 @@
+/*
+ * ITableEnvironmentListener.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:05:12 AM.
+ */
+
+package org.gamegineer.table.core;
+
+import java.util.EventListener;
+
+/**
+ * The listener interface for use by clients to be notified of changes to the
+ * table environment state.
+ * 
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface ITableEnvironmentListener
+    extends EventListener
+{
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Invoked after a batch of table mutations has begun.
+     * 
+     * <p>
+     * The events resulting from the mutations made within the batch are fired
+     * after this event and before the corresponding
+     * {@link #batchEnded(TableEnvironmentEvent)} event. Clients may use these
+     * two events to treat the intervening events as a single change.
+     * </p>
+     * 
+     * @param event
+     *        The event describing the table environment.
+     * 
+     * @see ITable#runBatch(Runnable)
+     */
+    public void batchBegun(
+        TableEnvironmentEvent event );
+
+    /**
+     * Invoked after a batch of table mutations has ended.
+     * 
+     * @param event
+     *        The event describing the table environment.
+     * 
+     * @see ITable#runBatch(Runnable)
+     */
+    public void batchEnded(
+        TableEnvironmentEvent event );
+}
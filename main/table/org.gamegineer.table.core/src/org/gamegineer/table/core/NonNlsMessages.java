@@ -40,6 +40,11 @@ final class NonNlsMessages
     /** The default component surface design is not available. */
     public static String AbstractComponentStrategy_getDefaultSurfaceDesign_notAvailable = ""; //$NON-NLS-1$
 
+    // --- AbstractContainerLayout ------------------------------------------
+
+    /** The component index must not be negative. */
+    public static String AbstractContainerLayout_layout_index_negative = ""; //$NON-NLS-1$
+
     // --- AbstractContainerStrategy ----------------------------------------
 
     /** The default container layout is not available. */
@@ -98,6 +103,11 @@ final class NonNlsMessages
     /** The component index is negative. */
     public static String ContainerLayouts_NullContainerLayout_getComponentOffsetAt_index_negative = ""; //$NON-NLS-1$
 
+    // --- IContainerLayout -------------------------------------------------
+
+    /** The component index must not be negative. */
+    public static String IContainerLayout_layout_index_negative = ""; //$NON-NLS-1$
+
     // --- MultiThreadedTableEnvironmentContext -----------------------------
 
     /** Failed to cancel the event notification task. */
@@ -0,0 +1,89 @@
+/*
+ * TableEnvironmentEvent.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:08:03 AM.
+ */
+
+package org.gamegineer.table.core;
+
+import java.util.EventObject;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An event fired by a table environment.
+ * 
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@ThreadSafe
+public class TableEnvironmentEvent
+    extends EventObject
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** Serializable class version number. */
+    private static final long serialVersionUID = 4702188351746025017L;
+
+    /** The thread on which the event originated. */
+    private final Thread thread_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TableEnvironmentEvent} class.
+     * 
+     * @param source
+     *        The table environment that fired the event.
+     */
+    public TableEnvironmentEvent(
+        final ITableEnvironment source )
+    {
+        super( source );
+
+        thread_ = Thread.currentThread();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the table environment that fired the event.
+     * 
+     * @return The table environment that fired the event.
+     */
+    public final ITableEnvironment getTableEnvironment()
+    {
+        return (ITableEnvironment)getSource();
+    }
+
+    /**
+     * Gets the thread on which the event originated.
+     * 
+     * @return The thread on which the event originated.
+     */
+    public final Thread getThread()
+    {
+        return thread_;
+    }
+}
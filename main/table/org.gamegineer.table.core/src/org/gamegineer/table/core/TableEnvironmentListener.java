@@ -0,0 +1,76 @@
+/*
+ * TableEnvironmentListener.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:06:40 AM.
+ */
+
+package org.gamegineer.table.core;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Default implementation of {@link ITableEnvironmentListener}.
+ * 
+ * <p>
+ * All methods of this class do nothing.
+ * </p>
+ */
+@Immutable
+public class TableEnvironmentListener
+    implements ITableEnvironmentListener
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TableEnvironmentListener} class.
+     */
+    public TableEnvironmentListener()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * This implementation does nothing.
+     * 
+     * @see org.gamegineer.table.core.ITableEnvironmentListener#batchBegun(org.gamegineer.table.core.TableEnvironmentEvent)
+     */
+    @Override
+    public void batchBegun(
+        final TableEnvironmentEvent event )
+    {
+        // do nothing
+    }
+
+    /**
+     * This implementation does nothing.
+     * 
+     * @see org.gamegineer.table.core.ITableEnvironmentListener#batchEnded(org.gamegineer.table.core.TableEnvironmentEvent)
+     */
+    @Override
+    public void batchEnded(
+        final TableEnvironmentEvent event )
+    {
+        // do nothing
+    }
+}
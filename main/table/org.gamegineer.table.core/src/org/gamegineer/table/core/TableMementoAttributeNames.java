@@ -0,0 +1,104 @@
+/*
+ * TableMementoAttributeNames.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:40 AM.
+ */
+
+package org.gamegineer.table.core;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The names of the attributes of the mementos created by table components and
+ * tables.
+ * 
+ * <p>
+ * These names, together with the order in which they are visited (see
+ * {@link IComponent#acceptMementoVisitor(org.gamegineer.common.core.util.memento.IMementoVisitor)},
+ * {@link IContainer#acceptMementoVisitor(org.gamegineer.common.core.util.memento.IMementoVisitor)},
+ * and
+ * {@link ITable#acceptMementoVisitor(org.gamegineer.common.core.util.memento.IMementoVisitor)}),
+ * are part of the table model contract and may be relied upon by clients that
+ * stream the state of a table without materializing a memento.
+ * </p>
+ */
+@ThreadSafe
+public final class TableMementoAttributeNames
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The name of the memento attribute that stores the class name of the
+     * component.
+     */
+    public static final String COMPONENT_CLASS_NAME = "componentFactory.className"; //$NON-NLS-1$
+
+    /** The name of the memento attribute that stores the component location. */
+    public static final String COMPONENT_LOCATION = "component.location"; //$NON-NLS-1$
+
+    /**
+     * The name of the memento attribute that stores the component
+     * orientation.
+     */
+    public static final String COMPONENT_ORIENTATION = "component.orientation"; //$NON-NLS-1$
+
+    /** The name of the memento attribute that stores the component origin. */
+    public static final String COMPONENT_ORIGIN = "component.origin"; //$NON-NLS-1$
+
+    /**
+     * The name of the memento attribute that stores the component strategy
+     * identifier.
+     */
+    public static final String COMPONENT_STRATEGY_ID = "componentFactory.strategyId"; //$NON-NLS-1$
+
+    /**
+     * The name of the memento attribute that stores the component surface
+     * design identifiers.
+     */
+    public static final String COMPONENT_SURFACE_DESIGN_IDS = "component.surfaceDesignIds"; //$NON-NLS-1$
+
+    /**
+     * The name of the memento list attribute that stores the container
+     * components.
+     */
+    public static final String CONTAINER_COMPONENTS = "container.components"; //$NON-NLS-1$
+
+    /**
+     * The name of the memento attribute that stores the container layout
+     * identifier.
+     */
+    public static final String CONTAINER_LAYOUT_ID = "container.layoutId"; //$NON-NLS-1$
+
+    /** The name of the memento attribute that stores the table tabletop. */
+    public static final String TABLE_TABLETOP = "table.tabletop"; //$NON-NLS-1$
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TableMementoAttributeNames}
+     * class.
+     */
+    private TableMementoAttributeNames()
+    {
+    }
+}
@@ -32,7 +32,9 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
 import org.gamegineer.table.internal.net.impl.ITableNetworkController;
+import org.gamegineer.table.internal.net.impl.transport.FakeTransportMetrics;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.internal.net.impl.transport.TransportException;
 import org.gamegineer.table.net.IPlayer;
 import org.gamegineer.table.net.TableNetworkConfiguration;
@@ -106,6 +108,12 @@ public abstract class AbstractAbstractNodeAsNodeControllerTestCase<T extends Abs
             {
                 throw new TransportException();
             }
+
+            @Override
+            public ITransportMetrics getMetrics()
+            {
+                return new FakeTransportMetrics();
+            }
         };
     }
 
@@ -155,6 +163,12 @@ public abstract class AbstractAbstractNodeAsNodeControllerTestCase<T extends Abs
             {
                 // do nothing
             }
+
+            @Override
+            public ITransportMetrics getMetrics()
+            {
+                return new FakeTransportMetrics();
+            }
         };
     }
 
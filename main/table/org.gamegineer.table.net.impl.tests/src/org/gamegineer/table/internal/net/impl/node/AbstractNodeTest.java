@@ -24,22 +24,31 @@ package org.gamegineer.table.internal.net.impl.node;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import java.awt.Point;
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.jcip.annotations.Immutable;
 import org.easymock.EasyMock;
+import org.easymock.IAnswer;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.core.ITable;
 import org.gamegineer.table.core.MultiThreadedTableEnvironmentContext;
+import org.gamegineer.table.core.TabletopOrientation;
 import org.gamegineer.table.core.test.TestTableEnvironments;
 import org.gamegineer.table.internal.net.impl.ITableNetworkController;
 import org.gamegineer.table.internal.net.impl.TableNetworkConfigurations;
+import org.gamegineer.table.internal.net.impl.node.common.ProtocolVersions;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
 import org.gamegineer.table.internal.net.impl.transport.fake.FakeTransportLayerFactory;
 import org.gamegineer.table.net.IPlayer;
 import org.gamegineer.table.net.TableNetworkConfiguration;
@@ -90,6 +99,59 @@ public final class AbstractNodeTest
     // Methods
     // ======================================================================
 
+    /**
+     * Creates a mock remote node whose table counts the messages sent to it.
+     * 
+     * @param playerName
+     *        The name of the player associated with the remote node.
+     * @param protocolVersion
+     *        The protocol version negotiated with the remote node.
+     * @param sentMessageCount
+     *        The count of messages encoded for the remote table.
+     * @param sentMessageEnvelopeCount
+     *        The count of shared message envelopes sent to the remote table.
+     * 
+     * @return A new mock remote node.
+     */
+    @SuppressWarnings( "unchecked" )
+    private static IRemoteNode createRemoteNode(
+        final String playerName,
+        final int protocolVersion,
+        final AtomicInteger sentMessageCount,
+        final AtomicInteger sentMessageEnvelopeCount )
+    {
+        final IRemoteNodeController<@NonNull ?> remoteNodeController = EasyMock.createNiceMock( IRemoteNodeController.class );
+        EasyMock.expect( remoteNodeController.getProtocolVersion() ).andReturn( protocolVersion ).anyTimes();
+        EasyMock.expect( remoteNodeController.isPersistentObjectStreamEnabled() ).andReturn( protocolVersion >= ProtocolVersions.VERSION_7 ).anyTimes();
+        remoteNodeController.sendMessage( EasyMock.<IMessage>notNull(), EasyMock.<IMessageHandler>isNull() );
+        EasyMock.expectLastCall().andAnswer( new IAnswer<@Nullable Void>()
+        {
+            @Override
+            public @Nullable Void answer()
+            {
+                sentMessageCount.incrementAndGet();
+                return null;
+            }
+        } ).anyTimes();
+        remoteNodeController.sendMessageEnvelope( EasyMock.<MessageEnvelope>notNull() );
+        EasyMock.expectLastCall().andAnswer( new IAnswer<@Nullable Void>()
+        {
+            @Override
+            public @Nullable Void answer()
+            {
+                sentMessageEnvelopeCount.incrementAndGet();
+                return null;
+            }
+        } ).anyTimes();
+        EasyMock.replay( remoteNodeController );
+
+        final IRemoteNode remoteNode = EasyMock.createNiceMock( IRemoteNode.class );
+        EasyMock.expect( remoteNode.getPlayerName() ).andReturn( playerName ).anyTimes();
+        EasyMock.expect( remoteNode.getTable() ).andReturn( new RemoteNetworkTable( remoteNodeController ) ).anyTimes();
+        EasyMock.replay( remoteNode );
+        return remoteNode;
+    }
+
     /**
      * Creates a new table network configuration.
      * 
@@ -269,6 +331,148 @@ public final class AbstractNodeTest
         nodeLayerRunner.disconnect();
     }
 
+    /**
+     * Ensures the table manager encodes a component increment for each remote
+     * table that uses binary encoding when there are few such remote tables.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testTableManager_IncrementComponentState_BinaryEncodingRemoteTables_EncodesPerRemoteTable()
+        throws Exception
+    {
+        final AbstractNode<@NonNull IRemoteNode> node = getNode();
+        final AtomicInteger sentMessageCount = new AtomicInteger( 0 );
+        final AtomicInteger sentMessageEnvelopeCount = new AtomicInteger( 0 );
+        getNodeLayerRunner().connect( createTableNetworkConfiguration() );
+
+        getNodeLayerRunner().run( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                node.bindRemoteNode( createRemoteNode( "player1", ProtocolVersions.VERSION_8, sentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+                node.bindRemoteNode( createRemoteNode( "player2", ProtocolVersions.VERSION_8, sentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+                final ComponentIncrement componentIncrement = new ComponentIncrement();
+                componentIncrement.setLocation( new Point( 1, 2 ) );
+
+                node.new TableManager().incrementComponentState( node.getTable(), new ComponentPath( ComponentPath.ROOT, 0 ), componentIncrement );
+            }
+        } );
+
+        assertEquals( 2, sentMessageCount.get() );
+        assertEquals( 0, sentMessageEnvelopeCount.get() );
+    }
+
+    /**
+     * Ensures the table manager sends a single message for a batch of
+     * component increments to each remote table that accepts it and a message
+     * for each component increment to each other remote table.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testTableManager_IncrementComponentStates_SendsSingleMessageToRemoteTablesThatAcceptIt()
+        throws Exception
+    {
+        final AbstractNode<@NonNull IRemoteNode> node = getNode();
+        final AtomicInteger batchSentMessageCount = new AtomicInteger( 0 );
+        final AtomicInteger legacySentMessageCount = new AtomicInteger( 0 );
+        final AtomicInteger sentMessageEnvelopeCount = new AtomicInteger( 0 );
+        getNodeLayerRunner().connect( createTableNetworkConfiguration() );
+
+        getNodeLayerRunner().run( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                node.bindRemoteNode( createRemoteNode( "player1", ProtocolVersions.VERSION_9, batchSentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+                node.bindRemoteNode( createRemoteNode( "player2", ProtocolVersions.VERSION_8, legacySentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+                final ComponentIncrement componentIncrement1 = new ComponentIncrement();
+                componentIncrement1.setLocation( new Point( 1, 2 ) );
+                final ComponentIncrement componentIncrement2 = new ComponentIncrement();
+                componentIncrement2.setOrientation( TabletopOrientation.DEFAULT );
+
+                node.new TableManager().incrementComponentStates( //
+                    node.getTable(), //
+                    Arrays.asList( new ComponentPath( ComponentPath.ROOT, 0 ), new ComponentPath( ComponentPath.ROOT, 1 ) ), //
+                    Arrays.asList( componentIncrement1, componentIncrement2 ) );
+            }
+        } );
+
+        assertEquals( 1, batchSentMessageCount.get() );
+        assertEquals( 2, legacySentMessageCount.get() );
+        assertEquals( 0, sentMessageEnvelopeCount.get() );
+    }
+
+    /**
+     * Ensures the table manager shares a single self-contained message body
+     * among remote tables that use stream encoding when there are enough of
+     * them that encoding the component increment for each is more expensive.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testTableManager_IncrementComponentState_StreamEncodingRemoteTables_SharesMessageBody()
+        throws Exception
+    {
+        final AbstractNode<@NonNull IRemoteNode> node = getNode();
+        final AtomicInteger sentMessageCount = new AtomicInteger( 0 );
+        final AtomicInteger sentMessageEnvelopeCount = new AtomicInteger( 0 );
+        getNodeLayerRunner().connect( createTableNetworkConfiguration() );
+
+        getNodeLayerRunner().run( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                node.bindRemoteNode( createRemoteNode( "player1", ProtocolVersions.VERSION_7, sentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+                node.bindRemoteNode( createRemoteNode( "player2", ProtocolVersions.VERSION_7, sentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+                final ComponentIncrement componentIncrement = new ComponentIncrement();
+                componentIncrement.setLocation( new Point( 1, 2 ) );
+
+                node.new TableManager().incrementComponentState( node.getTable(), new ComponentPath( ComponentPath.ROOT, 0 ), componentIncrement );
+            }
+        } );
+
+        assertEquals( 0, sentMessageCount.get() );
+        assertEquals( 2, sentMessageEnvelopeCount.get() );
+    }
+
+    /**
+     * Ensures the table manager always shares a single self-contained message
+     * body for a table state.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testTableManager_SetTableState_SharesMessageBody()
+        throws Exception
+    {
+        final AbstractNode<@NonNull IRemoteNode> node = getNode();
+        final AtomicInteger sentMessageCount = new AtomicInteger( 0 );
+        final AtomicInteger sentMessageEnvelopeCount = new AtomicInteger( 0 );
+        getNodeLayerRunner().connect( createTableNetworkConfiguration() );
+
+        getNodeLayerRunner().run( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                node.bindRemoteNode( createRemoteNode( "player1", ProtocolVersions.VERSION_8, sentMessageCount, sentMessageEnvelopeCount ) ); //$NON-NLS-1$
+
+                node.new TableManager().setTableState( node.getTable(), "tableMemento" ); //$NON-NLS-1$
+            }
+        } );
+
+        assertEquals( 0, sentMessageCount.get() );
+        assertEquals( 1, sentMessageEnvelopeCount.get() );
+    }
+
     /**
      * Ensures the {@link AbstractNode#getRemoteNodes} method returns a copy of
      * the bound remote nodes collection.
@@ -21,11 +21,28 @@
 
 package org.gamegineer.table.internal.net.impl.node;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.awt.Point;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.easymock.IMocksControl;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.core.TabletopOrientation;
+import org.gamegineer.table.internal.net.impl.node.common.ProtocolVersions;
+import org.gamegineer.table.internal.net.impl.node.common.messages.ComponentIncrementMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.EchoRequestMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.EchoResponseMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.ErrorMessage;
 import org.gamegineer.table.internal.net.impl.transport.FakeMessage;
 import org.gamegineer.table.internal.net.impl.transport.IMessage;
@@ -82,6 +99,32 @@ public final class AbstractRemoteNodeTest
         return localNode;
     }
 
+    /**
+     * Creates a mock local node with the specified heartbeat timeout for use in
+     * the fixture.
+     * 
+     * <p>
+     * The heartbeat interval of the mock local node is one second.
+     * </p>
+     * 
+     * @param heartbeatTimeout
+     *        The heartbeat timeout in milliseconds.
+     * 
+     * @return A mock local node for use in the fixture.
+     */
+    @SuppressWarnings( "boxing" )
+    private static INode<IRemoteNode> createMockLocalNode(
+        final long heartbeatTimeout )
+    {
+        final IMocksControl mocksControl = EasyMock.createControl();
+        final INode<IRemoteNode> localNode = mocksControl.createMock( INode.class );
+        localNode.bindRemoteNode( EasyMock.<IRemoteNode>notNull() );
+        EasyMock.expect( localNode.getHeartbeatInterval() ).andReturn( 1000L ).anyTimes();
+        EasyMock.expect( localNode.getHeartbeatTimeout() ).andReturn( heartbeatTimeout ).anyTimes();
+        mocksControl.replay();
+        return localNode;
+    }
+
     /**
      * Creates a mock node layer for use in the fixture.
      * 
@@ -97,6 +140,29 @@ public final class AbstractRemoteNodeTest
         return nodeLayer;
     }
 
+    /**
+     * Creates a mock node layer that captures the scheduled heartbeat task for
+     * use in the fixture.
+     * 
+     * @param heartbeatTaskCapture
+     *        The capture that receives the scheduled heartbeat task.
+     * 
+     * @return A mock node layer for use in the fixture.
+     */
+    @SuppressWarnings( "boxing" )
+    private static INodeLayer createMockNodeLayer(
+        final Capture<Runnable> heartbeatTaskCapture )
+    {
+        final IMocksControl mocksControl = EasyMock.createControl();
+        final INodeLayer nodeLayer = mocksControl.createMock( INodeLayer.class );
+        EasyMock.expect( nodeLayer.isNodeLayerThread() ).andReturn( true ).anyTimes();
+        final ScheduledFuture<?> heartbeatFuture = EasyMock.createNiceMock( ScheduledFuture.class );
+        EasyMock.replay( heartbeatFuture );
+        EasyMock.<ScheduledFuture<?>>expect( nodeLayer.scheduleWithFixedDelay( EasyMock.capture( heartbeatTaskCapture ), EasyMock.eq( 1000L ), EasyMock.eq( 1000L ), EasyMock.eq( TimeUnit.MILLISECONDS ) ) ).andReturn( heartbeatFuture );
+        mocksControl.replay();
+        return nodeLayer;
+    }
+
     /**
      * Creates a new instance of the {@code AbstractRemoteNode} class.
      * 
@@ -155,6 +221,76 @@ public final class AbstractRemoteNodeTest
         remoteNode_ = Optional.of( createRemoteNode( createMockNodeLayer(), createMockLocalNode() ) );
     }
 
+    /**
+     * Ensures a heartbeat closes the remote node when the remote node has not
+     * responded to the pending heartbeat request within the heartbeat timeout.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testHeartbeat_ResponseTimedOut()
+        throws Exception
+    {
+        final Capture<Runnable> heartbeatTaskCapture = new Capture<>();
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = createRemoteNode( createMockNodeLayer( heartbeatTaskCapture ), createMockLocalNode( 1L ) );
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        serviceContext.setLargeMessageTransferEnabled( true );
+        serviceContext.setCompressionEnabled( true );
+        serviceContext.sendControlMessageEnvelope( EasyMock.<MessageEnvelope>notNull() );
+        serviceContext.stopService();
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+        remoteNode.setProtocolVersion( ProtocolVersions.VERSION_5 );
+        remoteNode.bind( "playerName" ); //$NON-NLS-1$
+
+        heartbeatTaskCapture.getValue().run();
+        Thread.sleep( 10L );
+        heartbeatTaskCapture.getValue().run();
+
+        mocksControl.verify();
+    }
+
+    /**
+     * Ensures a heartbeat sends an echo request whose response updates the
+     * round-trip time of the remote node.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testHeartbeat_UpdatesRoundTripTime()
+        throws Exception
+    {
+        final Capture<Runnable> heartbeatTaskCapture = new Capture<>();
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = createRemoteNode( createMockNodeLayer( heartbeatTaskCapture ), createMockLocalNode( 60000L ) );
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        serviceContext.setLargeMessageTransferEnabled( true );
+        serviceContext.setCompressionEnabled( true );
+        final Capture<MessageEnvelope> messageEnvelopeCapture = new Capture<>();
+        serviceContext.sendControlMessageEnvelope( EasyMock.capture( messageEnvelopeCapture ) );
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+        remoteNode.setProtocolVersion( ProtocolVersions.VERSION_5 );
+        remoteNode.bind( "playerName" ); //$NON-NLS-1$
+        final long originalRoundTripTime = remoteNode.getRoundTripTime();
+
+        heartbeatTaskCapture.getValue().run();
+        heartbeatTaskCapture.getValue().run();
+        final EchoResponseMessage response = new EchoResponseMessage();
+        response.setId( IMessage.MINIMUM_ID );
+        response.setCorrelationId( messageEnvelopeCapture.getValue().getHeader().getId() );
+        remoteNode.messageReceived( MessageEnvelope.fromMessage( response ) );
+
+        mocksControl.verify();
+        assertEquals( EchoRequestMessage.class, messageEnvelopeCapture.getValue().getMessage().getClass() );
+        assertEquals( -1L, originalRoundTripTime );
+        assertTrue( remoteNode.getRoundTripTime() >= 0L );
+        assertEquals( remoteNode.getRoundTripTime() / 2L, remoteNode.getRoundTripTimeVariation() );
+    }
+
     /**
      * Ensures the {@link AbstractRemoteNode#messageReceived} method does
      * nothing in response to a message envelope that contains an error message
@@ -226,8 +362,8 @@ public final class AbstractRemoteNodeTest
         final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
         final IMocksControl mocksControl = getMocksControl();
         final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
-        final Capture<IMessage> messageCapture = new Capture<>();
-        serviceContext.sendMessage( EasyMock.capture( messageCapture ) );
+        final Capture<MessageEnvelope> messageEnvelopeCapture = new Capture<>();
+        serviceContext.sendControlMessageEnvelope( EasyMock.capture( messageEnvelopeCapture ) );
         final FakeMessage message = new FakeMessage();
         message.setId( IMessage.MINIMUM_ID );
         message.setCorrelationId( IMessage.MAXIMUM_ID );
@@ -238,8 +374,9 @@ public final class AbstractRemoteNodeTest
         remoteNode.messageReceived( messageEnvelope );
 
         mocksControl.verify();
-        assertEquals( ErrorMessage.class, messageCapture.getValue().getClass() );
-        assertEquals( TableNetworkError.UNHANDLED_MESSAGE, ((ErrorMessage)messageCapture.getValue()).getError() );
+        final IMessage actualMessage = messageEnvelopeCapture.getValue().getMessage();
+        assertEquals( ErrorMessage.class, actualMessage.getClass() );
+        assertEquals( TableNetworkError.UNHANDLED_MESSAGE, ((ErrorMessage)actualMessage).getError() );
     }
 
     /**
@@ -257,8 +394,8 @@ public final class AbstractRemoteNodeTest
         final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
         final IMocksControl mocksControl = getMocksControl();
         final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
-        final Capture<IMessage> messageCapture = new Capture<>();
-        serviceContext.sendMessage( EasyMock.capture( messageCapture ) );
+        final Capture<MessageEnvelope> messageEnvelopeCapture = new Capture<>();
+        serviceContext.sendControlMessageEnvelope( EasyMock.capture( messageEnvelopeCapture ) );
         final FakeMessage message = new FakeMessage();
         message.setId( IMessage.MINIMUM_ID );
         message.setCorrelationId( IMessage.NULL_CORRELATION_ID );
@@ -269,23 +406,28 @@ public final class AbstractRemoteNodeTest
         remoteNode.messageReceived( messageEnvelope );
 
         mocksControl.verify();
-        assertEquals( ErrorMessage.class, messageCapture.getValue().getClass() );
-        assertEquals( TableNetworkError.UNHANDLED_MESSAGE, ((ErrorMessage)messageCapture.getValue()).getError() );
+        final IMessage actualMessage = messageEnvelopeCapture.getValue().getMessage();
+        assertEquals( ErrorMessage.class, actualMessage.getClass() );
+        assertEquals( TableNetworkError.UNHANDLED_MESSAGE, ((ErrorMessage)actualMessage).getError() );
     }
 
     /**
      * Ensures the {@link AbstractRemoteNode#messageReceived} method sends an
      * error message in response to a message envelope that contains an unknown
      * message.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
      */
     @Test
     public void testMessageReceived_MessageEnvelope_UnknownMessage()
+        throws Exception
     {
         final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
         final IMocksControl mocksControl = getMocksControl();
         final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
-        final Capture<IMessage> messageCapture = new Capture<>();
-        serviceContext.sendMessage( EasyMock.capture( messageCapture ) );
+        final Capture<MessageEnvelope> messageEnvelopeCapture = new Capture<>();
+        serviceContext.sendControlMessageEnvelope( EasyMock.capture( messageEnvelopeCapture ) );
         final MessageEnvelope.HeaderBuilder headerBuilder = new MessageEnvelope.HeaderBuilder();
         final MessageEnvelope messageEnvelope = MessageEnvelope.fromByteArray( //
             headerBuilder //
@@ -299,8 +441,134 @@ public final class AbstractRemoteNodeTest
         remoteNode.messageReceived( messageEnvelope );
 
         mocksControl.verify();
-        assertEquals( ErrorMessage.class, messageCapture.getValue().getClass() );
-        assertEquals( TableNetworkError.UNKNOWN_MESSAGE, ((ErrorMessage)messageCapture.getValue()).getError() );
+        final IMessage actualMessage = messageEnvelopeCapture.getValue().getMessage();
+        assertEquals( ErrorMessage.class, actualMessage.getClass() );
+        assertEquals( TableNetworkError.UNKNOWN_MESSAGE, ((ErrorMessage)actualMessage).getError() );
+    }
+
+    /**
+     * Ensures the {@link AbstractRemoteNode#outputQueueCongestionChanged}
+     * method sends the merged component increments deferred while the
+     * connection was congested when the congestion policy is to coalesce
+     * updates.
+     */
+    @Test
+    public void testOutputQueueCongestionChanged_CoalesceUpdates()
+    {
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        final Capture<IMessage> messageCapture = new Capture<>( CaptureType.ALL );
+        serviceContext.sendMessage( EasyMock.capture( messageCapture ) );
+        EasyMock.expectLastCall().times( 2 );
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+        final ComponentPath componentPath1 = new ComponentPath( ComponentPath.ROOT, 1 );
+        final ComponentPath componentPath2 = new ComponentPath( ComponentPath.ROOT, 2 );
+        final ComponentIncrement componentIncrement1 = new ComponentIncrement();
+        componentIncrement1.setLocation( new Point( 1, 1 ) );
+        final ComponentIncrement componentIncrement2 = new ComponentIncrement();
+        componentIncrement2.setOrientation( TabletopOrientation.DEFAULT );
+        final ComponentIncrement componentIncrement3 = new ComponentIncrement();
+        componentIncrement3.setLocation( new Point( 2, 2 ) );
+
+        remoteNode.outputQueueCongestionChanged( true, 2048L );
+        remoteNode.getTable().incrementComponentState( componentPath1, componentIncrement1 );
+        remoteNode.getTable().incrementComponentState( componentPath2, componentIncrement3 );
+        remoteNode.getTable().incrementComponentState( componentPath1, componentIncrement2 );
+        remoteNode.getTable().incrementComponentState( componentPath1, componentIncrement3 );
+        remoteNode.outputQueueCongestionChanged( false, 0L );
+
+        mocksControl.verify();
+        final ComponentIncrementMessage actualMessage1 = (ComponentIncrementMessage)messageCapture.getValues().get( 0 );
+        final ComponentIncrementMessage actualMessage2 = (ComponentIncrementMessage)messageCapture.getValues().get( 1 );
+        assertEquals( componentPath1, actualMessage1.getPath() );
+        assertEquals( new Point( 2, 2 ), actualMessage1.getIncrement().getLocation() );
+        assertEquals( TabletopOrientation.DEFAULT, actualMessage1.getIncrement().getOrientation() );
+        assertEquals( componentPath2, actualMessage2.getPath() );
+        assertNull( componentIncrement1.getOrientation() );
+        assertFalse( remoteNode.isOutputQueueCongested() );
+    }
+
+    /**
+     * Ensures the {@link AbstractRemoteNode#outputQueueCongestionChanged}
+     * method closes the remote node when the connection becomes congested and
+     * the congestion policy is to disconnect.
+     */
+    @Test
+    public void testOutputQueueCongestionChanged_Disconnect()
+    {
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = new AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode>( createMockNodeLayer(), createMockLocalNode() )
+        {
+            @Override
+            protected CongestionPolicy getCongestionPolicy()
+            {
+                return CongestionPolicy.DISCONNECT;
+            }
+
+            @Override
+            protected IRemoteNode getThisAsRemoteNodeType()
+            {
+                return this;
+            }
+        };
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        serviceContext.stopService();
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+
+        remoteNode.outputQueueCongestionChanged( true, 2048L );
+
+        mocksControl.verify();
+        assertTrue( remoteNode.isOutputQueueCongested() );
+        assertEquals( 2048L, remoteNode.getOutputQueueLength() );
+    }
+
+    /**
+     * Ensures the {@link AbstractRemoteNode#outputQueueCongestionChanged}
+     * method discards the table updates sent while the connection was
+     * congested and resynchronizes the table once when the congestion policy
+     * is to resynchronize the table.
+     */
+    @Test
+    public void testOutputQueueCongestionChanged_ResynchronizeTable()
+    {
+        final AtomicInteger resynchronizeTableCallCount = new AtomicInteger( 0 );
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = new AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode>( createMockNodeLayer(), createMockLocalNode() )
+        {
+            @Override
+            protected CongestionPolicy getCongestionPolicy()
+            {
+                return CongestionPolicy.RESYNCHRONIZE_TABLE;
+            }
+
+            @Override
+            protected IRemoteNode getThisAsRemoteNodeType()
+            {
+                return this;
+            }
+
+            @Override
+            protected void resynchronizeTable()
+            {
+                resynchronizeTableCallCount.incrementAndGet();
+            }
+        };
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+        final ComponentIncrement componentIncrement = new ComponentIncrement();
+        componentIncrement.setOrientation( TabletopOrientation.DEFAULT );
+
+        remoteNode.outputQueueCongestionChanged( true, 2048L );
+        remoteNode.getTable().incrementComponentState( new ComponentPath( ComponentPath.ROOT, 1 ), componentIncrement );
+        remoteNode.getTable().setTableState( new Object() );
+        remoteNode.outputQueueCongestionChanged( false, 0L );
+
+        mocksControl.verify();
+        assertEquals( 1, resynchronizeTableCallCount.get() );
     }
 
     /**
@@ -316,4 +584,110 @@ public final class AbstractRemoteNodeTest
 
         remoteNode.registerUncorrelatedMessageHandler( IMessage.class, EasyMock.createMock( IMessageHandler.class ) );
     }
+
+    /**
+     * Ensures the {@link AbstractRemoteNode#sendMessageEnvelope} method sends a
+     * message envelope that shares the body of the specified message envelope
+     * but has a message identifier allocated by the remote node.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testSendMessageEnvelope()
+        throws Exception
+    {
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        final Capture<MessageEnvelope> messageEnvelopeCapture = new Capture<>( CaptureType.ALL );
+        serviceContext.sendMessageEnvelope( EasyMock.capture( messageEnvelopeCapture ) );
+        EasyMock.expectLastCall().times( 2 );
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+        final FakeMessage message = new FakeMessage();
+        message.setContent( new byte[] {
+            (byte)0x00, (byte)0x11, (byte)0x22, (byte)0x33
+        } );
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( message );
+
+        remoteNode.sendMessageEnvelope( messageEnvelope );
+        remoteNode.sendMessageEnvelope( messageEnvelope );
+
+        mocksControl.verify();
+        final MessageEnvelope actualMessageEnvelope1 = messageEnvelopeCapture.getValues().get( 0 );
+        final MessageEnvelope actualMessageEnvelope2 = messageEnvelopeCapture.getValues().get( 1 );
+        assertTrue( actualMessageEnvelope1.getHeader().getId() != actualMessageEnvelope2.getHeader().getId() );
+        assertEquals( IMessage.NULL_CORRELATION_ID, actualMessageEnvelope1.getHeader().getCorrelationId() );
+        assertEquals( actualMessageEnvelope1.getHeader().getId(), actualMessageEnvelope1.getMessage().getId() );
+        assertArrayEquals( message.getContent(), ((FakeMessage)actualMessageEnvelope2.getMessage()).getContent() );
+    }
+
+    /**
+     * Ensures the {@link AbstractRemoteNode#sendMessage} method does not reuse
+     * the identifier of a request that is still awaiting a correlated
+     * response.
+     */
+    @Test
+    public void testSendMessage_Correlated_SkipsIdsAwaitingResponse()
+    {
+        final int messageCount = IMessage.MAXIMUM_COMPACT_ID - IMessage.MINIMUM_ID + 1;
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        final Capture<IMessage> messageCapture = new Capture<>( CaptureType.ALL );
+        serviceContext.sendMessage( EasyMock.capture( messageCapture ) );
+        EasyMock.expectLastCall().times( messageCount );
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+
+        for( int index = 0; index < messageCount; ++index )
+        {
+            remoteNode.sendMessage( new FakeMessage(), EasyMock.createMock( IMessageHandler.class ) );
+        }
+
+        mocksControl.verify();
+        final Set<Integer> ids = new HashSet<>();
+        for( final IMessage message : messageCapture.getValues() )
+        {
+            assertTrue( message.getId() <= IMessage.MAXIMUM_COMPACT_ID );
+            ids.add( Integer.valueOf( message.getId() ) );
+        }
+        assertEquals( messageCount, ids.size() );
+    }
+
+    /**
+     * Ensures the {@link AbstractRemoteNode#sendMessage} method assigns
+     * identifiers beyond the compact identifier range when the negotiated
+     * protocol version supports wide message identifiers.
+     */
+    @Test
+    public void testSendMessage_Correlated_WideIds()
+    {
+        final int messageCount = 2 * IMessage.MAXIMUM_COMPACT_ID;
+        final AbstractRemoteNode<INode<IRemoteNode>, IRemoteNode> remoteNode = getRemoteNode();
+        final IMocksControl mocksControl = getMocksControl();
+        final IServiceContext serviceContext = mocksControl.createMock( IServiceContext.class );
+        serviceContext.setLargeMessageTransferEnabled( true );
+        serviceContext.setCompressionEnabled( false );
+        final Capture<IMessage> messageCapture = new Capture<>( CaptureType.ALL );
+        serviceContext.sendMessage( EasyMock.capture( messageCapture ) );
+        EasyMock.expectLastCall().times( messageCount );
+        mocksControl.replay();
+        remoteNode.started( serviceContext );
+        remoteNode.setProtocolVersion( ProtocolVersions.VERSION_3 );
+
+        for( int index = 0; index < messageCount; ++index )
+        {
+            remoteNode.sendMessage( new FakeMessage(), EasyMock.createMock( IMessageHandler.class ) );
+        }
+
+        mocksControl.verify();
+        final Set<Integer> ids = new HashSet<>();
+        for( final IMessage message : messageCapture.getValues() )
+        {
+            ids.add( Integer.valueOf( message.getId() ) );
+        }
+        assertEquals( messageCount, ids.size() );
+    }
 }
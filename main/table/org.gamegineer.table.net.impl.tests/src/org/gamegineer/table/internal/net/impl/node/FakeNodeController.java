@@ -28,6 +28,7 @@ import net.jcip.annotations.Immutable;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.net.IPlayer;
 import org.gamegineer.table.net.TableNetworkConfiguration;
 
@@ -120,6 +121,15 @@ public final class FakeNodeController
         return Collections.<@NonNull IPlayer>emptyList();
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.INodeController#getTransportMetrics()
+     */
+    @Override
+    public @Nullable ITransportMetrics getTransportMetrics()
+    {
+        return null;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.INodeController#giveControl(java.lang.String)
      */
@@ -0,0 +1,369 @@
+/*
+ * LocalNetworkTableTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:32:08 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.gamegineer.table.core.ComponentOrientation;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.core.IComponent;
+import org.gamegineer.table.core.ITable;
+import org.gamegineer.table.core.MultiThreadedTableEnvironmentContext;
+import org.gamegineer.table.core.test.TestComponentSurfaceDesigns;
+import org.gamegineer.table.core.test.TestComponents;
+import org.gamegineer.table.core.test.TestTableEnvironments;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link LocalNetworkTable} class.
+ */
+public final class LocalNetworkTableTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The mocks control for use in the fixture. */
+    private Optional<IMocksControl> mocksControl_;
+
+    /** The node layer for use in the fixture. */
+    private Optional<NodeLayer> nodeLayer_;
+
+    /** The table for use in the fixture. */
+    private Optional<ITable> table_;
+
+    /** The table environment context for use in the fixture. */
+    private Optional<MultiThreadedTableEnvironmentContext> tableEnvironmentContext_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LocalNetworkTableTest} class.
+     */
+    public LocalNetworkTableTest()
+    {
+        mocksControl_ = Optional.empty();
+        nodeLayer_ = Optional.empty();
+        table_ = Optional.empty();
+        tableEnvironmentContext_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Waits for all event notifications fired by the fixture table environment
+     * to be executed.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private void awaitEventNotifications()
+        throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch( 1 );
+        getTable().getTableEnvironment().getLock().lock();
+        try
+        {
+            getTableEnvironmentContext().fireEventNotification( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    latch.countDown();
+                }
+            } );
+        }
+        finally
+        {
+            getTable().getTableEnvironment().getLock().unlock();
+        }
+
+        assertTrue( latch.await( 10L, TimeUnit.SECONDS ) );
+    }
+
+    /**
+     * Adds the specified count of components to the fixture table and waits
+     * for the resulting event notifications to be executed.
+     * 
+     * @param componentCount
+     *        The count of components to add.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private void addComponents(
+        final int componentCount )
+        throws Exception
+    {
+        final ITable table = getTable();
+        table.getTableEnvironment().getLock().lock();
+        try
+        {
+            for( int index = 0; index < componentCount; ++index )
+            {
+                table.getTabletop().addComponent( TestComponents.createUniqueComponent( table.getTableEnvironment() ) );
+            }
+        }
+        finally
+        {
+            table.getTableEnvironment().getLock().unlock();
+        }
+
+        awaitEventNotifications();
+    }
+
+    /**
+     * Creates a new local network table for the fixture table that forwards
+     * its component increments to the specified table manager.
+     * 
+     * @param tableManager
+     *        The table manager.
+     * 
+     * @return A new local network table.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private LocalNetworkTable createLocalNetworkTable(
+        final ITableManager tableManager )
+        throws Exception
+    {
+        final NodeLayer nodeLayer = getNodeLayer();
+        final ITable table = getTable();
+        return nodeLayer.syncExec( new Callable<LocalNetworkTable>()
+        {
+            @Override
+            public LocalNetworkTable call()
+            {
+                return new LocalNetworkTable( nodeLayer, tableManager, table );
+            }
+        } );
+    }
+
+    /**
+     * Disposes of the specified local network table.
+     * 
+     * @param localNetworkTable
+     *        The local network table.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private void disposeLocalNetworkTable(
+        final LocalNetworkTable localNetworkTable )
+        throws Exception
+    {
+        getNodeLayer().syncExec( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                localNetworkTable.dispose();
+            }
+        } );
+    }
+
+    /**
+     * Gets the fixture mocks control.
+     * 
+     * @return The fixture mocks control.
+     */
+    private IMocksControl getMocksControl()
+    {
+        return mocksControl_.get();
+    }
+
+    /**
+     * Gets the fixture node layer.
+     * 
+     * @return The fixture node layer.
+     */
+    private NodeLayer getNodeLayer()
+    {
+        return nodeLayer_.get();
+    }
+
+    /**
+     * Gets the fixture table.
+     * 
+     * @return The fixture table.
+     */
+    private ITable getTable()
+    {
+        return table_.get();
+    }
+
+    /**
+     * Gets the fixture table environment context.
+     * 
+     * @return The fixture table environment context.
+     */
+    private MultiThreadedTableEnvironmentContext getTableEnvironmentContext()
+    {
+        return tableEnvironmentContext_.get();
+    }
+
+    /**
+     * Runs a batch that changes the surface designs of all components on the
+     * fixture table and waits for the resulting event notifications to be
+     * executed.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private void runSetSurfaceDesignsBatch()
+        throws Exception
+    {
+        final ITable table = getTable();
+        table.getTableEnvironment().getLock().lock();
+        try
+        {
+            table.runBatch( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for( final IComponent component : table.getTabletop().getComponents() )
+                    {
+                        for( final ComponentOrientation orientation : component.getSupportedOrientations() )
+                        {
+                            component.setSurfaceDesign( orientation, TestComponentSurfaceDesigns.createUniqueComponentSurfaceDesign() );
+                        }
+                    }
+                }
+            } );
+        }
+        finally
+        {
+            table.getTableEnvironment().getLock().unlock();
+        }
+
+        awaitEventNotifications();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        mocksControl_ = Optional.of( EasyMock.createControl() );
+        nodeLayer_ = Optional.of( new NodeLayer() );
+        final MultiThreadedTableEnvironmentContext tableEnvironmentContext = new MultiThreadedTableEnvironmentContext();
+        tableEnvironmentContext_ = Optional.of( tableEnvironmentContext );
+        table_ = Optional.of( TestTableEnvironments.createTableEnvironment( tableEnvironmentContext ).createTable() );
+    }
+
+    /**
+     * Tears down the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @After
+    public void tearDown()
+        throws Exception
+    {
+        getTableEnvironmentContext().dispose();
+        getNodeLayer().dispose();
+    }
+
+    /**
+     * Ensures the component increments made by a table batch that changes
+     * several components are forwarded to the table manager as a single
+     * request.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testRunBatch_MultipleComponentIncrements_ForwardsSingleRequest()
+        throws Exception
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final ITableManager tableManager = mocksControl.createMock( ITableManager.class );
+        final Capture<List<ComponentPath>> componentPathsCapture = new Capture<>();
+        final Capture<List<ComponentIncrement>> componentIncrementsCapture = new Capture<>();
+        tableManager.incrementComponentStates( EasyMock.<INetworkTable>notNull(), EasyMock.capture( componentPathsCapture ), EasyMock.capture( componentIncrementsCapture ) );
+        mocksControl.replay();
+        addComponents( 3 );
+        final LocalNetworkTable localNetworkTable = createLocalNetworkTable( tableManager );
+
+        runSetSurfaceDesignsBatch();
+
+        disposeLocalNetworkTable( localNetworkTable );
+        mocksControl.verify();
+        assertEquals( 3, componentPathsCapture.getValue().size() );
+        assertEquals( 3, componentIncrementsCapture.getValue().size() );
+        for( int index = 0; index < 3; ++index )
+        {
+            assertEquals( new ComponentPath( ComponentPath.ROOT, index ), componentPathsCapture.getValue().get( index ) );
+            assertNotNull( componentIncrementsCapture.getValue().get( index ).getSurfaceDesignIds() );
+        }
+    }
+
+    /**
+     * Ensures the component increment made by a table batch that changes a
+     * single component is forwarded to the table manager as a single component
+     * increment.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testRunBatch_SingleComponentIncrement_ForwardsSingleComponentIncrement()
+        throws Exception
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final ITableManager tableManager = mocksControl.createMock( ITableManager.class );
+        tableManager.incrementComponentState( EasyMock.<INetworkTable>notNull(), EasyMock.eq( new ComponentPath( ComponentPath.ROOT, 0 ) ), EasyMock.<ComponentIncrement>notNull() );
+        mocksControl.replay();
+        addComponents( 1 );
+        final LocalNetworkTable localNetworkTable = createLocalNetworkTable( tableManager );
+
+        runSetSurfaceDesignsBatch();
+
+        disposeLocalNetworkTable( localNetworkTable );
+        mocksControl.verify();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * LocationDatagramTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 4:12:37 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.awt.Point;
+import java.nio.ByteBuffer;
+import org.gamegineer.table.core.ComponentPath;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link LocationDatagram} class.
+ */
+public final class LocationDatagramTest
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LocationDatagramTest} class.
+     */
+    public LocationDatagramTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Ensures the {@link LocationDatagram#decode} method returns {@code null}
+     * when passed a buffer that does not contain the datagram magic number.
+     */
+    @Test
+    public void testDecode_Buffer_IllegalMagic()
+    {
+        final ByteBuffer buffer = LocationDatagram.createRegisterDatagram( 42L ).encode();
+        assertNotNull( buffer );
+        buffer.put( 0, (byte)0 );
+
+        assertNull( LocationDatagram.decode( buffer ) );
+    }
+
+    /**
+     * Ensures the {@link LocationDatagram#decode} method returns {@code null}
+     * when passed a buffer that contains a truncated datagram.
+     */
+    @Test
+    public void testDecode_Buffer_Truncated()
+    {
+        final ByteBuffer buffer = LocationDatagram.createLocationDatagram( 42L, 1, 2, new ComponentPath( ComponentPath.ROOT, 3 ), new Point( 4, 5 ) ).encode();
+        assertNotNull( buffer );
+        buffer.limit( buffer.limit() - 1 );
+
+        assertNull( LocationDatagram.decode( buffer ) );
+    }
+
+    /**
+     * Ensures the {@link LocationDatagram#encode} method returns {@code null}
+     * when the component path is too deep to be encoded.
+     */
+    @Test
+    public void testEncode_ComponentPath_TooDeep()
+    {
+        ComponentPath componentPath = ComponentPath.ROOT;
+        for( int index = 0; index <= LocationDatagram.MAXIMUM_PATH_DEPTH; ++index )
+        {
+            componentPath = new ComponentPath( componentPath, index );
+        }
+
+        assertNull( LocationDatagram.createLocationDatagram( 42L, 1, 2, componentPath, new Point( 4, 5 ) ).encode() );
+    }
+
+    /**
+     * Ensures a location datagram survives an encode/decode round trip.
+     */
+    @Test
+    public void testRoundTrip_LocationDatagram()
+    {
+        final ComponentPath componentPath = new ComponentPath( new ComponentPath( ComponentPath.ROOT, 3 ), 7 );
+        final LocationDatagram datagram = LocationDatagram.createLocationDatagram( 42L, 1, 2, componentPath, new Point( -4, 5 ) );
+        final ByteBuffer buffer = datagram.encode();
+        assertNotNull( buffer );
+
+        final LocationDatagram actualDatagram = LocationDatagram.decode( buffer );
+
+        assertNotNull( actualDatagram );
+        assertEquals( LocationDatagram.TYPE_LOCATION, actualDatagram.getType() );
+        assertEquals( 42L, actualDatagram.getToken() );
+        assertEquals( 1, actualDatagram.getEpoch() );
+        assertEquals( 2, actualDatagram.getSequence() );
+        assertEquals( componentPath, actualDatagram.getComponentPath() );
+        assertEquals( new Point( -4, 5 ), actualDatagram.getLocation() );
+    }
+
+    /**
+     * Ensures a registration datagram survives an encode/decode round trip.
+     */
+    @Test
+    public void testRoundTrip_RegisterDatagram()
+    {
+        final ByteBuffer buffer = LocationDatagram.createRegisterDatagram( 42L ).encode();
+        assertNotNull( buffer );
+
+        final LocationDatagram actualDatagram = LocationDatagram.decode( buffer );
+
+        assertNotNull( actualDatagram );
+        assertEquals( LocationDatagram.TYPE_REGISTER, actualDatagram.getType() );
+        assertEquals( 42L, actualDatagram.getToken() );
+        assertNull( actualDatagram.getComponentPath() );
+        assertNull( actualDatagram.getLocation() );
+    }
+}
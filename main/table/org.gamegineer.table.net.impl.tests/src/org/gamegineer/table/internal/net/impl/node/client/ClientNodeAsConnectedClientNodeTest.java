@@ -21,9 +21,20 @@
 
 package org.gamegineer.table.internal.net.impl.node.client;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.Callable;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.gamegineer.table.internal.net.impl.Player;
 import org.gamegineer.table.internal.net.impl.TableNetworkControllers;
 import org.gamegineer.table.internal.net.impl.node.AbstractNodeUtils;
 import org.gamegineer.table.internal.net.impl.node.NodeLayerRunner;
+import org.gamegineer.table.net.IPlayer;
+import org.gamegineer.table.net.PlayerRole;
+import org.junit.Test;
 
 /**
  * A fixture for testing the {@link ClientNode} class to ensure it does not
@@ -84,4 +95,89 @@ public final class ClientNodeAsConnectedClientNodeTest
     {
         return AbstractNodeUtils.isRemoteNodeBound( node, playerName );
     }
+
+    /**
+     * Ensures the {@link ClientNode#getPlayer} method returns a player whose
+     * round-trip time is the round-trip time measured between the local node
+     * and the server rather than the round-trip time last reported by the
+     * server.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testGetPlayer_RoundTripTime_MeasuredByLocalNode()
+        throws Exception
+    {
+        final ClientNode node = getNode();
+        final IMocksControl niceMocksControl = EasyMock.createNiceControl();
+        final IRemoteServerNode remoteNode = niceMocksControl.createMock( IRemoteServerNode.class );
+        EasyMock.expect( remoteNode.getPlayerName() ).andReturn( ClientNodeConstants.SERVER_PLAYER_NAME ).anyTimes();
+        EasyMock.expect( remoteNode.getRoundTripTime() ).andReturn( 42L ).anyTimes();
+        EasyMock.expect( remoteNode.getRoundTripTimeVariation() ).andReturn( 7L ).anyTimes();
+        niceMocksControl.replay();
+
+        final IPlayer player = getNodeLayerRunner().run( new Callable<IPlayer>()
+        {
+            @Override
+            public IPlayer call()
+            {
+                node.bindRemoteNode( remoteNode );
+                final Player reportedPlayer = new Player( node.getPlayerName() );
+                reportedPlayer.addRoles( EnumSet.of( PlayerRole.LOCAL ) );
+                node.setPlayers( Collections.<IPlayer>singletonList( reportedPlayer ) );
+                return node.getPlayer();
+            }
+        } );
+
+        assertNotNull( player );
+        assertEquals( 42L, player.getRoundTripTime() );
+        assertEquals( 7L, player.getRoundTripTimeVariation() );
+    }
+
+    /**
+     * Ensures the {@link ClientNode#getPlayers} method returns players other
+     * than the local player with the round-trip time last reported by the
+     * server.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testGetPlayers_RoundTripTime_ReportedByServer()
+        throws Exception
+    {
+        final ClientNode node = getNode();
+        final IMocksControl niceMocksControl = EasyMock.createNiceControl();
+        final IRemoteServerNode remoteNode = niceMocksControl.createMock( IRemoteServerNode.class );
+        EasyMock.expect( remoteNode.getPlayerName() ).andReturn( ClientNodeConstants.SERVER_PLAYER_NAME ).anyTimes();
+        EasyMock.expect( remoteNode.getRoundTripTime() ).andReturn( 42L ).anyTimes();
+        EasyMock.expect( remoteNode.getRoundTripTimeVariation() ).andReturn( 7L ).anyTimes();
+        niceMocksControl.replay();
+        final String otherPlayerName = "otherPlayerName"; //$NON-NLS-1$
+
+        final IPlayer player = getNodeLayerRunner().run( new Callable<IPlayer>()
+        {
+            @Override
+            public IPlayer call()
+            {
+                node.bindRemoteNode( remoteNode );
+                final Player reportedPlayer = new Player( otherPlayerName );
+                reportedPlayer.setRoundTripTime( 1000L, 100L );
+                node.setPlayers( Collections.<IPlayer>singletonList( reportedPlayer ) );
+                for( final IPlayer otherPlayer : node.getPlayers() )
+                {
+                    if( otherPlayer.getName().equals( otherPlayerName ) )
+                    {
+                        return otherPlayer;
+                    }
+                }
+
+                throw new AssertionError();
+            }
+        } );
+
+        assertEquals( 1000L, player.getRoundTripTime() );
+        assertEquals( 100L, player.getRoundTripTimeVariation() );
+    }
 }
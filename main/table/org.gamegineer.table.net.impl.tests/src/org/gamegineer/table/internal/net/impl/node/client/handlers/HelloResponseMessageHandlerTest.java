@@ -130,6 +130,7 @@ public final class HelloResponseMessageHandlerTest
     {
         final IMocksControl mocksControl = getMocksControl();
         final IRemoteServerNodeController remoteNodeController = mocksControl.createMock( IRemoteServerNodeController.class );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.VERSION_1 );
         mocksControl.replay();
 
         final HelloResponseMessage message = new HelloResponseMessage();
@@ -139,6 +140,72 @@ public final class HelloResponseMessageHandlerTest
         mocksControl.verify();
     }
 
+    /**
+     * Ensures the {@link HelloResponseMessageHandler#handleMessage} method
+     * correctly handles a hello response message in the case the server sends
+     * the latest supported chosen protocol version.
+     */
+    @Test
+    public void testHandleMessage_HelloResponseMessage_SupportedChosenProtocolVersion_Latest()
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final IRemoteServerNodeController remoteNodeController = mocksControl.createMock( IRemoteServerNodeController.class );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.LATEST );
+        mocksControl.replay();
+
+        final HelloResponseMessage message = new HelloResponseMessage();
+        message.setChosenProtocolVersion( ProtocolVersions.LATEST );
+        getMessageHandler().handleMessage( remoteNodeController, message );
+
+        mocksControl.verify();
+    }
+
+    /**
+     * Ensures the {@link HelloResponseMessageHandler#handleMessage} method
+     * opens the datagram channel in the case the server offers a datagram
+     * channel.
+     */
+    @Test
+    public void testHandleMessage_HelloResponseMessage_SupportedChosenProtocolVersion_DatagramChannelOffered()
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final IRemoteServerNodeController remoteNodeController = mocksControl.createMock( IRemoteServerNodeController.class );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.VERSION_6 );
+        remoteNodeController.openDatagramChannel( 4242, 8675309L );
+        mocksControl.replay();
+
+        final HelloResponseMessage message = new HelloResponseMessage();
+        message.setChosenProtocolVersion( ProtocolVersions.VERSION_6 );
+        message.setDatagramPort( 4242 );
+        message.setDatagramToken( 8675309L );
+        getMessageHandler().handleMessage( remoteNodeController, message );
+
+        mocksControl.verify();
+    }
+
+    /**
+     * Ensures the {@link HelloResponseMessageHandler#handleMessage} method
+     * does not open the datagram channel in the case the server offers a
+     * datagram channel but the chosen protocol version does not support
+     * datagram channels.
+     */
+    @Test
+    public void testHandleMessage_HelloResponseMessage_SupportedChosenProtocolVersion_DatagramChannelOffered_UnsupportedByChosenProtocolVersion()
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final IRemoteServerNodeController remoteNodeController = mocksControl.createMock( IRemoteServerNodeController.class );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.VERSION_5 );
+        mocksControl.replay();
+
+        final HelloResponseMessage message = new HelloResponseMessage();
+        message.setChosenProtocolVersion( ProtocolVersions.VERSION_5 );
+        message.setDatagramPort( 4242 );
+        message.setDatagramToken( 8675309L );
+        getMessageHandler().handleMessage( remoteNodeController, message );
+
+        mocksControl.verify();
+    }
+
     /**
      * Ensures the {@link HelloResponseMessageHandler#handleMessage} method
      * correctly handles a hello response message in the case the server sends
@@ -76,12 +76,15 @@ public final class PlayersMessageHandlerTest
      * 
      * @return The new mock player.
      */
+    @SuppressWarnings( "boxing" )
     private IPlayer createMockPlayer(
         final String name )
     {
         final IPlayer player = getMocksControl().createMock( IPlayer.class );
         EasyMock.expect( player.getName() ).andReturn( name ).anyTimes();
         EasyMock.expect( player.getRoles() ).andReturn( EnumSet.noneOf( PlayerRole.class ) ).anyTimes();
+        EasyMock.expect( player.getRoundTripTime() ).andReturn( -1L ).anyTimes();
+        EasyMock.expect( player.getRoundTripTimeVariation() ).andReturn( -1L ).anyTimes();
         return player;
     }
 
@@ -0,0 +1,129 @@
+/*
+ * EchoRequestMessageHandlerTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:41:07 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node.common.handlers;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Optional;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.easymock.IMocksControl;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.internal.net.impl.node.IMessageHandler;
+import org.gamegineer.table.internal.net.impl.node.INode;
+import org.gamegineer.table.internal.net.impl.node.IRemoteNode;
+import org.gamegineer.table.internal.net.impl.node.IRemoteNodeController;
+import org.gamegineer.table.internal.net.impl.node.common.messages.EchoRequestMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.EchoResponseMessage;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link EchoRequestMessageHandler} class.
+ */
+public final class EchoRequestMessageHandlerTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The mocks control for use in the fixture. */
+    private Optional<IMocksControl> mocksControl_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code EchoRequestMessageHandlerTest}
+     * class.
+     */
+    public EchoRequestMessageHandlerTest()
+    {
+        mocksControl_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the message handler under test in the fixture.
+     * 
+     * @return The message handler under test in the fixture.
+     */
+    private IMessageHandler getMessageHandler()
+    {
+        return EchoRequestMessageHandler.INSTANCE;
+    }
+
+    /**
+     * Gets the fixture mocks control.
+     * 
+     * @return The fixture mocks control.
+     */
+    private IMocksControl getMocksControl()
+    {
+        return mocksControl_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        mocksControl_ = Optional.of( EasyMock.createControl() );
+    }
+
+    /**
+     * Ensures the {@link EchoRequestMessageHandler#handleMessage} method
+     * responds to an echo request message with an echo response message that
+     * is correlated with the request and has the same content.
+     */
+    @Test
+    public void testHandleMessage_EchoRequestMessage()
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final IRemoteNodeController<INode<IRemoteNode>> remoteNodeController = mocksControl.createMock( IRemoteNodeController.class );
+        final Capture<IMessage> messageCapture = new Capture<>();
+        remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@Nullable IMessageHandler>isNull() );
+        mocksControl.replay();
+
+        final EchoRequestMessage message = new EchoRequestMessage();
+        message.setId( IMessage.MINIMUM_ID );
+        message.setContent( "content" ); //$NON-NLS-1$
+        getMessageHandler().handleMessage( remoteNodeController, message );
+
+        mocksControl.verify();
+        assertEquals( EchoResponseMessage.class, messageCapture.getValue().getClass() );
+        final EchoResponseMessage response = (EchoResponseMessage)messageCapture.getValue();
+        assertEquals( IMessage.MINIMUM_ID, response.getCorrelationId() );
+        assertEquals( "content", response.getContent() ); //$NON-NLS-1$
+    }
+}
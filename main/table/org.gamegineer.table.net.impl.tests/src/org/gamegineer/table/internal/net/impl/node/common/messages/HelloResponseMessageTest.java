@@ -87,4 +87,24 @@ public final class HelloResponseMessageTest
     {
         getMessage().setChosenProtocolVersion( -1 );
     }
+
+    /**
+     * Ensures the {@link HelloResponseMessage#setDatagramPort} method throws
+     * an exception when passed a negative port.
+     */
+    @Test( expected = IllegalArgumentException.class )
+    public void testSetDatagramPort_Port_Illegal_Negative()
+    {
+        getMessage().setDatagramPort( -1 );
+    }
+
+    /**
+     * Ensures the {@link HelloResponseMessage#setDatagramPort} method throws
+     * an exception when passed a port greater than the maximum port.
+     */
+    @Test( expected = IllegalArgumentException.class )
+    public void testSetDatagramPort_Port_Illegal_TooLarge()
+    {
+        getMessage().setDatagramPort( 65536 );
+    }
 }
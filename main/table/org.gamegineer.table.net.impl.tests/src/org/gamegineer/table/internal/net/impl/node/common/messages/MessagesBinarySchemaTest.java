@@ -0,0 +1,484 @@
+/*
+ * MessagesBinarySchemaTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 7:06:24 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node.common.messages;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.gamegineer.table.core.ComponentOrientation;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.core.ComponentStrategyId;
+import org.gamegineer.table.core.ComponentSurfaceDesignId;
+import org.gamegineer.table.core.ContainerLayoutId;
+import org.gamegineer.table.core.NullOrientation;
+import org.gamegineer.table.core.TabletopOrientation;
+import org.gamegineer.table.internal.net.impl.Player;
+import org.gamegineer.table.internal.net.impl.node.ComponentIncrement;
+import org.gamegineer.table.internal.net.impl.node.ContainerIncrement;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.MessageCodec;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.net.IPlayer;
+import org.gamegineer.table.net.PlayerRole;
+import org.gamegineer.table.net.TableNetworkError;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link MessagesBinarySchema} class.
+ */
+public final class MessagesBinarySchemaTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The message codec that decodes messages in the fixture. */
+    private Optional<MessageCodec> decoder_;
+
+    /** The message codec that encodes messages in the fixture. */
+    private Optional<MessageCodec> encoder_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code MessagesBinarySchemaTest}
+     * class.
+     */
+    public MessagesBinarySchemaTest()
+    {
+        decoder_ = Optional.empty();
+        encoder_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new component increment message.
+     * 
+     * @return A new component increment message.
+     */
+    private static ComponentIncrementMessage createComponentIncrementMessage()
+    {
+        final Map<ComponentOrientation, ComponentSurfaceDesignId> surfaceDesignIds = new HashMap<>();
+        surfaceDesignIds.put( TabletopOrientation.DEFAULT, ComponentSurfaceDesignId.fromString( "org.gamegineer.cards.cardSurfaceDesigns.back.red" ) ); //$NON-NLS-1$
+        final ComponentIncrement increment = new ComponentIncrement();
+        increment.setLocation( new Point( 120, -45 ) );
+        increment.setOrientation( TabletopOrientation.DEFAULT );
+        increment.setSurfaceDesignIds( surfaceDesignIds );
+        final ComponentIncrementMessage message = new ComponentIncrementMessage();
+        message.setId( 42 );
+        message.setIncrement( increment );
+        message.setPath( new ComponentPath( new ComponentPath( ComponentPath.ROOT, 3 ), 17 ) );
+        return message;
+    }
+
+    /**
+     * Encodes the specified message using the fixture encoder and decodes it
+     * using the fixture decoder.
+     * 
+     * @param <T>
+     *        The type of the message.
+     * 
+     * @param message
+     *        The message.
+     * 
+     * @return The decoded message.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private <T extends IMessage> T encodeDecode(
+        final T message )
+        throws Exception
+    {
+        final MessageEnvelope messageEnvelope = getEncoder().encode( message );
+        assertTrue( messageEnvelope.isStreamEncoded() );
+
+        @SuppressWarnings( "unchecked" )
+        final T decodedMessage = (T)getDecoder().decode( messageEnvelope );
+        assertSame( message.getClass(), decodedMessage.getClass() );
+        assertEquals( message.getId(), decodedMessage.getId() );
+        return decodedMessage;
+    }
+
+    /**
+     * Gets the message codec that decodes messages in the fixture.
+     * 
+     * @return The message codec that decodes messages in the fixture.
+     */
+    private MessageCodec getDecoder()
+    {
+        return decoder_.get();
+    }
+
+    /**
+     * Gets the message codec that encodes messages in the fixture.
+     * 
+     * @return The message codec that encodes messages in the fixture.
+     */
+    private MessageCodec getEncoder()
+    {
+        return encoder_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        final MessageCodec encoder = new MessageCodec( new MessagesBinarySchema() );
+        encoder.setBinaryEncodingEnabled( true );
+        decoder_ = Optional.of( new MessageCodec( new MessagesBinarySchema() ) );
+        encoder_ = Optional.of( encoder );
+    }
+
+    /**
+     * Ensures the {@link MessagesBinarySchema#readMessage} method throws an
+     * exception when the message type is illegal.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testDecode_IllegalMessageType()
+        throws Exception
+    {
+        final byte[] body = new byte[] {
+            0x01, 0x7F
+        };
+        final MessageEnvelope.Header header = new MessageEnvelope.HeaderBuilder().setBodyLength( body.length ).toHeader();
+
+        getDecoder().decode( MessageEnvelope.fromByteBuffer( header, ByteBuffer.wrap( body ) ) );
+    }
+
+    /**
+     * Ensures the authentication messages are encoded and decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_AuthenticationMessages()
+        throws Exception
+    {
+        final BeginAuthenticationRequestMessage requestMessage = new BeginAuthenticationRequestMessage();
+        requestMessage.setChallenge( new byte[] {
+            1, 2, 3
+        } );
+        requestMessage.setSalt( new byte[] {
+            4, 5
+        } );
+        final BeginAuthenticationResponseMessage responseMessage = new BeginAuthenticationResponseMessage();
+        responseMessage.setPlayerName( "playerName" ); //$NON-NLS-1$
+        responseMessage.setResponse( new byte[] {
+            6
+        } );
+
+        final BeginAuthenticationRequestMessage actualRequestMessage = encodeDecode( requestMessage );
+        final BeginAuthenticationResponseMessage actualResponseMessage = encodeDecode( responseMessage );
+        encodeDecode( new EndAuthenticationMessage() );
+
+        assertArrayEquals( requestMessage.getChallenge(), actualRequestMessage.getChallenge() );
+        assertArrayEquals( requestMessage.getSalt(), actualRequestMessage.getSalt() );
+        assertEquals( responseMessage.getPlayerName(), actualResponseMessage.getPlayerName() );
+        assertArrayEquals( responseMessage.getResponse(), actualResponseMessage.getResponse() );
+    }
+
+    /**
+     * Ensures a component increment message is encoded and decoded and that
+     * its encoding is several times smaller than its Java serialization
+     * encoding.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_ComponentIncrementMessage()
+        throws Exception
+    {
+        final ComponentIncrementMessage message = createComponentIncrementMessage();
+        final MessageCodec streamEncoder = new MessageCodec();
+        streamEncoder.encode( message );
+
+        final ComponentIncrementMessage actualMessage = encodeDecode( message );
+        final int binaryBodyLength = getEncoder().encode( message ).getHeader().getBodyLength();
+
+        assertEquals( message.getPath(), actualMessage.getPath() );
+        assertEquals( message.getIncrement().getLocation(), actualMessage.getIncrement().getLocation() );
+        assertSame( message.getIncrement().getOrientation(), actualMessage.getIncrement().getOrientation() );
+        assertEquals( message.getIncrement().getSurfaceDesignIds(), actualMessage.getIncrement().getSurfaceDesignIds() );
+        assertTrue( (binaryBodyLength * 4) < streamEncoder.encode( message ).getHeader().getBodyLength() );
+        assertTrue( (binaryBodyLength * 20) < MessageEnvelope.fromMessage( message ).getHeader().getBodyLength() );
+    }
+
+    /**
+     * Ensures a component increment batch message is encoded and decoded
+     * without losing the fields of its component and container increments.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    @SuppressWarnings( "boxing" )
+    public void testEncodeDecode_ComponentIncrementBatchMessage()
+        throws Exception
+    {
+        final ComponentIncrement componentIncrement = new ComponentIncrement();
+        componentIncrement.setLocation( new Point( 1, 2 ) );
+        componentIncrement.setOrientation( TabletopOrientation.DEFAULT );
+        final ContainerIncrement containerIncrement = new ContainerIncrement();
+        containerIncrement.setRemovedComponentCount( 1 );
+        containerIncrement.setRemovedComponentIndex( 0 );
+        final ComponentIncrementBatchMessage message = new ComponentIncrementBatchMessage();
+        message.setIncrements( Arrays.asList( containerIncrement, componentIncrement ) );
+        message.setPaths( Arrays.asList( ComponentPath.ROOT, new ComponentPath( ComponentPath.ROOT, 2 ) ) );
+
+        final ComponentIncrementBatchMessage actualMessage = encodeDecode( message );
+
+        assertEquals( message.getPaths(), actualMessage.getPaths() );
+        assertEquals( 2, actualMessage.getIncrements().size() );
+        assertTrue( actualMessage.getIncrements().get( 0 ) instanceof ContainerIncrement );
+        final ContainerIncrement actualContainerIncrement = (ContainerIncrement)actualMessage.getIncrements().get( 0 );
+        assertEquals( containerIncrement.getRemovedComponentCount(), actualContainerIncrement.getRemovedComponentCount() );
+        assertEquals( containerIncrement.getRemovedComponentIndex(), actualContainerIncrement.getRemovedComponentIndex() );
+        final ComponentIncrement actualComponentIncrement = actualMessage.getIncrements().get( 1 );
+        assertEquals( ComponentIncrement.class, actualComponentIncrement.getClass() );
+        assertEquals( componentIncrement.getLocation(), actualComponentIncrement.getLocation() );
+        assertSame( componentIncrement.getOrientation(), actualComponentIncrement.getOrientation() );
+    }
+
+    /**
+     * Ensures a component increment message with an empty increment is
+     * encoded and decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_ComponentIncrementMessage_EmptyIncrement()
+        throws Exception
+    {
+        final ComponentIncrementMessage message = new ComponentIncrementMessage();
+        message.setIncrement( new ComponentIncrement() );
+        message.setPath( ComponentPath.ROOT );
+
+        final ComponentIncrementMessage actualMessage = encodeDecode( message );
+
+        assertEquals( ComponentPath.ROOT, actualMessage.getPath() );
+        assertNull( actualMessage.getIncrement().getLocation() );
+        assertNull( actualMessage.getIncrement().getOrientation() );
+        assertNull( actualMessage.getIncrement().getSurfaceDesignIds() );
+    }
+
+    /**
+     * Ensures a component increment message whose increment is a container
+     * increment is encoded and decoded without losing the fields of the
+     * container increment.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    @SuppressWarnings( "boxing" )
+    public void testEncodeDecode_ContainerIncrementMessage()
+        throws Exception
+    {
+        final Map<String, Object> componentMemento = new HashMap<>();
+        componentMemento.put( "location", new Point( 1, 2 ) ); //$NON-NLS-1$
+        componentMemento.put( "strategyId", ComponentStrategyId.fromString( "strategyId" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+        final ContainerIncrement increment = new ContainerIncrement();
+        increment.setLocation( new Point( 5, 6 ) );
+        increment.setAddedComponentIndex( 2 );
+        increment.setAddedComponentMementos( Collections.<Object>singletonList( componentMemento ) );
+        increment.setLayoutId( ContainerLayoutId.fromString( "layoutId" ) ); //$NON-NLS-1$
+        increment.setRemovedComponentCount( 3 );
+        increment.setRemovedComponentIndex( 4 );
+        final ComponentIncrementMessage message = new ComponentIncrementMessage();
+        message.setIncrement( increment );
+        message.setPath( new ComponentPath( ComponentPath.ROOT, 1 ) );
+
+        final ComponentIncrementMessage actualMessage = encodeDecode( message );
+
+        assertEquals( message.getPath(), actualMessage.getPath() );
+        assertTrue( actualMessage.getIncrement() instanceof ContainerIncrement );
+        final ContainerIncrement actualIncrement = (ContainerIncrement)actualMessage.getIncrement();
+        assertEquals( increment.getLocation(), actualIncrement.getLocation() );
+        assertEquals( increment.getAddedComponentIndex(), actualIncrement.getAddedComponentIndex() );
+        assertEquals( increment.getAddedComponentMementos(), actualIncrement.getAddedComponentMementos() );
+        assertEquals( increment.getLayoutId(), actualIncrement.getLayoutId() );
+        assertEquals( increment.getRemovedComponentCount(), actualIncrement.getRemovedComponentCount() );
+        assertEquals( increment.getRemovedComponentIndex(), actualIncrement.getRemovedComponentIndex() );
+    }
+
+    /**
+     * Ensures the control and echo messages are encoded and decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_ControlAndEchoMessages()
+        throws Exception
+    {
+        final GiveControlMessage giveControlMessage = new GiveControlMessage();
+        giveControlMessage.setPlayerName( "playerName" ); //$NON-NLS-1$
+        final EchoRequestMessage echoRequestMessage = new EchoRequestMessage();
+        echoRequestMessage.setContent( "content" ); //$NON-NLS-1$
+        final EchoResponseMessage echoResponseMessage = new EchoResponseMessage();
+        echoResponseMessage.setContent( "content" ); //$NON-NLS-1$
+
+        encodeDecode( new CancelControlRequestMessage() );
+        encodeDecode( new RequestControlMessage() );
+        final GiveControlMessage actualGiveControlMessage = encodeDecode( giveControlMessage );
+        final EchoRequestMessage actualEchoRequestMessage = encodeDecode( echoRequestMessage );
+        final EchoResponseMessage actualEchoResponseMessage = encodeDecode( echoResponseMessage );
+
+        assertEquals( giveControlMessage.getPlayerName(), actualGiveControlMessage.getPlayerName() );
+        assertEquals( echoRequestMessage.getContent(), actualEchoRequestMessage.getContent() );
+        assertEquals( echoResponseMessage.getContent(), actualEchoResponseMessage.getContent() );
+    }
+
+    /**
+     * Ensures the connection lifecycle messages are encoded and decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_ConnectionMessages()
+        throws Exception
+    {
+        final HelloRequestMessage helloRequestMessage = new HelloRequestMessage();
+        helloRequestMessage.setSupportedProtocolVersion( 800 );
+        final HelloResponseMessage helloResponseMessage = new HelloResponseMessage();
+        helloResponseMessage.setChosenProtocolVersion( 700 );
+        helloResponseMessage.setDatagramPort( 65535 );
+        helloResponseMessage.setDatagramToken( Long.MIN_VALUE );
+        final ErrorMessage errorMessage = new ErrorMessage();
+        errorMessage.setError( TableNetworkError.UNSUPPORTED_PROTOCOL_VERSION );
+
+        final HelloRequestMessage actualHelloRequestMessage = encodeDecode( helloRequestMessage );
+        final HelloResponseMessage actualHelloResponseMessage = encodeDecode( helloResponseMessage );
+        final ErrorMessage actualErrorMessage = encodeDecode( errorMessage );
+        encodeDecode( new GoodbyeMessage() );
+
+        assertEquals( helloRequestMessage.getSupportedProtocolVersion(), actualHelloRequestMessage.getSupportedProtocolVersion() );
+        assertEquals( helloResponseMessage.getChosenProtocolVersion(), actualHelloResponseMessage.getChosenProtocolVersion() );
+        assertEquals( helloResponseMessage.getDatagramPort(), actualHelloResponseMessage.getDatagramPort() );
+        assertEquals( helloResponseMessage.getDatagramToken(), actualHelloResponseMessage.getDatagramToken() );
+        assertSame( errorMessage.getError(), actualErrorMessage.getError() );
+    }
+
+    /**
+     * Ensures a players message is encoded and decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_PlayersMessage()
+        throws Exception
+    {
+        final Player player1 = new Player( "player1" ); //$NON-NLS-1$
+        player1.addRoles( EnumSet.of( PlayerRole.HOST, PlayerRole.EDITOR ) );
+        player1.setRoundTripTime( 1000000L, 250000L );
+        final Player player2 = new Player( "player2" ); //$NON-NLS-1$
+        final PlayersMessage message = new PlayersMessage();
+        message.setPlayers( Arrays.<IPlayer>asList( player1, player2 ) );
+
+        final Collection<IPlayer> actualPlayers = encodeDecode( message ).getPlayers( "player2" ); //$NON-NLS-1$
+
+        assertEquals( 2, actualPlayers.size() );
+        final Iterator<IPlayer> iterator = actualPlayers.iterator();
+        final IPlayer actualPlayer1 = iterator.next();
+        assertEquals( "player1", actualPlayer1.getName() ); //$NON-NLS-1$
+        assertEquals( EnumSet.of( PlayerRole.HOST, PlayerRole.EDITOR ), actualPlayer1.getRoles() );
+        assertEquals( 1000000L, actualPlayer1.getRoundTripTime() );
+        assertEquals( 250000L, actualPlayer1.getRoundTripTimeVariation() );
+        final IPlayer actualPlayer2 = iterator.next();
+        assertEquals( "player2", actualPlayer2.getName() ); //$NON-NLS-1$
+        assertEquals( EnumSet.of( PlayerRole.LOCAL ), actualPlayer2.getRoles() );
+    }
+
+    /**
+     * Ensures a table message is encoded and decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_TableMessage()
+        throws Exception
+    {
+        final Map<String, Object> componentMemento = new HashMap<>();
+        componentMemento.put( "location", new Point( 1, 2 ) ); //$NON-NLS-1$
+        componentMemento.put( "orientation", NullOrientation.DEFAULT ); //$NON-NLS-1$
+        componentMemento.put( "strategyId", ComponentStrategyId.fromString( "strategyId" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+        componentMemento.put( "surfaceDesignIds", Collections.singletonMap( NullOrientation.DEFAULT, ComponentSurfaceDesignId.fromString( "surfaceDesignId" ) ) ); //$NON-NLS-1$ //$NON-NLS-2$
+        final List<Object> componentMementos = new ArrayList<>();
+        componentMementos.add( componentMemento );
+        componentMementos.add( componentMemento );
+        final Map<String, Object> tabletopMemento = new HashMap<>();
+        tabletopMemento.put( "components", componentMementos ); //$NON-NLS-1$
+        tabletopMemento.put( "layoutId", ContainerLayoutId.fromString( "layoutId" ) ); //$NON-NLS-1$ //$NON-NLS-2$
+        tabletopMemento.put( "boolean", Boolean.TRUE ); //$NON-NLS-1$
+        tabletopMemento.put( "integer", Integer.valueOf( -7 ) ); //$NON-NLS-1$
+        tabletopMemento.put( "long", Long.valueOf( 1L << 40 ) ); //$NON-NLS-1$
+        tabletopMemento.put( "serializable", new Dimension( 3, 4 ) ); //$NON-NLS-1$
+        tabletopMemento.put( "null", null ); //$NON-NLS-1$
+        final Map<String, Object> memento = Collections.<String, Object>singletonMap( "tabletop", tabletopMemento ); //$NON-NLS-1$
+        final TableMessage message = new TableMessage();
+        message.setMemento( memento );
+
+        final TableMessage actualMessage = encodeDecode( message );
+
+        assertEquals( memento, actualMessage.getMemento() );
+    }
+}
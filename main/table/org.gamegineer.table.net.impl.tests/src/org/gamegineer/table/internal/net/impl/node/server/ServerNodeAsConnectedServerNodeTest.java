@@ -21,9 +21,21 @@
 
 package org.gamegineer.table.internal.net.impl.node.server;
 
+import static org.junit.Assert.assertEquals;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.easymock.IMocksControl;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.TableNetworkControllers;
 import org.gamegineer.table.internal.net.impl.node.AbstractNodeUtils;
+import org.gamegineer.table.internal.net.impl.node.INetworkTable;
 import org.gamegineer.table.internal.net.impl.node.NodeLayerRunner;
+import org.gamegineer.table.net.IPlayer;
+import org.junit.Test;
 
 /**
  * A fixture for testing the {@link ServerNode} class to ensure it does not
@@ -83,4 +95,67 @@ public final class ServerNodeAsConnectedServerNodeTest
     {
         return AbstractNodeUtils.isRemoteNodeBound( node, playerName );
     }
+
+    /**
+     * Ensures the {@link ServerNode#playerRoundTripTimeMeasured} method
+     * notifies the players connected to the table network only when the
+     * round-trip time differs significantly from the round-trip time they were
+     * last notified of.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testPlayerRoundTripTimeMeasured_NotifiesPlayersOnSignificantChange()
+        throws Exception
+    {
+        final ServerNode node = getNode();
+        final AtomicLong roundTripTime = new AtomicLong( -1L );
+        final AtomicInteger setPlayersCallCount = new AtomicInteger( 0 );
+        final IMocksControl niceMocksControl = EasyMock.createNiceControl();
+        final IRemoteClientNode remoteNode = niceMocksControl.createMock( IRemoteClientNode.class );
+        EasyMock.expect( remoteNode.getPlayerName() ).andReturn( "newPlayerName" ).anyTimes(); //$NON-NLS-1$
+        EasyMock.expect( remoteNode.getTable() ).andReturn( niceMocksControl.createMock( INetworkTable.class ) ).anyTimes();
+        EasyMock.expect( remoteNode.getRoundTripTime() ).andAnswer( new IAnswer<Long>()
+        {
+            @Override
+            public Long answer()
+            {
+                return Long.valueOf( roundTripTime.get() );
+            }
+        } ).anyTimes();
+        remoteNode.setPlayers( EasyMock.<Collection<IPlayer>>notNull() );
+        EasyMock.expectLastCall().andAnswer( new IAnswer<@Nullable Void>()
+        {
+            @Override
+            public @Nullable Void answer()
+            {
+                setPlayersCallCount.incrementAndGet();
+                return null;
+            }
+        } ).anyTimes();
+        niceMocksControl.replay();
+
+        getNodeLayerRunner().run( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                node.bindRemoteNode( remoteNode );
+                assertEquals( 1, setPlayersCallCount.get() );
+
+                roundTripTime.set( TimeUnit.MILLISECONDS.toNanos( 100L ) );
+                node.playerRoundTripTimeMeasured( remoteNode );
+                assertEquals( 2, setPlayersCallCount.get() );
+
+                roundTripTime.set( TimeUnit.MILLISECONDS.toNanos( 110L ) );
+                node.playerRoundTripTimeMeasured( remoteNode );
+                assertEquals( 2, setPlayersCallCount.get() );
+
+                roundTripTime.set( TimeUnit.MILLISECONDS.toNanos( 200L ) );
+                node.playerRoundTripTimeMeasured( remoteNode );
+                assertEquals( 3, setPlayersCallCount.get() );
+            }
+        } );
+    }
 }
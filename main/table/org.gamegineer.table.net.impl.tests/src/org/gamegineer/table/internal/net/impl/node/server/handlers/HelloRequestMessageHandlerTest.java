@@ -117,6 +117,7 @@ public final class HelloRequestMessageHandlerTest
         final IRemoteClientNodeController remoteNodeController = mocksControl.createMock( IRemoteClientNodeController.class );
         final Capture<IMessage> messageCapture = new Capture<>( CaptureType.ALL );
         remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@Nullable IMessageHandler>isNull() );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.VERSION_1 );
         remoteNodeController.setChallenge( EasyMock.<byte @NonNull []>notNull() );
         remoteNodeController.setSalt( EasyMock.<byte @NonNull []>notNull() );
         remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@NonNull IMessageHandler>notNull() );
@@ -137,6 +138,65 @@ public final class HelloRequestMessageHandlerTest
         assertEquals( IMessage.NULL_CORRELATION_ID, secondResponseMessage.getCorrelationId() );
     }
 
+    /**
+     * Ensures the {@link HelloRequestMessageHandler#handleMessage} method
+     * offers the server datagram channel in the case when the client specifies
+     * a protocol version that supports datagram channels.
+     */
+    @Test
+    public void testHandleMessage_HelloRequestMessage_SupportedProtocolVersion_DatagramChannelOpen()
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final IRemoteClientNodeController remoteNodeController = mocksControl.createMock( IRemoteClientNodeController.class );
+        final Capture<IMessage> messageCapture = new Capture<>( CaptureType.ALL );
+        EasyMock.expect( remoteNodeController.getDatagramPort() ).andReturn( 4242 );
+        EasyMock.expect( remoteNodeController.createDatagramToken() ).andReturn( 8675309L );
+        remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@Nullable IMessageHandler>isNull() );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.VERSION_6 );
+        remoteNodeController.setChallenge( EasyMock.<byte @NonNull []>notNull() );
+        remoteNodeController.setSalt( EasyMock.<byte @NonNull []>notNull() );
+        remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@NonNull IMessageHandler>notNull() );
+        mocksControl.replay();
+
+        final HelloRequestMessage message = new HelloRequestMessage();
+        message.setSupportedProtocolVersion( ProtocolVersions.VERSION_6 );
+        getMessageHandler().handleMessage( remoteNodeController, message );
+
+        mocksControl.verify();
+        final HelloResponseMessage responseMessage = (HelloResponseMessage)messageCapture.getValues().get( 0 );
+        assertEquals( 4242, responseMessage.getDatagramPort() );
+        assertEquals( 8675309L, responseMessage.getDatagramToken() );
+    }
+
+    /**
+     * Ensures the {@link HelloRequestMessageHandler#handleMessage} method
+     * chooses the latest protocol version supported by the server in the case
+     * when the client specifies a newer protocol version.
+     */
+    @Test
+    public void testHandleMessage_HelloRequestMessage_SupportedProtocolVersion_NewerThanLatest()
+    {
+        final IMocksControl mocksControl = getMocksControl();
+        final IRemoteClientNodeController remoteNodeController = mocksControl.createMock( IRemoteClientNodeController.class );
+        final Capture<IMessage> messageCapture = new Capture<>( CaptureType.ALL );
+        EasyMock.expect( remoteNodeController.getDatagramPort() ).andReturn( 0 );
+        remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@Nullable IMessageHandler>isNull() );
+        remoteNodeController.setProtocolVersion( ProtocolVersions.LATEST );
+        remoteNodeController.setChallenge( EasyMock.<byte @NonNull []>notNull() );
+        remoteNodeController.setSalt( EasyMock.<byte @NonNull []>notNull() );
+        remoteNodeController.sendMessage( EasyMock.capture( messageCapture ), EasyMock.<@NonNull IMessageHandler>notNull() );
+        mocksControl.replay();
+
+        final HelloRequestMessage message = new HelloRequestMessage();
+        message.setSupportedProtocolVersion( ProtocolVersions.LATEST + 1 );
+        getMessageHandler().handleMessage( remoteNodeController, message );
+
+        mocksControl.verify();
+        final IMessage firstResponseMessage = messageCapture.getValues().get( 0 );
+        assertEquals( HelloResponseMessage.class, firstResponseMessage.getClass() );
+        assertEquals( ProtocolVersions.LATEST, ((HelloResponseMessage)firstResponseMessage).getChosenProtocolVersion() );
+    }
+
     /**
      * Ensures the {@link HelloRequestMessageHandler#handleMessage} method
      * correctly handles a hello request message in the case when the client
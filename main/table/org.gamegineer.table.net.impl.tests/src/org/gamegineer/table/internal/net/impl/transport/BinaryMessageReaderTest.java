@@ -0,0 +1,229 @@
+/*
+ * BinaryMessageReaderTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 6:31:50 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.gamegineer.table.core.NullOrientation;
+import org.gamegineer.table.core.TabletopOrientation;
+import org.gamegineer.table.net.PlayerRole;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link BinaryMessageReader} class.
+ */
+public final class BinaryMessageReaderTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The binary message reader under test in the fixture. */
+    private Optional<BinaryMessageReader> reader_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BinaryMessageReaderTest} class.
+     */
+    public BinaryMessageReaderTest()
+    {
+        reader_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the binary message reader under test in the fixture.
+     * 
+     * @return The binary message reader under test in the fixture.
+     */
+    private BinaryMessageReader getReader()
+    {
+        return reader_.get();
+    }
+
+    /**
+     * Sets the content of the message read by the fixture reader.
+     * 
+     * @param bytes
+     *        The content of the message.
+     */
+    private void setMessage(
+        final byte... bytes )
+    {
+        getReader().setBuffer( ByteBuffer.wrap( bytes ) );
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        reader_ = Optional.of( new BinaryMessageReader() );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readBoolean} method throws an
+     * exception when the value is neither zero nor one.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadBoolean_IllegalValue()
+        throws Exception
+    {
+        setMessage( (byte)2 );
+
+        getReader().readBoolean();
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readByte} method throws an
+     * exception when the message ends unexpectedly.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadByte_Truncated()
+        throws Exception
+    {
+        setMessage();
+
+        getReader().readByte();
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readEnum} method throws an
+     * exception when the ordinal is out of range.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadEnum_IllegalOrdinal()
+        throws Exception
+    {
+        setMessage( (byte)(PlayerRole.values().length + 1) );
+
+        getReader().readEnum( PlayerRole.class );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readExtensibleEnum} method throws
+     * an exception when the type reference is not present in the type table.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadExtensibleEnum_IllegalTypeReference()
+        throws Exception
+    {
+        setMessage( (byte)BinaryMessageWriter.REFERENCE_TAG, (byte)0 );
+
+        getReader().readExtensibleEnum( TabletopOrientation.class );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readExtensibleEnum} method throws
+     * an exception when the value is not of the expected type.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadExtensibleEnum_UnexpectedType()
+        throws Exception
+    {
+        final BinaryMessageWriter writer = new BinaryMessageWriter();
+        writer.beginMessage( 0 );
+        writer.writeExtensibleEnum( NullOrientation.DEFAULT );
+        setMessage( writer.endMessage() );
+
+        getReader().readExtensibleEnum( TabletopOrientation.class );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readInt} method throws an
+     * exception when the variable-length integer is too long.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadInt_Malformed()
+        throws Exception
+    {
+        setMessage( (byte)0x80, (byte)0x80, (byte)0x80, (byte)0x80, (byte)0x80, (byte)0x01 );
+
+        getReader().readInt();
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readLength} method throws an
+     * exception when the length exceeds the count of bytes remaining in the
+     * message.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadLength_ExceedsRemaining()
+        throws Exception
+    {
+        setMessage( (byte)3, (byte)0, (byte)0 );
+
+        getReader().readLength();
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageReader#readString} method throws an
+     * exception when the string reference is not present in the string table.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadString_IllegalReference()
+        throws Exception
+    {
+        setMessage( (byte)BinaryMessageWriter.REFERENCE_TAG );
+
+        getReader().readString();
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * BinaryMessageWriterTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 6:12:37 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.gamegineer.table.core.NullOrientation;
+import org.gamegineer.table.core.TabletopOrientation;
+import org.gamegineer.table.net.PlayerRole;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link BinaryMessageWriter} class.
+ */
+public final class BinaryMessageWriterTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The binary message reader under test in the fixture. */
+    private Optional<BinaryMessageReader> reader_;
+
+    /** The binary message writer under test in the fixture. */
+    private Optional<BinaryMessageWriter> writer_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BinaryMessageWriterTest} class.
+     */
+    public BinaryMessageWriterTest()
+    {
+        reader_ = Optional.empty();
+        writer_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Ends the message being written by the fixture writer and prepares the
+     * fixture reader to read it.
+     * 
+     * @return The length of the message in bytes.
+     */
+    private int endMessage()
+    {
+        final byte[] bytes = getWriter().endMessage();
+        getReader().setBuffer( ByteBuffer.wrap( bytes ) );
+        return bytes.length;
+    }
+
+    /**
+     * Gets the binary message reader under test in the fixture.
+     * 
+     * @return The binary message reader under test in the fixture.
+     */
+    private BinaryMessageReader getReader()
+    {
+        return reader_.get();
+    }
+
+    /**
+     * Gets the binary message writer under test in the fixture.
+     * 
+     * @return The binary message writer under test in the fixture.
+     */
+    private BinaryMessageWriter getWriter()
+    {
+        return writer_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        reader_ = Optional.of( new BinaryMessageReader() );
+        writer_ = Optional.of( new BinaryMessageWriter() );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageWriter#abortMessage} method removes the
+     * strings interned while writing the aborted message from the string
+     * table.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testAbortMessage_ForgetsInternedStrings()
+        throws Exception
+    {
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( "retained" ); //$NON-NLS-1$
+        endMessage();
+        assertEquals( "retained", getReader().readString() ); //$NON-NLS-1$
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( "forgotten" ); //$NON-NLS-1$
+        getWriter().abortMessage();
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( "forgotten" ); //$NON-NLS-1$
+        getWriter().writeString( "retained" ); //$NON-NLS-1$
+        endMessage();
+
+        assertEquals( "forgotten", getReader().readString() ); //$NON-NLS-1$
+        assertEquals( "retained", getReader().readString() ); //$NON-NLS-1$
+        assertFalse( getReader().hasRemaining() );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageWriter#beginMessage} method reserves the
+     * specified count of zero bytes at the start of the message.
+     */
+    @Test
+    public void testBeginMessage_ReservedLength()
+    {
+        getWriter().beginMessage( 4 );
+        getWriter().writeByte( 0xFF );
+
+        assertArrayEquals( new byte[] {
+            0, 0, 0, 0, (byte)0xFF
+        }, getWriter().endMessage() );
+    }
+
+    /**
+     * Ensures values written by the writer are read by the reader.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWriteRead()
+        throws Exception
+    {
+        final byte[] bytes = new byte[] {
+            1, 2, 3
+        };
+        getWriter().beginMessage( 0 );
+        getWriter().writeBoolean( true );
+        getWriter().writeByte( 0xAB );
+        getWriter().writeBytes( bytes );
+        getWriter().writeEnum( PlayerRole.EDITOR );
+        getWriter().writeEnum( null );
+        getWriter().writeInt( Integer.MIN_VALUE );
+        getWriter().writeInt( -1 );
+        getWriter().writeInt( Integer.MAX_VALUE );
+        getWriter().writeLength( 300 );
+        getWriter().writeLong( Long.MIN_VALUE );
+        getWriter().writeLong( Long.MAX_VALUE );
+        getWriter().writeObject( "object" ); //$NON-NLS-1$
+        getWriter().writeString( null );
+        getWriter().writeString( "\u00E9t\u00E9" ); //$NON-NLS-1$
+        for( int index = 0; index < 300; ++index )
+        {
+            getWriter().writeByte( 0 );
+        }
+        endMessage();
+
+        assertTrue( getReader().readBoolean() );
+        assertEquals( 0xAB, getReader().readByte() );
+        assertArrayEquals( bytes, getReader().readBytes() );
+        assertSame( PlayerRole.EDITOR, getReader().readEnum( PlayerRole.class ) );
+        assertNull( getReader().readEnum( PlayerRole.class ) );
+        assertEquals( Integer.MIN_VALUE, getReader().readInt() );
+        assertEquals( -1, getReader().readInt() );
+        assertEquals( Integer.MAX_VALUE, getReader().readInt() );
+        assertEquals( 300, getReader().readLength() );
+        assertEquals( Long.MIN_VALUE, getReader().readLong() );
+        assertEquals( Long.MAX_VALUE, getReader().readLong() );
+        assertEquals( "object", getReader().readObject() ); //$NON-NLS-1$
+        assertNull( getReader().readString() );
+        assertEquals( "\u00E9t\u00E9", getReader().readString() ); //$NON-NLS-1$
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageWriter#writeExtensibleEnum} method
+     * writes subsequent values of the same type as compact references.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWriteExtensibleEnum_InternsType()
+        throws Exception
+    {
+        getWriter().beginMessage( 0 );
+        getWriter().writeExtensibleEnum( TabletopOrientation.DEFAULT );
+        final int firstLength = endMessage();
+        assertSame( TabletopOrientation.DEFAULT, getReader().readExtensibleEnum( TabletopOrientation.class ) );
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeExtensibleEnum( TabletopOrientation.DEFAULT );
+        getWriter().writeExtensibleEnum( NullOrientation.DEFAULT );
+        getWriter().writeExtensibleEnum( null );
+        endMessage();
+
+        assertSame( TabletopOrientation.DEFAULT, getReader().readExtensibleEnum( TabletopOrientation.class ) );
+        assertSame( NullOrientation.DEFAULT, getReader().readExtensibleEnum( NullOrientation.class ) );
+        assertNull( getReader().readExtensibleEnum( NullOrientation.class ) );
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeExtensibleEnum( TabletopOrientation.DEFAULT );
+        assertEquals( 2, endMessage() );
+        assertTrue( firstLength > 2 );
+        assertSame( TabletopOrientation.DEFAULT, getReader().readExtensibleEnum( TabletopOrientation.class ) );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageWriter#writeString} method writes
+     * subsequent occurrences of a string as compact references.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWriteString_InternsString()
+        throws Exception
+    {
+        final String string = "a string that is long enough to matter"; //$NON-NLS-1$
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( string );
+        assertTrue( endMessage() > string.length() );
+        assertEquals( string, getReader().readString() );
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( string );
+        assertEquals( 1, endMessage() );
+        assertEquals( string, getReader().readString() );
+    }
+
+    /**
+     * Ensures the {@link BinaryMessageWriter#writeString} method does not
+     * intern strings that exceed the maximum interned string length.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWriteString_LongString()
+        throws Exception
+    {
+        final String string = new String( new char[ BinaryMessageWriter.MAXIMUM_STRING_LENGTH + 1 ] ).replace( '\0', 'x' );
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( string );
+        final int firstLength = endMessage();
+        assertEquals( string, getReader().readString() );
+
+        getWriter().beginMessage( 0 );
+        getWriter().writeString( string );
+        assertEquals( firstLength, endMessage() );
+        assertEquals( string, getReader().readString() );
+    }
+}
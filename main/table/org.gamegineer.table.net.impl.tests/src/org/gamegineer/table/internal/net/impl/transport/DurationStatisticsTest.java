@@ -0,0 +1,115 @@
+/*
+ * DurationStatisticsTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:02:36 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link DurationStatistics} class.
+ */
+public final class DurationStatisticsTest
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code DurationStatisticsTest} class.
+     */
+    public DurationStatisticsTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Ensures the statistics report zero when no duration has been recorded.
+     */
+    @Test
+    public void testGetAverage_Empty()
+    {
+        final DurationStatistics statistics = new DurationStatistics( null );
+
+        assertEquals( 0L, statistics.getCount() );
+        assertEquals( 0L, statistics.getAverage() );
+        assertEquals( 0L, statistics.getMaximum() );
+    }
+
+    /**
+     * Ensures the {@link DurationStatistics#record} method updates the count,
+     * average, and maximum of the statistics.
+     */
+    @Test
+    public void testRecord()
+    {
+        final DurationStatistics statistics = new DurationStatistics( null );
+
+        statistics.record( 100L );
+        statistics.record( 300L );
+        statistics.record( 200L );
+
+        assertEquals( 3L, statistics.getCount() );
+        assertEquals( 200L, statistics.getAverage() );
+        assertEquals( 300L, statistics.getMaximum() );
+    }
+
+    /**
+     * Ensures the {@link DurationStatistics#record} method records a negative
+     * duration as zero.
+     */
+    @Test
+    public void testRecord_NegativeDuration()
+    {
+        final DurationStatistics statistics = new DurationStatistics( null );
+
+        statistics.record( -100L );
+
+        assertEquals( 1L, statistics.getCount() );
+        assertEquals( 0L, statistics.getAverage() );
+        assertEquals( 0L, statistics.getMaximum() );
+    }
+
+    /**
+     * Ensures the {@link DurationStatistics#record} method records the
+     * duration in the parent statistics.
+     */
+    @Test
+    public void testRecord_RecordsInParent()
+    {
+        final DurationStatistics parentStatistics = new DurationStatistics( null );
+        final DurationStatistics statistics1 = new DurationStatistics( parentStatistics );
+        final DurationStatistics statistics2 = new DurationStatistics( parentStatistics );
+
+        statistics1.record( 100L );
+        statistics2.record( 500L );
+
+        assertEquals( 1L, statistics1.getCount() );
+        assertEquals( 100L, statistics1.getMaximum() );
+        assertEquals( 2L, parentStatistics.getCount() );
+        assertEquals( 300L, parentStatistics.getAverage() );
+        assertEquals( 500L, parentStatistics.getMaximum() );
+    }
+}
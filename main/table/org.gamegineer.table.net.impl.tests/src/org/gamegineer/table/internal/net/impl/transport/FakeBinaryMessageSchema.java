@@ -0,0 +1,90 @@
+/*
+ * FakeBinaryMessageSchema.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 6:48:03 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.IOException;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A binary message schema for the {@link FakeMessage} class.
+ * 
+ * <p>
+ * The schema describes only fake messages with non-empty content. Each message
+ * is written as the interned name of its class followed by its content.
+ * </p>
+ */
+@Immutable
+public final class FakeBinaryMessageSchema
+    implements IBinaryMessageSchema
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code FakeBinaryMessageSchema} class.
+     */
+    public FakeBinaryMessageSchema()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IBinaryMessageSchema#readMessage(org.gamegineer.table.internal.net.impl.transport.BinaryMessageReader)
+     */
+    @Override
+    public IMessage readMessage(
+        final BinaryMessageReader reader )
+        throws IOException
+    {
+        if( !FakeMessage.class.getName().equals( reader.readString() ) )
+        {
+            throw new IOException( "unexpected message type" ); //$NON-NLS-1$
+        }
+
+        final FakeMessage message = new FakeMessage();
+        message.setContent( reader.readBytes() );
+        return message;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IBinaryMessageSchema#writeMessage(org.gamegineer.table.internal.net.impl.transport.IMessage, org.gamegineer.table.internal.net.impl.transport.BinaryMessageWriter)
+     */
+    @Override
+    public boolean writeMessage(
+        final IMessage message,
+        final BinaryMessageWriter writer )
+    {
+        if( !(message instanceof FakeMessage) || (((FakeMessage)message).getContent().length == 0) )
+        {
+            return false;
+        }
+
+        writer.writeString( FakeMessage.class.getName() );
+        writer.writeBytes( ((FakeMessage)message).getContent() );
+        return true;
+    }
+}
@@ -57,6 +57,17 @@ public class FakeService
         // do nothing
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IService#outputQueueCongestionChanged(boolean, long)
+     */
+    @Override
+    public void outputQueueCongestionChanged(
+        final boolean isCongested,
+        final long outputQueueLength )
+    {
+        // do nothing
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IService#peerStopped()
      */
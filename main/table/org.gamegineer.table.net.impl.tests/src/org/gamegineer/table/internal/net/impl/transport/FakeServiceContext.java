@@ -46,6 +46,25 @@ public class FakeServiceContext
     // Methods
     // ======================================================================
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#getMetrics()
+     */
+    @Override
+    public ITransportMetrics getMetrics()
+    {
+        return new FakeTransportMetrics();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendControlMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendControlMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        // do nothing
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessage(org.gamegineer.table.internal.net.impl.transport.IMessage)
      */
@@ -56,6 +75,38 @@ public class FakeServiceContext
         // do nothing
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        // do nothing
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setCompressionEnabled(boolean)
+     */
+    @Override
+    public void setCompressionEnabled(
+        @SuppressWarnings( "unused" )
+        final boolean isCompressionEnabled )
+    {
+        // do nothing
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setLargeMessageTransferEnabled(boolean)
+     */
+    @Override
+    public void setLargeMessageTransferEnabled(
+        @SuppressWarnings( "unused" )
+        final boolean isLargeMessageTransferEnabled )
+    {
+        // do nothing
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#stopService()
      */
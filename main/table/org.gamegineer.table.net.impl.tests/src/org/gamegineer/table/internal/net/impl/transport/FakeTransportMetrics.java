@@ -0,0 +1,147 @@
+/*
+ * FakeTransportMetrics.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:26:53 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Fake implementation of {@link ITransportMetrics} that reports no activity.
+ */
+@Immutable
+public final class FakeTransportMetrics
+    implements ITransportMetrics
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code FakeTransportMetrics} class.
+     */
+    public FakeTransportMetrics()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getAverageDispatchTime()
+     */
+    @Override
+    public long getAverageDispatchTime()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getAverageSendLatency()
+     */
+    @Override
+    public long getAverageSendLatency()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getBytesReceived()
+     */
+    @Override
+    public long getBytesReceived()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getBytesSent()
+     */
+    @Override
+    public long getBytesSent()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getDispatchCount()
+     */
+    @Override
+    public long getDispatchCount()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getInputQueueLength()
+     */
+    @Override
+    public long getInputQueueLength()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMaximumDispatchTime()
+     */
+    @Override
+    public long getMaximumDispatchTime()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMaximumSendLatency()
+     */
+    @Override
+    public long getMaximumSendLatency()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMessagesReceived()
+     */
+    @Override
+    public long getMessagesReceived()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMessagesSent()
+     */
+    @Override
+    public long getMessagesSent()
+    {
+        return 0L;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getOutputQueueLength()
+     */
+    @Override
+    public long getOutputQueueLength()
+    {
+        return 0L;
+    }
+}
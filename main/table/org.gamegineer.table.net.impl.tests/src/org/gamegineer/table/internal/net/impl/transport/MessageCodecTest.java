@@ -0,0 +1,358 @@
+/*
+ * MessageCodecTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 5:41:19 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link MessageCodec} class.
+ */
+public final class MessageCodecTest
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code MessageCodecTest} class.
+     */
+    public MessageCodecTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new message codec that encodes messages in the compact binary
+     * format.
+     * 
+     * @return A new message codec.
+     */
+    private static MessageCodec createBinaryMessageCodec()
+    {
+        final MessageCodec messageCodec = new MessageCodec( new FakeBinaryMessageSchema() );
+        messageCodec.setBinaryEncodingEnabled( true );
+        return messageCodec;
+    }
+
+    /**
+     * Creates a new message with the specified identifier and content length.
+     * 
+     * @param id
+     *        The message identifier.
+     * @param contentLength
+     *        The message content length in bytes.
+     * 
+     * @return A new message.
+     */
+    private static FakeMessage createMessage(
+        final int id,
+        final int contentLength )
+    {
+        final FakeMessage message = new FakeMessage();
+        message.setId( id );
+        message.setContent( new byte[ contentLength ] );
+        return message;
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#decode} method throws an exception when
+     * the message envelope is binary encoded and the codec has no binary
+     * message schema.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testDecode_Binary_NoSchema()
+        throws Exception
+    {
+        final MessageCodec encoder = createBinaryMessageCodec();
+        final MessageCodec decoder = new MessageCodec();
+
+        decoder.decode( encoder.encode( createMessage( 1, 16 ) ) );
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#decode} method decodes a compressed
+     * stream encoded message envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDecode_Compressed()
+        throws Exception
+    {
+        final MessageCodec encoder = new MessageCodec();
+        final MessageCodec decoder = new MessageCodec();
+        final FakeMessage expectedMessage = createMessage( 1, 4096 );
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        try
+        {
+            final MessageEnvelope messageEnvelope = encoder.encode( expectedMessage ).compress( deflater );
+            assertTrue( messageEnvelope.getHeader().isCompressed() );
+
+            final FakeMessage actualMessage = (FakeMessage)decoder.decode( messageEnvelope );
+
+            assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+        }
+        finally
+        {
+            deflater.end();
+            encoder.dispose();
+            decoder.dispose();
+        }
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#decode} method throws an exception when
+     * stream encoded message envelopes are decoded out of order and continues
+     * to throw an exception for subsequent stream encoded message envelopes.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDecode_OutOfOrder()
+        throws Exception
+    {
+        final MessageCodec encoder = new MessageCodec();
+        final MessageCodec decoder = new MessageCodec();
+        final MessageEnvelope messageEnvelope1 = encoder.encode( createMessage( 1, 8 ) );
+        final MessageEnvelope messageEnvelope2 = encoder.encode( createMessage( 2, 8 ) );
+
+        try
+        {
+            decoder.decode( messageEnvelope2 );
+            fail( "expected IOException" ); //$NON-NLS-1$
+        }
+        catch( @SuppressWarnings( "unused" ) final IOException e )
+        {
+            // expected
+        }
+
+        try
+        {
+            decoder.decode( messageEnvelope1 );
+            fail( "expected IOException" ); //$NON-NLS-1$
+        }
+        catch( @SuppressWarnings( "unused" ) final IOException e )
+        {
+            // expected
+        }
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#decode} method decodes a self-contained
+     * message envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDecode_SelfContained()
+        throws Exception
+    {
+        final MessageCodec decoder = new MessageCodec();
+        final FakeMessage expectedMessage = createMessage( 1, 16 );
+
+        final FakeMessage actualMessage = (FakeMessage)decoder.decode( MessageEnvelope.fromMessage( expectedMessage ) );
+
+        assertEquals( expectedMessage.getId(), actualMessage.getId() );
+        assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#encode} method encodes a message whose
+     * binary encoded body would exceed the maximum length of a compact message
+     * envelope in a self-contained message envelope and that the strings it
+     * interned are not referenced by subsequent messages.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncode_Binary_LargeMessage()
+        throws Exception
+    {
+        final MessageCodec encoder = createBinaryMessageCodec();
+        final MessageCodec decoder = new MessageCodec( new FakeBinaryMessageSchema() );
+        final FakeMessage largeMessage = createMessage( 1, MessageEnvelope.Header.MAXIMUM_BODY_LENGTH + 1 );
+        final FakeMessage smallMessage = createMessage( 2, 16 );
+
+        final MessageEnvelope largeMessageEnvelope = encoder.encode( largeMessage );
+        final MessageEnvelope smallMessageEnvelope = encoder.encode( smallMessage );
+
+        assertFalse( largeMessageEnvelope.isStreamEncoded() );
+        assertTrue( smallMessageEnvelope.isStreamEncoded() );
+        assertArrayEquals( smallMessage.getContent(), ((FakeMessage)decoder.decode( smallMessageEnvelope )).getContent() );
+        assertArrayEquals( largeMessage.getContent(), ((FakeMessage)decoder.decode( largeMessageEnvelope )).getContent() );
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#encode} method stream encodes a message
+     * that is not described by the binary message schema.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncode_Binary_UnsupportedMessage()
+        throws Exception
+    {
+        final MessageCodec encoder = createBinaryMessageCodec();
+        final MessageCodec decoder = new MessageCodec( new FakeBinaryMessageSchema() );
+        final FakeMessage unsupportedMessage = createMessage( 1, 0 );
+        final FakeMessage supportedMessage = createMessage( 2, 16 );
+
+        final MessageEnvelope unsupportedMessageEnvelope = encoder.encode( unsupportedMessage );
+        final MessageEnvelope supportedMessageEnvelope = encoder.encode( supportedMessage );
+
+        assertTrue( unsupportedMessageEnvelope.isStreamEncoded() );
+        assertTrue( supportedMessageEnvelope.getHeader().getBodyLength() < unsupportedMessageEnvelope.getHeader().getBodyLength() );
+        assertEquals( 0, ((FakeMessage)decoder.decode( unsupportedMessageEnvelope )).getContent().length );
+        assertArrayEquals( supportedMessage.getContent(), ((FakeMessage)decoder.decode( supportedMessageEnvelope )).getContent() );
+    }
+
+    /**
+     * Ensures the {@link MessageCodec#encode} method encodes a message whose
+     * body would exceed the maximum length of a compact message envelope in a
+     * self-contained message envelope and that the class descriptors it
+     * introduced are not referenced by subsequent messages.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncode_LargeMessage()
+        throws Exception
+    {
+        final MessageCodec encoder = new MessageCodec();
+        final MessageCodec decoder = new MessageCodec();
+        final FakeMessage largeMessage = createMessage( 1, MessageEnvelope.Header.MAXIMUM_BODY_LENGTH + 1 );
+        final FakeMessage smallMessage = createMessage( 2, 16 );
+
+        final MessageEnvelope largeMessageEnvelope = encoder.encode( largeMessage );
+        final MessageEnvelope smallMessageEnvelope = encoder.encode( smallMessage );
+
+        assertFalse( largeMessageEnvelope.isStreamEncoded() );
+        assertTrue( smallMessageEnvelope.isStreamEncoded() );
+        assertArrayEquals( smallMessage.getContent(), ((FakeMessage)decoder.decode( smallMessageEnvelope )).getContent() );
+        assertArrayEquals( largeMessage.getContent(), ((FakeMessage)decoder.decode( largeMessageEnvelope )).getContent() );
+    }
+
+    /**
+     * Ensures messages encoded by a codec are decoded by the peer codec in
+     * order and that class descriptors are transferred only with the first
+     * message.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode()
+        throws Exception
+    {
+        final MessageCodec encoder = new MessageCodec();
+        final MessageCodec decoder = new MessageCodec();
+        final FakeMessage expectedMessage1 = createMessage( 1, 16 );
+        final FakeMessage expectedMessage2 = createMessage( 2, 16 );
+        expectedMessage2.setCorrelationId( 1 );
+
+        final MessageEnvelope messageEnvelope1 = encoder.encode( expectedMessage1 );
+        final MessageEnvelope messageEnvelope2 = encoder.encode( expectedMessage2 );
+        final FakeMessage actualMessage1 = (FakeMessage)decoder.decode( messageEnvelope1 );
+        final FakeMessage actualMessage2 = (FakeMessage)decoder.decode( messageEnvelope2 );
+
+        assertTrue( messageEnvelope1.isStreamEncoded() );
+        assertTrue( messageEnvelope2.isStreamEncoded() );
+        assertTrue( messageEnvelope2.getHeader().getBodyLength() < (messageEnvelope1.getHeader().getBodyLength() / 2) );
+        assertTrue( messageEnvelope2.getHeader().getBodyLength() < MessageEnvelope.fromMessage( expectedMessage2 ).getHeader().getBodyLength() );
+        assertEquals( expectedMessage1.getId(), actualMessage1.getId() );
+        assertArrayEquals( expectedMessage1.getContent(), actualMessage1.getContent() );
+        assertEquals( expectedMessage2.getId(), actualMessage2.getId() );
+        assertEquals( expectedMessage2.getCorrelationId(), actualMessage2.getCorrelationId() );
+        assertArrayEquals( expectedMessage2.getContent(), actualMessage2.getContent() );
+    }
+
+    /**
+     * Ensures messages binary encoded by a codec are decoded by the peer codec
+     * in order, that strings are transferred only with the first message, and
+     * that binary encoded message envelopes are smaller than stream encoded
+     * message envelopes.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testEncodeDecode_Binary()
+        throws Exception
+    {
+        final MessageCodec encoder = createBinaryMessageCodec();
+        final MessageCodec decoder = new MessageCodec( new FakeBinaryMessageSchema() );
+        final FakeMessage expectedMessage1 = createMessage( 1, 16 );
+        final FakeMessage expectedMessage2 = createMessage( 2, 16 );
+        expectedMessage2.setCorrelationId( 1 );
+
+        final MessageEnvelope messageEnvelope1 = encoder.encode( expectedMessage1 );
+        final MessageEnvelope messageEnvelope2 = encoder.encode( expectedMessage2 );
+        final FakeMessage actualMessage1 = (FakeMessage)decoder.decode( messageEnvelope1 );
+        final FakeMessage actualMessage2 = (FakeMessage)decoder.decode( messageEnvelope2 );
+
+        assertTrue( messageEnvelope1.isStreamEncoded() );
+        assertTrue( messageEnvelope2.isStreamEncoded() );
+        assertTrue( messageEnvelope2.getHeader().getBodyLength() < messageEnvelope1.getHeader().getBodyLength() );
+        assertTrue( messageEnvelope2.getHeader().getBodyLength() < new MessageCodec().encode( expectedMessage2 ).getHeader().getBodyLength() );
+        assertEquals( expectedMessage1.getId(), actualMessage1.getId() );
+        assertArrayEquals( expectedMessage1.getContent(), actualMessage1.getContent() );
+        assertEquals( expectedMessage2.getId(), actualMessage2.getId() );
+        assertEquals( expectedMessage2.getCorrelationId(), actualMessage2.getCorrelationId() );
+        assertArrayEquals( expectedMessage2.getContent(), actualMessage2.getContent() );
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#getMessage} method throws an exception
+     * when the message envelope is stream encoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testGetMessage_StreamEncoded()
+        throws Exception
+    {
+        final MessageCodec encoder = new MessageCodec();
+
+        MessageEnvelope.fromByteArray( encoder.encode( createMessage( 1, 16 ) ).toByteArray() ).getMessage();
+    }
+}
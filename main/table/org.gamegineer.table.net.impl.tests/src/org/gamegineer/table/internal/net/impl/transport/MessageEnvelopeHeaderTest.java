@@ -83,6 +83,20 @@ public final class MessageEnvelopeHeaderTest
         assertEquals( 0x00009009, header.getBodyLength() );
     }
 
+    /**
+     * Ensures the {@link Header#getBodyLength} method correctly decodes the
+     * length of the message envelope body from an extended header.
+     */
+    @Test
+    public void testGetBodyLength_Extended()
+    {
+        final Header header = Header.fromByteArray( new byte[] {
+            (byte)0x00, (byte)Header.EXTENDED_FLAG, (byte)0xF0, (byte)0x0F, (byte)0x01, (byte)0x23, (byte)0x45, (byte)0x67
+        } );
+
+        assertEquals( 0x01234567, header.getBodyLength() );
+    }
+
     /**
      * Ensures the {@link Header#getCorrelationId} method correctly decodes the
      * message correlation identifier from the header.
@@ -97,6 +111,20 @@ public final class MessageEnvelopeHeaderTest
         assertEquals( 0x0000000F, header.getCorrelationId() );
     }
 
+    /**
+     * Ensures the {@link Header#getCorrelationId} method correctly decodes the
+     * message correlation identifier from an extended header.
+     */
+    @Test
+    public void testGetCorrelationId_Extended()
+    {
+        final Header header = Header.fromByteArray( new byte[] {
+            (byte)0x00, (byte)Header.EXTENDED_FLAG, (byte)0xF0, (byte)0x0F, (byte)0x01, (byte)0x23, (byte)0x45, (byte)0x67
+        } );
+
+        assertEquals( 0x0000000F, header.getCorrelationId() );
+    }
+
     /**
      * Ensures the {@link Header#getId} method correctly decodes the message
      * identifier from the header.
@@ -111,6 +139,39 @@ public final class MessageEnvelopeHeaderTest
         assertEquals( 0x000000F0, header.getId() );
     }
 
+    /**
+     * Ensures the {@link Header#getId} method correctly decodes the message
+     * identifier from an extended header.
+     */
+    @Test
+    public void testGetId_Extended()
+    {
+        final Header header = Header.fromByteArray( new byte[] {
+            (byte)0x00, (byte)Header.EXTENDED_FLAG, (byte)0xF0, (byte)0x0F, (byte)0x01, (byte)0x23, (byte)0x45, (byte)0x67
+        } );
+
+        assertEquals( 0x000000F0, header.getId() );
+    }
+
+    /**
+     * Ensures the {@link Header} accessors correctly decode a wide header.
+     */
+    @Test
+    public void testGetters_Wide()
+    {
+        final Header header = Header.fromByteArray( new byte[] {
+            (byte)0x00, (byte)(Header.EXTENDED_FLAG | Header.WIDE_IDS_FLAG), //
+            (byte)0x7F, (byte)0xEE, (byte)0xDD, (byte)0xCC, //
+            (byte)0x00, (byte)0x00, (byte)0x01, (byte)0x00, //
+            (byte)0x00, (byte)0x00, (byte)0x00, (byte)0x10
+        } );
+
+        assertEquals( 0x7FEEDDCC, header.getId() );
+        assertEquals( 0x00000100, header.getCorrelationId() );
+        assertEquals( 0x00000010, header.getBodyLength() );
+        assertEquals( Header.WIDE_LENGTH, header.getLength() );
+    }
+
     /**
      * Ensures the {@link Header#toByteArray} method returns a byte array of
      * length {@link Header#LENGTH} when the byte array passed to the
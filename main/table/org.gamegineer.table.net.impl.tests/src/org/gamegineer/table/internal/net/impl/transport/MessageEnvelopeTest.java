@@ -23,6 +23,15 @@ package org.gamegineer.table.internal.net.impl.transport;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope.Header;
 import org.junit.Test;
 
@@ -47,6 +56,172 @@ public final class MessageEnvelopeTest
     // Methods
     // ======================================================================
 
+    /**
+     * Creates a message whose content is highly compressible.
+     * 
+     * @return A message whose content is highly compressible.
+     */
+    private static FakeMessage createCompressibleMessage()
+    {
+        final FakeMessage message = new FakeMessage();
+        message.setId( IMessage.MINIMUM_ID );
+        message.setCorrelationId( IMessage.MAXIMUM_COMPACT_ID );
+        message.setContent( new byte[ 4096 ] );
+        return message;
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#compress} method returns a compressed
+     * message envelope that can be decompressed to the original message.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testCompress()
+        throws Exception
+    {
+        final FakeMessage expectedMessage = createCompressibleMessage();
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( expectedMessage );
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        final Inflater inflater = new Inflater();
+        try
+        {
+            final MessageEnvelope compressedMessageEnvelope = MessageEnvelope.fromByteArray( messageEnvelope.compress( deflater ).toByteArray() );
+            final MessageEnvelope decompressedMessageEnvelope = compressedMessageEnvelope.decompress( inflater, Integer.MAX_VALUE );
+            final FakeMessage actualMessage = (FakeMessage)decompressedMessageEnvelope.getMessage();
+
+            assertTrue( compressedMessageEnvelope.getHeader().isCompressed() );
+            assertTrue( compressedMessageEnvelope.getHeader().getBodyLength() < messageEnvelope.getHeader().getBodyLength() );
+            assertEquals( expectedMessage.getId(), compressedMessageEnvelope.getHeader().getId() );
+            assertEquals( expectedMessage.getCorrelationId(), compressedMessageEnvelope.getHeader().getCorrelationId() );
+            assertFalse( decompressedMessageEnvelope.getHeader().isCompressed() );
+            assertEquals( messageEnvelope.getHeader().getBodyLength(), decompressedMessageEnvelope.getHeader().getBodyLength() );
+            assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+        }
+        finally
+        {
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#compress} method returns the original
+     * message envelope when the compressed message body is not shorter than
+     * the original message body.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testCompress_Incompressible()
+        throws Exception
+    {
+        final byte[] content = new byte[ 4096 ];
+        new Random( 0L ).nextBytes( content );
+        final FakeMessage message = new FakeMessage();
+        message.setContent( content );
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( message );
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        try
+        {
+            assertSame( messageEnvelope, messageEnvelope.compress( deflater ) );
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#decompress} method throws an
+     * exception when the uncompressed message body exceeds the maximum body
+     * length.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testDecompress_BodyTooLong()
+        throws Exception
+    {
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( createCompressibleMessage() );
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        final Inflater inflater = new Inflater();
+        try
+        {
+            messageEnvelope.compress( deflater ).decompress( inflater, messageEnvelope.getHeader().getBodyLength() - 1 );
+        }
+        finally
+        {
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#decompress} method inflates a
+     * compressed body that follows an extended header.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDecompress_ExtendedHeader()
+        throws Exception
+    {
+        final FakeMessage expectedMessage = createCompressibleMessage();
+        expectedMessage.setId( IMessage.MAXIMUM_COMPACT_ID + 1 );
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        final Inflater inflater = new Inflater();
+        try
+        {
+            final MessageEnvelope compressedMessageEnvelope = MessageEnvelope.fromByteArray( MessageEnvelope.fromMessage( expectedMessage ).compress( deflater ).toByteArray() );
+            final MessageEnvelope messageEnvelope = compressedMessageEnvelope.decompress( inflater, Header.MAXIMUM_EXTENDED_BODY_LENGTH );
+            final FakeMessage actualMessage = (FakeMessage)messageEnvelope.getMessage();
+
+            assertTrue( compressedMessageEnvelope.getHeader().isCompressed() );
+            assertTrue( compressedMessageEnvelope.getHeader().isExtended() );
+            assertFalse( messageEnvelope.getHeader().isCompressed() );
+            assertEquals( expectedMessage.getId(), actualMessage.getId() );
+            assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+        }
+        finally
+        {
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#getMessage} method returns the
+     * original message when the message envelope body is compressed.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testGetMessage_Compressed()
+        throws Exception
+    {
+        final FakeMessage expectedMessage = createCompressibleMessage();
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        try
+        {
+            final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( expectedMessage ).compress( deflater );
+
+            final FakeMessage actualMessage = (FakeMessage)MessageEnvelope.fromByteArray( messageEnvelope.toByteArray() ).getMessage();
+
+            assertEquals( expectedMessage.getId(), actualMessage.getId() );
+            assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
     /**
      * Ensures the {@link MessageEnvelope#fromByteArray} method returns the
      * correct message envelope.
@@ -111,6 +286,110 @@ public final class MessageEnvelopeTest
         } );
     }
 
+    /**
+     * Ensures the {@link MessageEnvelope#fromByteBuffer} method returns the
+     * correct message envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testFromByteBuffer()
+        throws Exception
+    {
+        final FakeMessage expectedMessage = new FakeMessage();
+        expectedMessage.setId( IMessage.MAXIMUM_COMPACT_ID );
+        expectedMessage.setCorrelationId( IMessage.MAXIMUM_COMPACT_ID );
+        expectedMessage.setContent( new byte[] {
+            (byte)0x00, (byte)0x11, (byte)0x22, (byte)0x33
+        } );
+        final byte[] expectedBytes = MessageEnvelope.fromMessage( expectedMessage ).toByteArray();
+        final Header header = Header.fromByteArray( new byte[] {
+            expectedBytes[ 0 ], expectedBytes[ 1 ], expectedBytes[ 2 ], expectedBytes[ 3 ]
+        } );
+        final ByteBuffer body = ByteBuffer.wrap( expectedBytes, Header.LENGTH, expectedBytes.length - Header.LENGTH );
+
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromByteBuffer( header, body );
+        final FakeMessage actualMessage = (FakeMessage)messageEnvelope.getMessage();
+
+        assertEquals( 0, body.remaining() );
+        assertEquals( expectedMessage.getId(), actualMessage.getId() );
+        assertEquals( expectedMessage.getCorrelationId(), actualMessage.getCorrelationId() );
+        assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+        assertArrayEquals( expectedBytes, messageEnvelope.toByteArray() );
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#fromByteBuffer} method throws an
+     * exception when passed an illegal body that has a length not equal to the
+     * body length decoded from the header.
+     */
+    @Test( expected = IllegalArgumentException.class )
+    public void testFromByteBuffer_Body_Illegal_LengthNotEqualToBodyLength()
+    {
+        MessageEnvelope.fromByteBuffer( Header.fromByteArray( new byte[] {
+            (byte)0xFF, (byte)0xFF, (byte)0x00, (byte)0x02
+        } ), ByteBuffer.allocate( 1 ) );
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#fromByteBuffer} method returns a
+     * message envelope that retains its network representation and defers the
+     * deserialization failure to {@link MessageEnvelope#getMessage} when the
+     * body cannot be decoded.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testFromByteBuffer_Body_Undecodable()
+        throws Exception
+    {
+        final byte[] expectedBytes = new byte[] {
+            (byte)0x01, (byte)0x02, (byte)0x00, (byte)0x02, (byte)0xFF, (byte)0xFF
+        };
+        final ByteBuffer body = ByteBuffer.wrap( expectedBytes, Header.LENGTH, 2 );
+
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromByteBuffer( Header.fromByteArray( new byte[] {
+            (byte)0x01, (byte)0x02, (byte)0x00, (byte)0x02
+        } ), body );
+
+        assertEquals( 0, body.remaining() );
+        assertArrayEquals( expectedBytes, messageEnvelope.toByteArray() );
+        messageEnvelope.getMessage();
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#fromByteBuffer} method retains a view
+     * of a stream encoded body rather than a copy.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testFromByteBuffer_Body_StreamEncoded()
+        throws Exception
+    {
+        final FakeMessage expectedMessage = new FakeMessage();
+        expectedMessage.setContent( new byte[] {
+            (byte)0x00, (byte)0x11, (byte)0x22, (byte)0x33
+        } );
+        final byte[] expectedBytes = new MessageCodec().encode( expectedMessage ).toByteArray();
+        final Header header = Header.fromByteArray( Arrays.copyOf( expectedBytes, Header.LENGTH ) );
+        final ByteBuffer body = ByteBuffer.wrap( expectedBytes, Header.LENGTH, expectedBytes.length - Header.LENGTH );
+
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromByteBuffer( header, body );
+
+        assertEquals( 0, body.remaining() );
+        assertTrue( messageEnvelope.isStreamEncoded() );
+        assertArrayEquals( expectedBytes, messageEnvelope.toByteArray() );
+        assertArrayEquals( expectedMessage.getContent(), ((FakeMessage)new MessageCodec().decode( messageEnvelope )).getContent() );
+        final ByteBuffer actualBody = messageEnvelope.getBody();
+        assertTrue( actualBody.isReadOnly() );
+        expectedBytes[ expectedBytes.length - 1 ] ^= 0xFF;
+        assertEquals( expectedBytes[ expectedBytes.length - 1 ], actualBody.get( actualBody.limit() - 1 ) );
+    }
+
     /**
      * Ensures the {@link MessageEnvelope#fromMessage} method returns the
      * correct message envelope.
@@ -134,4 +413,122 @@ public final class MessageEnvelopeTest
         assertEquals( expectedValue.getId(), actualValue.getId() );
         assertEquals( expectedValue.getCorrelationId(), actualValue.getCorrelationId() );
     }
+
+    /**
+     * Ensures the {@link MessageEnvelope#fromMessage} method returns a message
+     * envelope with an extended header when the message body exceeds the
+     * maximum length of a compact message envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testFromMessage_BodyExceedsMaximumCompactBodyLength()
+        throws Exception
+    {
+        final FakeMessage expectedValue = new FakeMessage();
+        expectedValue.setId( IMessage.MAXIMUM_COMPACT_ID );
+        expectedValue.setCorrelationId( IMessage.MINIMUM_ID );
+        expectedValue.setContent( new byte[ Header.MAXIMUM_BODY_LENGTH + 1 ] );
+
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( expectedValue );
+        final MessageEnvelope actualMessageEnvelope = MessageEnvelope.fromByteArray( messageEnvelope.toByteArray() );
+        final FakeMessage actualValue = (FakeMessage)actualMessageEnvelope.getMessage();
+
+        assertTrue( actualMessageEnvelope.getHeader().isExtended() );
+        assertEquals( Header.EXTENDED_LENGTH + actualMessageEnvelope.getHeader().getBodyLength(), messageEnvelope.toByteArray().length );
+        assertEquals( expectedValue.getId(), actualMessageEnvelope.getHeader().getId() );
+        assertEquals( expectedValue.getCorrelationId(), actualMessageEnvelope.getHeader().getCorrelationId() );
+        assertArrayEquals( expectedValue.getContent(), actualValue.getContent() );
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#fromMessage} method returns a message
+     * envelope with a wide header when the message identifier exceeds the
+     * maximum compact message identifier.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testFromMessage_IdExceedsMaximumCompactId()
+        throws Exception
+    {
+        final FakeMessage expectedValue = new FakeMessage();
+        expectedValue.setId( IMessage.MAXIMUM_ID );
+        expectedValue.setCorrelationId( IMessage.MAXIMUM_COMPACT_ID + 1 );
+        expectedValue.setContent( new byte[] {
+            (byte)0x00, (byte)0x11, (byte)0x22, (byte)0x33
+        } );
+
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( expectedValue );
+        final MessageEnvelope actualMessageEnvelope = MessageEnvelope.fromByteArray( messageEnvelope.toByteArray() );
+        final FakeMessage actualValue = (FakeMessage)actualMessageEnvelope.getMessage();
+
+        assertTrue( actualMessageEnvelope.getHeader().isWide() );
+        assertEquals( Header.WIDE_LENGTH + actualMessageEnvelope.getHeader().getBodyLength(), messageEnvelope.toByteArray().length );
+        assertEquals( expectedValue.getId(), actualMessageEnvelope.getHeader().getId() );
+        assertEquals( expectedValue.getCorrelationId(), actualMessageEnvelope.getHeader().getCorrelationId() );
+        assertEquals( expectedValue.getId(), actualValue.getId() );
+        assertArrayEquals( expectedValue.getContent(), actualValue.getContent() );
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#toByteBuffers} method returns the
+     * header and the shared body as separate buffers when the message envelope
+     * shares its body.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testToByteBuffers_SharedBody()
+        throws Exception
+    {
+        final FakeMessage message = new FakeMessage();
+        message.setContent( new byte[] {
+            (byte)0x00, (byte)0x11, (byte)0x22, (byte)0x33
+        } );
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( message ).withIds( IMessage.MAXIMUM_COMPACT_ID, IMessage.NULL_CORRELATION_ID );
+
+        final ByteBuffer[] buffers = messageEnvelope.toByteBuffers();
+
+        assertEquals( 2, buffers.length );
+        assertEquals( Header.LENGTH, buffers[ 0 ].remaining() );
+        assertEquals( messageEnvelope.getHeader().getBodyLength(), buffers[ 1 ].remaining() );
+        final ByteBuffer bytes = ByteBuffer.allocate( buffers[ 0 ].remaining() + buffers[ 1 ].remaining() );
+        bytes.put( buffers[ 0 ] ).put( buffers[ 1 ] );
+        assertArrayEquals( messageEnvelope.toByteArray(), bytes.array() );
+    }
+
+    /**
+     * Ensures the {@link MessageEnvelope#withIds} method returns a message
+     * envelope that shares the body of the original message envelope but
+     * reports the new message identifiers.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWithIds()
+        throws Exception
+    {
+        final FakeMessage expectedMessage = new FakeMessage();
+        expectedMessage.setId( IMessage.MINIMUM_ID );
+        expectedMessage.setContent( new byte[] {
+            (byte)0x00, (byte)0x11, (byte)0x22, (byte)0x33
+        } );
+        final MessageEnvelope messageEnvelope = MessageEnvelope.fromMessage( expectedMessage );
+
+        final MessageEnvelope actualMessageEnvelope = messageEnvelope.withIds( IMessage.MAXIMUM_ID, IMessage.MAXIMUM_COMPACT_ID );
+        final FakeMessage actualMessage = (FakeMessage)MessageEnvelope.fromByteArray( actualMessageEnvelope.toByteArray() ).getMessage();
+
+        assertEquals( IMessage.MAXIMUM_ID, actualMessageEnvelope.getHeader().getId() );
+        assertEquals( IMessage.MAXIMUM_COMPACT_ID, actualMessageEnvelope.getHeader().getCorrelationId() );
+        assertEquals( messageEnvelope.getHeader().getBodyLength(), actualMessageEnvelope.getHeader().getBodyLength() );
+        assertEquals( IMessage.MAXIMUM_ID, actualMessage.getId() );
+        assertEquals( IMessage.MAXIMUM_COMPACT_ID, actualMessage.getCorrelationId() );
+        assertArrayEquals( expectedMessage.getContent(), actualMessage.getContent() );
+        assertEquals( IMessage.MINIMUM_ID, ((FakeMessage)messageEnvelope.getMessage()).getId() );
+    }
 }
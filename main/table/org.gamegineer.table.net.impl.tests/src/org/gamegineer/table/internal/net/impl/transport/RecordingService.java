@@ -0,0 +1,181 @@
+/*
+ * RecordingService.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:58:21 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A service that records the events it receives.
+ */
+@ThreadSafe
+public final class RecordingService
+    extends FakeService
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The maximum time in seconds to wait for an expected event. */
+    private static final long TIMEOUT = 10L;
+
+    /** The service context or {@code null} if the service is not started. */
+    private volatile @Nullable IServiceContext context_;
+
+    /** The queue of message envelopes received by the service. */
+    private final BlockingQueue<MessageEnvelope> messageEnvelopes_;
+
+    /** The latch that is released when the service peer stops. */
+    private final CountDownLatch peerStoppedLatch_;
+
+    /** The latch that is released when the service is started. */
+    private final CountDownLatch startedLatch_;
+
+    /** The latch that is released when the service is stopped. */
+    private final CountDownLatch stoppedLatch_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code RecordingService} class.
+     */
+    public RecordingService()
+    {
+        context_ = null;
+        messageEnvelopes_ = new LinkedBlockingQueue<>();
+        peerStoppedLatch_ = new CountDownLatch( 1 );
+        startedLatch_ = new CountDownLatch( 1 );
+        stoppedLatch_ = new CountDownLatch( 1 );
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Waits for the service peer to stop.
+     * 
+     * @return {@code true} if the service peer stopped; {@code false} if
+     *         the wait timed out.
+     * 
+     * @throws java.lang.InterruptedException
+     *         If this thread is interrupted while waiting.
+     */
+    public boolean awaitPeerStopped()
+        throws InterruptedException
+    {
+        return peerStoppedLatch_.await( TIMEOUT, TimeUnit.SECONDS );
+    }
+
+    /**
+     * Waits for the service to stop.
+     * 
+     * @return {@code true} if the service stopped; {@code false} if the
+     *         wait timed out.
+     * 
+     * @throws java.lang.InterruptedException
+     *         If this thread is interrupted while waiting.
+     */
+    public boolean awaitStopped()
+        throws InterruptedException
+    {
+        return stoppedLatch_.await( TIMEOUT, TimeUnit.SECONDS );
+    }
+
+    /**
+     * Gets the service context, waiting for the service to start if
+     * necessary.
+     * 
+     * @return The service context.
+     * 
+     * @throws java.lang.InterruptedException
+     *         If this thread is interrupted while waiting.
+     */
+    public IServiceContext getContext()
+        throws InterruptedException
+    {
+        assertTrue( startedLatch_.await( TIMEOUT, TimeUnit.SECONDS ) );
+        final IServiceContext context = context_;
+        assertNotNull( context );
+        return context;
+    }
+
+    /**
+     * Gets the queue of message envelopes received by the service.
+     * 
+     * @return The queue of message envelopes received by the service.
+     */
+    public BlockingQueue<MessageEnvelope> getMessageEnvelopes()
+    {
+        return messageEnvelopes_;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.FakeService#messageReceived(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void messageReceived(
+        final MessageEnvelope messageEnvelope )
+    {
+        messageEnvelopes_.add( messageEnvelope );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.FakeService#peerStopped()
+     */
+    @Override
+    public void peerStopped()
+    {
+        peerStoppedLatch_.countDown();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.FakeService#started(org.gamegineer.table.internal.net.impl.transport.IServiceContext)
+     */
+    @Override
+    public void started(
+        final IServiceContext context )
+    {
+        context_ = context;
+        startedLatch_.countDown();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.FakeService#stopped(java.lang.Exception)
+     */
+    @Override
+    public void stopped(
+        final @Nullable Exception exception )
+    {
+        stoppedLatch_.countDown();
+    }
+}
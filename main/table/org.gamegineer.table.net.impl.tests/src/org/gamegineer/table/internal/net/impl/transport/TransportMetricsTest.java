@@ -0,0 +1,135 @@
+/*
+ * TransportMetricsTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:14:09 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link TransportMetrics} class.
+ */
+public final class TransportMetricsTest
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TransportMetricsTest} class.
+     */
+    public TransportMetricsTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Ensures the {@link TransportMetrics#bytesReceived} and
+     * {@link TransportMetrics#bytesSent} methods update the metrics and their
+     * parent.
+     */
+    @Test
+    public void testBytes_UpdatesParent()
+    {
+        final TransportMetrics parentMetrics = new TransportMetrics();
+        final TransportMetrics metrics1 = new TransportMetrics( parentMetrics, parentMetrics.getDispatchTimes() );
+        final TransportMetrics metrics2 = new TransportMetrics( parentMetrics, parentMetrics.getDispatchTimes() );
+
+        metrics1.bytesReceived( 10L );
+        metrics2.bytesReceived( 20L );
+        metrics1.bytesSent( 30L );
+
+        assertEquals( 10L, metrics1.getBytesReceived() );
+        assertEquals( 30L, metrics1.getBytesSent() );
+        assertEquals( 20L, metrics2.getBytesReceived() );
+        assertEquals( 30L, parentMetrics.getBytesReceived() );
+        assertEquals( 30L, parentMetrics.getBytesSent() );
+    }
+
+    /**
+     * Ensures the dispatch time statistics of the metrics are those with which
+     * the metrics were created.
+     */
+    @Test
+    public void testGetDispatchTimes_SharedWithDispatcher()
+    {
+        final TransportMetrics parentMetrics = new TransportMetrics();
+        final DurationStatistics dispatchTimes = new DurationStatistics( parentMetrics.getDispatchTimes() );
+        final TransportMetrics metrics = new TransportMetrics( parentMetrics, dispatchTimes );
+
+        dispatchTimes.record( 400L );
+
+        assertEquals( 1L, metrics.getDispatchCount() );
+        assertEquals( 400L, metrics.getAverageDispatchTime() );
+        assertEquals( 400L, metrics.getMaximumDispatchTime() );
+        assertEquals( 1L, parentMetrics.getDispatchCount() );
+    }
+
+    /**
+     * Ensures the {@link TransportMetrics#messageReceived} and
+     * {@link TransportMetrics#messageSent} methods update the metrics and
+     * their parent.
+     */
+    @Test
+    public void testMessages_UpdatesParent()
+    {
+        final TransportMetrics parentMetrics = new TransportMetrics();
+        final TransportMetrics metrics = new TransportMetrics( parentMetrics, parentMetrics.getDispatchTimes() );
+
+        metrics.messageReceived();
+        metrics.messageSent( 100L );
+        metrics.messageSent( 300L );
+
+        assertEquals( 1L, metrics.getMessagesReceived() );
+        assertEquals( 2L, metrics.getMessagesSent() );
+        assertEquals( 200L, metrics.getAverageSendLatency() );
+        assertEquals( 300L, metrics.getMaximumSendLatency() );
+        assertEquals( 1L, parentMetrics.getMessagesReceived() );
+        assertEquals( 2L, parentMetrics.getMessagesSent() );
+        assertEquals( 300L, parentMetrics.getMaximumSendLatency() );
+    }
+
+    /**
+     * Ensures the {@link TransportMetrics#setQueueLengths} method adjusts the
+     * parent metrics by the difference between the new and previous queue
+     * lengths.
+     */
+    @Test
+    public void testSetQueueLengths_AdjustsParent()
+    {
+        final TransportMetrics parentMetrics = new TransportMetrics();
+        final TransportMetrics metrics1 = new TransportMetrics( parentMetrics, parentMetrics.getDispatchTimes() );
+        final TransportMetrics metrics2 = new TransportMetrics( parentMetrics, parentMetrics.getDispatchTimes() );
+
+        metrics1.setQueueLengths( 10L, 20L );
+        metrics2.setQueueLengths( 5L, 5L );
+        metrics1.setQueueLengths( 3L, 0L );
+
+        assertEquals( 3L, metrics1.getInputQueueLength() );
+        assertEquals( 0L, metrics1.getOutputQueueLength() );
+        assertEquals( 8L, parentMetrics.getInputQueueLength() );
+        assertEquals( 5L, parentMetrics.getOutputQueueLength() );
+    }
+}
@@ -25,7 +25,9 @@ import java.util.concurrent.Future;
 import net.jcip.annotations.Immutable;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
+import org.gamegineer.table.internal.net.impl.transport.FakeTransportMetrics;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 
 /**
  * Fake implementation of {@link ITransportLayer} for an active connection.
@@ -89,4 +91,13 @@ final class ActiveTransportLayer
     {
         // do nothing
     }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#getMetrics()
+     */
+    @Override
+    public ITransportMetrics getMetrics()
+    {
+        return new FakeTransportMetrics();
+    }
 }
@@ -0,0 +1,306 @@
+/*
+ * LoopbackTransportLayerTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 12:08:14 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.easymock.EasyMock;
+import org.gamegineer.table.internal.net.impl.transport.FakeMessage;
+import org.gamegineer.table.internal.net.impl.transport.IServiceContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.internal.net.impl.transport.RecordingService;
+import org.gamegineer.table.internal.net.impl.transport.TransportException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link LoopbackTransportLayer} class.
+ */
+public final class LoopbackTransportLayerTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The latency in milliseconds of the simulated link. */
+    private static final long LATENCY = 50L;
+
+    /** The maximum time in seconds to wait for an expected event. */
+    private static final long TIMEOUT = 10L;
+
+    /** The active transport layer for use in the fixture. */
+    private Optional<LoopbackTransportLayer> activeTransportLayer_;
+
+    /** The service associated with the active transport layer. */
+    private Optional<RecordingService> activeService_;
+
+    /** The transport layer configuration for use in the fixture. */
+    private Optional<LoopbackTransportLayerConfiguration> configuration_;
+
+    /** The passive transport layer for use in the fixture. */
+    private Optional<LoopbackTransportLayer> passiveTransportLayer_;
+
+    /** The service associated with the passive transport layer. */
+    private Optional<RecordingService> passiveService_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LoopbackTransportLayerTest}
+     * class.
+     */
+    public LoopbackTransportLayerTest()
+    {
+        activeService_ = Optional.empty();
+        activeTransportLayer_ = Optional.empty();
+        configuration_ = Optional.empty();
+        passiveService_ = Optional.empty();
+        passiveTransportLayer_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Closes the specified transport layer.
+     * 
+     * @param transportLayer
+     *        The transport layer.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private static void close(
+        final ITransportLayer transportLayer )
+        throws Exception
+    {
+        transportLayer.endClose( transportLayer.beginClose() );
+    }
+
+    /**
+     * Creates a new message envelope with the specified content.
+     * 
+     * @param content
+     *        The message content.
+     * 
+     * @return A new message envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private static MessageEnvelope createMessageEnvelope(
+        final byte[] content )
+        throws Exception
+    {
+        final FakeMessage message = new FakeMessage();
+        message.setContent( content );
+        return MessageEnvelope.fromMessage( message );
+    }
+
+    /**
+     * Creates a new transport layer context that creates the specified
+     * service.
+     * 
+     * @param service
+     *        The service.
+     * 
+     * @return A new transport layer context.
+     */
+    private static ITransportLayerContext createTransportLayerContext(
+        final RecordingService service )
+    {
+        final ITransportLayerContext context = EasyMock.createNiceMock( ITransportLayerContext.class );
+        EasyMock.expect( context.createService() ).andReturn( service ).anyTimes();
+        EasyMock.replay( context );
+        return context;
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        final LoopbackTransportLayerConfiguration configuration = new LoopbackTransportLayerConfigurationBuilder() //
+            .setLatency( LATENCY, TimeUnit.MILLISECONDS ) //
+            .toLoopbackTransportLayerConfiguration();
+        configuration_ = Optional.of( configuration );
+
+        final RecordingService passiveService = new RecordingService();
+        passiveService_ = Optional.of( passiveService );
+        final LoopbackTransportLayer passiveTransportLayer = new LoopbackTransportLayer( LoopbackTransportLayer.Mode.PASSIVE, configuration, createTransportLayerContext( passiveService ) );
+        passiveTransportLayer_ = Optional.of( passiveTransportLayer );
+        passiveTransportLayer.endOpen( passiveTransportLayer.beginOpen( "localhost", 0 ) ); //$NON-NLS-1$
+
+        final RecordingService activeService = new RecordingService();
+        activeService_ = Optional.of( activeService );
+        final LoopbackTransportLayer activeTransportLayer = new LoopbackTransportLayer( LoopbackTransportLayer.Mode.ACTIVE, configuration, createTransportLayerContext( activeService ) );
+        activeTransportLayer_ = Optional.of( activeTransportLayer );
+        activeTransportLayer.endOpen( activeTransportLayer.beginOpen( "localhost", passiveTransportLayer.getLocalPort() ) ); //$NON-NLS-1$
+    }
+
+    /**
+     * Tears down the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @After
+    public void tearDown()
+        throws Exception
+    {
+        close( activeTransportLayer_.get() );
+        close( passiveTransportLayer_.get() );
+    }
+
+    /**
+     * Ensures opening an active transport layer throws an exception when no
+     * transport layer is accepting connections on the requested port.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = TransportException.class )
+    public void testBeginOpen_Active_ConnectionRefused()
+        throws Exception
+    {
+        final LoopbackTransportLayer transportLayer = new LoopbackTransportLayer( LoopbackTransportLayer.Mode.ACTIVE, configuration_.get(), createTransportLayerContext( new RecordingService() ) );
+
+        transportLayer.endOpen( transportLayer.beginOpen( "localhost", 1 ) ); //$NON-NLS-1$
+    }
+
+    /**
+     * Ensures opening a passive transport layer throws an exception when
+     * another transport layer is accepting connections on the requested port.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = TransportException.class )
+    public void testBeginOpen_Passive_PortInUse()
+        throws Exception
+    {
+        final LoopbackTransportLayer transportLayer = new LoopbackTransportLayer( LoopbackTransportLayer.Mode.PASSIVE, configuration_.get(), createTransportLayerContext( new RecordingService() ) );
+
+        transportLayer.endOpen( transportLayer.beginOpen( "localhost", passiveTransportLayer_.get().getLocalPort() ) ); //$NON-NLS-1$
+    }
+
+    /**
+     * Ensures a message envelope sent by one peer is received by the other
+     * peer no sooner than the latency of the simulated link.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testSendMessageEnvelope_DelayedByLatency()
+        throws Exception
+    {
+        final IServiceContext context = activeService_.get().getContext();
+        final long sendTime = System.nanoTime();
+
+        context.sendMessageEnvelope( createMessageEnvelope( new byte[] {
+            1, 2, 3, 4
+        } ) );
+
+        assertNotNull( passiveService_.get().getMessageEnvelopes().poll( TIMEOUT, TimeUnit.SECONDS ) );
+        assertTrue( (System.nanoTime() - sendTime) >= TimeUnit.MILLISECONDS.toNanos( LATENCY ) );
+    }
+
+    /**
+     * Ensures a message envelope sent by one peer is received intact by the
+     * other peer.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testSendMessageEnvelope_ReceivedByPeer()
+        throws Exception
+    {
+        final MessageEnvelope messageEnvelope = createMessageEnvelope( new byte[] {
+            1, 2, 3, 4
+        } );
+
+        activeService_.get().getContext().sendMessageEnvelope( messageEnvelope );
+
+        final MessageEnvelope actualMessageEnvelope = passiveService_.get().getMessageEnvelopes().poll( TIMEOUT, TimeUnit.SECONDS );
+        assertNotNull( actualMessageEnvelope );
+        assertArrayEquals( messageEnvelope.toByteArray(), actualMessageEnvelope.toByteArray() );
+    }
+
+    /**
+     * Ensures stopping a service delivers all pending message envelopes, in
+     * the order in which they were sent, before the peer is notified the
+     * service has stopped.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testStopService_DeliversPendingMessageEnvelopes()
+        throws Exception
+    {
+        final int messageEnvelopeCount = 100;
+        final List<MessageEnvelope> messageEnvelopes = new ArrayList<>( messageEnvelopeCount );
+        for( int index = 0; index < messageEnvelopeCount; ++index )
+        {
+            messageEnvelopes.add( createMessageEnvelope( new byte[ 1000 + index ] ) );
+        }
+        final IServiceContext context = passiveService_.get().getContext();
+
+        for( final MessageEnvelope messageEnvelope : messageEnvelopes )
+        {
+            context.sendMessageEnvelope( messageEnvelope );
+        }
+        context.stopService();
+
+        final RecordingService activeService = activeService_.get();
+        assertTrue( activeService.awaitPeerStopped() );
+        assertEquals( messageEnvelopeCount, activeService.getMessageEnvelopes().size() );
+        for( final MessageEnvelope messageEnvelope : messageEnvelopes )
+        {
+            final MessageEnvelope actualMessageEnvelope = activeService.getMessageEnvelopes().poll();
+            assertNotNull( actualMessageEnvelope );
+            assertArrayEquals( messageEnvelope.toByteArray(), actualMessageEnvelope.toByteArray() );
+        }
+        assertTrue( passiveService_.get().awaitStopped() );
+    }
+}
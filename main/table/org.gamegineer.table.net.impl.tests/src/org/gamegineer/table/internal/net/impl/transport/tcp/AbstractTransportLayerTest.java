@@ -0,0 +1,221 @@
+/*
+ * AbstractTransportLayerTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:41 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import org.easymock.EasyMock;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link AbstractTransportLayer} class.
+ */
+public final class AbstractTransportLayerTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The number of dispatchers associated with the transport layer. */
+    private static final int DISPATCHER_COUNT = 3;
+
+    /** The transport layer under test in the fixture. */
+    private Optional<AbstractTransportLayer> transportLayer_;
+
+    /** The transport layer runner for use in the fixture. */
+    private Optional<TransportLayerRunner> transportLayerRunner_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code AbstractTransportLayerTest}
+     * class.
+     */
+    public AbstractTransportLayerTest()
+    {
+        transportLayer_ = Optional.empty();
+        transportLayerRunner_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the byte buffer pool associated with the specified dispatcher.
+     * 
+     * @param dispatcher
+     *        The dispatcher.
+     * 
+     * @return The byte buffer pool associated with the specified dispatcher.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private static ByteBufferPool getByteBufferPool(
+        final Dispatcher dispatcher )
+        throws Exception
+    {
+        return dispatcher.syncExec( new Callable<ByteBufferPool>()
+        {
+            @Override
+            public ByteBufferPool call()
+            {
+                return dispatcher.getByteBufferPool();
+            }
+        } );
+    }
+
+    /**
+     * Gets the transport layer under test in the fixture.
+     * 
+     * @return The transport layer under test in the fixture.
+     */
+    private AbstractTransportLayer getTransportLayer()
+    {
+        return transportLayer_.get();
+    }
+
+    /**
+     * Gets the fixture transport layer runner.
+     * 
+     * @return The fixture transport layer runner.
+     */
+    private TransportLayerRunner getTransportLayerRunner()
+    {
+        return transportLayerRunner_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        final TcpTransportLayerConfiguration configuration = new TcpTransportLayerConfigurationBuilder() //
+            .setDispatcherCount( DISPATCHER_COUNT ) //
+            .toTcpTransportLayerConfiguration();
+        final AbstractTransportLayer transportLayer = new FakeTransportLayer.Factory( configuration ).createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) );
+        transportLayer_ = Optional.of( transportLayer );
+        final TransportLayerRunner transportLayerRunner = new TransportLayerRunner( transportLayer );
+        transportLayerRunner_ = Optional.of( transportLayerRunner );
+
+        transportLayerRunner.open( "localhost", 0 ); //$NON-NLS-1$
+    }
+
+    /**
+     * Tears down the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @After
+    public void tearDown()
+        throws Exception
+    {
+        getTransportLayerRunner().close();
+    }
+
+    /**
+     * Ensures each dispatcher associated with the transport layer owns its own
+     * byte buffer pool.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testNextDispatcher_ReturnValue_OwnsByteBufferPool()
+        throws Exception
+    {
+        final AbstractTransportLayer transportLayer = getTransportLayer();
+
+        getTransportLayerRunner().run( new Callable<@Nullable Void>()
+        {
+            @Override
+            public @Nullable Void call()
+                throws Exception
+            {
+                final Dispatcher dispatcher = transportLayer.nextDispatcher();
+                final Dispatcher otherDispatcher = transportLayer.nextDispatcher();
+
+                assertNotSame( getByteBufferPool( dispatcher ), getByteBufferPool( otherDispatcher ) );
+
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * Ensures the {@link AbstractTransportLayer#nextDispatcher} method
+     * distributes service handlers among all dispatchers in round-robin order.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testNextDispatcher_RoundRobin()
+        throws Exception
+    {
+        final AbstractTransportLayer transportLayer = getTransportLayer();
+
+        final List<Dispatcher> dispatchers = getTransportLayerRunner().run( new Callable<List<Dispatcher>>()
+        {
+            @Override
+            public List<Dispatcher> call()
+            {
+                final List<Dispatcher> dispatchers = new ArrayList<>();
+                for( int index = 0; index < 2 * DISPATCHER_COUNT; ++index )
+                {
+                    dispatchers.add( transportLayer.nextDispatcher() );
+                }
+                return dispatchers;
+            }
+        } );
+
+        assertEquals( 2 * DISPATCHER_COUNT, dispatchers.size() );
+        for( int index = 0; index < DISPATCHER_COUNT; ++index )
+        {
+            for( int otherIndex = index + 1; otherIndex < DISPATCHER_COUNT; ++otherIndex )
+            {
+                assertNotSame( dispatchers.get( index ), dispatchers.get( otherIndex ) );
+            }
+            assertSame( dispatchers.get( index ), dispatchers.get( index + DISPATCHER_COUNT ) );
+        }
+    }
+}
@@ -57,7 +57,7 @@ public final class ActiveTransportLayerAsTransportLayerTest
     protected ITransportLayer createTransportLayer()
         throws Exception
     {
-        return new TransportLayerProxy( new ActiveTransportLayer.Factory().createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) ) );
+        return new TransportLayerProxy( new ActiveTransportLayer.Factory( new TcpTransportLayerConfigurationBuilder().toTcpTransportLayerConfiguration() ).createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) ) );
 
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * BlockingTransportLayerFactoryAsTransportLayerFactoryTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:02:18 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import org.gamegineer.table.internal.net.impl.transport.AbstractTransportLayerFactoryTestCase;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory;
+
+/**
+ * A fixture for testing the {@link BlockingTransportLayerFactory} class to
+ * ensure it does not violate the contract of the
+ * {@link ITransportLayerFactory} interface.
+ */
+public final class BlockingTransportLayerFactoryAsTransportLayerFactoryTest
+    extends AbstractTransportLayerFactoryTestCase
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code BlockingTransportLayerFactoryAsTransportLayerFactoryTest} class.
+     */
+    public BlockingTransportLayerFactoryAsTransportLayerFactoryTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.AbstractTransportLayerFactoryTestCase#createTransportLayerFactory()
+     */
+    @Override
+    protected ITransportLayerFactory createTransportLayerFactory()
+    {
+        return new BlockingTransportLayerFactory();
+    }
+}
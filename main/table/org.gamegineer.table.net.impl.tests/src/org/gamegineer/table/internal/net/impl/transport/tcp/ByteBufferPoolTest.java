@@ -22,7 +22,9 @@
 package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import org.junit.Before;
@@ -84,6 +86,100 @@ public final class ByteBufferPoolTest
         byteBufferPool_ = Optional.of( new ByteBufferPool( BYTE_BUFFER_CAPACITY ) );
     }
 
+    /**
+     * Ensures the {@link ByteBufferPool#discardByteBuffer} method releases the
+     * byte buffer without returning it to the pool.
+     */
+    @Test
+    public void testDiscardByteBuffer()
+    {
+        final ByteBufferPool byteBufferPool = getByteBufferPool();
+        final ByteBuffer byteBuffer = byteBufferPool.takeByteBuffer();
+
+        byteBufferPool.discardByteBuffer( byteBuffer );
+
+        final ByteBufferPool.Statistics statistics = byteBufferPool.getStatistics();
+        assertEquals( 0, statistics.getOutstandingCount() );
+        assertEquals( 0, statistics.getPooledCount() );
+        assertNotSame( byteBuffer, byteBufferPool.takeByteBuffer() );
+    }
+
+    /**
+     * Ensures the {@link ByteBufferPool#getStatistics} method reports the
+     * outstanding byte buffer high-water mark.
+     */
+    @Test
+    public void testGetStatistics_HighWaterMark()
+    {
+        final ByteBufferPool byteBufferPool = getByteBufferPool();
+        final ByteBuffer byteBuffer1 = byteBufferPool.takeByteBuffer();
+        final ByteBuffer byteBuffer2 = byteBufferPool.takeByteBuffer();
+        byteBufferPool.returnByteBuffer( byteBuffer1 );
+        byteBufferPool.returnByteBuffer( byteBuffer2 );
+        byteBufferPool.takeByteBuffer();
+
+        final ByteBufferPool.Statistics statistics = byteBufferPool.getStatistics();
+
+        assertEquals( 2, statistics.getHighWaterMark() );
+        assertEquals( 1, statistics.getOutstandingCount() );
+    }
+
+    /**
+     * Ensures the {@link ByteBufferPool#getStatistics} method reports the count
+     * of requests satisfied from the pool and the count of requests that
+     * required a new allocation.
+     */
+    @Test
+    public void testGetStatistics_HitAndMissCounts()
+    {
+        final ByteBufferPool byteBufferPool = getByteBufferPool();
+        byteBufferPool.returnByteBuffer( byteBufferPool.takeByteBuffer() );
+        byteBufferPool.returnByteBuffer( byteBufferPool.takeByteBuffer() );
+        byteBufferPool.returnByteBuffer( byteBufferPool.takeByteBuffer() );
+
+        final ByteBufferPool.Statistics statistics = byteBufferPool.getStatistics();
+
+        assertEquals( 2L, statistics.getHitCount() );
+        assertEquals( 1L, statistics.getMissCount() );
+        assertEquals( 1, statistics.getPooledCount() );
+        assertEquals( BYTE_BUFFER_CAPACITY, statistics.getPooledMemory() );
+    }
+
+    /**
+     * Ensures the {@link ByteBufferPool#returnByteBuffer} method discards a
+     * byte buffer whose capacity does not match any size class.
+     */
+    @Test
+    public void testReturnByteBuffer_ByteBuffer_CapacityNotSizeClass()
+    {
+        final ByteBufferPool byteBufferPool = getByteBufferPool();
+        final ByteBuffer byteBuffer1 = ByteBuffer.allocate( BYTE_BUFFER_CAPACITY / 2 );
+        byteBufferPool.returnByteBuffer( byteBuffer1 );
+
+        final ByteBuffer byteBuffer2 = byteBufferPool.takeByteBuffer();
+
+        assertNotSame( byteBuffer1, byteBuffer2 );
+        assertEquals( BYTE_BUFFER_CAPACITY, byteBuffer2.capacity() );
+    }
+
+    /**
+     * Ensures the {@link ByteBufferPool#returnByteBuffer} method does not
+     * change the outstanding byte buffer count when passed a byte buffer that
+     * was not created by the pool.
+     */
+    @Test
+    public void testReturnByteBuffer_ByteBuffer_NotCreatedByPool_DoesNotChangeOutstandingCount()
+    {
+        final ByteBufferPool byteBufferPool = getByteBufferPool();
+        byteBufferPool.takeByteBuffer();
+        byteBufferPool.returnByteBuffer( ByteBuffer.allocate( BYTE_BUFFER_CAPACITY / 2 ) );
+        byteBufferPool.returnByteBuffer( ByteBuffer.allocateDirect( BYTE_BUFFER_CAPACITY ) );
+
+        final ByteBufferPool.Statistics statistics = byteBufferPool.getStatistics();
+
+        assertEquals( 1, statistics.getOutstandingCount() );
+    }
+
     /**
      * Ensures the {@link ByteBufferPool#takeByteBuffer} method clears an
      * existing byte buffer before returning it.
@@ -102,6 +198,24 @@ public final class ByteBufferPoolTest
         assertEquals( byteBuffer2.capacity(), byteBuffer2.limit() );
     }
 
+    /**
+     * Ensures the {@link ByteBufferPool#takeByteBuffer} method returns a
+     * direct byte buffer when the pool is configured to create direct byte
+     * buffers.
+     */
+    @Test
+    public void testTakeByteBuffer_Direct()
+    {
+        final ByteBufferPool byteBufferPool = new ByteBufferPool( new int[] {
+            BYTE_BUFFER_CAPACITY
+        }, true, ByteBufferPool.DEFAULT_MAXIMUM_MEMORY_USAGE );
+
+        final ByteBuffer byteBuffer = byteBufferPool.takeByteBuffer();
+
+        assertTrue( byteBuffer.isDirect() );
+    }
+
+
     /**
      * Ensures the {@link ByteBufferPool#takeByteBuffer} method returns an
      * existing byte buffer when one exists in the pool.
@@ -117,4 +231,38 @@ public final class ByteBufferPoolTest
 
         assertSame( byteBuffer1, byteBuffer2 );
     }
+
+    /**
+     * Ensures the {@link ByteBufferPool#takeByteBuffer(int)} method returns a
+     * byte buffer from the largest size class when the requested length
+     * exceeds the capacity of all size classes.
+     */
+    @Test
+    public void testTakeByteBufferWithLength_Length_ExceedsLargestSizeClass()
+    {
+        final ByteBufferPool byteBufferPool = new ByteBufferPool( new int[] {
+            BYTE_BUFFER_CAPACITY * 4, BYTE_BUFFER_CAPACITY
+        }, false, ByteBufferPool.DEFAULT_MAXIMUM_MEMORY_USAGE );
+
+        final ByteBuffer byteBuffer = byteBufferPool.takeByteBuffer( BYTE_BUFFER_CAPACITY * 8 );
+
+        assertEquals( BYTE_BUFFER_CAPACITY * 4, byteBuffer.capacity() );
+    }
+
+    /**
+     * Ensures the {@link ByteBufferPool#takeByteBuffer(int)} method returns a
+     * byte buffer from the smallest size class large enough to hold the
+     * requested length.
+     */
+    @Test
+    public void testTakeByteBufferWithLength_ReturnsSmallestSufficientSizeClass()
+    {
+        final ByteBufferPool byteBufferPool = new ByteBufferPool( new int[] {
+            BYTE_BUFFER_CAPACITY * 4, BYTE_BUFFER_CAPACITY, BYTE_BUFFER_CAPACITY * 2
+        }, false, ByteBufferPool.DEFAULT_MAXIMUM_MEMORY_USAGE );
+
+        final ByteBuffer byteBuffer = byteBufferPool.takeByteBuffer( BYTE_BUFFER_CAPACITY + 1 );
+
+        assertEquals( BYTE_BUFFER_CAPACITY * 2, byteBuffer.capacity() );
+    }
 }
@@ -23,16 +23,21 @@ package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import org.easymock.EasyMock;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.concurrent.TaskUtils;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
 import org.junit.After;
 import org.junit.Before;
@@ -132,6 +137,63 @@ public final class DispatcherTest
         return transportLayerRunner_.get();
     }
 
+    /**
+     * Synchronously opens the dispatcher under test in the fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private void openDispatcher()
+        throws Exception
+    {
+        final Dispatcher dispatcher = getDispatcher();
+        getTransportLayerRunner().run( new Callable<@Nullable Void>()
+        {
+            @Override
+            public @Nullable Void call()
+                throws Exception
+            {
+                dispatcher.open();
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * Synchronously executes the specified task on the event dispatch thread
+     * of the dispatcher under test in the fixture.
+     * 
+     * @param <V>
+     *        The return type of the task.
+     * 
+     * @param task
+     *        The task to execute.
+     * 
+     * @return The return value of the task.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs while executing the task.
+     */
+    private <V> V runOnDispatcher(
+        final Callable<V> task )
+        throws Exception
+    {
+        try
+        {
+            return getDispatcher().syncExec( task );
+        }
+        catch( final ExecutionException e )
+        {
+            final Throwable cause = e.getCause();
+            if( cause instanceof Exception )
+            {
+                throw (Exception)cause;
+            }
+
+            throw TaskUtils.launderThrowable( cause );
+        }
+    }
+
     /**
      * Sets up the test fixture.
      * 
@@ -142,7 +204,7 @@ public final class DispatcherTest
     public void setUp()
         throws Exception
     {
-        final AbstractTransportLayer transportLayer = new FakeTransportLayer.Factory().createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) );
+        final AbstractTransportLayer transportLayer = new FakeTransportLayer.Factory( new TcpTransportLayerConfigurationBuilder().toTcpTransportLayerConfiguration() ).createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) );
         transportLayer_ = Optional.of( transportLayer );
         final TransportLayerRunner transportLayerRunner = new TransportLayerRunner( transportLayer );
         transportLayerRunner_ = Optional.of( transportLayerRunner );
@@ -153,7 +215,7 @@ public final class DispatcherTest
             @SuppressWarnings( "synthetic-access" )
             public @Nullable Void call()
             {
-                final Dispatcher dispatcher = new Dispatcher( transportLayer );
+                final Dispatcher dispatcher = new Dispatcher( transportLayer, 0 );
                 dispatcher.setEventHandlerShutdownTimeout( 500L );
                 dispatcherRef_.set( dispatcher );
                 return null;
@@ -175,6 +237,30 @@ public final class DispatcherTest
         getTransportLayerRunner().close();
     }
 
+    /**
+     * Ensures the {@link Dispatcher#asyncExec} method throws an exception if
+     * the dispatcher has been closed.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = RejectedExecutionException.class )
+    public void testAsyncExec_DispatcherClosed()
+        throws Exception
+    {
+        openDispatcher();
+        closeDispatcher();
+
+        getDispatcher().asyncExec( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                // do nothing
+            }
+        } );
+    }
+
     /**
      * Ensures closing the dispatcher closes any event handler that is still
      * registered when the dispatcher is closed.
@@ -188,39 +274,62 @@ public final class DispatcherTest
     {
         final Dispatcher dispatcher = getDispatcher();
         final AbstractTransportLayer transportLayer = getTransportLayer();
-        final AtomicReference<AbstractEventHandler> eventHandlerRef = new AtomicReference<>();
-        getTransportLayerRunner().run( new Callable<@Nullable Void>()
+        final AtomicBoolean isEventHandlerClosed = new AtomicBoolean( false );
+        openDispatcher();
+        runOnDispatcher( new Callable<@Nullable Void>()
         {
             @Override
             public @Nullable Void call()
                 throws Exception
             {
-                dispatcher.open();
-                final AbstractEventHandler eventHandler = new FakeEventHandler( transportLayer )
+                final AbstractEventHandler eventHandler = new FakeEventHandler( transportLayer, dispatcher )
                 {
                     {
                         setState( State.OPEN );
                     }
+
+                    @Override
+                    void close(
+                        final @Nullable Exception exception )
+                    {
+                        super.close( exception );
+                        isEventHandlerClosed.set( true );
+                    }
                 };
-                eventHandlerRef.set( eventHandler );
                 dispatcher.registerEventHandler( eventHandler );
-                assertEquals( State.OPEN, eventHandler.getState() );
 
                 return null;
             }
         } );
+
         closeDispatcher();
-        getTransportLayerRunner().run( new Callable<@Nullable Void>()
+
+        assertTrue( isEventHandlerClosed.get() );
+    }
+
+    /**
+     * Ensures the {@link Dispatcher#open} method names the event dispatch
+     * thread after the dispatcher index.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testOpen_NamesEventDispatchThread()
+        throws Exception
+    {
+        openDispatcher();
+
+        final String eventDispatchThreadName = runOnDispatcher( new Callable<String>()
         {
             @Override
-            public @Nullable Void call()
+            public String call()
             {
-                final AbstractEventHandler eventHandler = eventHandlerRef.get();
-                assertEquals( State.CLOSED, eventHandler.getState() );
-
-                return null;
+                return Thread.currentThread().getName();
             }
         } );
+
+        assertEquals( NonNlsMessages.Dispatcher_eventDispatchThread_name( 0 ), eventDispatchThreadName );
     }
 
     /**
@@ -236,32 +345,57 @@ public final class DispatcherTest
     {
         final Dispatcher dispatcher = getDispatcher();
         final AbstractTransportLayer transportLayer = getTransportLayer();
-        getTransportLayerRunner().run( //
-            new Callable<@Nullable Void>()
+        openDispatcher();
+
+        runOnDispatcher( new Callable<@Nullable Void>()
+        {
+            @Override
+            public @Nullable Void call()
+                throws Exception
             {
-                @Override
-                public @Nullable Void call()
-                    throws Exception
+                final SelectableChannel channel = new FakeSelectableChannel()
                 {
-                    final SelectableChannel channel = new FakeSelectableChannel()
+                    @Override
+                    public @Nullable SelectionKey register(
+                        final @Nullable Selector selector,
+                        final int ops,
+                        final @Nullable Object attachment )
+                        throws ClosedChannelException
                     {
-                        @Override
-                        public @Nullable SelectionKey register(
-                            final @Nullable Selector selector,
-                            final int ops,
-                            final @Nullable Object attachment )
-                            throws ClosedChannelException
-                        {
-                            throw new ClosedChannelException();
-                        }
-                    };
-                    dispatcher.open();
-
-                    dispatcher.registerEventHandler( new FakeEventHandler( transportLayer, channel ) );
-
-                    return null;
-                }
-            }, //
-            ClosedChannelException.class );
+                        throw new ClosedChannelException();
+                    }
+                };
+
+                dispatcher.registerEventHandler( new FakeEventHandler( transportLayer, dispatcher, channel ) );
+
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * Ensures the {@link Dispatcher#syncExec} method executes the task on the
+     * event dispatch thread.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testSyncExec_ExecutesTaskOnEventDispatchThread()
+        throws Exception
+    {
+        final Dispatcher dispatcher = getDispatcher();
+        openDispatcher();
+
+        final Boolean isDispatcherThread = runOnDispatcher( new Callable<Boolean>()
+        {
+            @Override
+            public Boolean call()
+            {
+                return Boolean.valueOf( dispatcher.isDispatcherThread() );
+            }
+        } );
+
+        assertTrue( isDispatcherThread.booleanValue() );
     }
 }
@@ -50,11 +50,14 @@ class FakeEventHandler
      * 
      * @param transportLayer
      *        The transport layer associated with the event handler.
+     * @param dispatcher
+     *        The dispatcher associated with the event handler.
      */
     FakeEventHandler(
-        final AbstractTransportLayer transportLayer )
+        final AbstractTransportLayer transportLayer,
+        final Dispatcher dispatcher )
     {
-        this( transportLayer, new FakeSelectableChannel() );
+        this( transportLayer, dispatcher, new FakeSelectableChannel() );
     }
 
     /**
@@ -63,14 +66,17 @@ class FakeEventHandler
      * 
      * @param transportLayer
      *        The transport layer associated with the event handler.
+     * @param dispatcher
+     *        The dispatcher associated with the event handler.
      * @param channel
      *        The event handler channel.
      */
     FakeEventHandler(
         final AbstractTransportLayer transportLayer,
+        final Dispatcher dispatcher,
         final SelectableChannel channel )
     {
-        super( transportLayer );
+        super( transportLayer, dispatcher );
 
         channel_ = channel;
     }
@@ -87,7 +93,7 @@ class FakeEventHandler
     void close(
         final @Nullable Exception exception )
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         setState( State.CLOSED );
     }
@@ -98,7 +104,7 @@ class FakeEventHandler
     @Override
     @Nullable SelectableChannel getChannel()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return channel_;
     }
@@ -109,7 +115,7 @@ class FakeEventHandler
     @Override
     int getInterestOperations()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return 0;
     }
@@ -120,7 +126,7 @@ class FakeEventHandler
     @Override
     void run()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         // do nothing
     }
@@ -41,14 +41,17 @@ final class FakeTransportLayer
      * 
      * @param executorService
      *        The transport layer executor service.
+     * @param configuration
+     *        The transport layer configuration.
      * @param context
      *        The transport layer context.
      */
     private FakeTransportLayer(
         final ExecutorService executorService,
+        final TcpTransportLayerConfiguration configuration,
         final ITransportLayerContext context )
     {
-        super( executorService, context );
+        super( executorService, configuration, context );
     }
 
 
@@ -98,9 +101,15 @@ final class FakeTransportLayer
 
         /**
          * Initializes a new instance of the {@code Factory} class.
+         * 
+         * @param configuration
+         *        The configuration of transport layers created by the
+         *        factory.
          */
-        Factory()
+        Factory(
+            final TcpTransportLayerConfiguration configuration )
         {
+            super( configuration );
         }
 
 
@@ -109,15 +118,16 @@ final class FakeTransportLayer
         // ==================================================================
 
         /*
-         * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractTransportLayer.AbstractFactory#createTransportLayer(java.util.concurrent.ExecutorService, org.gamegineer.table.internal.net.transport.ITransportLayerContext)
+         * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractTransportLayer.AbstractFactory#createTransportLayer(java.util.concurrent.ExecutorService, org.gamegineer.table.internal.net.impl.transport.tcp.TcpTransportLayerConfiguration, org.gamegineer.table.internal.net.transport.ITransportLayerContext)
          */
         @Override
         @SuppressWarnings( "synthetic-access" )
         AbstractTransportLayer createTransportLayer(
             final ExecutorService executorService,
+            final TcpTransportLayerConfiguration configuration,
             final ITransportLayerContext context )
         {
-            return new FakeTransportLayer( executorService, context );
+            return new FakeTransportLayer( executorService, configuration, context );
         }
     }
 }
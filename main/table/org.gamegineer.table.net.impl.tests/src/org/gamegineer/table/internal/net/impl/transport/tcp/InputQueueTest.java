@@ -22,12 +22,19 @@
 package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.util.Optional;
+import java.util.zip.Deflater;
 import org.gamegineer.table.internal.net.impl.transport.FakeMessage;
+import org.gamegineer.table.internal.net.impl.transport.MessageCodec;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
 import org.junit.Before;
 import org.junit.Test;
@@ -44,6 +51,9 @@ public final class InputQueueTest
     /** The capacity of byte buffers created by the fixture byte buffer pool. */
     private static final int BYTE_BUFFER_POOL_CAPACITY = 4096;
 
+    /** The maximum message body length accepted by the fixture input queue. */
+    private static final int MAXIMUM_BODY_LENGTH = 1024 * 1024;
+
     /** The input queue under test in the fixture. */
     private Optional<InputQueue> inputQueue_;
 
@@ -85,7 +95,40 @@ public final class InputQueueTest
     public void setUp()
         throws Exception
     {
-        inputQueue_ = Optional.of( new InputQueue( new ByteBufferPool( BYTE_BUFFER_POOL_CAPACITY ) ) );
+        inputQueue_ = Optional.of( new InputQueue( new ByteBufferPool( BYTE_BUFFER_POOL_CAPACITY ), MAXIMUM_BODY_LENGTH ) );
+    }
+
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method decompresses
+     * a message envelope whose body is compressed.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDequeueMessageEnvelope_CompressedMessageEnvelope()
+        throws Exception
+    {
+        final InputQueue inputQueue = getInputQueue();
+        final FakeMessage message = new FakeMessage();
+        message.setContent( new byte[ 2 * BYTE_BUFFER_POOL_CAPACITY ] );
+        final MessageEnvelope expectedMessageEnvelope = MessageEnvelope.fromMessage( message );
+        final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+        try
+        {
+            final MessageEnvelope compressedMessageEnvelope = expectedMessageEnvelope.compress( deflater );
+            assertTrue( compressedMessageEnvelope.getHeader().isCompressed() );
+            inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( compressedMessageEnvelope.toByteArray() ) ) );
+        }
+        finally
+        {
+            deflater.end();
+        }
+
+        final MessageEnvelope actualMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+
+        assertNotNull( actualMessageEnvelope );
+        assertArrayEquals( expectedMessageEnvelope.toByteArray(), actualMessageEnvelope.toByteArray() );
     }
 
     /**
@@ -224,6 +267,206 @@ public final class InputQueueTest
         assertArrayEquals( expectedBytes, actualBytes );
     }
 
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method correctly
+     * reassembles a message envelope transferred as fragment frames when
+     * another message envelope is interleaved between the fragments.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDequeueMessageEnvelope_FragmentedMessageEnvelope_InterleavedMessageEnvelope()
+        throws Exception
+    {
+        final InputQueue inputQueue = getInputQueue();
+        final FakeMessage expectedLargeMessage = new FakeMessage();
+        final byte[] expectedLargeContent = new byte[ MessageEnvelope.Header.MAXIMUM_BODY_LENGTH + 1 ];
+        for( int index = 0; index < expectedLargeContent.length; ++index )
+        {
+            expectedLargeContent[ index ] = (byte)index;
+        }
+        expectedLargeMessage.setContent( expectedLargeContent );
+        final byte[] largeBytes = MessageEnvelope.fromMessage( expectedLargeMessage ).toByteArray();
+        final FakeMessage expectedSmallMessage = new FakeMessage();
+        expectedSmallMessage.setContent( new byte[] {
+            0x55
+        } );
+        final byte[] smallBytes = MessageEnvelope.fromMessage( expectedSmallMessage ).toByteArray();
+        final ByteArrayOutputStream inputStream = new ByteArrayOutputStream();
+        for( int offset = 0; offset < largeBytes.length; offset += FragmentFrames.MAXIMUM_PAYLOAD_LENGTH )
+        {
+            final int payloadLength = Math.min( largeBytes.length - offset, FragmentFrames.MAXIMUM_PAYLOAD_LENGTH );
+            final ByteBuffer fragmentHeader = FragmentFrames.createHeader( payloadLength, (offset + payloadLength) == largeBytes.length );
+            inputStream.write( fragmentHeader.array(), 0, fragmentHeader.remaining() );
+            inputStream.write( largeBytes, offset, payloadLength );
+            if( offset == 0 )
+            {
+                inputStream.write( smallBytes );
+            }
+        }
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( inputStream.toByteArray() ) ) );
+
+        final MessageEnvelope actualSmallMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualLargeMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+
+        assertNotNull( actualSmallMessageEnvelope );
+        assertArrayEquals( expectedSmallMessage.getContent(), ((FakeMessage)actualSmallMessageEnvelope.getMessage()).getContent() );
+        assertNotNull( actualLargeMessageEnvelope );
+        assertTrue( actualLargeMessageEnvelope.getHeader().isExtended() );
+        assertArrayEquals( expectedLargeContent, ((FakeMessage)actualLargeMessageEnvelope.getMessage()).getContent() );
+        assertTrue( inputQueue.isEmpty() );
+    }
+
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method throws an
+     * exception when the input queue contains a malformed frame.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testDequeueMessageEnvelope_MalformedFrame()
+        throws Exception
+    {
+        final InputQueue inputQueue = getInputQueue();
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( new byte[] {
+            (byte)0x00, (byte)0x00, (byte)0x00, (byte)0x00
+        } ) ) );
+
+        inputQueue.dequeueMessageEnvelope();
+    }
+
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method throws an
+     * exception when the input queue contains a message envelope whose body
+     * exceeds the maximum length accepted by the input queue.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testDequeueMessageEnvelope_MessageEnvelopeExceedsMaximumBodyLength()
+        throws Exception
+    {
+        final InputQueue inputQueue = new InputQueue( new ByteBufferPool( BYTE_BUFFER_POOL_CAPACITY ), 16 );
+        final FakeMessage message = new FakeMessage();
+        message.setContent( new byte[ 32 ] );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( MessageEnvelope.fromMessage( message ).toByteArray() ) ) );
+
+        inputQueue.dequeueMessageEnvelope();
+    }
+
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method returns all
+     * consumed buffers to the buffer pool.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDequeueMessageEnvelope_ReturnsConsumedBuffersToPool()
+        throws Exception
+    {
+        final ByteBufferPool bufferPool = new ByteBufferPool( BYTE_BUFFER_POOL_CAPACITY );
+        final InputQueue inputQueue = new InputQueue( bufferPool, MAXIMUM_BODY_LENGTH );
+        final FakeMessage message = new FakeMessage();
+        message.setContent( new byte[ 2 * BYTE_BUFFER_POOL_CAPACITY ] );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( MessageEnvelope.fromMessage( message ).toByteArray() ) ) );
+
+        final MessageEnvelope actualMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+
+        assertNotNull( actualMessageEnvelope );
+        assertTrue( inputQueue.isEmpty() );
+        assertEquals( 0, bufferPool.getStatistics().getOutstandingCount() );
+    }
+
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method correctly
+     * dequeues a message envelope whose header is split across two pool
+     * buffers.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDequeueMessageEnvelope_HeaderSplitAcrossPoolBuffers()
+        throws Exception
+    {
+        final InputQueue inputQueue = getInputQueue();
+        final FakeMessage fillerMessage = new FakeMessage();
+        final int fillerOverhead = MessageEnvelope.fromMessage( fillerMessage ).toByteArray().length;
+        fillerMessage.setContent( new byte[ BYTE_BUFFER_POOL_CAPACITY - fillerOverhead - (MessageEnvelope.Header.LENGTH / 2) ] );
+        final byte[] fillerBytes = MessageEnvelope.fromMessage( fillerMessage ).toByteArray();
+        final FakeMessage expectedMessage = new FakeMessage();
+        expectedMessage.setContent( new byte[] {
+            0x11, 0x22, 0x33
+        } );
+        final byte[] expectedBytes = MessageEnvelope.fromMessage( expectedMessage ).toByteArray();
+        final byte[] inputBytes = new byte[ fillerBytes.length + expectedBytes.length ];
+        System.arraycopy( fillerBytes, 0, inputBytes, 0, fillerBytes.length );
+        System.arraycopy( expectedBytes, 0, inputBytes, fillerBytes.length, expectedBytes.length );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( inputBytes ) ) );
+
+        final MessageEnvelope fillerMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+
+        assertTrue( fillerBytes.length < BYTE_BUFFER_POOL_CAPACITY );
+        assertTrue( (fillerBytes.length + MessageEnvelope.Header.LENGTH) > BYTE_BUFFER_POOL_CAPACITY );
+        assertNotNull( fillerMessageEnvelope );
+        assertNotNull( actualMessageEnvelope );
+        assertArrayEquals( expectedMessage.getContent(), ((FakeMessage)actualMessageEnvelope.getMessage()).getContent() );
+        assertTrue( inputQueue.isEmpty() );
+    }
+
+    /**
+     * Ensures the {@link InputQueue#dequeueMessageEnvelope} method returns a
+     * stream encoded message envelope whose body remains valid after the queue
+     * is refilled and that the pool buffer containing it is not reused.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDequeueMessageEnvelope_StreamEncodedMessageEnvelope_BodyNotOverwritten()
+        throws Exception
+    {
+        final ByteBufferPool bufferPool = new ByteBufferPool( BYTE_BUFFER_POOL_CAPACITY );
+        final InputQueue inputQueue = new InputQueue( bufferPool, MAXIMUM_BODY_LENGTH );
+        final MessageCodec encoder = new MessageCodec();
+        final MessageCodec decoder = new MessageCodec();
+        final FakeMessage expectedMessage1 = new FakeMessage();
+        expectedMessage1.setContent( new byte[] {
+            0x11, 0x22, 0x33
+        } );
+        final FakeMessage expectedMessage2 = new FakeMessage();
+        expectedMessage2.setContent( new byte[] {
+            0x44, 0x55, 0x66
+        } );
+        final byte[] bytes1 = encoder.encode( expectedMessage1 ).toByteArray();
+        final byte[] bytes2 = encoder.encode( expectedMessage2 ).toByteArray();
+        final int splitOffset = bytes2.length / 2;
+        final byte[] inputBytes1 = new byte[ bytes1.length + splitOffset ];
+        System.arraycopy( bytes1, 0, inputBytes1, 0, bytes1.length );
+        System.arraycopy( bytes2, 0, inputBytes1, bytes1.length, splitOffset );
+        final byte[] inputBytes2 = new byte[ bytes2.length - splitOffset ];
+        System.arraycopy( bytes2, splitOffset, inputBytes2, 0, inputBytes2.length );
+
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( inputBytes1 ) ) );
+        final MessageEnvelope actualMessageEnvelope1 = inputQueue.dequeueMessageEnvelope();
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( inputBytes2 ) ) );
+        final MessageEnvelope actualMessageEnvelope2 = inputQueue.dequeueMessageEnvelope();
+
+        assertNotNull( actualMessageEnvelope1 );
+        assertNotNull( actualMessageEnvelope2 );
+        assertTrue( actualMessageEnvelope1.isStreamEncoded() );
+        assertArrayEquals( expectedMessage1.getContent(), ((FakeMessage)decoder.decode( actualMessageEnvelope1 )).getContent() );
+        assertArrayEquals( expectedMessage2.getContent(), ((FakeMessage)decoder.decode( actualMessageEnvelope2 )).getContent() );
+        assertTrue( inputQueue.isEmpty() );
+        assertEquals( 0, bufferPool.getStatistics().getOutstandingCount() );
+        assertEquals( 0, bufferPool.getStatistics().getPooledCount() );
+    }
+
     /**
      * Ensures the {@link InputQueue#dequeueMessageEnvelope} method returns
      * {@code null} when the input queue is empty.
@@ -0,0 +1,694 @@
+/*
+ * OutputQueueTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:03:18 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import net.jcip.annotations.NotThreadSafe;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.internal.net.impl.node.ComponentIncrement;
+import org.gamegineer.table.internal.net.impl.node.common.messages.ComponentIncrementMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.TableMessage;
+import org.gamegineer.table.internal.net.impl.transport.FakeMessage;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link OutputQueue} class.
+ */
+public final class OutputQueueTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The output queue under test in the fixture. */
+    private Optional<OutputQueue> outputQueue_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code OutputQueueTest} class.
+     */
+    public OutputQueueTest()
+    {
+        outputQueue_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Concatenates the specified byte arrays.
+     * 
+     * @param bytes1
+     *        The first byte array.
+     * @param bytes2
+     *        The second byte array.
+     * 
+     * @return The concatenated byte array.
+     */
+    private static byte[] concat(
+        final byte[] bytes1,
+        final byte[] bytes2 )
+    {
+        final byte[] bytes = new byte[ bytes1.length + bytes2.length ];
+        System.arraycopy( bytes1, 0, bytes, 0, bytes1.length );
+        System.arraycopy( bytes2, 0, bytes, bytes1.length, bytes2.length );
+        return bytes;
+    }
+
+    /**
+     * Creates a new message envelope whose content is the specified byte.
+     * 
+     * @param content
+     *        The message content.
+     * 
+     * @return A new message envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private static MessageEnvelope createMessageEnvelope(
+        final int content )
+        throws Exception
+    {
+        final FakeMessage message = new FakeMessage();
+        message.setContent( new byte[] {
+            (byte)content
+        } );
+        return MessageEnvelope.fromMessage( message );
+    }
+
+    /**
+     * Gets the output queue under test in the fixture.
+     * 
+     * @return The output queue under test in the fixture.
+     */
+    private OutputQueue getOutputQueue()
+    {
+        return outputQueue_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        outputQueue_ = Optional.of( new OutputQueue( new TransportMetrics() ) );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method does not write to the
+     * channel when the output queue is empty.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_Empty()
+        throws Exception
+    {
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        final int bytesWritten = getOutputQueue().drainTo( channel );
+
+        assertEquals( 0, bytesWritten );
+        assertEquals( 0, channel.getWriteCount() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method writes a control message
+     * envelope enqueued while another message envelope is held behind a
+     * message envelope with an extended header after the held message
+     * envelope.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_LargeMessageEnvelope_HoldsControlMessageEnvelopesBehindHeldMessageEnvelopes()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final FakeMessage largeMessage = new FakeMessage();
+        largeMessage.setContent( new byte[ (OutputQueue.FRAGMENT_GROUP_SIZE + 1) * FragmentFrames.MAXIMUM_PAYLOAD_LENGTH ] );
+        final byte[] expectedBytes1 = createMessageEnvelope( 0x11 ).toByteArray();
+        final byte[] expectedBytes2 = createMessageEnvelope( 0x22 ).toByteArray();
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromMessage( largeMessage ) );
+        outputQueue.drainTo( channel );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes1 ) );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes2 ), System.nanoTime(), true );
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        final byte[] actualBytes = channel.getBytes();
+        assertArrayEquals( concat( expectedBytes1, expectedBytes2 ), Arrays.copyOfRange( actualBytes, actualBytes.length - expectedBytes1.length - expectedBytes2.length, actualBytes.length ) );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method writes message envelopes
+     * enqueued during the transfer of a message envelope with an extended
+     * header after its last fragment.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_LargeMessageEnvelope_HoldsMessageEnvelopes()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] expectedLargeContent = new byte[ (OutputQueue.FRAGMENT_GROUP_SIZE + 1) * FragmentFrames.MAXIMUM_PAYLOAD_LENGTH ];
+        Arrays.fill( expectedLargeContent, (byte)0x77 );
+        final FakeMessage expectedLargeMessage = new FakeMessage();
+        expectedLargeMessage.setContent( expectedLargeContent );
+        final byte[] smallBytes = createMessageEnvelope( 0x11 ).toByteArray();
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromMessage( expectedLargeMessage ) );
+        outputQueue.drainTo( channel );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( smallBytes ) );
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        final byte[] actualBytes = channel.getBytes();
+        assertArrayEquals( smallBytes, Arrays.copyOfRange( actualBytes, actualBytes.length - smallBytes.length, actualBytes.length ) );
+        final InputQueue inputQueue = new InputQueue( new ByteBufferPool( 4096 ), Integer.MAX_VALUE );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( actualBytes ) ) );
+        final MessageEnvelope actualLargeMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualSmallMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+        assertNotNull( actualLargeMessageEnvelope );
+        assertArrayEquals( expectedLargeContent, ((FakeMessage)actualLargeMessageEnvelope.getMessage()).getContent() );
+        assertNotNull( actualSmallMessageEnvelope );
+        assertArrayEquals( smallBytes, actualSmallMessageEnvelope.toByteArray() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method transfers a message
+     * envelope with an extended header as fragment frames and writes control
+     * message envelopes enqueued during the transfer between its fragments.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_LargeMessageEnvelope_InterleavesControlMessageEnvelopes()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] expectedLargeContent = new byte[ (OutputQueue.FRAGMENT_GROUP_SIZE + 1) * FragmentFrames.MAXIMUM_PAYLOAD_LENGTH ];
+        Arrays.fill( expectedLargeContent, (byte)0x77 );
+        final FakeMessage expectedLargeMessage = new FakeMessage();
+        expectedLargeMessage.setContent( expectedLargeContent );
+        final byte[] smallBytes = createMessageEnvelope( 0x11 ).toByteArray();
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromMessage( expectedLargeMessage ) );
+        final int firstBytesWritten = outputQueue.drainTo( channel );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( smallBytes ), System.nanoTime(), true );
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        final byte[] actualBytes = channel.getBytes();
+        assertEquals( OutputQueue.FRAGMENT_GROUP_SIZE * (FragmentFrames.HEADER_LENGTH + FragmentFrames.MAXIMUM_PAYLOAD_LENGTH), firstBytesWritten );
+        assertArrayEquals( smallBytes, Arrays.copyOfRange( actualBytes, firstBytesWritten, firstBytesWritten + smallBytes.length ) );
+        final InputQueue inputQueue = new InputQueue( new ByteBufferPool( 4096 ), Integer.MAX_VALUE );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( actualBytes ) ) );
+        final MessageEnvelope actualSmallMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualLargeMessageEnvelope = inputQueue.dequeueMessageEnvelope();
+        assertNotNull( actualSmallMessageEnvelope );
+        assertArrayEquals( smallBytes, actualSmallMessageEnvelope.toByteArray() );
+        assertNotNull( actualLargeMessageEnvelope );
+        assertArrayEquals( expectedLargeContent, ((FakeMessage)actualLargeMessageEnvelope.getMessage()).getContent() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method writes a component
+     * increment message enqueued during the transfer of a table message whose
+     * body exceeds the maximum length of a compact message envelope after the
+     * table message so that the peer applies the increment to the table state
+     * rather than having it replaced by the table state.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_LargeMessageEnvelope_TableMessageFollowedByComponentIncrementMessage()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final TableMessage tableMessage = new TableMessage();
+        tableMessage.setMemento( Collections.<String, Object>singletonMap( "tabletop", new byte[ 4 * MessageEnvelope.Header.MAXIMUM_BODY_LENGTH ] ) ); //$NON-NLS-1$
+        final ComponentIncrement componentIncrement = new ComponentIncrement();
+        componentIncrement.setLocation( new Point( 1, 2 ) );
+        final ComponentIncrementMessage componentIncrementMessage = new ComponentIncrementMessage();
+        componentIncrementMessage.setIncrement( componentIncrement );
+        componentIncrementMessage.setPath( new ComponentPath( ComponentPath.ROOT, 0 ) );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromMessage( tableMessage ) );
+        outputQueue.drainTo( channel );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromMessage( componentIncrementMessage ) );
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        final InputQueue inputQueue = new InputQueue( new ByteBufferPool( 4096 ), Integer.MAX_VALUE );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( channel.getBytes() ) ) );
+        final MessageEnvelope actualMessageEnvelope1 = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualMessageEnvelope2 = inputQueue.dequeueMessageEnvelope();
+        assertNotNull( actualMessageEnvelope1 );
+        assertEquals( TableMessage.class, actualMessageEnvelope1.getMessage().getClass() );
+        assertNotNull( actualMessageEnvelope2 );
+        assertEquals( ComponentIncrementMessage.class, actualMessageEnvelope2.getMessage().getClass() );
+        assertEquals( new Point( 1, 2 ), ((ComponentIncrementMessage)actualMessageEnvelope2.getMessage()).getIncrement().getLocation() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method records a large message
+     * envelope as sent only after its last fragment has been written.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_LargeMessageEnvelope_RecordsMetrics()
+        throws Exception
+    {
+        final TransportMetrics metrics = new TransportMetrics();
+        final OutputQueue outputQueue = new OutputQueue( metrics );
+        final FakeMessage largeMessage = new FakeMessage();
+        largeMessage.setContent( new byte[ (OutputQueue.FRAGMENT_GROUP_SIZE + 1) * FragmentFrames.MAXIMUM_PAYLOAD_LENGTH ] );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromMessage( largeMessage ) );
+
+        outputQueue.drainTo( channel );
+        final long messagesSentAfterFirstFragmentGroup = metrics.getMessagesSent();
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        assertEquals( 0L, messagesSentAfterFirstFragmentGroup );
+        assertEquals( 1L, metrics.getMessagesSent() );
+        assertEquals( channel.getBytes().length, metrics.getBytesSent() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method submits no more than the
+     * maximum gather count of message envelopes in a single gathering write.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_MoreThanMaximumGatherCount()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] bytes = createMessageEnvelope( 0x11 ).toByteArray();
+        for( int index = 0; index <= OutputQueue.MAXIMUM_GATHER_COUNT; ++index )
+        {
+            outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( bytes ) );
+        }
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        final int firstBytesWritten = outputQueue.drainTo( channel );
+        final int secondBytesWritten = outputQueue.drainTo( channel );
+
+        assertEquals( OutputQueue.MAXIMUM_GATHER_COUNT * bytes.length, firstBytesWritten );
+        assertEquals( bytes.length, secondBytesWritten );
+        assertEquals( 2, channel.getWriteCount() );
+        assertTrue( outputQueue.isEmpty() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method retains the unwritten
+     * bytes when the channel accepts only part of the queued data.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_PartialWrite()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] expectedBytes1 = createMessageEnvelope( 0x11 ).toByteArray();
+        final byte[] expectedBytes2 = createMessageEnvelope( 0x22 ).toByteArray();
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes1 ) );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes2 ) );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( expectedBytes1.length + 1 );
+
+        final int firstBytesWritten = outputQueue.drainTo( channel );
+        final boolean isEmptyAfterFirstDrain = outputQueue.isEmpty();
+        final int secondBytesWritten = outputQueue.drainTo( channel );
+
+        assertEquals( expectedBytes1.length + 1, firstBytesWritten );
+        assertFalse( isEmptyAfterFirstDrain );
+        assertEquals( expectedBytes2.length - 1, secondBytesWritten );
+        assertTrue( outputQueue.isEmpty() );
+        assertArrayEquals( concat( expectedBytes1, expectedBytes2 ), channel.getBytes() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method records only the message
+     * envelopes that have been completely written when the channel does not
+     * accept all of the queued bytes.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_PartialWrite_RecordsMetrics()
+        throws Exception
+    {
+        final TransportMetrics metrics = new TransportMetrics();
+        final OutputQueue outputQueue = new OutputQueue( metrics );
+        final byte[] bytes1 = createMessageEnvelope( 0x11 ).toByteArray();
+        final byte[] bytes2 = createMessageEnvelope( 0x22 ).toByteArray();
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( bytes1 ) );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( bytes2 ) );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( bytes1.length + 1 );
+
+        outputQueue.drainTo( channel );
+
+        assertEquals( 1L, metrics.getMessagesSent() );
+        assertEquals( bytes1.length + 1, metrics.getBytesSent() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method writes message envelopes
+     * that share a body without serializing or copying the shared body.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_SharedBody()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] expectedLargeContent = new byte[ 2 * FragmentFrames.MAXIMUM_PAYLOAD_LENGTH + MessageEnvelope.Header.MAXIMUM_BODY_LENGTH ];
+        Arrays.fill( expectedLargeContent, (byte)0x55 );
+        final FakeMessage expectedLargeMessage = new FakeMessage();
+        expectedLargeMessage.setContent( expectedLargeContent );
+        final MessageEnvelope sharedSmallMessageEnvelope = createMessageEnvelope( 0x22 );
+        final MessageEnvelope sharedLargeMessageEnvelope = MessageEnvelope.fromMessage( expectedLargeMessage );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        outputQueue.enqueueMessageEnvelope( sharedSmallMessageEnvelope.withIds( 0x11, IMessage.NULL_CORRELATION_ID ) );
+        outputQueue.enqueueMessageEnvelope( sharedLargeMessageEnvelope.withIds( 0x12, IMessage.NULL_CORRELATION_ID ) );
+        outputQueue.enqueueMessageEnvelope( sharedSmallMessageEnvelope.withIds( IMessage.MAXIMUM_ID, IMessage.NULL_CORRELATION_ID ) );
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        final InputQueue inputQueue = new InputQueue( new ByteBufferPool( 4096 ), Integer.MAX_VALUE );
+        inputQueue.fillFrom( Channels.newChannel( new ByteArrayInputStream( channel.getBytes() ) ) );
+        final MessageEnvelope actualMessageEnvelope1 = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualMessageEnvelope2 = inputQueue.dequeueMessageEnvelope();
+        final MessageEnvelope actualMessageEnvelope3 = inputQueue.dequeueMessageEnvelope();
+        assertNotNull( actualMessageEnvelope1 );
+        assertEquals( 0x11, actualMessageEnvelope1.getMessage().getId() );
+        assertNotNull( actualMessageEnvelope2 );
+        assertEquals( 0x12, actualMessageEnvelope2.getMessage().getId() );
+        assertArrayEquals( expectedLargeContent, ((FakeMessage)actualMessageEnvelope2.getMessage()).getContent() );
+        assertNotNull( actualMessageEnvelope3 );
+        assertEquals( IMessage.MAXIMUM_ID, actualMessageEnvelope3.getMessage().getId() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#drainTo} method writes all queued message
+     * envelopes using a single gathering write.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testDrainTo_SingleGatheringWrite()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] expectedBytes1 = createMessageEnvelope( 0x11 ).toByteArray();
+        final byte[] expectedBytes2 = createMessageEnvelope( 0x22 ).toByteArray();
+        final byte[] expectedBytes3 = createMessageEnvelope( 0x33 ).toByteArray();
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes1 ) );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes2 ) );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( expectedBytes3 ) );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        final int bytesWritten = outputQueue.drainTo( channel );
+
+        assertEquals( expectedBytes1.length + expectedBytes2.length + expectedBytes3.length, bytesWritten );
+        assertEquals( 1, channel.getWriteCount() );
+        assertTrue( outputQueue.isEmpty() );
+        assertArrayEquals( concat( concat( expectedBytes1, expectedBytes2 ), expectedBytes3 ), channel.getBytes() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#getLength} method includes the bytes of a
+     * message envelope transferred as fragment frames and returns zero after
+     * the queue has been drained.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testGetLength_LargeMessageEnvelope()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final FakeMessage largeMessage = new FakeMessage();
+        largeMessage.setContent( new byte[ (OutputQueue.FRAGMENT_GROUP_SIZE + 1) * FragmentFrames.MAXIMUM_PAYLOAD_LENGTH ] );
+        final MessageEnvelope largeMessageEnvelope = MessageEnvelope.fromMessage( largeMessage );
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( Integer.MAX_VALUE );
+
+        outputQueue.enqueueMessageEnvelope( largeMessageEnvelope );
+        final long lengthBeforeDrain = outputQueue.getLength();
+        while( !outputQueue.isEmpty() )
+        {
+            outputQueue.drainTo( channel );
+        }
+
+        assertEquals( largeMessageEnvelope.toByteArray().length, lengthBeforeDrain );
+        assertEquals( 0L, outputQueue.getLength() );
+    }
+
+    /**
+     * Ensures the {@link OutputQueue#getLength} method returns the number of
+     * bytes not yet accepted by the channel after a partial write.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testGetLength_PartialWrite()
+        throws Exception
+    {
+        final OutputQueue outputQueue = getOutputQueue();
+        final byte[] bytes1 = createMessageEnvelope( 0x11 ).toByteArray();
+        final byte[] bytes2 = createMessageEnvelope( 0x22 ).toByteArray();
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( bytes1 ) );
+        outputQueue.enqueueMessageEnvelope( MessageEnvelope.fromByteArray( bytes2 ) );
+        final long lengthBeforeDrain = outputQueue.getLength();
+        final FakeGatheringByteChannel channel = new FakeGatheringByteChannel( bytes1.length + 1 );
+
+        outputQueue.drainTo( channel );
+
+        assertEquals( bytes1.length + bytes2.length, lengthBeforeDrain );
+        assertEquals( bytes2.length - 1, outputQueue.getLength() );
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A fake gathering byte channel that accepts a limited count of bytes per
+     * write.
+     */
+    @NotThreadSafe
+    private static final class FakeGatheringByteChannel
+        implements GatheringByteChannel
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The bytes written to the channel. */
+        private final ByteArrayOutputStream bytes_;
+
+        /** The maximum count of bytes accepted by a single write. */
+        private final int maximumWriteLength_;
+
+        /** The count of write operations performed on the channel. */
+        private int writeCount_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code FakeGatheringByteChannel}
+         * class.
+         * 
+         * @param maximumWriteLength
+         *        The maximum count of bytes accepted by a single write.
+         */
+        FakeGatheringByteChannel(
+            final int maximumWriteLength )
+        {
+            bytes_ = new ByteArrayOutputStream();
+            maximumWriteLength_ = maximumWriteLength;
+            writeCount_ = 0;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see java.nio.channels.Channel#close()
+         */
+        @Override
+        public void close()
+        {
+            // do nothing
+        }
+
+        /**
+         * Gets the bytes written to the channel.
+         * 
+         * @return The bytes written to the channel.
+         */
+        byte[] getBytes()
+        {
+            return bytes_.toByteArray();
+        }
+
+        /**
+         * Gets the count of write operations performed on the channel.
+         * 
+         * @return The count of write operations performed on the channel.
+         */
+        int getWriteCount()
+        {
+            return writeCount_;
+        }
+
+        /*
+         * @see java.nio.channels.Channel#isOpen()
+         */
+        @Override
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        /*
+         * @see java.nio.channels.WritableByteChannel#write(java.nio.ByteBuffer)
+         */
+        @Override
+        public int write(
+            final ByteBuffer src )
+        {
+            return (int)write( new ByteBuffer[] {
+                src
+            }, 0, 1 );
+        }
+
+        /*
+         * @see java.nio.channels.GatheringByteChannel#write(java.nio.ByteBuffer[])
+         */
+        @Override
+        public long write(
+            final ByteBuffer[] srcs )
+        {
+            return write( srcs, 0, srcs.length );
+        }
+
+        /*
+         * @see java.nio.channels.GatheringByteChannel#write(java.nio.ByteBuffer[], int, int)
+         */
+        @Override
+        public long write(
+            final ByteBuffer[] srcs,
+            final int offset,
+            final int length )
+        {
+            ++writeCount_;
+
+            long bytesWritten = 0L;
+            for( int index = offset; (index < (offset + length)) && (bytesWritten < maximumWriteLength_); ++index )
+            {
+                final ByteBuffer src = srcs[ index ];
+                while( src.hasRemaining() && (bytesWritten < maximumWriteLength_) )
+                {
+                    bytes_.write( src.get() );
+                    ++bytesWritten;
+                }
+            }
+
+            return bytesWritten;
+        }
+    }
+}
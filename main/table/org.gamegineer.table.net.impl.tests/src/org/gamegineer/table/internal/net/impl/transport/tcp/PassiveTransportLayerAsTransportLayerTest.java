@@ -57,6 +57,6 @@ public final class PassiveTransportLayerAsTransportLayerTest
     protected ITransportLayer createTransportLayer()
         throws Exception
     {
-        return new TransportLayerProxy( new PassiveTransportLayer.Factory().createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) ) );
+        return new TransportLayerProxy( new PassiveTransportLayer.Factory( new TcpTransportLayerConfigurationBuilder().toTcpTransportLayerConfiguration() ).createTransportLayer( EasyMock.createMock( ITransportLayerContext.class ) ) );
     }
 }
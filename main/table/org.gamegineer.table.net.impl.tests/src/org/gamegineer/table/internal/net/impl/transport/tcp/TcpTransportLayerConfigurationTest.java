@@ -0,0 +1,87 @@
+/*
+ * TcpTransportLayerConfigurationTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:41:18 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import static org.junit.Assert.assertArrayEquals;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link TcpTransportLayerConfiguration} class.
+ */
+public final class TcpTransportLayerConfigurationTest
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code TcpTransportLayerConfigurationTest} class.
+     */
+    public TcpTransportLayerConfigurationTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Ensures the
+     * {@link TcpTransportLayerConfiguration#TcpTransportLayerConfiguration}
+     * constructor makes a copy of the byte buffer pool capacities.
+     */
+    @Test
+    public void testConstructor_ByteBufferPoolCapacities_Copy()
+    {
+        final int[] byteBufferPoolCapacities = new int[] {
+            1024, 2048
+        };
+        final int[] expectedByteBufferPoolCapacities = byteBufferPoolCapacities.clone();
+        final TcpTransportLayerConfiguration configuration = new TcpTransportLayerConfiguration( byteBufferPoolCapacities, true, 4096, 65536, 1, 256, 1024, 512 );
+        byteBufferPoolCapacities[ 0 ] = 0;
+
+        final int[] actualByteBufferPoolCapacities = configuration.getByteBufferPoolCapacities();
+
+        assertArrayEquals( expectedByteBufferPoolCapacities, actualByteBufferPoolCapacities );
+    }
+
+    /**
+     * Ensures the
+     * {@link TcpTransportLayerConfiguration#getByteBufferPoolCapacities} method
+     * returns a copy of the byte buffer pool capacities.
+     */
+    @Test
+    public void testGetByteBufferPoolCapacities_ReturnValue_Copy()
+    {
+        final int[] expectedByteBufferPoolCapacities = new int[] {
+            1024, 2048
+        };
+        final TcpTransportLayerConfiguration configuration = new TcpTransportLayerConfiguration( expectedByteBufferPoolCapacities, true, 4096, 65536, 1, 256, 1024, 512 );
+        configuration.getByteBufferPoolCapacities()[ 0 ] = 0;
+
+        final int[] actualByteBufferPoolCapacities = configuration.getByteBufferPoolCapacities();
+
+        assertArrayEquals( expectedByteBufferPoolCapacities, actualByteBufferPoolCapacities );
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * DatagramEndpointTest.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 4:19:02 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.udp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link DatagramEndpoint} class.
+ */
+public final class DatagramEndpointTest
+{
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code DatagramEndpointTest} class.
+     */
+    public DatagramEndpointTest()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Ensures the {@link DatagramEndpoint#send} method returns {@code false}
+     * after the endpoint has been closed.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( timeout = 10000 )
+    public void testSend_AfterClose()
+        throws Exception
+    {
+        final DatagramEndpoint endpoint = DatagramEndpoint.open( "localhost", 0, new IDatagramHandler() //$NON-NLS-1$
+        {
+            @Override
+            public void datagramReceived(
+                @SuppressWarnings( "unused" )
+                final SocketAddress sourceAddress,
+                @SuppressWarnings( "unused" )
+                final ByteBuffer datagram )
+            {
+                // do nothing
+            }
+        } );
+        final int port = endpoint.getLocalPort();
+        endpoint.close();
+
+        assertFalse( endpoint.send( ByteBuffer.wrap( new byte[] {
+            1
+        } ), new InetSocketAddress( "localhost", port ) ) ); //$NON-NLS-1$
+    }
+
+    /**
+     * Ensures the {@link DatagramEndpoint#send} method delivers a datagram to
+     * the handler of the destination endpoint.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( timeout = 10000 )
+    public void testSend_DeliversDatagram()
+        throws Exception
+    {
+        final BlockingQueue<ByteBuffer> datagrams = new LinkedBlockingQueue<>();
+        final DatagramEndpoint receiverEndpoint = DatagramEndpoint.open( "localhost", 0, new IDatagramHandler() //$NON-NLS-1$
+        {
+            @Override
+            public void datagramReceived(
+                @SuppressWarnings( "unused" )
+                final SocketAddress sourceAddress,
+                final ByteBuffer datagram )
+            {
+                final ByteBuffer datagramCopy = ByteBuffer.allocate( datagram.remaining() );
+                datagramCopy.put( datagram );
+                datagramCopy.flip();
+                datagrams.add( datagramCopy );
+            }
+        } );
+        final DatagramEndpoint senderEndpoint = DatagramEndpoint.open( "localhost", 0, new IDatagramHandler() //$NON-NLS-1$
+        {
+            @Override
+            public void datagramReceived(
+                @SuppressWarnings( "unused" )
+                final SocketAddress sourceAddress,
+                @SuppressWarnings( "unused" )
+                final ByteBuffer datagram )
+            {
+                // do nothing
+            }
+        } );
+        try
+        {
+            final ByteBuffer datagram = ByteBuffer.wrap( new byte[] {
+                1, 2, 3
+            } );
+
+            assertTrue( senderEndpoint.send( datagram, new InetSocketAddress( "localhost", receiverEndpoint.getLocalPort() ) ) ); //$NON-NLS-1$
+
+            final ByteBuffer actualDatagram = datagrams.poll( 5, TimeUnit.SECONDS );
+            assertNotNull( actualDatagram );
+            assertEquals( ByteBuffer.wrap( new byte[] {
+                1, 2, 3
+            } ), actualDatagram );
+        }
+        finally
+        {
+            senderEndpoint.close();
+            receiverEndpoint.close();
+        }
+    }
+}
@@ -33,9 +33,56 @@ public final class BundleConstants
     // Fields
     // ======================================================================
 
+    /**
+     * The name of the framework property that controls whether table networks
+     * exchange component locations over an unreliable datagram channel in
+     * addition to their reliable connections.
+     * 
+     * <p>
+     * The datagram channel is enabled unless the value of this property is
+     * {@link #DATAGRAM_CHANNEL_DISABLED}.
+     * </p>
+     */
+    public static final String DATAGRAM_CHANNEL_PROPERTY = "org.gamegineer.table.net.impl.datagramChannel"; //$NON-NLS-1$
+
+    /**
+     * The value of the {@link #DATAGRAM_CHANNEL_PROPERTY} framework property
+     * that disables the datagram channel.
+     */
+    public static final String DATAGRAM_CHANNEL_DISABLED = "disabled"; //$NON-NLS-1$
+
     /** The symbolic name of the bundle. */
     public static final String SYMBOLIC_NAME = "org.gamegineer.table.net.impl"; //$NON-NLS-1$
 
+    /**
+     * The name of the framework property that selects the transport layer used
+     * by new table networks.
+     * 
+     * <p>
+     * The non-blocking TCP transport layer is used unless the value of this
+     * property is {@link #TRANSPORT_LAYER_BLOCKING} or
+     * {@link #TRANSPORT_LAYER_LOOPBACK}.
+     * </p>
+     */
+    public static final String TRANSPORT_LAYER_PROPERTY = "org.gamegineer.table.net.impl.transportLayer"; //$NON-NLS-1$
+
+    /**
+     * The value of the {@link #TRANSPORT_LAYER_PROPERTY} framework property
+     * that selects the blocking TCP transport layer.
+     */
+    public static final String TRANSPORT_LAYER_BLOCKING = "blocking"; //$NON-NLS-1$
+
+    /**
+     * The value of the {@link #TRANSPORT_LAYER_PROPERTY} framework property
+     * that selects the in-process loopback transport layer.
+     * 
+     * <p>
+     * Table networks that use the loopback transport layer can only connect to
+     * other table networks in the same process.
+     * </p>
+     */
+    public static final String TRANSPORT_LAYER_LOOPBACK = "loopback"; //$NON-NLS-1$
+
 
     // ======================================================================
     // Constructors
@@ -49,6 +49,20 @@ public final class Player
     @GuardedBy( "lock_" )
     private final EnumSet<PlayerRole> roles_;
 
+    /**
+     * The smoothed round-trip time in nanoseconds or {@code -1} if the
+     * round-trip time has not been measured.
+     */
+    @GuardedBy( "lock_" )
+    private long roundTripTime_;
+
+    /**
+     * The smoothed round-trip time variation in nanoseconds or {@code -1} if
+     * the round-trip time has not been measured.
+     */
+    @GuardedBy( "lock_" )
+    private long roundTripTimeVariation_;
+
 
     // ======================================================================
     // Constructors
@@ -67,6 +81,8 @@ public final class Player
         lock_ = new Object();
         name_ = name;
         roles_ = EnumSet.noneOf( PlayerRole.class );
+        roundTripTime_ = -1L;
+        roundTripTimeVariation_ = -1L;
     }
 
 
@@ -110,6 +126,30 @@ public final class Player
         }
     }
 
+    /*
+     * @see org.gamegineer.table.net.IPlayer#getRoundTripTime()
+     */
+    @Override
+    public long getRoundTripTime()
+    {
+        synchronized( lock_ )
+        {
+            return roundTripTime_;
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.net.IPlayer#getRoundTripTimeVariation()
+     */
+    @Override
+    public long getRoundTripTimeVariation()
+    {
+        synchronized( lock_ )
+        {
+            return roundTripTimeVariation_;
+        }
+    }
+
     /*
      * @see org.gamegineer.table.net.IPlayer#hasRole(org.gamegineer.table.net.PlayerRole)
      */
@@ -137,4 +177,26 @@ public final class Player
             roles_.removeAll( roles );
         }
     }
+
+    /**
+     * Sets the smoothed round-trip time between this player and the table
+     * network host.
+     * 
+     * @param roundTripTime
+     *        The smoothed round-trip time in nanoseconds or {@code -1} if the
+     *        round-trip time has not been measured.
+     * @param roundTripTimeVariation
+     *        The smoothed round-trip time variation in nanoseconds or
+     *        {@code -1} if the round-trip time has not been measured.
+     */
+    public void setRoundTripTime(
+        final long roundTripTime,
+        final long roundTripTimeVariation )
+    {
+        synchronized( lock_ )
+        {
+            roundTripTime_ = roundTripTime;
+            roundTripTimeVariation_ = roundTripTimeVariation;
+        }
+    }
 }
@@ -34,6 +34,8 @@ import org.gamegineer.table.internal.net.impl.node.INodeController;
 import org.gamegineer.table.internal.net.impl.node.INodeFactory;
 import org.gamegineer.table.internal.net.impl.node.ThreadPlayer;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory;
+import org.gamegineer.table.internal.net.impl.transport.loopback.LoopbackTransportLayerFactory;
+import org.gamegineer.table.internal.net.impl.transport.tcp.BlockingTransportLayerFactory;
 import org.gamegineer.table.internal.net.impl.transport.tcp.TcpTransportLayerFactory;
 import org.gamegineer.table.net.IPlayer;
 import org.gamegineer.table.net.ITableNetwork;
@@ -80,10 +82,15 @@ public final class TableNetwork
 
     /**
      * Initializes a new instance of the {@code TableNetwork} class.
+     * 
+     * <p>
+     * The table network uses the transport layer selected by the
+     * {@link BundleConstants#TRANSPORT_LAYER_PROPERTY} framework property.
+     * </p>
      */
     public TableNetwork()
     {
-        this( new DefaultNodeFactory(), new TcpTransportLayerFactory() );
+        this( new DefaultNodeFactory(), createDefaultTransportLayerFactory() );
     }
 
     /**
@@ -195,6 +202,29 @@ public final class TableNetwork
         }
     }
 
+    /**
+     * Creates the transport layer factory selected by the
+     * {@link BundleConstants#TRANSPORT_LAYER_PROPERTY} framework property.
+     * 
+     * @return The transport layer factory selected by the
+     *         {@link BundleConstants#TRANSPORT_LAYER_PROPERTY} framework
+     *         property.
+     */
+    private static ITransportLayerFactory createDefaultTransportLayerFactory()
+    {
+        final String transportLayer = Activator.getDefault().getBundleContext().getProperty( BundleConstants.TRANSPORT_LAYER_PROPERTY );
+        if( BundleConstants.TRANSPORT_LAYER_BLOCKING.equals( transportLayer ) )
+        {
+            return new BlockingTransportLayerFactory();
+        }
+        else if( BundleConstants.TRANSPORT_LAYER_LOOPBACK.equals( transportLayer ) )
+        {
+            return new LoopbackTransportLayerFactory();
+        }
+
+        return new TcpTransportLayerFactory();
+    }
+
     /*
      * @see org.gamegineer.table.net.ITableNetwork#disconnect()
      */
@@ -23,26 +23,41 @@ package org.gamegineer.table.internal.net.impl.node;
 
 import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import static org.gamegineer.common.core.runtime.Assert.assertStateLegal;
+import java.awt.Point;
 import java.io.IOException;
+import java.net.SocketAddress;
+import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.internal.net.impl.Debug;
 import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.node.common.ProtocolVersions;
+import org.gamegineer.table.internal.net.impl.node.common.handlers.ComponentIncrementBatchMessageHandler;
 import org.gamegineer.table.internal.net.impl.node.common.handlers.ComponentIncrementMessageHandler;
+import org.gamegineer.table.internal.net.impl.node.common.handlers.EchoRequestMessageHandler;
 import org.gamegineer.table.internal.net.impl.node.common.handlers.TableMessageHandler;
+import org.gamegineer.table.internal.net.impl.node.common.messages.ComponentIncrementBatchMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.ComponentIncrementMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.EchoRequestMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.EchoResponseMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.ErrorMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.GoodbyeMessage;
+import org.gamegineer.table.internal.net.impl.node.common.messages.MessagesBinarySchema;
 import org.gamegineer.table.internal.net.impl.node.common.messages.TableMessage;
 import org.gamegineer.table.internal.net.impl.transport.IMessage;
 import org.gamegineer.table.internal.net.impl.transport.IService;
 import org.gamegineer.table.internal.net.impl.transport.IServiceContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.MessageCodec;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
 import org.gamegineer.table.net.TableNetworkError;
 
@@ -67,6 +82,22 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
     // Fields
     // ======================================================================
 
+    /**
+     * The interval, in milliseconds, at which component locations sent over
+     * the datagram channel that have stopped changing are settled over the
+     * reliable connection.
+     */
+    private static final long DATAGRAM_SETTLE_INTERVAL = 100L;
+
+    /** The source of datagram tokens. */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * The number of registration datagrams sent when connecting a datagram
+     * channel.
+     */
+    private static final int REGISTER_DATAGRAM_COUNT = 3;
+
     /**
      * The error that caused the connection to the remote node to be closed or
      * {@code null} if the connection to the remote node was closed normally.
@@ -79,21 +110,125 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
      */
     private final Map<Integer, IMessageHandler> correlatedMessageHandlers_;
 
+    /**
+     * The address of the datagram endpoint of the remote node peer or
+     * {@code null} if the address is not yet known.
+     */
+    private @Nullable SocketAddress datagramAddress_;
+
+    /**
+     * The datagram channel over which location datagrams are exchanged with
+     * the remote node peer or {@code null} if no datagram channel has been
+     * negotiated.
+     */
+    private @Nullable LocationDatagramChannel datagramChannel_;
+
+    /**
+     * The sequence number of the latest location datagram applied for each
+     * component during the current datagram sequence epoch. The key is the
+     * component path. The value is the sequence number.
+     */
+    private final Map<ComponentPath, Integer> datagramSequences_;
+
+    /** The epoch to which the collection of datagram sequence numbers applies. */
+    private int datagramSequencesEpoch_;
+
+    /**
+     * The future used to periodically settle component locations sent over
+     * the datagram channel or {@code null} if no datagram channel has been
+     * negotiated.
+     */
+    private @Nullable ScheduledFuture<?> datagramSettleFuture_;
+
+    /**
+     * The token that identifies the connection to the remote node peer in
+     * location datagrams or 0 if no datagram channel has been negotiated.
+     */
+    private long datagramToken_;
+
+    /** The message handler for heartbeat responses. */
+    private final IMessageHandler echoResponseMessageHandler_;
+
+    /**
+     * The periodic heartbeat task or {@code null} if heartbeats are not being
+     * sent to the remote node.
+     */
+    private @Nullable ScheduledFuture<?> heartbeatFuture_;
+
+    /**
+     * The time, in nanoseconds, at which the pending heartbeat request was
+     * sent.
+     */
+    private long heartbeatRequestTime_;
+
+    /**
+     * The time, in milliseconds, to wait for a heartbeat response before the
+     * remote node is considered unresponsive.
+     */
+    private long heartbeatTimeout_;
+
+    /** Indicates a heartbeat request is awaiting a response. */
+    private boolean isHeartbeatPending_;
+
+    /** Indicates the connection to the remote node peer is congested. */
+    private boolean isOutputQueueCongested_;
+
     /** The local table network node. */
     private final LocalNodeType localNode_;
 
+    /**
+     * The codec used to serialize messages sent to and deserialize messages
+     * received from the remote node peer.
+     */
+    private final MessageCodec messageCodec_;
+
+    /** The sequence number of the next location datagram. */
+    private int nextDatagramSequence_;
+
     /** The next available message identifier. */
     private int nextId_;
 
     /** The node layer. */
     private final INodeLayer nodeLayer_;
 
+    /** The number of bytes waiting to be sent to the remote node peer. */
+    private long outputQueueLength_;
+
     /**
      * The name of the remote player or {@code null} if the player has not yet
      * been authenticated.
      */
     private @Nullable String playerName_;
 
+    /** The protocol version negotiated with the remote node. */
+    private int protocolVersion_;
+
+    /**
+     * The number of messages received from the remote node peer over the
+     * reliable connection. This value is the current epoch for location
+     * datagrams received from the remote node peer.
+     */
+    private int receivedMessageCount_;
+
+    /**
+     * The smoothed round-trip time in nanoseconds or {@code -1} if the
+     * round-trip time has not been measured.
+     */
+    private long roundTripTime_;
+
+    /**
+     * The smoothed round-trip time variation in nanoseconds or {@code -1} if
+     * the round-trip time has not been measured.
+     */
+    private long roundTripTimeVariation_;
+
+    /**
+     * The number of messages sent to the remote node peer over the reliable
+     * connection. This value is the current epoch for location datagrams sent
+     * to the remote node peer.
+     */
+    private int sentMessageCount_;
+
     /**
      * The network service context or {@code null} if the network is not
      * connected.
@@ -101,7 +236,7 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
     private @Nullable IServiceContext serviceContext_;
 
     /** The table associated with the remote node. */
-    private final INetworkTable table_;
+    private final RemoteNetworkTable table_;
 
     /**
      * The collection of message handlers for uncorrelated messages. The key is
@@ -130,15 +265,37 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
 
         closeError_ = null;
         correlatedMessageHandlers_ = new HashMap<>();
+        datagramAddress_ = null;
+        datagramChannel_ = null;
+        datagramSequences_ = new HashMap<>();
+        datagramSequencesEpoch_ = 0;
+        datagramSettleFuture_ = null;
+        datagramToken_ = 0L;
+        echoResponseMessageHandler_ = new EchoResponseMessageHandler();
+        heartbeatFuture_ = null;
+        heartbeatRequestTime_ = 0L;
+        heartbeatTimeout_ = 0L;
+        isHeartbeatPending_ = false;
+        isOutputQueueCongested_ = false;
         localNode_ = node;
+        messageCodec_ = new MessageCodec( new MessagesBinarySchema() );
+        nextDatagramSequence_ = 0;
         nextId_ = getInitialMessageId();
         nodeLayer_ = nodeLayer;
+        outputQueueLength_ = 0L;
         playerName_ = null;
+        protocolVersion_ = ProtocolVersions.VERSION_1;
+        receivedMessageCount_ = 0;
+        roundTripTime_ = -1L;
+        roundTripTimeVariation_ = -1L;
+        sentMessageCount_ = 0;
         serviceContext_ = null;
         table_ = new RemoteNetworkTable( this );
         uncorrelatedMessageHandlers_ = new IdentityHashMap<>();
 
+        registerUncorrelatedMessageHandler( ComponentIncrementBatchMessage.class, ComponentIncrementBatchMessageHandler.INSTANCE );
         registerUncorrelatedMessageHandler( ComponentIncrementMessage.class, ComponentIncrementMessageHandler.INSTANCE );
+        registerUncorrelatedMessageHandler( EchoRequestMessage.class, EchoRequestMessageHandler.INSTANCE );
         registerUncorrelatedMessageHandler( ErrorMessage.class, ErrorMessageHandler.INSTANCE );
         registerUncorrelatedMessageHandler( TableMessage.class, TableMessageHandler.INSTANCE );
     }
@@ -161,6 +318,7 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
 
         playerName_ = playerName;
         localNode_.bindRemoteNode( getThisAsRemoteNodeType() );
+        startHeartbeat();
     }
 
     /*
@@ -207,6 +365,162 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         }
     }
 
+    /**
+     * Closes the datagram channel to the remote node peer.
+     * 
+     * <p>
+     * This method does nothing if no datagram channel has been negotiated.
+     * </p>
+     */
+    private void closeDatagramChannel()
+    {
+        assert isNodeLayerThread();
+
+        if( datagramSettleFuture_ != null )
+        {
+            datagramSettleFuture_.cancel( false );
+            datagramSettleFuture_ = null;
+        }
+
+        if( datagramChannel_ != null )
+        {
+            datagramChannel_.unregisterRemoteNode( datagramToken_ );
+            datagramChannel_ = null;
+        }
+
+        datagramAddress_ = null;
+        datagramSequences_.clear();
+        datagramToken_ = 0L;
+    }
+
+    /**
+     * Connects the datagram channel of the local node to the datagram endpoint
+     * of the remote node peer at the specified address.
+     * 
+     * <p>
+     * This method is invoked by a client after the server has offered a
+     * datagram channel during the handshake. Registration datagrams are sent
+     * to the remote node peer so it learns the address of the local datagram
+     * endpoint. This method does nothing if the local node does not have an
+     * open datagram channel or if a datagram channel has already been
+     * negotiated.
+     * </p>
+     * 
+     * @param token
+     *        The token issued by the remote node peer to identify the
+     *        connection in location datagrams.
+     * @param address
+     *        The address of the datagram endpoint of the remote node peer.
+     */
+    protected final void connectDatagramChannel(
+        final long token,
+        final SocketAddress address )
+    {
+        assert isNodeLayerThread();
+
+        final LocationDatagramChannel datagramChannel = localNode_.getDatagramChannel();
+        if( (serviceContext_ == null) || (datagramChannel == null) || (datagramChannel_ != null) )
+        {
+            return;
+        }
+
+        openDatagramChannel( datagramChannel, token );
+        datagramAddress_ = address;
+
+        final LocationDatagram registerDatagram = LocationDatagram.createRegisterDatagram( token );
+        for( int index = 0; index < REGISTER_DATAGRAM_COUNT; ++index )
+        {
+            datagramChannel.send( registerDatagram, address );
+        }
+    }
+
+    /**
+     * Invoked when a datagram carrying the token of the connection to the
+     * remote node peer has been received.
+     * 
+     * <p>
+     * The address of the datagram endpoint of the remote node peer is updated
+     * to the source address of the datagram. A location datagram is applied
+     * to the remote table only if the remote node is bound, the datagram was
+     * sent in the current epoch, and the datagram is newer than any other
+     * location datagram applied to the same component in the current epoch.
+     * </p>
+     * 
+     * @param sourceAddress
+     *        The address of the datagram sender.
+     * @param datagram
+     *        The datagram.
+     */
+    final void datagramReceived(
+        final SocketAddress sourceAddress,
+        final LocationDatagram datagram )
+    {
+        assert isNodeLayerThread();
+
+        if( (serviceContext_ == null) || (datagramChannel_ == null) )
+        {
+            return;
+        }
+
+        if( !sourceAddress.equals( datagramAddress_ ) )
+        {
+            Debug.getDefault().trace( Debug.OPTION_DEFAULT, String.format( "Datagram endpoint of remote node '%s' is at '%s'", playerName_, sourceAddress ) ); //$NON-NLS-1$
+            datagramAddress_ = sourceAddress;
+        }
+
+        if( (datagram.getType() != LocationDatagram.TYPE_LOCATION) || (playerName_ == null) || (datagram.getEpoch() != receivedMessageCount_) )
+        {
+            return;
+        }
+
+        if( datagramSequencesEpoch_ != receivedMessageCount_ )
+        {
+            datagramSequences_.clear();
+            datagramSequencesEpoch_ = receivedMessageCount_;
+        }
+
+        final ComponentPath componentPath = datagram.getComponentPath();
+        final Point location = datagram.getLocation();
+        assert componentPath != null;
+        assert location != null;
+        final Integer latestSequence = datagramSequences_.get( componentPath );
+        if( (latestSequence != null) && ((datagram.getSequence() - latestSequence.intValue()) <= 0) )
+        {
+            return;
+        }
+        datagramSequences_.put( componentPath, Integer.valueOf( datagram.getSequence() ) );
+
+        final ComponentIncrement componentIncrement = new ComponentIncrement();
+        componentIncrement.setLocation( location );
+        ThreadPlayer.setPlayerName( playerName_ );
+        try
+        {
+            localNode_.getTableManager().incrementComponentState( table_, componentPath, componentIncrement );
+        }
+        finally
+        {
+            ThreadPlayer.setPlayerName( null );
+        }
+    }
+
+    /**
+     * Invoked when a response to the pending heartbeat request has been
+     * received from the remote node.
+     */
+    private void echoResponseReceived()
+    {
+        assert isNodeLayerThread();
+
+        if( !isHeartbeatPending_ )
+        {
+            return;
+        }
+
+        isHeartbeatPending_ = false;
+        updateRoundTripTime( System.nanoTime() - heartbeatRequestTime_ );
+        roundTripTimeMeasured();
+    }
+
     /**
      * Extracts the message from the specified message envelope.
      * 
@@ -216,12 +530,12 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
      * @return The message extracted from the specified message envelope or
      *         {@code null} if the message envelope contains an unknown message.
      */
-    private static @Nullable IMessage extractMessage(
+    private @Nullable IMessage extractMessage(
         final MessageEnvelope messageEnvelope )
     {
         try
         {
-            return messageEnvelope.getMessage();
+            return messageCodec_.decode( messageEnvelope );
         }
         catch( final IOException e )
         {
@@ -235,6 +549,25 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         }
     }
 
+    /**
+     * Gets the policy applied to table updates while the connection to the
+     * remote node peer is congested.
+     * 
+     * <p>
+     * This implementation returns {@link CongestionPolicy#COALESCE_UPDATES}.
+     * Subclasses may override. Subclasses that return
+     * {@link CongestionPolicy#RESYNCHRONIZE_TABLE} must also override
+     * {@link #resynchronizeTable()}.
+     * </p>
+     * 
+     * @return The policy applied to table updates while the connection to the
+     *         remote node peer is congested.
+     */
+    protected CongestionPolicy getCongestionPolicy()
+    {
+        return CongestionPolicy.COALESCE_UPDATES;
+    }
+
     /**
      * Gets the initial message identifier.
      * 
@@ -242,7 +575,21 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
      */
     private static int getInitialMessageId()
     {
-        return IMessage.MINIMUM_ID + (int)(Math.random() * (IMessage.MAXIMUM_ID - IMessage.MINIMUM_ID));
+        return IMessage.MINIMUM_ID + (int)(Math.random() * (IMessage.MAXIMUM_COMPACT_ID - IMessage.MINIMUM_ID));
+    }
+
+    /**
+     * Gets the local port of the datagram channel of the local node.
+     * 
+     * @return The local port of the datagram channel of the local node or 0 if
+     *         the local node does not have an open datagram channel.
+     */
+    protected final int getLocalDatagramPort()
+    {
+        assert isNodeLayerThread();
+
+        final LocationDatagramChannel datagramChannel = localNode_.getDatagramChannel();
+        return (datagramChannel != null) ? datagramChannel.getLocalPort() : 0;
     }
 
     /*
@@ -257,21 +604,46 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
     /**
      * Gets the next available message identifier.
      * 
+     * <p>
+     * Identifiers wrap at {@link IMessage#MAXIMUM_COMPACT_ID} unless the
+     * negotiated protocol version supports wide message identifiers, in which
+     * case they wrap at {@link IMessage#MAXIMUM_ID}. Identifiers of requests
+     * still awaiting a correlated response are skipped so that a late response
+     * is never dispatched to the handler of a newer request.
+     * </p>
+     * 
      * @return The next available message identifier.
      */
     private int getNextMessageId()
     {
         assert isNodeLayerThread();
 
-        final int id = nextId_;
-        if( ++nextId_ > IMessage.MAXIMUM_ID )
+        final int maximumId = (protocolVersion_ >= ProtocolVersions.VERSION_3) ? IMessage.MAXIMUM_ID : IMessage.MAXIMUM_COMPACT_ID;
+        int id = nextId_;
+        for( int attemptCount = 0; attemptCount <= correlatedMessageHandlers_.size(); ++attemptCount )
         {
-            nextId_ = IMessage.MINIMUM_ID;
+            id = nextId_;
+            nextId_ = (nextId_ >= maximumId) ? IMessage.MINIMUM_ID : (nextId_ + 1);
+            if( !correlatedMessageHandlers_.containsKey( Integer.valueOf( id ) ) )
+            {
+                break;
+            }
         }
 
         return id;
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#getOutputQueueLength()
+     */
+    @Override
+    public final long getOutputQueueLength()
+    {
+        assert isNodeLayerThread();
+
+        return outputQueueLength_;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.IRemoteNode#getPlayerName()
      */
@@ -285,6 +657,39 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         return playerName_;
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#getProtocolVersion()
+     */
+    @Override
+    public final int getProtocolVersion()
+    {
+        assert isNodeLayerThread();
+
+        return protocolVersion_;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNode#getRoundTripTime()
+     */
+    @Override
+    public final long getRoundTripTime()
+    {
+        assert isNodeLayerThread();
+
+        return roundTripTime_;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNode#getRoundTripTimeVariation()
+     */
+    @Override
+    public final long getRoundTripTimeVariation()
+    {
+        assert isNodeLayerThread();
+
+        return roundTripTimeVariation_;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.IRemoteNode#getTable()
      * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#getTable()
@@ -295,6 +700,17 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         return table_;
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#getTransportMetrics()
+     */
+    @Override
+    public final @Nullable ITransportMetrics getTransportMetrics()
+    {
+        assert isNodeLayerThread();
+
+        return (serviceContext_ != null) ? serviceContext_.getMetrics() : null;
+    }
+
     /**
      * Gets a reference to this remote node as the type of remote node expected
      * by the local node.
@@ -317,6 +733,37 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         close( null );
     }
 
+    /**
+     * Sends a heartbeat request to the remote node or closes the remote node if
+     * it has not responded to the pending heartbeat request within the
+     * heartbeat timeout.
+     */
+    private void heartbeat()
+    {
+        assert isNodeLayerThread();
+
+        if( serviceContext_ == null )
+        {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        if( isHeartbeatPending_ )
+        {
+            if( (heartbeatTimeout_ > 0L) && ((now - heartbeatRequestTime_) >= TimeUnit.MILLISECONDS.toNanos( heartbeatTimeout_ )) )
+            {
+                Loggers.getDefaultLogger().warning( NonNlsMessages.AbstractRemoteNode_heartbeat_timedOut( playerName_, heartbeatTimeout_ ) );
+                close( TableNetworkError.TIME_OUT );
+            }
+
+            return;
+        }
+
+        isHeartbeatPending_ = true;
+        heartbeatRequestTime_ = now;
+        sendMessage( new EchoRequestMessage(), echoResponseMessageHandler_ );
+    }
+
     /**
      * Indicates the current thread is the node layer thread.
      * 
@@ -332,6 +779,98 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         return nodeLayer_.isNodeLayerThread();
     }
 
+    /**
+     * Indicates the specified message is a control message that does not
+     * depend on the order of the other messages sent to the remote node and
+     * thus need not wait for a large message that is being transferred.
+     * 
+     * @param message
+     *        The message.
+     * 
+     * @return {@code true} if the specified message is a control message;
+     *         otherwise {@code false}.
+     */
+    private static boolean isControlMessage(
+        final IMessage message )
+    {
+        return (message instanceof EchoRequestMessage) || (message instanceof EchoResponseMessage) || (message instanceof ErrorMessage);
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#isDatagramChannelOpen()
+     */
+    @Override
+    public final boolean isDatagramChannelOpen()
+    {
+        assert isNodeLayerThread();
+
+        return (serviceContext_ != null) && (datagramChannel_ != null) && (datagramAddress_ != null);
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#isOutputQueueCongested()
+     */
+    @Override
+    public final boolean isOutputQueueCongested()
+    {
+        assert isNodeLayerThread();
+
+        return isOutputQueueCongested_;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#isPersistentObjectStreamEnabled()
+     */
+    @Override
+    public final boolean isPersistentObjectStreamEnabled()
+    {
+        assert isNodeLayerThread();
+
+        return protocolVersion_ >= ProtocolVersions.VERSION_7;
+    }
+
+    /**
+     * Issues the token that identifies the connection to the remote node peer
+     * in location datagrams.
+     * 
+     * <p>
+     * This method is invoked by a server when offering a datagram channel
+     * during the handshake. The datagram channel is not used to send location
+     * datagrams until the address of the datagram endpoint of the remote node
+     * peer is learned from a datagram it sends. Invoking this method more than
+     * once returns the same token.
+     * </p>
+     * 
+     * @return The token that identifies the connection to the remote node
+     *         peer in location datagrams or 0 if the local node does not have
+     *         an open datagram channel.
+     */
+    protected final long issueDatagramToken()
+    {
+        assert isNodeLayerThread();
+
+        if( datagramChannel_ != null )
+        {
+            return datagramToken_;
+        }
+
+        final LocationDatagramChannel datagramChannel = localNode_.getDatagramChannel();
+        if( (serviceContext_ == null) || (datagramChannel == null) )
+        {
+            return 0L;
+        }
+
+        long token;
+        do
+        {
+            token = RANDOM.nextLong();
+        }
+        while( token == 0L );
+
+        openDatagramChannel( datagramChannel, token );
+        return token;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IService#messageReceived(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
      */
@@ -342,6 +881,7 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
     {
         assert isNodeLayerThread();
 
+        ++receivedMessageCount_;
         final IMessage message = extractMessage( messageEnvelope );
         if( message != null )
         {
@@ -389,6 +929,40 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         }
     }
 
+    /**
+     * Opens the datagram channel to the remote node peer using the specified
+     * token.
+     * 
+     * @param datagramChannel
+     *        The datagram channel of the local node.
+     * @param token
+     *        The token that identifies the connection to the remote node peer
+     *        in location datagrams.
+     */
+    private void openDatagramChannel(
+        final LocationDatagramChannel datagramChannel,
+        final long token )
+    {
+        assert isNodeLayerThread();
+        assert datagramChannel_ == null;
+
+        datagramChannel.registerRemoteNode( token, this );
+        datagramChannel_ = datagramChannel;
+        datagramToken_ = token;
+        datagramSettleFuture_ = nodeLayer_.scheduleWithFixedDelay( new Runnable()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
+            {
+                if( serviceContext_ != null )
+                {
+                    table_.settleComponentIncrements();
+                }
+            }
+        }, DATAGRAM_SETTLE_INTERVAL, DATAGRAM_SETTLE_INTERVAL, TimeUnit.MILLISECONDS );
+    }
+
     /**
      * Invoked when the remote node has been opened.
      * 
@@ -403,6 +977,50 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         // do nothing
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IService#outputQueueCongestionChanged(boolean, long)
+     */
+    @Override
+    @SuppressWarnings( "boxing" )
+    public final void outputQueueCongestionChanged(
+        final boolean isCongested,
+        final long outputQueueLength )
+    {
+        assert isNodeLayerThread();
+
+        outputQueueLength_ = outputQueueLength;
+        if( (isCongested == isOutputQueueCongested_) || (serviceContext_ == null) )
+        {
+            return;
+        }
+
+        isOutputQueueCongested_ = isCongested;
+        final CongestionPolicy congestionPolicy = getCongestionPolicy();
+        Debug.getDefault().trace( Debug.OPTION_DEFAULT, //
+            String.format( "Connection to remote node '%s' %s (output-queue-length=%d, policy=%s)", //$NON-NLS-1$
+                playerName_, //
+                isCongested ? "congested" : "no longer congested", //$NON-NLS-1$ //$NON-NLS-2$
+                outputQueueLength, //
+                congestionPolicy ) );
+
+        if( isCongested )
+        {
+            if( congestionPolicy == CongestionPolicy.DISCONNECT )
+            {
+                Loggers.getDefaultLogger().warning( NonNlsMessages.AbstractRemoteNode_outputQueueCongestionChanged_disconnecting( playerName_, outputQueueLength ) );
+                close( TableNetworkError.TRANSPORT_ERROR );
+            }
+            else
+            {
+                table_.beginDeferringUpdates( congestionPolicy );
+            }
+        }
+        else if( table_.isDeferringUpdates() && table_.endDeferringUpdates() )
+        {
+            resynchronizeTable();
+        }
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IService#peerStopped()
      */
@@ -437,6 +1055,39 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         uncorrelatedMessageHandlers_.put( type, messageHandler );
     }
 
+    /**
+     * Resynchronizes the table associated with the remote node after table
+     * updates were discarded while the connection to the remote node peer was
+     * congested.
+     * 
+     * <p>
+     * This implementation does nothing. Subclasses whose congestion policy is
+     * {@link CongestionPolicy#RESYNCHRONIZE_TABLE} must override and send a
+     * fresh table state to the remote table.
+     * </p>
+     */
+    protected void resynchronizeTable()
+    {
+        assert isNodeLayerThread();
+
+        // do nothing
+    }
+
+    /**
+     * Invoked after the round-trip time between the local node and the remote
+     * node has been measured.
+     * 
+     * <p>
+     * This implementation does nothing. Subclasses may override.
+     * </p>
+     */
+    protected void roundTripTimeMeasured()
+    {
+        assert isNodeLayerThread();
+
+        // do nothing
+    }
+
     /**
      * Sends an error message to the remote peer with the specified attributes.
      * 
@@ -462,6 +1113,22 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         sendMessage( message, null );
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#sendLocationDatagram(org.gamegineer.table.core.ComponentPath, java.awt.Point)
+     */
+    @Override
+    public final boolean sendLocationDatagram(
+        final ComponentPath componentPath,
+        final Point location )
+    {
+        assert isNodeLayerThread();
+
+        assertStateLegal( isDatagramChannelOpen(), NonNlsMessages.AbstractRemoteNode_datagramChannelNotOpen );
+        assert datagramChannel_ != null;
+        assert datagramAddress_ != null;
+        return datagramChannel_.send( LocationDatagram.createLocationDatagram( datagramToken_, sentMessageCount_, nextDatagramSequence_++, componentPath, location ), datagramAddress_ );
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#sendMessage(org.gamegineer.table.internal.net.impl.transport.IMessage, org.gamegineer.table.internal.net.impl.node.IMessageHandler)
      */
@@ -476,7 +1143,33 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         assertStateLegal( serviceContext_ != null, NonNlsMessages.AbstractRemoteNode_closed );
         message.setId( getNextMessageId() );
         assert serviceContext_ != null;
-        serviceContext_.sendMessage( message );
+        if( isPersistentObjectStreamEnabled() || isControlMessage( message ) )
+        {
+            final MessageEnvelope messageEnvelope;
+            try
+            {
+                messageEnvelope = isPersistentObjectStreamEnabled() ? messageCodec_.encode( message ) : MessageEnvelope.fromMessage( message );
+            }
+            catch( final IOException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.AbstractRemoteNode_sendMessage_serializationError( message ), e );
+                return;
+            }
+
+            if( isControlMessage( message ) )
+            {
+                serviceContext_.sendControlMessageEnvelope( messageEnvelope );
+            }
+            else
+            {
+                serviceContext_.sendMessageEnvelope( messageEnvelope );
+            }
+        }
+        else
+        {
+            serviceContext_.sendMessage( message );
+        }
+        ++sentMessageCount_;
         Debug.getDefault().trace( Debug.OPTION_DEFAULT, //
             String.format( "Sent message '%s' (id=%d, correlation-id=%d)", //$NON-NLS-1$
                 message.getClass().getName(), //
@@ -489,6 +1182,77 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
         }
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#sendMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    @SuppressWarnings( "boxing" )
+    public final void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        assert isNodeLayerThread();
+
+        assertStateLegal( serviceContext_ != null, NonNlsMessages.AbstractRemoteNode_closed );
+        final MessageEnvelope remoteMessageEnvelope = messageEnvelope.withIds( getNextMessageId(), IMessage.NULL_CORRELATION_ID );
+        assert serviceContext_ != null;
+        serviceContext_.sendMessageEnvelope( remoteMessageEnvelope );
+        ++sentMessageCount_;
+        Debug.getDefault().trace( Debug.OPTION_DEFAULT, //
+            String.format( "Sent shared message envelope (id=%d, correlation-id=%d)", //$NON-NLS-1$
+                remoteMessageEnvelope.getHeader().getId(), //
+                remoteMessageEnvelope.getHeader().getCorrelationId() ) );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.IRemoteNodeController#setProtocolVersion(int)
+     */
+    @Override
+    public final void setProtocolVersion(
+        final int protocolVersion )
+    {
+        assert isNodeLayerThread();
+
+        assertStateLegal( serviceContext_ != null, NonNlsMessages.AbstractRemoteNode_closed );
+        protocolVersion_ = protocolVersion;
+        assert serviceContext_ != null;
+        serviceContext_.setLargeMessageTransferEnabled( protocolVersion >= ProtocolVersions.VERSION_2 );
+        serviceContext_.setCompressionEnabled( protocolVersion >= ProtocolVersions.VERSION_4 );
+        messageCodec_.setBinaryEncodingEnabled( protocolVersion >= ProtocolVersions.VERSION_8 );
+    }
+
+    /**
+     * Starts sending periodic heartbeats to the remote node if the negotiated
+     * protocol version supports heartbeats and heartbeats are enabled for the
+     * local node.
+     */
+    private void startHeartbeat()
+    {
+        assert isNodeLayerThread();
+        assert heartbeatFuture_ == null;
+
+        if( protocolVersion_ < ProtocolVersions.VERSION_5 )
+        {
+            return;
+        }
+
+        final long heartbeatInterval = localNode_.getHeartbeatInterval();
+        if( heartbeatInterval <= 0L )
+        {
+            return;
+        }
+
+        heartbeatTimeout_ = localNode_.getHeartbeatTimeout();
+        heartbeatFuture_ = nodeLayer_.scheduleWithFixedDelay( new Runnable()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
+            {
+                heartbeat();
+            }
+        }, heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS );
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IService#started(org.gamegineer.table.internal.net.impl.transport.IServiceContext)
      */
@@ -517,15 +1281,115 @@ public abstract class AbstractRemoteNode<LocalNodeType extends INode<RemoteNodeT
             closeError_ = TableNetworkError.TRANSPORT_ERROR;
         }
 
+        stopHeartbeat();
+        closeDatagramChannel();
+        messageCodec_.dispose();
         closed( closeError_ );
         serviceContext_ = null;
     }
 
 
+    /**
+     * Stops sending periodic heartbeats to the remote node.
+     */
+    private void stopHeartbeat()
+    {
+        assert isNodeLayerThread();
+
+        if( heartbeatFuture_ != null )
+        {
+            heartbeatFuture_.cancel( false );
+            heartbeatFuture_ = null;
+        }
+
+        isHeartbeatPending_ = false;
+    }
+
+    /**
+     * Updates the smoothed round-trip time and its variation using the
+     * specified round-trip time sample.
+     * 
+     * <p>
+     * The smoothed values are maintained using the estimator described in RFC
+     * 6298: the first sample initializes the smoothed round-trip time to the
+     * sample and the variation to half the sample; each subsequent sample
+     * contributes one-eighth to the smoothed round-trip time and one-quarter
+     * to the variation.
+     * </p>
+     * 
+     * @param sample
+     *        The round-trip time sample in nanoseconds.
+     */
+    private void updateRoundTripTime(
+        final long sample )
+    {
+        assert isNodeLayerThread();
+
+        final long clampedSample = Math.max( sample, 0L );
+        if( roundTripTime_ < 0L )
+        {
+            roundTripTime_ = clampedSample;
+            roundTripTimeVariation_ = clampedSample / 2L;
+        }
+        else
+        {
+            roundTripTimeVariation_ = ((3L * roundTripTimeVariation_) + Math.abs( roundTripTime_ - clampedSample )) / 4L;
+            roundTripTime_ = ((7L * roundTripTime_) + clampedSample) / 8L;
+        }
+    }
+
+
     // ======================================================================
     // Nested Types
     // ======================================================================
 
+    /**
+     * A message handler for the {@link EchoResponseMessage} class sent in
+     * response to a heartbeat request.
+     */
+    @Immutable
+    @SuppressWarnings( "rawtypes" )
+    private final class EchoResponseMessageHandler
+        extends AbstractMessageHandler<IRemoteNodeController>
+    {
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code EchoResponseMessageHandler}
+         * class.
+         */
+        EchoResponseMessageHandler()
+        {
+            super( IRemoteNodeController.class );
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Handles an {@code EchoResponseMessage} message.
+         * 
+         * @param remoteNodeController
+         *        The control interface for the remote node that received the
+         *        message.
+         * @param message
+         *        The message.
+         */
+        @SuppressWarnings( {
+            "synthetic-access", "unused"
+        } )
+        private void handleMessage(
+            final IRemoteNodeController<@NonNull ?> remoteNodeController,
+            final EchoResponseMessage message )
+        {
+            echoResponseReceived();
+        }
+    }
+
     /**
      * A message handler for the {@link ErrorMessage} class.
      */
@@ -0,0 +1,54 @@
+/*
+ * CongestionPolicy.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:40 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node;
+
+/**
+ * Enumerates the policies a remote node may apply to table updates while the
+ * connection to the remote node is congested.
+ */
+public enum CongestionPolicy
+{
+    // ======================================================================
+    // Enum Constants
+    // ======================================================================
+
+    /**
+     * Table updates are held until the connection is no longer congested.
+     * 
+     * <p>
+     * Component increments for the same component are merged, and a table
+     * state supersedes all preceding table updates, so only the most recent
+     * state of each component is sent once the congestion clears.
+     * </p>
+     */
+    COALESCE_UPDATES,
+
+    /** The connection to the remote node is closed. */
+    DISCONNECT,
+
+    /**
+     * Table updates are discarded until the connection is no longer
+     * congested, at which time the remote table is resynchronized with a
+     * single fresh table state.
+     */
+    RESYNCHRONIZE_TABLE;
+}
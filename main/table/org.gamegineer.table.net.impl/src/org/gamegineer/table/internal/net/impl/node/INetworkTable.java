@@ -21,6 +21,7 @@
 
 package org.gamegineer.table.internal.net.impl.node;
 
+import java.util.List;
 import org.gamegineer.table.core.ComponentPath;
 
 /**
@@ -52,6 +53,27 @@ public interface INetworkTable
         ComponentPath componentPath,
         ComponentIncrement componentIncrement );
 
+    /**
+     * Increments the state of the components at the specified paths associated
+     * with the table as a single change.
+     * 
+     * <p>
+     * The component increments are applied in order. The path of each
+     * component is relative to the table state that results from applying the
+     * preceding component increments.
+     * </p>
+     * 
+     * @param componentPaths
+     *        The collection of component paths.
+     * @param componentIncrements
+     *        The collection of incremental changes to the state of each
+     *        component; must have the same size as the collection of component
+     *        paths.
+     */
+    public void incrementComponentStates(
+        List<ComponentPath> componentPaths,
+        List<ComponentIncrement> componentIncrements );
+
     /**
      * Sets the state of the table.
      * 
@@ -71,6 +71,41 @@ public interface INode<@NonNull RemoteNodeType extends IRemoteNode>
     public void disconnect(
         @Nullable TableNetworkError error );
 
+    /**
+     * Gets the datagram channel over which location datagrams are exchanged
+     * with remote nodes.
+     * 
+     * @return The datagram channel over which location datagrams are
+     *         exchanged with remote nodes or {@code null} if the datagram
+     *         channel is not open.
+     */
+    public @Nullable LocationDatagramChannel getDatagramChannel();
+
+    /**
+     * Gets the interval between heartbeats sent to each remote node.
+     * 
+     * @return The interval, in milliseconds, between heartbeats sent to each
+     *         remote node; a value less than or equal to zero indicates
+     *         heartbeats are disabled.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the table network is not connected.
+     */
+    public long getHeartbeatInterval();
+
+    /**
+     * Gets the time to wait for a heartbeat response before a remote node is
+     * considered unresponsive.
+     * 
+     * @return The time, in milliseconds, to wait for a heartbeat response
+     *         before a remote node is considered unresponsive; a value less
+     *         than or equal to zero indicates the timeout is disabled.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the table network is not connected.
+     */
+    public long getHeartbeatTimeout();
+
     /**
      * Gets the table network password.
      * 
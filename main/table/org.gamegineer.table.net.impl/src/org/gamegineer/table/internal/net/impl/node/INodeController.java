@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.concurrent.Future;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.ITableNetworkController;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.net.IPlayer;
 import org.gamegineer.table.net.TableNetworkConfiguration;
 import org.gamegineer.table.net.TableNetworkException;
@@ -138,6 +139,16 @@ public interface INodeController
      */
     public Collection<IPlayer> getPlayers();
 
+    /**
+     * Gets the transport metrics that aggregate the activity of all
+     * connections managed by the table network node.
+     * 
+     * @return The transport metrics that aggregate the activity of all
+     *         connections managed by the table network node or {@code null} if
+     *         the table network is not connected.
+     */
+    public @Nullable ITransportMetrics getTransportMetrics();
+
     /**
      * Gives control of the network table to the specified player.
      * 
@@ -24,6 +24,8 @@ package org.gamegineer.table.internal.net.impl.node;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The node layer.
@@ -94,6 +96,41 @@ public interface INodeLayer
     public boolean isNodeLayerThread(
         Thread thread );
 
+    /**
+     * Periodically executes the specified task on the node layer thread.
+     * 
+     * <p>
+     * The task is first executed after the specified initial delay and
+     * subsequently with the specified delay between the end of one execution
+     * and the start of the next until the task is cancelled or the node layer
+     * is disposed.
+     * </p>
+     * 
+     * @param task
+     *        The task to execute.
+     * @param initialDelay
+     *        The delay before the first execution of the task.
+     * @param delay
+     *        The delay between the end of one execution of the task and the
+     *        start of the next.
+     * @param unit
+     *        The time unit of the {@code initialDelay} and {@code delay}
+     *        arguments.
+     * 
+     * @return An asynchronous completion token for the task that may be used
+     *         to cancel the task.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code delay} is less than or equal to zero.
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         If the task cannot be scheduled for execution.
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(
+        Runnable task,
+        long initialDelay,
+        long delay,
+        TimeUnit unit );
+
     /**
      * Synchronously executes the specified task on the node layer thread.
      * 
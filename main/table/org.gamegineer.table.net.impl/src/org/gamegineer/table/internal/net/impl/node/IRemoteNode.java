@@ -39,6 +39,23 @@ public interface IRemoteNode
      */
     public String getPlayerName();
 
+    /**
+     * Gets the smoothed round-trip time to the remote node.
+     * 
+     * @return The smoothed round-trip time in nanoseconds or {@code -1} if the
+     *         round-trip time has not been measured.
+     */
+    public long getRoundTripTime();
+
+    /**
+     * Gets the smoothed variation (jitter) of the round-trip time to the remote
+     * node.
+     * 
+     * @return The smoothed round-trip time variation in nanoseconds or
+     *         {@code -1} if the round-trip time has not been measured.
+     */
+    public long getRoundTripTimeVariation();
+
     /**
      * Gets the table associated with the remote node.
      * 
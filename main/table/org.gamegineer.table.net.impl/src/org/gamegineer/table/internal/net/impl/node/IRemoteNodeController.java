@@ -21,9 +21,13 @@
 
 package org.gamegineer.table.internal.net.impl.node;
 
+import java.awt.Point;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
 import org.gamegineer.table.net.TableNetworkError;
 
 /**
@@ -81,6 +85,21 @@ public interface IRemoteNodeController<@NonNull LocalNodeType extends INode<@Non
      */
     public LocalNodeType getLocalNode();
 
+    /**
+     * Gets the number of bytes waiting to be sent to the remote node peer as
+     * of the most recent change in the congestion of the connection.
+     * 
+     * @return The number of bytes waiting to be sent to the remote node peer.
+     */
+    public long getOutputQueueLength();
+
+    /**
+     * Gets the protocol version negotiated with the remote node.
+     * 
+     * @return The protocol version negotiated with the remote node.
+     */
+    public int getProtocolVersion();
+
     /**
      * Gets the table associated with the remote node.
      * 
@@ -88,6 +107,83 @@ public interface IRemoteNodeController<@NonNull LocalNodeType extends INode<@Non
      */
     public INetworkTable getTable();
 
+    /**
+     * Gets the transport metrics of the connection to the remote node peer.
+     * 
+     * @return The transport metrics of the connection to the remote node peer
+     *         or {@code null} if the remote node is not connected.
+     */
+    public @Nullable ITransportMetrics getTransportMetrics();
+
+    /**
+     * Indicates the datagram channel to the remote node peer is open.
+     * 
+     * <p>
+     * Location datagrams may only be sent to the remote node peer when the
+     * datagram channel is open.
+     * </p>
+     * 
+     * @return {@code true} if the datagram channel to the remote node peer is
+     *         open; otherwise {@code false}.
+     */
+    public boolean isDatagramChannelOpen();
+
+    /**
+     * Indicates the connection to the remote node peer is congested.
+     * 
+     * <p>
+     * Table updates sent to the remote node while the connection is congested
+     * are subject to the congestion policy of the remote node.
+     * </p>
+     * 
+     * @return {@code true} if the connection to the remote node peer is
+     *         congested; otherwise {@code false}.
+     */
+    public boolean isOutputQueueCongested();
+
+    /**
+     * Indicates messages sent to the remote node peer are serialized to an
+     * object stream that persists for the lifetime of the connection.
+     * 
+     * <p>
+     * When enabled, each message is encoded by the message codec of the remote
+     * node, and the class descriptors of its object graph are transferred at
+     * most once per connection. Message envelopes serialized once and shared
+     * among many remote nodes do not benefit from the persistent object
+     * stream.
+     * </p>
+     * 
+     * @return {@code true} if messages sent to the remote node peer are
+     *         serialized to a persistent object stream; otherwise
+     *         {@code false}.
+     */
+    public boolean isPersistentObjectStreamEnabled();
+
+    /**
+     * Sends the specified component location to the remote node peer over the
+     * datagram channel.
+     * 
+     * <p>
+     * Delivery is not guaranteed. The caller is responsible for eventually
+     * sending the final location of the component over the reliable
+     * connection.
+     * </p>
+     * 
+     * @param componentPath
+     *        The component path.
+     * @param location
+     *        The component location.
+     * 
+     * @return {@code true} if the location datagram was sent; otherwise
+     *         {@code false}.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the datagram channel is not open.
+     */
+    public boolean sendLocationDatagram(
+        ComponentPath componentPath,
+        Point location );
+
     /**
      * Sends the specified message to the remote node peer.
      * 
@@ -103,4 +199,42 @@ public interface IRemoteNodeController<@NonNull LocalNodeType extends INode<@Non
     public void sendMessage(
         IMessage message,
         @Nullable IMessageHandler messageHandler );
+
+    /**
+     * Sends the message contained in the specified message envelope to the
+     * remote node peer.
+     * 
+     * <p>
+     * The message is sent as an uncorrelated message with a message identifier
+     * allocated by this remote node. The body of the specified message
+     * envelope is shared rather than serialized again; thus, the same message
+     * envelope may be sent to many remote nodes at the cost of a single
+     * serialization.
+     * </p>
+     * 
+     * @param messageEnvelope
+     *        The message envelope containing the message to send.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the remote node is closed.
+     */
+    public void sendMessageEnvelope(
+        MessageEnvelope messageEnvelope );
+
+    /**
+     * Sets the protocol version negotiated with the remote node.
+     * 
+     * <p>
+     * Any transport features enabled by the specified protocol version apply
+     * to all messages sent after this method is called.
+     * </p>
+     * 
+     * @param protocolVersion
+     *        The protocol version negotiated with the remote node.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the remote node is closed.
+     */
+    public void setProtocolVersion(
+        int protocolVersion );
 }
@@ -21,6 +21,7 @@
 
 package org.gamegineer.table.internal.net.impl.node;
 
+import java.util.List;
 import org.gamegineer.table.core.ComponentPath;
 
 /**
@@ -51,6 +52,30 @@ public interface ITableManager
         ComponentPath componentPath,
         ComponentIncrement componentIncrement );
 
+    /**
+     * Increments the state of the components at the specified paths
+     * throughout the table network as a single change.
+     * 
+     * <p>
+     * The component increments are applied in order. The path of each
+     * component is relative to the table state that results from applying the
+     * preceding component increments.
+     * </p>
+     * 
+     * @param sourceTable
+     *        The table that originated the request.
+     * @param componentPaths
+     *        The collection of component paths.
+     * @param componentIncrements
+     *        The collection of incremental changes to the state of each
+     *        component; must have the same size as the collection of component
+     *        paths.
+     */
+    public void incrementComponentStates(
+        INetworkTable sourceTable,
+        List<ComponentPath> componentPaths,
+        List<ComponentIncrement> componentIncrements );
+
     /**
      * Sets the state of the table throughout the table network.
      * 
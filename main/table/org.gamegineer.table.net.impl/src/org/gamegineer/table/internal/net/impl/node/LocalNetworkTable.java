@@ -21,8 +21,10 @@
 
 package org.gamegineer.table.internal.net.impl.node;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.locks.Lock;
@@ -43,10 +45,17 @@ import org.gamegineer.table.core.IComponentListener;
 import org.gamegineer.table.core.IContainer;
 import org.gamegineer.table.core.IContainerListener;
 import org.gamegineer.table.core.ITable;
+import org.gamegineer.table.core.ITableEnvironmentListener;
+import org.gamegineer.table.core.TableEnvironmentEvent;
 import org.gamegineer.table.internal.net.impl.Loggers;
 
 /**
  * Adapts a local table to {@link INetworkTable}.
+ * 
+ * <p>
+ * The component increments made by a single table batch are collected until
+ * the batch ends and then forwarded to the table manager as a single change.
+ * </p>
  */
 @NotThreadSafe
 final class LocalNetworkTable
@@ -56,18 +65,36 @@ final class LocalNetworkTable
     // Fields
     // ======================================================================
 
+    /**
+     * The collection of incremental changes to the state of each component
+     * made by the active table batch.
+     */
+    private final List<ComponentIncrement> batchComponentIncrements_;
+
+    /**
+     * The collection of paths of each component changed by the active table
+     * batch.
+     */
+    private final List<ComponentPath> batchComponentPaths_;
+
     /** The local component listener. */
     private final IComponentListener componentListener_;
 
     /** The local container listener. */
     private final IContainerListener containerListener_;
 
+    /** Indicates a table batch is active. */
+    private boolean isBatchActive_;
+
     /** The node layer. */
     private final INodeLayer nodeLayer_;
 
     /** The local table. */
     private final ITable table_;
 
+    /** The local table environment listener. */
+    private final ITableEnvironmentListener tableEnvironmentListener_;
+
     /** The table manager for the local table network node. */
     private final ITableManager tableManager_;
 
@@ -93,10 +120,14 @@ final class LocalNetworkTable
     {
         assert nodeLayer.isNodeLayerThread();
 
+        batchComponentIncrements_ = new ArrayList<>();
+        batchComponentPaths_ = new ArrayList<>();
         componentListener_ = new ComponentListenerProxy( new ComponentListener() );
         containerListener_ = new ContainerListenerProxy( new ContainerListener() );
+        isBatchActive_ = false;
         nodeLayer_ = nodeLayer;
         table_ = table;
+        tableEnvironmentListener_ = new TableEnvironmentListenerProxy( new TableEnvironmentListener() );
         tableManager_ = tableManager;
 
         initializeListeners();
@@ -145,6 +176,36 @@ final class LocalNetworkTable
         uninitializeListeners();
     }
 
+    /**
+     * Forwards the specified component increment to the table manager.
+     * 
+     * <p>
+     * If a table batch is active, the component increment is collected until
+     * the batch ends.
+     * </p>
+     * 
+     * @param componentPath
+     *        The component path.
+     * @param componentIncrement
+     *        The incremental change to the state of the component.
+     */
+    private void forwardComponentIncrement(
+        final ComponentPath componentPath,
+        final ComponentIncrement componentIncrement )
+    {
+        assert nodeLayer_.isNodeLayerThread();
+
+        if( isBatchActive_ )
+        {
+            batchComponentPaths_.add( componentPath );
+            batchComponentIncrements_.add( componentIncrement );
+        }
+        else
+        {
+            tableManager_.incrementComponentState( this, componentPath, componentIncrement );
+        }
+    }
+
     /**
      * Gets the table environment lock.
      * 
@@ -168,6 +229,19 @@ final class LocalNetworkTable
         NetworkTableUtils.incrementComponentState( table_, componentPath, componentIncrement );
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.INetworkTable#incrementComponentStates(java.util.List, java.util.List)
+     */
+    @Override
+    public void incrementComponentStates(
+        final List<ComponentPath> componentPaths,
+        final List<ComponentIncrement> componentIncrements )
+    {
+        assert nodeLayer_.isNodeLayerThread();
+
+        NetworkTableUtils.incrementComponentStates( table_, componentPaths, componentIncrements );
+    }
+
     /**
      * Initializes the listeners for the local table.
      */
@@ -176,6 +250,7 @@ final class LocalNetworkTable
         getTableEnvironmentLock().lock();
         try
         {
+            table_.getTableEnvironment().addTableEnvironmentListener( tableEnvironmentListener_ );
             addComponentListeners( table_.getTabletop() );
         }
         finally
@@ -260,6 +335,7 @@ final class LocalNetworkTable
         try
         {
             removeComponentListeners( table_.getTabletop() );
+            table_.getTableEnvironment().removeTableEnvironmentListener( tableEnvironmentListener_ );
         }
         finally
         {
@@ -349,7 +425,7 @@ final class LocalNetworkTable
 
             if( componentPath != null )
             {
-                tableManager_.incrementComponentState( LocalNetworkTable.this, componentPath, componentIncrement );
+                forwardComponentIncrement( componentPath, componentIncrement );
             }
         }
 
@@ -385,7 +461,7 @@ final class LocalNetworkTable
 
             if( componentPath != null )
             {
-                tableManager_.incrementComponentState( LocalNetworkTable.this, componentPath, componentIncrement );
+                forwardComponentIncrement( componentPath, componentIncrement );
             }
         }
 
@@ -428,7 +504,7 @@ final class LocalNetworkTable
 
             if( componentPath != null )
             {
-                tableManager_.incrementComponentState( LocalNetworkTable.this, componentPath, componentIncrement );
+                forwardComponentIncrement( componentPath, componentIncrement );
             }
         }
 
@@ -601,7 +677,7 @@ final class LocalNetworkTable
 
             if( containerPath != null )
             {
-                tableManager_.incrementComponentState( LocalNetworkTable.this, containerPath, containerIncrement );
+                forwardComponentIncrement( containerPath, containerIncrement );
             }
         }
 
@@ -642,7 +718,7 @@ final class LocalNetworkTable
 
             if( containerPath != null )
             {
-                tableManager_.incrementComponentState( LocalNetworkTable.this, containerPath, containerIncrement );
+                forwardComponentIncrement( containerPath, containerIncrement );
             }
         }
 
@@ -678,7 +754,7 @@ final class LocalNetworkTable
 
             if( containerPath != null )
             {
-                tableManager_.incrementComponentState( LocalNetworkTable.this, containerPath, containerIncrement );
+                forwardComponentIncrement( containerPath, containerIncrement );
             }
         }
 
@@ -789,4 +865,166 @@ final class LocalNetworkTable
             } );
         }
     }
+
+    /**
+     * A table environment listener for the local table adapter.
+     */
+    @Immutable
+    @SuppressWarnings( "synthetic-access" )
+    private final class TableEnvironmentListener
+        implements ITableEnvironmentListener
+    {
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code TableEnvironmentListener}
+         * class.
+         */
+        TableEnvironmentListener()
+        {
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see org.gamegineer.table.core.ITableEnvironmentListener#batchBegun(org.gamegineer.table.core.TableEnvironmentEvent)
+         */
+        @Override
+        public void batchBegun(
+            final TableEnvironmentEvent event )
+        {
+            assert nodeLayer_.isNodeLayerThread();
+
+            if( ignoreEvent( event ) )
+            {
+                return;
+            }
+
+            isBatchActive_ = true;
+        }
+
+        /*
+         * @see org.gamegineer.table.core.ITableEnvironmentListener#batchEnded(org.gamegineer.table.core.TableEnvironmentEvent)
+         */
+        @Override
+        public void batchEnded(
+            final TableEnvironmentEvent event )
+        {
+            assert nodeLayer_.isNodeLayerThread();
+
+            if( ignoreEvent( event ) || !isBatchActive_ )
+            {
+                return;
+            }
+
+            isBatchActive_ = false;
+
+            if( batchComponentPaths_.size() == 1 )
+            {
+                tableManager_.incrementComponentState( LocalNetworkTable.this, batchComponentPaths_.get( 0 ), batchComponentIncrements_.get( 0 ) );
+            }
+            else if( !batchComponentPaths_.isEmpty() )
+            {
+                tableManager_.incrementComponentStates( LocalNetworkTable.this, new ArrayList<>( batchComponentPaths_ ), new ArrayList<>( batchComponentIncrements_ ) );
+            }
+
+            batchComponentIncrements_.clear();
+            batchComponentPaths_.clear();
+        }
+
+        /**
+         * Indicates the specified table environment event should be ignored
+         * because it was originated by the node layer.
+         * 
+         * @param event
+         *        The table environment event.
+         * 
+         * @return {@code true} if the specified table environment event should
+         *         be ignored; otherwise {@code false}.
+         */
+        private boolean ignoreEvent(
+            final TableEnvironmentEvent event )
+        {
+            return nodeLayer_.isNodeLayerThread( event.getThread() );
+        }
+    }
+
+    /**
+     * A proxy for instances of {@link ITableEnvironmentListener} that ensures
+     * all methods are called on the associated node layer thread.
+     */
+    @Immutable
+    @SuppressWarnings( "synthetic-access" )
+    private final class TableEnvironmentListenerProxy
+        implements ITableEnvironmentListener
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The actual table environment listener. */
+        private ITableEnvironmentListener actualTableEnvironmentListener_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the
+         * {@code TableEnvironmentListenerProxy} class.
+         * 
+         * @param actualTableEnvironmentListener
+         *        The actual table environment listener.
+         */
+        TableEnvironmentListenerProxy(
+            final ITableEnvironmentListener actualTableEnvironmentListener )
+        {
+            actualTableEnvironmentListener_ = actualTableEnvironmentListener;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see org.gamegineer.table.core.ITableEnvironmentListener#batchBegun(org.gamegineer.table.core.TableEnvironmentEvent)
+         */
+        @Override
+        public void batchBegun(
+            final TableEnvironmentEvent event )
+        {
+            syncExec( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    actualTableEnvironmentListener_.batchBegun( event );
+                }
+            } );
+        }
+
+        /*
+         * @see org.gamegineer.table.core.ITableEnvironmentListener#batchEnded(org.gamegineer.table.core.TableEnvironmentEvent)
+         */
+        @Override
+        public void batchEnded(
+            final TableEnvironmentEvent event )
+        {
+            syncExec( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    actualTableEnvironmentListener_.batchEnded( event );
+                }
+            } );
+        }
+    }
 }
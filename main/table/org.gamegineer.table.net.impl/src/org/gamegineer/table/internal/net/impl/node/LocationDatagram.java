@@ -0,0 +1,346 @@
+/*
+ * LocationDatagram.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 1:24:40 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node;
+
+import java.awt.Point;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import net.jcip.annotations.Immutable;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.internal.net.impl.transport.udp.DatagramEndpoint;
+
+/**
+ * A datagram exchanged between two table network nodes over the unreliable
+ * datagram channel that accompanies their connection.
+ * 
+ * <p>
+ * A registration datagram is sent by a client to inform the server of the
+ * address of its datagram endpoint. A location datagram carries the latest
+ * location of a single component.
+ * </p>
+ * 
+ * <p>
+ * Every datagram carries the token issued by the server during the handshake,
+ * which identifies the connection to which the datagram belongs. Location
+ * datagrams additionally carry the epoch and the sequence number at which
+ * they were sent. The epoch is the number of messages sent over the reliable
+ * connection before the datagram; a location datagram is only applied if the
+ * recipient has received exactly that many messages, which guarantees the
+ * component path in the datagram is interpreted against the same table
+ * structure by both nodes. The sequence number orders location datagrams so
+ * that a location is never replaced by an older one.
+ * </p>
+ */
+@Immutable
+final class LocationDatagram
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The length of the datagram header in bytes. */
+    private static final int HEADER_LENGTH = 12;
+
+    /** The magic number that identifies a location datagram. */
+    private static final short MAGIC = 0x4754;
+
+    /** The maximum depth of a component path carried by a location datagram. */
+    static final int MAXIMUM_PATH_DEPTH = (DatagramEndpoint.MAXIMUM_DATAGRAM_LENGTH - HEADER_LENGTH - 17) / 4;
+
+    /** The datagram type of a location datagram. */
+    static final byte TYPE_LOCATION = 2;
+
+    /** The datagram type of a registration datagram. */
+    static final byte TYPE_REGISTER = 1;
+
+    /** The datagram format version. */
+    private static final byte VERSION = 1;
+
+    /** The component path or {@code null} if this is a registration datagram. */
+    private final @Nullable ComponentPath componentPath_;
+
+    /** The epoch at which the datagram was sent. */
+    private final int epoch_;
+
+    /** The component location or {@code null} if this is a registration datagram. */
+    private final @Nullable Point location_;
+
+    /** The sequence number of the datagram. */
+    private final int sequence_;
+
+    /** The token that identifies the connection to which the datagram belongs. */
+    private final long token_;
+
+    /** The datagram type. */
+    private final byte type_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LocationDatagram} class.
+     * 
+     * @param type
+     *        The datagram type.
+     * @param token
+     *        The token that identifies the connection to which the datagram
+     *        belongs.
+     * @param epoch
+     *        The epoch at which the datagram was sent.
+     * @param sequence
+     *        The sequence number of the datagram.
+     * @param componentPath
+     *        The component path or {@code null} if this is a registration
+     *        datagram.
+     * @param location
+     *        The component location or {@code null} if this is a registration
+     *        datagram.
+     */
+    private LocationDatagram(
+        final byte type,
+        final long token,
+        final int epoch,
+        final int sequence,
+        final @Nullable ComponentPath componentPath,
+        final @Nullable Point location )
+    {
+        componentPath_ = componentPath;
+        epoch_ = epoch;
+        location_ = (location != null) ? new Point( location ) : null;
+        sequence_ = sequence;
+        token_ = token;
+        type_ = type;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new location datagram.
+     * 
+     * @param token
+     *        The token that identifies the connection to which the datagram
+     *        belongs.
+     * @param epoch
+     *        The epoch at which the datagram was sent.
+     * @param sequence
+     *        The sequence number of the datagram.
+     * @param componentPath
+     *        The component path.
+     * @param location
+     *        The component location.
+     * 
+     * @return A new location datagram.
+     */
+    static LocationDatagram createLocationDatagram(
+        final long token,
+        final int epoch,
+        final int sequence,
+        final ComponentPath componentPath,
+        final Point location )
+    {
+        return new LocationDatagram( TYPE_LOCATION, token, epoch, sequence, componentPath, location );
+    }
+
+    /**
+     * Creates a new registration datagram.
+     * 
+     * @param token
+     *        The token that identifies the connection to which the datagram
+     *        belongs.
+     * 
+     * @return A new registration datagram.
+     */
+    static LocationDatagram createRegisterDatagram(
+        final long token )
+    {
+        return new LocationDatagram( TYPE_REGISTER, token, 0, 0, null, null );
+    }
+
+    /**
+     * Decodes the datagram in the specified buffer.
+     * 
+     * @param buffer
+     *        The buffer containing the datagram.
+     * 
+     * @return The decoded datagram or {@code null} if the buffer does not
+     *         contain a well-formed datagram.
+     */
+    static @Nullable LocationDatagram decode(
+        final ByteBuffer buffer )
+    {
+        try
+        {
+            if( (buffer.getShort() != MAGIC) || (buffer.get() != VERSION) )
+            {
+                return null;
+            }
+
+            final byte type = buffer.get();
+            final long token = buffer.getLong();
+            if( type == TYPE_REGISTER )
+            {
+                return createRegisterDatagram( token );
+            }
+            else if( type != TYPE_LOCATION )
+            {
+                return null;
+            }
+
+            final int epoch = buffer.getInt();
+            final int sequence = buffer.getInt();
+            final Point location = new Point( buffer.getInt(), buffer.getInt() );
+            final int pathDepth = buffer.get() & 0xFF;
+            if( pathDepth > MAXIMUM_PATH_DEPTH )
+            {
+                return null;
+            }
+
+            ComponentPath componentPath = ComponentPath.ROOT;
+            for( int index = 0; index < pathDepth; ++index )
+            {
+                final int componentIndex = buffer.getInt();
+                if( componentIndex < 0 )
+                {
+                    return null;
+                }
+
+                componentPath = new ComponentPath( componentPath, componentIndex );
+            }
+
+            return createLocationDatagram( token, epoch, sequence, componentPath, location );
+        }
+        catch( @SuppressWarnings( "unused" ) final BufferUnderflowException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes this datagram.
+     * 
+     * @return A buffer containing the encoded datagram ready to be sent or
+     *         {@code null} if the component path is too deep to be encoded.
+     */
+    @Nullable ByteBuffer encode()
+    {
+        final @Nullable ComponentPath componentPath = componentPath_;
+        final int pathDepth = (componentPath != null) ? componentPath.getIndexCount() : 0;
+        if( pathDepth > MAXIMUM_PATH_DEPTH )
+        {
+            return null;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate( DatagramEndpoint.MAXIMUM_DATAGRAM_LENGTH );
+        buffer.putShort( MAGIC );
+        buffer.put( VERSION );
+        buffer.put( type_ );
+        buffer.putLong( token_ );
+        if( type_ == TYPE_LOCATION )
+        {
+            assert componentPath != null;
+            assert location_ != null;
+            buffer.putInt( epoch_ );
+            buffer.putInt( sequence_ );
+            buffer.putInt( location_.x );
+            buffer.putInt( location_.y );
+            buffer.put( (byte)pathDepth );
+            for( int position = 0; position < pathDepth; ++position )
+            {
+                buffer.putInt( componentPath.getIndex( position ) );
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Gets the component path.
+     * 
+     * @return The component path or {@code null} if this is a registration
+     *         datagram.
+     */
+    @Nullable ComponentPath getComponentPath()
+    {
+        return componentPath_;
+    }
+
+    /**
+     * Gets the epoch at which the datagram was sent.
+     * 
+     * @return The epoch at which the datagram was sent.
+     */
+    int getEpoch()
+    {
+        return epoch_;
+    }
+
+    /**
+     * Gets the component location.
+     * 
+     * @return The component location or {@code null} if this is a
+     *         registration datagram.
+     */
+    @Nullable Point getLocation()
+    {
+        return (location_ != null) ? new Point( location_ ) : null;
+    }
+
+    /**
+     * Gets the sequence number of the datagram.
+     * 
+     * @return The sequence number of the datagram.
+     */
+    int getSequence()
+    {
+        return sequence_;
+    }
+
+    /**
+     * Gets the token that identifies the connection to which the datagram
+     * belongs.
+     * 
+     * @return The token that identifies the connection to which the datagram
+     *         belongs.
+     */
+    long getToken()
+    {
+        return token_;
+    }
+
+    /**
+     * Gets the datagram type.
+     * 
+     * @return The datagram type; one of {@link #TYPE_LOCATION} or
+     *         {@link #TYPE_REGISTER}.
+     */
+    byte getType()
+    {
+        return type_;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * LocationDatagramChannel.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 1:31:15 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.internal.net.impl.Debug;
+import org.gamegineer.table.internal.net.impl.transport.TransportException;
+import org.gamegineer.table.internal.net.impl.transport.udp.DatagramEndpoint;
+import org.gamegineer.table.internal.net.impl.transport.udp.IDatagramHandler;
+
+/**
+ * The unreliable datagram channel over which a table network node exchanges
+ * location datagrams with its remote nodes.
+ * 
+ * <p>
+ * A single channel is shared by all remote nodes bound to a local node. Each
+ * remote node registers the token issued for its connection, and received
+ * datagrams are dispatched to the remote node that registered the token they
+ * carry on the node layer thread. Datagrams carrying an unknown token are
+ * discarded.
+ * </p>
+ * 
+ * <p>
+ * All methods of this class are expected to be invoked on the associated node
+ * layer thread.
+ * </p>
+ */
+@NotThreadSafe
+public final class LocationDatagramChannel
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The datagram endpoint. */
+    private final DatagramEndpoint endpoint_;
+
+    /** The node layer. */
+    private final INodeLayer nodeLayer_;
+
+    /**
+     * The collection of registered remote nodes. The key is the token issued
+     * for the remote node connection. The value is the remote node.
+     */
+    private final Map<Long, AbstractRemoteNode<@NonNull ?, @NonNull ?>> remoteNodes_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LocationDatagramChannel} class.
+     * 
+     * @param nodeLayer
+     *        The node layer.
+     * @param hostName
+     *        The local host name to which the channel will be bound or
+     *        {@code null} to bind the channel to the wildcard address.
+     * @param port
+     *        The local port to which the channel will be bound or 0 to bind
+     *        the channel to an ephemeral port.
+     * 
+     * @throws org.gamegineer.table.internal.net.impl.transport.TransportException
+     *         If the channel cannot be opened.
+     */
+    LocationDatagramChannel(
+        final INodeLayer nodeLayer,
+        final @Nullable String hostName,
+        final int port )
+        throws TransportException
+    {
+        assert nodeLayer.isNodeLayerThread();
+
+        nodeLayer_ = nodeLayer;
+        remoteNodes_ = new HashMap<>();
+        endpoint_ = DatagramEndpoint.open( hostName, port, new IDatagramHandler()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void datagramReceived(
+                final SocketAddress sourceAddress,
+                final ByteBuffer datagram )
+            {
+                LocationDatagramChannel.this.datagramReceived( sourceAddress, datagram );
+            }
+        } );
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Closes the channel.
+     */
+    void close()
+    {
+        assert nodeLayer_.isNodeLayerThread();
+
+        remoteNodes_.clear();
+        endpoint_.close();
+    }
+
+    /**
+     * Invoked on the endpoint receiver thread when a datagram has been
+     * received.
+     * 
+     * @param sourceAddress
+     *        The address of the datagram sender.
+     * @param buffer
+     *        The buffer containing the datagram.
+     */
+    private void datagramReceived(
+        final SocketAddress sourceAddress,
+        final ByteBuffer buffer )
+    {
+        final LocationDatagram datagram = LocationDatagram.decode( buffer );
+        if( datagram == null )
+        {
+            Debug.getDefault().trace( Debug.OPTION_DEFAULT, String.format( "Discarded malformed datagram from '%s'", sourceAddress ) ); //$NON-NLS-1$
+            return;
+        }
+
+        try
+        {
+            nodeLayer_.asyncExec( new Runnable()
+            {
+                @Override
+                @SuppressWarnings( "synthetic-access" )
+                public void run()
+                {
+                    final AbstractRemoteNode<@NonNull ?, @NonNull ?> remoteNode = remoteNodes_.get( Long.valueOf( datagram.getToken() ) );
+                    if( remoteNode != null )
+                    {
+                        remoteNode.datagramReceived( sourceAddress, datagram );
+                    }
+                }
+            } );
+        }
+        catch( @SuppressWarnings( "unused" ) final RejectedExecutionException e )
+        {
+            // node layer has been shut down; discard datagram
+        }
+    }
+
+    /**
+     * Gets the local port to which the channel is bound.
+     * 
+     * @return The local port to which the channel is bound.
+     */
+    int getLocalPort()
+    {
+        return endpoint_.getLocalPort();
+    }
+
+    /**
+     * Registers the specified remote node to receive datagrams carrying the
+     * specified token.
+     * 
+     * @param token
+     *        The token issued for the remote node connection.
+     * @param remoteNode
+     *        The remote node.
+     */
+    void registerRemoteNode(
+        final long token,
+        final AbstractRemoteNode<@NonNull ?, @NonNull ?> remoteNode )
+    {
+        assert nodeLayer_.isNodeLayerThread();
+
+        remoteNodes_.put( Long.valueOf( token ), remoteNode );
+    }
+
+    /**
+     * Sends the specified datagram to the specified address.
+     * 
+     * @param datagram
+     *        The datagram.
+     * @param targetAddress
+     *        The address of the datagram recipient.
+     * 
+     * @return {@code true} if the datagram was sent; otherwise {@code false}.
+     */
+    boolean send(
+        final LocationDatagram datagram,
+        final SocketAddress targetAddress )
+    {
+        assert nodeLayer_.isNodeLayerThread();
+
+        final ByteBuffer buffer = datagram.encode();
+        return (buffer != null) && endpoint_.send( buffer, targetAddress );
+    }
+
+    /**
+     * Unregisters the remote node that receives datagrams carrying the
+     * specified token.
+     * 
+     * @param token
+     *        The token issued for the remote node connection.
+     */
+    void unregisterRemoteNode(
+        final long token )
+    {
+        assert nodeLayer_.isNodeLayerThread();
+
+        remoteNodes_.remove( Long.valueOf( token ) );
+    }
+}
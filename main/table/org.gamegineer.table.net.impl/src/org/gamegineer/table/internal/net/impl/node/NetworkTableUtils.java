@@ -86,11 +86,19 @@ public final class NetworkTableUtils
             final IComponent component = table.getComponent( componentPath );
             if( component != null )
             {
-                incrementComponentState( component, componentIncrement );
-                if( (component instanceof IContainer) && (componentIncrement instanceof ContainerIncrement) )
+                table.runBatch( new Runnable()
                 {
-                    incrementContainerState( (IContainer)component, (ContainerIncrement)componentIncrement );
-                }
+                    @Override
+                    @SuppressWarnings( "synthetic-access" )
+                    public void run()
+                    {
+                        incrementComponentState( component, componentIncrement );
+                        if( (component instanceof IContainer) && (componentIncrement instanceof ContainerIncrement) )
+                        {
+                            incrementContainerState( (IContainer)component, (ContainerIncrement)componentIncrement );
+                        }
+                    }
+                } );
             }
         }
         finally
@@ -99,6 +107,57 @@ public final class NetworkTableUtils
         }
     }
 
+    /**
+     * Increments the state of the components at the specified paths associated
+     * with the specified table as a single table batch.
+     * 
+     * @param table
+     *        The table.
+     * @param componentPaths
+     *        The collection of component paths.
+     * @param componentIncrements
+     *        The collection of incremental changes to the state of each
+     *        component; must have the same size as the collection of component
+     *        paths.
+     */
+    public static void incrementComponentStates(
+        final ITable table,
+        final List<ComponentPath> componentPaths,
+        final List<ComponentIncrement> componentIncrements )
+    {
+        assert componentPaths.size() == componentIncrements.size();
+
+        table.getTableEnvironment().getLock().lock();
+        try
+        {
+            table.runBatch( new Runnable()
+            {
+                @Override
+                @SuppressWarnings( "synthetic-access" )
+                public void run()
+                {
+                    for( int index = 0, size = componentPaths.size(); index < size; ++index )
+                    {
+                        final IComponent component = table.getComponent( componentPaths.get( index ) );
+                        if( component != null )
+                        {
+                            final ComponentIncrement componentIncrement = componentIncrements.get( index );
+                            incrementComponentState( component, componentIncrement );
+                            if( (component instanceof IContainer) && (componentIncrement instanceof ContainerIncrement) )
+                            {
+                                incrementContainerState( (IContainer)component, (ContainerIncrement)componentIncrement );
+                            }
+                        }
+                    }
+                }
+            } );
+        }
+        finally
+        {
+            table.getTableEnvironment().getLock().unlock();
+        }
+    }
+
     /**
      * Increments the state of the specified component.
      * 
@@ -35,6 +35,7 @@ import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
 import org.gamegineer.common.core.util.concurrent.TaskUtils;
 import org.gamegineer.table.internal.net.impl.Activator;
 import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.net.IPlayer;
 import org.gamegineer.table.net.TableNetworkConfiguration;
 import org.gamegineer.table.net.TableNetworkError;
@@ -321,6 +322,36 @@ final class NodeControllerProxy
         }
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.INodeController#getTransportMetrics()
+     */
+    @Override
+    public @Nullable ITransportMetrics getTransportMetrics()
+    {
+        try
+        {
+            return actualNodeController_.getNodeLayer().syncExec( new Callable<@Nullable ITransportMetrics>()
+            {
+                @Override
+                @SuppressWarnings( "synthetic-access" )
+                public @Nullable ITransportMetrics call()
+                {
+                    return actualNodeController_.getTransportMetrics();
+                }
+            } );
+        }
+        catch( final ExecutionException e )
+        {
+            throw TaskUtils.launderThrowable( e.getCause() );
+        }
+        catch( final InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.NodeControllerProxy_interrupted, e );
+            return null;
+        }
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.INodeController#giveControl(java.lang.String)
      */
@@ -23,10 +23,12 @@ package org.gamegineer.table.internal.net.impl.node;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import net.jcip.annotations.ThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
@@ -43,7 +45,7 @@ final class NodeLayer
     // ======================================================================
 
     /** The node layer executor service. */
-    private final ExecutorService executorService_;
+    private final ScheduledExecutorService executorService_;
 
     /** A reference to the node layer thread. */
     private final AtomicReference<@Nullable Thread> nodeLayerThreadRef_;
@@ -125,9 +127,9 @@ final class NodeLayer
      * 
      * @return The node layer executor service.
      */
-    private ExecutorService createExecutorService()
+    private ScheduledExecutorService createExecutorService()
     {
-        return Executors.newSingleThreadExecutor( new ThreadFactory()
+        return Executors.newSingleThreadScheduledExecutor( new ThreadFactory()
         {
             @Override
             public Thread newThread(
@@ -184,6 +186,35 @@ final class NodeLayer
         return thread == nodeLayerThreadRef_.get();
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.INodeLayer#scheduleWithFixedDelay(java.lang.Runnable, long, long, java.util.concurrent.TimeUnit)
+     */
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(
+        final Runnable task,
+        final long initialDelay,
+        final long delay,
+        final TimeUnit unit )
+    {
+        final String playerName = ThreadPlayer.getPlayerName();
+        return executorService_.scheduleWithFixedDelay( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                ThreadPlayer.setPlayerName( playerName );
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    ThreadPlayer.setPlayerName( null );
+                }
+            }
+        }, initialDelay, delay, unit );
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.INodeLayer#syncExec(java.util.concurrent.Callable)
      */
@@ -22,6 +22,7 @@
 package org.gamegineer.table.internal.net.impl.node;
 
 import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.osgi.util.NLS;
 import org.gamegineer.table.internal.net.impl.transport.IMessage;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
@@ -51,6 +52,9 @@ final class NonNlsMessages
     /** The remote node is already bound. */
     public static String AbstractNode_bindRemoteNode_remoteNodeBound = ""; //$NON-NLS-1$
 
+    /** An error occurred while serializing a message for broadcast. */
+    public static String AbstractNode_broadcastMessage_serializationError = ""; //$NON-NLS-1$
+
     /** An error occurred while attempting to disconnect the network. */
     public static String AbstractNode_connect_disconnectError = ""; //$NON-NLS-1$
 
@@ -60,6 +64,9 @@ final class NonNlsMessages
     /** The node layer has been shutdown. */
     public static String AbstractNode_nodeLayer_shutdown = ""; //$NON-NLS-1$
 
+    /** The datagram channel could not be opened. */
+    public static String AbstractNode_openDatagramChannel_error = ""; //$NON-NLS-1$
+
     /** The remote node is not bound. */
     public static String AbstractNode_unbindRemoteNode_remoteNodeNotBound = ""; //$NON-NLS-1$
 
@@ -71,18 +78,36 @@ final class NonNlsMessages
     /** The remote node is closed. */
     public static String AbstractRemoteNode_closed = ""; //$NON-NLS-1$
 
+    /** The datagram channel to the remote node is not open. */
+    public static String AbstractRemoteNode_datagramChannelNotOpen = ""; //$NON-NLS-1$
+
     /** An error occurred while deserializing a message. */
     public static String AbstractRemoteNode_extractMessage_deserializationError = ""; //$NON-NLS-1$
 
+    /**
+     * The remote node is being disconnected because it did not respond to a
+     * heartbeat.
+     */
+    public static String AbstractRemoteNode_heartbeat_timedOut = ""; //$NON-NLS-1$
+
     /** The service received an unhandled message. */
     public static String AbstractRemoteNode_messageReceived_unhandledMessage = ""; //$NON-NLS-1$
 
+    /**
+     * The remote node is being disconnected because its connection is
+     * congested.
+     */
+    public static String AbstractRemoteNode_outputQueueCongestionChanged_disconnecting = ""; //$NON-NLS-1$
+
     /** The player has not been authenticated. */
     public static String AbstractRemoteNode_playerNotAuthenticated = ""; //$NON-NLS-1$
 
     /** The message type is already registered. */
     public static String AbstractRemoteNode_registerUncorrelatedMessageHandler_messageTypeRegistered = ""; //$NON-NLS-1$
 
+    /** An error occurred while serializing a message. */
+    public static String AbstractRemoteNode_sendMessage_serializationError = ""; //$NON-NLS-1$
+
     // --- AbstractRemoteNode.ErrorMessageHandler ---------------------------
 
     /** An uncorrelated error message was received. */
@@ -192,6 +217,27 @@ final class NonNlsMessages
         return bind( AbstractRemoteNode_extractMessage_deserializationError, header.getId(), header.getCorrelationId() );
     }
 
+    /**
+     * Gets the formatted message indicating the remote node is being
+     * disconnected because it did not respond to a heartbeat.
+     * 
+     * @param playerName
+     *        The name of the remote player or {@code null} if the player has
+     *        not yet been authenticated.
+     * @param heartbeatTimeout
+     *        The time, in milliseconds, waited for a heartbeat response.
+     * 
+     * @return The formatted message indicating the remote node is being
+     *         disconnected because it did not respond to a heartbeat.
+     */
+    @SuppressWarnings( "boxing" )
+    static String AbstractRemoteNode_heartbeat_timedOut(
+        final @Nullable String playerName,
+        final long heartbeatTimeout )
+    {
+        return bind( AbstractRemoteNode_heartbeat_timedOut, playerName, heartbeatTimeout );
+    }
+
     /**
      * Gets the formatted message indicating the service received an unhandled
      * message.
@@ -213,6 +259,48 @@ final class NonNlsMessages
         } );
     }
 
+    /**
+     * Gets the formatted message indicating the remote node is being
+     * disconnected because its connection is congested.
+     * 
+     * @param playerName
+     *        The name of the remote player or {@code null} if the player has
+     *        not yet been authenticated.
+     * @param outputQueueLength
+     *        The number of bytes waiting to be sent to the remote node peer.
+     * 
+     * @return The formatted message indicating the remote node is being
+     *         disconnected because its connection is congested.
+     */
+    @SuppressWarnings( "boxing" )
+    static String AbstractRemoteNode_outputQueueCongestionChanged_disconnecting(
+        final @Nullable String playerName,
+        final long outputQueueLength )
+    {
+        return bind( AbstractRemoteNode_outputQueueCongestionChanged_disconnecting, playerName, outputQueueLength );
+    }
+
+    /**
+     * Gets the formatted message indicating an error occurred while
+     * serializing a message.
+     * 
+     * @param message
+     *        The message.
+     * 
+     * @return The formatted message indicating an error occurred while
+     *         serializing a message.
+     */
+    @SuppressWarnings( "boxing" )
+    static String AbstractRemoteNode_sendMessage_serializationError(
+        final IMessage message )
+    {
+        return bind( AbstractRemoteNode_sendMessage_serializationError, new Object[] {
+            message.getClass().getSimpleName(), //
+            message.getId(), //
+            message.getCorrelationId()
+        } );
+    }
+
     // --- AbstractRemoteNode.ErrorMessageHandler ---------------------------
 
     /**
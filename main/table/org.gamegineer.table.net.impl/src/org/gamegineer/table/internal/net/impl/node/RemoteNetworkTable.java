@@ -21,16 +21,55 @@
 
 package org.gamegineer.table.internal.net.impl.node;
 
-import net.jcip.annotations.Immutable;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.core.ComponentOrientation;
 import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.core.ComponentSurfaceDesignId;
+import org.gamegineer.table.internal.net.impl.node.common.ProtocolVersions;
+import org.gamegineer.table.internal.net.impl.node.common.messages.ComponentIncrementBatchMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.ComponentIncrementMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.TableMessage;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
 
 /**
  * Adapts a remote table to {@link INetworkTable}.
+ * 
+ * <p>
+ * While the connection to the remote node is congested, table updates are
+ * deferred rather than sent. Deferred component increments are merged by
+ * component path between container increments, which may change the
+ * component a path refers to and are therefore never merged or reordered. A
+ * deferred table state supersedes all preceding deferred updates.
+ * </p>
+ * 
+ * <p>
+ * While a datagram channel to the remote node is open and table updates are
+ * not being deferred, component increments that only change the location of a
+ * component are sent as location datagrams. The latest location of each such
+ * component is then settled by sending it over the reliable connection once
+ * the component has stopped moving, or immediately before any other table
+ * update is sent so that the component paths of all subsequent updates are
+ * interpreted against the same table structure.
+ * </p>
+ * 
+ * <p>
+ * All methods of this class are expected to be invoked on the associated node
+ * layer thread.
+ * </p>
  */
-@Immutable
+@NotThreadSafe
 final class RemoteNetworkTable
     implements INetworkTable
 {
@@ -38,9 +77,50 @@ final class RemoteNetworkTable
     // Fields
     // ======================================================================
 
+    /**
+     * The policy applied to table updates while they are deferred or
+     * {@code null} if table updates are not being deferred.
+     */
+    private @Nullable CongestionPolicy congestionPolicy_;
+
+    /**
+     * The collection of deferred component increments that may be merged with
+     * a subsequent component increment for the same component. The key is the
+     * component path. The value is the deferred component increment.
+     */
+    private final Map<ComponentPath, ComponentIncrement> mergeableComponentIncrements_;
+
+    /** The deferred component increment messages in the order they were sent. */
+    private final List<ComponentIncrementMessage> pendingComponentIncrementMessages_;
+
+    /**
+     * The deferred table state or {@code null} if no table state has been
+     * deferred.
+     */
+    private @Nullable Object pendingTableMemento_;
+
+    /**
+     * The collection of component paths whose location has been sent as a
+     * location datagram since component locations were last settled.
+     */
+    private final Set<ComponentPath> movingComponentPaths_;
+
     /** The control interface for the remote node associated with the table. */
     private final IRemoteNodeController<@NonNull ?> remoteNodeController_;
 
+    /**
+     * The collection of component locations sent as location datagrams that
+     * have not yet been sent over the reliable connection. The key is the
+     * component path. The value is the latest component location.
+     */
+    private final Map<ComponentPath, Point> unsettledLocations_;
+
+    /**
+     * Indicates table updates have been discarded since table updates began
+     * to be deferred.
+     */
+    private boolean updatesDiscarded_;
+
 
     // ======================================================================
     // Constructors
@@ -56,7 +136,14 @@ final class RemoteNetworkTable
     RemoteNetworkTable(
         final IRemoteNodeController<@NonNull ?> remoteNodeController )
     {
+        congestionPolicy_ = null;
+        mergeableComponentIncrements_ = new HashMap<>();
+        movingComponentPaths_ = new HashSet<>();
+        pendingComponentIncrementMessages_ = new ArrayList<>();
+        pendingTableMemento_ = null;
         remoteNodeController_ = remoteNodeController;
+        unsettledLocations_ = new LinkedHashMap<>();
+        updatesDiscarded_ = false;
     }
 
 
@@ -64,6 +151,165 @@ final class RemoteNetworkTable
     // Methods
     // ======================================================================
 
+    /**
+     * Begins deferring table updates sent to the remote table.
+     * 
+     * @param congestionPolicy
+     *        The policy to apply to table updates while they are deferred;
+     *        must be either {@link CongestionPolicy#COALESCE_UPDATES} or
+     *        {@link CongestionPolicy#RESYNCHRONIZE_TABLE}.
+     */
+    void beginDeferringUpdates(
+        final CongestionPolicy congestionPolicy )
+    {
+        assert congestionPolicy != CongestionPolicy.DISCONNECT;
+
+        congestionPolicy_ = congestionPolicy;
+
+        for( final Map.Entry<ComponentPath, Point> entry : unsettledLocations_.entrySet() )
+        {
+            deferComponentIncrement( entry.getKey(), createLocationComponentIncrement( entry.getValue() ) );
+        }
+        movingComponentPaths_.clear();
+        unsettledLocations_.clear();
+    }
+
+    /**
+     * Creates a new message requesting the state of the components at the
+     * specified paths be incremented as a single change.
+     * 
+     * @param componentPaths
+     *        The collection of component paths.
+     * @param componentIncrements
+     *        The collection of incremental changes to the state of each
+     *        component.
+     * 
+     * @return A new component increment batch message.
+     */
+    static ComponentIncrementBatchMessage createComponentIncrementBatchMessage(
+        final List<ComponentPath> componentPaths,
+        final List<ComponentIncrement> componentIncrements )
+    {
+        final ComponentIncrementBatchMessage message = new ComponentIncrementBatchMessage();
+        message.setIncrements( componentIncrements );
+        message.setPaths( componentPaths );
+        return message;
+    }
+
+    /**
+     * Creates a new message requesting the state of the component at the
+     * specified path be incremented.
+     * 
+     * @param componentPath
+     *        The component path.
+     * @param componentIncrement
+     *        The incremental change to the state of the component.
+     * 
+     * @return A new component increment message.
+     */
+    static ComponentIncrementMessage createComponentIncrementMessage(
+        final ComponentPath componentPath,
+        final ComponentIncrement componentIncrement )
+    {
+        final ComponentIncrementMessage message = new ComponentIncrementMessage();
+        message.setIncrement( componentIncrement );
+        message.setPath( componentPath );
+        return message;
+    }
+
+    /**
+     * Creates a new component increment that only changes the location of a
+     * component.
+     * 
+     * @param location
+     *        The component location.
+     * 
+     * @return A new component increment.
+     */
+    private static ComponentIncrement createLocationComponentIncrement(
+        final Point location )
+    {
+        final ComponentIncrement componentIncrement = new ComponentIncrement();
+        componentIncrement.setLocation( location );
+        return componentIncrement;
+    }
+
+    /**
+     * Creates a new message requesting the state of the table be set.
+     * 
+     * @param tableMemento
+     *        The memento containing the table state.
+     * 
+     * @return A new table message.
+     */
+    static TableMessage createTableMessage(
+        final Object tableMemento )
+    {
+        final TableMessage message = new TableMessage();
+        message.setMemento( tableMemento );
+        return message;
+    }
+
+    /**
+     * Defers the specified component increment.
+     * 
+     * @param componentPath
+     *        The component path.
+     * @param componentIncrement
+     *        The incremental change to the state of the component.
+     */
+    private void deferComponentIncrement(
+        final ComponentPath componentPath,
+        final ComponentIncrement componentIncrement )
+    {
+        if( congestionPolicy_ == CongestionPolicy.RESYNCHRONIZE_TABLE )
+        {
+            updatesDiscarded_ = true;
+            return;
+        }
+
+        if( componentIncrement.getClass() != ComponentIncrement.class )
+        {
+            mergeableComponentIncrements_.clear();
+            pendingComponentIncrementMessages_.add( createComponentIncrementMessage( componentPath, componentIncrement ) );
+            return;
+        }
+
+        final ComponentIncrement mergeableComponentIncrement = mergeableComponentIncrements_.get( componentPath );
+        if( mergeableComponentIncrement != null )
+        {
+            mergeComponentIncrement( mergeableComponentIncrement, componentIncrement );
+        }
+        else
+        {
+            // Copy the increment because it may be shared with other tables
+            final ComponentIncrement pendingComponentIncrement = new ComponentIncrement();
+            mergeComponentIncrement( pendingComponentIncrement, componentIncrement );
+            mergeableComponentIncrements_.put( componentPath, pendingComponentIncrement );
+            pendingComponentIncrementMessages_.add( createComponentIncrementMessage( componentPath, pendingComponentIncrement ) );
+        }
+    }
+
+    /**
+     * Defers the specified table state.
+     * 
+     * @param tableMemento
+     *        The memento containing the table state.
+     */
+    private void deferTableState(
+        final Object tableMemento )
+    {
+        if( congestionPolicy_ == CongestionPolicy.RESYNCHRONIZE_TABLE )
+        {
+            updatesDiscarded_ = true;
+            return;
+        }
+
+        mergeableComponentIncrements_.clear();
+        pendingComponentIncrementMessages_.clear();
+        pendingTableMemento_ = tableMemento;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.INetworkTable#dispose()
      */
@@ -73,6 +319,42 @@ final class RemoteNetworkTable
         // do nothing
     }
 
+    /**
+     * Ends deferring table updates sent to the remote table.
+     * 
+     * <p>
+     * If the updates were coalesced, the deferred updates are sent to the
+     * remote table.
+     * </p>
+     * 
+     * @return {@code true} if table updates were discarded while they were
+     *         deferred and the remote table must be resynchronized; otherwise
+     *         {@code false}.
+     */
+    boolean endDeferringUpdates()
+    {
+        final boolean updatesDiscarded = updatesDiscarded_;
+        final Object tableMemento = pendingTableMemento_;
+        final List<ComponentIncrementMessage> componentIncrementMessages = new ArrayList<>( pendingComponentIncrementMessages_ );
+
+        congestionPolicy_ = null;
+        mergeableComponentIncrements_.clear();
+        pendingComponentIncrementMessages_.clear();
+        pendingTableMemento_ = null;
+        updatesDiscarded_ = false;
+
+        if( tableMemento != null )
+        {
+            remoteNodeController_.sendMessage( createTableMessage( tableMemento ), null );
+        }
+        for( final ComponentIncrementMessage componentIncrementMessage : componentIncrementMessages )
+        {
+            remoteNodeController_.sendMessage( componentIncrementMessage, null );
+        }
+
+        return updatesDiscarded;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.INetworkTable#incrementComponentState(org.gamegineer.table.core.ComponentPath, org.gamegineer.table.internal.net.impl.node.ComponentIncrement)
      */
@@ -81,12 +363,214 @@ final class RemoteNetworkTable
         final ComponentPath componentPath,
         final ComponentIncrement componentIncrement )
     {
-        final ComponentIncrementMessage message = new ComponentIncrementMessage();
-        message.setIncrement( componentIncrement );
-        message.setPath( componentPath );
+        if( isDeferringUpdates() )
+        {
+            deferComponentIncrement( componentPath, componentIncrement );
+            return;
+        }
+
+        if( isDatagramComponentIncrement( componentIncrement ) )
+        {
+            final Point location = componentIncrement.getLocation();
+            assert location != null;
+            if( remoteNodeController_.sendLocationDatagram( componentPath, location ) )
+            {
+                movingComponentPaths_.add( componentPath );
+                unsettledLocations_.put( componentPath, location );
+                return;
+            }
+        }
+
+        settleAllComponentIncrements();
+        remoteNodeController_.sendMessage( createComponentIncrementMessage( componentPath, componentIncrement ), null );
+    }
+
+    /**
+     * This implementation sends the component increments as a single message
+     * if the remote node supports it and table updates are not being
+     * deferred; otherwise, each component increment is sent or deferred
+     * individually.
+     * 
+     * @see org.gamegineer.table.internal.net.impl.node.INetworkTable#incrementComponentStates(java.util.List, java.util.List)
+     */
+    @Override
+    public void incrementComponentStates(
+        final List<ComponentPath> componentPaths,
+        final List<ComponentIncrement> componentIncrements )
+    {
+        assert componentPaths.size() == componentIncrements.size();
+
+        if( isDeferringUpdates() || !isComponentIncrementBatchEnabled() )
+        {
+            for( int index = 0, size = componentPaths.size(); index < size; ++index )
+            {
+                incrementComponentState( componentPaths.get( index ), componentIncrements.get( index ) );
+            }
+            return;
+        }
+
+        settleAllComponentIncrements();
+        remoteNodeController_.sendMessage( createComponentIncrementBatchMessage( componentPaths, componentIncrements ), null );
+    }
+
+    /**
+     * Indicates the specified component increment will be sent to the remote
+     * table as a location datagram.
+     * 
+     * @param componentIncrement
+     *        The component increment.
+     * 
+     * @return {@code true} if the specified component increment will be sent
+     *         to the remote table as a location datagram; otherwise
+     *         {@code false}.
+     */
+    boolean isDatagramComponentIncrement(
+        final ComponentIncrement componentIncrement )
+    {
+        return !isDeferringUpdates() //
+            && (componentIncrement.getClass() == ComponentIncrement.class) //
+            && (componentIncrement.getLocation() != null) //
+            && (componentIncrement.getOrientation() == null) //
+            && (componentIncrement.getSurfaceDesignIds() == null) //
+            && remoteNodeController_.isDatagramChannelOpen();
+    }
+
+    /**
+     * Indicates messages sent to the remote table are binary encoded when they
+     * are described by the binary message schema.
+     * 
+     * @return {@code true} if messages sent to the remote table are binary
+     *         encoded when possible; otherwise {@code false}.
+     */
+    boolean isBinaryEncodingEnabled()
+    {
+        return remoteNodeController_.getProtocolVersion() >= ProtocolVersions.VERSION_8;
+    }
+
+    /**
+     * Indicates the remote table accepts the component increments made by a
+     * single table batch as a single message.
+     * 
+     * @return {@code true} if the remote table accepts a component increment
+     *         batch message; otherwise {@code false}.
+     */
+    boolean isComponentIncrementBatchEnabled()
+    {
+        return remoteNodeController_.getProtocolVersion() >= ProtocolVersions.VERSION_9;
+    }
+
+    /**
+     * Indicates table updates sent to the remote table are being deferred.
+     * 
+     * @return {@code true} if table updates sent to the remote table are being
+     *         deferred; otherwise {@code false}.
+     */
+    boolean isDeferringUpdates()
+    {
+        return congestionPolicy_ != null;
+    }
+
+    /**
+     * Indicates messages sent to the remote table are serialized to an object
+     * stream that persists for the lifetime of the connection.
+     * 
+     * <p>
+     * Such messages may be sent using {@link #sendMessage(IMessage)} so that
+     * they benefit from the persistent object stream or using
+     * {@link #sendMessageEnvelope(MessageEnvelope)} so that a self-contained
+     * message body is shared with other remote tables.
+     * </p>
+     * 
+     * @return {@code true} if messages sent to the remote table are serialized
+     *         to a persistent object stream; otherwise {@code false}.
+     */
+    boolean isPersistentObjectStreamEnabled()
+    {
+        return remoteNodeController_.isPersistentObjectStreamEnabled();
+    }
+
+    /**
+     * Merges the specified component increment into the specified target
+     * component increment.
+     * 
+     * <p>
+     * Each attribute changed by the source component increment replaces the
+     * corresponding attribute of the target component increment.
+     * </p>
+     * 
+     * @param targetComponentIncrement
+     *        The component increment into which the source component increment
+     *        will be merged.
+     * @param sourceComponentIncrement
+     *        The component increment to merge.
+     */
+    private static void mergeComponentIncrement(
+        final ComponentIncrement targetComponentIncrement,
+        final ComponentIncrement sourceComponentIncrement )
+    {
+        final Point location = sourceComponentIncrement.getLocation();
+        if( location != null )
+        {
+            targetComponentIncrement.setLocation( location );
+        }
+
+        final ComponentOrientation orientation = sourceComponentIncrement.getOrientation();
+        if( orientation != null )
+        {
+            targetComponentIncrement.setOrientation( orientation );
+        }
+
+        final Map<ComponentOrientation, ComponentSurfaceDesignId> sourceSurfaceDesignIds = sourceComponentIncrement.getSurfaceDesignIds();
+        if( sourceSurfaceDesignIds != null )
+        {
+            final Map<ComponentOrientation, ComponentSurfaceDesignId> targetSurfaceDesignIds = targetComponentIncrement.getSurfaceDesignIds();
+            final Map<ComponentOrientation, ComponentSurfaceDesignId> surfaceDesignIds = (targetSurfaceDesignIds != null) ? new HashMap<>( targetSurfaceDesignIds ) : new HashMap<>();
+            surfaceDesignIds.putAll( sourceSurfaceDesignIds );
+            targetComponentIncrement.setSurfaceDesignIds( surfaceDesignIds );
+        }
+    }
+
+    /**
+     * Sends the specified message to the remote table.
+     * 
+     * <p>
+     * The message is serialized by the remote node before this method
+     * returns; thus, the same message may be sent to many remote tables.
+     * </p>
+     * 
+     * @param message
+     *        The message to send.
+     */
+    void sendMessage(
+        final IMessage message )
+    {
+        assert !isDeferringUpdates();
+        assert isPersistentObjectStreamEnabled();
+
+        settleAllComponentIncrements();
         remoteNodeController_.sendMessage( message, null );
     }
 
+    /**
+     * Sends the message contained in the specified message envelope to the
+     * remote table.
+     * 
+     * <p>
+     * The body of the message envelope is shared rather than serialized again.
+     * </p>
+     * 
+     * @param messageEnvelope
+     *        The message envelope containing the message to send.
+     */
+    void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        assert !isDeferringUpdates();
+
+        settleAllComponentIncrements();
+        remoteNodeController_.sendMessageEnvelope( messageEnvelope );
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.INetworkTable#setTableState(java.lang.Object)
      */
@@ -94,8 +578,55 @@ final class RemoteNetworkTable
     public void setTableState(
         final Object tableMemento )
     {
-        final TableMessage message = new TableMessage();
-        message.setMemento( tableMemento );
-        remoteNodeController_.sendMessage( message, null );
+        if( isDeferringUpdates() )
+        {
+            deferTableState( tableMemento );
+        }
+        else
+        {
+            // The table state supersedes all unsettled component locations
+            movingComponentPaths_.clear();
+            unsettledLocations_.clear();
+            remoteNodeController_.sendMessage( createTableMessage( tableMemento ), null );
+        }
+    }
+
+    /**
+     * Sends all unsettled component locations to the remote table over the
+     * reliable connection.
+     */
+    private void settleAllComponentIncrements()
+    {
+        for( final Map.Entry<ComponentPath, Point> entry : unsettledLocations_.entrySet() )
+        {
+            remoteNodeController_.sendMessage( createComponentIncrementMessage( entry.getKey(), createLocationComponentIncrement( entry.getValue() ) ), null );
+        }
+        movingComponentPaths_.clear();
+        unsettledLocations_.clear();
+    }
+
+    /**
+     * Sends the unsettled locations of all components that have stopped
+     * moving to the remote table over the reliable connection.
+     * 
+     * <p>
+     * A component has stopped moving if its location has not been sent as a
+     * location datagram since the previous invocation of this method. This
+     * method is expected to be invoked periodically while a datagram channel
+     * to the remote node is open.
+     * </p>
+     */
+    void settleComponentIncrements()
+    {
+        for( final Iterator<Map.Entry<ComponentPath, Point>> iterator = unsettledLocations_.entrySet().iterator(); iterator.hasNext(); )
+        {
+            final Map.Entry<ComponentPath, Point> entry = iterator.next();
+            if( !movingComponentPaths_.contains( entry.getKey() ) )
+            {
+                remoteNodeController_.sendMessage( createComponentIncrementMessage( entry.getKey(), createLocationComponentIncrement( entry.getValue() ) ), null );
+                iterator.remove();
+            }
+        }
+        movingComponentPaths_.clear();
     }
 }
@@ -21,10 +21,13 @@
 
 package org.gamegineer.table.internal.net.impl.node.client;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -77,6 +80,12 @@ public final class ClientNode
     /** The handshake lock. */
     private final Lock handshakeLock_;
 
+    /**
+     * The name of the table network host or {@code null} if the table network
+     * is not connected.
+     */
+    private @Nullable String hostName_;
+
     /** Indicates the handshake is complete. */
     @GuardedBy( "handshakeLock_" )
     private boolean isHandshakeComplete_;
@@ -85,7 +94,7 @@ public final class ClientNode
      * The collection of players connected to the table network. The key is the
      * player name. The value is the player.
      */
-    private final Map<String, IPlayer> players_;
+    private final Map<String, Player> players_;
 
     /** The table manager. */
     private final ITableManager tableManager_;
@@ -112,6 +121,7 @@ public final class ClientNode
         handshakeLock_ = new ReentrantLock();
         handshakeCondition_ = handshakeLock_.newCondition();
         handshakeError_ = null;
+        hostName_ = null;
         isHandshakeComplete_ = false;
         players_ = new HashMap<>();
         tableManager_ = new ClientTableManager();
@@ -186,6 +196,8 @@ public final class ClientNode
 
         super.connecting( configuration );
 
+        hostName_ = configuration.getHostName();
+
         // Temporarily add local player until we receive the player list from the server
         final Player player = new Player( getPlayerName() );
         player.addRoles( EnumSet.of( PlayerRole.LOCAL ) );
@@ -262,6 +274,7 @@ public final class ClientNode
     {
         assert isNodeLayerThread();
 
+        hostName_ = null;
         players_.clear();
 
         super.dispose();
@@ -275,7 +288,13 @@ public final class ClientNode
     {
         assert isNodeLayerThread();
 
-        return isConnected() ? players_.get( getPlayerName() ) : null;
+        if( !isConnected() )
+        {
+            return null;
+        }
+
+        updateLocalPlayerRoundTripTime();
+        return players_.get( getPlayerName() );
     }
 
     /*
@@ -286,7 +305,8 @@ public final class ClientNode
     {
         assert isNodeLayerThread();
 
-        return new ArrayList<>( players_.values() );
+        updateLocalPlayerRoundTripTime();
+        return new ArrayList<IPlayer>( players_.values() );
     }
 
     /**
@@ -322,6 +342,31 @@ public final class ClientNode
         getRemoteServerNode().giveControl( playerName );
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.client.IClientNode#openServerDatagramChannel(int)
+     */
+    @Override
+    public @Nullable SocketAddress openServerDatagramChannel(
+        final int serverDatagramPort )
+    {
+        assert isNodeLayerThread();
+
+        final String hostName = hostName_;
+        if( hostName == null )
+        {
+            return null;
+        }
+
+        openDatagramChannel( null, 0 );
+        if( getDatagramChannel() == null )
+        {
+            return null;
+        }
+
+        final InetSocketAddress address = new InetSocketAddress( hostName, serverDatagramPort );
+        return !address.isUnresolved() ? address : null;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.AbstractNode#remoteNodeBound(org.gamegineer.table.internal.net.impl.node.IRemoteNode)
      */
@@ -391,11 +436,39 @@ public final class ClientNode
         players_.clear();
         for( final IPlayer player : players )
         {
-            players_.put( player.getName(), player );
+            final Player localPlayer = new Player( player.getName() );
+            localPlayer.addRoles( player.getRoles() );
+            localPlayer.setRoundTripTime( player.getRoundTripTime(), player.getRoundTripTimeVariation() );
+            players_.put( localPlayer.getName(), localPlayer );
         }
         getTableNetworkController().playersUpdated();
     }
 
+    /**
+     * Updates the round-trip time of the local player from the round-trip time
+     * measured between the local node and the server.
+     * 
+     * <p>
+     * The round-trip time the server reports for the local player lags behind
+     * the round-trip time measured by the local node; the latter is preferred
+     * once it is available.
+     * </p>
+     */
+    private void updateLocalPlayerRoundTripTime()
+    {
+        if( !isConnected() )
+        {
+            return;
+        }
+
+        final Player player = players_.get( getPlayerName() );
+        final IRemoteServerNode remoteNode = getRemoteNode( ClientNodeConstants.SERVER_PLAYER_NAME );
+        if( (player != null) && (remoteNode != null) && (remoteNode.getRoundTripTime() >= 0L) )
+        {
+            player.setRoundTripTime( remoteNode.getRoundTripTime(), remoteNode.getRoundTripTimeVariation() );
+        }
+    }
+
 
     // ======================================================================
     // Nested Types
@@ -475,6 +548,23 @@ public final class ClientNode
             }
         }
 
+        /*
+         * @see org.gamegineer.table.internal.net.impl.node.ITableManager#incrementComponentStates(org.gamegineer.table.internal.net.impl.node.INetworkTable, java.util.List, java.util.List)
+         */
+        @Override
+        public void incrementComponentStates(
+            final INetworkTable sourceTable,
+            final List<ComponentPath> componentPaths,
+            final List<ComponentIncrement> componentIncrements )
+        {
+            final IPlayer player = getPlayer();
+            assert player != null;
+            if( player.hasRole( PlayerRole.EDITOR ) )
+            {
+                tableManagerDecoratee_.incrementComponentStates( sourceTable, componentPaths, componentIncrements );
+            }
+        }
+
         /*
          * @see org.gamegineer.table.internal.net.impl.node.ITableManager#setTableState(org.gamegineer.table.internal.net.impl.node.INetworkTable, java.lang.Object)
          */
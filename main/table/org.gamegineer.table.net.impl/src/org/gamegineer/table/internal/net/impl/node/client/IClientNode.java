@@ -21,8 +21,10 @@
 
 package org.gamegineer.table.internal.net.impl.node.client;
 
+import java.net.SocketAddress;
 import java.util.Collection;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.node.INode;
 import org.gamegineer.table.net.IPlayer;
 
@@ -38,6 +40,20 @@ public interface IClientNode
     // Methods
     // ======================================================================
 
+    /**
+     * Opens the datagram channel of the client used to exchange location
+     * datagrams with the server.
+     * 
+     * @param serverDatagramPort
+     *        The port of the server datagram channel.
+     * 
+     * @return The address of the server datagram channel or {@code null} if
+     *         the datagram channel of the client cannot be opened or the
+     *         address of the server cannot be resolved.
+     */
+    public @Nullable SocketAddress openServerDatagramChannel(
+        int serverDatagramPort );
+
     /**
      * Sets the collection of players connected to the table network.
      * 
@@ -35,4 +35,22 @@ public interface IRemoteServerNodeController
     // ======================================================================
     // Methods
     // ======================================================================
+
+    /**
+     * Opens the datagram channel to the server offered during the handshake.
+     * 
+     * <p>
+     * This method does nothing if the client cannot open its datagram
+     * channel, in which case all updates continue to be exchanged over the
+     * reliable connection.
+     * </p>
+     * 
+     * @param datagramPort
+     *        The port of the server datagram channel.
+     * @param datagramToken
+     *        The token that identifies the connection in location datagrams.
+     */
+    public void openDatagramChannel(
+        int datagramPort,
+        long datagramToken );
 }
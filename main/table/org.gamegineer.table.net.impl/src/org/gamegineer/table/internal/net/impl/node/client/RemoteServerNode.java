@@ -21,6 +21,7 @@
 
 package org.gamegineer.table.internal.net.impl.node.client;
 
+import java.net.SocketAddress;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.node.AbstractRemoteNode;
@@ -140,10 +141,27 @@ final class RemoteServerNode
         super.opened();
 
         final HelloRequestMessage message = new HelloRequestMessage();
-        message.setSupportedProtocolVersion( ProtocolVersions.VERSION_1 );
+        message.setSupportedProtocolVersion( ProtocolVersions.LATEST );
         sendMessage( message, HelloResponseMessageHandler.INSTANCE );
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.client.IRemoteServerNodeController#openDatagramChannel(int, long)
+     */
+    @Override
+    public void openDatagramChannel(
+        final int datagramPort,
+        final long datagramToken )
+    {
+        assert isNodeLayerThread();
+
+        final SocketAddress address = getLocalNode().openServerDatagramChannel( datagramPort );
+        if( address != null )
+        {
+            connectDatagramChannel( datagramToken, address );
+        }
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.client.IRemoteServerNode#requestControl()
      */
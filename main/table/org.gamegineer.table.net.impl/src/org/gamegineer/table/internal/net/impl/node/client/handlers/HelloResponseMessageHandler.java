@@ -106,10 +106,18 @@ public final class HelloResponseMessageHandler
                 Integer.valueOf( message.getChosenProtocolVersion() ), //
                 Integer.valueOf( message.getId() ), //
                 Integer.valueOf( message.getCorrelationId() ) ) );
-        if( message.getChosenProtocolVersion() != ProtocolVersions.VERSION_1 )
+        if( (message.getChosenProtocolVersion() < ProtocolVersions.VERSION_1) || (message.getChosenProtocolVersion() > ProtocolVersions.LATEST) )
         {
             Debug.getDefault().trace( Debug.OPTION_DEFAULT, "Received unsupported chosen protocol version" ); //$NON-NLS-1$
             remoteNodeController.close( TableNetworkError.UNSUPPORTED_PROTOCOL_VERSION );
+            return;
+        }
+
+        remoteNodeController.setProtocolVersion( message.getChosenProtocolVersion() );
+
+        if( (message.getChosenProtocolVersion() >= ProtocolVersions.VERSION_6) && (message.getDatagramPort() != 0) && (message.getDatagramToken() != 0L) )
+        {
+            remoteNodeController.openDatagramChannel( message.getDatagramPort(), message.getDatagramToken() );
         }
     }
 
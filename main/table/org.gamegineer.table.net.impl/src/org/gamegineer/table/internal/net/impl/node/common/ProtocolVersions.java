@@ -34,9 +34,93 @@ public final class ProtocolVersions
     // Fields
     // ======================================================================
 
+    /** The latest protocol version supported by this implementation. */
+    public static final int LATEST = 900;
+
     /** The version 1.0.0 protocol. */
     public static final int VERSION_1 = 100;
 
+    /**
+     * The version 2.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for messages that exceed the maximum length of a compact
+     * message envelope.
+     * </p>
+     */
+    public static final int VERSION_2 = 200;
+
+    /**
+     * The version 3.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for message identifiers and message correlation identifiers
+     * that exceed {@link org.gamegineer.table.internal.net.impl.transport.IMessage#MAXIMUM_COMPACT_ID}.
+     * </p>
+     */
+    public static final int VERSION_3 = 300;
+
+    /**
+     * The version 4.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for messages whose bodies are compressed.
+     * </p>
+     */
+    public static final int VERSION_4 = 400;
+
+    /**
+     * The version 5.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for heartbeats used to measure the round-trip time to a
+     * remote node and to detect unresponsive remote nodes.
+     * </p>
+     */
+    public static final int VERSION_5 = 500;
+
+    /**
+     * The version 6.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for an unreliable datagram channel, offered by the server
+     * during the handshake, over which component locations are exchanged.
+     * </p>
+     */
+    public static final int VERSION_6 = 600;
+
+    /**
+     * The version 7.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for messages serialized to an object stream that persists
+     * for the lifetime of the connection so that class descriptors are
+     * transferred at most once per connection.
+     * </p>
+     */
+    public static final int VERSION_7 = 700;
+
+    /**
+     * The version 8.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for messages encoded in a compact binary format with
+     * variable-length integers and strings interned for the lifetime of the
+     * connection.
+     * </p>
+     */
+    public static final int VERSION_8 = 800;
+
+    /**
+     * The version 9.0.0 protocol.
+     * 
+     * <p>
+     * Adds support for the component increments made by a single table batch
+     * to be sent as a single message.
+     * </p>
+     */
+    public static final int VERSION_9 = 900;
+
 
     // ======================================================================
     // Constructors
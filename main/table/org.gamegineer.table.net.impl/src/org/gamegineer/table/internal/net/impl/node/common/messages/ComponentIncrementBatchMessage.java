@@ -0,0 +1,136 @@
+/*
+ * ComponentIncrementBatchMessage.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 10:41:27 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node.common.messages;
+
+import java.util.Collections;
+import java.util.List;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.NonNull;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.internal.net.impl.node.ComponentIncrement;
+import org.gamegineer.table.internal.net.impl.transport.AbstractMessage;
+
+/**
+ * A message sent by a node to increment the state of one or more components as
+ * a single change.
+ * 
+ * <p>
+ * The component increments are applied in order. The path of each component is
+ * relative to the table state that results from applying the preceding
+ * component increments.
+ * </p>
+ */
+@NotThreadSafe
+public final class ComponentIncrementBatchMessage
+    extends AbstractMessage
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** Serializable class version number. */
+    private static final long serialVersionUID = -6183404532765734470L;
+
+    /**
+     * The collection of incremental changes to the state of each component.
+     * 
+     * @serial The collection of incremental changes to the state of each
+     *         component.
+     */
+    private List<ComponentIncrement> increments_;
+
+    /**
+     * The collection of paths of each component.
+     * 
+     * @serial The collection of paths of each component.
+     */
+    private List<ComponentPath> paths_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code ComponentIncrementBatchMessage} class.
+     */
+    public ComponentIncrementBatchMessage()
+    {
+        increments_ = Collections.<@NonNull ComponentIncrement>emptyList();
+        paths_ = Collections.<@NonNull ComponentPath>emptyList();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the collection of incremental changes to the state of each
+     * component.
+     * 
+     * @return The collection of incremental changes to the state of each
+     *         component.
+     */
+    public List<ComponentIncrement> getIncrements()
+    {
+        return increments_;
+    }
+
+    /**
+     * Gets the collection of paths of each component.
+     * 
+     * @return The collection of paths of each component.
+     */
+    public List<ComponentPath> getPaths()
+    {
+        return paths_;
+    }
+
+    /**
+     * Sets the collection of incremental changes to the state of each
+     * component.
+     * 
+     * @param increments
+     *        The collection of incremental changes to the state of each
+     *        component; must have the same size as the collection of paths.
+     */
+    public void setIncrements(
+        final List<ComponentIncrement> increments )
+    {
+        increments_ = increments;
+    }
+
+    /**
+     * Sets the collection of paths of each component.
+     * 
+     * @param paths
+     *        The collection of paths of each component; must have the same
+     *        size as the collection of incremental changes.
+     */
+    public void setPaths(
+        final List<ComponentPath> paths )
+    {
+        paths_ = paths;
+    }
+}
@@ -47,6 +47,22 @@ public final class HelloResponseMessage
      */
     private int chosenProtocolVersion_;
 
+    /**
+     * The port of the server datagram channel or 0 if the server does not
+     * offer a datagram channel.
+     * 
+     * @serial The port of the server datagram channel.
+     */
+    private int datagramPort_;
+
+    /**
+     * The token that identifies the connection in location datagrams or 0 if
+     * the server does not offer a datagram channel.
+     * 
+     * @serial The token that identifies the connection in location datagrams.
+     */
+    private long datagramToken_;
+
 
     // ======================================================================
     // Constructors
@@ -58,6 +74,8 @@ public final class HelloResponseMessage
     public HelloResponseMessage()
     {
         chosenProtocolVersion_ = 0;
+        datagramPort_ = 0;
+        datagramToken_ = 0L;
     }
 
 
@@ -75,6 +93,28 @@ public final class HelloResponseMessage
         return chosenProtocolVersion_;
     }
 
+    /**
+     * Gets the port of the server datagram channel.
+     * 
+     * @return The port of the server datagram channel or 0 if the server does
+     *         not offer a datagram channel.
+     */
+    public int getDatagramPort()
+    {
+        return datagramPort_;
+    }
+
+    /**
+     * Gets the token that identifies the connection in location datagrams.
+     * 
+     * @return The token that identifies the connection in location datagrams
+     *         or 0 if the server does not offer a datagram channel.
+     */
+    public long getDatagramToken()
+    {
+        return datagramToken_;
+    }
+
     /**
      * Sets the protocol version chosen by the server.
      * 
@@ -91,4 +131,35 @@ public final class HelloResponseMessage
 
         chosenProtocolVersion_ = chosenProtocolVersion;
     }
+
+    /**
+     * Sets the port of the server datagram channel.
+     * 
+     * @param datagramPort
+     *        The port of the server datagram channel or 0 if the server does
+     *        not offer a datagram channel.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code datagramPort} is negative or greater than 65535.
+     */
+    public void setDatagramPort(
+        final int datagramPort )
+    {
+        assertArgumentLegal( (datagramPort >= 0) && (datagramPort <= 65535), "datagramPort" ); //$NON-NLS-1$
+
+        datagramPort_ = datagramPort;
+    }
+
+    /**
+     * Sets the token that identifies the connection in location datagrams.
+     * 
+     * @param datagramToken
+     *        The token that identifies the connection in location datagrams
+     *        or 0 if the server does not offer a datagram channel.
+     */
+    public void setDatagramToken(
+        final long datagramToken )
+    {
+        datagramToken_ = datagramToken;
+    }
 }
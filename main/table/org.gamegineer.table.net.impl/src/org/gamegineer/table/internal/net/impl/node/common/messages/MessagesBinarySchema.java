@@ -0,0 +1,1179 @@
+/*
+ * MessagesBinarySchema.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 5:04:52 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.node.common.messages;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.jcip.annotations.Immutable;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.ExtensibleEnum;
+import org.gamegineer.table.core.ComponentOrientation;
+import org.gamegineer.table.core.ComponentPath;
+import org.gamegineer.table.core.ComponentStrategyId;
+import org.gamegineer.table.core.ComponentSurfaceDesignId;
+import org.gamegineer.table.core.ContainerLayoutId;
+import org.gamegineer.table.internal.net.impl.node.ComponentIncrement;
+import org.gamegineer.table.internal.net.impl.node.ContainerIncrement;
+import org.gamegineer.table.internal.net.impl.transport.BinaryMessageReader;
+import org.gamegineer.table.internal.net.impl.transport.BinaryMessageWriter;
+import org.gamegineer.table.internal.net.impl.transport.IBinaryMessageSchema;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.net.PlayerRole;
+import org.gamegineer.table.net.TableNetworkError;
+
+/**
+ * The binary message schema of the table network protocol messages.
+ * 
+ * <p>
+ * Each message is written as its message type followed by the fields of the
+ * message in a fixed order. A component increment message whose increment is a
+ * container increment has its own message type and is followed by the fields of
+ * the container increment. A component increment batch message is written as
+ * the count of component increments followed by, for each of them, whether it
+ * is a container increment, its component path, and its fields. Component paths
+ * are written as the sequence of component indexes from the root, points as
+ * their coordinates, and component orientations, player roles, and table
+ * network errors as ordinals. Component strategy, surface design, and container
+ * layout identifiers are written as interned strings.
+ * </p>
+ * 
+ * <p>
+ * Table mementos have no fixed structure and are written as tagged values.
+ * Maps and lists are written element by element, and values of the types
+ * listed above are written compactly. Any other value is written using Java
+ * serialization.
+ * </p>
+ * 
+ * <p>
+ * The message types and value tags are part of the table network protocol
+ * and must never be renumbered.
+ * </p>
+ */
+@Immutable
+public final class MessagesBinarySchema
+    implements IBinaryMessageSchema
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The message type of a begin authentication request message. */
+    private static final int BEGIN_AUTHENTICATION_REQUEST_MESSAGE_TYPE = 0;
+
+    /** The message type of a begin authentication response message. */
+    private static final int BEGIN_AUTHENTICATION_RESPONSE_MESSAGE_TYPE = 1;
+
+    /** The tag of a boolean value. */
+    private static final int BOOLEAN_VALUE_TAG = 1;
+
+    /** The message type of a cancel control request message. */
+    private static final int CANCEL_CONTROL_REQUEST_MESSAGE_TYPE = 2;
+
+    /** The message type of a component increment batch message. */
+    private static final int COMPONENT_INCREMENT_BATCH_MESSAGE_TYPE = 16;
+
+    /** The message type of a component increment message. */
+    private static final int COMPONENT_INCREMENT_MESSAGE_TYPE = 3;
+
+    /** The tag of a component strategy identifier value. */
+    private static final int COMPONENT_STRATEGY_ID_VALUE_TAG = 9;
+
+    /** The tag of a component surface design identifier value. */
+    private static final int COMPONENT_SURFACE_DESIGN_ID_VALUE_TAG = 10;
+
+    /**
+     * The message type of a component increment message whose increment is a
+     * container increment.
+     */
+    private static final int CONTAINER_INCREMENT_MESSAGE_TYPE = 15;
+
+    /** The tag of a container layout identifier value. */
+    private static final int CONTAINER_LAYOUT_ID_VALUE_TAG = 11;
+
+    /** The message type of an echo request message. */
+    private static final int ECHO_REQUEST_MESSAGE_TYPE = 4;
+
+    /** The message type of an echo response message. */
+    private static final int ECHO_RESPONSE_MESSAGE_TYPE = 5;
+
+    /** The message type of an end authentication message. */
+    private static final int END_AUTHENTICATION_MESSAGE_TYPE = 6;
+
+    /** The message type of an error message. */
+    private static final int ERROR_MESSAGE_TYPE = 7;
+
+    /** The tag of an extensible enum value. */
+    private static final int EXTENSIBLE_ENUM_VALUE_TAG = 8;
+
+    /** The message type of a give control message. */
+    private static final int GIVE_CONTROL_MESSAGE_TYPE = 8;
+
+    /** The message type of a goodbye message. */
+    private static final int GOODBYE_MESSAGE_TYPE = 9;
+
+    /** The message type of a hello request message. */
+    private static final int HELLO_REQUEST_MESSAGE_TYPE = 10;
+
+    /** The message type of a hello response message. */
+    private static final int HELLO_RESPONSE_MESSAGE_TYPE = 11;
+
+    /** The tag of an integer value. */
+    private static final int INTEGER_VALUE_TAG = 2;
+
+    /** The tag of a list value. */
+    private static final int LIST_VALUE_TAG = 6;
+
+    /** The tag of a long value. */
+    private static final int LONG_VALUE_TAG = 3;
+
+    /** The tag of a map value. */
+    private static final int MAP_VALUE_TAG = 7;
+
+    /** The tag of a {@code null} value. */
+    private static final int NULL_VALUE_TAG = 0;
+
+    /** The tag of a value written using Java serialization. */
+    private static final int OBJECT_VALUE_TAG = 12;
+
+    /** The message type of a players message. */
+    private static final int PLAYERS_MESSAGE_TYPE = 12;
+
+    /** The tag of a point value. */
+    private static final int POINT_VALUE_TAG = 5;
+
+    /** The message type of a request control message. */
+    private static final int REQUEST_CONTROL_MESSAGE_TYPE = 13;
+
+    /** The tag of a string value. */
+    private static final int STRING_VALUE_TAG = 4;
+
+    /** The message type of a table message. */
+    private static final int TABLE_MESSAGE_TYPE = 14;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code MessagesBinarySchema} class.
+     */
+    public MessagesBinarySchema()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Reads the fields of a component increment from the specified binary
+     * message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * @param increment
+     *        The component increment that receives the fields.
+     * 
+     * @throws java.io.IOException
+     *         If the component increment cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a component orientation cannot be found.
+     */
+    private static void readComponentIncrement(
+        final BinaryMessageReader reader,
+        final ComponentIncrement increment )
+        throws IOException, ClassNotFoundException
+    {
+        if( reader.readBoolean() )
+        {
+            increment.setLocation( readPoint( reader ) );
+        }
+        increment.setOrientation( reader.readExtensibleEnum( ComponentOrientation.class ) );
+        if( reader.readBoolean() )
+        {
+            increment.setSurfaceDesignIds( readSurfaceDesignIds( reader ) );
+        }
+    }
+
+    /**
+     * Reads a component increment batch message from the specified binary
+     * message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return A new component increment batch message.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a component orientation or of a value cannot be
+     *         found.
+     */
+    private static ComponentIncrementBatchMessage readComponentIncrementBatchMessage(
+        final BinaryMessageReader reader )
+        throws IOException, ClassNotFoundException
+    {
+        final int incrementCount = reader.readLength();
+        final List<ComponentIncrement> increments = new ArrayList<>( incrementCount );
+        final List<ComponentPath> paths = new ArrayList<>( incrementCount );
+        for( int index = 0; index < incrementCount; ++index )
+        {
+            final boolean isContainerIncrement = reader.readBoolean();
+            paths.add( readComponentPath( reader ) );
+            if( isContainerIncrement )
+            {
+                final ContainerIncrement increment = new ContainerIncrement();
+                readComponentIncrement( reader, increment );
+                readContainerIncrement( reader, increment );
+                increments.add( increment );
+            }
+            else
+            {
+                final ComponentIncrement increment = new ComponentIncrement();
+                readComponentIncrement( reader, increment );
+                increments.add( increment );
+            }
+        }
+
+        final ComponentIncrementBatchMessage message = new ComponentIncrementBatchMessage();
+        message.setIncrements( increments );
+        message.setPaths( paths );
+        return message;
+    }
+
+    /**
+     * Reads a component increment message from the specified binary message
+     * reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * @param increment
+     *        The component increment that receives the incremental change to
+     *        the state of the component.
+     * 
+     * @return A new component increment message.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a component orientation cannot be found.
+     */
+    private static ComponentIncrementMessage readComponentIncrementMessage(
+        final BinaryMessageReader reader,
+        final ComponentIncrement increment )
+        throws IOException, ClassNotFoundException
+    {
+        final ComponentIncrementMessage message = new ComponentIncrementMessage();
+        message.setPath( readComponentPath( reader ) );
+        readComponentIncrement( reader, increment );
+        message.setIncrement( increment );
+
+        return message;
+    }
+
+    /**
+     * Reads a component path from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return The component path.
+     * 
+     * @throws java.io.IOException
+     *         If the component path cannot be read.
+     */
+    private static ComponentPath readComponentPath(
+        final BinaryMessageReader reader )
+        throws IOException
+    {
+        ComponentPath componentPath = ComponentPath.ROOT;
+        for( int depth = 0, pathLength = reader.readLength(); depth < pathLength; ++depth )
+        {
+            componentPath = new ComponentPath( componentPath, reader.readInt() );
+        }
+
+        return componentPath;
+    }
+
+    /**
+     * Reads the fields of a container increment that are not fields of a
+     * component increment from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * @param increment
+     *        The container increment that receives the fields.
+     * 
+     * @throws java.io.IOException
+     *         If the container increment cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a value cannot be found.
+     */
+    @SuppressWarnings( "unchecked" )
+    private static void readContainerIncrement(
+        final BinaryMessageReader reader,
+        final ContainerIncrement increment )
+        throws IOException, ClassNotFoundException
+    {
+        increment.setAddedComponentIndex( readValue( reader, Integer.class ) );
+        increment.setAddedComponentMementos( readValue( reader, List.class ) );
+        increment.setLayoutId( readValue( reader, ContainerLayoutId.class ) );
+        increment.setRemovedComponentCount( readValue( reader, Integer.class ) );
+        increment.setRemovedComponentIndex( readValue( reader, Integer.class ) );
+    }
+
+    /**
+     * Reads a component increment message whose increment is a container
+     * increment from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return A new component increment message.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a component orientation or of a value cannot be
+     *         found.
+     */
+    private static ComponentIncrementMessage readContainerIncrementMessage(
+        final BinaryMessageReader reader )
+        throws IOException, ClassNotFoundException
+    {
+        final ContainerIncrement increment = new ContainerIncrement();
+        final ComponentIncrementMessage message = readComponentIncrementMessage( reader, increment );
+        readContainerIncrement( reader, increment );
+        return message;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IBinaryMessageSchema#readMessage(org.gamegineer.table.internal.net.impl.transport.BinaryMessageReader)
+     */
+    @Override
+    public IMessage readMessage(
+        final BinaryMessageReader reader )
+        throws IOException, ClassNotFoundException
+    {
+        final int messageType = reader.readByte();
+        try
+        {
+            switch( messageType )
+            {
+                case BEGIN_AUTHENTICATION_REQUEST_MESSAGE_TYPE:
+                {
+                    final BeginAuthenticationRequestMessage message = new BeginAuthenticationRequestMessage();
+                    message.setChallenge( reader.readBytes() );
+                    message.setSalt( reader.readBytes() );
+                    return message;
+                }
+
+                case BEGIN_AUTHENTICATION_RESPONSE_MESSAGE_TYPE:
+                {
+                    final BeginAuthenticationResponseMessage message = new BeginAuthenticationResponseMessage();
+                    message.setPlayerName( readRequiredString( reader ) );
+                    message.setResponse( reader.readBytes() );
+                    return message;
+                }
+
+                case CANCEL_CONTROL_REQUEST_MESSAGE_TYPE:
+                    return new CancelControlRequestMessage();
+
+                case COMPONENT_INCREMENT_BATCH_MESSAGE_TYPE:
+                    return readComponentIncrementBatchMessage( reader );
+
+                case COMPONENT_INCREMENT_MESSAGE_TYPE:
+                    return readComponentIncrementMessage( reader, new ComponentIncrement() );
+
+                case CONTAINER_INCREMENT_MESSAGE_TYPE:
+                    return readContainerIncrementMessage( reader );
+
+                case ECHO_REQUEST_MESSAGE_TYPE:
+                {
+                    final EchoRequestMessage message = new EchoRequestMessage();
+                    message.setContent( readRequiredString( reader ) );
+                    return message;
+                }
+
+                case ECHO_RESPONSE_MESSAGE_TYPE:
+                {
+                    final EchoResponseMessage message = new EchoResponseMessage();
+                    message.setContent( readRequiredString( reader ) );
+                    return message;
+                }
+
+                case END_AUTHENTICATION_MESSAGE_TYPE:
+                    return new EndAuthenticationMessage();
+
+                case ERROR_MESSAGE_TYPE:
+                {
+                    final ErrorMessage message = new ErrorMessage();
+                    message.setError( readRequiredValue( reader.readEnum( TableNetworkError.class ) ) );
+                    return message;
+                }
+
+                case GIVE_CONTROL_MESSAGE_TYPE:
+                {
+                    final GiveControlMessage message = new GiveControlMessage();
+                    message.setPlayerName( readRequiredString( reader ) );
+                    return message;
+                }
+
+                case GOODBYE_MESSAGE_TYPE:
+                    return new GoodbyeMessage();
+
+                case HELLO_REQUEST_MESSAGE_TYPE:
+                {
+                    final HelloRequestMessage message = new HelloRequestMessage();
+                    message.setSupportedProtocolVersion( reader.readInt() );
+                    return message;
+                }
+
+                case HELLO_RESPONSE_MESSAGE_TYPE:
+                {
+                    final HelloResponseMessage message = new HelloResponseMessage();
+                    message.setChosenProtocolVersion( reader.readInt() );
+                    message.setDatagramPort( reader.readInt() );
+                    message.setDatagramToken( reader.readLong() );
+                    return message;
+                }
+
+                case PLAYERS_MESSAGE_TYPE:
+                    return readPlayersMessage( reader );
+
+                case REQUEST_CONTROL_MESSAGE_TYPE:
+                    return new RequestControlMessage();
+
+                case TABLE_MESSAGE_TYPE:
+                {
+                    final TableMessage message = new TableMessage();
+                    message.setMemento( readRequiredValue( readValue( reader ) ) );
+                    return message;
+                }
+
+                default:
+                    throw new IOException( NonNlsMessages.MessagesBinarySchema_readMessage_illegalMessageType( messageType ) );
+            }
+        }
+        catch( final IllegalArgumentException e )
+        {
+            throw new IOException( NonNlsMessages.MessagesBinarySchema_readMessage_illegalValue, e );
+        }
+    }
+
+    /**
+     * Reads a players message from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return A new players message.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be read.
+     */
+    private static PlayersMessage readPlayersMessage(
+        final BinaryMessageReader reader )
+        throws IOException
+    {
+        final int playerCount = reader.readLength();
+        final List<String> playerNames = new ArrayList<>( playerCount );
+        final List<Set<PlayerRole>> playerRoles = new ArrayList<>( playerCount );
+        for( int index = 0; index < playerCount; ++index )
+        {
+            playerNames.add( readRequiredString( reader ) );
+
+            final Set<PlayerRole> roles = EnumSet.noneOf( PlayerRole.class );
+            for( int roleIndex = 0, roleCount = reader.readLength(); roleIndex < roleCount; ++roleIndex )
+            {
+                roles.add( readRequiredValue( reader.readEnum( PlayerRole.class ) ) );
+            }
+            playerRoles.add( roles );
+        }
+
+        final @Nullable List<Long> playerRoundTripTimes;
+        final @Nullable List<Long> playerRoundTripTimeVariations;
+        if( reader.readBoolean() )
+        {
+            playerRoundTripTimes = new ArrayList<>( playerCount );
+            playerRoundTripTimeVariations = new ArrayList<>( playerCount );
+            for( int index = 0; index < playerCount; ++index )
+            {
+                playerRoundTripTimes.add( Long.valueOf( reader.readLong() ) );
+                playerRoundTripTimeVariations.add( Long.valueOf( reader.readLong() ) );
+            }
+        }
+        else
+        {
+            playerRoundTripTimes = null;
+            playerRoundTripTimeVariations = null;
+        }
+
+        final PlayersMessage message = new PlayersMessage();
+        message.setPlayers( playerNames, playerRoles, playerRoundTripTimes, playerRoundTripTimeVariations );
+        return message;
+    }
+
+    /**
+     * Reads a point from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return A new point.
+     * 
+     * @throws java.io.IOException
+     *         If the point cannot be read.
+     */
+    private static Point readPoint(
+        final BinaryMessageReader reader )
+        throws IOException
+    {
+        final int x = reader.readInt();
+        final int y = reader.readInt();
+        return new Point( x, y );
+    }
+
+    /**
+     * Reads a string that must not be {@code null} from the specified binary
+     * message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return The string.
+     * 
+     * @throws java.io.IOException
+     *         If the string cannot be read or is {@code null}.
+     */
+    private static String readRequiredString(
+        final BinaryMessageReader reader )
+        throws IOException
+    {
+        return readRequiredValue( reader.readString() );
+    }
+
+    /**
+     * Verifies the specified value read from a binary message reader is not
+     * {@code null}.
+     * 
+     * @param <T>
+     *        The type of the value.
+     * 
+     * @param value
+     *        The value.
+     * 
+     * @return The value.
+     * 
+     * @throws java.io.IOException
+     *         If the value is {@code null}.
+     */
+    private static <T> T readRequiredValue(
+        final @Nullable T value )
+        throws IOException
+    {
+        if( value == null )
+        {
+            throw new IOException( NonNlsMessages.MessagesBinarySchema_readMessage_nullValue );
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads a collection of component surface design identifiers from the
+     * specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return A new collection of component surface design identifiers keyed
+     *         by component orientation.
+     * 
+     * @throws java.io.IOException
+     *         If the collection cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a component orientation cannot be found.
+     */
+    private static Map<ComponentOrientation, ComponentSurfaceDesignId> readSurfaceDesignIds(
+        final BinaryMessageReader reader )
+        throws IOException, ClassNotFoundException
+    {
+        final int surfaceDesignIdCount = reader.readLength();
+        final Map<ComponentOrientation, ComponentSurfaceDesignId> surfaceDesignIds = new HashMap<>( surfaceDesignIdCount );
+        for( int index = 0; index < surfaceDesignIdCount; ++index )
+        {
+            final ComponentOrientation orientation = readRequiredValue( reader.readExtensibleEnum( ComponentOrientation.class ) );
+            surfaceDesignIds.put( orientation, ComponentSurfaceDesignId.fromString( readRequiredString( reader ) ) );
+        }
+
+        return surfaceDesignIds;
+    }
+
+    /**
+     * Reads a tagged value from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return The value or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the value cannot be read.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of the value cannot be found.
+     */
+    private static @Nullable Object readValue(
+        final BinaryMessageReader reader )
+        throws IOException, ClassNotFoundException
+    {
+        final int tag = reader.readByte();
+        switch( tag )
+        {
+            case NULL_VALUE_TAG:
+                return null;
+
+            case BOOLEAN_VALUE_TAG:
+                return Boolean.valueOf( reader.readBoolean() );
+
+            case INTEGER_VALUE_TAG:
+                return Integer.valueOf( reader.readInt() );
+
+            case LONG_VALUE_TAG:
+                return Long.valueOf( reader.readLong() );
+
+            case STRING_VALUE_TAG:
+                return readRequiredString( reader );
+
+            case POINT_VALUE_TAG:
+                return readPoint( reader );
+
+            case LIST_VALUE_TAG:
+            {
+                final int elementCount = reader.readLength();
+                final List<@Nullable Object> list = new ArrayList<>( elementCount );
+                for( int index = 0; index < elementCount; ++index )
+                {
+                    list.add( readValue( reader ) );
+                }
+                return list;
+            }
+
+            case MAP_VALUE_TAG:
+            {
+                final int entryCount = reader.readLength();
+                final Map<@Nullable Object, @Nullable Object> map = new HashMap<>( entryCount );
+                for( int index = 0; index < entryCount; ++index )
+                {
+                    final Object key = readValue( reader );
+                    map.put( key, readValue( reader ) );
+                }
+                return map;
+            }
+
+            case EXTENSIBLE_ENUM_VALUE_TAG:
+                return readRequiredValue( reader.readExtensibleEnum( ExtensibleEnum.class ) );
+
+            case COMPONENT_STRATEGY_ID_VALUE_TAG:
+                return ComponentStrategyId.fromString( readRequiredString( reader ) );
+
+            case COMPONENT_SURFACE_DESIGN_ID_VALUE_TAG:
+                return ComponentSurfaceDesignId.fromString( readRequiredString( reader ) );
+
+            case CONTAINER_LAYOUT_ID_VALUE_TAG:
+                return ContainerLayoutId.fromString( readRequiredString( reader ) );
+
+            case OBJECT_VALUE_TAG:
+                return reader.readObject();
+
+            default:
+                throw new IOException( NonNlsMessages.MessagesBinarySchema_readValue_illegalTag( tag ) );
+        }
+    }
+
+    /**
+     * Reads a tagged value of the specified type from the specified binary
+     * message reader.
+     * 
+     * @param <T>
+     *        The type of the value.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * @param type
+     *        The type of the value.
+     * 
+     * @return The value or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the value cannot be read or is not of the specified type.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of the value cannot be found.
+     */
+    private static <T> @Nullable T readValue(
+        final BinaryMessageReader reader,
+        final Class<T> type )
+        throws IOException, ClassNotFoundException
+    {
+        final Object value = readValue( reader );
+        if( (value != null) && !type.isInstance( value ) )
+        {
+            throw new IOException( NonNlsMessages.MessagesBinarySchema_readMessage_illegalValue );
+        }
+
+        return type.cast( value );
+    }
+
+    /**
+     * Writes the fields of the specified component increment to the specified
+     * binary message writer.
+     * 
+     * @param increment
+     *        The component increment.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the component increment cannot be written.
+     */
+    private static void writeComponentIncrement(
+        final ComponentIncrement increment,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        final Point location = increment.getLocation();
+        writer.writeBoolean( location != null );
+        if( location != null )
+        {
+            writePoint( location, writer );
+        }
+        writer.writeExtensibleEnum( increment.getOrientation() );
+        final Map<ComponentOrientation, ComponentSurfaceDesignId> surfaceDesignIds = increment.getSurfaceDesignIds();
+        writer.writeBoolean( surfaceDesignIds != null );
+        if( surfaceDesignIds != null )
+        {
+            writeSurfaceDesignIds( surfaceDesignIds, writer );
+        }
+    }
+
+    /**
+     * Writes the specified component increment batch message to the specified
+     * binary message writer.
+     * 
+     * @param message
+     *        The component increment batch message.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be written.
+     */
+    private static void writeComponentIncrementBatchMessage(
+        final ComponentIncrementBatchMessage message,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        final List<ComponentIncrement> increments = message.getIncrements();
+        final List<ComponentPath> paths = message.getPaths();
+        final int incrementCount = increments.size();
+        writer.writeLength( incrementCount );
+        for( int index = 0; index < incrementCount; ++index )
+        {
+            final ComponentIncrement increment = increments.get( index );
+            writer.writeBoolean( increment instanceof ContainerIncrement );
+            writeComponentPath( paths.get( index ), writer );
+            writeComponentIncrement( increment, writer );
+            if( increment instanceof ContainerIncrement )
+            {
+                writeContainerIncrement( (ContainerIncrement)increment, writer );
+            }
+        }
+    }
+
+    /**
+     * Writes the specified component increment message to the specified
+     * binary message writer.
+     * 
+     * @param message
+     *        The component increment message.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be written.
+     */
+    private static void writeComponentIncrementMessage(
+        final ComponentIncrementMessage message,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        writeComponentPath( message.getPath(), writer );
+        writeComponentIncrement( message.getIncrement(), writer );
+    }
+
+    /**
+     * Writes the specified component path to the specified binary message
+     * writer.
+     * 
+     * @param componentPath
+     *        The component path.
+     * @param writer
+     *        The binary message writer.
+     */
+    private static void writeComponentPath(
+        final ComponentPath componentPath,
+        final BinaryMessageWriter writer )
+    {
+        writer.writeLength( componentPath.getIndexCount() );
+        for( int position = 0, indexCount = componentPath.getIndexCount(); position < indexCount; ++position )
+        {
+            writer.writeInt( componentPath.getIndex( position ) );
+        }
+    }
+
+    /**
+     * Writes the fields of the specified container increment that are not
+     * fields of a component increment to the specified binary message writer.
+     * 
+     * @param increment
+     *        The container increment.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the container increment cannot be written.
+     */
+    private static void writeContainerIncrement(
+        final ContainerIncrement increment,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        writeValue( increment.getAddedComponentIndex(), writer );
+        writeValue( increment.getAddedComponentMementos(), writer );
+        writeValue( increment.getLayoutId(), writer );
+        writeValue( increment.getRemovedComponentCount(), writer );
+        writeValue( increment.getRemovedComponentIndex(), writer );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IBinaryMessageSchema#writeMessage(org.gamegineer.table.internal.net.impl.transport.IMessage, org.gamegineer.table.internal.net.impl.transport.BinaryMessageWriter)
+     */
+    @Override
+    public boolean writeMessage(
+        final IMessage message,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        if( message instanceof BeginAuthenticationRequestMessage )
+        {
+            final BeginAuthenticationRequestMessage beginAuthenticationRequestMessage = (BeginAuthenticationRequestMessage)message;
+            writer.writeByte( BEGIN_AUTHENTICATION_REQUEST_MESSAGE_TYPE );
+            writer.writeBytes( beginAuthenticationRequestMessage.getChallenge() );
+            writer.writeBytes( beginAuthenticationRequestMessage.getSalt() );
+        }
+        else if( message instanceof BeginAuthenticationResponseMessage )
+        {
+            final BeginAuthenticationResponseMessage beginAuthenticationResponseMessage = (BeginAuthenticationResponseMessage)message;
+            writer.writeByte( BEGIN_AUTHENTICATION_RESPONSE_MESSAGE_TYPE );
+            writer.writeString( beginAuthenticationResponseMessage.getPlayerName() );
+            writer.writeBytes( beginAuthenticationResponseMessage.getResponse() );
+        }
+        else if( message instanceof CancelControlRequestMessage )
+        {
+            writer.writeByte( CANCEL_CONTROL_REQUEST_MESSAGE_TYPE );
+        }
+        else if( message instanceof ComponentIncrementBatchMessage )
+        {
+            writer.writeByte( COMPONENT_INCREMENT_BATCH_MESSAGE_TYPE );
+            writeComponentIncrementBatchMessage( (ComponentIncrementBatchMessage)message, writer );
+        }
+        else if( message instanceof ComponentIncrementMessage )
+        {
+            final ComponentIncrementMessage componentIncrementMessage = (ComponentIncrementMessage)message;
+            final ComponentIncrement increment = componentIncrementMessage.getIncrement();
+            if( increment instanceof ContainerIncrement )
+            {
+                writer.writeByte( CONTAINER_INCREMENT_MESSAGE_TYPE );
+                writeComponentIncrementMessage( componentIncrementMessage, writer );
+                writeContainerIncrement( (ContainerIncrement)increment, writer );
+            }
+            else
+            {
+                writer.writeByte( COMPONENT_INCREMENT_MESSAGE_TYPE );
+                writeComponentIncrementMessage( componentIncrementMessage, writer );
+            }
+        }
+        else if( message instanceof EchoRequestMessage )
+        {
+            writer.writeByte( ECHO_REQUEST_MESSAGE_TYPE );
+            writer.writeString( ((EchoRequestMessage)message).getContent() );
+        }
+        else if( message instanceof EchoResponseMessage )
+        {
+            writer.writeByte( ECHO_RESPONSE_MESSAGE_TYPE );
+            writer.writeString( ((EchoResponseMessage)message).getContent() );
+        }
+        else if( message instanceof EndAuthenticationMessage )
+        {
+            writer.writeByte( END_AUTHENTICATION_MESSAGE_TYPE );
+        }
+        else if( message instanceof ErrorMessage )
+        {
+            writer.writeByte( ERROR_MESSAGE_TYPE );
+            writer.writeEnum( ((ErrorMessage)message).getError() );
+        }
+        else if( message instanceof GiveControlMessage )
+        {
+            writer.writeByte( GIVE_CONTROL_MESSAGE_TYPE );
+            writer.writeString( ((GiveControlMessage)message).getPlayerName() );
+        }
+        else if( message instanceof GoodbyeMessage )
+        {
+            writer.writeByte( GOODBYE_MESSAGE_TYPE );
+        }
+        else if( message instanceof HelloRequestMessage )
+        {
+            writer.writeByte( HELLO_REQUEST_MESSAGE_TYPE );
+            writer.writeInt( ((HelloRequestMessage)message).getSupportedProtocolVersion() );
+        }
+        else if( message instanceof HelloResponseMessage )
+        {
+            final HelloResponseMessage helloResponseMessage = (HelloResponseMessage)message;
+            writer.writeByte( HELLO_RESPONSE_MESSAGE_TYPE );
+            writer.writeInt( helloResponseMessage.getChosenProtocolVersion() );
+            writer.writeInt( helloResponseMessage.getDatagramPort() );
+            writer.writeLong( helloResponseMessage.getDatagramToken() );
+        }
+        else if( message instanceof PlayersMessage )
+        {
+            writer.writeByte( PLAYERS_MESSAGE_TYPE );
+            writePlayersMessage( (PlayersMessage)message, writer );
+        }
+        else if( message instanceof RequestControlMessage )
+        {
+            writer.writeByte( REQUEST_CONTROL_MESSAGE_TYPE );
+        }
+        else if( message instanceof TableMessage )
+        {
+            writer.writeByte( TABLE_MESSAGE_TYPE );
+            writeValue( ((TableMessage)message).getMemento(), writer );
+        }
+        else
+        {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the specified players message to the specified binary message
+     * writer.
+     * 
+     * @param message
+     *        The players message.
+     * @param writer
+     *        The binary message writer.
+     */
+    private static void writePlayersMessage(
+        final PlayersMessage message,
+        final BinaryMessageWriter writer )
+    {
+        final List<String> playerNames = message.getPlayerNames();
+        final List<Set<PlayerRole>> playerRoles = message.getPlayerRoles();
+        final int playerCount = playerNames.size();
+        writer.writeLength( playerCount );
+        for( int index = 0; index < playerCount; ++index )
+        {
+            writer.writeString( playerNames.get( index ) );
+
+            final Set<PlayerRole> roles = playerRoles.get( index );
+            writer.writeLength( roles.size() );
+            for( final PlayerRole role : roles )
+            {
+                writer.writeEnum( role );
+            }
+        }
+
+        final List<Long> playerRoundTripTimes = message.getPlayerRoundTripTimes();
+        final List<Long> playerRoundTripTimeVariations = message.getPlayerRoundTripTimeVariations();
+        final boolean hasRoundTripTimes = (playerRoundTripTimes != null) && (playerRoundTripTimeVariations != null) //
+            && (playerRoundTripTimes.size() == playerCount) //
+            && (playerRoundTripTimeVariations.size() == playerCount);
+        writer.writeBoolean( hasRoundTripTimes );
+        if( hasRoundTripTimes )
+        {
+            assert playerRoundTripTimes != null;
+            assert playerRoundTripTimeVariations != null;
+            for( int index = 0; index < playerCount; ++index )
+            {
+                writer.writeLong( playerRoundTripTimes.get( index ).longValue() );
+                writer.writeLong( playerRoundTripTimeVariations.get( index ).longValue() );
+            }
+        }
+    }
+
+    /**
+     * Writes the specified point to the specified binary message writer.
+     * 
+     * @param point
+     *        The point.
+     * @param writer
+     *        The binary message writer.
+     */
+    private static void writePoint(
+        final Point point,
+        final BinaryMessageWriter writer )
+    {
+        writer.writeInt( point.x );
+        writer.writeInt( point.y );
+    }
+
+    /**
+     * Writes the specified collection of component surface design identifiers
+     * to the specified binary message writer.
+     * 
+     * @param surfaceDesignIds
+     *        The collection of component surface design identifiers keyed by
+     *        component orientation.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the collection cannot be written.
+     */
+    private static void writeSurfaceDesignIds(
+        final Map<ComponentOrientation, ComponentSurfaceDesignId> surfaceDesignIds,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        writer.writeLength( surfaceDesignIds.size() );
+        for( final Map.Entry<ComponentOrientation, ComponentSurfaceDesignId> entry : surfaceDesignIds.entrySet() )
+        {
+            writer.writeExtensibleEnum( entry.getKey() );
+            writer.writeString( entry.getValue().toString() );
+        }
+    }
+
+    /**
+     * Writes the specified tagged value to the specified binary message
+     * writer.
+     * 
+     * @param value
+     *        The value or {@code null}.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the value cannot be written.
+     */
+    private static void writeValue(
+        final @Nullable Object value,
+        final BinaryMessageWriter writer )
+        throws IOException
+    {
+        if( value == null )
+        {
+            writer.writeByte( NULL_VALUE_TAG );
+        }
+        else if( value instanceof Boolean )
+        {
+            writer.writeByte( BOOLEAN_VALUE_TAG );
+            writer.writeBoolean( ((Boolean)value).booleanValue() );
+        }
+        else if( value instanceof Integer )
+        {
+            writer.writeByte( INTEGER_VALUE_TAG );
+            writer.writeInt( ((Integer)value).intValue() );
+        }
+        else if( value instanceof Long )
+        {
+            writer.writeByte( LONG_VALUE_TAG );
+            writer.writeLong( ((Long)value).longValue() );
+        }
+        else if( value instanceof String )
+        {
+            writer.writeByte( STRING_VALUE_TAG );
+            writer.writeString( (String)value );
+        }
+        else if( value.getClass() == Point.class )
+        {
+            writer.writeByte( POINT_VALUE_TAG );
+            writePoint( (Point)value, writer );
+        }
+        else if( value instanceof List<?> )
+        {
+            final List<?> list = (List<?>)value;
+            writer.writeByte( LIST_VALUE_TAG );
+            writer.writeLength( list.size() );
+            for( final Object element : list )
+            {
+                writeValue( element, writer );
+            }
+        }
+        else if( value instanceof Map<?, ?> )
+        {
+            final Map<?, ?> map = (Map<?, ?>)value;
+            writer.writeByte( MAP_VALUE_TAG );
+            writer.writeLength( map.size() );
+            for( final Map.Entry<?, ?> entry : map.entrySet() )
+            {
+                writeValue( entry.getKey(), writer );
+                writeValue( entry.getValue(), writer );
+            }
+        }
+        else if( value instanceof ExtensibleEnum )
+        {
+            writer.writeByte( EXTENSIBLE_ENUM_VALUE_TAG );
+            writer.writeExtensibleEnum( (ExtensibleEnum)value );
+        }
+        else if( value instanceof ComponentStrategyId )
+        {
+            writer.writeByte( COMPONENT_STRATEGY_ID_VALUE_TAG );
+            writer.writeString( value.toString() );
+        }
+        else if( value instanceof ComponentSurfaceDesignId )
+        {
+            writer.writeByte( COMPONENT_SURFACE_DESIGN_ID_VALUE_TAG );
+            writer.writeString( value.toString() );
+        }
+        else if( value instanceof ContainerLayoutId )
+        {
+            writer.writeByte( CONTAINER_LAYOUT_ID_VALUE_TAG );
+            writer.writeString( value.toString() );
+        }
+        else
+        {
+            writer.writeByte( OBJECT_VALUE_TAG );
+            writer.writeObject( value );
+        }
+    }
+}
@@ -48,6 +48,20 @@ final class NonNlsMessages
     /** The response length must be greater than zero. */
     public static String BeginAuthenticationResponseMessage_setResponse_empty = ""; //$NON-NLS-1$
 
+    // --- MessagesBinarySchema ---------------------------------------------
+
+    /** The message type is illegal. */
+    public static String MessagesBinarySchema_readMessage_illegalMessageType = ""; //$NON-NLS-1$
+
+    /** A message field contains an illegal value. */
+    public static String MessagesBinarySchema_readMessage_illegalValue = ""; //$NON-NLS-1$
+
+    /** A required message field contains a null value. */
+    public static String MessagesBinarySchema_readMessage_nullValue = ""; //$NON-NLS-1$
+
+    /** The value tag is illegal. */
+    public static String MessagesBinarySchema_readValue_illegalTag = ""; //$NON-NLS-1$
+
 
     // ======================================================================
     // Constructors
@@ -67,4 +81,41 @@ final class NonNlsMessages
     private NonNlsMessages()
     {
     }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    // --- MessagesBinarySchema ---------------------------------------------
+
+    /**
+     * Gets the formatted message indicating the message type is illegal.
+     * 
+     * @param messageType
+     *        The message type.
+     * 
+     * @return The formatted message indicating the message type is illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String MessagesBinarySchema_readMessage_illegalMessageType(
+        final int messageType )
+    {
+        return bind( MessagesBinarySchema_readMessage_illegalMessageType, messageType );
+    }
+
+    /**
+     * Gets the formatted message indicating the value tag is illegal.
+     * 
+     * @param tag
+     *        The value tag.
+     * 
+     * @return The formatted message indicating the value tag is illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String MessagesBinarySchema_readValue_illegalTag(
+        final int tag )
+    {
+        return bind( MessagesBinarySchema_readValue_illegalTag, tag );
+    }
 }
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Set;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.Player;
 import org.gamegineer.table.internal.net.impl.transport.AbstractMessage;
 import org.gamegineer.table.net.IPlayer;
@@ -64,6 +65,28 @@ public final class PlayersMessage
      */
     private List<Set<PlayerRole>> playerRoles_;
 
+    /**
+     * The collection of smoothed round-trip times, in nanoseconds, of each
+     * player connected to the table network.
+     * 
+     * @serial The collection of smoothed round-trip times, in nanoseconds, of
+     *         each player connected to the table network; {@code null} if the
+     *         message was sent by a peer that does not measure round-trip
+     *         times.
+     */
+    private @Nullable List<Long> playerRoundTripTimes_;
+
+    /**
+     * The collection of smoothed round-trip time variations, in nanoseconds,
+     * of each player connected to the table network.
+     * 
+     * @serial The collection of smoothed round-trip time variations, in
+     *         nanoseconds, of each player connected to the table network;
+     *         {@code null} if the message was sent by a peer that does not
+     *         measure round-trip times.
+     */
+    private @Nullable List<Long> playerRoundTripTimeVariations_;
+
 
     // ======================================================================
     // Constructors
@@ -76,6 +99,8 @@ public final class PlayersMessage
     {
         playerNames_ = Collections.<@NonNull String>emptyList();
         playerRoles_ = Collections.<@NonNull Set<PlayerRole>>emptyList();
+        playerRoundTripTimes_ = Collections.<@NonNull Long>emptyList();
+        playerRoundTripTimeVariations_ = Collections.<@NonNull Long>emptyList();
     }
 
 
@@ -83,6 +108,58 @@ public final class PlayersMessage
     // Methods
     // ======================================================================
 
+    /**
+     * Gets the collection of names of each player connected to the table
+     * network.
+     * 
+     * @return The collection of names of each player connected to the table
+     *         network.
+     */
+    List<String> getPlayerNames()
+    {
+        return playerNames_;
+    }
+
+    /**
+     * Gets the collection of roles of each player connected to the table
+     * network.
+     * 
+     * @return The collection of roles of each player connected to the table
+     *         network.
+     */
+    List<Set<PlayerRole>> getPlayerRoles()
+    {
+        return playerRoles_;
+    }
+
+    /**
+     * Gets the collection of smoothed round-trip time variations, in
+     * nanoseconds, of each player connected to the table network.
+     * 
+     * @return The collection of smoothed round-trip time variations, in
+     *         nanoseconds, of each player connected to the table network or
+     *         {@code null} if the message was sent by a peer that does not
+     *         measure round-trip times.
+     */
+    @Nullable List<Long> getPlayerRoundTripTimeVariations()
+    {
+        return playerRoundTripTimeVariations_;
+    }
+
+    /**
+     * Gets the collection of smoothed round-trip times, in nanoseconds, of
+     * each player connected to the table network.
+     * 
+     * @return The collection of smoothed round-trip times, in nanoseconds, of
+     *         each player connected to the table network or {@code null} if
+     *         the message was sent by a peer that does not measure round-trip
+     *         times.
+     */
+    @Nullable List<Long> getPlayerRoundTripTimes()
+    {
+        return playerRoundTripTimes_;
+    }
+
     /**
      * Gets the collection of players connected to the table network.
      * 
@@ -95,6 +172,11 @@ public final class PlayersMessage
         final String localPlayerName )
     {
         assert playerNames_.size() == playerRoles_.size();
+        final List<Long> playerRoundTripTimes = playerRoundTripTimes_;
+        final List<Long> playerRoundTripTimeVariations = playerRoundTripTimeVariations_;
+        final boolean hasRoundTripTimes = (playerRoundTripTimes != null) && (playerRoundTripTimeVariations != null) //
+            && (playerRoundTripTimes.size() == playerNames_.size()) //
+            && (playerRoundTripTimeVariations.size() == playerNames_.size());
         final Collection<IPlayer> players = new ArrayList<>( playerNames_.size() );
         for( int index = 0, size = playerNames_.size(); index < size; ++index )
         {
@@ -108,6 +190,12 @@ public final class PlayersMessage
 
             final Player player = new Player( playerName );
             player.addRoles( playerRoles );
+            if( hasRoundTripTimes )
+            {
+                assert playerRoundTripTimes != null;
+                assert playerRoundTripTimeVariations != null;
+                player.setRoundTripTime( playerRoundTripTimes.get( index ).longValue(), playerRoundTripTimeVariations.get( index ).longValue() );
+            }
             players.add( player );
         }
 
@@ -125,6 +213,8 @@ public final class PlayersMessage
     {
         playerNames_ = new ArrayList<>( players.size() );
         playerRoles_ = new ArrayList<>( players.size() );
+        final List<Long> playerRoundTripTimes = new ArrayList<>( players.size() );
+        final List<Long> playerRoundTripTimeVariations = new ArrayList<>( players.size() );
         for( final IPlayer player : players )
         {
             final Set<PlayerRole> playerRoles = player.getRoles();
@@ -132,6 +222,42 @@ public final class PlayersMessage
 
             playerNames_.add( player.getName() );
             playerRoles_.add( playerRoles );
+            playerRoundTripTimes.add( Long.valueOf( player.getRoundTripTime() ) );
+            playerRoundTripTimeVariations.add( Long.valueOf( player.getRoundTripTimeVariation() ) );
         }
+        playerRoundTripTimes_ = playerRoundTripTimes;
+        playerRoundTripTimeVariations_ = playerRoundTripTimeVariations;
+    }
+
+    /**
+     * Sets the state of each player connected to the table network.
+     * 
+     * @param playerNames
+     *        The collection of names of each player connected to the table
+     *        network.
+     * @param playerRoles
+     *        The collection of roles of each player connected to the table
+     *        network; must have the same size as {@code playerNames}.
+     * @param playerRoundTripTimes
+     *        The collection of smoothed round-trip times, in nanoseconds, of
+     *        each player connected to the table network or {@code null} if
+     *        round-trip times are not measured.
+     * @param playerRoundTripTimeVariations
+     *        The collection of smoothed round-trip time variations, in
+     *        nanoseconds, of each player connected to the table network or
+     *        {@code null} if round-trip times are not measured.
+     */
+    void setPlayers(
+        final List<String> playerNames,
+        final List<Set<PlayerRole>> playerRoles,
+        final @Nullable List<Long> playerRoundTripTimes,
+        final @Nullable List<Long> playerRoundTripTimeVariations )
+    {
+        assert playerNames.size() == playerRoles.size();
+
+        playerNames_ = playerNames;
+        playerRoles_ = playerRoles;
+        playerRoundTripTimes_ = playerRoundTripTimes;
+        playerRoundTripTimeVariations_ = playerRoundTripTimeVariations;
     }
 }
@@ -37,6 +37,20 @@ public interface IRemoteClientNodeController
     // Methods
     // ======================================================================
 
+    /**
+     * Creates the token that identifies the connection to the client in
+     * location datagrams.
+     * 
+     * <p>
+     * Invoking this method more than once returns the same token.
+     * </p>
+     * 
+     * @return The token that identifies the connection to the client in
+     *         location datagrams or 0 if the server does not have an open
+     *         datagram channel.
+     */
+    public long createDatagramToken();
+
     /**
      * Gets the most-recent challenge used to authenticate the client.
      * 
@@ -46,6 +60,14 @@ public interface IRemoteClientNodeController
      */
     public byte @Nullable [] getChallenge();
 
+    /**
+     * Gets the port of the server datagram channel.
+     * 
+     * @return The port of the server datagram channel or 0 if the server does
+     *         not have an open datagram channel.
+     */
+    public int getDatagramPort();
+
     /**
      * Gets the most-recent salt used to authenticate the client.
      * 
@@ -77,6 +77,22 @@ public interface IServerNode
     public boolean isPlayerConnected(
         String playerName );
 
+    /**
+     * Invoked when the round-trip time between the table network host and the
+     * player associated with the specified remote node has been measured.
+     * 
+     * <p>
+     * The players connected to the table network are notified when the
+     * round-trip time differs significantly from the round-trip time they were
+     * last notified of.
+     * </p>
+     * 
+     * @param remoteNode
+     *        The remote node.
+     */
+    public void playerRoundTripTimeMeasured(
+        IRemoteClientNode remoteNode );
+
     /**
      * Requests that the active player be given control of the network table.
      * 
@@ -86,4 +102,18 @@ public interface IServerNode
      * </p>
      */
     public void requestControl();
+
+    /**
+     * Synchronizes the state of the table at the specified remote node with the
+     * master table.
+     * 
+     * <p>
+     * This method does nothing if the table network is not connected.
+     * </p>
+     * 
+     * @param remoteNode
+     *        The remote node.
+     */
+    public void synchronizeRemoteTable(
+        IRemoteClientNode remoteNode );
 }
@@ -25,6 +25,7 @@ import java.util.Collection;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.node.AbstractRemoteNode;
+import org.gamegineer.table.internal.net.impl.node.CongestionPolicy;
 import org.gamegineer.table.internal.net.impl.node.INodeLayer;
 import org.gamegineer.table.internal.net.impl.node.common.messages.CancelControlRequestMessage;
 import org.gamegineer.table.internal.net.impl.node.common.messages.GiveControlMessage;
@@ -102,6 +103,17 @@ final class RemoteClientNode
     // Methods
     // ======================================================================
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNodeController#createDatagramToken()
+     */
+    @Override
+    public long createDatagramToken()
+    {
+        assert isNodeLayerThread();
+
+        return issueDatagramToken();
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNodeController#getChallenge()
      */
@@ -113,6 +125,31 @@ final class RemoteClientNode
         return challenge_;
     }
 
+    /**
+     * This implementation returns
+     * {@link CongestionPolicy#RESYNCHRONIZE_TABLE} because the server can
+     * replace the backlog of a lagging client with a single fresh copy of the
+     * master table.
+     * 
+     * @see org.gamegineer.table.internal.net.impl.node.AbstractRemoteNode#getCongestionPolicy()
+     */
+    @Override
+    protected CongestionPolicy getCongestionPolicy()
+    {
+        return CongestionPolicy.RESYNCHRONIZE_TABLE;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNodeController#getDatagramPort()
+     */
+    @Override
+    public int getDatagramPort()
+    {
+        assert isNodeLayerThread();
+
+        return getLocalDatagramPort();
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNodeController#getSalt()
      */
@@ -133,6 +170,28 @@ final class RemoteClientNode
         return this;
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.AbstractRemoteNode#resynchronizeTable()
+     */
+    @Override
+    protected void resynchronizeTable()
+    {
+        assert isNodeLayerThread();
+
+        getLocalNode().synchronizeRemoteTable( this );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.AbstractRemoteNode#roundTripTimeMeasured()
+     */
+    @Override
+    protected void roundTripTimeMeasured()
+    {
+        assert isNodeLayerThread();
+
+        getLocalNode().playerRoundTripTimeMeasured( this );
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNodeController#setChallenge(byte[])
      */
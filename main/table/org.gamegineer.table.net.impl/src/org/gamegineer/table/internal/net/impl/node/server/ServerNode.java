@@ -25,7 +25,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.NonNull;
@@ -72,12 +74,26 @@ public final class ServerNode
     /** The master table for the table network. */
     private @Nullable ITable masterTable_;
 
+    /**
+     * The minimum change, in nanoseconds, in the round-trip time of a player
+     * that causes the players connected to the table network to be notified.
+     */
+    private static final long MINIMUM_SIGNIFICANT_ROUND_TRIP_TIME_CHANGE = TimeUnit.MILLISECONDS.toNanos( 5L );
+
     /**
      * The collection of players connected to the table network. The key is the
      * player name. The value is the player.
      */
     private final Map<String, Player> players_;
 
+    /**
+     * The round-trip time of each player as last sent to the players connected
+     * to the table network. The key is the player name. The value is the
+     * round-trip time in nanoseconds or {@code -1} if the round-trip time had
+     * not been measured.
+     */
+    private final Map<String, Long> publishedRoundTripTimes_;
+
     /** The table manager. */
     private final ITableManager tableManager_;
 
@@ -102,6 +118,7 @@ public final class ServerNode
 
         masterTable_ = null;
         players_ = new HashMap<>();
+        publishedRoundTripTimes_ = new HashMap<>();
         tableManager_ = new ServerTableManager();
     }
 
@@ -160,9 +177,11 @@ public final class ServerNode
 
         super.connecting( configuration );
 
+        openDatagramChannel( configuration.getHostName(), configuration.getPort() );
         initializeMasterTable( configuration.getLocalTable() );
         final Player player = new Player( getPlayerName() );
         player.addRoles( EnumSet.of( PlayerRole.EDITOR, PlayerRole.HOST, PlayerRole.LOCAL ) );
+        player.setRoundTripTime( 0L, 0L );
         bindPlayer( player );
     }
 
@@ -237,6 +256,7 @@ public final class ServerNode
         assert isNodeLayerThread();
 
         players_.clear();
+        publishedRoundTripTimes_.clear();
 
         super.dispose();
     }
@@ -260,6 +280,7 @@ public final class ServerNode
     {
         assert isNodeLayerThread();
 
+        updatePlayerRoundTripTimes();
         return new ArrayList<>( players_.values() );
     }
 
@@ -351,6 +372,33 @@ public final class ServerNode
         return players_.containsKey( playerName );
     }
 
+    /**
+     * Indicates the specified change in the round-trip time of a player is
+     * significant enough to notify the players connected to the table network.
+     * 
+     * @param publishedRoundTripTime
+     *        The round-trip time last sent to the players connected to the
+     *        table network in nanoseconds or {@code -1} if the round-trip time
+     *        had not been measured.
+     * @param roundTripTime
+     *        The most-recent round-trip time in nanoseconds or {@code -1} if
+     *        the round-trip time has not been measured.
+     * 
+     * @return {@code true} if the change in the round-trip time is significant;
+     *         otherwise {@code false}.
+     */
+    private static boolean isRoundTripTimeChangeSignificant(
+        final long publishedRoundTripTime,
+        final long roundTripTime )
+    {
+        if( (publishedRoundTripTime < 0L) || (roundTripTime < 0L) )
+        {
+            return publishedRoundTripTime != roundTripTime;
+        }
+
+        return Math.abs( roundTripTime - publishedRoundTripTime ) >= Math.max( MINIMUM_SIGNIFICANT_ROUND_TRIP_TIME_CHANGE, publishedRoundTripTime / 4L );
+    }
+
     /**
      * Notifies all remote nodes and the local table network controller that the
      * collection of players connected to the table network has been updated.
@@ -358,6 +406,12 @@ public final class ServerNode
     private void notifyPlayersUpdated()
     {
         final Collection<IPlayer> players = getPlayers();
+        publishedRoundTripTimes_.clear();
+        for( final IPlayer player : players )
+        {
+            publishedRoundTripTimes_.put( player.getName(), Long.valueOf( player.getRoundTripTime() ) );
+        }
+
         for( final IRemoteClientNode remoteNode : getRemoteNodes() )
         {
             remoteNode.setPlayers( players );
@@ -366,6 +420,22 @@ public final class ServerNode
         getTableNetworkController().playersUpdated();
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.server.IServerNode#playerRoundTripTimeMeasured(org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNode)
+     */
+    @Override
+    public void playerRoundTripTimeMeasured(
+        final IRemoteClientNode remoteNode )
+    {
+        assert isNodeLayerThread();
+
+        final Long publishedRoundTripTime = publishedRoundTripTimes_.get( remoteNode.getPlayerName() );
+        if( (publishedRoundTripTime != null) && isRoundTripTimeChangeSignificant( publishedRoundTripTime.longValue(), remoteNode.getRoundTripTime() ) )
+        {
+            notifyPlayersUpdated();
+        }
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.node.AbstractNode#remoteNodeBound(org.gamegineer.table.internal.net.impl.node.IRemoteNode)
      */
@@ -420,19 +490,20 @@ public final class ServerNode
         notifyPlayersUpdated();
     }
 
-    /**
-     * Synchronizes the state of the table at the specified remote node with the
-     * master table.
-     * 
-     * @param remoteNode
-     *        The remote node.
+    /*
+     * @see org.gamegineer.table.internal.net.impl.node.server.IServerNode#synchronizeRemoteTable(org.gamegineer.table.internal.net.impl.node.server.IRemoteClientNode)
      */
-    private void synchronizeRemoteTable(
+    @Override
+    public void synchronizeRemoteTable(
         final IRemoteClientNode remoteNode )
     {
+        assert isNodeLayerThread();
+
         final ITable masterTable = masterTable_;
-        assert masterTable != null;
-        remoteNode.getTable().setTableState( masterTable.createMemento() );
+        if( masterTable != null )
+        {
+            remoteNode.getTable().setTableState( masterTable.createMemento() );
+        }
     }
 
     /**
@@ -460,6 +531,22 @@ public final class ServerNode
         notifyPlayersUpdated();
     }
 
+    /**
+     * Updates the round-trip time of each remote player using the most-recent
+     * measurement of its associated remote node.
+     */
+    private void updatePlayerRoundTripTimes()
+    {
+        for( final IRemoteClientNode remoteNode : getRemoteNodes() )
+        {
+            final Player player = players_.get( remoteNode.getPlayerName() );
+            if( player != null )
+            {
+                player.setRoundTripTime( remoteNode.getRoundTripTime(), remoteNode.getRoundTripTimeVariation() );
+            }
+        }
+    }
+
 
     // ======================================================================
     // Nested Types
@@ -543,6 +630,23 @@ public final class ServerNode
             }
         }
 
+        /*
+         * @see org.gamegineer.table.internal.net.impl.node.AbstractNode.TableManager#incrementComponentStates(org.gamegineer.table.internal.net.impl.node.INetworkTable, java.util.List, java.util.List)
+         */
+        @Override
+        public void incrementComponentStates(
+            final INetworkTable sourceTable,
+            final List<ComponentPath> componentPaths,
+            final List<ComponentIncrement> componentIncrements )
+        {
+            if( verifyRequestingPlayerIsEditor() )
+            {
+                assert masterTable_ != null;
+                NetworkTableUtils.incrementComponentStates( masterTable_, componentPaths, componentIncrements );
+                super.incrementComponentStates( sourceTable, componentPaths, componentIncrements );
+            }
+        }
+
         /*
          * @see org.gamegineer.table.internal.net.impl.node.AbstractNode.TableManager#setTableState(org.gamegineer.table.internal.net.impl.node.INetworkTable, java.lang.Object)
          */
@@ -643,6 +747,26 @@ public final class ServerNode
             }
         }
 
+        /*
+         * @see org.gamegineer.table.internal.net.impl.node.ITableManager#incrementComponentStates(org.gamegineer.table.internal.net.impl.node.INetworkTable, java.util.List, java.util.List)
+         */
+        @Override
+        public void incrementComponentStates(
+            final INetworkTable sourceTable,
+            final List<ComponentPath> componentPaths,
+            final List<ComponentIncrement> componentIncrements )
+        {
+            ThreadPlayer.setPlayerName( localPlayerName_ );
+            try
+            {
+                tableManagerDecoratee_.incrementComponentStates( sourceTable, componentPaths, componentIncrements );
+            }
+            finally
+            {
+                ThreadPlayer.setPlayerName( null );
+            }
+        }
+
         /*
          * @see org.gamegineer.table.internal.net.impl.node.ITableManager#setTableState(org.gamegineer.table.internal.net.impl.node.INetworkTable, java.lang.Object)
          */
@@ -91,10 +91,20 @@ public final class HelloRequestMessageHandler
                 Integer.valueOf( message.getCorrelationId() ) ) );
 
         final IMessage responseMessage;
-        if( message.getSupportedProtocolVersion() >= ProtocolVersions.VERSION_1 )
+        final int chosenProtocolVersion = Math.min( message.getSupportedProtocolVersion(), ProtocolVersions.LATEST );
+        if( chosenProtocolVersion >= ProtocolVersions.VERSION_1 )
         {
             final HelloResponseMessage helloResponseMessage = new HelloResponseMessage();
-            helloResponseMessage.setChosenProtocolVersion( ProtocolVersions.VERSION_1 );
+            helloResponseMessage.setChosenProtocolVersion( chosenProtocolVersion );
+            if( chosenProtocolVersion >= ProtocolVersions.VERSION_6 )
+            {
+                final int datagramPort = remoteNodeController.getDatagramPort();
+                if( datagramPort != 0 )
+                {
+                    helloResponseMessage.setDatagramPort( datagramPort );
+                    helloResponseMessage.setDatagramToken( remoteNodeController.createDatagramToken() );
+                }
+            }
             responseMessage = helloResponseMessage;
         }
         else
@@ -114,6 +124,8 @@ public final class HelloRequestMessageHandler
             return;
         }
 
+        remoteNodeController.setProtocolVersion( chosenProtocolVersion );
+
         try
         {
             final Authenticator authenticator = new Authenticator();
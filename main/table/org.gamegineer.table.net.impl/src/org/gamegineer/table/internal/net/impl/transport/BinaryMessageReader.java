@@ -0,0 +1,436 @@
+/*
+ * BinaryMessageReader.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 4:31:05 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.ExtensibleEnum;
+import org.gamegineer.common.persistence.serializable.ObjectInputStream;
+import org.gamegineer.common.persistence.serializable.ObjectStreams;
+
+/**
+ * A reader of messages in the compact binary format.
+ * 
+ * <p>
+ * The reader maintains string and type tables identical to those of the peer
+ * {@link BinaryMessageWriter}; thus, messages must be read in the order in
+ * which they were written.
+ * </p>
+ */
+@NotThreadSafe
+public final class BinaryMessageReader
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** An empty byte buffer. */
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate( 0 );
+
+    /** The buffer containing the message being read. */
+    private ByteBuffer buffer_;
+
+    /** The string table in index order. */
+    private final List<String> strings_;
+
+    /**
+     * The type table in index order; each entry is the collection of values
+     * of the type in ordinal order.
+     */
+    private final List<List<? extends ExtensibleEnum>> types_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BinaryMessageReader} class.
+     */
+    BinaryMessageReader()
+    {
+        buffer_ = EMPTY_BUFFER;
+        strings_ = new ArrayList<>();
+        types_ = new ArrayList<>();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Clears the buffer containing the message being read.
+     */
+    void clearBuffer()
+    {
+        buffer_ = EMPTY_BUFFER;
+    }
+
+    /**
+     * Indicates the message being read contains data that has not been read.
+     * 
+     * @return {@code true} if the message being read contains data that has
+     *         not been read; otherwise {@code false}.
+     */
+    boolean hasRemaining()
+    {
+        return buffer_.hasRemaining();
+    }
+
+    /**
+     * Reads a boolean value.
+     * 
+     * @return The boolean value.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the value is malformed.
+     */
+    public boolean readBoolean()
+        throws IOException
+    {
+        final int value = readByte();
+        if( (value & ~1) != 0 )
+        {
+            throw new IOException( NonNlsMessages.BinaryMessageReader_readBoolean_illegalValue( value ) );
+        }
+
+        return value != 0;
+    }
+
+    /**
+     * Reads a byte value.
+     * 
+     * @return The byte value as an unsigned integer.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly.
+     */
+    public int readByte()
+        throws IOException
+    {
+        if( !buffer_.hasRemaining() )
+        {
+            throw new IOException( NonNlsMessages.BinaryMessageReader_truncated );
+        }
+
+        return buffer_.get() & 0xFF;
+    }
+
+    /**
+     * Reads a byte array.
+     * 
+     * @return A new byte array.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the length of the array is
+     *         malformed.
+     */
+    public byte[] readBytes()
+        throws IOException
+    {
+        final byte[] bytes = new byte[ readLength() ];
+        buffer_.get( bytes );
+        return bytes;
+    }
+
+    /**
+     * Reads an enum value.
+     * 
+     * @param <E>
+     *        The enum type.
+     * 
+     * @param type
+     *        The enum type.
+     * 
+     * @return The enum value or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the ordinal is illegal.
+     */
+    public <E extends Enum<E>> @Nullable E readEnum(
+        final Class<E> type )
+        throws IOException
+    {
+        final int tag = readUnsignedInt();
+        if( tag == BinaryMessageWriter.NULL_TAG )
+        {
+            return null;
+        }
+
+        final E[] values = type.getEnumConstants();
+        final int ordinal = tag - 1;
+        if( (ordinal < 0) || (ordinal >= values.length) )
+        {
+            throw new IOException( NonNlsMessages.BinaryMessageReader_readEnum_illegalOrdinal( type, ordinal ) );
+        }
+
+        return values[ ordinal ];
+    }
+
+    /**
+     * Reads an extensible enum value.
+     * 
+     * @param <T>
+     *        The extensible enum type.
+     * 
+     * @param type
+     *        The extensible enum type.
+     * 
+     * @return The extensible enum value or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly, the value is malformed, or the
+     *         value is not an instance of the specified type.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of the value cannot be found.
+     */
+    public <T extends ExtensibleEnum> @Nullable T readExtensibleEnum(
+        final Class<T> type )
+        throws IOException, ClassNotFoundException
+    {
+        final int tag = readUnsignedInt();
+        final Object value;
+        if( tag == BinaryMessageWriter.NULL_TAG )
+        {
+            return null;
+        }
+        else if( tag == BinaryMessageWriter.LITERAL_TAG )
+        {
+            value = readObject();
+            if( !(value instanceof ExtensibleEnum) )
+            {
+                throw new IOException( NonNlsMessages.BinaryMessageReader_readExtensibleEnum_unexpectedType( type ) );
+            }
+
+            if( types_.size() < BinaryMessageWriter.MAXIMUM_TYPE_COUNT )
+            {
+                types_.add( ExtensibleEnum.values( value.getClass().asSubclass( ExtensibleEnum.class ) ) );
+            }
+        }
+        else
+        {
+            final int index = tag - BinaryMessageWriter.REFERENCE_TAG;
+            if( (index < 0) || (index >= types_.size()) )
+            {
+                throw new IOException( NonNlsMessages.BinaryMessageReader_illegalTag( tag ) );
+            }
+
+            final List<? extends ExtensibleEnum> values = types_.get( index );
+            final int ordinal = readUnsignedInt();
+            if( (ordinal < 0) || (ordinal >= values.size()) )
+            {
+                throw new IOException( NonNlsMessages.BinaryMessageReader_readEnum_illegalOrdinal( type, ordinal ) );
+            }
+
+            value = values.get( ordinal );
+        }
+
+        if( !type.isInstance( value ) )
+        {
+            throw new IOException( NonNlsMessages.BinaryMessageReader_readExtensibleEnum_unexpectedType( type ) );
+        }
+
+        return type.cast( value );
+    }
+
+    /**
+     * Reads a signed integer value.
+     * 
+     * @return The signed integer value.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the value is malformed.
+     */
+    public int readInt()
+        throws IOException
+    {
+        final int bits = readUnsignedInt();
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    /**
+     * Reads a collection length.
+     * 
+     * <p>
+     * Because every element of a collection occupies at least one byte, the
+     * length is verified not to exceed the count of bytes remaining in the
+     * message so that a malformed message cannot cause an excessive
+     * allocation.
+     * </p>
+     * 
+     * @return The collection length.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the length is malformed.
+     */
+    public int readLength()
+        throws IOException
+    {
+        final int length = readUnsignedInt();
+        if( (length < 0) || (length > buffer_.remaining()) )
+        {
+            throw new IOException( NonNlsMessages.BinaryMessageReader_readLength_illegalLength( length ) );
+        }
+
+        return length;
+    }
+
+    /**
+     * Reads a signed long value.
+     * 
+     * @return The signed long value.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the value is malformed.
+     */
+    public long readLong()
+        throws IOException
+    {
+        long bits = 0L;
+        for( int shift = 0; shift < 64; shift += 7 )
+        {
+            final int b = readByte();
+            bits |= (long)(b & 0x7F) << shift;
+            if( (b & 0x80) == 0 )
+            {
+                return (bits >>> 1) ^ -(bits & 1L);
+            }
+        }
+
+        throw new IOException( NonNlsMessages.BinaryMessageReader_malformedInteger );
+    }
+
+    /**
+     * Reads an object using Java serialization.
+     * 
+     * @return The object or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the object cannot be
+     *         deserialized.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of the object cannot be found.
+     */
+    public @Nullable Object readObject()
+        throws IOException, ClassNotFoundException
+    {
+        try( final ObjectInputStream inputStream = ObjectStreams.createPlatformObjectInputStream( new ByteArrayInputStream( readBytes() ) ) )
+        {
+            return inputStream.readObject();
+        }
+    }
+
+    /**
+     * Reads a string.
+     * 
+     * @return The string or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the string is malformed.
+     */
+    public @Nullable String readString()
+        throws IOException
+    {
+        final int tag = readUnsignedInt();
+        if( tag == BinaryMessageWriter.NULL_TAG )
+        {
+            return null;
+        }
+        else if( tag == BinaryMessageWriter.LITERAL_TAG )
+        {
+            final int length = readLength();
+            final String string;
+            if( buffer_.hasArray() )
+            {
+                string = new String( buffer_.array(), buffer_.arrayOffset() + buffer_.position(), length, StandardCharsets.UTF_8 );
+                buffer_.position( buffer_.position() + length );
+            }
+            else
+            {
+                final byte[] bytes = new byte[ length ];
+                buffer_.get( bytes );
+                string = new String( bytes, StandardCharsets.UTF_8 );
+            }
+
+            if( BinaryMessageWriter.isInternable( string, strings_.size() ) )
+            {
+                strings_.add( string );
+            }
+
+            return string;
+        }
+
+        final int index = tag - BinaryMessageWriter.REFERENCE_TAG;
+        if( (index < 0) || (index >= strings_.size()) )
+        {
+            throw new IOException( NonNlsMessages.BinaryMessageReader_illegalTag( tag ) );
+        }
+
+        return strings_.get( index );
+    }
+
+    /**
+     * Reads an unsigned integer value.
+     * 
+     * @return The unsigned integer value.
+     * 
+     * @throws java.io.IOException
+     *         If the message ends unexpectedly or the value is malformed.
+     */
+    private int readUnsignedInt()
+        throws IOException
+    {
+        int bits = 0;
+        for( int shift = 0; shift < 32; shift += 7 )
+        {
+            final int b = readByte();
+            bits |= (b & 0x7F) << shift;
+            if( (b & 0x80) == 0 )
+            {
+                return bits;
+            }
+        }
+
+        throw new IOException( NonNlsMessages.BinaryMessageReader_malformedInteger );
+    }
+
+    /**
+     * Sets the buffer containing the message to be read.
+     * 
+     * @param buffer
+     *        The buffer containing the message to be read between its position
+     *        and limit. The position of the buffer is advanced as the message
+     *        is read.
+     */
+    void setBuffer(
+        final ByteBuffer buffer )
+    {
+        buffer_ = buffer;
+    }
+}
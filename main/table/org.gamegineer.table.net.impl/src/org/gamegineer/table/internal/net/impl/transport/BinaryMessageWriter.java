@@ -0,0 +1,505 @@
+/*
+ * BinaryMessageWriter.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 4:09:41 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.ExtensibleEnum;
+import org.gamegineer.common.persistence.serializable.ObjectOutputStream;
+import org.gamegineer.common.persistence.serializable.ObjectStreams;
+
+/**
+ * A writer of messages in the compact binary format.
+ * 
+ * <p>
+ * Integers are written as variable-length quantities in which each byte
+ * carries seven bits of the value, least significant group first; signed
+ * integers are first zig-zag encoded so that values of small magnitude occupy
+ * few bytes regardless of their sign.
+ * </p>
+ * 
+ * <p>
+ * Strings and extensible enum types are interned in tables that persist for
+ * the lifetime of the connection. The first occurrence of a string is written
+ * in full, and each subsequent occurrence is written as its index in the
+ * string table. Similarly, the first occurrence of a value of an extensible
+ * enum type is written using Java serialization so that the peer can resolve
+ * its type, and each subsequent value of that type is written as its index
+ * in the type table followed by its ordinal. Both tables are bounded, and the
+ * peer {@link BinaryMessageReader} maintains identical tables by applying the
+ * same rules.
+ * </p>
+ */
+@NotThreadSafe
+public final class BinaryMessageWriter
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The initial capacity of the buffer in bytes. */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** The tag that introduces an interned value written in full. */
+    static final int LITERAL_TAG = 1;
+
+    /**
+     * The maximum capacity of the buffer in bytes that is retained between
+     * messages.
+     */
+    private static final int MAXIMUM_RETAINED_CAPACITY = 8192;
+
+    /** The maximum count of strings in the string table. */
+    static final int MAXIMUM_STRING_COUNT = 4096;
+
+    /** The maximum length in characters of a string in the string table. */
+    static final int MAXIMUM_STRING_LENGTH = 128;
+
+    /** The maximum count of types in the type table. */
+    static final int MAXIMUM_TYPE_COUNT = 256;
+
+    /** The tag that represents a {@code null} value. */
+    static final int NULL_TAG = 0;
+
+    /** The tag that introduces the first reference to an interned value. */
+    static final int REFERENCE_TAG = 2;
+
+    /** The buffer containing the message being written. */
+    private byte[] buffer_;
+
+    /** The length in bytes of the message being written. */
+    private int length_;
+
+    /** The collection of string table indexes keyed by string. */
+    private final Map<String, Integer> stringIndexes_;
+
+    /** The string table in index order. */
+    private final List<String> strings_;
+
+    /**
+     * The count of strings in the string table when the message being written
+     * was begun.
+     */
+    private int stringTableMark_;
+
+    /** The collection of type table indexes keyed by type. */
+    private final Map<Class<?>, Integer> typeIndexes_;
+
+    /** The type table in index order. */
+    private final List<Class<?>> types_;
+
+    /**
+     * The count of types in the type table when the message being written was
+     * begun.
+     */
+    private int typeTableMark_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BinaryMessageWriter} class.
+     */
+    BinaryMessageWriter()
+    {
+        buffer_ = new byte[ INITIAL_CAPACITY ];
+        length_ = 0;
+        stringIndexes_ = new HashMap<>();
+        strings_ = new ArrayList<>();
+        stringTableMark_ = 0;
+        typeIndexes_ = new IdentityHashMap<>();
+        types_ = new ArrayList<>();
+        typeTableMark_ = 0;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Aborts the message being written.
+     * 
+     * <p>
+     * The content of the message is discarded, and any strings or types
+     * interned while writing the message are removed from their tables
+     * because the peer will never read the message.
+     * </p>
+     */
+    void abortMessage()
+    {
+        while( strings_.size() > stringTableMark_ )
+        {
+            stringIndexes_.remove( strings_.remove( strings_.size() - 1 ) );
+        }
+
+        while( types_.size() > typeTableMark_ )
+        {
+            typeIndexes_.remove( types_.remove( types_.size() - 1 ) );
+        }
+
+        resetBuffer();
+    }
+
+    /**
+     * Begins writing a new message.
+     * 
+     * @param reservedLength
+     *        The count of zero bytes to write at the start of the message.
+     */
+    void beginMessage(
+        final int reservedLength )
+    {
+        assert reservedLength >= 0;
+
+        length_ = 0;
+        ensureCapacity( reservedLength );
+        Arrays.fill( buffer_, 0, reservedLength, (byte)0 );
+        length_ = reservedLength;
+        stringTableMark_ = strings_.size();
+        typeTableMark_ = types_.size();
+    }
+
+    /**
+     * Ends writing the current message.
+     * 
+     * @return A new byte array containing the message.
+     */
+    byte[] endMessage()
+    {
+        final byte[] bytes = Arrays.copyOf( buffer_, length_ );
+        resetBuffer();
+        return bytes;
+    }
+
+    /**
+     * Ensures the buffer can accommodate the specified count of additional
+     * bytes.
+     * 
+     * @param count
+     *        The count of additional bytes.
+     */
+    private void ensureCapacity(
+        final int count )
+    {
+        final int minimumCapacity = length_ + count;
+        if( minimumCapacity > buffer_.length )
+        {
+            buffer_ = Arrays.copyOf( buffer_, Math.max( minimumCapacity, buffer_.length << 1 ) );
+        }
+    }
+
+    /**
+     * Gets the length in bytes of the message being written.
+     * 
+     * @return The length in bytes of the message being written.
+     */
+    int getLength()
+    {
+        return length_;
+    }
+
+    /**
+     * Indicates the specified string may be added to a string table of the
+     * specified size.
+     * 
+     * @param string
+     *        The string.
+     * @param stringCount
+     *        The count of strings in the string table.
+     * 
+     * @return {@code true} if the string may be added to the string table;
+     *         otherwise {@code false}.
+     */
+    static boolean isInternable(
+        final String string,
+        final int stringCount )
+    {
+        return (string.length() <= MAXIMUM_STRING_LENGTH) && (stringCount < MAXIMUM_STRING_COUNT);
+    }
+
+    /**
+     * Discards the content of the buffer, releasing its storage if it has
+     * grown beyond the maximum retained capacity.
+     */
+    private void resetBuffer()
+    {
+        length_ = 0;
+        if( buffer_.length > MAXIMUM_RETAINED_CAPACITY )
+        {
+            buffer_ = new byte[ INITIAL_CAPACITY ];
+        }
+    }
+
+    /**
+     * Writes the specified boolean value.
+     * 
+     * @param value
+     *        The boolean value.
+     */
+    public void writeBoolean(
+        final boolean value )
+    {
+        writeByte( value ? 1 : 0 );
+    }
+
+    /**
+     * Writes the specified byte value.
+     * 
+     * @param value
+     *        The byte value; only the low-order eight bits are written.
+     */
+    public void writeByte(
+        final int value )
+    {
+        ensureCapacity( 1 );
+        buffer_[ length_++ ] = (byte)value;
+    }
+
+    /**
+     * Writes the specified byte array.
+     * 
+     * @param bytes
+     *        The byte array.
+     */
+    public void writeBytes(
+        final byte[] bytes )
+    {
+        writeLength( bytes.length );
+        ensureCapacity( bytes.length );
+        System.arraycopy( bytes, 0, buffer_, length_, bytes.length );
+        length_ += bytes.length;
+    }
+
+    /**
+     * Writes the specified enum value as its ordinal.
+     * 
+     * @param value
+     *        The enum value or {@code null}.
+     */
+    public void writeEnum(
+        final @Nullable Enum<?> value )
+    {
+        writeUnsignedInt( (value != null) ? value.ordinal() + 1 : NULL_TAG );
+    }
+
+    /**
+     * Writes the specified extensible enum value.
+     * 
+     * @param value
+     *        The extensible enum value or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the value is the first value of its type and it cannot be
+     *         serialized.
+     */
+    public void writeExtensibleEnum(
+        final @Nullable ExtensibleEnum value )
+        throws IOException
+    {
+        if( value == null )
+        {
+            writeUnsignedInt( NULL_TAG );
+            return;
+        }
+
+        final Class<?> type = value.getClass();
+        final Integer index = typeIndexes_.get( type );
+        if( index != null )
+        {
+            writeUnsignedInt( index.intValue() + REFERENCE_TAG );
+            writeUnsignedInt( value.ordinal() );
+            return;
+        }
+
+        writeUnsignedInt( LITERAL_TAG );
+        writeObject( value );
+        if( types_.size() < MAXIMUM_TYPE_COUNT )
+        {
+            typeIndexes_.put( type, Integer.valueOf( types_.size() ) );
+            types_.add( type );
+        }
+    }
+
+    /**
+     * Writes the specified signed integer value.
+     * 
+     * @param value
+     *        The signed integer value.
+     */
+    public void writeInt(
+        final int value )
+    {
+        writeUnsignedInt( (value << 1) ^ (value >> 31) );
+    }
+
+    /**
+     * Writes the specified collection length.
+     * 
+     * @param length
+     *        The collection length; must not be negative.
+     */
+    public void writeLength(
+        final int length )
+    {
+        assert length >= 0;
+
+        writeUnsignedInt( length );
+    }
+
+    /**
+     * Writes the specified signed long value.
+     * 
+     * @param value
+     *        The signed long value.
+     */
+    public void writeLong(
+        final long value )
+    {
+        long bits = (value << 1) ^ (value >> 63);
+        ensureCapacity( 10 );
+        while( (bits & ~0x7FL) != 0L )
+        {
+            buffer_[ length_++ ] = (byte)((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        buffer_[ length_++ ] = (byte)bits;
+    }
+
+    /**
+     * Writes the specified object using Java serialization.
+     * 
+     * <p>
+     * This method is intended for objects that have no compact binary
+     * representation. The object is written as a self-contained object
+     * stream.
+     * </p>
+     * 
+     * @param object
+     *        The object or {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the object cannot be serialized.
+     */
+    public void writeObject(
+        final @Nullable Object object )
+        throws IOException
+    {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try( final ObjectOutputStream outputStream = ObjectStreams.createPlatformObjectOutputStream( byteStream ) )
+        {
+            outputStream.writeObject( object );
+        }
+
+        writeBytes( byteStream.toByteArray() );
+    }
+
+    /**
+     * Writes the specified string.
+     * 
+     * @param string
+     *        The string or {@code null}.
+     */
+    public void writeString(
+        final @Nullable String string )
+    {
+        if( string == null )
+        {
+            writeUnsignedInt( NULL_TAG );
+            return;
+        }
+
+        final Integer index = stringIndexes_.get( string );
+        if( index != null )
+        {
+            writeUnsignedInt( index.intValue() + REFERENCE_TAG );
+            return;
+        }
+
+        writeUnsignedInt( LITERAL_TAG );
+        writeStringLiteral( string );
+        if( isInternable( string, strings_.size() ) )
+        {
+            stringIndexes_.put( string, Integer.valueOf( strings_.size() ) );
+            strings_.add( string );
+        }
+    }
+
+    /**
+     * Writes the specified string as its length in bytes followed by its UTF-8
+     * encoding.
+     * 
+     * @param string
+     *        The string.
+     */
+    private void writeStringLiteral(
+        final String string )
+    {
+        final int stringLength = string.length();
+        for( int index = 0; index < stringLength; ++index )
+        {
+            if( string.charAt( index ) >= 0x80 )
+            {
+                writeBytes( string.getBytes( StandardCharsets.UTF_8 ) );
+                return;
+            }
+        }
+
+        // fast path for ASCII strings
+        writeLength( stringLength );
+        ensureCapacity( stringLength );
+        for( int index = 0; index < stringLength; ++index )
+        {
+            buffer_[ length_++ ] = (byte)string.charAt( index );
+        }
+    }
+
+    /**
+     * Writes the specified unsigned integer value.
+     * 
+     * @param value
+     *        The unsigned integer value.
+     */
+    private void writeUnsignedInt(
+        final int value )
+    {
+        int bits = value;
+        ensureCapacity( 5 );
+        while( (bits & ~0x7F) != 0 )
+        {
+            buffer_[ length_++ ] = (byte)((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        buffer_[ length_++ ] = (byte)bits;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * ByteBufferInputStream.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:44 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * An input stream that reads from the remaining bytes of a byte buffer.
+ * 
+ * <p>
+ * The stream reads directly from the byte buffer without first copying its
+ * contents to an intermediate array. The byte buffer position is advanced as
+ * bytes are read from the stream. The byte buffer may be replaced at any time
+ * so that a long-lived stream decorator can read from a sequence of buffers.
+ * </p>
+ */
+@NotThreadSafe
+final class ByteBufferInputStream
+    extends InputStream
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The byte buffer from which the stream reads. */
+    private ByteBuffer buffer_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code ByteBufferInputStream} class.
+     * 
+     * @param buffer
+     *        The byte buffer from which the stream reads. No copy is made of
+     *        this buffer and its remaining bytes must not be modified while
+     *        the stream is in use.
+     */
+    ByteBufferInputStream(
+        final ByteBuffer buffer )
+    {
+        buffer_ = buffer;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see java.io.InputStream#available()
+     */
+    @Override
+    public int available()
+    {
+        return buffer_.remaining();
+    }
+
+    /*
+     * @see java.io.InputStream#read()
+     */
+    @Override
+    public int read()
+    {
+        if( !buffer_.hasRemaining() )
+        {
+            return -1;
+        }
+
+        return buffer_.get() & 0x000000FF;
+    }
+
+    /*
+     * @see java.io.InputStream#read(byte[], int, int)
+     */
+    @Override
+    public int read(
+        final byte[] b,
+        final int off,
+        final int len )
+    {
+        if( (off < 0) || (len < 0) || (len > (b.length - off)) )
+        {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if( len == 0 )
+        {
+            return 0;
+        }
+
+        if( !buffer_.hasRemaining() )
+        {
+            return -1;
+        }
+
+        final int bytesToRead = Math.min( len, buffer_.remaining() );
+        buffer_.get( b, off, bytesToRead );
+        return bytesToRead;
+    }
+
+    /**
+     * Sets the byte buffer from which the stream reads.
+     * 
+     * @param buffer
+     *        The byte buffer from which the stream reads. No copy is made of
+     *        this buffer and its remaining bytes must not be modified while
+     *        the stream is in use.
+     */
+    void setBuffer(
+        final ByteBuffer buffer )
+    {
+        buffer_ = buffer;
+    }
+
+    /*
+     * @see java.io.InputStream#skip(long)
+     */
+    @Override
+    public long skip(
+        final long n )
+    {
+        if( n <= 0L )
+        {
+            return 0L;
+        }
+
+        final int bytesToSkip = (int)Math.min( n, buffer_.remaining() );
+        buffer_.position( buffer_.position() + bytesToSkip );
+        return bytesToSkip;
+    }
+}
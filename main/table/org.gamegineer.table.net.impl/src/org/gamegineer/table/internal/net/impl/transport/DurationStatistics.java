@@ -0,0 +1,145 @@
+/*
+ * DurationStatistics.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:31:05 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A set of statistics that summarize a sequence of durations.
+ * 
+ * <p>
+ * Each duration recorded in a set of statistics is also recorded in its parent
+ * set of statistics, if any. The statistics reported by this class are not
+ * read atomically with respect to each other; thus, the average may be
+ * slightly stale relative to the count while durations are being recorded.
+ * </p>
+ */
+@ThreadSafe
+public final class DurationStatistics
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The count of durations recorded. */
+    private final LongAdder count_;
+
+    /** The maximum duration recorded in nanoseconds. */
+    private final AtomicLong maximum_;
+
+    /**
+     * The parent set of statistics or {@code null} if this set of statistics
+     * has no parent.
+     */
+    private final @Nullable DurationStatistics parent_;
+
+    /** The sum of all durations recorded in nanoseconds. */
+    private final LongAdder total_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code DurationStatistics} class.
+     * 
+     * @param parent
+     *        The parent set of statistics or {@code null} if this set of
+     *        statistics has no parent.
+     */
+    public DurationStatistics(
+        final @Nullable DurationStatistics parent )
+    {
+        count_ = new LongAdder();
+        maximum_ = new AtomicLong( 0L );
+        parent_ = parent;
+        total_ = new LongAdder();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the average duration recorded.
+     * 
+     * @return The average duration recorded in nanoseconds or 0 if no duration
+     *         has been recorded.
+     */
+    public long getAverage()
+    {
+        final long count = count_.sum();
+        return (count != 0L) ? (total_.sum() / count) : 0L;
+    }
+
+    /**
+     * Gets the count of durations recorded.
+     * 
+     * @return The count of durations recorded.
+     */
+    public long getCount()
+    {
+        return count_.sum();
+    }
+
+    /**
+     * Gets the maximum duration recorded.
+     * 
+     * @return The maximum duration recorded in nanoseconds or 0 if no duration
+     *         has been recorded.
+     */
+    public long getMaximum()
+    {
+        return maximum_.get();
+    }
+
+    /**
+     * Records the specified duration.
+     * 
+     * @param duration
+     *        The duration in nanoseconds; negative durations are recorded as
+     *        zero.
+     */
+    public void record(
+        final long duration )
+    {
+        final long normalizedDuration = Math.max( duration, 0L );
+        count_.increment();
+        total_.add( normalizedDuration );
+
+        long maximum = maximum_.get();
+        while( (normalizedDuration > maximum) && !maximum_.compareAndSet( maximum, normalizedDuration ) )
+        {
+            maximum = maximum_.get();
+        }
+
+        if( parent_ != null )
+        {
+            parent_.record( normalizedDuration );
+        }
+    }
+}
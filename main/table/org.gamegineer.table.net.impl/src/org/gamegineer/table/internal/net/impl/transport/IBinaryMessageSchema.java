@@ -0,0 +1,81 @@
+/*
+ * IBinaryMessageSchema.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 4:02:18 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.IOException;
+
+/**
+ * A schema that describes the compact binary representation of a family of
+ * messages.
+ * 
+ * <p>
+ * A schema is used by a {@link MessageCodec} to encode and decode message
+ * envelope bodies in the compact binary format. Implementations must be
+ * stateless; any state shared between messages, such as interned strings, is
+ * maintained by the binary message writer and reader associated with the
+ * connection.
+ * </p>
+ */
+public interface IBinaryMessageSchema
+{
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Reads a message from the specified binary message reader.
+     * 
+     * @param reader
+     *        The binary message reader.
+     * 
+     * @return The message read from the binary message reader.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be read from the binary message reader.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of an object embedded in the message cannot be
+     *         found.
+     */
+    public IMessage readMessage(
+        BinaryMessageReader reader )
+        throws IOException, ClassNotFoundException;
+
+    /**
+     * Writes the specified message to the specified binary message writer.
+     * 
+     * @param message
+     *        The message.
+     * @param writer
+     *        The binary message writer.
+     * 
+     * @return {@code true} if the message was written; {@code false} if the
+     *         schema does not describe the message, in which case nothing was
+     *         written to the binary message writer.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be written to the binary message writer.
+     */
+    public boolean writeMessage(
+        IMessage message,
+        BinaryMessageWriter writer )
+        throws IOException;
+}
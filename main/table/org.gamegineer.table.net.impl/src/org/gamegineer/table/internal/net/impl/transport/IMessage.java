@@ -35,8 +35,14 @@ public interface IMessage
     // Fields
     // ======================================================================
 
+    /**
+     * The maximum message identifier that may be exchanged with a peer that
+     * does not support wide message identifiers.
+     */
+    public final int MAXIMUM_COMPACT_ID = 0xFF;
+
     /** The maximum message identifier. */
-    public final int MAXIMUM_ID = 0xFF;
+    public final int MAXIMUM_ID = Integer.MAX_VALUE;
 
     /** The minimum message identifier value. */
     public final int MINIMUM_ID = 0x01;
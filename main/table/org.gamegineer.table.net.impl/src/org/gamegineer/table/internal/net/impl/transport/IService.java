@@ -47,6 +47,29 @@ public interface IService
     public void messageReceived(
         MessageEnvelope messageEnvelope );
 
+    /**
+     * Invoked when the output queue of the service becomes congested or is no
+     * longer congested.
+     * 
+     * <p>
+     * The output queue becomes congested when the number of bytes waiting to
+     * be sent to the peer service exceeds the high watermark configured for
+     * the transport layer. It is no longer congested once that number drops
+     * to the low watermark. While its output queue is congested, the service
+     * should avoid sending messages that are likely to be superseded before
+     * they can be delivered to the peer service.
+     * </p>
+     * 
+     * @param isCongested
+     *        {@code true} if the output queue is congested; otherwise
+     *        {@code false}.
+     * @param outputQueueLength
+     *        The number of bytes waiting to be sent to the peer service.
+     */
+    public void outputQueueCongestionChanged(
+        boolean isCongested,
+        long outputQueueLength );
+
     /**
      * Invoked when the peer service has stopped.
      */
@@ -37,6 +37,37 @@ public interface IServiceContext
     // Methods
     // ======================================================================
 
+    /**
+     * Gets the transport metrics of the connection associated with the
+     * service.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @return The transport metrics of the connection associated with the
+     *         service.
+     */
+    public ITransportMetrics getMetrics();
+
+    /**
+     * Sends the specified control message envelope to the service peer.
+     * 
+     * <p>
+     * A control message envelope contains a message that does not depend on
+     * the order of the other messages sent to the service peer, such as a
+     * heartbeat. Unlike the message envelopes sent using
+     * {@link #sendMessageEnvelope(MessageEnvelope)}, it may be written between
+     * the fragments of a large message that is being transferred, but it is
+     * never written ahead of any other message envelope.
+     * </p>
+     * 
+     * @param messageEnvelope
+     *        The control message envelope.
+     */
+    public void sendControlMessageEnvelope(
+        MessageEnvelope messageEnvelope );
+
     /**
      * Sends the specified message to the service peer.
      * 
@@ -46,6 +77,65 @@ public interface IServiceContext
     public void sendMessage(
         IMessage message );
 
+    /**
+     * Sends the specified message envelope to the service peer.
+     * 
+     * <p>
+     * The message envelope is sent as is; its body is not serialized again.
+     * This method is intended for sending a message that has already been
+     * serialized once to many service peers (see
+     * {@link MessageEnvelope#withIds(int, int)}).
+     * </p>
+     * 
+     * <p>
+     * Message envelopes are received by the service peer in the order in
+     * which they were sent, even if some of them are transferred in fragments.
+     * </p>
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     */
+    public void sendMessageEnvelope(
+        MessageEnvelope messageEnvelope );
+
+    /**
+     * Sets a value indicating the bodies of messages sent to the service peer
+     * may be compressed.
+     * 
+     * <p>
+     * When enabled, the body of each message whose length reaches the
+     * compression threshold of the transport layer is compressed before it is
+     * sent unless compression would not reduce its length. This option should
+     * only be enabled after the service peer has indicated it supports
+     * compressed messages. Messages sent before this method is called are not
+     * affected.
+     * </p>
+     * 
+     * @param isCompressionEnabled
+     *        {@code true} if the bodies of messages sent to the service peer
+     *        may be compressed; otherwise {@code false}.
+     */
+    public void setCompressionEnabled(
+        boolean isCompressionEnabled );
+
+    /**
+     * Sets a value indicating messages that exceed the maximum length of a
+     * compact message envelope may be sent to the service peer.
+     * 
+     * <p>
+     * Such messages are transferred in fragments that the peer must be able to
+     * reassemble. This option should only be enabled after the service peer
+     * has indicated it supports large message transfer. Messages sent before
+     * this method is called are not affected.
+     * </p>
+     * 
+     * @param isLargeMessageTransferEnabled
+     *        {@code true} if large messages may be sent to the service peer;
+     *        otherwise {@code false}.
+     */
+    public void setLargeMessageTransferEnabled(
+        boolean isLargeMessageTransferEnabled );
+
     /**
      * Stops the service.
      * 
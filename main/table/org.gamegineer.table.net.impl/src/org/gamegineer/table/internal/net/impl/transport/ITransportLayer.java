@@ -112,4 +112,17 @@ public interface ITransportLayer
     public void endOpen(
         Future<@Nullable Void> future )
         throws TransportException, InterruptedException;
+
+    /**
+     * Gets the transport metrics that aggregate the activity of all
+     * connections managed by the transport layer.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @return The transport metrics that aggregate the activity of all
+     *         connections managed by the transport layer.
+     */
+    public ITransportMetrics getMetrics();
 }
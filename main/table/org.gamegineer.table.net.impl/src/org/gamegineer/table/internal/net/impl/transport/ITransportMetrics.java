@@ -0,0 +1,142 @@
+/*
+ * ITransportMetrics.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:47 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+/**
+ * A set of statistics that describe the activity of one or more network
+ * connections managed by a transport layer.
+ * 
+ * <p>
+ * All statistics are accumulated from the time the associated connection or
+ * transport layer was opened. All methods of this interface may be invoked
+ * from any thread.
+ * </p>
+ * 
+ * <p>
+ * All durations are expressed in nanoseconds.
+ * </p>
+ * 
+ * @noextend This interface is not intended to be extended by clients.
+ */
+public interface ITransportMetrics
+{
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the average time required to complete one iteration of the event
+     * dispatch loop.
+     * 
+     * <p>
+     * An iteration begins when the dispatcher returns from selecting the ready
+     * channels and ends when all ready event handlers and pending tasks have
+     * been run.
+     * </p>
+     * 
+     * @return The average time required to complete one iteration of the
+     *         event dispatch loop or 0 if no iteration has completed.
+     */
+    public long getAverageDispatchTime();
+
+    /**
+     * Gets the average time elapsed between a request to send a message and
+     * the last byte of the message being written to the socket.
+     * 
+     * @return The average time elapsed between a request to send a message
+     *         and the last byte of the message being written to the socket or
+     *         0 if no message has been sent.
+     */
+    public long getAverageSendLatency();
+
+    /**
+     * Gets the number of bytes received from the socket.
+     * 
+     * @return The number of bytes received from the socket.
+     */
+    public long getBytesReceived();
+
+    /**
+     * Gets the number of bytes written to the socket.
+     * 
+     * @return The number of bytes written to the socket.
+     */
+    public long getBytesSent();
+
+    /**
+     * Gets the number of iterations of the event dispatch loop that have
+     * completed.
+     * 
+     * @return The number of iterations of the event dispatch loop that have
+     *         completed.
+     */
+    public long getDispatchCount();
+
+    /**
+     * Gets the number of bytes received from the socket that have not yet been
+     * decoded into a message.
+     * 
+     * @return The number of bytes received from the socket that have not yet
+     *         been decoded into a message.
+     */
+    public long getInputQueueLength();
+
+    /**
+     * Gets the maximum time required to complete one iteration of the event
+     * dispatch loop.
+     * 
+     * @return The maximum time required to complete one iteration of the
+     *         event dispatch loop or 0 if no iteration has completed.
+     */
+    public long getMaximumDispatchTime();
+
+    /**
+     * Gets the maximum time elapsed between a request to send a message and
+     * the last byte of the message being written to the socket.
+     * 
+     * @return The maximum time elapsed between a request to send a message
+     *         and the last byte of the message being written to the socket or
+     *         0 if no message has been sent.
+     */
+    public long getMaximumSendLatency();
+
+    /**
+     * Gets the number of messages received from the socket.
+     * 
+     * @return The number of messages received from the socket.
+     */
+    public long getMessagesReceived();
+
+    /**
+     * Gets the number of messages completely written to the socket.
+     * 
+     * @return The number of messages completely written to the socket.
+     */
+    public long getMessagesSent();
+
+    /**
+     * Gets the number of bytes waiting to be written to the socket.
+     * 
+     * @return The number of bytes waiting to be written to the socket.
+     */
+    public long getOutputQueueLength();
+}
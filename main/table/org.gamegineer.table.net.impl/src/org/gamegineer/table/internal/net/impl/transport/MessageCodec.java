@@ -0,0 +1,658 @@
+/*
+ * MessageCodec.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 5:03:48 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectStreamConstants;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Inflater;
+import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.persistence.serializable.ObjectInputStream;
+import org.gamegineer.common.persistence.serializable.ObjectOutputStream;
+import org.gamegineer.common.persistence.serializable.ObjectStreams;
+
+/**
+ * A codec that serializes messages to and deserializes messages from message
+ * envelopes using object streams that persist for the lifetime of a
+ * connection.
+ * 
+ * <p>
+ * A message envelope created by {@link MessageEnvelope#fromMessage(IMessage)}
+ * contains a complete object stream, including the stream header and the
+ * descriptors of every class in the message object graph. A message envelope
+ * created by a codec instead contains the segment of a long-lived object
+ * stream that encodes a single message. Each segment begins with a stream
+ * reset so that object graphs are never shared between messages, but the
+ * class descriptors written in previous segments are retained and written
+ * only as compact handles. Thus, the class descriptors of frequently sent
+ * messages are transferred once per connection rather than once per message.
+ * </p>
+ * 
+ * <p>
+ * Each end of a connection owns one codec. The message envelopes encoded by a
+ * codec must be delivered to the peer codec in the order in which they were
+ * encoded, and each such message envelope must be decoded by the peer codec
+ * exactly once. A message whose body would exceed
+ * {@link MessageEnvelope.Header#MAXIMUM_BODY_LENGTH} is transferred in
+ * fragments that may be overtaken by subsequent control messages (see
+ * {@link IServiceContext#sendControlMessageEnvelope(MessageEnvelope)});
+ * therefore, such a message is encoded in a self-contained message envelope
+ * instead. A codec can decode both stream encoded and self-contained message
+ * envelopes.
+ * </p>
+ * 
+ * <p>
+ * A codec created with a binary message schema can also encode messages in
+ * the compact binary format described by the schema once binary encoding has
+ * been enabled (see {@link #setBinaryEncodingEnabled(boolean)}). A binary
+ * encoded message envelope body begins with {@link #BINARY_BODY_TAG} and is
+ * followed by the message as written by the schema. Strings and types are
+ * interned for the lifetime of the connection, so binary encoded message
+ * envelopes are subject to the same ordering constraints as stream encoded
+ * message envelopes. Messages not described by the schema are stream encoded.
+ * </p>
+ */
+@NotThreadSafe
+public final class MessageCodec
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The tag that begins a binary encoded message envelope body. */
+    static final byte BINARY_BODY_TAG = 0x01;
+
+    /** An empty byte buffer. */
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate( 0 );
+
+    /**
+     * The object stream header that is not transferred but is implied at the
+     * start of the first stream encoded message envelope body.
+     */
+    private static final byte[] STREAM_HEADER = new byte[] {
+        (byte)(ObjectStreamConstants.STREAM_MAGIC >>> 8), //
+        (byte)ObjectStreamConstants.STREAM_MAGIC, //
+        (byte)(ObjectStreamConstants.STREAM_VERSION >>> 8), //
+        (byte)ObjectStreamConstants.STREAM_VERSION
+    };
+
+    /** The reader used to decode binary encoded message envelopes. */
+    private final BinaryMessageReader binaryMessageReader_;
+
+    /**
+     * The binary message schema or {@code null} if binary encoding is not
+     * supported.
+     */
+    private final @Nullable IBinaryMessageSchema binaryMessageSchema_;
+
+    /** The writer used to encode binary encoded message envelopes. */
+    private final BinaryMessageWriter binaryMessageWriter_;
+
+    /**
+     * The input stream from which the object input stream reads the body of
+     * the message envelope being decoded.
+     */
+    private final ByteBufferInputStream bodyInputStream_;
+
+    /**
+     * The output stream to which the object output stream writes the body of
+     * the message envelope being encoded.
+     */
+    private final BodyOutputStream bodyOutputStream_;
+
+    /**
+     * The inflater used to decompress compressed message envelopes or
+     * {@code null} if no compressed message envelope has been decoded.
+     */
+    private @Nullable Inflater inflater_;
+
+    /** Indicates messages are encoded in the compact binary format. */
+    private boolean isBinaryEncodingEnabled_;
+
+    /**
+     * Indicates the binary message reader is corrupt and no further binary
+     * encoded message envelopes can be decoded.
+     */
+    private boolean isBinaryReaderCorrupt_;
+
+    /**
+     * Indicates the object input stream is corrupt and no further stream
+     * encoded message envelopes can be decoded.
+     */
+    private boolean isInputStreamCorrupt_;
+
+    /**
+     * Indicates the object output stream is corrupt and all further messages
+     * must be encoded in self-contained message envelopes.
+     */
+    private boolean isOutputStreamCorrupt_;
+
+    /**
+     * The object input stream or {@code null} if no stream encoded message
+     * envelope has been decoded.
+     */
+    private @Nullable ObjectInputStream objectInputStream_;
+
+    /**
+     * The object output stream or {@code null} if no message has been
+     * encoded.
+     */
+    private @Nullable ObjectOutputStream objectOutputStream_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code MessageCodec} class that does
+     * not support binary encoding.
+     */
+    public MessageCodec()
+    {
+        this( null );
+    }
+
+    /**
+     * Initializes a new instance of the {@code MessageCodec} class.
+     * 
+     * @param binaryMessageSchema
+     *        The binary message schema or {@code null} if binary encoding is
+     *        not supported.
+     */
+    public MessageCodec(
+        final @Nullable IBinaryMessageSchema binaryMessageSchema )
+    {
+        binaryMessageReader_ = new BinaryMessageReader();
+        binaryMessageSchema_ = binaryMessageSchema;
+        binaryMessageWriter_ = new BinaryMessageWriter();
+        bodyInputStream_ = new ByteBufferInputStream( EMPTY_BUFFER );
+        bodyOutputStream_ = new BodyOutputStream();
+        inflater_ = null;
+        isBinaryEncodingEnabled_ = false;
+        isBinaryReaderCorrupt_ = false;
+        isInputStreamCorrupt_ = false;
+        isOutputStreamCorrupt_ = false;
+        objectInputStream_ = null;
+        objectOutputStream_ = null;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Decodes the message contained in the specified message envelope.
+     * 
+     * <p>
+     * If the message envelope is not stream encoded, this method is equivalent
+     * to {@link MessageEnvelope#getMessage()}. Otherwise, the message is
+     * deserialized from the object input stream of this codec, and thus stream
+     * encoded message envelopes must be decoded in the order in which they
+     * were received. Binary encoded message envelopes are decoded using the
+     * binary message schema of this codec.
+     * </p>
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return The message contained in the message envelope.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be deserialized from the message envelope
+     *         body, the object input stream or binary message reader of this
+     *         codec is corrupt, or the message envelope body is binary encoded
+     *         and this codec has no binary message schema.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of the message cannot be found.
+     */
+    public IMessage decode(
+        final MessageEnvelope messageEnvelope )
+        throws IOException, ClassNotFoundException
+    {
+        final MessageEnvelope uncompressedMessageEnvelope = messageEnvelope.getHeader().isCompressed() ? messageEnvelope.decompress( getInflater(), MessageEnvelope.Header.MAXIMUM_EXTENDED_BODY_LENGTH ) : messageEnvelope;
+        if( !uncompressedMessageEnvelope.isStreamEncoded() )
+        {
+            return uncompressedMessageEnvelope.getMessage();
+        }
+
+        final ByteBuffer body = uncompressedMessageEnvelope.getBody();
+        if( body.get( body.position() ) == BINARY_BODY_TAG )
+        {
+            return decodeBinary( uncompressedMessageEnvelope.getHeader(), body );
+        }
+
+        if( isInputStreamCorrupt_ )
+        {
+            throw new IOException( NonNlsMessages.MessageCodec_decode_streamCorrupt );
+        }
+
+        final Object object;
+        try
+        {
+            final ObjectInputStream objectInputStream = getObjectInputStream();
+            bodyInputStream_.setBuffer( body );
+            object = objectInputStream.readObject();
+            if( body.hasRemaining() )
+            {
+                throw new IOException( NonNlsMessages.MessageCodec_decode_trailingData );
+            }
+        }
+        catch( final IOException e )
+        {
+            isInputStreamCorrupt_ = true;
+            throw e;
+        }
+        finally
+        {
+            bodyInputStream_.setBuffer( EMPTY_BUFFER );
+        }
+
+        if( (object != null) && !(object instanceof IMessage) )
+        {
+            throw new IOException( NonNlsMessages.MessageCodec_decode_unexpectedObject );
+        }
+
+        return MessageEnvelope.initializeMessage( uncompressedMessageEnvelope.getHeader(), (IMessage)object );
+    }
+
+    /**
+     * Decodes the message contained in the specified binary encoded message
+     * envelope body.
+     * 
+     * @param header
+     *        The message envelope header.
+     * @param body
+     *        The uncompressed message envelope body.
+     * 
+     * @return The message contained in the message envelope body.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be read from the message envelope body,
+     *         the binary message reader of this codec is corrupt, or this
+     *         codec has no binary message schema.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of an object embedded in the message cannot be
+     *         found.
+     */
+    private IMessage decodeBinary(
+        final MessageEnvelope.Header header,
+        final ByteBuffer body )
+        throws IOException, ClassNotFoundException
+    {
+        final IBinaryMessageSchema binaryMessageSchema = binaryMessageSchema_;
+        if( binaryMessageSchema == null )
+        {
+            throw new IOException( NonNlsMessages.MessageCodec_decode_binaryUnsupported );
+        }
+
+        if( isBinaryReaderCorrupt_ )
+        {
+            throw new IOException( NonNlsMessages.MessageCodec_decode_binaryReaderCorrupt );
+        }
+
+        final IMessage message;
+        try
+        {
+            body.get(); // skip tag
+            binaryMessageReader_.setBuffer( body );
+            message = binaryMessageSchema.readMessage( binaryMessageReader_ );
+            if( binaryMessageReader_.hasRemaining() )
+            {
+                throw new IOException( NonNlsMessages.MessageCodec_decode_trailingData );
+            }
+        }
+        catch( final IOException | ClassNotFoundException e )
+        {
+            isBinaryReaderCorrupt_ = true;
+            throw e;
+        }
+        finally
+        {
+            binaryMessageReader_.clearBuffer();
+        }
+
+        return MessageEnvelope.initializeMessage( header, message );
+    }
+
+    /**
+     * Releases any resources held by the codec.
+     * 
+     * <p>
+     * The codec must not be used after this method is called.
+     * </p>
+     */
+    public void dispose()
+    {
+        final Inflater inflater = inflater_;
+        if( inflater != null )
+        {
+            inflater.end();
+            inflater_ = null;
+        }
+
+        objectInputStream_ = null;
+        objectOutputStream_ = null;
+    }
+
+
+    /**
+     * Encodes the specified message in a new message envelope.
+     * 
+     * <p>
+     * If binary encoding is enabled and the message is described by the
+     * binary message schema of this codec, the message is binary encoded.
+     * Otherwise, the message is serialized to the object output stream of this
+     * codec. In either case, if the body would exceed
+     * {@link MessageEnvelope.Header#MAXIMUM_BODY_LENGTH} or the object output
+     * stream is corrupt, the message is encoded in a self-contained message
+     * envelope instead.
+     * </p>
+     * 
+     * @param message
+     *        The message.
+     * 
+     * @return A new message envelope.
+     * 
+     * @throws java.io.IOException
+     *         If the specified message cannot be serialized to the message
+     *         envelope.
+     */
+    public MessageEnvelope encode(
+        final IMessage message )
+        throws IOException
+    {
+        final IBinaryMessageSchema binaryMessageSchema = binaryMessageSchema_;
+        if( isBinaryEncodingEnabled_ && (binaryMessageSchema != null) )
+        {
+            final MessageEnvelope messageEnvelope = encodeBinary( message, binaryMessageSchema );
+            if( messageEnvelope != null )
+            {
+                return messageEnvelope;
+            }
+        }
+
+        if( isOutputStreamCorrupt_ )
+        {
+            return MessageEnvelope.fromMessage( message );
+        }
+
+        final ObjectOutputStream objectOutputStream;
+        final byte[] compactBytes;
+        try
+        {
+            objectOutputStream = getObjectOutputStream();
+
+            // reserve space for header
+            bodyOutputStream_.reset();
+            for( int index = 0; index < MessageEnvelope.Header.LENGTH; ++index )
+            {
+                bodyOutputStream_.write( 0x00 );
+            }
+
+            // write body
+            objectOutputStream.reset();
+            objectOutputStream.writeObject( message );
+            objectOutputStream.flush();
+            compactBytes = bodyOutputStream_.toByteArray();
+        }
+        catch( final IOException e )
+        {
+            isOutputStreamCorrupt_ = true;
+            throw e;
+        }
+        finally
+        {
+            bodyOutputStream_.reset();
+        }
+
+        if( (compactBytes.length - MessageEnvelope.Header.LENGTH) > MessageEnvelope.Header.MAXIMUM_BODY_LENGTH )
+        {
+            // the peer will never read this segment of the stream
+            objectOutputStream.discardClassDescriptors();
+            return MessageEnvelope.fromMessage( message );
+        }
+
+        return MessageEnvelope.fromMessageBytes( message, compactBytes );
+    }
+
+    /**
+     * Encodes the specified message in a new binary encoded message envelope.
+     * 
+     * @param message
+     *        The message.
+     * @param binaryMessageSchema
+     *        The binary message schema.
+     * 
+     * @return A new message envelope or {@code null} if the message is not
+     *         described by the binary message schema.
+     * 
+     * @throws java.io.IOException
+     *         If the specified message cannot be written to the message
+     *         envelope.
+     */
+    private @Nullable MessageEnvelope encodeBinary(
+        final IMessage message,
+        final IBinaryMessageSchema binaryMessageSchema )
+        throws IOException
+    {
+        boolean isMessageEnded = false;
+        binaryMessageWriter_.beginMessage( MessageEnvelope.Header.LENGTH );
+        try
+        {
+            binaryMessageWriter_.writeByte( BINARY_BODY_TAG );
+            if( !binaryMessageSchema.writeMessage( message, binaryMessageWriter_ ) )
+            {
+                return null;
+            }
+
+            if( (binaryMessageWriter_.getLength() - MessageEnvelope.Header.LENGTH) > MessageEnvelope.Header.MAXIMUM_BODY_LENGTH )
+            {
+                // the peer will never read this message, so its interned values must be forgotten
+                return MessageEnvelope.fromMessage( message );
+            }
+
+            isMessageEnded = true;
+            return MessageEnvelope.fromMessageBytes( message, binaryMessageWriter_.endMessage() );
+        }
+        finally
+        {
+            if( !isMessageEnded )
+            {
+                binaryMessageWriter_.abortMessage();
+            }
+        }
+    }
+
+    /**
+     * Gets the inflater used to decompress compressed message envelopes.
+     * 
+     * @return The inflater used to decompress compressed message envelopes.
+     */
+    private Inflater getInflater()
+    {
+        Inflater inflater = inflater_;
+        if( inflater == null )
+        {
+            inflater = new Inflater();
+            inflater_ = inflater;
+        }
+
+        return inflater;
+    }
+
+    /**
+     * Gets the object input stream, creating it if necessary.
+     * 
+     * @return The object input stream.
+     * 
+     * @throws java.io.IOException
+     *         If the object input stream cannot be created.
+     */
+    private ObjectInputStream getObjectInputStream()
+        throws IOException
+    {
+        ObjectInputStream objectInputStream = objectInputStream_;
+        if( objectInputStream == null )
+        {
+            bodyInputStream_.setBuffer( ByteBuffer.wrap( STREAM_HEADER ) );
+            objectInputStream = ObjectStreams.createPlatformObjectInputStream( bodyInputStream_, true );
+            objectInputStream_ = objectInputStream;
+        }
+
+        return objectInputStream;
+    }
+
+    /**
+     * Gets the object output stream, creating it if necessary.
+     * 
+     * @return The object output stream.
+     * 
+     * @throws java.io.IOException
+     *         If the object output stream cannot be created.
+     */
+    private ObjectOutputStream getObjectOutputStream()
+        throws IOException
+    {
+        ObjectOutputStream objectOutputStream = objectOutputStream_;
+        if( objectOutputStream == null )
+        {
+            objectOutputStream = ObjectStreams.createPlatformObjectOutputStream( bodyOutputStream_, true );
+            objectOutputStream.flush(); // the stream header is implied and never transferred
+            objectOutputStream_ = objectOutputStream;
+        }
+
+        return objectOutputStream;
+    }
+
+
+    /**
+     * Sets whether messages are encoded in the compact binary format.
+     * 
+     * <p>
+     * This setting has no effect if the codec has no binary message schema.
+     * Binary encoded message envelopes are always decoded regardless of this
+     * setting.
+     * </p>
+     * 
+     * @param isBinaryEncodingEnabled
+     *        {@code true} if messages are encoded in the compact binary format;
+     *        otherwise {@code false}.
+     */
+    public void setBinaryEncodingEnabled(
+        final boolean isBinaryEncodingEnabled )
+    {
+        isBinaryEncodingEnabled_ = isBinaryEncodingEnabled;
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * The output stream to which the object output stream writes the body of
+     * the message envelope being encoded.
+     * 
+     * <p>
+     * Unlike a byte array output stream, the storage of this stream is released
+     * when it is reset so that the codec does not retain the storage required
+     * by the largest message it has ever encoded.
+     * </p>
+     */
+    @NotThreadSafe
+    private static final class BodyOutputStream
+        extends OutputStream
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The byte stream containing the message envelope body. */
+        private ByteArrayOutputStream byteStream_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code BodyOutputStream} class.
+         */
+        BodyOutputStream()
+        {
+            byteStream_ = new ByteArrayOutputStream();
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Discards the content of the stream.
+         */
+        void reset()
+        {
+            if( byteStream_.size() > 0 )
+            {
+                byteStream_ = new ByteArrayOutputStream();
+            }
+        }
+
+        /**
+         * Gets a copy of the content of the stream.
+         * 
+         * @return A copy of the content of the stream.
+         */
+        byte[] toByteArray()
+        {
+            return byteStream_.toByteArray();
+        }
+
+        /*
+         * @see java.io.OutputStream#write(byte[], int, int)
+         */
+        @Override
+        public void write(
+            final byte[] b,
+            final int off,
+            final int len )
+        {
+            byteStream_.write( b, off, len );
+        }
+
+        /*
+         * @see java.io.OutputStream#write(int)
+         */
+        @Override
+        public void write(
+            final int b )
+        {
+            byteStream_.write( b );
+        }
+    }
+}
@@ -25,14 +25,52 @@ import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamConstants;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.persistence.serializable.ObjectInputStream;
 import org.gamegineer.common.persistence.serializable.ObjectOutputStream;
 import org.gamegineer.common.persistence.serializable.ObjectStreams;
 
 /**
  * A network protocol message envelope.
+ * 
+ * <p>
+ * A message envelope either retains the network representation of the message
+ * and deserializes the message body on demand or, when created from a byte
+ * buffer, retains the message that was decoded directly from the buffer or,
+ * if the body is stream encoded, a read-only view of the body within the
+ * buffer. A message envelope created by {@link #withIds(int, int)} shares the
+ * body of another message envelope and retains only its own header.
+ * </p>
+ * 
+ * <p>
+ * The body of a message envelope may be compressed, as indicated by
+ * {@link Header#isCompressed()}. A compressed body consists of the length of
+ * the uncompressed body as a big-endian 32-bit integer followed by the
+ * uncompressed body in the DEFLATE format.
+ * </p>
+ * 
+ * <p>
+ * The identifiers encoded in the header are authoritative. A message
+ * deserialized from the body always reports the identifiers of the header in
+ * which it was delivered, regardless of the identifiers it had when it was
+ * serialized.
+ * </p>
+ * 
+ * <p>
+ * The body of a message envelope is normally self-contained. The body of a
+ * message envelope created by a {@link MessageCodec}, however, is either a
+ * segment of an object stream or a message in a compact binary format that
+ * depends on state persisting for the lifetime of the connection, and may
+ * only be deserialized by the peer codec (see {@link #isStreamEncoded()}).
+ * </p>
  */
 @Immutable
 public final class MessageEnvelope
@@ -41,12 +79,34 @@ public final class MessageEnvelope
     // Fields
     // ======================================================================
 
-    /** The network representation of the message envelope. */
-    private final byte[] bytes_;
+    /**
+     * The length in bytes of the uncompressed body length that prefixes a
+     * compressed message envelope body.
+     */
+    private static final int COMPRESSED_BODY_PREFIX_LENGTH = 4;
+
+    /**
+     * The message envelope body shared with another message envelope or with
+     * the byte buffer from which the message envelope was created or
+     * {@code null} if the message envelope does not share its body.
+     */
+    private final @Nullable ByteBuffer body_;
+
+    /**
+     * The network representation of the message envelope or {@code null} if
+     * the message envelope retains only the decoded message or a shared body.
+     */
+    private final byte @Nullable [] bytes_;
 
     /** The logical representation of the message envelope header. */
     private final Header header_;
 
+    /**
+     * The message decoded from the message envelope body or {@code null} if
+     * the message envelope retains only its network representation.
+     */
+    private final @Nullable IMessage message_;
+
 
     // ======================================================================
     // Constructors
@@ -57,15 +117,58 @@ public final class MessageEnvelope
      * 
      * @param bytes
      *        The network representation of the message envelope; must not have
-     *        a length less than the sum of {@link Header#LENGTH} and the body
+     *        a length less than the sum of the header length and the body
      *        length decoded from the header.
      */
     private MessageEnvelope(
         final byte[] bytes )
     {
+        body_ = null;
         bytes_ = bytes;
         header_ = new Header( bytes );
-        assert bytes.length >= (Header.LENGTH + header_.getBodyLength());
+        message_ = null;
+        assert bytes.length >= (header_.getLength() + header_.getBodyLength());
+    }
+
+    /**
+     * Initializes a new instance of the {@code MessageEnvelope} class from the
+     * specified decoded message.
+     * 
+     * @param header
+     *        The logical representation of the message envelope header.
+     * @param message
+     *        The message decoded from the message envelope body.
+     */
+    private MessageEnvelope(
+        final Header header,
+        final IMessage message )
+    {
+        body_ = null;
+        bytes_ = null;
+        header_ = header;
+        message_ = message;
+    }
+
+    /**
+     * Initializes a new instance of the {@code MessageEnvelope} class that
+     * shares the specified body.
+     * 
+     * @param header
+     *        The logical representation of the message envelope header.
+     * @param body
+     *        The read-only message envelope body; must contain exactly the
+     *        body length decoded from the header.
+     */
+    private MessageEnvelope(
+        final Header header,
+        final ByteBuffer body )
+    {
+        assert body.remaining() == header.getBodyLength();
+
+        body_ = body;
+        bytes_ = null;
+        header_ = header;
+        message_ = null;
     }
 
 
@@ -73,6 +176,185 @@ public final class MessageEnvelope
     // Methods
     // ======================================================================
 
+    /**
+     * Creates a new message envelope whose body is the compressed body of this
+     * message envelope.
+     * 
+     * @param deflater
+     *        The deflater used to compress the message envelope body. The
+     *        deflater is reset before it is used and may be reused after this
+     *        method returns.
+     * 
+     * @return A new message envelope whose body is compressed or this message
+     *         envelope if its body is already compressed or compression would
+     *         not reduce the length of its body.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If this message envelope retains only the decoded message and
+     *         the message cannot be serialized.
+     */
+    public MessageEnvelope compress(
+        final Deflater deflater )
+    {
+        final int bodyLength = header_.getBodyLength();
+        if( header_.isCompressed() || (bodyLength <= COMPRESSED_BODY_PREFIX_LENGTH) )
+        {
+            return this;
+        }
+
+        final byte[] bodyBytes;
+        final int bodyOffset;
+        final byte[] bytes = (body_ == null) ? toByteArray() : null;
+        if( bytes != null )
+        {
+            bodyBytes = bytes;
+            bodyOffset = header_.getLength();
+        }
+        else
+        {
+            bodyBytes = new byte[ bodyLength ];
+            bodyOffset = 0;
+            getBody().get( bodyBytes );
+        }
+
+        // The compressed body must be shorter than the uncompressed body to be of any use
+        final byte[] compressedBody = new byte[ bodyLength ];
+        compressedBody[ 0 ] = (byte)(bodyLength >>> 24);
+        compressedBody[ 1 ] = (byte)(bodyLength >>> 16);
+        compressedBody[ 2 ] = (byte)(bodyLength >>> 8);
+        compressedBody[ 3 ] = (byte)bodyLength;
+        int compressedBodyLength = COMPRESSED_BODY_PREFIX_LENGTH;
+        deflater.reset();
+        deflater.setInput( bodyBytes, bodyOffset, bodyLength );
+        deflater.finish();
+        while( !deflater.finished() )
+        {
+            if( compressedBodyLength >= compressedBody.length )
+            {
+                return this;
+            }
+
+            compressedBodyLength += deflater.deflate( compressedBody, compressedBodyLength, compressedBody.length - compressedBodyLength );
+        }
+
+        final Header header = new HeaderBuilder() //
+            .setId( header_.getId() ) //
+            .setCorrelationId( header_.getCorrelationId() ) //
+            .setBodyLength( compressedBodyLength ) //
+            .setCompressed( true ) //
+            .toHeader();
+        final byte[] headerBytes = header.toByteArray();
+        final byte[] compressedBytes = new byte[ headerBytes.length + compressedBodyLength ];
+        System.arraycopy( headerBytes, 0, compressedBytes, 0, headerBytes.length );
+        System.arraycopy( compressedBody, 0, compressedBytes, headerBytes.length, compressedBodyLength );
+        return new MessageEnvelope( compressedBytes );
+    }
+
+    /**
+     * Creates a new message envelope whose body is the uncompressed body of
+     * this message envelope.
+     * 
+     * @param inflater
+     *        The inflater used to decompress the message envelope body. The
+     *        inflater is reset before it is used and may be reused after this
+     *        method returns.
+     * @param maximumBodyLength
+     *        The maximum length in bytes of the uncompressed message envelope
+     *        body.
+     * 
+     * @return A new message envelope whose body is uncompressed or this message
+     *         envelope if its body is not compressed.
+     * 
+     * @throws java.io.IOException
+     *         If the compressed message envelope body is malformed or the
+     *         length of the uncompressed message envelope body exceeds
+     *         {@code maximumBodyLength}.
+     */
+    public MessageEnvelope decompress(
+        final Inflater inflater,
+        final int maximumBodyLength )
+        throws IOException
+    {
+        if( !header_.isCompressed() )
+        {
+            return this;
+        }
+
+        final int compressedBodyLength = header_.getBodyLength();
+        if( compressedBodyLength < COMPRESSED_BODY_PREFIX_LENGTH )
+        {
+            throw new IOException( NonNlsMessages.MessageEnvelope_decompress_malformedBody );
+        }
+
+        // inflate directly from the retained network representation when possible
+        final byte[] compressedBody;
+        final int compressedBodyOffset;
+        final byte[] retainedBytes = bytes_;
+        if( retainedBytes != null )
+        {
+            compressedBody = retainedBytes;
+            compressedBodyOffset = header_.getLength();
+        }
+        else
+        {
+            compressedBody = new byte[ compressedBodyLength ];
+            compressedBodyOffset = 0;
+            getBody().get( compressedBody );
+        }
+
+        final int bodyLength = ((compressedBody[ compressedBodyOffset ] & 0x000000FF) << 24) | ((compressedBody[ compressedBodyOffset + 1 ] & 0x000000FF) << 16) | ((compressedBody[ compressedBodyOffset + 2 ] & 0x000000FF) << 8) | (compressedBody[ compressedBodyOffset + 3 ] & 0x000000FF);
+        if( (bodyLength < 0) || (bodyLength > maximumBodyLength) || (bodyLength > Header.MAXIMUM_EXTENDED_BODY_LENGTH) )
+        {
+            throw new IOException( NonNlsMessages.MessageEnvelope_decompress_bodyTooLong );
+        }
+
+        final Header header = new HeaderBuilder() //
+            .setId( header_.getId() ) //
+            .setCorrelationId( header_.getCorrelationId() ) //
+            .setBodyLength( bodyLength ) //
+            .toHeader();
+        final byte[] headerBytes = header.toByteArray();
+        final byte[] bytes = new byte[ headerBytes.length + bodyLength ];
+        System.arraycopy( headerBytes, 0, bytes, 0, headerBytes.length );
+
+        inflater.reset();
+        inflater.setInput( compressedBody, compressedBodyOffset + COMPRESSED_BODY_PREFIX_LENGTH, compressedBodyLength - COMPRESSED_BODY_PREFIX_LENGTH );
+        int bytesInflated = 0;
+        try
+        {
+            while( !inflater.finished() )
+            {
+                if( bytesInflated == bodyLength )
+                {
+                    // the compressed body must not inflate to more than the declared length
+                    if( (inflater.inflate( new byte[ 1 ] ) != 0) || !inflater.finished() )
+                    {
+                        throw new IOException( NonNlsMessages.MessageEnvelope_decompress_malformedBody );
+                    }
+                    break;
+                }
+
+                final int length = inflater.inflate( bytes, headerBytes.length + bytesInflated, bodyLength - bytesInflated );
+                if( (length == 0) && (inflater.needsInput() || inflater.needsDictionary()) )
+                {
+                    throw new IOException( NonNlsMessages.MessageEnvelope_decompress_malformedBody );
+                }
+                bytesInflated += length;
+            }
+
+            if( bytesInflated != bodyLength )
+            {
+                throw new IOException( NonNlsMessages.MessageEnvelope_decompress_malformedBody );
+            }
+        }
+        catch( final DataFormatException e )
+        {
+            throw new IOException( NonNlsMessages.MessageEnvelope_decompress_malformedBody, e );
+        }
+
+        return new MessageEnvelope( bytes );
+    }
+
     /**
      * Creates a new message envelope from the specified byte array.
      * 
@@ -84,23 +366,101 @@ public final class MessageEnvelope
      * 
      * @throws java.lang.IllegalArgumentException
      *         If the length of {@code bytes} is not exactly equal to the sum of
-     *         {@link Header#LENGTH} and the body length decoded from the
-     *         header.
+     *         the header length and the body length decoded from the header.
      */
     public static MessageEnvelope fromByteArray(
         final byte[] bytes )
     {
         assertArgumentLegal( bytes.length >= Header.LENGTH, "bytes" ); //$NON-NLS-1$
+        assertArgumentLegal( bytes.length >= Header.getLength( bytes[ 0 ], bytes[ 1 ] ), "bytes" ); //$NON-NLS-1$
 
         final Header header = new Header( bytes );
-        assertArgumentLegal( bytes.length == (Header.LENGTH + header.getBodyLength()), "bytes" ); //$NON-NLS-1$
+        assertArgumentLegal( bytes.length == ((long)header.getLength() + header.getBodyLength()), "bytes" ); //$NON-NLS-1$
 
         return new MessageEnvelope( bytes );
     }
 
+    /**
+     * Creates a new message envelope by decoding the message body directly
+     * from the specified byte buffer.
+     * 
+     * <p>
+     * A self-contained message body is deserialized before this method
+     * returns. If the message body is compressed or cannot be deserialized,
+     * the network representation of the message envelope is copied and
+     * retained so that the message or the failure is reported by
+     * {@link #getMessage()}. In either case, the caller is free to reuse the
+     * byte buffer afterwards.
+     * </p>
+     * 
+     * <p>
+     * A stream encoded message body (see {@link #isStreamEncoded()}) can only
+     * be decoded by the peer codec in the order in which it was received and
+     * is therefore neither deserialized nor copied. Instead, the returned
+     * message envelope retains a read-only view of the message body. The
+     * caller must not modify the region of the byte buffer that contains the
+     * message body for as long as the returned message envelope is reachable.
+     * </p>
+     * 
+     * @param header
+     *        The message envelope header.
+     * @param body
+     *        The byte buffer containing the message envelope body between its
+     *        position and limit. The position of the buffer is advanced past
+     *        the message envelope body.
+     * 
+     * @return A new message envelope.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If the count of bytes remaining in {@code body} is not exactly
+     *         equal to the body length decoded from the header.
+     */
+    public static MessageEnvelope fromByteBuffer(
+        final Header header,
+        final ByteBuffer body )
+    {
+        assertArgumentLegal( body.remaining() == header.getBodyLength(), "body" ); //$NON-NLS-1$
+
+        final int bodyPosition = body.position();
+        try
+        {
+            if( !header.isCompressed() )
+            {
+                if( isStreamEncoded( body ) )
+                {
+                    return new MessageEnvelope( header, body.slice().asReadOnlyBuffer() );
+                }
+
+                return new MessageEnvelope( header, readMessage( header, new ByteBufferInputStream( body ) ) );
+            }
+        }
+        catch( final IOException | ClassNotFoundException e )
+        {
+            // fall through and retain the network representation
+        }
+        finally
+        {
+            body.position( bodyPosition + header.getBodyLength() );
+        }
+
+        final byte[] bytes = new byte[ header.getLength() + header.getBodyLength() ];
+        System.arraycopy( header.toByteArray(), 0, bytes, 0, header.getLength() );
+        final ByteBuffer bodyDuplicate = body.duplicate();
+        bodyDuplicate.position( bodyPosition );
+        bodyDuplicate.get( bytes, header.getLength(), header.getBodyLength() );
+        return new MessageEnvelope( bytes );
+    }
+
     /**
      * Creates a new message envelope from the specified message.
      * 
+     * <p>
+     * If the serialized message exceeds {@link Header#MAXIMUM_BODY_LENGTH} or
+     * the message identifier or correlation identifier exceeds
+     * {@link IMessage#MAXIMUM_COMPACT_ID}, the message envelope is created
+     * with an extended header.
+     * </p>
+     * 
      * @param message
      *        The message.
      * 
@@ -128,20 +488,71 @@ public final class MessageEnvelope
             objectStream.writeObject( message );
         }
 
-        // write header
-        final byte[] bytes = byteStream.toByteArray();
+        return fromMessageBytes( message, byteStream.toByteArray() );
+    }
+
+    /**
+     * Creates a new message envelope from the specified message and its
+     * serialized body.
+     * 
+     * @param message
+     *        The message.
+     * @param compactBytes
+     *        The byte array containing the serialized message body preceded by
+     *        {@link Header#LENGTH} bytes reserved for the header. No copy is
+     *        made of this array and it must not be modified after calling
+     *        this method.
+     * 
+     * @return A new message envelope.
+     */
+    static MessageEnvelope fromMessageBytes(
+        final IMessage message,
+        final byte[] compactBytes )
+    {
+        assert compactBytes.length >= Header.LENGTH;
+
+        final int bodyLength = compactBytes.length - Header.LENGTH;
         final HeaderBuilder headerBuilder = new HeaderBuilder();
         final Header header = headerBuilder //
             .setId( message.getId() ) //
             .setCorrelationId( message.getCorrelationId() ) //
-            .setBodyLength( bytes.length - Header.LENGTH ) //
+            .setBodyLength( bodyLength ) //
             .toHeader();
         final byte[] headerBytes = header.toByteArray();
+        final byte[] bytes;
+        if( header.isExtended() )
+        {
+            bytes = new byte[ headerBytes.length + bodyLength ];
+            System.arraycopy( compactBytes, Header.LENGTH, bytes, headerBytes.length, bodyLength );
+        }
+        else
+        {
+            bytes = compactBytes;
+        }
         System.arraycopy( headerBytes, 0, bytes, 0, headerBytes.length );
 
         return new MessageEnvelope( bytes );
     }
 
+    /**
+     * Gets the message envelope body.
+     * 
+     * @return A new read-only byte buffer containing the message envelope body
+     *         between its position and limit. The body is not copied unless
+     *         the message envelope retains only the decoded message.
+     */
+    ByteBuffer getBody()
+    {
+        final ByteBuffer body = body_;
+        if( body != null )
+        {
+            return body.duplicate();
+        }
+
+        final byte[] bytes = toByteArray();
+        return ByteBuffer.wrap( bytes, header_.getLength(), header_.getBodyLength() ).slice().asReadOnlyBuffer();
+    }
+
     /**
      * Gets the message envelope header.
      * 
@@ -155,38 +566,308 @@ public final class MessageEnvelope
     /**
      * Gets the message contained in the message envelope body.
      * 
+     * <p>
+     * If the message envelope was created from a byte buffer, the message
+     * decoded at that time is returned; otherwise, a new message is
+     * deserialized from the message envelope body on each invocation. In
+     * either case, the message identifiers are those encoded in the header.
+     * </p>
+     * 
      * @return The message contained in the message envelope body.
      * 
      * @throws java.io.IOException
      *         If the message cannot be deserialized from the message envelope
-     *         body.
+     *         body or the message envelope body is stream encoded.
      * @throws java.lang.ClassNotFoundException
      *         If the class of the message cannot be found.
+     * 
+     * @see MessageCodec#decode(MessageEnvelope)
      */
     public IMessage getMessage()
         throws IOException, ClassNotFoundException
     {
-        try( final ObjectInputStream stream = ObjectStreams.createPlatformObjectInputStream( new ByteArrayInputStream( bytes_, Header.LENGTH, bytes_.length - Header.LENGTH ) ) )
+        final IMessage message = message_;
+        if( message != null )
+        {
+            return message;
+        }
+
+        if( header_.isCompressed() )
         {
-            final IMessage message = (IMessage)stream.readObject();
-            if( message == null )
+            final Inflater inflater = new Inflater();
+            try
+            {
+                return decompress( inflater, Header.MAXIMUM_EXTENDED_BODY_LENGTH ).getMessage();
+            }
+            finally
             {
-                throw new IOException( NonNlsMessages.MessageEnvelope_getMessage_nullMessage );
+                inflater.end();
             }
+        }
 
-            return message;
+        if( isStreamEncoded() )
+        {
+            throw new IOException( NonNlsMessages.MessageEnvelope_getMessage_streamEncoded );
+        }
+
+        final byte[] bytes = bytes_;
+        if( bytes != null )
+        {
+            final int headerLength = header_.getLength();
+            return readMessage( header_, new ByteArrayInputStream( bytes, headerLength, bytes.length - headerLength ) );
+        }
+
+        return readMessage( header_, new ByteBufferInputStream( getBody() ) );
+    }
+
+    /**
+     * Initializes the specified message deserialized from the body of a
+     * message envelope.
+     * 
+     * @param header
+     *        The message envelope header whose identifiers are assigned to the
+     *        message.
+     * @param message
+     *        The message deserialized from the message envelope body or
+     *        {@code null} if the message envelope body contains a
+     *        {@code null} message.
+     * 
+     * @return The initialized message.
+     * 
+     * @throws java.io.IOException
+     *         If the message is {@code null} or the header contains illegal
+     *         message identifiers.
+     */
+    static IMessage initializeMessage(
+        final Header header,
+        final @Nullable IMessage message )
+        throws IOException
+    {
+        if( message == null )
+        {
+            throw new IOException( NonNlsMessages.MessageEnvelope_getMessage_nullMessage );
+        }
+
+        try
+        {
+            message.setId( header.getId() );
+            message.setCorrelationId( header.getCorrelationId() );
+        }
+        catch( final IllegalArgumentException e )
+        {
+            throw new IOException( NonNlsMessages.MessageEnvelope_getMessage_illegalHeaderIds, e );
+        }
+
+        return message;
+    }
+
+    /**
+     * Indicates the body of this message envelope is a segment of an object
+     * stream that persists for the lifetime of the connection.
+     * 
+     * <p>
+     * Such a message envelope can only be deserialized using the
+     * {@link MessageCodec} associated with the connection on which it was
+     * received. A stream encoded body always begins with a stream reset or,
+     * if it is binary encoded, with {@link MessageCodec#BINARY_BODY_TAG},
+     * whereas a self-contained body always begins with a stream header.
+     * </p>
+     * 
+     * @return {@code true} if the body of this message envelope is stream
+     *         encoded; otherwise {@code false}. Always {@code false} if the
+     *         body is compressed.
+     */
+    public boolean isStreamEncoded()
+    {
+        if( header_.isCompressed() || (header_.getBodyLength() == 0) )
+        {
+            return false;
+        }
+
+        final byte[] bytes = bytes_;
+        if( bytes != null )
+        {
+            return isStreamEncodedBodyTag( bytes[ header_.getLength() ] );
+        }
+
+        final ByteBuffer body = body_;
+        if( body != null )
+        {
+            return isStreamEncoded( body );
+        }
+
+        return false;
+    }
+
+    /**
+     * Indicates the specified message envelope body is a segment of an object
+     * stream that persists for the lifetime of the connection.
+     * 
+     * @param body
+     *        The byte buffer containing the uncompressed message envelope body
+     *        between its position and limit.
+     * 
+     * @return {@code true} if the message envelope body is stream encoded;
+     *         otherwise {@code false}.
+     */
+    private static boolean isStreamEncoded(
+        final ByteBuffer body )
+    {
+        return body.hasRemaining() && isStreamEncodedBodyTag( body.get( body.position() ) );
+    }
+
+    /**
+     * Indicates the specified tag begins a stream encoded message envelope
+     * body.
+     * 
+     * @param tag
+     *        The first byte of the uncompressed message envelope body.
+     * 
+     * @return {@code true} if the tag begins a stream encoded message envelope
+     *         body; otherwise {@code false}.
+     */
+    private static boolean isStreamEncodedBodyTag(
+        final byte tag )
+    {
+        return (tag == ObjectStreamConstants.TC_RESET) || (tag == MessageCodec.BINARY_BODY_TAG);
+    }
+
+    /**
+     * Reads a message from the specified message envelope body stream.
+     * 
+     * @param header
+     *        The message envelope header whose identifiers are assigned to the
+     *        message.
+     * @param inputStream
+     *        The message envelope body stream.
+     * 
+     * @return The message read from the stream.
+     * 
+     * @throws java.io.IOException
+     *         If the message cannot be deserialized from the stream or the
+     *         header contains illegal message identifiers.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of the message cannot be found.
+     */
+    private static IMessage readMessage(
+        final Header header,
+        final InputStream inputStream )
+        throws IOException, ClassNotFoundException
+    {
+        try( final ObjectInputStream stream = ObjectStreams.createPlatformObjectInputStream( inputStream ) )
+        {
+            return initializeMessage( header, (IMessage)stream.readObject() );
         }
     }
 
     /**
      * Gets a byte array representing the message envelope.
      * 
+     * <p>
+     * If the message envelope was created from a byte buffer, its network
+     * representation is not retained and the decoded message is serialized
+     * anew on each invocation.
+     * </p>
+     * 
      * @return A byte array representing the message envelope. The returned
      *         array is not a copy and must not be modified by the caller.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the decoded message cannot be serialized.
      */
     public byte[] toByteArray()
     {
-        return bytes_;
+        final byte[] bytes = bytes_;
+        if( bytes != null )
+        {
+            return bytes;
+        }
+
+        final ByteBuffer body = body_;
+        if( body != null )
+        {
+            final byte[] sharedBodyBytes = new byte[ header_.getLength() + header_.getBodyLength() ];
+            System.arraycopy( header_.toByteArray(), 0, sharedBodyBytes, 0, header_.getLength() );
+            body.duplicate().get( sharedBodyBytes, header_.getLength(), header_.getBodyLength() );
+            return sharedBodyBytes;
+        }
+
+        final IMessage message = message_;
+        assert message != null;
+        try
+        {
+            return fromMessage( message ).toByteArray();
+        }
+        catch( final IOException e )
+        {
+            throw new IllegalStateException( NonNlsMessages.MessageEnvelope_toByteArray_serializationError, e );
+        }
+    }
+
+    /**
+     * Gets a sequence of byte buffers representing the message envelope.
+     * 
+     * <p>
+     * Unlike {@link #toByteArray()}, this method never copies a body shared
+     * with another message envelope; the header and the shared body are
+     * returned as separate buffers.
+     * </p>
+     * 
+     * @return A sequence of byte buffers that, concatenated in order, represent
+     *         the message envelope. Each buffer is prepared for reading and
+     *         must not be modified by the caller other than to change its
+     *         position.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If the decoded message cannot be serialized.
+     */
+    public ByteBuffer[] toByteBuffers()
+    {
+        if( body_ != null )
+        {
+            return new ByteBuffer[] {
+                ByteBuffer.wrap( header_.toByteArray() ), //
+                getBody()
+            };
+        }
+
+        return new ByteBuffer[] {
+            ByteBuffer.wrap( toByteArray() )
+        };
+    }
+
+    /**
+     * Creates a new message envelope that shares the body of this message
+     * envelope but has the specified message identifiers.
+     * 
+     * <p>
+     * Only the header of the new message envelope is created; the body is
+     * neither serialized nor copied. This allows a message to be serialized
+     * once and sent to many peers, each with its own message identifiers.
+     * </p>
+     * 
+     * @param id
+     *        The message identifier.
+     * @param correlationId
+     *        The message correlation identifier.
+     * 
+     * @return A new message envelope.
+     * 
+     * @throws java.lang.IllegalStateException
+     *         If this message envelope retains only the decoded message and
+     *         the message cannot be serialized.
+     */
+    public MessageEnvelope withIds(
+        final int id,
+        final int correlationId )
+    {
+        final Header header = new HeaderBuilder() //
+            .setId( id ) //
+            .setCorrelationId( correlationId ) //
+            .setBodyLength( header_.getBodyLength() ) //
+            .setCompressed( header_.isCompressed() ) //
+            .toHeader();
+        return new MessageEnvelope( header, getBody() );
     }
 
 
@@ -196,6 +877,49 @@ public final class MessageEnvelope
 
     /**
      * A message envelope header.
+     * 
+     * <p>
+     * A header is encoded in one of two forms. The compact form is used when
+     * the message envelope body fits within {@link #MAXIMUM_BODY_LENGTH}
+     * bytes:
+     * </p>
+     * 
+     * <pre>
+     * | id (8) | correlation id (8) | body length (16) |
+     * </pre>
+     * 
+     * <p>
+     * The extended form is used for larger bodies. Its first byte is always
+     * zero, which is never a legal message identifier, and its second byte
+     * contains the {@link #EXTENDED_FLAG}:
+     * </p>
+     * 
+     * <pre>
+     * | 0x00 | flags (8) | id (8) | correlation id (8) | body length (32) |
+     * </pre>
+     * 
+     * <p>
+     * The wide form is an extended form whose flags byte also contains the
+     * {@link #WIDE_IDS_FLAG}. It is used when the message identifier or the
+     * message correlation identifier exceeds
+     * {@link IMessage#MAXIMUM_COMPACT_ID}:
+     * </p>
+     * 
+     * <pre>
+     * | 0x00 | flags (8) | id (32) | correlation id (32) | body length (32) |
+     * </pre>
+     * 
+     * <p>
+     * The flags byte of an extended header contains the
+     * {@link #COMPRESSED_FLAG} when the message envelope body is compressed.
+     * A header describing a compressed body is therefore never encoded in the
+     * compact form.
+     * </p>
+     * 
+     * <p>
+     * The high bit of the flags byte is reserved for use by the transport
+     * framing and is never set in a message envelope header.
+     * </p>
      */
     @Immutable
     public static final class Header
@@ -204,15 +928,53 @@ public final class MessageEnvelope
         // Fields
         // ==================================================================
 
-        /** The length of a message envelope header in bytes. */
+        /**
+         * The flag indicating an extended header describes a compressed
+         * message envelope body.
+         */
+        public static final int COMPRESSED_FLAG = 0x10;
+
+        /** The flag indicating a header is encoded in the extended form. */
+        public static final int EXTENDED_FLAG = 0x40;
+
+        /** The length of an extended message envelope header in bytes. */
+        public static final int EXTENDED_LENGTH = 8;
+
+        /** The length of a compact message envelope header in bytes. */
         public static final int LENGTH = 4;
 
-        /** The maximum message body length in bytes. */
+        /**
+         * The maximum message body length in bytes that may be described by a
+         * compact message envelope header.
+         */
         public static final int MAXIMUM_BODY_LENGTH = 0xFFFF;
 
+        /**
+         * The maximum message body length in bytes that may be described by an
+         * extended message envelope header.
+         */
+        public static final int MAXIMUM_EXTENDED_BODY_LENGTH = Integer.MAX_VALUE - EXTENDED_LENGTH;
+
+        /**
+         * The flag indicating an extended header is encoded in the wide form.
+         */
+        public static final int WIDE_IDS_FLAG = 0x20;
+
+        /** The length of a wide message envelope header in bytes. */
+        public static final int WIDE_LENGTH = 14;
+
         /** The network representation of the message envelope header. */
         private final byte[] bytes_;
 
+        /** Indicates the header describes a compressed message envelope body. */
+        private final boolean isCompressed_;
+
+        /** Indicates the header is encoded in the extended form. */
+        private final boolean isExtended_;
+
+        /** Indicates the header is encoded in the wide form. */
+        private final boolean isWide_;
+
 
         // ==================================================================
         // Constructors
@@ -223,14 +985,18 @@ public final class MessageEnvelope
          * 
          * @param bytes
          *        The network representation of the message envelope header;
-         *        must not have a length less than {@link #LENGTH}.
+         *        must not have a length less than the length of the header it
+         *        encodes.
          */
         Header(
             final byte[] bytes )
         {
-            assert bytes.length >= LENGTH;
+            assert (bytes.length >= LENGTH) && (bytes.length >= getLength( bytes[ 0 ], bytes[ 1 ] ));
 
             bytes_ = bytes;
+            isCompressed_ = isExtended( bytes[ 0 ], bytes[ 1 ] ) && ((bytes[ 1 ] & COMPRESSED_FLAG) != 0);
+            isExtended_ = isExtended( bytes[ 0 ], bytes[ 1 ] );
+            isWide_ = isWide( bytes[ 0 ], bytes[ 1 ] );
         }
 
 
@@ -248,13 +1014,14 @@ public final class MessageEnvelope
          * @return A new message envelope header.
          * 
          * @throws java.lang.IllegalArgumentException
-         *         If the length of {@code bytes} is not equal to
-         *         {@link #LENGTH}.
+         *         If the length of {@code bytes} is not equal to the length of
+         *         the header it encodes.
          */
         public static Header fromByteArray(
             final byte[] bytes )
         {
-            assertArgumentLegal( bytes.length == LENGTH, "bytes" ); //$NON-NLS-1$
+            assertArgumentLegal( bytes.length >= LENGTH, "bytes" ); //$NON-NLS-1$
+            assertArgumentLegal( bytes.length == getLength( bytes[ 0 ], bytes[ 1 ] ), "bytes" ); //$NON-NLS-1$
 
             return new Header( bytes );
         }
@@ -266,6 +1033,15 @@ public final class MessageEnvelope
          */
         public int getBodyLength()
         {
+            if( isWide_ )
+            {
+                return getInt( 10 );
+            }
+            else if( isExtended_ )
+            {
+                return getInt( 4 );
+            }
+
             return ((bytes_[ 2 ] & 0x000000FF) << 8) | (bytes_[ 3 ] & 0x000000FF);
         }
 
@@ -276,7 +1052,12 @@ public final class MessageEnvelope
          */
         public int getCorrelationId()
         {
-            return bytes_[ 1 ] & 0x000000FF;
+            if( isWide_ )
+            {
+                return getInt( 6 );
+            }
+
+            return bytes_[ isExtended_ ? 3 : 1 ] & 0x000000FF;
         }
 
         /**
@@ -286,7 +1067,138 @@ public final class MessageEnvelope
          */
         public int getId()
         {
-            return bytes_[ 0 ] & 0x000000FF;
+            if( isWide_ )
+            {
+                return getInt( 2 );
+            }
+
+            return bytes_[ isExtended_ ? 2 : 0 ] & 0x000000FF;
+        }
+
+        /**
+         * Gets the big-endian 32-bit integer at the specified offset within the
+         * header.
+         * 
+         * @param offset
+         *        The offset within the header.
+         * 
+         * @return The 32-bit integer at the specified offset.
+         */
+        private int getInt(
+            final int offset )
+        {
+            return ((bytes_[ offset ] & 0x000000FF) << 24) | ((bytes_[ offset + 1 ] & 0x000000FF) << 16) | ((bytes_[ offset + 2 ] & 0x000000FF) << 8) | (bytes_[ offset + 3 ] & 0x000000FF);
+        }
+
+        /**
+         * Gets the length of the message envelope header in bytes.
+         * 
+         * @return The length of the message envelope header in bytes; one of
+         *         {@link #LENGTH}, {@link #EXTENDED_LENGTH}, or
+         *         {@link #WIDE_LENGTH}.
+         */
+        public int getLength()
+        {
+            if( isWide_ )
+            {
+                return WIDE_LENGTH;
+            }
+
+            return isExtended_ ? EXTENDED_LENGTH : LENGTH;
+        }
+
+        /**
+         * Gets the length of the header whose first two bytes are specified.
+         * 
+         * @param firstByte
+         *        The first byte of the header.
+         * @param secondByte
+         *        The second byte of the header.
+         * 
+         * @return The length of the header in bytes; one of {@link #LENGTH},
+         *         {@link #EXTENDED_LENGTH}, or {@link #WIDE_LENGTH}.
+         */
+        public static int getLength(
+            final byte firstByte,
+            final byte secondByte )
+        {
+            if( isWide( firstByte, secondByte ) )
+            {
+                return WIDE_LENGTH;
+            }
+
+            return isExtended( firstByte, secondByte ) ? EXTENDED_LENGTH : LENGTH;
+        }
+
+        /**
+         * Indicates the header describes a compressed message envelope body.
+         * 
+         * @return {@code true} if the header describes a compressed message
+         *         envelope body; otherwise {@code false}.
+         */
+        public boolean isCompressed()
+        {
+            return isCompressed_;
+        }
+
+        /**
+         * Indicates the header is encoded in the extended form.
+         * 
+         * @return {@code true} if the header is encoded in the extended form;
+         *         otherwise {@code false}.
+         */
+        public boolean isExtended()
+        {
+            return isExtended_;
+        }
+
+        /**
+         * Indicates the header whose first two bytes are specified is encoded
+         * in the extended form.
+         * 
+         * @param firstByte
+         *        The first byte of the header.
+         * @param secondByte
+         *        The second byte of the header.
+         * 
+         * @return {@code true} if the header is encoded in the extended form;
+         *         otherwise {@code false}.
+         */
+        public static boolean isExtended(
+            final byte firstByte,
+            final byte secondByte )
+        {
+            return (firstByte == 0) && ((secondByte & EXTENDED_FLAG) != 0);
+        }
+
+        /**
+         * Indicates the header is encoded in the wide form.
+         * 
+         * @return {@code true} if the header is encoded in the wide form;
+         *         otherwise {@code false}.
+         */
+        public boolean isWide()
+        {
+            return isWide_;
+        }
+
+        /**
+         * Indicates the header whose first two bytes are specified is encoded
+         * in the wide form.
+         * 
+         * @param firstByte
+         *        The first byte of the header.
+         * @param secondByte
+         *        The second byte of the header.
+         * 
+         * @return {@code true} if the header is encoded in the wide form;
+         *         otherwise {@code false}.
+         */
+        public static boolean isWide(
+            final byte firstByte,
+            final byte secondByte )
+        {
+            return isExtended( firstByte, secondByte ) && ((secondByte & WIDE_IDS_FLAG) != 0);
         }
 
         /**
@@ -298,12 +1210,13 @@ public final class MessageEnvelope
          */
         public byte[] toByteArray()
         {
-            if( bytes_.length == LENGTH )
+            final int length = getLength();
+            if( bytes_.length == length )
             {
                 return bytes_;
             }
 
-            final byte[] bytes = new byte[ LENGTH ];
+            final byte[] bytes = new byte[ length ];
             System.arraycopy( bytes_, 0, bytes, 0, bytes.length );
             return bytes;
         }
@@ -311,6 +1224,14 @@ public final class MessageEnvelope
 
     /**
      * A message envelope header builder.
+     * 
+     * <p>
+     * The builder creates a wide header if the message identifier or the
+     * message correlation identifier exceeds
+     * {@link IMessage#MAXIMUM_COMPACT_ID}. Otherwise, it creates a compact
+     * header unless the body length exceeds {@link Header#MAXIMUM_BODY_LENGTH}
+     * or the body is compressed, in which case it creates an extended header.
+     * </p>
      */
     @NotThreadSafe
     public static final class HeaderBuilder
@@ -319,8 +1240,17 @@ public final class MessageEnvelope
         // Fields
         // ==================================================================
 
-        /** The network representation of the message envelope header. */
-        private final byte[] bytes_;
+        /** The length of the message envelope body in bytes. */
+        private int bodyLength_;
+
+        /** The message correlation identifier. */
+        private int correlationId_;
+
+        /** The message identifier. */
+        private int id_;
+
+        /** Indicates the message envelope body is compressed. */
+        private boolean isCompressed_;
 
 
         // ==================================================================
@@ -332,7 +1262,10 @@ public final class MessageEnvelope
          */
         public HeaderBuilder()
         {
-            bytes_ = new byte[ Header.LENGTH ];
+            bodyLength_ = 0;
+            correlationId_ = 0;
+            id_ = 0;
+            isCompressed_ = false;
         }
 
 
@@ -347,12 +1280,33 @@ public final class MessageEnvelope
          *        The length of the message envelope body in bytes.
          * 
          * @return A reference to this builder.
+         * 
+         * @throws java.lang.IllegalArgumentException
+         *         If {@code bodyLength} is negative or greater than
+         *         {@link Header#MAXIMUM_EXTENDED_BODY_LENGTH}.
          */
         public HeaderBuilder setBodyLength(
             final int bodyLength )
         {
-            bytes_[ 2 ] = (byte)((bodyLength >>> 8) & 0x000000FF);
-            bytes_[ 3 ] = (byte)(bodyLength & 0x000000FF);
+            assertArgumentLegal( (bodyLength >= 0) && (bodyLength <= Header.MAXIMUM_EXTENDED_BODY_LENGTH), "bodyLength" ); //$NON-NLS-1$
+
+            bodyLength_ = bodyLength;
+            return this;
+        }
+
+        /**
+         * Sets a value indicating the message envelope body is compressed.
+         * 
+         * @param isCompressed
+         *        {@code true} if the message envelope body is compressed;
+         *        otherwise {@code false}.
+         * 
+         * @return A reference to this builder.
+         */
+        public HeaderBuilder setCompressed(
+            final boolean isCompressed )
+        {
+            isCompressed_ = isCompressed;
             return this;
         }
 
@@ -367,7 +1321,7 @@ public final class MessageEnvelope
         public HeaderBuilder setCorrelationId(
             final int correlationId )
         {
-            bytes_[ 1 ] = (byte)correlationId;
+            correlationId_ = correlationId;
             return this;
         }
 
@@ -382,7 +1336,7 @@ public final class MessageEnvelope
         public HeaderBuilder setId(
             final int id )
         {
-            bytes_[ 0 ] = (byte)id;
+            id_ = id;
 
             return this;
         }
@@ -395,7 +1349,47 @@ public final class MessageEnvelope
          */
         public Header toHeader()
         {
-            return new Header( bytes_ );
+            final int compressedFlag = isCompressed_ ? Header.COMPRESSED_FLAG : 0;
+            if( (id_ > IMessage.MAXIMUM_COMPACT_ID) || (correlationId_ > IMessage.MAXIMUM_COMPACT_ID) )
+            {
+                return new Header( new byte[] {
+                    (byte)0x00, //
+                    (byte)(Header.EXTENDED_FLAG | Header.WIDE_IDS_FLAG | compressedFlag), //
+                    (byte)(id_ >>> 24), //
+                    (byte)(id_ >>> 16), //
+                    (byte)(id_ >>> 8), //
+                    (byte)id_, //
+                    (byte)(correlationId_ >>> 24), //
+                    (byte)(correlationId_ >>> 16), //
+                    (byte)(correlationId_ >>> 8), //
+                    (byte)correlationId_, //
+                    (byte)(bodyLength_ >>> 24), //
+                    (byte)(bodyLength_ >>> 16), //
+                    (byte)(bodyLength_ >>> 8), //
+                    (byte)bodyLength_
+                } );
+            }
+
+            if( (bodyLength_ <= Header.MAXIMUM_BODY_LENGTH) && !isCompressed_ )
+            {
+                return new Header( new byte[] {
+                    (byte)id_, //
+                    (byte)correlationId_, //
+                    (byte)(bodyLength_ >>> 8), //
+                    (byte)bodyLength_
+                } );
+            }
+
+            return new Header( new byte[] {
+                (byte)0x00, //
+                (byte)(Header.EXTENDED_FLAG | compressedFlag), //
+                (byte)id_, //
+                (byte)correlationId_, //
+                (byte)(bodyLength_ >>> 24), //
+                (byte)(bodyLength_ >>> 16), //
+                (byte)(bodyLength_ >>> 8), //
+                (byte)bodyLength_
+            } );
         }
     }
 }
@@ -35,11 +35,75 @@ final class NonNlsMessages
     // Fields
     // ======================================================================
 
+    // --- BinaryMessageReader ----------------------------------------------
+
+    /** The interned value tag is illegal. */
+    public static String BinaryMessageReader_illegalTag = ""; //$NON-NLS-1$
+
+    /** The variable-length integer is malformed. */
+    public static String BinaryMessageReader_malformedInteger = ""; //$NON-NLS-1$
+
+    /** The boolean value is illegal. */
+    public static String BinaryMessageReader_readBoolean_illegalValue = ""; //$NON-NLS-1$
+
+    /** The enum ordinal is illegal. */
+    public static String BinaryMessageReader_readEnum_illegalOrdinal = ""; //$NON-NLS-1$
+
+    /** The extensible enum value is not of the expected type. */
+    public static String BinaryMessageReader_readExtensibleEnum_unexpectedType = ""; //$NON-NLS-1$
+
+    /** The collection length is illegal. */
+    public static String BinaryMessageReader_readLength_illegalLength = ""; //$NON-NLS-1$
+
+    /** The message ends unexpectedly. */
+    public static String BinaryMessageReader_truncated = ""; //$NON-NLS-1$
+
+    // --- MessageCodec -----------------------------------------------------
+
+    /**
+     * The message envelope body is binary encoded but the message codec has
+     * no binary message schema.
+     */
+    public static String MessageCodec_decode_binaryUnsupported = ""; //$NON-NLS-1$
+
+    /** The binary message reader of the message codec is corrupt. */
+    public static String MessageCodec_decode_binaryReaderCorrupt = ""; //$NON-NLS-1$
+
+    /** The object stream of the message codec is corrupt. */
+    public static String MessageCodec_decode_streamCorrupt = ""; //$NON-NLS-1$
+
+    /** The message envelope body contains data following the message. */
+    public static String MessageCodec_decode_trailingData = ""; //$NON-NLS-1$
+
+    /** An object that is not a message was present in the stream. */
+    public static String MessageCodec_decode_unexpectedObject = ""; //$NON-NLS-1$
+
     // --- MessageEnvelope --------------------------------------------------
 
+    /**
+     * The uncompressed length of the message envelope body exceeds the
+     * maximum length.
+     */
+    public static String MessageEnvelope_decompress_bodyTooLong = ""; //$NON-NLS-1$
+
+    /** The compressed message envelope body is malformed. */
+    public static String MessageEnvelope_decompress_malformedBody = ""; //$NON-NLS-1$
+
+    /** The message envelope header contains illegal message identifiers. */
+    public static String MessageEnvelope_getMessage_illegalHeaderIds = ""; //$NON-NLS-1$
+
     /** An unexpected null message was present in the stream. */
     public static String MessageEnvelope_getMessage_nullMessage = ""; //$NON-NLS-1$
 
+    /**
+     * The message envelope body is stream encoded and cannot be deserialized
+     * without a message codec.
+     */
+    public static String MessageEnvelope_getMessage_streamEncoded = ""; //$NON-NLS-1$
+
+    /** The decoded message could not be serialized. */
+    public static String MessageEnvelope_toByteArray_serializationError = ""; //$NON-NLS-1$
+
 
     // ======================================================================
     // Constructors
@@ -59,4 +123,92 @@ final class NonNlsMessages
     private NonNlsMessages()
     {
     }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    // --- BinaryMessageReader ----------------------------------------------
+
+    /**
+     * Gets the formatted message indicating the interned value tag is illegal.
+     * 
+     * @param tag
+     *        The interned value tag.
+     * 
+     * @return The formatted message indicating the interned value tag is
+     *         illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String BinaryMessageReader_illegalTag(
+        final int tag )
+    {
+        return bind( BinaryMessageReader_illegalTag, tag );
+    }
+
+    /**
+     * Gets the formatted message indicating the boolean value is illegal.
+     * 
+     * @param value
+     *        The boolean value.
+     * 
+     * @return The formatted message indicating the boolean value is illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String BinaryMessageReader_readBoolean_illegalValue(
+        final int value )
+    {
+        return bind( BinaryMessageReader_readBoolean_illegalValue, value );
+    }
+
+    /**
+     * Gets the formatted message indicating the enum ordinal is illegal.
+     * 
+     * @param type
+     *        The enum type.
+     * @param ordinal
+     *        The enum ordinal.
+     * 
+     * @return The formatted message indicating the enum ordinal is illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String BinaryMessageReader_readEnum_illegalOrdinal(
+        final Class<?> type,
+        final int ordinal )
+    {
+        return bind( BinaryMessageReader_readEnum_illegalOrdinal, type.getName(), ordinal );
+    }
+
+    /**
+     * Gets the formatted message indicating the extensible enum value is not
+     * of the expected type.
+     * 
+     * @param type
+     *        The expected extensible enum type.
+     * 
+     * @return The formatted message indicating the extensible enum value is
+     *         not of the expected type.
+     */
+    static String BinaryMessageReader_readExtensibleEnum_unexpectedType(
+        final Class<?> type )
+    {
+        return bind( BinaryMessageReader_readExtensibleEnum_unexpectedType, type.getName() );
+    }
+
+    /**
+     * Gets the formatted message indicating the collection length is illegal.
+     * 
+     * @param length
+     *        The collection length.
+     * 
+     * @return The formatted message indicating the collection length is
+     *         illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String BinaryMessageReader_readLength_illegalLength(
+        final int length )
+    {
+        return bind( BinaryMessageReader_readLength_illegalLength, length );
+    }
 }
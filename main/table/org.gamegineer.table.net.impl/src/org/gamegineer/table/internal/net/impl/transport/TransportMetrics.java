@@ -0,0 +1,336 @@
+/*
+ * TransportMetrics.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:44:18 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport;
+
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Implementation of {@link ITransportMetrics} shared by all transport layers.
+ * 
+ * <p>
+ * The metrics of a transport layer aggregate the metrics of all of its
+ * connections. Each connection maintains its own metrics whose parent is the
+ * transport layer metrics; every change to the metrics of a connection is also
+ * applied to its parent. The dispatch time statistics of a connection are
+ * those of the thread that services the connection.
+ * </p>
+ * 
+ * <p>
+ * The metrics may be modified and read from any thread.
+ * </p>
+ */
+@ThreadSafe
+public final class TransportMetrics
+    implements ITransportMetrics
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The number of bytes received from the socket. */
+    private final LongAdder bytesReceived_;
+
+    /** The number of bytes written to the socket. */
+    private final LongAdder bytesSent_;
+
+    /** The statistics of the event dispatch loop iteration times. */
+    private final DurationStatistics dispatchTimes_;
+
+    /**
+     * The number of bytes received from the socket that have not yet been
+     * decoded into a message.
+     */
+    private final LongAdder inputQueueLength_;
+
+    /** The number of messages received from the socket. */
+    private final LongAdder messagesReceived_;
+
+    /** The number of bytes waiting to be written to the socket. */
+    private final LongAdder outputQueueLength_;
+
+    /**
+     * The parent metrics or {@code null} if these metrics have no parent.
+     */
+    private final @Nullable TransportMetrics parent_;
+
+    /**
+     * The statistics of the time elapsed between a request to send a message
+     * and the last byte of the message being written to the socket.
+     */
+    private final DurationStatistics sendLatencies_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TransportMetrics} class that
+     * has no parent.
+     */
+    public TransportMetrics()
+    {
+        this( null, new DurationStatistics( null ) );
+    }
+
+    /**
+     * Initializes a new instance of the {@code TransportMetrics} class.
+     * 
+     * @param parent
+     *        The parent metrics or {@code null} if the metrics have no parent.
+     * @param dispatchTimes
+     *        The statistics of the event dispatch loop iteration times.
+     */
+    public TransportMetrics(
+        final @Nullable TransportMetrics parent,
+        final DurationStatistics dispatchTimes )
+    {
+        bytesReceived_ = new LongAdder();
+        bytesSent_ = new LongAdder();
+        dispatchTimes_ = dispatchTimes;
+        inputQueueLength_ = new LongAdder();
+        messagesReceived_ = new LongAdder();
+        outputQueueLength_ = new LongAdder();
+        parent_ = parent;
+        sendLatencies_ = new DurationStatistics( (parent != null) ? parent.sendLatencies_ : null );
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Records the specified number of bytes received from the socket.
+     * 
+     * @param length
+     *        The number of bytes received from the socket.
+     */
+    public void bytesReceived(
+        final long length )
+    {
+        bytesReceived_.add( length );
+
+        if( parent_ != null )
+        {
+            parent_.bytesReceived( length );
+        }
+    }
+
+    /**
+     * Records the specified number of bytes written to the socket.
+     * 
+     * @param length
+     *        The number of bytes written to the socket.
+     */
+    public void bytesSent(
+        final long length )
+    {
+        bytesSent_.add( length );
+
+        if( parent_ != null )
+        {
+            parent_.bytesSent( length );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getAverageDispatchTime()
+     */
+    @Override
+    public long getAverageDispatchTime()
+    {
+        return dispatchTimes_.getAverage();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getAverageSendLatency()
+     */
+    @Override
+    public long getAverageSendLatency()
+    {
+        return sendLatencies_.getAverage();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getBytesReceived()
+     */
+    @Override
+    public long getBytesReceived()
+    {
+        return bytesReceived_.sum();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getBytesSent()
+     */
+    @Override
+    public long getBytesSent()
+    {
+        return bytesSent_.sum();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getDispatchCount()
+     */
+    @Override
+    public long getDispatchCount()
+    {
+        return dispatchTimes_.getCount();
+    }
+
+    /**
+     * Gets the statistics of the event dispatch loop iteration times.
+     * 
+     * @return The statistics of the event dispatch loop iteration times.
+     */
+    public DurationStatistics getDispatchTimes()
+    {
+        return dispatchTimes_;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getInputQueueLength()
+     */
+    @Override
+    public long getInputQueueLength()
+    {
+        return inputQueueLength_.sum();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMaximumDispatchTime()
+     */
+    @Override
+    public long getMaximumDispatchTime()
+    {
+        return dispatchTimes_.getMaximum();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMaximumSendLatency()
+     */
+    @Override
+    public long getMaximumSendLatency()
+    {
+        return sendLatencies_.getMaximum();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMessagesReceived()
+     */
+    @Override
+    public long getMessagesReceived()
+    {
+        return messagesReceived_.sum();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getMessagesSent()
+     */
+    @Override
+    public long getMessagesSent()
+    {
+        return sendLatencies_.getCount();
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportMetrics#getOutputQueueLength()
+     */
+    @Override
+    public long getOutputQueueLength()
+    {
+        return outputQueueLength_.sum();
+    }
+
+    /**
+     * Records a message received from the socket.
+     */
+    public void messageReceived()
+    {
+        messagesReceived_.increment();
+
+        if( parent_ != null )
+        {
+            parent_.messageReceived();
+        }
+    }
+
+    /**
+     * Records a message completely written to the socket.
+     * 
+     * @param sendLatency
+     *        The time in nanoseconds elapsed between the request to send the
+     *        message and the last byte of the message being written to the
+     *        socket.
+     */
+    public void messageSent(
+        final long sendLatency )
+    {
+        sendLatencies_.record( sendLatency );
+    }
+
+    /**
+     * Adjusts the current lengths of the connection queues by the specified
+     * amounts.
+     * 
+     * @param inputQueueLengthDelta
+     *        The amount by which the input queue length has changed.
+     * @param outputQueueLengthDelta
+     *        The amount by which the output queue length has changed.
+     */
+    private void queueLengthsChanged(
+        final long inputQueueLengthDelta,
+        final long outputQueueLengthDelta )
+    {
+        inputQueueLength_.add( inputQueueLengthDelta );
+        outputQueueLength_.add( outputQueueLengthDelta );
+
+        if( parent_ != null )
+        {
+            parent_.queueLengthsChanged( inputQueueLengthDelta, outputQueueLengthDelta );
+        }
+    }
+
+    /**
+     * Sets the current lengths of the connection queues.
+     * 
+     * <p>
+     * The parent metrics, if any, are adjusted by the difference between the
+     * specified lengths and the previous lengths.
+     * </p>
+     * 
+     * @param inputQueueLength
+     *        The number of bytes received from the socket that have not yet
+     *        been decoded into a message.
+     * @param outputQueueLength
+     *        The number of bytes waiting to be written to the socket.
+     */
+    public void setQueueLengths(
+        final long inputQueueLength,
+        final long outputQueueLength )
+    {
+        queueLengthsChanged( inputQueueLength - inputQueueLength_.sum(), outputQueueLength - outputQueueLength_.sum() );
+    }
+}
@@ -0,0 +1,804 @@
+/*
+ * LoopbackServiceHandler.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:32:07 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.transport.DurationStatistics;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.IService;
+import org.gamegineer.table.internal.net.impl.transport.IServiceContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.tcp.State;
+
+/**
+ * A service handler in the loopback transport layer.
+ * 
+ * <p>
+ * Each service handler is connected to exactly one peer service handler. A
+ * message envelope sent by the service is scheduled for delivery to the peer
+ * on the dispatcher shared by both service handlers. The delivery time
+ * simulates a link with the bandwidth, latency, and jitter prescribed by the
+ * transport layer configuration. Message envelopes are delivered in the order
+ * in which they were sent, and the peer is notified the service has stopped
+ * only after all message envelopes sent by the service have been delivered.
+ * </p>
+ * 
+ * <p>
+ * Message envelopes are never compressed because they are delivered without
+ * being written to a byte stream.
+ * </p>
+ */
+@ThreadSafe
+final class LoopbackServiceHandler
+    implements IServiceContext
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The bandwidth of the simulated link in bytes per second or zero if the
+     * bandwidth is unlimited.
+     */
+    private final long bandwidth_;
+
+    /**
+     * The dispatcher on which message envelopes are delivered to the service
+     * and to the service peer.
+     */
+    private final ScheduledExecutorService dispatcher_;
+
+    /** The statistics of the times spent dispatching received data. */
+    private final DurationStatistics dispatchTimes_;
+
+    /**
+     * Indicates messages that exceed the maximum length of a compact message
+     * envelope may be sent to the service peer.
+     */
+    @GuardedBy( "lock_" )
+    private boolean isLargeMessageTransferEnabled_;
+
+    /** Indicates the output queue is congested. */
+    @GuardedBy( "lock_" )
+    private boolean isOutputQueueCongested_;
+
+    /**
+     * Indicates the service has requested the service handler be stopped once
+     * all pending message envelopes have been delivered.
+     */
+    @GuardedBy( "lock_" )
+    private boolean isStopRequested_;
+
+    /**
+     * The maximum random delay in nanoseconds added to the latency of each
+     * message envelope.
+     */
+    private final long jitter_;
+
+    /**
+     * The time, as reported by {@link System#nanoTime()}, at which the last
+     * transmission to the service peer is scheduled to be delivered.
+     */
+    @GuardedBy( "lock_" )
+    private long lastDeliveryTime_;
+
+    /** The propagation delay of the simulated link in nanoseconds. */
+    private final long latency_;
+
+    /**
+     * The time, as reported by {@link System#nanoTime()}, at which the
+     * simulated link will have finished transmitting all pending message
+     * envelopes.
+     */
+    @GuardedBy( "lock_" )
+    private long linkAvailableTime_;
+
+    /** The instance lock. */
+    private final Object lock_;
+
+    /** The transport metrics of the connection associated with the handler. */
+    private final TransportMetrics metrics_;
+
+    /**
+     * The number of bytes waiting to be sent above which the output queue is
+     * considered congested.
+     */
+    private final int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes in the message envelopes sent by the service that
+     * have not yet been delivered to the service peer.
+     */
+    @GuardedBy( "lock_" )
+    private long outputQueueLength_;
+
+    /**
+     * The number of bytes waiting to be sent at or below which a congested
+     * output queue is no longer considered congested.
+     */
+    private final int outputQueueLowWatermark_;
+
+    /**
+     * The peer service handler or {@code null} if the service handler has not
+     * yet been connected.
+     */
+    @GuardedBy( "lock_" )
+    private @Nullable LoopbackServiceHandler peer_;
+
+    /** The service. */
+    private final IService service_;
+
+    /** The service handler state. */
+    @GuardedBy( "lock_" )
+    private State state_;
+
+    /**
+     * The queue of transmissions to the service peer that have not yet been
+     * delivered.
+     */
+    @GuardedBy( "lock_" )
+    private final Deque<Transmission> transmissions_;
+
+    /** The transport layer associated with the service handler. */
+    private final LoopbackTransportLayer transportLayer_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LoopbackServiceHandler} class.
+     * 
+     * @param transportLayer
+     *        The transport layer associated with the service handler.
+     * @param service
+     *        The service.
+     * @param dispatcher
+     *        The dispatcher on which message envelopes are delivered to the
+     *        service and to the service peer.
+     */
+    LoopbackServiceHandler(
+        final LoopbackTransportLayer transportLayer,
+        final IService service,
+        final ScheduledExecutorService dispatcher )
+    {
+        final LoopbackTransportLayerConfiguration configuration = transportLayer.getConfiguration();
+
+        bandwidth_ = configuration.getBandwidth();
+        dispatcher_ = dispatcher;
+        dispatchTimes_ = new DurationStatistics( transportLayer.getMetrics().getDispatchTimes() );
+        isLargeMessageTransferEnabled_ = false;
+        isOutputQueueCongested_ = false;
+        isStopRequested_ = false;
+        jitter_ = configuration.getJitter();
+        lastDeliveryTime_ = System.nanoTime();
+        latency_ = configuration.getLatency();
+        linkAvailableTime_ = lastDeliveryTime_;
+        lock_ = new Object();
+        metrics_ = new TransportMetrics( transportLayer.getMetrics(), dispatchTimes_ );
+        outputQueueHighWatermark_ = configuration.getOutputQueueHighWatermark();
+        outputQueueLength_ = 0L;
+        outputQueueLowWatermark_ = configuration.getOutputQueueLowWatermark();
+        peer_ = null;
+        service_ = service;
+        state_ = State.PRISTINE;
+        transmissions_ = new ArrayDeque<>();
+        transportLayer_ = transportLayer;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Notifies the service if the output queue has crossed one of its
+     * watermarks since the last notification.
+     */
+    @GuardedBy( "lock_" )
+    private void checkOutputQueueCongestion()
+    {
+        if( !isOutputQueueCongested_ && (outputQueueLength_ > outputQueueHighWatermark_) )
+        {
+            isOutputQueueCongested_ = true;
+            service_.outputQueueCongestionChanged( true, outputQueueLength_ );
+        }
+        else if( isOutputQueueCongested_ && (outputQueueLength_ <= outputQueueLowWatermark_) )
+        {
+            isOutputQueueCongested_ = false;
+            service_.outputQueueCongestionChanged( false, outputQueueLength_ );
+        }
+    }
+
+    /**
+     * Closes the service handler.
+     * 
+     * <p>
+     * This method does nothing if the service handler is already closed.
+     * Message envelopes already sent by the service are still delivered to
+     * the service peer, after which the service peer is notified the service
+     * has stopped.
+     * </p>
+     * 
+     * @param exception
+     *        The exception that caused the service handler to be closed or
+     *        {@code null} if the service handler was closed normally.
+     */
+    void close(
+        final @Nullable Exception exception )
+    {
+        final State previousState;
+        synchronized( lock_ )
+        {
+            previousState = state_;
+            if( previousState == State.CLOSED )
+            {
+                return;
+            }
+
+            state_ = State.CLOSED;
+            metrics_.setQueueLengths( 0L, 0L );
+            lastDeliveryTime_ = Math.max( System.nanoTime(), lastDeliveryTime_ );
+            transmit( new Transmission( null, lastDeliveryTime_, lastDeliveryTime_ ) );
+        }
+
+        transportLayer_.serviceHandlerClosed( this );
+
+        if( previousState == State.OPEN )
+        {
+            service_.stopped( exception );
+        }
+    }
+
+    /**
+     * Closes the service handler if the service has requested it be stopped
+     * and all message envelopes sent by the service have been delivered.
+     */
+    private void closeIfStopped()
+    {
+        synchronized( lock_ )
+        {
+            if( !isStopRequested_ || !transmissions_.isEmpty() )
+            {
+                return;
+            }
+        }
+
+        close( null );
+    }
+
+    /**
+     * Connects the specified service handlers to each other.
+     * 
+     * @param serviceHandler1
+     *        The first service handler.
+     * @param serviceHandler2
+     *        The second service handler.
+     */
+    static void connect(
+        final LoopbackServiceHandler serviceHandler1,
+        final LoopbackServiceHandler serviceHandler2 )
+    {
+        synchronized( serviceHandler1.lock_ )
+        {
+            serviceHandler1.peer_ = serviceHandler2;
+        }
+
+        synchronized( serviceHandler2.lock_ )
+        {
+            serviceHandler2.peer_ = serviceHandler1;
+        }
+    }
+
+    /**
+     * Delivers the next transmission to the service peer.
+     * 
+     * <p>
+     * This method is invoked on the dispatcher. Each invocation delivers the
+     * transmission at the head of the queue rather than the transmission for
+     * which it was scheduled so that transmissions scheduled for the same time
+     * are delivered in the order in which they were sent.
+     * </p>
+     */
+    private void deliverNextTransmission()
+    {
+        final Transmission transmission;
+        final LoopbackServiceHandler peer;
+        synchronized( lock_ )
+        {
+            transmission = transmissions_.pollFirst();
+            peer = peer_;
+            if( (transmission == null) || (peer == null) )
+            {
+                return;
+            }
+
+            final MessageEnvelope messageEnvelope = transmission.getMessageEnvelope();
+            if( messageEnvelope != null )
+            {
+                final long length = getLength( messageEnvelope );
+                outputQueueLength_ -= length;
+                metrics_.bytesSent( length );
+                metrics_.messageSent( transmission.getTransmitTime() - transmission.getSendTime() );
+                if( state_ == State.OPEN )
+                {
+                    checkOutputQueueCongestion();
+                    updateQueueLengths();
+                }
+            }
+        }
+
+        final MessageEnvelope messageEnvelope = transmission.getMessageEnvelope();
+        if( messageEnvelope != null )
+        {
+            peer.receive( messageEnvelope );
+            closeIfStopped();
+        }
+        else
+        {
+            peer.peerStopped();
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#getMetrics()
+     */
+    @Override
+    public ITransportMetrics getMetrics()
+    {
+        return metrics_;
+    }
+
+    /**
+     * Gets the number of bytes in the network representation of the specified
+     * message envelope.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return The number of bytes in the network representation of the
+     *         specified message envelope.
+     */
+    private static long getLength(
+        final MessageEnvelope messageEnvelope )
+    {
+        final MessageEnvelope.Header header = messageEnvelope.getHeader();
+        return (long)header.getLength() + header.getBodyLength();
+    }
+
+    /**
+     * Indicates the service handler is open.
+     * 
+     * @return {@code true} if the service handler is open; otherwise
+     *         {@code false}.
+     */
+    private boolean isOpen()
+    {
+        synchronized( lock_ )
+        {
+            return state_ == State.OPEN;
+        }
+    }
+
+    /**
+     * Opens the service handler.
+     * 
+     * <p>
+     * This method does nothing if the service handler has already been closed.
+     * </p>
+     */
+    private void open()
+    {
+        synchronized( lock_ )
+        {
+            if( state_ != State.PRISTINE )
+            {
+                return;
+            }
+
+            state_ = State.OPEN;
+            service_.started( this );
+        }
+    }
+
+    /**
+     * Opens the specified connected service handlers.
+     * 
+     * <p>
+     * The service handlers are opened on their dispatcher so that no message
+     * envelope can be delivered to either service before both services have
+     * been started. The service handlers are closed if their dispatcher has
+     * been shut down.
+     * </p>
+     * 
+     * @param serviceHandler1
+     *        The service handler to be opened first.
+     * @param serviceHandler2
+     *        The service handler to be opened second.
+     */
+    static void open(
+        final LoopbackServiceHandler serviceHandler1,
+        final LoopbackServiceHandler serviceHandler2 )
+    {
+        try
+        {
+            serviceHandler1.dispatcher_.execute( new Runnable()
+            {
+                @Override
+                @SuppressWarnings( "synthetic-access" )
+                public void run()
+                {
+                    serviceHandler1.open();
+                    serviceHandler2.open();
+                }
+            } );
+        }
+        catch( @SuppressWarnings( "unused" ) final RejectedExecutionException e )
+        {
+            serviceHandler1.close( null );
+            serviceHandler2.close( null );
+        }
+    }
+
+    /**
+     * Notifies the service the peer service has stopped.
+     * 
+     * <p>
+     * This method is invoked on the dispatcher.
+     * </p>
+     */
+    private void peerStopped()
+    {
+        if( isOpen() )
+        {
+            service_.peerStopped();
+        }
+    }
+
+    /**
+     * Delivers the specified message envelope received from the service peer
+     * to the service.
+     * 
+     * <p>
+     * This method is invoked on the dispatcher.
+     * </p>
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     */
+    private void receive(
+        final MessageEnvelope messageEnvelope )
+    {
+        if( !isOpen() )
+        {
+            return;
+        }
+
+        final long dispatchStartTime = System.nanoTime();
+        metrics_.bytesReceived( getLength( messageEnvelope ) );
+        metrics_.messageReceived();
+        try
+        {
+            service_.messageReceived( messageEnvelope );
+        }
+        catch( final RuntimeException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.LoopbackServiceHandler_deliver_error, e );
+            close( e );
+        }
+        finally
+        {
+            dispatchTimes_.record( System.nanoTime() - dispatchStartTime );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendControlMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendControlMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        sendMessageEnvelope( messageEnvelope );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessage(org.gamegineer.table.internal.net.impl.transport.IMessage)
+     */
+    @Override
+    public void sendMessage(
+        final IMessage message )
+    {
+        try
+        {
+            sendMessageEnvelope( MessageEnvelope.fromMessage( message ) );
+        }
+        catch( final IOException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.LoopbackServiceHandler_sendMessage_ioError( message ), e );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        final long sendTime = System.nanoTime();
+
+        final boolean isTransmitted;
+        synchronized( lock_ )
+        {
+            if( state_ == State.CLOSED )
+            {
+                return;
+            }
+
+            if( (messageEnvelope.getHeader().getBodyLength() > MessageEnvelope.Header.MAXIMUM_BODY_LENGTH) && !isLargeMessageTransferEnabled_ )
+            {
+                Loggers.getDefaultLogger().severe( NonNlsMessages.LoopbackServiceHandler_sendMessageEnvelope_messageTooLong( messageEnvelope ) );
+                return;
+            }
+
+            final long length = getLength( messageEnvelope );
+            final long transmitStartTime = Math.max( sendTime, linkAvailableTime_ );
+            linkAvailableTime_ = transmitStartTime + ((bandwidth_ > 0L) ? (length * TimeUnit.SECONDS.toNanos( 1L ) / bandwidth_) : 0L);
+            final long jitter = (jitter_ > 0L) ? ThreadLocalRandom.current().nextLong( jitter_ + 1L ) : 0L;
+            lastDeliveryTime_ = Math.max( linkAvailableTime_ + latency_ + jitter, lastDeliveryTime_ );
+
+            isTransmitted = transmit( new Transmission( messageEnvelope, sendTime, linkAvailableTime_ ) );
+            if( isTransmitted )
+            {
+                outputQueueLength_ += length;
+                checkOutputQueueCongestion();
+                updateQueueLengths();
+            }
+        }
+
+        if( !isTransmitted )
+        {
+            close( null );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setCompressionEnabled(boolean)
+     */
+    @Override
+    public void setCompressionEnabled(
+        @SuppressWarnings( "unused" )
+        final boolean isCompressionEnabled )
+    {
+        // do nothing
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setLargeMessageTransferEnabled(boolean)
+     */
+    @Override
+    public void setLargeMessageTransferEnabled(
+        final boolean isLargeMessageTransferEnabled )
+    {
+        synchronized( lock_ )
+        {
+            isLargeMessageTransferEnabled_ = isLargeMessageTransferEnabled;
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#stopService()
+     */
+    @Override
+    public void stopService()
+    {
+        synchronized( lock_ )
+        {
+            isStopRequested_ = true;
+        }
+
+        try
+        {
+            dispatcher_.execute( new Runnable()
+            {
+                @Override
+                @SuppressWarnings( "synthetic-access" )
+                public void run()
+                {
+                    closeIfStopped();
+                }
+            } );
+        }
+        catch( @SuppressWarnings( "unused" ) final RejectedExecutionException e )
+        {
+            close( null );
+        }
+    }
+
+    /**
+     * Schedules the specified transmission for delivery to the service peer at
+     * the last delivery time.
+     * 
+     * @param transmission
+     *        The transmission.
+     * 
+     * @return {@code true} if the transmission was scheduled; {@code false} if
+     *         the dispatcher has been shut down.
+     */
+    @GuardedBy( "lock_" )
+    private boolean transmit(
+        final Transmission transmission )
+    {
+        try
+        {
+            dispatcher_.schedule( new Runnable()
+            {
+                @Override
+                @SuppressWarnings( "synthetic-access" )
+                public void run()
+                {
+                    deliverNextTransmission();
+                }
+            }, lastDeliveryTime_ - System.nanoTime(), TimeUnit.NANOSECONDS );
+        }
+        catch( @SuppressWarnings( "unused" ) final RejectedExecutionException e )
+        {
+            return false;
+        }
+
+        transmissions_.addLast( transmission );
+        return true;
+    }
+
+    /**
+     * Updates the queue lengths recorded in the transport metrics.
+     */
+    @GuardedBy( "lock_" )
+    private void updateQueueLengths()
+    {
+        if( state_ == State.OPEN )
+        {
+            metrics_.setQueueLengths( 0L, outputQueueLength_ );
+        }
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A transmission to the service peer.
+     */
+    @Immutable
+    private static final class Transmission
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /**
+         * The message envelope or {@code null} if the transmission notifies
+         * the service peer the service has stopped.
+         */
+        private final @Nullable MessageEnvelope messageEnvelope_;
+
+        /**
+         * The time, as reported by {@link System#nanoTime()}, at which the
+         * message envelope was requested to be sent.
+         */
+        private final long sendTime_;
+
+        /**
+         * The time, as reported by {@link System#nanoTime()}, at which the
+         * last byte of the message envelope is transmitted over the simulated
+         * link.
+         */
+        private final long transmitTime_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code Transmission} class.
+         * 
+         * @param messageEnvelope
+         *        The message envelope or {@code null} if the transmission
+         *        notifies the service peer the service has stopped.
+         * @param sendTime
+         *        The time, as reported by {@link System#nanoTime()}, at which
+         *        the message envelope was requested to be sent.
+         * @param transmitTime
+         *        The time, as reported by {@link System#nanoTime()}, at which
+         *        the last byte of the message envelope is transmitted over the
+         *        simulated link.
+         */
+        Transmission(
+            final @Nullable MessageEnvelope messageEnvelope,
+            final long sendTime,
+            final long transmitTime )
+        {
+            messageEnvelope_ = messageEnvelope;
+            sendTime_ = sendTime;
+            transmitTime_ = transmitTime;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the message envelope.
+         * 
+         * @return The message envelope or {@code null} if the transmission
+         *         notifies the service peer the service has stopped.
+         */
+        @Nullable MessageEnvelope getMessageEnvelope()
+        {
+            return messageEnvelope_;
+        }
+
+        /**
+         * Gets the time at which the message envelope was requested to be
+         * sent.
+         * 
+         * @return The time, as reported by {@link System#nanoTime()}, at which
+         *         the message envelope was requested to be sent.
+         */
+        long getSendTime()
+        {
+            return sendTime_;
+        }
+
+        /**
+         * Gets the time at which the last byte of the message envelope is
+         * transmitted over the simulated link.
+         * 
+         * @return The time, as reported by {@link System#nanoTime()}, at which
+         *         the last byte of the message envelope is transmitted over the
+         *         simulated link.
+         */
+        long getTransmitTime()
+        {
+            return transmitTime_;
+        }
+    }
+}
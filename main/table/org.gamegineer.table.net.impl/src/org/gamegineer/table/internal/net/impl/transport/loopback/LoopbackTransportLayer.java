@@ -0,0 +1,547 @@
+/*
+ * LoopbackTransportLayer.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:18:40 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
+import org.gamegineer.common.core.util.concurrent.TaskUtils;
+import org.gamegineer.table.internal.net.impl.Activator;
+import org.gamegineer.table.internal.net.impl.transport.IService;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.TransportException;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.tcp.State;
+
+/**
+ * Implementation of {@link ITransportLayer} that connects transport layers
+ * within the same process.
+ * 
+ * <p>
+ * A passive loopback transport layer accepts connections on a port in a
+ * process-wide namespace that is independent of the ports used by the
+ * operating system; the host name is ignored. Binding to port zero allocates
+ * an unused port. An active loopback transport layer connects to the passive
+ * loopback transport layer accepting connections on the requested port.
+ * </p>
+ * 
+ * <p>
+ * Message envelopes are exchanged without being serialized to a byte stream.
+ * Each connection is assigned to one of the dispatchers of the passive
+ * transport layer, which delivers the message envelopes sent in both
+ * directions after the delay prescribed by the transport layer configuration.
+ * </p>
+ * 
+ * <p>
+ * The methods of this class may be called from any thread.
+ * </p>
+ */
+@ThreadSafe
+final class LoopbackTransportLayer
+    implements ITransportLayer
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The first port allocated when binding to port zero. */
+    private static final int FIRST_EPHEMERAL_PORT = 49152;
+
+    /** The port that will be allocated the next time port zero is bound. */
+    private static final AtomicInteger nextEphemeralPort_ = new AtomicInteger( FIRST_EPHEMERAL_PORT );
+
+    /**
+     * The collection of passive transport layers accepting connections. The
+     * key is the port on which the transport layer is accepting connections.
+     */
+    private static final ConcurrentMap<Integer, LoopbackTransportLayer> passiveTransportLayers_ = new ConcurrentHashMap<>();
+
+    /** The transport layer configuration. */
+    private final LoopbackTransportLayerConfiguration configuration_;
+
+    /** The transport layer context. */
+    private final ITransportLayerContext context_;
+
+    /**
+     * The dispatchers among which connections accepted by the transport layer
+     * are distributed.
+     */
+    @GuardedBy( "lock_" )
+    private final List<ScheduledExecutorService> dispatchers_;
+
+    /** The instance lock. */
+    private final Object lock_;
+
+    /** The transport layer metrics. */
+    private final TransportMetrics metrics_;
+
+    /** The transport layer mode. */
+    private final Mode mode_;
+
+    /** The index of the dispatcher to which the next connection is assigned. */
+    @GuardedBy( "lock_" )
+    private int nextDispatcherIndex_;
+
+    /**
+     * The port on which the transport layer is accepting connections or -1 if
+     * the transport layer is not accepting connections.
+     */
+    @GuardedBy( "lock_" )
+    private int port_;
+
+    /** The collection of service handlers associated with the transport layer. */
+    @GuardedBy( "lock_" )
+    private final Collection<LoopbackServiceHandler> serviceHandlers_;
+
+    /** The transport layer state. */
+    @GuardedBy( "lock_" )
+    private State state_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LoopbackTransportLayer} class.
+     * 
+     * @param mode
+     *        The transport layer mode.
+     * @param configuration
+     *        The transport layer configuration.
+     * @param context
+     *        The transport layer context.
+     */
+    LoopbackTransportLayer(
+        final Mode mode,
+        final LoopbackTransportLayerConfiguration configuration,
+        final ITransportLayerContext context )
+    {
+        configuration_ = configuration;
+        context_ = context;
+        dispatchers_ = new ArrayList<>();
+        lock_ = new Object();
+        metrics_ = new TransportMetrics();
+        mode_ = mode;
+        nextDispatcherIndex_ = 0;
+        port_ = -1;
+        serviceHandlers_ = new HashSet<>();
+        state_ = State.PRISTINE;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Accepts a connection from the specified active transport layer.
+     * 
+     * <p>
+     * The services are started asynchronously; the service of this transport
+     * layer is started before the service of the active transport layer.
+     * </p>
+     * 
+     * @param activeTransportLayer
+     *        The active transport layer.
+     * 
+     * @throws org.gamegineer.table.internal.net.impl.transport.TransportException
+     *         If this transport layer is no longer accepting connections.
+     */
+    private void accept(
+        final LoopbackTransportLayer activeTransportLayer )
+        throws TransportException
+    {
+        final IService passiveService = context_.createService();
+        final IService activeService = activeTransportLayer.context_.createService();
+        final LoopbackServiceHandler passiveServiceHandler;
+        final LoopbackServiceHandler activeServiceHandler;
+        synchronized( lock_ )
+        {
+            if( (state_ != State.OPEN) || (port_ == -1) )
+            {
+                throw new TransportException( NonNlsMessages.LoopbackTransportLayer_open_connectionRefused( port_ ) );
+            }
+
+            final ScheduledExecutorService dispatcher = dispatchers_.get( nextDispatcherIndex_ );
+            nextDispatcherIndex_ = (nextDispatcherIndex_ + 1) % dispatchers_.size();
+            passiveServiceHandler = new LoopbackServiceHandler( this, passiveService, dispatcher );
+            activeServiceHandler = new LoopbackServiceHandler( activeTransportLayer, activeService, dispatcher );
+            LoopbackServiceHandler.connect( passiveServiceHandler, activeServiceHandler );
+            serviceHandlers_.add( passiveServiceHandler );
+        }
+
+        if( !activeTransportLayer.addServiceHandler( activeServiceHandler ) )
+        {
+            passiveServiceHandler.close( null );
+            return;
+        }
+
+        LoopbackServiceHandler.open( passiveServiceHandler, activeServiceHandler );
+    }
+
+    /**
+     * Adds the specified service handler to the transport layer.
+     * 
+     * @param serviceHandler
+     *        The service handler.
+     * 
+     * @return {@code true} if the service handler was added; {@code false} if
+     *         the transport layer has been closed.
+     */
+    private boolean addServiceHandler(
+        final LoopbackServiceHandler serviceHandler )
+    {
+        synchronized( lock_ )
+        {
+            if( state_ != State.OPEN )
+            {
+                return false;
+            }
+
+            serviceHandlers_.add( serviceHandler );
+            return true;
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#beginClose()
+     */
+    @Override
+    public Future<@Nullable Void> beginClose()
+    {
+        final Collection<LoopbackServiceHandler> serviceHandlers;
+        final Collection<ScheduledExecutorService> dispatchers;
+        final int port;
+        synchronized( lock_ )
+        {
+            if( state_ != State.OPEN )
+            {
+                state_ = State.CLOSED;
+                return new SynchronousFuture<>();
+            }
+
+            state_ = State.CLOSED;
+            serviceHandlers = new ArrayList<>( serviceHandlers_ );
+            dispatchers = new ArrayList<>( dispatchers_ );
+            dispatchers_.clear();
+            port = port_;
+            port_ = -1;
+        }
+
+        if( port != -1 )
+        {
+            passiveTransportLayers_.remove( Integer.valueOf( port ), this );
+        }
+
+        return Activator.getDefault().getExecutorService().submit( new Callable<@Nullable Void>()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public @Nullable Void call()
+            {
+                for( final LoopbackServiceHandler serviceHandler : serviceHandlers )
+                {
+                    serviceHandler.close( null );
+                }
+
+                if( mode_ == Mode.PASSIVE )
+                {
+                    try
+                    {
+                        for( final ScheduledExecutorService dispatcher : dispatchers )
+                        {
+                            dispatcher.shutdown();
+                        }
+
+                        for( final ScheduledExecutorService dispatcher : dispatchers )
+                        {
+                            dispatcher.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+                        }
+                    }
+                    catch( @SuppressWarnings( "unused" ) final InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    if( port != -1 )
+                    {
+                        context_.transportLayerDisconnected( null );
+                    }
+                }
+
+                return null;
+            }
+        } );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#beginOpen(java.lang.String, int)
+     */
+    @Override
+    public Future<@Nullable Void> beginOpen(
+        final String hostName,
+        final int port )
+    {
+        synchronized( lock_ )
+        {
+            if( state_ != State.PRISTINE )
+            {
+                return new SynchronousFuture<>( new IllegalStateException( NonNlsMessages.LoopbackTransportLayer_state_notPristine ) );
+            }
+
+            state_ = State.OPEN;
+        }
+
+        try
+        {
+            if( mode_ == Mode.ACTIVE )
+            {
+                connect( port );
+            }
+            else
+            {
+                bind( port );
+            }
+        }
+        catch( final TransportException e )
+        {
+            synchronousClose();
+            return new SynchronousFuture<>( e );
+        }
+
+        return new SynchronousFuture<>();
+    }
+
+    /**
+     * Starts accepting connections on the specified port.
+     * 
+     * @param port
+     *        The port on which connections will be accepted or zero to accept
+     *        connections on an unused port.
+     * 
+     * @throws org.gamegineer.table.internal.net.impl.transport.TransportException
+     *         If another transport layer is accepting connections on the
+     *         port.
+     */
+    private void bind(
+        final int port )
+        throws TransportException
+    {
+        synchronized( lock_ )
+        {
+            for( int index = 0; index < configuration_.getDispatcherCount(); ++index )
+            {
+                dispatchers_.add( Executors.newSingleThreadScheduledExecutor( new ThreadFactory()
+                {
+                    @Override
+                    public Thread newThread(
+                        final @Nullable Runnable r )
+                    {
+                        final Thread thread = new Thread( r, NonNlsMessages.LoopbackTransportLayer_dispatcherThread_name );
+                        thread.setDaemon( true );
+                        return thread;
+                    }
+                } ) );
+            }
+        }
+
+        int boundPort = port;
+        if( boundPort == 0 )
+        {
+            do
+            {
+                boundPort = nextEphemeralPort_.getAndIncrement();
+            } while( passiveTransportLayers_.putIfAbsent( Integer.valueOf( boundPort ), this ) != null );
+        }
+        else if( passiveTransportLayers_.putIfAbsent( Integer.valueOf( boundPort ), this ) != null )
+        {
+            throw new TransportException( NonNlsMessages.LoopbackTransportLayer_open_portInUse( boundPort ) );
+        }
+
+        synchronized( lock_ )
+        {
+            port_ = boundPort;
+        }
+    }
+
+    /**
+     * Connects to the transport layer accepting connections on the specified
+     * port.
+     * 
+     * @param port
+     *        The port of the remote peer.
+     * 
+     * @throws org.gamegineer.table.internal.net.impl.transport.TransportException
+     *         If no transport layer is accepting connections on the port.
+     */
+    private void connect(
+        final int port )
+        throws TransportException
+    {
+        final LoopbackTransportLayer passiveTransportLayer = passiveTransportLayers_.get( Integer.valueOf( port ) );
+        if( passiveTransportLayer == null )
+        {
+            throw new TransportException( NonNlsMessages.LoopbackTransportLayer_open_connectionRefused( port ) );
+        }
+
+        passiveTransportLayer.accept( this );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#endClose(java.util.concurrent.Future)
+     */
+    @Override
+    public void endClose(
+        final Future<@Nullable Void> future )
+        throws InterruptedException
+    {
+        try
+        {
+            future.get();
+        }
+        catch( final ExecutionException e )
+        {
+            throw TaskUtils.launderThrowable( e.getCause() );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#endOpen(java.util.concurrent.Future)
+     */
+    @Override
+    public void endOpen(
+        final Future<@Nullable Void> future )
+        throws TransportException, InterruptedException
+    {
+        try
+        {
+            future.get();
+        }
+        catch( final ExecutionException e )
+        {
+            final Throwable cause = e.getCause();
+            if( cause instanceof TransportException )
+            {
+                throw (TransportException)cause;
+            }
+
+            throw TaskUtils.launderThrowable( e );
+        }
+    }
+
+    /**
+     * Gets the transport layer configuration.
+     * 
+     * @return The transport layer configuration.
+     */
+    LoopbackTransportLayerConfiguration getConfiguration()
+    {
+        return configuration_;
+    }
+
+    /**
+     * Gets the port on which the transport layer is accepting connections.
+     * 
+     * @return The port on which the transport layer is accepting connections
+     *         or -1 if the transport layer is not accepting connections.
+     */
+    int getLocalPort()
+    {
+        synchronized( lock_ )
+        {
+            return port_;
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#getMetrics()
+     */
+    @Override
+    public TransportMetrics getMetrics()
+    {
+        return metrics_;
+    }
+
+    /**
+     * Invoked when the specified service handler has been closed.
+     * 
+     * @param serviceHandler
+     *        The service handler.
+     */
+    void serviceHandlerClosed(
+        final LoopbackServiceHandler serviceHandler )
+    {
+        synchronized( lock_ )
+        {
+            serviceHandlers_.remove( serviceHandler );
+        }
+    }
+
+    /**
+     * Synchronously closes the transport layer.
+     */
+    private void synchronousClose()
+    {
+        try
+        {
+            endClose( beginClose() );
+        }
+        catch( @SuppressWarnings( "unused" ) final InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * The possible modes of a loopback transport layer.
+     */
+    enum Mode
+    {
+        /** The transport layer connects to a passive transport layer. */
+        ACTIVE,
+
+        /** The transport layer accepts connections from active transport layers. */
+        PASSIVE;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * LoopbackTransportLayerConfiguration.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:06:52 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * The configuration for a loopback transport layer.
+ * 
+ * <p>
+ * The configuration describes the simulated link between each pair of peers.
+ * Each direction of a connection is simulated independently: a message
+ * envelope is delivered to the peer after it has been serialized onto the
+ * link at the configured bandwidth and has then propagated for the configured
+ * latency plus a random jitter. Message envelopes are always delivered in the
+ * order in which they were sent.
+ * </p>
+ */
+@Immutable
+public final class LoopbackTransportLayerConfiguration
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The bandwidth of the simulated link in bytes per second or zero if the
+     * bandwidth is unlimited.
+     */
+    private final long bandwidth_;
+
+    /**
+     * The number of dispatchers among which a passive transport layer
+     * distributes its connections.
+     */
+    private final int dispatcherCount_;
+
+    /**
+     * The maximum random delay in nanoseconds added to the latency of each
+     * message envelope.
+     */
+    private final long jitter_;
+
+    /** The propagation delay of the simulated link in nanoseconds. */
+    private final long latency_;
+
+    /**
+     * The number of bytes waiting to be delivered to a service peer above
+     * which the output queue of the service is considered congested.
+     */
+    private final int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes waiting to be delivered to a service peer at or
+     * below which a congested output queue of the service is no longer
+     * considered congested.
+     */
+    private final int outputQueueLowWatermark_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code LoopbackTransportLayerConfiguration} class.
+     * 
+     * @param latency
+     *        The propagation delay of the simulated link in nanoseconds; must
+     *        not be negative.
+     * @param jitter
+     *        The maximum random delay in nanoseconds added to the latency of
+     *        each message envelope; must not be negative.
+     * @param bandwidth
+     *        The bandwidth of the simulated link in bytes per second or zero
+     *        if the bandwidth is unlimited; must not be negative.
+     * @param dispatcherCount
+     *        The number of dispatchers among which a passive transport layer
+     *        distributes its connections; must be positive.
+     * @param outputQueueLowWatermark
+     *        The number of bytes waiting to be delivered to a service peer at
+     *        or below which a congested output queue of the service is no
+     *        longer considered congested; must not be negative.
+     * @param outputQueueHighWatermark
+     *        The number of bytes waiting to be delivered to a service peer
+     *        above which the output queue of the service is considered
+     *        congested; must be greater than {@code outputQueueLowWatermark}.
+     */
+    LoopbackTransportLayerConfiguration(
+        final long latency,
+        final long jitter,
+        final long bandwidth,
+        final int dispatcherCount,
+        final int outputQueueLowWatermark,
+        final int outputQueueHighWatermark )
+    {
+        assert latency >= 0L;
+        assert jitter >= 0L;
+        assert bandwidth >= 0L;
+        assert dispatcherCount > 0;
+        assert outputQueueLowWatermark >= 0;
+        assert outputQueueHighWatermark > outputQueueLowWatermark;
+
+        bandwidth_ = bandwidth;
+        dispatcherCount_ = dispatcherCount;
+        jitter_ = jitter;
+        latency_ = latency;
+        outputQueueHighWatermark_ = outputQueueHighWatermark;
+        outputQueueLowWatermark_ = outputQueueLowWatermark;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Gets the bandwidth of the simulated link.
+     * 
+     * @return The bandwidth of the simulated link in bytes per second or zero
+     *         if the bandwidth is unlimited.
+     */
+    public long getBandwidth()
+    {
+        return bandwidth_;
+    }
+
+    /**
+     * Gets the number of dispatchers among which a passive transport layer
+     * distributes its connections.
+     * 
+     * <p>
+     * Each dispatcher delivers the message envelopes of its connections on its
+     * own thread. A transport layer that simulates many peers may use one
+     * dispatcher per available processor.
+     * </p>
+     * 
+     * @return The number of dispatchers among which a passive transport layer
+     *         distributes its connections.
+     */
+    public int getDispatcherCount()
+    {
+        return dispatcherCount_;
+    }
+
+    /**
+     * Gets the maximum random delay added to the latency of each message
+     * envelope.
+     * 
+     * @return The maximum random delay in nanoseconds added to the latency of
+     *         each message envelope.
+     */
+    public long getJitter()
+    {
+        return jitter_;
+    }
+
+    /**
+     * Gets the propagation delay of the simulated link.
+     * 
+     * @return The propagation delay of the simulated link in nanoseconds.
+     */
+    public long getLatency()
+    {
+        return latency_;
+    }
+
+    /**
+     * Gets the number of bytes waiting to be delivered to a service peer above
+     * which the output queue of the service is considered congested.
+     * 
+     * @return The number of bytes waiting to be delivered to a service peer
+     *         above which the output queue of the service is considered
+     *         congested.
+     */
+    public int getOutputQueueHighWatermark()
+    {
+        return outputQueueHighWatermark_;
+    }
+
+    /**
+     * Gets the number of bytes waiting to be delivered to a service peer at or
+     * below which a congested output queue of the service is no longer
+     * considered congested.
+     * 
+     * @return The number of bytes waiting to be delivered to a service peer at
+     *         or below which a congested output queue of the service is no
+     *         longer considered congested.
+     */
+    public int getOutputQueueLowWatermark()
+    {
+        return outputQueueLowWatermark_;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * LoopbackTransportLayerConfigurationBuilder.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:11:25 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
+import java.util.concurrent.TimeUnit;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A factory for creating instances of
+ * {@link LoopbackTransportLayerConfiguration}.
+ * 
+ * <p>
+ * By default, the simulated link has no latency, no jitter, and unlimited
+ * bandwidth.
+ * </p>
+ */
+@NotThreadSafe
+public final class LoopbackTransportLayerConfigurationBuilder
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The default number of dispatchers among which a passive transport layer
+     * distributes its connections.
+     */
+    private static final int DEFAULT_DISPATCHER_COUNT = 1;
+
+    /**
+     * The default number of bytes waiting to be delivered to a service peer
+     * above which the output queue of the service is considered congested.
+     */
+    private static final int DEFAULT_OUTPUT_QUEUE_HIGH_WATERMARK = 1024 * 1024;
+
+    /**
+     * The default number of bytes waiting to be delivered to a service peer at
+     * or below which a congested output queue of the service is no longer
+     * considered congested.
+     */
+    private static final int DEFAULT_OUTPUT_QUEUE_LOW_WATERMARK = 256 * 1024;
+
+    /**
+     * The bandwidth of the simulated link in bytes per second or zero if the
+     * bandwidth is unlimited.
+     */
+    private long bandwidth_;
+
+    /**
+     * The number of dispatchers among which a passive transport layer
+     * distributes its connections.
+     */
+    private int dispatcherCount_;
+
+    /**
+     * The maximum random delay in nanoseconds added to the latency of each
+     * message envelope.
+     */
+    private long jitter_;
+
+    /** The propagation delay of the simulated link in nanoseconds. */
+    private long latency_;
+
+    /**
+     * The number of bytes waiting to be delivered to a service peer above
+     * which the output queue of the service is considered congested.
+     */
+    private int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes waiting to be delivered to a service peer at or
+     * below which a congested output queue of the service is no longer
+     * considered congested.
+     */
+    private int outputQueueLowWatermark_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code LoopbackTransportLayerConfigurationBuilder} class.
+     */
+    public LoopbackTransportLayerConfigurationBuilder()
+    {
+        bandwidth_ = 0L;
+        dispatcherCount_ = DEFAULT_DISPATCHER_COUNT;
+        jitter_ = 0L;
+        latency_ = 0L;
+        outputQueueHighWatermark_ = DEFAULT_OUTPUT_QUEUE_HIGH_WATERMARK;
+        outputQueueLowWatermark_ = DEFAULT_OUTPUT_QUEUE_LOW_WATERMARK;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Sets the bandwidth of the simulated link.
+     * 
+     * @param bandwidth
+     *        The bandwidth of the simulated link in bytes per second or zero
+     *        if the bandwidth is unlimited.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code bandwidth} is negative.
+     */
+    public LoopbackTransportLayerConfigurationBuilder setBandwidth(
+        final long bandwidth )
+    {
+        assertArgumentLegal( bandwidth >= 0L, "bandwidth" ); //$NON-NLS-1$
+
+        bandwidth_ = bandwidth;
+
+        return this;
+    }
+
+    /**
+     * Sets the number of dispatchers among which a passive transport layer
+     * distributes its connections.
+     * 
+     * @param dispatcherCount
+     *        The number of dispatchers among which a passive transport layer
+     *        distributes its connections.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code dispatcherCount} is not positive.
+     */
+    public LoopbackTransportLayerConfigurationBuilder setDispatcherCount(
+        final int dispatcherCount )
+    {
+        assertArgumentLegal( dispatcherCount > 0, "dispatcherCount" ); //$NON-NLS-1$
+
+        dispatcherCount_ = dispatcherCount;
+
+        return this;
+    }
+
+    /**
+     * Sets the maximum random delay added to the latency of each message
+     * envelope.
+     * 
+     * @param jitter
+     *        The maximum random delay added to the latency of each message
+     *        envelope.
+     * @param unit
+     *        The time unit of {@code jitter}.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code jitter} is negative.
+     */
+    public LoopbackTransportLayerConfigurationBuilder setJitter(
+        final long jitter,
+        final TimeUnit unit )
+    {
+        assertArgumentLegal( jitter >= 0L, "jitter" ); //$NON-NLS-1$
+
+        jitter_ = unit.toNanos( jitter );
+
+        return this;
+    }
+
+    /**
+     * Sets the propagation delay of the simulated link.
+     * 
+     * @param latency
+     *        The propagation delay of the simulated link.
+     * @param unit
+     *        The time unit of {@code latency}.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code latency} is negative.
+     */
+    public LoopbackTransportLayerConfigurationBuilder setLatency(
+        final long latency,
+        final TimeUnit unit )
+    {
+        assertArgumentLegal( latency >= 0L, "latency" ); //$NON-NLS-1$
+
+        latency_ = unit.toNanos( latency );
+
+        return this;
+    }
+
+    /**
+     * Sets the watermarks that determine when the output queue of a service
+     * is considered congested.
+     * 
+     * @param outputQueueLowWatermark
+     *        The number of bytes waiting to be delivered to a service peer at
+     *        or below which a congested output queue of the service is no
+     *        longer considered congested.
+     * @param outputQueueHighWatermark
+     *        The number of bytes waiting to be delivered to a service peer
+     *        above which the output queue of the service is considered
+     *        congested.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code outputQueueLowWatermark} is negative or if
+     *         {@code outputQueueHighWatermark} is not greater than
+     *         {@code outputQueueLowWatermark}.
+     */
+    public LoopbackTransportLayerConfigurationBuilder setOutputQueueWatermarks(
+        final int outputQueueLowWatermark,
+        final int outputQueueHighWatermark )
+    {
+        assertArgumentLegal( outputQueueLowWatermark >= 0, "outputQueueLowWatermark" ); //$NON-NLS-1$
+        assertArgumentLegal( outputQueueHighWatermark > outputQueueLowWatermark, "outputQueueHighWatermark" ); //$NON-NLS-1$
+
+        outputQueueHighWatermark_ = outputQueueHighWatermark;
+        outputQueueLowWatermark_ = outputQueueLowWatermark;
+
+        return this;
+    }
+
+    /**
+     * Creates a new loopback transport layer configuration based on the state
+     * of this builder.
+     * 
+     * @return A new loopback transport layer configuration.
+     */
+    public LoopbackTransportLayerConfiguration toLoopbackTransportLayerConfiguration()
+    {
+        return new LoopbackTransportLayerConfiguration( latency_, jitter_, bandwidth_, dispatcherCount_, outputQueueLowWatermark_, outputQueueHighWatermark_ );
+    }
+}
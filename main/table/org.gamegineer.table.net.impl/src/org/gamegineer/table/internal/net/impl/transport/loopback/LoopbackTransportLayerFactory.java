@@ -0,0 +1,101 @@
+/*
+ * LoopbackTransportLayerFactory.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:45:13 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import net.jcip.annotations.Immutable;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory;
+
+/**
+ * Implementation of {@link ITransportLayerFactory} for connections between
+ * transport layers within the same process.
+ * 
+ * <p>
+ * The transport layers created by this factory are intended for benchmarks
+ * and simulations in which many table network nodes run in a single process.
+ * They can only connect to other loopback transport layers.
+ * </p>
+ */
+@Immutable
+public final class LoopbackTransportLayerFactory
+    implements ITransportLayerFactory
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The configuration of transport layers created by the factory. */
+    private final LoopbackTransportLayerConfiguration configuration_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code LoopbackTransportLayerFactory}
+     * using the default transport layer configuration.
+     */
+    public LoopbackTransportLayerFactory()
+    {
+        this( new LoopbackTransportLayerConfigurationBuilder().toLoopbackTransportLayerConfiguration() );
+    }
+
+    /**
+     * Initializes a new instance of the {@code LoopbackTransportLayerFactory}
+     * using the specified transport layer configuration.
+     * 
+     * @param configuration
+     *        The configuration of transport layers created by the factory.
+     */
+    public LoopbackTransportLayerFactory(
+        final LoopbackTransportLayerConfiguration configuration )
+    {
+        configuration_ = configuration;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory#createActiveTransportLayer(org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
+     */
+    @Override
+    public ITransportLayer createActiveTransportLayer(
+        final ITransportLayerContext context )
+    {
+        return new LoopbackTransportLayer( LoopbackTransportLayer.Mode.ACTIVE, configuration_, context );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory#createPassiveTransportLayer(org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
+     */
+    @Override
+    public ITransportLayer createPassiveTransportLayer(
+        final ITransportLayerContext context )
+    {
+        return new LoopbackTransportLayer( LoopbackTransportLayer.Mode.PASSIVE, configuration_, context );
+    }
+}
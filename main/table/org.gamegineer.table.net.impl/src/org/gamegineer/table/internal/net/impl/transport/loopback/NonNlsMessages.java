@@ -0,0 +1,161 @@
+/*
+ * NonNlsMessages.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:03:44 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.loopback;
+
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.osgi.util.NLS;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+
+/**
+ * A utility class to manage non-localized messages for the package.
+ */
+@ThreadSafe
+final class NonNlsMessages
+    extends NLS
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    // --- LoopbackServiceHandler -------------------------------------------
+
+    /** An error occurred while delivering a message envelope to the service. */
+    public static String LoopbackServiceHandler_deliver_error = ""; //$NON-NLS-1$
+
+    /** An I/O error occurred while sending a message. */
+    public static String LoopbackServiceHandler_sendMessage_ioError = ""; //$NON-NLS-1$
+
+    /** The message exceeds the maximum message length supported by the peer. */
+    public static String LoopbackServiceHandler_sendMessageEnvelope_messageTooLong = ""; //$NON-NLS-1$
+
+    // --- LoopbackTransportLayer -------------------------------------------
+
+    /** The name of a dispatcher thread. */
+    public static String LoopbackTransportLayer_dispatcherThread_name = ""; //$NON-NLS-1$
+
+    /** No transport layer is accepting connections on the port. */
+    public static String LoopbackTransportLayer_open_connectionRefused = ""; //$NON-NLS-1$
+
+    /** Another transport layer is accepting connections on the port. */
+    public static String LoopbackTransportLayer_open_portInUse = ""; //$NON-NLS-1$
+
+    /** The transport layer state is not pristine. */
+    public static String LoopbackTransportLayer_state_notPristine = ""; //$NON-NLS-1$
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes the {@code NonNlsMessages} class.
+     */
+    static
+    {
+        NLS.initializeMessages( NonNlsMessages.class.getName(), NonNlsMessages.class );
+    }
+
+    /**
+     * Initializes a new instance of the {@code NonNlsMessages} class.
+     */
+    private NonNlsMessages()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    // --- LoopbackServiceHandler -------------------------------------------
+
+    /**
+     * Gets the formatted message indicating an error occurred while sending a
+     * message.
+     * 
+     * @param message
+     *        The message.
+     * 
+     * @return The formatted message indicating an error occurred while sending
+     *         a message.
+     */
+    @SuppressWarnings( "boxing" )
+    static String LoopbackServiceHandler_sendMessage_ioError(
+        final IMessage message )
+    {
+        return bind( LoopbackServiceHandler_sendMessage_ioError, message.getId(), message.getCorrelationId() );
+    }
+
+    /**
+     * Gets the formatted message indicating a message exceeds the maximum
+     * message length supported by the peer.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return The formatted message indicating a message exceeds the maximum
+     *         message length supported by the peer.
+     */
+    @SuppressWarnings( "boxing" )
+    static String LoopbackServiceHandler_sendMessageEnvelope_messageTooLong(
+        final MessageEnvelope messageEnvelope )
+    {
+        return bind( LoopbackServiceHandler_sendMessageEnvelope_messageTooLong, messageEnvelope.getHeader().getId(), messageEnvelope.getHeader().getCorrelationId() );
+    }
+
+    // --- LoopbackTransportLayer -------------------------------------------
+
+    /**
+     * Gets the formatted message indicating no transport layer is accepting
+     * connections on the specified port.
+     * 
+     * @param port
+     *        The port.
+     * 
+     * @return The formatted message indicating no transport layer is accepting
+     *         connections on the specified port.
+     */
+    @SuppressWarnings( "boxing" )
+    static String LoopbackTransportLayer_open_connectionRefused(
+        final int port )
+    {
+        return bind( LoopbackTransportLayer_open_connectionRefused, port );
+    }
+
+    /**
+     * Gets the formatted message indicating another transport layer is
+     * accepting connections on the specified port.
+     * 
+     * @param port
+     *        The port.
+     * 
+     * @return The formatted message indicating another transport layer is
+     *         accepting connections on the specified port.
+     */
+    @SuppressWarnings( "boxing" )
+    static String LoopbackTransportLayer_open_portInUse(
+        final int port )
+    {
+        return bind( LoopbackTransportLayer_open_portInUse, port );
+    }
+}
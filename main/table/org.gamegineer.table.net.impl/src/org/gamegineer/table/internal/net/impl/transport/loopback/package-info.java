@@ -0,0 +1,33 @@
+/*
+ * package-info.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:02:10 AM.
+ */
+
+/**
+ * Provides classes that define an in-process network transport implementation
+ * in which peers in the same virtual machine exchange message envelopes
+ * without using sockets.
+ * 
+ * <p>
+ * This package is only intended for use by members of the
+ * {@code org.gamegineer.table} project.
+ * </p>
+ */
+@org.eclipse.jdt.annotation.NonNullByDefault
+package org.gamegineer.table.internal.net.impl.transport.loopback;
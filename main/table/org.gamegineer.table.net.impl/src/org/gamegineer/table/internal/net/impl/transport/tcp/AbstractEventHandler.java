@@ -29,6 +29,12 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * Superclass for all event handlers in the TCP transport layer
  * Acceptor-Connector pattern implementation.
+ * 
+ * <p>
+ * An event handler is owned by the dispatcher with which it is associated. All
+ * client methods of this class are expected to be invoked on the event
+ * dispatch thread of that dispatcher except where explicitly noted.
+ * </p>
  */
 @NotThreadSafe
 abstract class AbstractEventHandler
@@ -37,6 +43,9 @@ abstract class AbstractEventHandler
     // Fields
     // ======================================================================
 
+    /** The dispatcher associated with the event handler. */
+    private final Dispatcher dispatcher_;
+
     /**
      * The selection key representing the binding between the event handler and
      * an event dispatcher or {@code null} if the event handler is not currently
@@ -60,10 +69,14 @@ abstract class AbstractEventHandler
      * 
      * @param transportLayer
      *        The transport layer associated with the event handler.
+     * @param dispatcher
+     *        The dispatcher associated with the event handler.
      */
     AbstractEventHandler(
-        final AbstractTransportLayer transportLayer )
+        final AbstractTransportLayer transportLayer,
+        final Dispatcher dispatcher )
     {
+        dispatcher_ = dispatcher;
         selectionKey_ = null;
         state_ = State.PRISTINE;
         transportLayer_ = transportLayer;
@@ -100,6 +113,20 @@ abstract class AbstractEventHandler
      */
     abstract @Nullable SelectableChannel getChannel();
 
+    /**
+     * Gets the dispatcher associated with the event handler.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @return The dispatcher associated with the event handler.
+     */
+    final Dispatcher getDispatcher()
+    {
+        return dispatcher_;
+    }
+
     /**
      * Gets a bit mask of the channel operations in which the event handler is
      * interested.
@@ -119,7 +146,7 @@ abstract class AbstractEventHandler
      */
     final @Nullable SelectionKey getSelectionKey()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return selectionKey_;
     }
@@ -131,7 +158,7 @@ abstract class AbstractEventHandler
      */
     final State getState()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return state_;
     }
@@ -151,20 +178,20 @@ abstract class AbstractEventHandler
     }
 
     /**
-     * Indicates the current thread is the transport layer thread for the
-     * transport layer associated with the event handler.
+     * Indicates the current thread is the event dispatch thread of the
+     * dispatcher associated with the event handler.
      * 
      * <p>
      * This method may be called from any thread.
      * </p>
      * 
-     * @return {@code true} if the current thread is the transport layer thread
-     *         for the transport layer associated with the event handler;
-     *         otherwise {@code false}.
+     * @return {@code true} if the current thread is the event dispatch thread
+     *         of the dispatcher associated with the event handler; otherwise
+     *         {@code false}.
      */
-    final boolean isTransportLayerThread()
+    final boolean isDispatcherThread()
     {
-        return transportLayer_.isTransportLayerThread();
+        return dispatcher_.isDispatcherThread();
     }
 
     /**
@@ -176,7 +203,7 @@ abstract class AbstractEventHandler
      */
     void prepareToRun()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         // do nothing
     }
@@ -198,7 +225,7 @@ abstract class AbstractEventHandler
     final void setSelectionKey(
         final @Nullable SelectionKey selectionKey )
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         selectionKey_ = selectionKey;
     }
@@ -212,7 +239,7 @@ abstract class AbstractEventHandler
     final void setState(
         final State state )
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         state_ = state;
     }
@@ -22,22 +22,35 @@
 package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
 import org.gamegineer.common.core.util.concurrent.TaskUtils;
 import org.gamegineer.table.internal.net.impl.Activator;
+import org.gamegineer.table.internal.net.impl.Loggers;
 import org.gamegineer.table.internal.net.impl.transport.IService;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.internal.net.impl.transport.TransportException;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
 
 /**
  * Superclass for all implementations of {@link ITransportLayer} that operate
@@ -56,18 +69,49 @@ abstract class AbstractTransportLayer
     // Fields
     // ======================================================================
 
+    /**
+     * The prefix of the name under which the transport layer metrics are
+     * registered with the platform MBean server.
+     */
+    private static final String METRICS_OBJECT_NAME_PREFIX = "org.gamegineer.table.net:type=TcpTransportLayer,id="; //$NON-NLS-1$
+
+    /**
+     * The identifier that will be used to register the metrics of the next
+     * transport layer opened.
+     */
+    private static final AtomicInteger nextMetricsId_ = new AtomicInteger( 0 );
+
+    /** The transport layer configuration. */
+    private final TcpTransportLayerConfiguration configuration_;
+
     /** The transport layer context. */
     private final ITransportLayerContext context_;
 
     /**
-     * The dispatcher associated with the transport layer or {@code null} if the
-     * transport layer is not open.
+     * The collection of dispatchers associated with the transport layer; empty
+     * if the transport layer is not open.
      */
-    private @Nullable Dispatcher dispatcher_;
+    private volatile List<Dispatcher> dispatchers_;
 
     /** The transport layer executor service. */
     private final ExecutorService executorService_;
 
+    /** The transport layer metrics. */
+    private final TransportMetrics metrics_;
+
+    /**
+     * The name under which the transport layer metrics are registered with the
+     * platform MBean server or {@code null} if the transport layer metrics are
+     * not registered.
+     */
+    private @Nullable ObjectName metricsObjectName_;
+
+    /**
+     * The index of the dispatcher to which the next service handler will be
+     * assigned.
+     */
+    private final AtomicInteger nextDispatcherIndex_;
+
     /** The transport layer state. */
     private State state_;
 
@@ -89,16 +133,23 @@ abstract class AbstractTransportLayer
      * 
      * @param executorService
      *        The transport layer executor service.
+     * @param configuration
+     *        The transport layer configuration.
      * @param context
      *        The transport layer context.
      */
     AbstractTransportLayer(
         final ExecutorService executorService,
+        final TcpTransportLayerConfiguration configuration,
         final ITransportLayerContext context )
     {
+        configuration_ = configuration;
         context_ = context;
-        dispatcher_ = null;
+        dispatchers_ = Collections.emptyList();
         executorService_ = executorService;
+        metrics_ = new TransportMetrics();
+        metricsObjectName_ = null;
+        nextDispatcherIndex_ = new AtomicInteger( 0 );
         state_ = State.PRISTINE;
         transportLayerThread_ = Thread.currentThread();
     }
@@ -161,9 +212,12 @@ abstract class AbstractTransportLayer
         }
 
         close();
-        final Dispatcher dispatcher = dispatcher_;
-        assert dispatcher != null;
-        final Future<@Nullable Void> dispatcherCloseTaskFuture = dispatcher.beginClose();
+        final List<Dispatcher> dispatchers = new ArrayList<>( dispatchers_ );
+        final List<Future<@Nullable Void>> dispatcherCloseTaskFutures = new ArrayList<>( dispatchers.size() );
+        for( final Dispatcher dispatcher : dispatchers )
+        {
+            dispatcherCloseTaskFutures.add( dispatcher.beginClose() );
+        }
 
         return Activator.getDefault().getExecutorService().submit( new Callable<@Nullable Void>()
         {
@@ -173,14 +227,18 @@ abstract class AbstractTransportLayer
             {
                 try
                 {
-                    dispatcher.endClose( dispatcherCloseTaskFuture );
+                    for( int index = 0; index < dispatchers.size(); ++index )
+                    {
+                        dispatchers.get( index ).endClose( dispatcherCloseTaskFutures.get( index ) );
+                    }
 
                     final Future<@Nullable Void> closeTaskFuture = executorService_.submit( new Callable<@Nullable Void>()
                     {
                         @Override
                         public @Nullable Void call()
                         {
-                            dispatcher_ = null;
+                            dispatchers_ = Collections.emptyList();
+                            unregisterMetrics();
                             executorService_.shutdown();
                             state_ = State.CLOSED;
 
@@ -223,7 +281,14 @@ abstract class AbstractTransportLayer
         }
 
         state_ = State.OPEN;
-        dispatcher_ = new Dispatcher( this );
+        final int dispatcherCount = configuration_.getDispatcherCount();
+        final List<Dispatcher> dispatchers = new ArrayList<>( dispatcherCount );
+        for( int index = 0; index < dispatcherCount; ++index )
+        {
+            dispatchers.add( new Dispatcher( this, index ) );
+        }
+        dispatchers_ = dispatchers;
+        registerMetrics();
 
         return Activator.getDefault().getExecutorService().submit( new Callable<@Nullable Void>()
         {
@@ -242,9 +307,10 @@ abstract class AbstractTransportLayer
                         {
                             try
                             {
-                                final Dispatcher dispatcher = dispatcher_;
-                                assert dispatcher != null;
-                                dispatcher.open();
+                                for( final Dispatcher dispatcher : dispatchers_ )
+                                {
+                                    dispatcher.open();
+                                }
                                 open( hostName, port );
                             }
                             catch( final IOException e )
@@ -286,19 +352,25 @@ abstract class AbstractTransportLayer
      * Creates a new network service that can be associated with the transport
      * layer.
      * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
      * @return A new network service that can be associated with the transport
      *         layer.
      */
     final IService createService()
     {
-        assert isTransportLayerThread();
-
         return context_.createService();
     }
 
     /**
      * Invoked when the transport layer has been disconnected.
      * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
      * @param exception
      *        The exception that caused the transport layer to be disconnected
      *        or {@code null} if the transport layer was disconnected normally.
@@ -306,8 +378,6 @@ abstract class AbstractTransportLayer
     final void disconnected(
         final @Nullable Exception exception )
     {
-        assert isTransportLayerThread();
-
         context_.transportLayerDisconnected( exception );
     }
 
@@ -364,16 +434,46 @@ abstract class AbstractTransportLayer
     }
 
     /**
-     * Gets the dispatcher associated with the transport layer.
+     * Gets the transport layer configuration.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @return The transport layer configuration.
+     */
+    final TcpTransportLayerConfiguration getConfiguration()
+    {
+        return configuration_;
+    }
+
+    /**
+     * Gets the primary dispatcher associated with the transport layer.
+     * 
+     * <p>
+     * The primary dispatcher is used for event handlers that are not assigned
+     * to a specific dispatcher, such as the acceptor.
+     * </p>
      * 
-     * @return The dispatcher associated with the transport layer.
+     * @return The primary dispatcher associated with the transport layer.
      */
     final Dispatcher getDispatcher()
     {
         assert isTransportLayerThread();
-        assert dispatcher_ != null;
+        assert !dispatchers_.isEmpty();
+
+        return dispatchers_.get( 0 );
+    }
 
-        return dispatcher_;
+    /**
+     * This method may be called from any thread.
+     * 
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#getMetrics()
+     */
+    @Override
+    public final TransportMetrics getMetrics()
+    {
+        return metrics_;
     }
 
     /**
@@ -391,6 +491,31 @@ abstract class AbstractTransportLayer
         return Thread.currentThread() == transportLayerThread_;
     }
 
+    /**
+     * Gets the dispatcher to which the next service handler should be
+     * assigned.
+     * 
+     * <p>
+     * Service handlers are distributed among the dispatchers associated with
+     * the transport layer in round-robin order.
+     * </p>
+     * 
+     * <p>
+     * This method may be called from any thread while the transport layer is
+     * open.
+     * </p>
+     * 
+     * @return The dispatcher to which the next service handler should be
+     *         assigned.
+     */
+    final Dispatcher nextDispatcher()
+    {
+        final List<Dispatcher> dispatchers = dispatchers_;
+        assert !dispatchers.isEmpty();
+
+        return dispatchers.get( (nextDispatcherIndex_.getAndIncrement() & Integer.MAX_VALUE) % dispatchers.size() );
+    }
+
     /**
      * Template method invoked to open the transport layer.
      * 
@@ -480,6 +605,83 @@ abstract class AbstractTransportLayer
         }
     }
 
+    /**
+     * Synchronously executes the specified task on the event dispatch thread of
+     * the specified dispatcher.
+     * 
+     * <p>
+     * This method is intended for tasks that open or close event handlers on
+     * behalf of the transport layer.
+     * </p>
+     * 
+     * @param <T>
+     *        The return type of the task.
+     * 
+     * @param dispatcher
+     *        The dispatcher on whose event dispatch thread the task will be
+     *        executed.
+     * @param task
+     *        The task to execute.
+     * 
+     * @return The return value of the task.
+     * 
+     * @throws java.io.IOException
+     *         If the task fails with an I/O error or if this thread is
+     *         interrupted while waiting for the task to complete.
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         If the dispatcher has been shutdown.
+     */
+    static <T> T syncExecOnDispatcher(
+        final Dispatcher dispatcher,
+        final Callable<T> task )
+        throws IOException
+    {
+        try
+        {
+            return dispatcher.syncExec( task );
+        }
+        catch( final ExecutionException e )
+        {
+            final Throwable cause = e.getCause();
+            if( cause instanceof IOException )
+            {
+                throw (IOException)cause;
+            }
+
+            throw TaskUtils.launderThrowable( cause );
+        }
+        catch( @SuppressWarnings( "unused" ) final InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Registers the transport layer metrics with the platform MBean server.
+     * 
+     * <p>
+     * A failure to register the transport layer metrics is logged but
+     * otherwise ignored.
+     * </p>
+     */
+    private void registerMetrics()
+    {
+        assert isTransportLayerThread();
+        assert metricsObjectName_ == null;
+
+        try
+        {
+            final ObjectName metricsObjectName = new ObjectName( METRICS_OBJECT_NAME_PREFIX + nextMetricsId_.getAndIncrement() );
+            ManagementFactory.getPlatformMBeanServer().registerMBean( new StandardMBean( metrics_, ITransportMetrics.class, true ), metricsObjectName );
+            metricsObjectName_ = metricsObjectName;
+        }
+        catch( final JMException e )
+        {
+            Loggers.getDefaultLogger().log( Level.WARNING, NonNlsMessages.AbstractTransportLayer_registerMetrics_error, e );
+        }
+    }
+
     /**
      * Synchronously closes the transport layer.
      * 
@@ -515,6 +717,36 @@ abstract class AbstractTransportLayer
     }
 
 
+    /**
+     * Unregisters the transport layer metrics from the platform MBean server.
+     * 
+     * <p>
+     * This method does nothing if the transport layer metrics are not
+     * registered.
+     * </p>
+     */
+    private void unregisterMetrics()
+    {
+        assert isTransportLayerThread();
+
+        final ObjectName metricsObjectName = metricsObjectName_;
+        if( metricsObjectName == null )
+        {
+            return;
+        }
+
+        metricsObjectName_ = null;
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean( metricsObjectName );
+        }
+        catch( final JMException e )
+        {
+            Loggers.getDefaultLogger().log( Level.WARNING, NonNlsMessages.AbstractTransportLayer_unregisterMetrics_error, e );
+        }
+    }
+
+
     // ======================================================================
     // Nested Types
     // ======================================================================
@@ -532,15 +764,28 @@ abstract class AbstractTransportLayer
     @Immutable
     static abstract class AbstractFactory
     {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The configuration of transport layers created by the factory. */
+        private final TcpTransportLayerConfiguration configuration_;
+
+
         // ==================================================================
         // Constructors
         // ==================================================================
 
         /**
          * Initializes a new instance of the {@code AbstractFactory} class.
+         * 
+         * @param configuration
+         *        The configuration of transport layers created by the factory.
          */
-        AbstractFactory()
+        AbstractFactory(
+            final TcpTransportLayerConfiguration configuration )
         {
+            configuration_ = configuration;
         }
 
 
@@ -586,9 +831,10 @@ abstract class AbstractTransportLayer
             final Future<AbstractTransportLayer> future = executorService.submit( new Callable<AbstractTransportLayer>()
             {
                 @Override
+                @SuppressWarnings( "synthetic-access" )
                 public AbstractTransportLayer call()
                 {
-                    return createTransportLayer( executorService, context );
+                    return createTransportLayer( executorService, configuration_, context );
                 }
             } );
 
@@ -616,6 +862,8 @@ abstract class AbstractTransportLayer
          * 
          * @param executorService
          *        The transport layer executor service.
+         * @param configuration
+         *        The transport layer configuration.
          * @param context
          *        The transport layer context.
          * 
@@ -623,6 +871,7 @@ abstract class AbstractTransportLayer
          */
         abstract AbstractTransportLayer createTransportLayer(
             ExecutorService executorService,
+            TcpTransportLayerConfiguration configuration,
             ITransportLayerContext context );
     }
 }
@@ -27,6 +27,7 @@ import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
@@ -65,11 +66,14 @@ final class Acceptor
      * 
      * @param transportLayer
      *        The transport layer associated with the acceptor.
+     * @param dispatcher
+     *        The dispatcher associated with the acceptor.
      */
     Acceptor(
-        final AbstractTransportLayer transportLayer )
+        final AbstractTransportLayer transportLayer,
+        final Dispatcher dispatcher )
     {
-        super( transportLayer );
+        super( transportLayer, dispatcher );
 
         isRegistered_ = false;
         serverChannel_ = null;
@@ -82,6 +86,12 @@ final class Acceptor
 
     /**
      * Invoked when the server channel is ready to accept a new connection.
+     * 
+     * <p>
+     * The service handler for the new connection is opened on the event
+     * dispatch thread of the next dispatcher associated with the transport
+     * layer.
+     * </p>
      */
     private void accept()
     {
@@ -96,14 +106,46 @@ final class Acceptor
             }
 
             clientChannel.configureBlocking( false );
-
-            final AbstractTransportLayer transportLayer = getTransportLayer();
-            final ServiceHandler serviceHandler = new ServiceHandler( transportLayer, transportLayer.createService() );
-            serviceHandler.open( clientChannel );
         }
         catch( final IOException e )
         {
             Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.Acceptor_accept_ioError, e );
+            return;
+        }
+
+        final AbstractTransportLayer transportLayer = getTransportLayer();
+        final Dispatcher dispatcher = transportLayer.nextDispatcher();
+        try
+        {
+            dispatcher.asyncExec( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    final ServiceHandler serviceHandler = new ServiceHandler( transportLayer, dispatcher, transportLayer.createService() );
+                    try
+                    {
+                        serviceHandler.open( clientChannel );
+                    }
+                    catch( final IOException e )
+                    {
+                        Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.Acceptor_accept_ioError, e );
+                    }
+                }
+            } );
+        }
+        catch( final RejectedExecutionException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.Acceptor_accept_dispatcherShutdown, e );
+
+            try
+            {
+                clientChannel.close();
+            }
+            catch( @SuppressWarnings( "unused" ) final IOException e2 )
+            {
+                // ignore
+            }
         }
     }
 
@@ -128,7 +170,7 @@ final class Acceptor
         final int port )
         throws IOException
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
         assert getState() == State.PRISTINE;
 
         try
@@ -136,7 +178,7 @@ final class Acceptor
             serverChannel_ = createServerSocketChannel( hostName, port );
             setState( State.OPEN );
 
-            getTransportLayer().getDispatcher().registerEventHandler( this );
+            getDispatcher().registerEventHandler( this );
             isRegistered_ = true;
         }
         catch( final IOException e )
@@ -153,7 +195,7 @@ final class Acceptor
     void close(
         final @Nullable Exception exception )
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         final State previousState = getState();
         if( previousState == State.OPEN )
@@ -161,7 +203,7 @@ final class Acceptor
             if( isRegistered_ )
             {
                 isRegistered_ = false;
-                getTransportLayer().getDispatcher().unregisterEventHandler( this );
+                getDispatcher().unregisterEventHandler( this );
             }
 
             try
@@ -217,7 +259,7 @@ final class Acceptor
     @Override
     @Nullable SelectableChannel getChannel()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return serverChannel_;
     }
@@ -228,7 +270,7 @@ final class Acceptor
     @Override
     int getInterestOperations()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return SelectionKey.OP_ACCEPT;
     }
@@ -239,7 +281,7 @@ final class Acceptor
     @Override
     void run()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         final SelectionKey selectionKey = getSelectionKey();
         if( (selectionKey != null) && selectionKey.isAcceptable() )
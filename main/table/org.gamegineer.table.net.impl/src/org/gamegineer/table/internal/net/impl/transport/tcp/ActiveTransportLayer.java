@@ -22,9 +22,11 @@
 package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
 
 /**
@@ -43,14 +45,17 @@ final class ActiveTransportLayer
      * 
      * @param executorService
      *        The transport layer executor service.
+     * @param configuration
+     *        The transport layer configuration.
      * @param context
      *        The transport layer context.
      */
     private ActiveTransportLayer(
         final ExecutorService executorService,
+        final TcpTransportLayerConfiguration configuration,
         final ITransportLayerContext context )
     {
-        super( executorService, context );
+        super( executorService, configuration, context );
     }
 
 
@@ -80,15 +85,26 @@ final class ActiveTransportLayer
     {
         assert isTransportLayerThread();
 
-        final Connector connector = new Connector( this );
-        try
+        final Dispatcher dispatcher = nextDispatcher();
+        syncExecOnDispatcher( dispatcher, new Callable<@Nullable Void>()
         {
-            connector.connect( hostName, port );
-        }
-        finally
-        {
-            connector.close();
-        }
+            @Override
+            public @Nullable Void call()
+                throws IOException
+            {
+                final Connector connector = new Connector( ActiveTransportLayer.this, dispatcher );
+                try
+                {
+                    connector.connect( hostName, port );
+                }
+                finally
+                {
+                    connector.close();
+                }
+
+                return null;
+            }
+        } );
     }
 
 
@@ -109,9 +125,15 @@ final class ActiveTransportLayer
 
         /**
          * Initializes a new instance of the {@code Factory} class.
+         * 
+         * @param configuration
+         *        The configuration of transport layers created by the
+         *        factory.
          */
-        Factory()
+        Factory(
+            final TcpTransportLayerConfiguration configuration )
         {
+            super( configuration );
         }
 
 
@@ -120,15 +142,16 @@ final class ActiveTransportLayer
         // ==================================================================
 
         /*
-         * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractTransportLayer.AbstractFactory#createTransportLayer(java.util.concurrent.ExecutorService, org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
+         * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractTransportLayer.AbstractFactory#createTransportLayer(java.util.concurrent.ExecutorService, org.gamegineer.table.internal.net.impl.transport.tcp.TcpTransportLayerConfiguration, org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
          */
         @Override
         @SuppressWarnings( "synthetic-access" )
         AbstractTransportLayer createTransportLayer(
             final ExecutorService executorService,
+            final TcpTransportLayerConfiguration configuration,
             final ITransportLayerContext context )
         {
-            return new ActiveTransportLayer( executorService, context );
+            return new ActiveTransportLayer( executorService, configuration, context );
         }
     }
 }
@@ -0,0 +1,899 @@
+/*
+ * BlockingServiceHandler.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:14:05 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Level;
+import java.util.zip.Deflater;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.transport.DurationStatistics;
+import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.IService;
+import org.gamegineer.table.internal.net.impl.transport.IServiceContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
+
+/**
+ * A service handler in the blocking TCP transport layer.
+ * 
+ * <p>
+ * The service handler owns a reader thread and a writer thread. The reader
+ * thread performs blocking reads from the channel into the input queue and
+ * dispatches each complete message envelope to the service. The writer thread
+ * moves message envelopes enqueued by the service into the output queue and
+ * performs blocking writes from the output queue to the channel. The service
+ * is never blocked by a slow peer because message envelopes are handed to the
+ * writer thread rather than written by the thread that sends them.
+ * </p>
+ */
+@ThreadSafe
+final class BlockingServiceHandler
+    implements IServiceContext
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The channel associated with the service handler. */
+    private final SocketChannel channel_;
+
+    /**
+     * The minimum length in bytes of a message body the service handler will
+     * attempt to compress.
+     */
+    private final int compressionThreshold_;
+
+    /**
+     * The deflater used to compress message bodies sent to the service peer or
+     * {@code null} if no message body has yet been compressed.
+     */
+    @GuardedBy( "lock_" )
+    private @Nullable Deflater deflater_;
+
+    /** The statistics of the times spent dispatching received data. */
+    private final DurationStatistics dispatchTimes_;
+
+    /**
+     * The input queue associated with the service handler.
+     * 
+     * <p>
+     * The input queue is confined to the reader thread.
+     * </p>
+     */
+    private final InputQueue inputQueue_;
+
+    /**
+     * The number of bytes in the input queue that have not yet been dequeued
+     * as part of a message envelope.
+     */
+    @GuardedBy( "lock_" )
+    private long inputQueueLength_;
+
+    /**
+     * Indicates the bodies of messages sent to the service peer may be
+     * compressed.
+     */
+    @GuardedBy( "lock_" )
+    private boolean isCompressionEnabled_;
+
+    /**
+     * Indicates messages that exceed the maximum length of a compact message
+     * envelope may be sent to the service peer.
+     */
+    @GuardedBy( "lock_" )
+    private boolean isLargeMessageTransferEnabled_;
+
+    /** Indicates the output queue is congested. */
+    @GuardedBy( "lock_" )
+    private boolean isOutputQueueCongested_;
+
+    /**
+     * Indicates the service has requested the service handler be stopped once
+     * all pending message envelopes have been written.
+     */
+    @GuardedBy( "lock_" )
+    private boolean isStopRequested_;
+
+    /** The instance lock. */
+    private final Object lock_;
+
+    /** The transport metrics of the connection associated with the handler. */
+    private final TransportMetrics metrics_;
+
+    /**
+     * The output queue associated with the service handler.
+     * 
+     * <p>
+     * The output queue is confined to the writer thread.
+     * </p>
+     */
+    private final OutputQueue outputQueue_;
+
+    /**
+     * The number of bytes waiting to be sent above which the output queue is
+     * considered congested.
+     */
+    private final int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes in the output queue waiting to be written as of the
+     * last time it was drained.
+     */
+    @GuardedBy( "lock_" )
+    private long outputQueueLength_;
+
+    /**
+     * The number of bytes waiting to be sent at or below which a congested
+     * output queue is no longer considered congested.
+     */
+    private final int outputQueueLowWatermark_;
+
+    /**
+     * The number of bytes in the pending message envelopes waiting to be moved
+     * to the output queue.
+     */
+    @GuardedBy( "lock_" )
+    private long pendingLength_;
+
+    /**
+     * The queue of message envelopes sent by the service waiting to be moved
+     * to the output queue by the writer thread.
+     */
+    @GuardedBy( "lock_" )
+    private final Deque<PendingMessageEnvelope> pendingMessageEnvelopes_;
+
+    /** The reader thread. */
+    private final Thread readerThread_;
+
+    /** The service. */
+    private final IService service_;
+
+    /** The service handler state. */
+    @GuardedBy( "lock_" )
+    private State state_;
+
+    /** The transport layer associated with the service handler. */
+    private final BlockingTransportLayer transportLayer_;
+
+    /** The writer thread. */
+    private final Thread writerThread_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BlockingServiceHandler} class.
+     * 
+     * @param transportLayer
+     *        The transport layer associated with the service handler.
+     * @param service
+     *        The service.
+     * @param channel
+     *        The connected channel associated with the service handler.
+     */
+    BlockingServiceHandler(
+        final BlockingTransportLayer transportLayer,
+        final IService service,
+        final SocketChannel channel )
+    {
+        final TcpTransportLayerConfiguration configuration = transportLayer.getConfiguration();
+
+        channel_ = channel;
+        compressionThreshold_ = configuration.getCompressionThreshold();
+        deflater_ = null;
+        dispatchTimes_ = new DurationStatistics( transportLayer.getMetrics().getDispatchTimes() );
+        inputQueue_ = new InputQueue( configuration.createByteBufferPool(), configuration.getMaximumMessageLength() );
+        inputQueueLength_ = 0L;
+        isCompressionEnabled_ = false;
+        isLargeMessageTransferEnabled_ = false;
+        isOutputQueueCongested_ = false;
+        isStopRequested_ = false;
+        lock_ = new Object();
+        metrics_ = new TransportMetrics( transportLayer.getMetrics(), dispatchTimes_ );
+        outputQueue_ = new OutputQueue( metrics_ );
+        outputQueueHighWatermark_ = configuration.getOutputQueueHighWatermark();
+        outputQueueLength_ = 0L;
+        outputQueueLowWatermark_ = configuration.getOutputQueueLowWatermark();
+        pendingLength_ = 0L;
+        pendingMessageEnvelopes_ = new ArrayDeque<>();
+        readerThread_ = BlockingTransportLayer.newThread( new Runnable()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
+            {
+                read();
+            }
+        }, NonNlsMessages.BlockingServiceHandler_readerThread_name );
+        service_ = service;
+        state_ = State.PRISTINE;
+        transportLayer_ = transportLayer;
+        writerThread_ = BlockingTransportLayer.newThread( new Runnable()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
+            {
+                write();
+            }
+        }, NonNlsMessages.BlockingServiceHandler_writerThread_name );
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Notifies the service if the output queue has crossed one of its
+     * watermarks since the last notification.
+     * 
+     * <p>
+     * The length of the output queue includes the message envelopes that have
+     * not yet been moved to the output queue by the writer thread.
+     * </p>
+     */
+    @GuardedBy( "lock_" )
+    private void checkOutputQueueCongestion()
+    {
+        final long outputQueueLength = pendingLength_ + outputQueueLength_;
+        if( !isOutputQueueCongested_ && (outputQueueLength > outputQueueHighWatermark_) )
+        {
+            isOutputQueueCongested_ = true;
+            service_.outputQueueCongestionChanged( true, outputQueueLength );
+        }
+        else if( isOutputQueueCongested_ && (outputQueueLength <= outputQueueLowWatermark_) )
+        {
+            isOutputQueueCongested_ = false;
+            service_.outputQueueCongestionChanged( false, outputQueueLength );
+        }
+    }
+
+    /**
+     * Closes the service handler.
+     * 
+     * <p>
+     * This method does nothing if the service handler is already closed.
+     * Closing the channel unblocks the reader and writer threads, which then
+     * terminate.
+     * </p>
+     * 
+     * @param exception
+     *        The exception that caused the service handler to be closed or
+     *        {@code null} if the service handler was closed normally.
+     */
+    void close(
+        final @Nullable Exception exception )
+    {
+        final State previousState;
+        synchronized( lock_ )
+        {
+            previousState = state_;
+            if( previousState == State.CLOSED )
+            {
+                return;
+            }
+
+            state_ = State.CLOSED;
+            pendingMessageEnvelopes_.clear();
+            pendingLength_ = 0L;
+            final Deflater deflater = deflater_;
+            if( deflater != null )
+            {
+                deflater.end();
+                deflater_ = null;
+            }
+            metrics_.setQueueLengths( 0L, 0L );
+            lock_.notifyAll();
+        }
+
+        try
+        {
+            channel_.close();
+        }
+        catch( final IOException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.BlockingServiceHandler_close_ioError, e );
+        }
+
+        transportLayer_.serviceHandlerClosed( this );
+
+        if( previousState == State.OPEN )
+        {
+            service_.stopped( exception );
+        }
+    }
+
+    /**
+     * Gets the deflater used to compress message bodies sent to the service
+     * peer, creating it if necessary.
+     * 
+     * @return The deflater used to compress message bodies sent to the service
+     *         peer.
+     */
+    @GuardedBy( "lock_" )
+    private Deflater getDeflater()
+    {
+        Deflater deflater = deflater_;
+        if( deflater == null )
+        {
+            deflater = new Deflater( Deflater.BEST_SPEED );
+            deflater_ = deflater;
+        }
+
+        return deflater;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#getMetrics()
+     */
+    @Override
+    public ITransportMetrics getMetrics()
+    {
+        return metrics_;
+    }
+
+    /**
+     * Gets the number of bytes in the network representation of the specified
+     * message envelope.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return The number of bytes in the network representation of the
+     *         specified message envelope.
+     */
+    private static long getLength(
+        final MessageEnvelope messageEnvelope )
+    {
+        final MessageEnvelope.Header header = messageEnvelope.getHeader();
+        return (long)header.getLength() + header.getBodyLength();
+    }
+
+    /**
+     * Indicates the service handler is open.
+     * 
+     * @return {@code true} if the service handler is open; otherwise
+     *         {@code false}.
+     */
+    private boolean isOpen()
+    {
+        synchronized( lock_ )
+        {
+            return state_ == State.OPEN;
+        }
+    }
+
+    /**
+     * Waits for the reader and writer threads to terminate.
+     * 
+     * <p>
+     * This method must only be called after the service handler has been
+     * closed.
+     * </p>
+     * 
+     * @throws java.lang.InterruptedException
+     *         If this thread is interrupted while waiting for the threads to
+     *         terminate.
+     */
+    void join()
+        throws InterruptedException
+    {
+        readerThread_.join();
+        writerThread_.join();
+    }
+
+    /**
+     * Opens the service handler and starts the reader and writer threads.
+     * 
+     * <p>
+     * This method does nothing if the service handler has already been closed.
+     * </p>
+     */
+    void open()
+    {
+        synchronized( lock_ )
+        {
+            if( state_ != State.PRISTINE )
+            {
+                return;
+            }
+
+            state_ = State.OPEN;
+            service_.started( this );
+        }
+
+        readerThread_.start();
+        writerThread_.start();
+    }
+
+    /**
+     * Reads from the channel until the peer stops sending or the service
+     * handler is closed.
+     * 
+     * <p>
+     * This method is invoked on the reader thread.
+     * </p>
+     */
+    private void read()
+    {
+        final SingleReadChannel channel = new SingleReadChannel();
+        try
+        {
+            while( true )
+            {
+                channel.reset();
+                final int bytesRead = inputQueue_.fillFrom( channel );
+                final long dispatchStartTime = System.nanoTime();
+                if( bytesRead > 0 )
+                {
+                    metrics_.bytesReceived( bytesRead );
+                }
+
+                MessageEnvelope messageEnvelope = null;
+                while( (messageEnvelope = inputQueue_.dequeueMessageEnvelope()) != null )
+                {
+                    metrics_.messageReceived();
+                    service_.messageReceived( messageEnvelope );
+                }
+                dispatchTimes_.record( System.nanoTime() - dispatchStartTime );
+                setInputQueueLength( inputQueue_.getLength() );
+
+                if( bytesRead == -1 )
+                {
+                    try
+                    {
+                        channel_.shutdownInput();
+                    }
+                    catch( @SuppressWarnings( "unused" ) final IOException e )
+                    {
+                        // ignore
+                    }
+
+                    service_.peerStopped();
+                    return;
+                }
+            }
+        }
+        catch( final Exception e )
+        {
+            if( isOpen() )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.BlockingServiceHandler_read_error, e );
+                close( e );
+            }
+        }
+        finally
+        {
+            inputQueue_.close();
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendControlMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendControlMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        sendMessageEnvelope( messageEnvelope, true );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessage(org.gamegineer.table.internal.net.impl.transport.IMessage)
+     */
+    @Override
+    public void sendMessage(
+        final IMessage message )
+    {
+        try
+        {
+            sendMessageEnvelope( MessageEnvelope.fromMessage( message ) );
+        }
+        catch( final IOException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.BlockingServiceHandler_sendMessage_ioError( message ), e );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        sendMessageEnvelope( messageEnvelope, false );
+    }
+
+    /**
+     * Sends the specified message envelope to the service peer.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * @param isControlMessageEnvelope
+     *        {@code true} if the message envelope is a control message
+     *        envelope; otherwise {@code false}.
+     */
+    private void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope,
+        final boolean isControlMessageEnvelope )
+    {
+        final long sendTime = System.nanoTime();
+
+        synchronized( lock_ )
+        {
+            if( state_ == State.CLOSED )
+            {
+                return;
+            }
+
+            final MessageEnvelope outputMessageEnvelope;
+            if( isCompressionEnabled_ && (messageEnvelope.getHeader().getBodyLength() >= compressionThreshold_) )
+            {
+                outputMessageEnvelope = messageEnvelope.compress( getDeflater() );
+            }
+            else
+            {
+                outputMessageEnvelope = messageEnvelope;
+            }
+
+            if( (outputMessageEnvelope.getHeader().getBodyLength() > MessageEnvelope.Header.MAXIMUM_BODY_LENGTH) && !isLargeMessageTransferEnabled_ )
+            {
+                Loggers.getDefaultLogger().severe( NonNlsMessages.BlockingServiceHandler_sendMessageEnvelope_messageTooLong( messageEnvelope ) );
+                return;
+            }
+
+            pendingMessageEnvelopes_.addLast( new PendingMessageEnvelope( outputMessageEnvelope, sendTime, isControlMessageEnvelope ) );
+            pendingLength_ += getLength( outputMessageEnvelope );
+            checkOutputQueueCongestion();
+            updateQueueLengths();
+            lock_.notifyAll();
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setCompressionEnabled(boolean)
+     */
+    @Override
+    public void setCompressionEnabled(
+        final boolean isCompressionEnabled )
+    {
+        synchronized( lock_ )
+        {
+            isCompressionEnabled_ = isCompressionEnabled;
+        }
+    }
+
+    /**
+     * Sets the number of bytes in the input queue that have not yet been
+     * dequeued as part of a message envelope.
+     * 
+     * @param inputQueueLength
+     *        The number of bytes in the input queue that have not yet been
+     *        dequeued as part of a message envelope.
+     */
+    private void setInputQueueLength(
+        final long inputQueueLength )
+    {
+        synchronized( lock_ )
+        {
+            inputQueueLength_ = inputQueueLength;
+            updateQueueLengths();
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setLargeMessageTransferEnabled(boolean)
+     */
+    @Override
+    public void setLargeMessageTransferEnabled(
+        final boolean isLargeMessageTransferEnabled )
+    {
+        synchronized( lock_ )
+        {
+            isLargeMessageTransferEnabled_ = isLargeMessageTransferEnabled;
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#stopService()
+     */
+    @Override
+    public void stopService()
+    {
+        synchronized( lock_ )
+        {
+            isStopRequested_ = true;
+            lock_.notifyAll();
+        }
+    }
+
+    /**
+     * Updates the queue lengths recorded in the transport metrics.
+     */
+    @GuardedBy( "lock_" )
+    private void updateQueueLengths()
+    {
+        if( state_ == State.OPEN )
+        {
+            metrics_.setQueueLengths( inputQueueLength_, pendingLength_ + outputQueueLength_ );
+        }
+    }
+
+    /**
+     * Writes to the channel until the service handler is stopped or closed.
+     * 
+     * <p>
+     * This method is invoked on the writer thread.
+     * </p>
+     */
+    private void write()
+    {
+        try
+        {
+            while( true )
+            {
+                synchronized( lock_ )
+                {
+                    while( (state_ == State.OPEN) && pendingMessageEnvelopes_.isEmpty() && outputQueue_.isEmpty() && !isStopRequested_ )
+                    {
+                        lock_.wait();
+                    }
+
+                    if( state_ != State.OPEN )
+                    {
+                        return;
+                    }
+
+                    PendingMessageEnvelope pendingMessageEnvelope = null;
+                    while( (pendingMessageEnvelope = pendingMessageEnvelopes_.pollFirst()) != null )
+                    {
+                        outputQueue_.enqueueMessageEnvelope( pendingMessageEnvelope.getMessageEnvelope(), pendingMessageEnvelope.getSendTime(), pendingMessageEnvelope.isControlMessageEnvelope() );
+                    }
+                    pendingLength_ = 0L;
+                    outputQueueLength_ = outputQueue_.getLength();
+
+                    if( outputQueue_.isEmpty() )
+                    {
+                        break;
+                    }
+                }
+
+                outputQueue_.drainTo( channel_ );
+
+                synchronized( lock_ )
+                {
+                    outputQueueLength_ = outputQueue_.getLength();
+                    checkOutputQueueCongestion();
+                    updateQueueLengths();
+                }
+            }
+
+            close( null );
+        }
+        catch( final Exception e )
+        {
+            if( isOpen() )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.BlockingServiceHandler_write_error, e );
+                close( e );
+            }
+        }
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A message envelope waiting to be moved to the output queue.
+     */
+    @Immutable
+    private static final class PendingMessageEnvelope
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** Indicates the message envelope is a control message envelope. */
+        private final boolean isControlMessageEnvelope_;
+
+        /** The message envelope. */
+        private final MessageEnvelope messageEnvelope_;
+
+        /**
+         * The time, as reported by {@link System#nanoTime()}, at which the
+         * message envelope was requested to be sent.
+         */
+        private final long sendTime_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code PendingMessageEnvelope}
+         * class.
+         * 
+         * @param messageEnvelope
+         *        The message envelope.
+         * @param sendTime
+         *        The time, as reported by {@link System#nanoTime()}, at which
+         *        the message envelope was requested to be sent.
+         * @param isControlMessageEnvelope
+         *        {@code true} if the message envelope is a control message
+         *        envelope; otherwise {@code false}.
+         */
+        PendingMessageEnvelope(
+            final MessageEnvelope messageEnvelope,
+            final long sendTime,
+            final boolean isControlMessageEnvelope )
+        {
+            isControlMessageEnvelope_ = isControlMessageEnvelope;
+            messageEnvelope_ = messageEnvelope;
+            sendTime_ = sendTime;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the message envelope.
+         * 
+         * @return The message envelope.
+         */
+        MessageEnvelope getMessageEnvelope()
+        {
+            return messageEnvelope_;
+        }
+
+        /**
+         * Gets the time at which the message envelope was requested to be
+         * sent.
+         * 
+         * @return The time, as reported by {@link System#nanoTime()}, at which
+         *         the message envelope was requested to be sent.
+         */
+        long getSendTime()
+        {
+            return sendTime_;
+        }
+
+        /**
+         * Indicates the message envelope is a control message envelope.
+         * 
+         * @return {@code true} if the message envelope is a control message
+         *         envelope; otherwise {@code false}.
+         */
+        boolean isControlMessageEnvelope()
+        {
+            return isControlMessageEnvelope_;
+        }
+    }
+
+    /**
+     * A view of the service handler channel that performs at most one read
+     * between resets.
+     * 
+     * <p>
+     * The input queue keeps reading while the buffer it reads into is filled
+     * completely, which is only appropriate for a non-blocking channel. This
+     * view limits each fill of the input queue to a single blocking read so
+     * the reader thread never blocks while complete message envelopes are
+     * waiting to be dispatched.
+     * </p>
+     */
+    @NotThreadSafe
+    private final class SingleReadChannel
+        implements ReadableByteChannel
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** Indicates a read has been performed since the last reset. */
+        private boolean isReadPerformed_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code SingleReadChannel} class.
+         */
+        SingleReadChannel()
+        {
+            isReadPerformed_ = false;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see java.nio.channels.Channel#close()
+         */
+        @Override
+        @SuppressWarnings( "synthetic-access" )
+        public void close()
+            throws IOException
+        {
+            channel_.close();
+        }
+
+        /*
+         * @see java.nio.channels.Channel#isOpen()
+         */
+        @Override
+        @SuppressWarnings( "synthetic-access" )
+        public boolean isOpen()
+        {
+            return channel_.isOpen();
+        }
+
+        /*
+         * @see java.nio.channels.ReadableByteChannel#read(java.nio.ByteBuffer)
+         */
+        @Override
+        @SuppressWarnings( "synthetic-access" )
+        public int read(
+            final @Nullable ByteBuffer dst )
+            throws IOException
+        {
+            if( isReadPerformed_ )
+            {
+                return 0;
+            }
+
+            isReadPerformed_ = true;
+            return channel_.read( dst );
+        }
+
+        /**
+         * Resets the channel so the next read is performed.
+         */
+        void reset()
+        {
+            isReadPerformed_ = false;
+        }
+    }
+}
@@ -0,0 +1,696 @@
+/*
+ * BlockingTransportLayer.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:41 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
+import org.gamegineer.common.core.util.concurrent.TaskUtils;
+import org.gamegineer.table.internal.net.impl.Activator;
+import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
+import org.gamegineer.table.internal.net.impl.transport.TransportException;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
+
+/**
+ * Implementation of {@link ITransportLayer} that operates over a TCP
+ * connection using blocking I/O.
+ * 
+ * <p>
+ * Each connection is serviced by a dedicated reader thread and a dedicated
+ * writer thread that perform blocking reads and writes using the same framing
+ * as the non-blocking transport layer. When the runtime supports virtual
+ * threads, these threads are virtual threads; otherwise, they are daemon
+ * platform threads.
+ * </p>
+ * 
+ * <p>
+ * Unlike the non-blocking transport layer, the methods of this class may be
+ * called from any thread.
+ * </p>
+ */
+@ThreadSafe
+final class BlockingTransportLayer
+    implements ITransportLayer
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The prefix of the name under which the transport layer metrics are
+     * registered with the platform MBean server.
+     */
+    private static final String METRICS_OBJECT_NAME_PREFIX = "org.gamegineer.table.net:type=BlockingTransportLayer,id="; //$NON-NLS-1$
+
+    /**
+     * The identifier that will be used to register the metrics of the next
+     * transport layer opened.
+     */
+    private static final AtomicInteger nextMetricsId_ = new AtomicInteger( 0 );
+
+    /** The factory used to create the threads that service connections. */
+    private static final ThreadFactory threadFactory_ = createThreadFactory();
+
+    /**
+     * The acceptor thread or {@code null} if the transport layer is not
+     * accepting connections.
+     */
+    @GuardedBy( "lock_" )
+    private @Nullable Thread acceptorThread_;
+
+    /** The transport layer configuration. */
+    private final TcpTransportLayerConfiguration configuration_;
+
+    /** The transport layer context. */
+    private final ITransportLayerContext context_;
+
+    /** The instance lock. */
+    private final Object lock_;
+
+    /** The transport layer metrics. */
+    private final TransportMetrics metrics_;
+
+    /**
+     * The name under which the transport layer metrics are registered with the
+     * platform MBean server or {@code null} if the transport layer metrics are
+     * not registered.
+     */
+    @GuardedBy( "lock_" )
+    private @Nullable ObjectName metricsObjectName_;
+
+    /** The transport layer mode. */
+    private final Mode mode_;
+
+    /**
+     * The server socket channel on which connections are accepted or
+     * {@code null} if the transport layer is not accepting connections.
+     */
+    @GuardedBy( "lock_" )
+    private @Nullable ServerSocketChannel serverChannel_;
+
+    /** The collection of service handlers associated with the transport layer. */
+    @GuardedBy( "lock_" )
+    private final Collection<BlockingServiceHandler> serviceHandlers_;
+
+    /** The transport layer state. */
+    @GuardedBy( "lock_" )
+    private State state_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BlockingTransportLayer} class.
+     * 
+     * @param mode
+     *        The transport layer mode.
+     * @param configuration
+     *        The transport layer configuration.
+     * @param context
+     *        The transport layer context.
+     */
+    BlockingTransportLayer(
+        final Mode mode,
+        final TcpTransportLayerConfiguration configuration,
+        final ITransportLayerContext context )
+    {
+        acceptorThread_ = null;
+        configuration_ = configuration;
+        context_ = context;
+        lock_ = new Object();
+        metrics_ = new TransportMetrics();
+        metricsObjectName_ = null;
+        mode_ = mode;
+        serverChannel_ = null;
+        serviceHandlers_ = new HashSet<>();
+        state_ = State.PRISTINE;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Accepts connections on the specified server socket channel until it is
+     * closed.
+     * 
+     * <p>
+     * This method is invoked on the acceptor thread.
+     * </p>
+     * 
+     * @param serverChannel
+     *        The server socket channel.
+     */
+    private void accept(
+        final ServerSocketChannel serverChannel )
+    {
+        while( serverChannel.isOpen() )
+        {
+            try
+            {
+                openServiceHandler( serverChannel.accept() );
+            }
+            catch( final IOException e )
+            {
+                if( serverChannel.isOpen() )
+                {
+                    Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.BlockingTransportLayer_accept_ioError, e );
+                }
+            }
+        }
+
+        context_.transportLayerDisconnected( null );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#beginClose()
+     */
+    @Override
+    public Future<@Nullable Void> beginClose()
+    {
+        final @Nullable Thread acceptorThread;
+        final Collection<BlockingServiceHandler> serviceHandlers;
+        synchronized( lock_ )
+        {
+            if( state_ != State.OPEN )
+            {
+                state_ = State.CLOSED;
+                return new SynchronousFuture<>();
+            }
+
+            state_ = State.CLOSED;
+            closeServerChannel();
+            acceptorThread = acceptorThread_;
+            acceptorThread_ = null;
+            serviceHandlers = new ArrayList<>( serviceHandlers_ );
+        }
+
+        return Activator.getDefault().getExecutorService().submit( new Callable<@Nullable Void>()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public @Nullable Void call()
+            {
+                try
+                {
+                    if( acceptorThread != null )
+                    {
+                        acceptorThread.join();
+                    }
+
+                    for( final BlockingServiceHandler serviceHandler : serviceHandlers )
+                    {
+                        serviceHandler.close( null );
+                        serviceHandler.join();
+                    }
+                }
+                catch( @SuppressWarnings( "unused" ) final InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                }
+                finally
+                {
+                    unregisterMetrics();
+                }
+
+                return null;
+            }
+        } );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#beginOpen(java.lang.String, int)
+     */
+    @Override
+    public Future<@Nullable Void> beginOpen(
+        final String hostName,
+        final int port )
+    {
+        synchronized( lock_ )
+        {
+            if( state_ != State.PRISTINE )
+            {
+                return new SynchronousFuture<>( new IllegalStateException( NonNlsMessages.BlockingTransportLayer_state_notPristine ) );
+            }
+
+            state_ = State.OPEN;
+            registerMetrics();
+        }
+
+        return Activator.getDefault().getExecutorService().submit( new Callable<@Nullable Void>()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public @Nullable Void call()
+                throws TransportException
+            {
+                try
+                {
+                    if( mode_ == Mode.ACTIVE )
+                    {
+                        connect( hostName, port );
+                    }
+                    else
+                    {
+                        bind( hostName, port );
+                    }
+                }
+                catch( final IOException e )
+                {
+                    synchronousClose();
+                    throw new TransportException( NonNlsMessages.BlockingTransportLayer_open_ioError, e );
+                }
+
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * Binds a new server socket channel to the specified address and starts
+     * accepting connections on it.
+     * 
+     * @param hostName
+     *        The host name to which the server socket channel will be bound.
+     * @param port
+     *        The port to which the server socket channel will be bound.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs.
+     */
+    private void bind(
+        final String hostName,
+        final int port )
+        throws IOException
+    {
+        final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try
+        {
+            serverChannel.socket().bind( new InetSocketAddress( hostName, port ) );
+        }
+        catch( final IOException e )
+        {
+            serverChannel.close();
+            throw e;
+        }
+
+        final Thread acceptorThread = newThread( new Runnable()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
+            {
+                accept( serverChannel );
+            }
+        }, NonNlsMessages.BlockingTransportLayer_acceptorThread_name );
+
+        synchronized( lock_ )
+        {
+            if( state_ != State.OPEN )
+            {
+                serverChannel.close();
+                return;
+            }
+
+            serverChannel_ = serverChannel;
+            acceptorThread_ = acceptorThread;
+        }
+
+        acceptorThread.start();
+    }
+
+    /**
+     * Closes the server socket channel.
+     * 
+     * <p>
+     * This method does nothing if the transport layer is not accepting
+     * connections.
+     * </p>
+     */
+    @GuardedBy( "lock_" )
+    private void closeServerChannel()
+    {
+        final ServerSocketChannel serverChannel = serverChannel_;
+        if( serverChannel == null )
+        {
+            return;
+        }
+
+        serverChannel_ = null;
+        try
+        {
+            serverChannel.close();
+        }
+        catch( final IOException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.BlockingTransportLayer_closeServerChannel_ioError, e );
+        }
+    }
+
+    /**
+     * Connects a new socket channel to the specified address.
+     * 
+     * @param hostName
+     *        The host name of the remote peer.
+     * @param port
+     *        The port of the remote peer.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs.
+     */
+    private void connect(
+        final String hostName,
+        final int port )
+        throws IOException
+    {
+        final InetSocketAddress address = new InetSocketAddress( hostName, port );
+        if( address.isUnresolved() )
+        {
+            throw new IOException( NonNlsMessages.BlockingTransportLayer_connect_addressUnresolved );
+        }
+
+        final SocketChannel channel = SocketChannel.open();
+        try
+        {
+            channel.connect( address );
+        }
+        catch( final IOException e )
+        {
+            channel.close();
+            throw e;
+        }
+
+        openServiceHandler( channel );
+    }
+
+    /**
+     * Creates the factory used to create the threads that service connections.
+     * 
+     * <p>
+     * Virtual threads are used if the runtime supports them (Java 21 or
+     * later). The runtime is probed reflectively so the bundle remains
+     * compatible with earlier runtimes, on which daemon platform threads are
+     * used instead.
+     * </p>
+     * 
+     * @return The factory used to create the threads that service
+     *         connections.
+     */
+    private static ThreadFactory createThreadFactory()
+    {
+        try
+        {
+            final Object threadBuilder = Thread.class.getMethod( "ofVirtual" ).invoke( null ); //$NON-NLS-1$
+            return (ThreadFactory)Class.forName( "java.lang.Thread$Builder" ).getMethod( "factory" ).invoke( threadBuilder ); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        catch( @SuppressWarnings( "unused" ) final ReflectiveOperationException e )
+        {
+            return new ThreadFactory()
+            {
+                @Override
+                public Thread newThread(
+                    final @Nullable Runnable r )
+                {
+                    final Thread thread = new Thread( r );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            };
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#endClose(java.util.concurrent.Future)
+     */
+    @Override
+    public void endClose(
+        final Future<@Nullable Void> future )
+        throws InterruptedException
+    {
+        try
+        {
+            future.get();
+        }
+        catch( final ExecutionException e )
+        {
+            throw TaskUtils.launderThrowable( e.getCause() );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#endOpen(java.util.concurrent.Future)
+     */
+    @Override
+    public void endOpen(
+        final Future<@Nullable Void> future )
+        throws TransportException, InterruptedException
+    {
+        try
+        {
+            future.get();
+        }
+        catch( final ExecutionException e )
+        {
+            final Throwable cause = e.getCause();
+            if( cause instanceof TransportException )
+            {
+                throw (TransportException)cause;
+            }
+
+            throw TaskUtils.launderThrowable( e );
+        }
+    }
+
+    /**
+     * Gets the transport layer configuration.
+     * 
+     * @return The transport layer configuration.
+     */
+    TcpTransportLayerConfiguration getConfiguration()
+    {
+        return configuration_;
+    }
+
+    /**
+     * Gets the port on which the transport layer is accepting connections.
+     * 
+     * @return The port on which the transport layer is accepting connections
+     *         or -1 if the transport layer is not accepting connections.
+     */
+    int getLocalPort()
+    {
+        synchronized( lock_ )
+        {
+            final ServerSocketChannel serverChannel = serverChannel_;
+            return (serverChannel != null) ? serverChannel.socket().getLocalPort() : -1;
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#getMetrics()
+     */
+    @Override
+    public TransportMetrics getMetrics()
+    {
+        return metrics_;
+    }
+
+    /**
+     * Creates a new thread to service the transport layer.
+     * 
+     * @param task
+     *        The task to be executed by the thread.
+     * @param name
+     *        The thread name.
+     * 
+     * @return A new unstarted thread.
+     */
+    static Thread newThread(
+        final Runnable task,
+        final String name )
+    {
+        final Thread thread = threadFactory_.newThread( task );
+        thread.setName( name );
+        return thread;
+    }
+
+    /**
+     * Opens a new service handler for the specified connected socket channel.
+     * 
+     * <p>
+     * The channel is closed without creating a service handler if the
+     * transport layer has been closed.
+     * </p>
+     * 
+     * @param channel
+     *        The connected socket channel.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs.
+     */
+    private void openServiceHandler(
+        final SocketChannel channel )
+        throws IOException
+    {
+        final BlockingServiceHandler serviceHandler = new BlockingServiceHandler( this, context_.createService(), channel );
+        synchronized( lock_ )
+        {
+            if( state_ != State.OPEN )
+            {
+                channel.close();
+                return;
+            }
+
+            serviceHandlers_.add( serviceHandler );
+        }
+
+        serviceHandler.open();
+    }
+
+    /**
+     * Registers the transport layer metrics with the platform MBean server.
+     * 
+     * <p>
+     * A failure to register the transport layer metrics is logged but
+     * otherwise ignored.
+     * </p>
+     */
+    @GuardedBy( "lock_" )
+    private void registerMetrics()
+    {
+        assert metricsObjectName_ == null;
+
+        try
+        {
+            final ObjectName metricsObjectName = new ObjectName( METRICS_OBJECT_NAME_PREFIX + nextMetricsId_.getAndIncrement() );
+            ManagementFactory.getPlatformMBeanServer().registerMBean( new StandardMBean( metrics_, ITransportMetrics.class, true ), metricsObjectName );
+            metricsObjectName_ = metricsObjectName;
+        }
+        catch( final JMException e )
+        {
+            Loggers.getDefaultLogger().log( Level.WARNING, NonNlsMessages.BlockingTransportLayer_registerMetrics_error, e );
+        }
+    }
+
+    /**
+     * Invoked when the specified service handler has been closed.
+     * 
+     * @param serviceHandler
+     *        The service handler.
+     */
+    void serviceHandlerClosed(
+        final BlockingServiceHandler serviceHandler )
+    {
+        synchronized( lock_ )
+        {
+            serviceHandlers_.remove( serviceHandler );
+        }
+    }
+
+    /**
+     * Synchronously closes the transport layer.
+     */
+    private void synchronousClose()
+    {
+        try
+        {
+            endClose( beginClose() );
+        }
+        catch( @SuppressWarnings( "unused" ) final InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Unregisters the transport layer metrics from the platform MBean server.
+     * 
+     * <p>
+     * This method does nothing if the transport layer metrics are not
+     * registered.
+     * </p>
+     */
+    private void unregisterMetrics()
+    {
+        final ObjectName metricsObjectName;
+        synchronized( lock_ )
+        {
+            metricsObjectName = metricsObjectName_;
+            if( metricsObjectName == null )
+            {
+                return;
+            }
+
+            metricsObjectName_ = null;
+        }
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean( metricsObjectName );
+        }
+        catch( final JMException e )
+        {
+            Loggers.getDefaultLogger().log( Level.WARNING, NonNlsMessages.BlockingTransportLayer_unregisterMetrics_error, e );
+        }
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * The possible modes of a blocking transport layer.
+     */
+    enum Mode
+    {
+        /** The transport layer connects to a remote peer. */
+        ACTIVE,
+
+        /** The transport layer accepts connections from remote peers. */
+        PASSIVE;
+    }
+}
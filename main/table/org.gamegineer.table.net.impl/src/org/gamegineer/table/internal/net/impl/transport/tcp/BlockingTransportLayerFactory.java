@@ -0,0 +1,106 @@
+/*
+ * BlockingTransportLayerFactory.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:10:27 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import net.jcip.annotations.Immutable;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory;
+
+/**
+ * Implementation of {@link ITransportLayerFactory} for TCP connections that
+ * are serviced using blocking I/O with a dedicated thread per connection
+ * direction.
+ * 
+ * <p>
+ * The transport layers created by this factory use the same framing as those
+ * created by {@link TcpTransportLayerFactory} and are therefore
+ * interoperable with them.
+ * </p>
+ */
+@Immutable
+public final class BlockingTransportLayerFactory
+    implements ITransportLayerFactory
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The configuration of transport layers created by the factory. */
+    private final TcpTransportLayerConfiguration configuration_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code BlockingTransportLayerFactory}
+     * using the default transport layer configuration.
+     */
+    public BlockingTransportLayerFactory()
+    {
+        this( new TcpTransportLayerConfigurationBuilder().toTcpTransportLayerConfiguration() );
+    }
+
+    /**
+     * Initializes a new instance of the {@code BlockingTransportLayerFactory}
+     * using the specified transport layer configuration.
+     * 
+     * <p>
+     * The dispatcher count of the configuration is ignored.
+     * </p>
+     * 
+     * @param configuration
+     *        The configuration of transport layers created by the factory.
+     */
+    public BlockingTransportLayerFactory(
+        final TcpTransportLayerConfiguration configuration )
+    {
+        configuration_ = configuration;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory#createActiveTransportLayer(org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
+     */
+    @Override
+    public ITransportLayer createActiveTransportLayer(
+        final ITransportLayerContext context )
+    {
+        return new BlockingTransportLayer( BlockingTransportLayer.Mode.ACTIVE, configuration_, context );
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayerFactory#createPassiveTransportLayer(org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
+     */
+    @Override
+    public ITransportLayer createPassiveTransportLayer(
+        final ITransportLayerContext context )
+    {
+        return new BlockingTransportLayer( BlockingTransportLayer.Mode.PASSIVE, configuration_, context );
+    }
+}
@@ -23,11 +23,22 @@ package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
+import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * A pool for sharing instances of the {@link ByteBuffer} class.
+ * 
+ * <p>
+ * The pool manages byte buffers in one or more size classes. A request for a
+ * byte buffer is satisfied from the smallest size class whose capacity is
+ * large enough to hold the requested number of bytes. The pool may be
+ * configured to create direct byte buffers so that channel I/O does not incur
+ * an additional copy through a temporary direct buffer.
+ * </p>
  */
 @NotThreadSafe
 final class ByteBufferPool
@@ -36,17 +47,26 @@ final class ByteBufferPool
     // Fields
     // ======================================================================
 
-    /** The maximum amount of memory the pool may use in bytes. */
-    private static final int MAX_MEMORY_USAGE = 1024 * 1024;
+    /** The default maximum amount of memory the pool may use in bytes. */
+    static final int DEFAULT_MAXIMUM_MEMORY_USAGE = 1024 * 1024;
 
-    /** The capacity of all byte buffers created by this pool. */
-    private final int byteBufferCapacity_;
+    /** The maximum count of byte buffers outstanding at any one time. */
+    private int highWaterMark_;
 
-    /** The collection of byte buffers in the pool. */
-    private final Queue<ByteBuffer> byteBuffers_;
+    /** The count of byte buffer requests satisfied from the pool. */
+    private long hitCount_;
 
-    /** The capacity of the pool. */
-    private final int capacity_;
+    /** Indicates the pool creates direct byte buffers. */
+    private final boolean isDirect_;
+
+    /** The count of byte buffer requests that required a new allocation. */
+    private long missCount_;
+
+    /** The count of byte buffers taken from the pool but not yet returned. */
+    private int outstandingCount_;
+
+    /** The size classes managed by the pool ordered by ascending capacity. */
+    private final SizeClass[] sizeClasses_;
 
 
     // ======================================================================
@@ -54,7 +74,8 @@ final class ByteBufferPool
     // ======================================================================
 
     /**
-     * Initializes a new instance of the {@code ByteBufferPool} class.
+     * Initializes a new instance of the {@code ByteBufferPool} class that
+     * manages a single size class of heap byte buffers.
      * 
      * @param byteBufferCapacity
      *        The capacity of all byte buffers created by this pool; must be
@@ -63,11 +84,51 @@ final class ByteBufferPool
     ByteBufferPool(
         final int byteBufferCapacity )
     {
-        assert byteBufferCapacity > 0;
+        this( new int[] {
+            byteBufferCapacity
+        }, false, DEFAULT_MAXIMUM_MEMORY_USAGE );
+    }
+
+    /**
+     * Initializes a new instance of the {@code ByteBufferPool} class.
+     * 
+     * @param byteBufferCapacities
+     *        The capacities of the size classes managed by this pool; must not
+     *        be empty and must contain only positive values.
+     * @param isDirect
+     *        {@code true} if the pool should create direct byte buffers;
+     *        {@code false} if the pool should create heap byte buffers.
+     * @param maximumMemoryUsage
+     *        The maximum amount of memory the pool may retain in bytes; must
+     *        be positive. This amount is shared equally among all size
+     *        classes.
+     */
+    ByteBufferPool(
+        final int[] byteBufferCapacities,
+        final boolean isDirect,
+        final int maximumMemoryUsage )
+    {
+        assert byteBufferCapacities.length > 0;
+        assert maximumMemoryUsage > 0;
+
+        final int[] sortedByteBufferCapacities = Arrays.copyOf( byteBufferCapacities, byteBufferCapacities.length );
+        Arrays.sort( sortedByteBufferCapacities );
+
+        final int maximumMemoryUsagePerSizeClass = Math.max( 1, maximumMemoryUsage / sortedByteBufferCapacities.length );
+        final SizeClass[] sizeClasses = new SizeClass[ sortedByteBufferCapacities.length ];
+        for( int index = 0; index < sortedByteBufferCapacities.length; ++index )
+        {
+            final int byteBufferCapacity = sortedByteBufferCapacities[ index ];
+            assert byteBufferCapacity > 0;
+            sizeClasses[ index ] = new SizeClass( byteBufferCapacity, Math.max( 1, maximumMemoryUsagePerSizeClass / byteBufferCapacity ) );
+        }
 
-        byteBufferCapacity_ = byteBufferCapacity;
-        byteBuffers_ = new ArrayDeque<>();
-        capacity_ = Math.max( 1, MAX_MEMORY_USAGE / byteBufferCapacity );
+        highWaterMark_ = 0;
+        hitCount_ = 0L;
+        isDirect_ = isDirect;
+        missCount_ = 0L;
+        outstandingCount_ = 0;
+        sizeClasses_ = sizeClasses;
     }
 
 
@@ -75,23 +136,121 @@ final class ByteBufferPool
     // Methods
     // ======================================================================
 
+    /**
+     * Discards the specified byte buffer taken from the pool without returning
+     * it to the pool.
+     * 
+     * <p>
+     * A byte buffer whose contents are still referenced after it is no longer
+     * needed by its taker must be discarded rather than returned so that the
+     * pool never hands it out again.
+     * </p>
+     * 
+     * <p>
+     * Byte buffers that were not created by this pool are silently ignored.
+     * </p>
+     * 
+     * @param byteBuffer
+     *        The byte buffer to discard.
+     */
+    void discardByteBuffer(
+        final ByteBuffer byteBuffer )
+    {
+        if( byteBuffer.isDirect() != isDirect_ )
+        {
+            return;
+        }
+
+        final SizeClass sizeClass = findSizeClass( byteBuffer.capacity() );
+        if( (sizeClass != null) && (sizeClass.getByteBufferCapacity() == byteBuffer.capacity()) && (outstandingCount_ > 0) )
+        {
+            --outstandingCount_;
+        }
+    }
+
+    /**
+     * Gets the capacity of the largest byte buffer created by this pool.
+     * 
+     * @return The capacity of the largest byte buffer created by this pool in
+     *         bytes.
+     */
+    int getMaximumByteBufferCapacity()
+    {
+        return sizeClasses_[ sizeClasses_.length - 1 ].getByteBufferCapacity();
+    }
+
+    /**
+     * Gets the capacity of the smallest byte buffer created by this pool.
+     * 
+     * @return The capacity of the smallest byte buffer created by this pool in
+     *         bytes.
+     */
+    int getMinimumByteBufferCapacity()
+    {
+        return sizeClasses_[ 0 ].getByteBufferCapacity();
+    }
+
+    /**
+     * Gets a snapshot of the pool statistics.
+     * 
+     * @return A snapshot of the pool statistics.
+     */
+    Statistics getStatistics()
+    {
+        int pooledCount = 0;
+        long pooledMemory = 0L;
+        for( final SizeClass sizeClass : sizeClasses_ )
+        {
+            pooledCount += sizeClass.getPooledCount();
+            pooledMemory += (long)sizeClass.getPooledCount() * sizeClass.getByteBufferCapacity();
+        }
+
+        return new Statistics( hitCount_, missCount_, outstandingCount_, highWaterMark_, pooledCount, pooledMemory );
+    }
+
+    /**
+     * Indicates the pool creates direct byte buffers.
+     * 
+     * @return {@code true} if the pool creates direct byte buffers;
+     *         {@code false} if the pool creates heap byte buffers.
+     */
+    boolean isDirect()
+    {
+        return isDirect_;
+    }
+
     /**
      * Returns the specified byte buffer to the pool.
      * 
+     * <p>
+     * Byte buffers that were not created by this pool are silently discarded.
+     * </p>
+     * 
      * @param byteBuffer
      *        The byte buffer to return.
      */
     void returnByteBuffer(
         final ByteBuffer byteBuffer )
     {
-        if( byteBuffers_.size() < capacity_ )
+        if( byteBuffer.isDirect() != isDirect_ )
+        {
+            return;
+        }
+
+        final SizeClass sizeClass = findSizeClass( byteBuffer.capacity() );
+        if( (sizeClass != null) && (sizeClass.getByteBufferCapacity() == byteBuffer.capacity()) )
         {
-            byteBuffers_.offer( byteBuffer );
+            if( outstandingCount_ > 0 )
+            {
+                --outstandingCount_;
+            }
+
+            sizeClass.offer( byteBuffer );
         }
     }
 
     /**
-     * Takes a byte buffer from the pool.
+     * Takes a byte buffer of the smallest size class from the pool.
      * 
      * <p>
      * When the returned byte buffer is no longer needed, it must be returned to
@@ -102,13 +261,347 @@ final class ByteBufferPool
      */
     ByteBuffer takeByteBuffer()
     {
-        final ByteBuffer byteBuffer = byteBuffers_.poll();
+        return takeByteBuffer( sizeClasses_[ 0 ] );
+    }
+
+    /**
+     * Takes a byte buffer from the pool that is large enough to hold the
+     * specified number of bytes.
+     * 
+     * <p>
+     * If {@code length} exceeds the capacity of the largest size class, a byte
+     * buffer of the largest size class is returned.
+     * </p>
+     * 
+     * <p>
+     * When the returned byte buffer is no longer needed, it must be returned to
+     * the pool using the {@link #returnByteBuffer(ByteBuffer)} method.
+     * </p>
+     * 
+     * @param length
+     *        The number of bytes the byte buffer should be able to hold; must
+     *        not be negative.
+     * 
+     * @return A byte buffer.
+     */
+    ByteBuffer takeByteBuffer(
+        final int length )
+    {
+        assert length >= 0;
+
+        final SizeClass sizeClass = findSizeClass( length );
+        return takeByteBuffer( (sizeClass != null) ? sizeClass : sizeClasses_[ sizeClasses_.length - 1 ] );
+    }
+
+    /**
+     * Takes a byte buffer of the specified size class from the pool.
+     * 
+     * @param sizeClass
+     *        The size class.
+     * 
+     * @return A byte buffer.
+     */
+    private ByteBuffer takeByteBuffer(
+        final SizeClass sizeClass )
+    {
+        highWaterMark_ = Math.max( highWaterMark_, ++outstandingCount_ );
+
+        final ByteBuffer byteBuffer = sizeClass.poll();
         if( byteBuffer != null )
         {
+            ++hitCount_;
             byteBuffer.clear();
             return byteBuffer;
         }
 
-        return ByteBuffer.allocate( byteBufferCapacity_ );
+        ++missCount_;
+        return isDirect_ ? ByteBuffer.allocateDirect( sizeClass.getByteBufferCapacity() ) : ByteBuffer.allocate( sizeClass.getByteBufferCapacity() );
+    }
+
+    /**
+     * Finds the smallest size class whose capacity is large enough to hold the
+     * specified number of bytes.
+     * 
+     * @param length
+     *        The number of bytes.
+     * 
+     * @return The smallest size class whose capacity is large enough to hold
+     *         the specified number of bytes or {@code null} if no such size
+     *         class exists.
+     */
+    private @Nullable SizeClass findSizeClass(
+        final int length )
+    {
+        for( final SizeClass sizeClass : sizeClasses_ )
+        {
+            if( sizeClass.getByteBufferCapacity() >= length )
+            {
+                return sizeClass;
+            }
+        }
+
+        return null;
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A byte buffer pool size class.
+     */
+    @NotThreadSafe
+    private static final class SizeClass
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The capacity of all byte buffers in the size class. */
+        private final int byteBufferCapacity_;
+
+        /** The collection of byte buffers in the size class. */
+        private final Queue<ByteBuffer> byteBuffers_;
+
+        /** The maximum count of byte buffers retained by the size class. */
+        private final int capacity_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code SizeClass} class.
+         * 
+         * @param byteBufferCapacity
+         *        The capacity of all byte buffers in the size class.
+         * @param capacity
+         *        The maximum count of byte buffers retained by the size class.
+         */
+        SizeClass(
+            final int byteBufferCapacity,
+            final int capacity )
+        {
+            byteBufferCapacity_ = byteBufferCapacity;
+            byteBuffers_ = new ArrayDeque<>( capacity );
+            capacity_ = capacity;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the capacity of all byte buffers in the size class.
+         * 
+         * @return The capacity of all byte buffers in the size class in bytes.
+         */
+        int getByteBufferCapacity()
+        {
+            return byteBufferCapacity_;
+        }
+
+        /**
+         * Gets the count of byte buffers retained by the size class.
+         * 
+         * @return The count of byte buffers retained by the size class.
+         */
+        int getPooledCount()
+        {
+            return byteBuffers_.size();
+        }
+
+        /**
+         * Offers the specified byte buffer to the size class.
+         * 
+         * @param byteBuffer
+         *        The byte buffer; its capacity must equal the size class
+         *        byte buffer capacity.
+         */
+        void offer(
+            final ByteBuffer byteBuffer )
+        {
+            assert byteBuffer.capacity() == byteBufferCapacity_;
+
+            if( byteBuffers_.size() < capacity_ )
+            {
+                byteBuffers_.offer( byteBuffer );
+            }
+        }
+
+        /**
+         * Polls the size class for a byte buffer.
+         * 
+         * @return A byte buffer or {@code null} if the size class is empty.
+         */
+        @Nullable ByteBuffer poll()
+        {
+            return byteBuffers_.poll();
+        }
+    }
+
+    /**
+     * A snapshot of the statistics of a byte buffer pool.
+     */
+    @Immutable
+    static final class Statistics
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The maximum count of byte buffers outstanding at any one time. */
+        private final int highWaterMark_;
+
+        /** The count of byte buffer requests satisfied from the pool. */
+        private final long hitCount_;
+
+        /** The count of byte buffer requests that required a new allocation. */
+        private final long missCount_;
+
+        /** The count of byte buffers taken from the pool but not returned. */
+        private final int outstandingCount_;
+
+        /** The count of byte buffers retained by the pool. */
+        private final int pooledCount_;
+
+        /** The amount of memory retained by the pool in bytes. */
+        private final long pooledMemory_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code Statistics} class.
+         * 
+         * @param hitCount
+         *        The count of byte buffer requests satisfied from the pool.
+         * @param missCount
+         *        The count of byte buffer requests that required a new
+         *        allocation.
+         * @param outstandingCount
+         *        The count of byte buffers taken from the pool but not
+         *        returned.
+         * @param highWaterMark
+         *        The maximum count of byte buffers outstanding at any one
+         *        time.
+         * @param pooledCount
+         *        The count of byte buffers retained by the pool.
+         * @param pooledMemory
+         *        The amount of memory retained by the pool in bytes.
+         */
+        Statistics(
+            final long hitCount,
+            final long missCount,
+            final int outstandingCount,
+            final int highWaterMark,
+            final int pooledCount,
+            final long pooledMemory )
+        {
+            highWaterMark_ = highWaterMark;
+            hitCount_ = hitCount;
+            missCount_ = missCount;
+            outstandingCount_ = outstandingCount;
+            pooledCount_ = pooledCount;
+            pooledMemory_ = pooledMemory;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the maximum count of byte buffers outstanding at any one time.
+         * 
+         * @return The maximum count of byte buffers outstanding at any one
+         *         time.
+         */
+        int getHighWaterMark()
+        {
+            return highWaterMark_;
+        }
+
+        /**
+         * Gets the count of byte buffer requests satisfied from the pool.
+         * 
+         * @return The count of byte buffer requests satisfied from the pool.
+         */
+        long getHitCount()
+        {
+            return hitCount_;
+        }
+
+        /**
+         * Gets the count of byte buffer requests that required a new
+         * allocation.
+         * 
+         * @return The count of byte buffer requests that required a new
+         *         allocation.
+         */
+        long getMissCount()
+        {
+            return missCount_;
+        }
+
+        /**
+         * Gets the count of byte buffers taken from the pool but not returned.
+         * 
+         * @return The count of byte buffers taken from the pool but not
+         *         returned.
+         */
+        int getOutstandingCount()
+        {
+            return outstandingCount_;
+        }
+
+        /**
+         * Gets the count of byte buffers retained by the pool.
+         * 
+         * @return The count of byte buffers retained by the pool.
+         */
+        int getPooledCount()
+        {
+            return pooledCount_;
+        }
+
+        /**
+         * Gets the amount of memory retained by the pool.
+         * 
+         * @return The amount of memory retained by the pool in bytes.
+         */
+        long getPooledMemory()
+        {
+            return pooledMemory_;
+        }
+
+        /*
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString()
+        {
+            final StringBuilder sb = new StringBuilder();
+            sb.append( "ByteBufferPool.Statistics[" ); //$NON-NLS-1$
+            sb.append( "hitCount_=" ); //$NON-NLS-1$
+            sb.append( hitCount_ );
+            sb.append( ", missCount_=" ); //$NON-NLS-1$
+            sb.append( missCount_ );
+            sb.append( ", outstandingCount_=" ); //$NON-NLS-1$
+            sb.append( outstandingCount_ );
+            sb.append( ", highWaterMark_=" ); //$NON-NLS-1$
+            sb.append( highWaterMark_ );
+            sb.append( ", pooledCount_=" ); //$NON-NLS-1$
+            sb.append( pooledCount_ );
+            sb.append( ", pooledMemory_=" ); //$NON-NLS-1$
+            sb.append( pooledMemory_ );
+            sb.append( "]" ); //$NON-NLS-1$
+            return sb.toString();
+        }
     }
 }
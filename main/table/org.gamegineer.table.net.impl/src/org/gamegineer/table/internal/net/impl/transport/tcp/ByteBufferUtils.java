@@ -88,10 +88,10 @@ final class ByteBufferUtils
         }
         else
         {
-            while( destinationBuffer.hasRemaining() )
-            {
-                destinationBuffer.put( sourceBuffer.get() );
-            }
+            final int sourceLimit = sourceBuffer.limit();
+            sourceBuffer.limit( sourceBuffer.position() + destinationBuffer.remaining() );
+            destinationBuffer.put( sourceBuffer );
+            sourceBuffer.limit( sourceLimit );
         }
     }
 
@@ -50,11 +50,14 @@ final class Connector
      * 
      * @param transportLayer
      *        The transport layer associated with the connector.
+     * @param dispatcher
+     *        The dispatcher associated with the connector.
      */
     Connector(
-        final AbstractTransportLayer transportLayer )
+        final AbstractTransportLayer transportLayer,
+        final Dispatcher dispatcher )
     {
-        super( transportLayer );
+        super( transportLayer, dispatcher );
     }
 
 
@@ -70,7 +73,7 @@ final class Connector
         final @Nullable Exception exception )
     {
         assert exception == null : "asynchronous connection not supported"; //$NON-NLS-1$
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         setState( State.CLOSED );
     }
@@ -96,7 +99,7 @@ final class Connector
         final int port )
         throws IOException
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
         assert getState() == State.PRISTINE;
 
         try
@@ -104,7 +107,7 @@ final class Connector
             final SocketChannel channel = createSocketChannel( hostName, port );
 
             final AbstractTransportLayer transportLayer = getTransportLayer();
-            final ServiceHandler serviceHandler = new ServiceHandler( transportLayer, transportLayer.createService() );
+            final ServiceHandler serviceHandler = new ServiceHandler( transportLayer, getDispatcher(), transportLayer.createService() );
             serviceHandler.open( channel );
         }
         finally
@@ -150,7 +153,7 @@ final class Connector
     @Override
     @Nullable SelectableChannel getChannel()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         throw new UnsupportedOperationException( "asynchronous connection not supported" ); //$NON-NLS-1$
     }
@@ -161,7 +164,7 @@ final class Connector
     @Override
     int getInterestOperations()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         throw new UnsupportedOperationException( "asynchronous connection not supported" ); //$NON-NLS-1$
     }
@@ -172,7 +175,7 @@ final class Connector
     @Override
     void run()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         throw new UnsupportedOperationException( "asynchronous connection not supported" ); //$NON-NLS-1$
     }
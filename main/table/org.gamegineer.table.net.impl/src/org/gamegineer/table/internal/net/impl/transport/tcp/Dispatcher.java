@@ -27,29 +27,28 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
-import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
-import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
 import org.gamegineer.common.core.util.concurrent.TaskUtils;
 import org.gamegineer.table.internal.net.impl.Activator;
 import org.gamegineer.table.internal.net.impl.Debug;
 import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.transport.DurationStatistics;
 
 /**
  * An event dispatcher in the TCP transport layer Acceptor-Connector pattern
@@ -61,8 +60,20 @@ import org.gamegineer.table.internal.net.impl.Loggers;
  * </p>
  * 
  * <p>
- * All client methods of this class are expected to be invoked on the associated
- * transport layer thread except where explicitly noted.
+ * Each dispatcher runs an event loop on its own event dispatch thread. The
+ * event dispatch thread owns all event handlers registered with the
+ * dispatcher: it both selects the events that occur on their channels and runs
+ * the event handlers itself. Other threads interact with the event handlers by
+ * submitting tasks through {@link #asyncExec} or {@link #syncExec}. Such tasks
+ * are queued without locking and are run by the event loop between
+ * selections.
+ * </p>
+ * 
+ * <p>
+ * The methods that open and close the dispatcher are expected to be invoked on
+ * the associated transport layer thread. All other client methods of this
+ * class are expected to be invoked on the event dispatch thread except where
+ * explicitly noted.
  * </p>
  */
 @NotThreadSafe
@@ -75,6 +86,9 @@ final class Dispatcher
     /** The byte buffer pool associated with the dispatcher. */
     private final ByteBufferPool bufferPool_;
 
+    /** The statistics of the event dispatch loop iteration times. */
+    private final DurationStatistics dispatchTimes_;
+
     /**
      * The asynchronous completion token for the task executing the event
      * dispatch thread or {@code null} if the event dispatch thread is not
@@ -82,31 +96,48 @@ final class Dispatcher
      */
     private @Nullable Future<?> eventDispatchTaskFuture_;
 
+    /**
+     * The event dispatch thread or {@code null} if the event dispatch thread is
+     * not running.
+     */
+    private volatile @Nullable Thread eventDispatchThread_;
+
     /** The event handler shutdown timeout in milliseconds. */
     private long eventHandlerShutdownTimeout_;
 
     /** The collection of registered event handlers. */
     private final Collection<AbstractEventHandler> eventHandlers_;
 
+    /** The index of the dispatcher within the transport layer. */
+    private final int index_;
+
     /**
-     * The dispatcher channel multiplexor executing on the event dispatch thread
-     * or {@code null} if the event dispatch thread is not running.
+     * Indicates the event loop has been requested to stop and no longer
+     * accepts tasks.
      */
-    @GuardedBy( "selectorGuard_" )
-    private @Nullable Selector selector_;
+    private volatile boolean isShutdown_;
 
-    /** The selector lock. */
-    private final ReadWriteLock selectorGuard_;
+    /**
+     * The dispatcher channel multiplexor or {@code null} if the dispatcher is
+     * not open.
+     */
+    private volatile @Nullable Selector selector_;
 
     /** The dispatcher state. */
     private State state_;
 
-    /** The event handler status change queue. */
-    private final Queue<AbstractEventHandler> statusChangeQueue_;
+    /** The queue of tasks waiting to be run by the event loop. */
+    private final Queue<FutureTask<?>> taskQueue_;
 
     /** The transport layer associated with the dispatcher. */
     private final AbstractTransportLayer transportLayer_;
 
+    /**
+     * Indicates a wake up of the selector has been requested since the event
+     * loop last returned from a selection.
+     */
+    private final AtomicBoolean wakeupPending_;
+
 
     // ======================================================================
     // Constructors
@@ -117,19 +148,26 @@ final class Dispatcher
      * 
      * @param transportLayer
      *        The transport layer associated with the dispatcher.
+     * @param index
+     *        The index of the dispatcher within the transport layer.
      */
     Dispatcher(
-        final AbstractTransportLayer transportLayer )
+        final AbstractTransportLayer transportLayer,
+        final int index )
     {
-        bufferPool_ = new ByteBufferPool( 4096 );
+        bufferPool_ = transportLayer.getConfiguration().createByteBufferPool();
+        dispatchTimes_ = new DurationStatistics( transportLayer.getMetrics().getDispatchTimes() );
         eventDispatchTaskFuture_ = null;
+        eventDispatchThread_ = null;
         eventHandlerShutdownTimeout_ = 10000L;
         eventHandlers_ = new ArrayList<>();
+        index_ = index;
+        isShutdown_ = false;
         selector_ = null;
-        selectorGuard_ = new ReentrantReadWriteLock();
         state_ = State.PRISTINE;
-        statusChangeQueue_ = new LinkedList<>();
+        taskQueue_ = new ConcurrentLinkedQueue<>();
         transportLayer_ = transportLayer;
+        wakeupPending_ = new AtomicBoolean( false );
     }
 
 
@@ -138,16 +176,24 @@ final class Dispatcher
     // ======================================================================
 
     /**
-     * Acquires the selector guard.
+     * Asynchronously executes the specified task on the event dispatch thread.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @param task
+     *        The task to execute.
+     * 
+     * @return An asynchronous completion token for the task.
+     * 
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         If the dispatcher has been shutdown.
      */
-    private void acquireSelectorGuard()
+    Future<?> asyncExec(
+        final Runnable task )
     {
-        selectorGuard_.readLock().lock();
-
-        if( selector_ != null )
-        {
-            selector_.wakeup();
-        }
+        return enqueueTask( new FutureTask<@Nullable Void>( task, null ) );
     }
 
     /**
@@ -178,24 +224,10 @@ final class Dispatcher
         } );
     }
 
-    /**
-     * Processes event handlers in the status change queue.
-     */
-    private void checkStatusChangeQueue()
-    {
-        AbstractEventHandler eventHandler = null;
-        while( (eventHandler = statusChangeQueue_.poll()) != null )
-        {
-            if( eventHandler.getState() != State.CLOSED )
-            {
-                resumeSelection( eventHandler );
-            }
-        }
-    }
-
     /**
      * Dispatches events on all channels registered with the specified selector
-     * until this thread is interrupted.
+     * and runs the tasks submitted to the dispatcher until the dispatcher is
+     * shutdown or this thread is interrupted.
      * 
      * @param selector
      *        The event selector.
@@ -203,49 +235,35 @@ final class Dispatcher
     private void dispatchEvents(
         final Selector selector )
     {
-        Thread.currentThread().setName( NonNlsMessages.Dispatcher_eventDispatchThread_name );
+        final Thread thread = Thread.currentThread();
+        final String originalThreadName = thread.getName();
+        eventDispatchThread_ = thread;
+        thread.setName( NonNlsMessages.Dispatcher_eventDispatchThread_name( index_ ) );
         Debug.getDefault().trace( Debug.OPTION_DEFAULT, "Event dispatch thread started" ); //$NON-NLS-1$
 
         try
         {
-            while( !Thread.interrupted() )
+            while( !isShutdown_ && !Thread.interrupted() )
             {
-                selectorGuardBarrier();
+                selector.select();
+                wakeupPending_.set( false );
+                final long dispatchStartTime = System.nanoTime();
 
-                final int readyKeyCount = selector.select();
-                final Set<SelectionKey> selectionKeys = (readyKeyCount > 0) ? selector.selectedKeys() : Collections.<@NonNull SelectionKey>emptySet();
+                final Set<SelectionKey> selectionKeys = selector.selectedKeys();
                 try
                 {
-                    try
+                    for( final SelectionKey selectionKey : selectionKeys )
                     {
-                        transportLayer_.syncExec( new Runnable()
-                        {
-                            @Override
-                            @SuppressWarnings( "synthetic-access" )
-                            public void run()
-                            {
-                                checkStatusChangeQueue();
-
-                                for( final SelectionKey selectionKey : selectionKeys )
-                                {
-                                    processEvents( selectionKey );
-                                }
-                            }
-                        } );
-                    }
-                    catch( final ExecutionException e )
-                    {
-                        throw TaskUtils.launderThrowable( e.getCause() );
-                    }
-                    catch( @SuppressWarnings( "unused" ) final InterruptedException e )
-                    {
-                        Thread.currentThread().interrupt();
+                        processEvents( selectionKey );
                     }
                 }
                 finally
                 {
                     selectionKeys.clear();
                 }
+
+                runTasks();
+                dispatchTimes_.record( System.nanoTime() - dispatchStartTime );
             }
         }
         catch( final Exception e )
@@ -254,7 +272,20 @@ final class Dispatcher
         }
         finally
         {
+            rejectPendingTasks();
+
+            try
+            {
+                selector.close();
+            }
+            catch( final IOException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.Dispatcher_closeDispatcher_error, e );
+            }
+
+            eventDispatchThread_ = null;
             Debug.getDefault().trace( Debug.OPTION_DEFAULT, "Event dispatch thread stopped" ); //$NON-NLS-1$
+            thread.setName( originalThreadName );
         }
     }
 
@@ -294,20 +325,48 @@ final class Dispatcher
     }
 
     /**
-     * Adds the specified event handler to the status change queue.
+     * Adds the specified task to the task queue and wakes up the event loop if
+     * necessary.
      * 
-     * @param eventHandler
-     *        The event handler.
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @param <T>
+     *        The return type of the task.
+     * 
+     * @param task
+     *        The task to enqueue.
+     * 
+     * @return The enqueued task.
+     * 
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         If the dispatcher has been shutdown.
      */
-    void enqueueStatusChange(
-        final AbstractEventHandler eventHandler )
+    private <T> FutureTask<T> enqueueTask(
+        final FutureTask<T> task )
     {
-        assert isTransportLayerThread();
+        if( isShutdown_ )
+        {
+            throw new RejectedExecutionException( NonNlsMessages.Dispatcher_enqueueTask_shutdown );
+        }
+
+        taskQueue_.add( task );
+        if( isShutdown_ && taskQueue_.remove( task ) )
+        {
+            throw new RejectedExecutionException( NonNlsMessages.Dispatcher_enqueueTask_shutdown );
+        }
 
-        statusChangeQueue_.add( eventHandler );
+        if( !isDispatcherThread() && wakeupPending_.compareAndSet( false, true ) )
+        {
+            final Selector selector = selector_;
+            if( selector != null )
+            {
+                selector.wakeup();
+            }
+        }
 
-        acquireSelectorGuard(); // forces thread-safe wake up of selector
-        releaseSelectorGuard();
+        return task;
     }
 
     /**
@@ -317,11 +376,55 @@ final class Dispatcher
      */
     ByteBufferPool getByteBufferPool()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return bufferPool_;
     }
 
+    /**
+     * Gets the statistics of the event dispatch loop iteration times.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @return The statistics of the event dispatch loop iteration times.
+     */
+    DurationStatistics getDispatchTimes()
+    {
+        return dispatchTimes_;
+    }
+
+    /**
+     * Invoked when the channel operations in which the specified event handler
+     * is interested have changed outside of the event handler run.
+     * 
+     * @param eventHandler
+     *        The event handler.
+     */
+    void interestOperationsChanged(
+        final AbstractEventHandler eventHandler )
+    {
+        assert isDispatcherThread();
+
+        resumeSelection( eventHandler );
+    }
+
+    /**
+     * Indicates the current thread is the event dispatch thread.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     * 
+     * @return {@code true} if the current thread is the event dispatch thread;
+     *         otherwise {@code false}.
+     */
+    boolean isDispatcherThread()
+    {
+        return Thread.currentThread() == eventDispatchThread_;
+    }
+
     /**
      * Indicates the current thread is the transport layer thread for the
      * transport layer associated with the dispatcher.
@@ -367,25 +470,16 @@ final class Dispatcher
         }
 
         state_ = State.OPEN;
-
-        acquireSelectorGuard();
-        try
+        selector_ = selector;
+        eventDispatchTaskFuture_ = Activator.getDefault().getExecutorService().submit( new Runnable()
         {
-            selector_ = selector;
-            eventDispatchTaskFuture_ = Activator.getDefault().getExecutorService().submit( new Runnable()
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
             {
-                @Override
-                @SuppressWarnings( "synthetic-access" )
-                public void run()
-                {
-                    dispatchEvents( selector );
-                }
-            } );
-        }
-        finally
-        {
-            releaseSelectorGuard();
-        }
+                dispatchEvents( selector );
+            }
+        } );
     }
 
     /**
@@ -397,9 +491,13 @@ final class Dispatcher
     private void processEvents(
         final SelectionKey selectionKey )
     {
+        if( !selectionKey.isValid() )
+        {
+            return;
+        }
+
         final AbstractEventHandler eventHandler = (AbstractEventHandler)selectionKey.attachment();
         eventHandler.prepareToRun();
-        selectionKey.interestOps( 0 );
 
         try
         {
@@ -411,18 +509,13 @@ final class Dispatcher
         }
         finally
         {
-            enqueueStatusChange( eventHandler );
+            if( eventHandler.getState() != State.CLOSED )
+            {
+                resumeSelection( eventHandler );
+            }
         }
     }
 
-    /**
-     * Releases the selector guard.
-     */
-    private void releaseSelectorGuard()
-    {
-        selectorGuard_.readLock().unlock();
-    }
-
     /**
      * Registers the specified event handler.
      * 
@@ -440,26 +533,38 @@ final class Dispatcher
         final AbstractEventHandler eventHandler )
         throws IOException
     {
-        assert isTransportLayerThread();
-        assert state_ == State.OPEN;
+        assert isDispatcherThread();
         assert !eventHandlers_.contains( eventHandler );
 
-        acquireSelectorGuard();
-        try
-        {
-            final SelectableChannel channel = eventHandler.getChannel();
-            assert channel != null;
-            eventHandler.setSelectionKey( channel.register( selector_, eventHandler.getInterestOperations(), eventHandler ) );
-        }
-        finally
-        {
-            releaseSelectorGuard();
-        }
+        final Selector selector = selector_;
+        assert selector != null;
+        final SelectableChannel channel = eventHandler.getChannel();
+        assert channel != null;
+        eventHandler.setSelectionKey( channel.register( selector, eventHandler.getInterestOperations(), eventHandler ) );
 
         eventHandlers_.add( eventHandler );
         Debug.getDefault().trace( Debug.OPTION_DEFAULT, String.format( "Registered event handler '%s'", eventHandler ) ); //$NON-NLS-1$
     }
 
+    /**
+     * Rejects all tasks that are waiting to be run by the event loop and
+     * prevents any further tasks from being submitted.
+     * 
+     * <p>
+     * This method may be called from any thread.
+     * </p>
+     */
+    private void rejectPendingTasks()
+    {
+        isShutdown_ = true;
+
+        FutureTask<?> task = null;
+        while( (task = taskQueue_.poll()) != null )
+        {
+            task.cancel( false );
+        }
+    }
+
     /**
      * Resumes event selection of the specified event handler.
      * 
@@ -470,21 +575,22 @@ final class Dispatcher
         final AbstractEventHandler eventHandler )
     {
         final SelectionKey selectionKey = eventHandler.getSelectionKey();
-        assert selectionKey != null;
-        if( selectionKey.isValid() )
+        if( (selectionKey != null) && selectionKey.isValid() )
         {
             selectionKey.interestOps( eventHandler.getInterestOperations() );
         }
     }
 
     /**
-     * Blocks the event dispatch thread until no client threads hold the
-     * selector guard.
+     * Runs all tasks waiting in the task queue.
      */
-    private void selectorGuardBarrier()
+    private void runTasks()
     {
-        selectorGuard_.writeLock().lock();
-        selectorGuard_.writeLock().unlock();
+        FutureTask<?> task = null;
+        while( (task = taskQueue_.poll()) != null )
+        {
+            task.run();
+        }
     }
 
     /**
@@ -509,37 +615,73 @@ final class Dispatcher
     }
 
     /**
-     * Unregisters the specified event handler.
+     * Synchronously executes the specified task on the event dispatch thread.
      * 
      * <p>
-     * This method must only be called while the dispatcher is open.
+     * This method may be called from any thread.
      * </p>
      * 
+     * @param <T>
+     *        The return type of the task.
+     * 
+     * @param task
+     *        The task to execute.
+     * 
+     * @return The return value of the task.
+     * 
+     * @throws java.lang.InterruptedException
+     *         If this thread is interrupted while waiting for the task to
+     *         complete.
+     * @throws java.util.concurrent.ExecutionException
+     *         If an error occurs while executing the task.
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         If the dispatcher has been shutdown.
+     */
+    <T> T syncExec(
+        final Callable<T> task )
+        throws ExecutionException, InterruptedException
+    {
+        if( isDispatcherThread() )
+        {
+            try
+            {
+                return task.call();
+            }
+            catch( final Exception e )
+            {
+                throw new ExecutionException( e );
+            }
+        }
+
+        try
+        {
+            return enqueueTask( new FutureTask<>( task ) ).get();
+        }
+        catch( final CancellationException e )
+        {
+            throw new RejectedExecutionException( NonNlsMessages.Dispatcher_enqueueTask_shutdown, e );
+        }
+    }
+
+    /**
+     * Unregisters the specified event handler.
+     * 
      * @param eventHandler
      *        The event handler; must have been previously registered.
      */
     void unregisterEventHandler(
         final AbstractEventHandler eventHandler )
     {
-        assert isTransportLayerThread();
-        assert state_ == State.OPEN;
+        assert isDispatcherThread();
 
         final boolean wasEventHandlerRemoved = eventHandlers_.remove( eventHandler );
         assert wasEventHandlerRemoved;
 
-        acquireSelectorGuard();
-        try
-        {
-            final SelectionKey selectionKey = eventHandler.getSelectionKey();
-            if( selectionKey != null )
-            {
-                selectionKey.cancel();
-                eventHandler.setSelectionKey( null );
-            }
-        }
-        finally
+        final SelectionKey selectionKey = eventHandler.getSelectionKey();
+        if( selectionKey != null )
         {
-            releaseSelectorGuard();
+            selectionKey.cancel();
+            eventHandler.setSelectionKey( null );
         }
 
         Debug.getDefault().trace( Debug.OPTION_DEFAULT, String.format( "Unregistered event handler '%s'", eventHandler ) ); //$NON-NLS-1$
@@ -638,11 +780,13 @@ final class Dispatcher
                     {
                         Dispatcher.this.eventDispatchTaskFuture_ = null;
 
-                        acquireSelectorGuard();
+                        rejectPendingTasks();
+
                         try
                         {
-                            assert selector_ != null;
-                            selector_.close();
+                            final Selector selector = selector_;
+                            assert selector != null;
+                            selector.close();
                         }
                         catch( final IOException e )
                         {
@@ -651,10 +795,11 @@ final class Dispatcher
                         finally
                         {
                             selector_ = null;
-                            releaseSelectorGuard();
                         }
 
                         state_ = State.CLOSED;
+
+                        Debug.getDefault().trace( Debug.OPTION_DEFAULT, String.format( "Byte buffer pool statistics: %s", bufferPool_.getStatistics() ) ); //$NON-NLS-1$
                     }
                 } );
             }
@@ -669,7 +814,7 @@ final class Dispatcher
          */
         private void closeOrphanedEventHandlers()
         {
-            assert isTransportLayerThread();
+            assert isDispatcherThread();
 
             final Collection<AbstractEventHandler> eventHandlers = new ArrayList<>( eventHandlers_ );
             for( final AbstractEventHandler eventHandler : eventHandlers )
@@ -695,7 +840,12 @@ final class Dispatcher
         {
             assert !isTransportLayerThread();
 
-            eventDispatchTaskFuture_.cancel( true );
+            rejectPendingTasks();
+            final Selector selector = selector_;
+            if( selector != null )
+            {
+                selector.wakeup();
+            }
 
             try
             {
@@ -708,6 +858,7 @@ final class Dispatcher
             catch( final TimeoutException e )
             {
                 Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.Dispatcher_waitForEventDispatchTaskToShutdown_timeout, e );
+                eventDispatchTaskFuture_.cancel( true );
             }
             catch( final ExecutionException e )
             {
@@ -742,7 +893,7 @@ final class Dispatcher
             {
                 try
                 {
-                    final Boolean areEventHandlersClosed = transportLayer_.syncExec( new Callable<Boolean>()
+                    final Boolean areEventHandlersClosed = syncExec( new Callable<Boolean>()
                     {
                         @Override
                         public Boolean call()
@@ -770,6 +921,11 @@ final class Dispatcher
                 {
                     throw TaskUtils.launderThrowable( e.getCause() );
                 }
+                catch( @SuppressWarnings( "unused" ) final RejectedExecutionException e )
+                {
+                    // event loop has already stopped
+                    break;
+                }
 
                 Thread.sleep( 100L );
             }
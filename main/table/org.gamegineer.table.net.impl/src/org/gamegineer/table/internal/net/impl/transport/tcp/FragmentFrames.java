@@ -0,0 +1,168 @@
+/*
+ * FragmentFrames.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 11:21:07 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import java.nio.ByteBuffer;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A collection of useful methods for working with fragment frames.
+ * 
+ * <p>
+ * A message envelope whose body exceeds the maximum length that can be
+ * described by a compact header is transferred as a sequence of fragment
+ * frames. The payloads of the fragment frames, concatenated in order, form the
+ * network representation of the message envelope (including its extended
+ * header). Because each fragment is small, other message envelopes may be
+ * transferred between the fragments of a large message envelope.
+ * </p>
+ * 
+ * <p>
+ * A fragment frame header has the following format:
+ * </p>
+ * 
+ * <pre>
+ * | 0x00 | flags (8) | payload length (16) |
+ * </pre>
+ * 
+ * <p>
+ * The first byte is always zero, which is never a legal message identifier.
+ * The flags byte always contains {@link #FRAGMENT_FLAG} and contains
+ * {@link #LAST_FLAG} for the final fragment of a message envelope.
+ * </p>
+ */
+@ThreadSafe
+final class FragmentFrames
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The flag indicating a frame is a fragment frame. */
+    static final int FRAGMENT_FLAG = 0x80;
+
+    /** The length of a fragment frame header in bytes. */
+    static final int HEADER_LENGTH = 4;
+
+    /** The flag indicating a fragment frame is the last fragment. */
+    static final int LAST_FLAG = 0x01;
+
+    /** The maximum length of a fragment frame payload in bytes. */
+    static final int MAXIMUM_PAYLOAD_LENGTH = 16 * 1024;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code FragmentFrames} class.
+     */
+    private FragmentFrames()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new fragment frame header.
+     * 
+     * @param payloadLength
+     *        The length of the fragment frame payload in bytes; must be
+     *        positive and not greater than {@link #MAXIMUM_PAYLOAD_LENGTH}.
+     * @param isLast
+     *        {@code true} if the fragment frame is the last fragment of a
+     *        message envelope; otherwise {@code false}.
+     * 
+     * @return A new byte buffer containing the fragment frame header prepared
+     *         for reading.
+     */
+    static ByteBuffer createHeader(
+        final int payloadLength,
+        final boolean isLast )
+    {
+        assert (payloadLength > 0) && (payloadLength <= MAXIMUM_PAYLOAD_LENGTH);
+
+        return ByteBuffer.wrap( new byte[] {
+            (byte)0x00, //
+            (byte)(FRAGMENT_FLAG | (isLast ? LAST_FLAG : 0)), //
+            (byte)(payloadLength >>> 8), //
+            (byte)payloadLength
+        } );
+    }
+
+    /**
+     * Gets the payload length encoded in the specified fragment frame header
+     * bytes.
+     * 
+     * @param thirdByte
+     *        The third byte of the fragment frame header.
+     * @param fourthByte
+     *        The fourth byte of the fragment frame header.
+     * 
+     * @return The payload length in bytes.
+     */
+    static int getPayloadLength(
+        final byte thirdByte,
+        final byte fourthByte )
+    {
+        return ((thirdByte & 0x000000FF) << 8) | (fourthByte & 0x000000FF);
+    }
+
+    /**
+     * Indicates the frame whose first two bytes are specified is a fragment
+     * frame.
+     * 
+     * @param firstByte
+     *        The first byte of the frame.
+     * @param secondByte
+     *        The second byte of the frame.
+     * 
+     * @return {@code true} if the frame is a fragment frame; otherwise
+     *         {@code false}.
+     */
+    static boolean isFragment(
+        final byte firstByte,
+        final byte secondByte )
+    {
+        return (firstByte == 0) && ((secondByte & FRAGMENT_FLAG) != 0);
+    }
+
+    /**
+     * Indicates the fragment frame whose second byte is specified is the last
+     * fragment of a message envelope.
+     * 
+     * @param secondByte
+     *        The second byte of the fragment frame.
+     * 
+     * @return {@code true} if the fragment frame is the last fragment;
+     *         otherwise {@code false}.
+     */
+    static boolean isLast(
+        final byte secondByte )
+    {
+        return (secondByte & LAST_FLAG) != 0;
+    }
+}
@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.zip.Inflater;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
@@ -40,6 +41,9 @@ final class InputQueue
     // Fields
     // ======================================================================
 
+    /** An empty buffer used to decode a message envelope with an empty body. */
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate( 0 );
+
     /** The buffer pool associated with the queue. */
     private final ByteBufferPool bufferPool_;
 
@@ -55,6 +59,44 @@ final class InputQueue
      */
     private final Deque<ByteBuffer> bufferQueue_;
 
+    /**
+     * The inflater used to decompress compressed message envelope bodies or
+     * {@code null} if no message envelope body has yet been decompressed.
+     */
+    private @Nullable Inflater inflater_;
+
+    /**
+     * The maximum length in bytes of a message envelope body the queue will
+     * accept.
+     */
+    private final int maximumBodyLength_;
+
+    /**
+     * The buffer at the head of the queue that contains the body of a message
+     * envelope dequeued as a view of the buffer or {@code null} if there is no
+     * such buffer.
+     * 
+     * <p>
+     * Because the view may be read after the buffer has been consumed, such a
+     * buffer is never compacted and is discarded rather than returned to the
+     * buffer pool.
+     * </p>
+     */
+    private @Nullable ByteBuffer sharedBuffer_;
+
+    /**
+     * The network representation of the message envelope being reassembled
+     * from fragment frames or {@code null} if no message envelope is being
+     * reassembled.
+     */
+    private byte @Nullable [] reassemblyBytes_;
+
+    /**
+     * The count of bytes of the message envelope being reassembled that have
+     * been received.
+     */
+    private int reassemblyLength_;
+
 
     // ======================================================================
     // Constructors
@@ -65,12 +107,23 @@ final class InputQueue
      * 
      * @param bufferPool
      *        The buffer pool associated with the queue.
+     * @param maximumBodyLength
+     *        The maximum length in bytes of a message envelope body the queue
+     *        will accept; must be positive.
      */
     InputQueue(
-        final ByteBufferPool bufferPool )
+        final ByteBufferPool bufferPool,
+        final int maximumBodyLength )
     {
+        assert maximumBodyLength > 0;
+
         bufferPool_ = bufferPool;
         bufferQueue_ = new LinkedList<>();
+        inflater_ = null;
+        maximumBodyLength_ = maximumBodyLength;
+        reassemblyBytes_ = null;
+        reassemblyLength_ = 0;
+        sharedBuffer_ = null;
     }
 
 
@@ -78,47 +131,236 @@ final class InputQueue
     // Methods
     // ======================================================================
 
+    /**
+     * Advances the queue past the specified count of bytes, returning any
+     * buffers that have been completely consumed to the buffer pool.
+     * 
+     * <p>
+     * A consumed buffer that contains the body of a message envelope dequeued
+     * as a view of the buffer is discarded instead.
+     * </p>
+     * 
+     * @param length
+     *        The count of bytes to advance; must not be negative and must not
+     *        exceed the count of bytes remaining in the queue.
+     */
+    private void advance(
+        final int length )
+    {
+        assert length >= 0;
+
+        int bytesRemaining = length;
+        while( !bufferQueue_.isEmpty() )
+        {
+            final ByteBuffer buffer = bufferQueue_.peekFirst();
+            final int bytesToSkip = Math.min( bytesRemaining, buffer.remaining() );
+            buffer.position( buffer.position() + bytesToSkip );
+            bytesRemaining -= bytesToSkip;
+            if( buffer.hasRemaining() )
+            {
+                break;
+            }
+
+            if( buffer == sharedBuffer_ )
+            {
+                bufferPool_.discardByteBuffer( buffer );
+                sharedBuffer_ = null;
+            }
+            else
+            {
+                bufferPool_.returnByteBuffer( buffer );
+            }
+            bufferQueue_.removeFirst();
+        }
+
+        assert bytesRemaining == 0;
+    }
+
+    /**
+     * Checks that the specified message envelope body length is accepted by
+     * the queue.
+     * 
+     * @param bodyLength
+     *        The message envelope body length in bytes.
+     * 
+     * @throws java.io.IOException
+     *         If the message envelope body length is negative or exceeds the
+     *         maximum length accepted by the queue.
+     */
+    private void checkBodyLength(
+        final int bodyLength )
+        throws IOException
+    {
+        if( (bodyLength < 0) || (bodyLength > maximumBodyLength_) )
+        {
+            throw new IOException( NonNlsMessages.InputQueue_dequeueMessageEnvelope_messageTooLong( bodyLength & 0xFFFFFFFFL, maximumBodyLength_ ) );
+        }
+    }
+
+    /**
+     * Closes the queue and releases any resources used to decompress message
+     * envelope bodies.
+     */
+    void close()
+    {
+        final Inflater inflater = inflater_;
+        if( inflater != null )
+        {
+            inflater.end();
+            inflater_ = null;
+        }
+    }
+
+    /**
+     * Decompresses the body of the specified message envelope if it is
+     * compressed.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return A message envelope whose body is not compressed.
+     * 
+     * @throws java.io.IOException
+     *         If the compressed message envelope body is malformed or its
+     *         uncompressed length exceeds the maximum length accepted by the
+     *         queue.
+     */
+    private MessageEnvelope decompress(
+        final MessageEnvelope messageEnvelope )
+        throws IOException
+    {
+        if( !messageEnvelope.getHeader().isCompressed() )
+        {
+            return messageEnvelope;
+        }
+
+        Inflater inflater = inflater_;
+        if( inflater == null )
+        {
+            inflater = new Inflater();
+            inflater_ = inflater;
+        }
+
+        return messageEnvelope.decompress( inflater, maximumBodyLength_ );
+    }
+
     /**
      * Removes the next available message envelope from the queue.
      * 
+     * <p>
+     * The message envelope header is parsed in place, and the message envelope
+     * body is decoded directly from the pooled buffer that contains it. A
+     * stream encoded body, which can only be decoded later by the peer codec,
+     * is returned as a read-only view of the pooled buffer; that buffer is
+     * then no longer reused. Only a body that is split across more than one
+     * pooled buffer or that is compressed is copied, and then only once.
+     * </p>
+     * 
+     * <p>
+     * Fragment frames are consumed as they arrive and their payloads are
+     * reassembled; the reassembled message envelope is returned once its last
+     * fragment has been received. Message envelopes that arrive between the
+     * fragments of a large message envelope are returned as usual.
+     * </p>
+     * 
      * @return The message envelope removed from the queue or {@code null} if no
      *         message envelope is available.
+     * 
+     * @throws java.io.IOException
+     *         If the queue contains a malformed frame or a message envelope
+     *         whose body exceeds the maximum length accepted by the queue.
      */
     @Nullable MessageEnvelope dequeueMessageEnvelope()
+        throws IOException
     {
-        final ByteBuffer lastBuffer = bufferQueue_.peekLast();
-        if( lastBuffer == null )
+        while( ByteBufferUtils.hasRemaining( bufferQueue_, MessageEnvelope.Header.LENGTH ) )
         {
-            return null;
+            final byte firstByte = peek( 0 );
+            final byte secondByte = peek( 1 );
+            if( FragmentFrames.isFragment( firstByte, secondByte ) )
+            {
+                final int payloadLength = FragmentFrames.getPayloadLength( peek( 2 ), peek( 3 ) );
+                if( !ByteBufferUtils.hasRemaining( bufferQueue_, FragmentFrames.HEADER_LENGTH + payloadLength ) )
+                {
+                    return null;
+                }
+
+                advance( FragmentFrames.HEADER_LENGTH );
+                final MessageEnvelope messageEnvelope = reassembleFragment( payloadLength, FragmentFrames.isLast( secondByte ) );
+                if( messageEnvelope != null )
+                {
+                    return messageEnvelope;
+                }
+            }
+            else if( (firstByte == 0) && !MessageEnvelope.Header.isExtended( firstByte, secondByte ) )
+            {
+                throw new IOException( NonNlsMessages.InputQueue_dequeueMessageEnvelope_malformedFrame );
+            }
+            else
+            {
+                return dequeueMessageEnvelope( MessageEnvelope.Header.getLength( firstByte, secondByte ) );
+            }
         }
 
-        final byte[] headerBytes = ByteBufferUtils.get( ByteBufferUtils.duplicate( bufferQueue_ ), MessageEnvelope.Header.LENGTH );
-        if( headerBytes == null )
+        return null;
+    }
+
+    /**
+     * Removes the next available message envelope, whose header has the
+     * specified length, from the queue.
+     * 
+     * @param headerLength
+     *        The length of the message envelope header in bytes.
+     * 
+     * @return The message envelope removed from the queue or {@code null} if no
+     *         message envelope is available.
+     * 
+     * @throws java.io.IOException
+     *         If the message envelope body exceeds the maximum length accepted
+     *         by the queue.
+     */
+    private @Nullable MessageEnvelope dequeueMessageEnvelope(
+        final int headerLength )
+        throws IOException
+    {
+        if( !ByteBufferUtils.hasRemaining( bufferQueue_, headerLength ) )
         {
             return null;
         }
 
+        final byte[] headerBytes = new byte[ headerLength ];
+        for( int index = 0; index < headerLength; ++index )
+        {
+            headerBytes[ index ] = peek( index );
+        }
         final MessageEnvelope.Header header = MessageEnvelope.Header.fromByteArray( headerBytes );
-        final int length = MessageEnvelope.Header.LENGTH + header.getBodyLength();
-        final byte[] bytes = ByteBufferUtils.get( bufferQueue_, length );
-        if( bytes == null )
+
+        final int bodyLength = header.getBodyLength();
+        checkBodyLength( bodyLength );
+        if( !ByteBufferUtils.hasRemaining( bufferQueue_, headerLength + bodyLength ) )
         {
             return null;
         }
 
-        while( !bufferQueue_.isEmpty() )
+        advance( headerLength );
+
+        final ByteBuffer firstBuffer = bufferQueue_.peekFirst();
+        if( (firstBuffer == null) || (firstBuffer.remaining() >= bodyLength) )
         {
-            final ByteBuffer buffer = bufferQueue_.peekFirst();
-            if( buffer.hasRemaining() )
+            final ByteBuffer body = (firstBuffer != null) ? firstBuffer.duplicate() : EMPTY_BUFFER.duplicate();
+            body.limit( body.position() + bodyLength );
+            final MessageEnvelope messageEnvelope = MessageEnvelope.fromByteBuffer( header, body );
+            if( (firstBuffer != null) && messageEnvelope.isStreamEncoded() )
             {
-                break;
+                sharedBuffer_ = firstBuffer;
             }
-
-            bufferPool_.returnByteBuffer( buffer );
-            bufferQueue_.removeFirst();
+            advance( bodyLength );
+            return decompress( messageEnvelope );
         }
 
-        return MessageEnvelope.fromByteArray( bytes );
+        final byte[] bodyBytes = new byte[ bodyLength ];
+        transferTo( bodyBytes, 0, bodyLength );
+        return decompress( MessageEnvelope.fromByteBuffer( header, ByteBuffer.wrap( bodyBytes ) ) );
     }
 
     /**
@@ -145,6 +387,7 @@ final class InputQueue
         //
 
         int bytesRead = 0;
+        int readPosition = 0;
 
         ByteBuffer buffer = bufferQueue_.peekLast();
         if( buffer != null )
@@ -153,6 +396,13 @@ final class InputQueue
             {
                 buffer = null;
             }
+            else if( buffer == sharedBuffer_ )
+            {
+                // a shared buffer must not be compacted; append after its limit instead
+                readPosition = buffer.position();
+                buffer.position( buffer.limit() );
+                buffer.limit( buffer.capacity() );
+            }
             else
             {
                 buffer.compact(); // prepare buffer for writing
@@ -165,10 +415,12 @@ final class InputQueue
             {
                 buffer = bufferPool_.takeByteBuffer();
                 bufferQueue_.addLast( buffer );
+                readPosition = 0;
             }
 
             bytesRead += channel.read( buffer );
             buffer.flip(); // prepare buffer for reading
+            buffer.position( readPosition );
 
             if( buffer.limit() == buffer.capacity() ) // buffer is full
             {
@@ -177,6 +429,7 @@ final class InputQueue
             else if( buffer.limit() == 0 ) // buffer is empty
             {
                 bufferQueue_.removeLast();
+                bufferPool_.returnByteBuffer( buffer );
             }
 
         } while( buffer == null );
@@ -184,6 +437,24 @@ final class InputQueue
         return bytesRead;
     }
 
+    /**
+     * Gets the number of bytes in the queue that have not yet been dequeued as
+     * part of a message envelope.
+     * 
+     * @return The number of bytes in the queue that have not yet been dequeued
+     *         as part of a message envelope.
+     */
+    long getLength()
+    {
+        long length = reassemblyLength_;
+        for( final ByteBuffer buffer : bufferQueue_ )
+        {
+            length += buffer.remaining();
+        }
+
+        return length;
+    }
+
     /**
      * Indicates the queue is empty.
      * 
@@ -193,4 +464,138 @@ final class InputQueue
     {
         return bufferQueue_.isEmpty();
     }
+
+    /**
+     * Gets the byte at the specified offset from the head of the queue without
+     * removing it from the queue.
+     * 
+     * @param offset
+     *        The offset from the head of the queue; must not be negative and
+     *        must be less than the count of bytes remaining in the queue.
+     * 
+     * @return The byte at the specified offset.
+     */
+    private byte peek(
+        final int offset )
+    {
+        int bufferOffset = offset;
+        for( final ByteBuffer buffer : bufferQueue_ )
+        {
+            if( bufferOffset < buffer.remaining() )
+            {
+                return buffer.get( buffer.position() + bufferOffset );
+            }
+
+            bufferOffset -= buffer.remaining();
+        }
+
+        throw new AssertionError( "offset exceeds remaining bytes" ); //$NON-NLS-1$
+    }
+
+    /**
+     * Consumes the payload of a fragment frame and appends it to the message
+     * envelope being reassembled.
+     * 
+     * @param payloadLength
+     *        The length of the fragment frame payload in bytes; the queue must
+     *        contain at least this count of bytes.
+     * @param isLast
+     *        {@code true} if the fragment frame is the last fragment of the
+     *        message envelope; otherwise {@code false}.
+     * 
+     * @return The reassembled message envelope if the fragment frame is the
+     *         last fragment; otherwise {@code null}.
+     * 
+     * @throws java.io.IOException
+     *         If the fragment frame is malformed or the reassembled message
+     *         envelope body exceeds the maximum length accepted by the queue.
+     */
+    private @Nullable MessageEnvelope reassembleFragment(
+        final int payloadLength,
+        final boolean isLast )
+        throws IOException
+    {
+        byte[] reassemblyBytes = reassemblyBytes_;
+        int payloadOffset = 0;
+        if( reassemblyBytes == null )
+        {
+            if( (payloadLength < MessageEnvelope.Header.EXTENDED_LENGTH) || !MessageEnvelope.Header.isExtended( peek( 0 ), peek( 1 ) ) )
+            {
+                throw new IOException( NonNlsMessages.InputQueue_dequeueMessageEnvelope_malformedFrame );
+            }
+
+            final int headerLength = MessageEnvelope.Header.getLength( peek( 0 ), peek( 1 ) );
+            if( payloadLength < headerLength )
+            {
+                throw new IOException( NonNlsMessages.InputQueue_dequeueMessageEnvelope_malformedFrame );
+            }
+
+            final byte[] headerBytes = new byte[ headerLength ];
+            transferTo( headerBytes, 0, headerBytes.length );
+            payloadOffset = headerBytes.length;
+
+            final int bodyLength = MessageEnvelope.Header.fromByteArray( headerBytes ).getBodyLength();
+            checkBodyLength( bodyLength );
+            reassemblyBytes = new byte[ headerBytes.length + bodyLength ];
+            System.arraycopy( headerBytes, 0, reassemblyBytes, 0, headerBytes.length );
+            reassemblyBytes_ = reassemblyBytes;
+            reassemblyLength_ = headerBytes.length;
+        }
+
+        final int bytesToTransfer = payloadLength - payloadOffset;
+        if( bytesToTransfer > (reassemblyBytes.length - reassemblyLength_) )
+        {
+            throw new IOException( NonNlsMessages.InputQueue_dequeueMessageEnvelope_malformedFrame );
+        }
+
+        transferTo( reassemblyBytes, reassemblyLength_, bytesToTransfer );
+        reassemblyLength_ += bytesToTransfer;
+
+        if( !isLast )
+        {
+            return null;
+        }
+
+        if( reassemblyLength_ != reassemblyBytes.length )
+        {
+            throw new IOException( NonNlsMessages.InputQueue_dequeueMessageEnvelope_malformedFrame );
+        }
+
+        reassemblyBytes_ = null;
+        reassemblyLength_ = 0;
+        return decompress( MessageEnvelope.fromByteArray( reassemblyBytes ) );
+    }
+
+    /**
+     * Removes the specified count of bytes from the head of the queue and
+     * copies them into the specified array, returning any buffers that have
+     * been completely consumed to the buffer pool.
+     * 
+     * @param bytes
+     *        The destination array.
+     * @param offset
+     *        The offset within the destination array at which to begin
+     *        copying.
+     * @param length
+     *        The count of bytes to copy; must not exceed the count of bytes
+     *        remaining in the queue.
+     */
+    private void transferTo(
+        final byte[] bytes,
+        final int offset,
+        final int length )
+    {
+        int bytesRemaining = length;
+        int destinationOffset = offset;
+        while( bytesRemaining > 0 )
+        {
+            final ByteBuffer buffer = bufferQueue_.peekFirst();
+            assert buffer != null;
+            final int bytesToGet = Math.min( bytesRemaining, buffer.remaining() );
+            buffer.get( bytes, destinationOffset, bytesToGet );
+            destinationOffset += bytesToGet;
+            bytesRemaining -= bytesToGet;
+            advance( 0 );
+        }
+    }
 }
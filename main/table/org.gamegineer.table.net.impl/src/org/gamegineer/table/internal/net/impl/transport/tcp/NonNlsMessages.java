@@ -24,6 +24,7 @@ package org.gamegineer.table.internal.net.impl.transport.tcp;
 import net.jcip.annotations.ThreadSafe;
 import org.eclipse.osgi.util.NLS;
 import org.gamegineer.table.internal.net.impl.transport.IMessage;
+import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
 
 /**
  * A utility class to manage non-localized messages for the package.
@@ -44,20 +45,78 @@ final class NonNlsMessages
     /** An I/O error occurred while opening the transport layer. */
     public static String AbstractTransportLayer_open_ioError = ""; //$NON-NLS-1$
 
+    /** An error occurred while registering the transport layer metrics. */
+    public static String AbstractTransportLayer_registerMetrics_error = ""; //$NON-NLS-1$
+
     /** The transport layer state is not pristine. */
     public static String AbstractTransportLayer_state_notPristine = ""; //$NON-NLS-1$
 
     /** The name of the transport layer thread. */
     public static String AbstractTransportLayer_transportLayerThread_name = ""; //$NON-NLS-1$
 
+    /** An error occurred while unregistering the transport layer metrics. */
+    public static String AbstractTransportLayer_unregisterMetrics_error = ""; //$NON-NLS-1$
+
     // --- Acceptor ---------------------------------------------------------
 
+    /** The dispatcher assigned to an accepted connection has been shutdown. */
+    public static String Acceptor_accept_dispatcherShutdown = ""; //$NON-NLS-1$
+
     /** An I/O error occurred while accepting a new connection. */
     public static String Acceptor_accept_ioError = ""; //$NON-NLS-1$
 
     /** An I/O error occurred while closing the server socket channel. */
     public static String Acceptor_close_ioError = ""; //$NON-NLS-1$
 
+    // --- BlockingServiceHandler -------------------------------------------
+
+    /** An I/O error occurred while closing the channel. */
+    public static String BlockingServiceHandler_close_ioError = ""; //$NON-NLS-1$
+
+    /** An error occurred on the reader thread. */
+    public static String BlockingServiceHandler_read_error = ""; //$NON-NLS-1$
+
+    /** The name of the reader thread. */
+    public static String BlockingServiceHandler_readerThread_name = ""; //$NON-NLS-1$
+
+    /** An I/O error occurred while sending a message. */
+    public static String BlockingServiceHandler_sendMessage_ioError = ""; //$NON-NLS-1$
+
+    /** The message exceeds the maximum message length supported by the peer. */
+    public static String BlockingServiceHandler_sendMessageEnvelope_messageTooLong = ""; //$NON-NLS-1$
+
+    /** An error occurred on the writer thread. */
+    public static String BlockingServiceHandler_write_error = ""; //$NON-NLS-1$
+
+    /** The name of the writer thread. */
+    public static String BlockingServiceHandler_writerThread_name = ""; //$NON-NLS-1$
+
+    // --- BlockingTransportLayer -------------------------------------------
+
+    /** An I/O error occurred while accepting a new connection. */
+    public static String BlockingTransportLayer_accept_ioError = ""; //$NON-NLS-1$
+
+    /** The name of the acceptor thread. */
+    public static String BlockingTransportLayer_acceptorThread_name = ""; //$NON-NLS-1$
+
+    /** An I/O error occurred while closing the server socket channel. */
+    public static String BlockingTransportLayer_closeServerChannel_ioError = ""; //$NON-NLS-1$
+
+    /** The peer address cannot be resolved. */
+    public static String BlockingTransportLayer_connect_addressUnresolved = ""; //$NON-NLS-1$
+
+    /** An I/O error occurred while opening the transport layer. */
+    public static String BlockingTransportLayer_open_ioError = ""; //$NON-NLS-1$
+
+    /** An error occurred while registering the transport layer metrics. */
+    public static String BlockingTransportLayer_registerMetrics_error = ""; //$NON-NLS-1$
+
+    /** The transport layer state is not pristine. */
+    public static String BlockingTransportLayer_state_notPristine = ""; //$NON-NLS-1$
+
+    /** An error occurred while unregistering the transport layer metrics. */
+    public static String BlockingTransportLayer_unregisterMetrics_error = ""; //$NON-NLS-1$
+
     // --- Connector --------------------------------------------------------
 
     /** The peer address cannot be resolved. */
@@ -71,6 +130,9 @@ final class NonNlsMessages
     /** An error occurred on the event dispatch thread. */
     public static String Dispatcher_dispatchEvents_error = ""; //$NON-NLS-1$
 
+    /** The dispatcher has been shutdown. */
+    public static String Dispatcher_enqueueTask_shutdown = ""; //$NON-NLS-1$
+
     /** The name of the event dispatch thread. */
     public static String Dispatcher_eventDispatchThread_name = ""; //$NON-NLS-1$
 
@@ -80,19 +142,30 @@ final class NonNlsMessages
     /** Timed out waiting for the event dispatch task to shutdown. */
     public static String Dispatcher_waitForEventDispatchTaskToShutdown_timeout = ""; //$NON-NLS-1$
 
+    // --- InputQueue -------------------------------------------------------
+
+    /** The input stream contains a malformed frame. */
+    public static String InputQueue_dequeueMessageEnvelope_malformedFrame = ""; //$NON-NLS-1$
+
+    /** The peer sent a message that exceeds the maximum message length. */
+    public static String InputQueue_dequeueMessageEnvelope_messageTooLong = ""; //$NON-NLS-1$
+
     // --- ServiceHandler ---------------------------------------------------
 
     /** An I/O error occurred while closing the socket channel. */
     public static String ServiceHandler_close_ioError = ""; //$NON-NLS-1$
 
+    /** The dispatcher associated with the service has been shutdown. */
+    public static String ServiceHandler_dispatcher_shutdown = ""; //$NON-NLS-1$
+
     /** An error occurred while running the service handler. */
     public static String ServiceHandler_run_error = ""; //$NON-NLS-1$
 
     /** An I/O error occurred while sending a message. */
     public static String ServiceHandler_sendMessage_ioError = ""; //$NON-NLS-1$
 
-    /** The transport layer associated with the service has been shutdown. */
-    public static String ServiceHandler_transportLayer_shutdown = ""; //$NON-NLS-1$
+    /** A message exceeds the maximum message length supported by the peer. */
+    public static String ServiceHandler_sendMessageEnvelope_messageTooLong = ""; //$NON-NLS-1$
 
     // --- TransportLayerProxy ----------------------------------------------
 
@@ -124,6 +197,81 @@ final class NonNlsMessages
     // Methods
     // ======================================================================
 
+    // --- BlockingServiceHandler -------------------------------------------
+
+    /**
+     * Gets the formatted message indicating an error occurred while sending a
+     * message.
+     * 
+     * @param message
+     *        The message.
+     * 
+     * @return The formatted message indicating an error occurred while sending
+     *         a message.
+     */
+    @SuppressWarnings( "boxing" )
+    static String BlockingServiceHandler_sendMessage_ioError(
+        final IMessage message )
+    {
+        return bind( BlockingServiceHandler_sendMessage_ioError, message.getId(), message.getCorrelationId() );
+    }
+
+    /**
+     * Gets the formatted message indicating a message exceeds the maximum
+     * message length supported by the peer.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return The formatted message indicating a message exceeds the maximum
+     *         message length supported by the peer.
+     */
+    @SuppressWarnings( "boxing" )
+    static String BlockingServiceHandler_sendMessageEnvelope_messageTooLong(
+        final MessageEnvelope messageEnvelope )
+    {
+        return bind( BlockingServiceHandler_sendMessageEnvelope_messageTooLong, messageEnvelope.getHeader().getId(), messageEnvelope.getHeader().getCorrelationId() );
+    }
+
+    // --- Dispatcher -------------------------------------------------------
+
+    /**
+     * Gets the formatted name of the event dispatch thread.
+     * 
+     * @param index
+     *        The index of the dispatcher within the transport layer.
+     * 
+     * @return The formatted name of the event dispatch thread.
+     */
+    @SuppressWarnings( "boxing" )
+    static String Dispatcher_eventDispatchThread_name(
+        final int index )
+    {
+        return bind( Dispatcher_eventDispatchThread_name, index );
+    }
+
+    // --- InputQueue -------------------------------------------------------
+
+    /**
+     * Gets the formatted message indicating the peer sent a message that
+     * exceeds the maximum message length.
+     * 
+     * @param bodyLength
+     *        The length of the message body in bytes.
+     * @param maximumBodyLength
+     *        The maximum length of a message body in bytes.
+     * 
+     * @return The formatted message indicating the peer sent a message that
+     *         exceeds the maximum message length.
+     */
+    @SuppressWarnings( "boxing" )
+    static String InputQueue_dequeueMessageEnvelope_messageTooLong(
+        final long bodyLength,
+        final int maximumBodyLength )
+    {
+        return bind( InputQueue_dequeueMessageEnvelope_messageTooLong, bodyLength, maximumBodyLength );
+    }
+
     // --- ServiceHandler ---------------------------------------------------
 
     /**
@@ -142,4 +290,21 @@ final class NonNlsMessages
     {
         return bind( ServiceHandler_sendMessage_ioError, message.getId(), message.getCorrelationId() );
     }
+
+    /**
+     * Gets the formatted message indicating a message exceeds the maximum
+     * message length supported by the peer.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * 
+     * @return The formatted message indicating a message exceeds the maximum
+     *         message length supported by the peer.
+     */
+    @SuppressWarnings( "boxing" )
+    static String ServiceHandler_sendMessageEnvelope_messageTooLong(
+        final MessageEnvelope messageEnvelope )
+    {
+        return bind( ServiceHandler_sendMessageEnvelope_messageTooLong, messageEnvelope.getHeader().getId(), messageEnvelope.getHeader().getCorrelationId() );
+    }
 }
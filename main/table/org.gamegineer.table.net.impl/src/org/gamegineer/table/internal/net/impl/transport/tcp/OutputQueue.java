@@ -23,14 +23,53 @@ package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
+import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
 
 /**
  * A message output queue.
+ * 
+ * <p>
+ * Message envelopes are queued without copying their network representation;
+ * a body shared among several message envelopes is queued as a separate
+ * buffer that is never copied.
+ * All queued data is drained to the channel using a single gathering write
+ * per invocation of {@link #drainTo(GatheringByteChannel)}, which coalesces a
+ * burst of small messages into as few system calls as possible.
+ * </p>
+ * 
+ * <p>
+ * Message envelopes whose body exceeds the maximum length of a compact message
+ * envelope are transferred as a sequence of fragment frames. Only a small
+ * group of fragments is scheduled at a time; the next group is not scheduled
+ * until the previous group has been written.
+ * </p>
+ * 
+ * <p>
+ * Message envelopes are written in the order in which they were enqueued;
+ * those enqueued while a large message envelope is waiting to be transferred
+ * are held until its last fragment has been scheduled. The only exception is a
+ * control message envelope, whose message does not depend on the order of the
+ * other messages: it is written between the fragments of the large message
+ * envelopes being transferred, provided no other message envelope is being
+ * held, so that heartbeats are not delayed by a large transfer.
+ * </p>
+ * 
+ * <p>
+ * The queue records in the associated transport metrics each message envelope
+ * that has been completely written together with the time elapsed since it
+ * was enqueued.
+ * </p>
  */
 @NotThreadSafe
 final class OutputQueue
@@ -39,21 +78,76 @@ final class OutputQueue
     // Fields
     // ======================================================================
 
-    /** The buffer pool associated with the queue. */
-    private final ByteBufferPool bufferPool_;
+    /** The maximum count of fragment frames scheduled at one time. */
+    static final int FRAGMENT_GROUP_SIZE = 4;
+
+    /**
+     * The maximum count of buffers submitted to the channel in a single
+     * gathering write.
+     */
+    static final int MAXIMUM_GATHER_COUNT = 64;
 
     /**
      * The queue of buffers associated with the queue waiting to be processed.
      * 
      * <p>
-     * The buffers in the queue are oriented such that they are prepared for
-     * writing (i.e. enqueuing a message envelope). Before reading from a
-     * buffer, it must be flipped. Similarly, before returning a buffer to the
-     * queue that has been partially drained, it must be compacted.
+     * Each buffer wraps the network representation of a single message
+     * envelope and is oriented such that it is prepared for reading (i.e.
+     * draining to a channel). A buffer is removed from the queue once all of
+     * its remaining bytes have been written.
      * </p>
      */
     private final Deque<ByteBuffer> bufferQueue_;
 
+    /**
+     * The count of buffers at the head of the buffer queue up to and including
+     * the last buffer of the most recently scheduled fragment group.
+     */
+    private int fragmentGroupBufferCount_;
+
+    /** The array used to submit buffers to the channel in a gathering write. */
+    private final @Nullable ByteBuffer[] gatherBuffers_;
+
+    /**
+     * The queue of message envelopes held until the large message envelopes
+     * ahead of them have been scheduled.
+     * 
+     * <p>
+     * The first message envelope, if any, is always a large message envelope,
+     * and the positions of its buffers mark the beginning of the next fragment
+     * to be scheduled.
+     * </p>
+     */
+    private final Deque<HeldMessageEnvelope> heldMessageEnvelopeQueue_;
+
+    /**
+     * The count of message envelopes in the held message envelope queue that
+     * are not large message envelopes.
+     */
+    private int heldSmallMessageEnvelopeCount_;
+
+    /**
+     * The number of bytes in the queue waiting to be written, including the
+     * headers of scheduled fragment frames.
+     */
+    private long length_;
+
+    /** The transport metrics associated with the queue. */
+    private final TransportMetrics metrics_;
+
+    /**
+     * The collection of times at which the message envelopes in the queue were
+     * requested to be sent keyed by the last buffer of each message envelope.
+     * 
+     * <p>
+     * For a message envelope that is transferred as a sequence of fragment
+     * frames, the key is the last buffer of its network representation until
+     * its last fragment is scheduled, after which the key is the last payload
+     * buffer of its last fragment.
+     * </p>
+     */
+    private final Map<ByteBuffer, Long> sendTimes_;
+
 
     // ======================================================================
     // Constructors
@@ -62,14 +156,20 @@ final class OutputQueue
     /**
      * Initializes a new instance of the {@code OuputQueue} class.
      * 
-     * @param bufferPool
-     *        The buffer pool associated with the queue.
+     * @param metrics
+     *        The transport metrics associated with the queue.
      */
     OutputQueue(
-        final ByteBufferPool bufferPool )
+        final TransportMetrics metrics )
     {
-        bufferPool_ = bufferPool;
         bufferQueue_ = new LinkedList<>();
+        fragmentGroupBufferCount_ = 0;
+        gatherBuffers_ = new ByteBuffer[ MAXIMUM_GATHER_COUNT ];
+        heldMessageEnvelopeQueue_ = new LinkedList<>();
+        heldSmallMessageEnvelopeCount_ = 0;
+        length_ = 0L;
+        metrics_ = metrics;
+        sendTimes_ = new IdentityHashMap<>();
     }
 
 
@@ -80,6 +180,11 @@ final class OutputQueue
     /**
      * Attempts to drain the queue to the specified channel.
      * 
+     * <p>
+     * The queued buffers are submitted to the channel using a single gathering
+     * write. Any bytes not accepted by the channel remain in the queue.
+     * </p>
+     * 
      * @param channel
      *        The channel to which the queue will be drained.
      * 
@@ -89,60 +194,122 @@ final class OutputQueue
      *         If an I/O error occurs.
      */
     int drainTo(
-        final WritableByteChannel channel )
+        final GatheringByteChannel channel )
         throws IOException
     {
-        // WRITE ORIENTATION (default)              READ ORIENTATION
-        //
-        // |*|*|*|*|-|-|-|-|     ==== flip ===>     |*|*|*|*|-|-|-|-|
-        //         ^       ^     <== compact ==     ^       ^       ^
-        //        pos   lim/cap                    pos     lim     cap
-        //
+        scheduleFragments();
 
-        int bytesWritten = 0;
+        final int bufferCount = Math.min( bufferQueue_.size(), MAXIMUM_GATHER_COUNT );
+        if( bufferCount == 0 )
+        {
+            return 0;
+        }
 
-        while( !bufferQueue_.isEmpty() )
+        final Iterator<ByteBuffer> iterator = bufferQueue_.iterator();
+        for( int index = 0; index < bufferCount; ++index )
+        {
+            gatherBuffers_[ index ] = iterator.next();
+        }
+
+        final long bytesWritten;
+        try
+        {
+            bytesWritten = channel.write( gatherBuffers_, 0, bufferCount );
+        }
+        finally
         {
-            final ByteBuffer buffer = bufferQueue_.removeFirst();
+            Arrays.fill( gatherBuffers_, 0, bufferCount, null );
+        }
 
-            buffer.flip(); // prepare buffer for reading
-            bytesWritten += channel.write( buffer );
+        length_ -= bytesWritten;
+        metrics_.bytesSent( bytesWritten );
 
-            if( buffer.hasRemaining() )
+        final long writeTime = System.nanoTime();
+        while( !bufferQueue_.isEmpty() && !bufferQueue_.peekFirst().hasRemaining() )
+        {
+            final Long sendTime = sendTimes_.remove( bufferQueue_.removeFirst() );
+            if( sendTime != null )
             {
-                buffer.compact(); // prepare buffer for writing
-                bufferQueue_.addFirst( buffer );
-                break;
+                metrics_.messageSent( writeTime - sendTime.longValue() );
+            }
+            if( fragmentGroupBufferCount_ > 0 )
+            {
+                --fragmentGroupBufferCount_;
             }
-
-            bufferPool_.returnByteBuffer( buffer );
         }
 
-        return bytesWritten;
+        return (int)bytesWritten;
     }
 
     /**
      * Adds the specified message envelope to the queue.
      * 
      * @param messageEnvelope
-     *        The message envelope to be added to the queue.
+     *        The message envelope to be added to the queue. The network
+     *        representation of the message envelope is not copied. If the
+     *        message envelope body exceeds
+     *        {@link MessageEnvelope.Header#MAXIMUM_BODY_LENGTH}, it will be
+     *        transferred as a sequence of fragment frames.
      */
     void enqueueMessageEnvelope(
         final MessageEnvelope messageEnvelope )
     {
-        final ByteBuffer incomingBuffer = ByteBuffer.wrap( messageEnvelope.toByteArray() );
-        final ByteBuffer lastBuffer = bufferQueue_.peekLast();
-        if( (lastBuffer != null) && lastBuffer.hasRemaining() )
+        enqueueMessageEnvelope( messageEnvelope, System.nanoTime(), false );
+    }
+
+    /**
+     * Adds the specified message envelope to the queue.
+     * 
+     * @param messageEnvelope
+     *        The message envelope to be added to the queue. The network
+     *        representation of the message envelope is not copied. If the
+     *        message envelope body exceeds
+     *        {@link MessageEnvelope.Header#MAXIMUM_BODY_LENGTH}, it will be
+     *        transferred as a sequence of fragment frames.
+     * @param sendTime
+     *        The time, as reported by {@link System#nanoTime()}, at which the
+     *        message envelope was requested to be sent.
+     * @param isControlMessageEnvelope
+     *        {@code true} if the message envelope contains a control message
+     *        that does not depend on the order of the other messages and may
+     *        be written between the fragments of a large message envelope;
+     *        otherwise {@code false}.
+     */
+    void enqueueMessageEnvelope(
+        final MessageEnvelope messageEnvelope,
+        final long sendTime,
+        final boolean isControlMessageEnvelope )
+    {
+        final ByteBuffer[] buffers = messageEnvelope.toByteBuffers();
+        for( final ByteBuffer buffer : buffers )
         {
-            ByteBufferUtils.fill( lastBuffer, incomingBuffer );
+            length_ += buffer.remaining();
         }
+        sendTimes_.put( buffers[ buffers.length - 1 ], Long.valueOf( sendTime ) );
 
-        while( incomingBuffer.hasRemaining() )
+        if( messageEnvelope.getHeader().getBodyLength() > MessageEnvelope.Header.MAXIMUM_BODY_LENGTH )
+        {
+            heldMessageEnvelopeQueue_.addLast( new HeldMessageEnvelope( buffers, true ) );
+        }
+        else if( heldMessageEnvelopeQueue_.isEmpty() || (isControlMessageEnvelope && (heldSmallMessageEnvelopeCount_ == 0)) )
         {
-            final ByteBuffer newBuffer = bufferPool_.takeByteBuffer();
-            ByteBufferUtils.fill( newBuffer, incomingBuffer );
-            bufferQueue_.addLast( newBuffer );
+            bufferQueue_.addAll( Arrays.asList( buffers ) );
         }
+        else
+        {
+            heldMessageEnvelopeQueue_.addLast( new HeldMessageEnvelope( buffers, false ) );
+            ++heldSmallMessageEnvelopeCount_;
+        }
+    }
+
+    /**
+     * Gets the number of bytes in the queue waiting to be written.
+     * 
+     * @return The number of bytes in the queue waiting to be written.
+     */
+    long getLength()
+    {
+        return length_;
     }
 
     /**
@@ -152,6 +319,154 @@ final class OutputQueue
      */
     boolean isEmpty()
     {
-        return bufferQueue_.isEmpty();
+        return bufferQueue_.isEmpty() && heldMessageEnvelopeQueue_.isEmpty();
+    }
+
+    /**
+     * Moves the message envelopes held behind the large message envelope whose
+     * last fragment has just been scheduled to the buffer queue, up to the next
+     * large message envelope.
+     */
+    private void releaseHeldMessageEnvelopes()
+    {
+        HeldMessageEnvelope heldMessageEnvelope = null;
+        while( ((heldMessageEnvelope = heldMessageEnvelopeQueue_.peekFirst()) != null) && !heldMessageEnvelope.isLarge() )
+        {
+            heldMessageEnvelopeQueue_.removeFirst();
+            --heldSmallMessageEnvelopeCount_;
+            bufferQueue_.addAll( Arrays.asList( heldMessageEnvelope.getBuffers() ) );
+        }
+    }
+
+    /**
+     * Schedules the next group of fragment frames for writing if the previous
+     * group has been completely written.
+     */
+    private void scheduleFragments()
+    {
+        if( (fragmentGroupBufferCount_ > 0) || heldMessageEnvelopeQueue_.isEmpty() )
+        {
+            return;
+        }
+
+        for( int fragmentCount = 0; (fragmentCount < FRAGMENT_GROUP_SIZE) && !heldMessageEnvelopeQueue_.isEmpty(); ++fragmentCount )
+        {
+            final ByteBuffer[] largeBuffers = heldMessageEnvelopeQueue_.peekFirst().getBuffers();
+            long bytesRemaining = 0L;
+            for( final ByteBuffer largeBuffer : largeBuffers )
+            {
+                bytesRemaining += largeBuffer.remaining();
+            }
+            final int payloadLength = (int)Math.min( bytesRemaining, FragmentFrames.MAXIMUM_PAYLOAD_LENGTH );
+            final boolean isLast = (payloadLength == bytesRemaining);
+
+            final ByteBuffer header = FragmentFrames.createHeader( payloadLength, isLast );
+            bufferQueue_.addLast( header );
+            length_ += header.remaining();
+            int bytesToSchedule = payloadLength;
+            ByteBuffer lastPayload = header;
+            for( final ByteBuffer largeBuffer : largeBuffers )
+            {
+                final int length = Math.min( largeBuffer.remaining(), bytesToSchedule );
+                if( length > 0 )
+                {
+                    final ByteBuffer payload = largeBuffer.duplicate();
+                    payload.limit( payload.position() + length );
+                    largeBuffer.position( largeBuffer.position() + length );
+                    bufferQueue_.addLast( payload );
+                    bytesToSchedule -= length;
+                    lastPayload = payload;
+                }
+            }
+
+            if( isLast )
+            {
+                heldMessageEnvelopeQueue_.removeFirst();
+                final Long sendTime = sendTimes_.remove( largeBuffers[ largeBuffers.length - 1 ] );
+                if( sendTime != null )
+                {
+                    sendTimes_.put( lastPayload, sendTime );
+                }
+                releaseHeldMessageEnvelopes();
+            }
+        }
+
+        fragmentGroupBufferCount_ = bufferQueue_.size();
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A message envelope held until the large message envelopes ahead of it
+     * have been scheduled.
+     */
+    @Immutable
+    private static final class HeldMessageEnvelope
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The network representation of the message envelope. */
+        private final ByteBuffer[] buffers_;
+
+        /**
+         * Indicates the message envelope is a large message envelope that is
+         * transferred as a sequence of fragment frames.
+         */
+        private final boolean isLarge_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code HeldMessageEnvelope} class.
+         * 
+         * @param buffers
+         *        The network representation of the message envelope.
+         * @param isLarge
+         *        {@code true} if the message envelope is a large message
+         *        envelope that is transferred as a sequence of fragment frames;
+         *        otherwise {@code false}.
+         */
+        HeldMessageEnvelope(
+            final ByteBuffer[] buffers,
+            final boolean isLarge )
+        {
+            buffers_ = buffers;
+            isLarge_ = isLarge;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /**
+         * Gets the network representation of the message envelope.
+         * 
+         * @return The network representation of the message envelope.
+         */
+        ByteBuffer[] getBuffers()
+        {
+            return buffers_;
+        }
+
+        /**
+         * Indicates the message envelope is a large message envelope that is
+         * transferred as a sequence of fragment frames.
+         * 
+         * @return {@code true} if the message envelope is a large message
+         *         envelope; otherwise {@code false}.
+         */
+        boolean isLarge()
+        {
+            return isLarge_;
+        }
     }
 }
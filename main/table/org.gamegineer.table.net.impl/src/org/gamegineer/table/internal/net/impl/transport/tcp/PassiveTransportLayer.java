@@ -22,7 +22,9 @@
 package org.gamegineer.table.internal.net.impl.transport.tcp;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
@@ -52,14 +54,17 @@ final class PassiveTransportLayer
      * 
      * @param executorService
      *        The transport layer executor service.
+     * @param configuration
+     *        The transport layer configuration.
      * @param context
      *        The transport layer context.
      */
     private PassiveTransportLayer(
         final ExecutorService executorService,
+        final TcpTransportLayerConfiguration configuration,
         final ITransportLayerContext context )
     {
-        super( executorService, context );
+        super( executorService, configuration, context );
 
         acceptor_ = null;
     }
@@ -77,10 +82,28 @@ final class PassiveTransportLayer
     {
         assert isTransportLayerThread();
 
-        if( acceptor_ != null )
+        final Acceptor acceptor = acceptor_;
+        if( acceptor != null )
         {
-            acceptor_.close();
             acceptor_ = null;
+
+            try
+            {
+                syncExecOnDispatcher( acceptor.getDispatcher(), new Callable<@Nullable Void>()
+                {
+                    @Override
+                    public @Nullable Void call()
+                    {
+                        acceptor.close();
+
+                        return null;
+                    }
+                } );
+            }
+            catch( @SuppressWarnings( "unused" ) final IOException | RejectedExecutionException e )
+            {
+                // the acceptor cannot be reached; its dispatcher will close it
+            }
         }
     }
 
@@ -95,8 +118,18 @@ final class PassiveTransportLayer
     {
         assert isTransportLayerThread();
 
-        acceptor_ = new Acceptor( this );
-        acceptor_.bind( hostName, port );
+        final Dispatcher dispatcher = getDispatcher();
+        acceptor_ = syncExecOnDispatcher( dispatcher, new Callable<Acceptor>()
+        {
+            @Override
+            public Acceptor call()
+                throws IOException
+            {
+                final Acceptor acceptor = new Acceptor( PassiveTransportLayer.this, dispatcher );
+                acceptor.bind( hostName, port );
+                return acceptor;
+            }
+        } );
     }
 
 
@@ -117,9 +150,15 @@ final class PassiveTransportLayer
 
         /**
          * Initializes a new instance of the {@code Factory} class.
+         * 
+         * @param configuration
+         *        The configuration of transport layers created by the
+         *        factory.
          */
-        Factory()
+        Factory(
+            final TcpTransportLayerConfiguration configuration )
         {
+            super( configuration );
         }
 
 
@@ -128,15 +167,16 @@ final class PassiveTransportLayer
         // ==================================================================
 
         /*
-         * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractTransportLayer.AbstractFactory#createTransportLayer(java.util.concurrent.ExecutorService, org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
+         * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractTransportLayer.AbstractFactory#createTransportLayer(java.util.concurrent.ExecutorService, org.gamegineer.table.internal.net.impl.transport.tcp.TcpTransportLayerConfiguration, org.gamegineer.table.internal.net.impl.transport.ITransportLayerContext)
          */
         @Override
         @SuppressWarnings( "synthetic-access" )
         AbstractTransportLayer createTransportLayer(
             final ExecutorService executorService,
+            final TcpTransportLayerConfiguration configuration,
             final ITransportLayerContext context )
         {
-            return new PassiveTransportLayer( executorService, context );
+            return new PassiveTransportLayer( executorService, configuration, context );
         }
     }
 }
@@ -27,6 +27,7 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
+import java.util.zip.Deflater;
 import net.jcip.annotations.Immutable;
 import net.jcip.annotations.NotThreadSafe;
 import org.eclipse.jdt.annotation.Nullable;
@@ -34,7 +35,9 @@ import org.gamegineer.table.internal.net.impl.Loggers;
 import org.gamegineer.table.internal.net.impl.transport.IMessage;
 import org.gamegineer.table.internal.net.impl.transport.IService;
 import org.gamegineer.table.internal.net.impl.transport.IServiceContext;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.internal.net.impl.transport.MessageEnvelope;
+import org.gamegineer.table.internal.net.impl.transport.TransportMetrics;
 
 /**
  * A service handler in the TCP transport layer Acceptor-Connector pattern
@@ -52,6 +55,18 @@ final class ServiceHandler
     /** The channel associated with the service handler. */
     private @Nullable SocketChannel channel_;
 
+    /**
+     * The minimum length in bytes of a message body the service handler will
+     * attempt to compress.
+     */
+    private final int compressionThreshold_;
+
+    /**
+     * The deflater used to compress message bodies sent to the service peer or
+     * {@code null} if no message body has yet been compressed.
+     */
+    private @Nullable Deflater deflater_;
+
     /** The input queue associated with the service handler. */
     private final InputQueue inputQueue_;
 
@@ -61,17 +76,47 @@ final class ServiceHandler
     /** The channel operations in which the handler is interested. */
     private int interestOperations_;
 
+    /**
+     * Indicates the bodies of messages sent to the service peer may be
+     * compressed.
+     */
+    private boolean isCompressionEnabled_;
+
     /**
      * Indicates the service handler has been registered with the dispatcher.
      */
     private boolean isRegistered_;
 
+    /**
+     * Indicates messages that exceed the maximum length of a compact message
+     * envelope may be sent to the service peer.
+     */
+    private boolean isLargeMessageTransferEnabled_;
+
+    /** Indicates the output queue is congested. */
+    private boolean isOutputQueueCongested_;
+
     /** Indicates the handler is running. */
     private boolean isRunning_;
 
+    /** The transport metrics of the connection associated with the handler. */
+    private final TransportMetrics metrics_;
+
     /** The output handler associated with the service handler. */
     private final OutputQueue outputQueue_;
 
+    /**
+     * The number of bytes waiting to be sent above which the output queue is
+     * considered congested.
+     */
+    private final int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes waiting to be sent at or below which a congested
+     * output queue is no longer considered congested.
+     */
+    private final int outputQueueLowWatermark_;
+
     /** The state of the output queue. */
     private QueueState outputQueueState_;
 
@@ -94,24 +139,33 @@ final class ServiceHandler
      * 
      * @param transportLayer
      *        The transport layer associated with the service handler.
+     * @param dispatcher
+     *        The dispatcher associated with the service handler.
      * @param service
      *        The service.
      */
     ServiceHandler(
         final AbstractTransportLayer transportLayer,
+        final Dispatcher dispatcher,
         final IService service )
     {
-        super( transportLayer );
-
-        final ByteBufferPool byteBufferPool = transportLayer.getDispatcher().getByteBufferPool();
+        super( transportLayer, dispatcher );
 
         channel_ = null;
-        inputQueue_ = new InputQueue( byteBufferPool );
+        compressionThreshold_ = transportLayer.getConfiguration().getCompressionThreshold();
+        deflater_ = null;
+        inputQueue_ = new InputQueue( dispatcher.getByteBufferPool(), transportLayer.getConfiguration().getMaximumMessageLength() );
         inputQueueState_ = QueueState.OPEN;
         interestOperations_ = SelectionKey.OP_READ;
+        isCompressionEnabled_ = false;
+        isLargeMessageTransferEnabled_ = false;
+        isOutputQueueCongested_ = false;
         isRegistered_ = false;
         isRunning_ = false;
-        outputQueue_ = new OutputQueue( byteBufferPool );
+        metrics_ = new TransportMetrics( transportLayer.getMetrics(), dispatcher.getDispatchTimes() );
+        outputQueue_ = new OutputQueue( metrics_ );
+        outputQueueHighWatermark_ = transportLayer.getConfiguration().getOutputQueueHighWatermark();
+        outputQueueLowWatermark_ = transportLayer.getConfiguration().getOutputQueueLowWatermark();
         outputQueueState_ = QueueState.OPEN;
         readyOperations_ = 0;
         service_ = service;
@@ -129,7 +183,7 @@ final class ServiceHandler
     void close(
         final @Nullable Exception exception )
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         final State previousState = getState();
         if( previousState == State.OPEN )
@@ -137,7 +191,7 @@ final class ServiceHandler
             if( isRegistered_ )
             {
                 isRegistered_ = false;
-                getTransportLayer().getDispatcher().unregisterEventHandler( this );
+                getDispatcher().unregisterEventHandler( this );
             }
 
             try
@@ -153,6 +207,15 @@ final class ServiceHandler
             {
                 channel_ = null;
             }
+
+            inputQueue_.close();
+            metrics_.setQueueLengths( 0L, 0L );
+            final Deflater deflater = deflater_;
+            if( deflater != null )
+            {
+                deflater.end();
+                deflater_ = null;
+            }
         }
 
         setState( State.CLOSED );
@@ -163,6 +226,31 @@ final class ServiceHandler
         }
     }
 
+    /**
+     * Notifies the service if the output queue has crossed one of its
+     * watermarks since the last notification.
+     * 
+     * <p>
+     * The output queue becomes congested when its length exceeds the high
+     * watermark and remains congested until its length drops to the low
+     * watermark.
+     * </p>
+     */
+    private void checkOutputQueueCongestion()
+    {
+        final long outputQueueLength = outputQueue_.getLength();
+        if( !isOutputQueueCongested_ && (outputQueueLength > outputQueueHighWatermark_) )
+        {
+            isOutputQueueCongested_ = true;
+            service_.outputQueueCongestionChanged( true, outputQueueLength );
+        }
+        else if( isOutputQueueCongested_ && (outputQueueLength <= outputQueueLowWatermark_) )
+        {
+            isOutputQueueCongested_ = false;
+            service_.outputQueueCongestionChanged( false, outputQueueLength );
+        }
+    }
+
     /**
      * Drains the output queue to the channel.
      * 
@@ -181,6 +269,7 @@ final class ServiceHandler
         {
             assert channel_ != null;
             outputQueue_.drainTo( channel_ );
+            checkOutputQueueCongestion();
         }
 
         if( outputQueue_.isEmpty() )
@@ -206,7 +295,11 @@ final class ServiceHandler
         final SocketChannel channel = channel_;
         assert channel != null;
         final int bytesRead = inputQueue_.fillFrom( channel );
-        if( bytesRead == -1 )
+        if( bytesRead > 0 )
+        {
+            metrics_.bytesReceived( bytesRead );
+        }
+        else if( bytesRead == -1 )
         {
             modifyInterestOperations( 0, SelectionKey.OP_READ );
 
@@ -227,24 +320,52 @@ final class ServiceHandler
         }
     }
 
+    /**
+     * Gets the deflater used to compress message bodies sent to the service
+     * peer, creating it if necessary.
+     * 
+     * @return The deflater used to compress message bodies sent to the service
+     *         peer.
+     */
+    private Deflater getDeflater()
+    {
+        Deflater deflater = deflater_;
+        if( deflater == null )
+        {
+            deflater = new Deflater( Deflater.BEST_SPEED );
+            deflater_ = deflater;
+        }
+
+        return deflater;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractEventHandler#getChannel()
      */
     @Override
     @Nullable SelectableChannel getChannel()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return channel_;
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#getMetrics()
+     */
+    @Override
+    public ITransportMetrics getMetrics()
+    {
+        return metrics_;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.tcp.AbstractEventHandler#getInterestOperations()
      */
     @Override
     int getInterestOperations()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         return interestOperations_;
     }
@@ -267,7 +388,7 @@ final class ServiceHandler
 
         if( !isRunning_ )
         {
-            getTransportLayer().getDispatcher().enqueueStatusChange( this );
+            getDispatcher().interestOperationsChanged( this );
         }
     }
 
@@ -288,7 +409,7 @@ final class ServiceHandler
         final SocketChannel channel )
         throws IOException
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
         assert getState() == State.PRISTINE;
 
         channel_ = channel;
@@ -296,7 +417,7 @@ final class ServiceHandler
 
         try
         {
-            getTransportLayer().getDispatcher().registerEventHandler( this );
+            getDispatcher().registerEventHandler( this );
             isRegistered_ = true;
         }
         catch( final IOException e )
@@ -314,7 +435,7 @@ final class ServiceHandler
     @Override
     void prepareToRun()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         final SelectionKey selectionKey = getSelectionKey();
         if( selectionKey != null )
@@ -331,7 +452,7 @@ final class ServiceHandler
     @Override
     void run()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         if( !isRunning_ )
         {
@@ -348,6 +469,7 @@ final class ServiceHandler
                 MessageEnvelope messageEnvelope = null;
                 while( (messageEnvelope = inputQueue_.dequeueMessageEnvelope()) != null )
                 {
+                    metrics_.messageReceived();
                     service_.messageReceived( messageEnvelope );
                 }
 
@@ -363,6 +485,10 @@ final class ServiceHandler
                 outputQueueState_ = QueueState.SHUT_DOWN;
                 close();
             }
+            else
+            {
+                metrics_.setQueueLengths( inputQueue_.getLength(), outputQueue_.getLength() );
+            }
         }
         catch( final Exception e )
         {
@@ -376,6 +502,16 @@ final class ServiceHandler
         }
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendControlMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendControlMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        sendMessageEnvelope( messageEnvelope, System.nanoTime(), true );
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessage(org.gamegineer.table.internal.net.impl.transport.IMessage)
      */
@@ -383,12 +519,27 @@ final class ServiceHandler
     public void sendMessage(
         final IMessage message )
     {
-        assert isTransportLayerThread();
+        sendMessage( message, System.nanoTime() );
+    }
+
+    /**
+     * Sends the specified message to the service peer.
+     * 
+     * @param message
+     *        The message.
+     * @param sendTime
+     *        The time, as reported by {@link System#nanoTime()}, at which the
+     *        message was requested to be sent.
+     */
+    private void sendMessage(
+        final IMessage message,
+        final long sendTime )
+    {
+        assert isDispatcherThread();
 
         try
         {
-            outputQueue_.enqueueMessageEnvelope( MessageEnvelope.fromMessage( message ) );
-            modifyInterestOperations( SelectionKey.OP_WRITE, 0 );
+            sendMessageEnvelope( MessageEnvelope.fromMessage( message ), sendTime, false );
         }
         catch( final IOException e )
         {
@@ -396,13 +547,91 @@ final class ServiceHandler
         }
     }
 
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+     */
+    @Override
+    public void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope )
+    {
+        sendMessageEnvelope( messageEnvelope, System.nanoTime(), false );
+    }
+
+    /**
+     * Sends the specified message envelope to the service peer.
+     * 
+     * @param messageEnvelope
+     *        The message envelope.
+     * @param sendTime
+     *        The time, as reported by {@link System#nanoTime()}, at which the
+     *        message envelope was requested to be sent.
+     * @param isControlMessageEnvelope
+     *        {@code true} if the message envelope is a control message
+     *        envelope; otherwise {@code false}.
+     */
+    private void sendMessageEnvelope(
+        final MessageEnvelope messageEnvelope,
+        final long sendTime,
+        final boolean isControlMessageEnvelope )
+    {
+        assert isDispatcherThread();
+
+        final MessageEnvelope outputMessageEnvelope;
+        if( isCompressionEnabled_ && (messageEnvelope.getHeader().getBodyLength() >= compressionThreshold_) && (getState() == State.OPEN) )
+        {
+            outputMessageEnvelope = messageEnvelope.compress( getDeflater() );
+        }
+        else
+        {
+            outputMessageEnvelope = messageEnvelope;
+        }
+
+        if( (outputMessageEnvelope.getHeader().getBodyLength() > MessageEnvelope.Header.MAXIMUM_BODY_LENGTH) && !isLargeMessageTransferEnabled_ )
+        {
+            Loggers.getDefaultLogger().severe( NonNlsMessages.ServiceHandler_sendMessageEnvelope_messageTooLong( messageEnvelope ) );
+            return;
+        }
+
+        outputQueue_.enqueueMessageEnvelope( outputMessageEnvelope, sendTime, isControlMessageEnvelope );
+        modifyInterestOperations( SelectionKey.OP_WRITE, 0 );
+        checkOutputQueueCongestion();
+        if( getState() == State.OPEN )
+        {
+            metrics_.setQueueLengths( inputQueue_.getLength(), outputQueue_.getLength() );
+        }
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setCompressionEnabled(boolean)
+     */
+    @Override
+    public void setCompressionEnabled(
+        final boolean isCompressionEnabled )
+    {
+        assert isDispatcherThread();
+
+        isCompressionEnabled_ = isCompressionEnabled;
+    }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setLargeMessageTransferEnabled(boolean)
+     */
+    @Override
+    public void setLargeMessageTransferEnabled(
+        final boolean isLargeMessageTransferEnabled )
+    {
+        assert isDispatcherThread();
+
+        isLargeMessageTransferEnabled_ = isLargeMessageTransferEnabled;
+    }
+
     /*
      * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#stopService()
      */
     @Override
     public void stopService()
     {
-        assert isTransportLayerThread();
+        assert isDispatcherThread();
 
         if( outputQueueState_ == QueueState.OPEN )
         {
@@ -454,7 +683,8 @@ final class ServiceHandler
 
     /**
      * A proxy for the {@link IServiceContext} interface that ensures all
-     * methods are called on the associated transport layer thread.
+     * methods are called on the event dispatch thread of the associated
+     * dispatcher.
      */
     @Immutable
     private final class ServiceContextProxy
@@ -476,27 +706,138 @@ final class ServiceHandler
         // Methods
         // ==================================================================
 
+        /*
+         * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#getMetrics()
+         */
+        @Override
+        public ITransportMetrics getMetrics()
+        {
+            return ServiceHandler.this.getMetrics();
+        }
+
+        /*
+         * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendControlMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+         */
+        @Override
+        public void sendControlMessageEnvelope(
+            final MessageEnvelope messageEnvelope )
+        {
+            final long sendTime = System.nanoTime();
+            try
+            {
+                getDispatcher().asyncExec( new Runnable()
+                {
+                    @Override
+                    @SuppressWarnings( "synthetic-access" )
+                    public void run()
+                    {
+                        ServiceHandler.this.sendMessageEnvelope( messageEnvelope, sendTime, true );
+                    }
+                } );
+            }
+            catch( final RejectedExecutionException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_dispatcher_shutdown, e );
+            }
+        }
+
         /*
          * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessage(org.gamegineer.table.internal.net.impl.transport.IMessage)
          */
         @Override
         public void sendMessage(
             final IMessage message )
+        {
+            final long sendTime = System.nanoTime();
+            try
+            {
+                getDispatcher().asyncExec( new Runnable()
+                {
+                    @Override
+                    @SuppressWarnings( "synthetic-access" )
+                    public void run()
+                    {
+                        ServiceHandler.this.sendMessage( message, sendTime );
+                    }
+                } );
+            }
+            catch( final RejectedExecutionException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_dispatcher_shutdown, e );
+            }
+        }
+
+        /*
+         * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#sendMessageEnvelope(org.gamegineer.table.internal.net.impl.transport.MessageEnvelope)
+         */
+        @Override
+        public void sendMessageEnvelope(
+            final MessageEnvelope messageEnvelope )
+        {
+            final long sendTime = System.nanoTime();
+            try
+            {
+                getDispatcher().asyncExec( new Runnable()
+                {
+                    @Override
+                    @SuppressWarnings( "synthetic-access" )
+                    public void run()
+                    {
+                        ServiceHandler.this.sendMessageEnvelope( messageEnvelope, sendTime, false );
+                    }
+                } );
+            }
+            catch( final RejectedExecutionException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_dispatcher_shutdown, e );
+            }
+        }
+
+        /*
+         * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setCompressionEnabled(boolean)
+         */
+        @Override
+        public void setCompressionEnabled(
+            final boolean isCompressionEnabled )
+        {
+            try
+            {
+                getDispatcher().asyncExec( new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        ServiceHandler.this.setCompressionEnabled( isCompressionEnabled );
+                    }
+                } );
+            }
+            catch( final RejectedExecutionException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_dispatcher_shutdown, e );
+            }
+        }
+
+        /*
+         * @see org.gamegineer.table.internal.net.impl.transport.IServiceContext#setLargeMessageTransferEnabled(boolean)
+         */
+        @Override
+        public void setLargeMessageTransferEnabled(
+            final boolean isLargeMessageTransferEnabled )
         {
             try
             {
-                getTransportLayer().asyncExec( new Runnable()
+                getDispatcher().asyncExec( new Runnable()
                 {
                     @Override
                     public void run()
                     {
-                        ServiceHandler.this.sendMessage( message );
+                        ServiceHandler.this.setLargeMessageTransferEnabled( isLargeMessageTransferEnabled );
                     }
                 } );
             }
             catch( final RejectedExecutionException e )
             {
-                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_transportLayer_shutdown, e );
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_dispatcher_shutdown, e );
             }
         }
 
@@ -508,7 +849,7 @@ final class ServiceHandler
         {
             try
             {
-                getTransportLayer().asyncExec( new Runnable()
+                getDispatcher().asyncExec( new Runnable()
                 {
                     @Override
                     public void run()
@@ -519,7 +860,7 @@ final class ServiceHandler
             }
             catch( final RejectedExecutionException e )
             {
-                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_transportLayer_shutdown, e );
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.ServiceHandler_dispatcher_shutdown, e );
             }
         }
     }
@@ -0,0 +1,296 @@
+/*
+ * TcpTransportLayerConfiguration.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:12:40 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import java.util.Arrays;
+import net.jcip.annotations.Immutable;
+
+/**
+ * The configuration for a TCP transport layer.
+ */
+@Immutable
+public final class TcpTransportLayerConfiguration
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The capacities in bytes of the size classes managed by the transport
+     * layer byte buffer pool.
+     */
+    private final int[] byteBufferPoolCapacities_;
+
+    /**
+     * The maximum amount of memory in bytes the transport layer byte buffer
+     * pool may retain.
+     */
+    private final int byteBufferPoolMemory_;
+
+    /**
+     * The minimum length in bytes of a message body the transport layer will
+     * attempt to compress.
+     */
+    private final int compressionThreshold_;
+
+    /**
+     * The number of dispatchers among which the transport layer distributes
+     * its connections.
+     */
+    private final int dispatcherCount_;
+
+    /**
+     * Indicates the transport layer byte buffer pool creates direct byte
+     * buffers.
+     */
+    private final boolean isByteBufferPoolDirect_;
+
+    /**
+     * The maximum length in bytes of a message body the transport layer will
+     * accept from a peer.
+     */
+    private final int maximumMessageLength_;
+
+    /**
+     * The number of bytes waiting to be sent to a service peer above which
+     * the output queue of the service is considered congested.
+     */
+    private final int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes waiting to be sent to a service peer at or below
+     * which a congested output queue of the service is no longer considered
+     * congested.
+     */
+    private final int outputQueueLowWatermark_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TcpTransportLayerConfiguration}
+     * class.
+     * 
+     * @param byteBufferPoolCapacities
+     *        The capacities in bytes of the size classes managed by the
+     *        transport layer byte buffer pool; must not be empty and must
+     *        contain only positive values.
+     * @param isByteBufferPoolDirect
+     *        {@code true} if the transport layer byte buffer pool creates
+     *        direct byte buffers; {@code false} if it creates heap byte
+     *        buffers.
+     * @param byteBufferPoolMemory
+     *        The maximum amount of memory in bytes the transport layer byte
+     *        buffer pool may retain; must be positive.
+     * @param maximumMessageLength
+     *        The maximum length in bytes of a message body the transport layer
+     *        will accept from a peer; must be positive.
+     * @param dispatcherCount
+     *        The number of dispatchers among which the transport layer
+     *        distributes its connections; must be positive.
+     * @param outputQueueLowWatermark
+     *        The number of bytes waiting to be sent to a service peer at or
+     *        below which a congested output queue of the service is no longer
+     *        considered congested; must not be negative.
+     * @param outputQueueHighWatermark
+     *        The number of bytes waiting to be sent to a service peer above
+     *        which the output queue of the service is considered congested;
+     *        must be greater than {@code outputQueueLowWatermark}.
+     * @param compressionThreshold
+     *        The minimum length in bytes of a message body the transport layer
+     *        will attempt to compress; must be positive.
+     */
+    TcpTransportLayerConfiguration(
+        final int[] byteBufferPoolCapacities,
+        final boolean isByteBufferPoolDirect,
+        final int byteBufferPoolMemory,
+        final int maximumMessageLength,
+        final int dispatcherCount,
+        final int outputQueueLowWatermark,
+        final int outputQueueHighWatermark,
+        final int compressionThreshold )
+    {
+        assert byteBufferPoolCapacities.length > 0;
+        assert byteBufferPoolMemory > 0;
+        assert maximumMessageLength > 0;
+        assert dispatcherCount > 0;
+        assert outputQueueLowWatermark >= 0;
+        assert outputQueueHighWatermark > outputQueueLowWatermark;
+        assert compressionThreshold > 0;
+
+        byteBufferPoolCapacities_ = Arrays.copyOf( byteBufferPoolCapacities, byteBufferPoolCapacities.length );
+        byteBufferPoolMemory_ = byteBufferPoolMemory;
+        compressionThreshold_ = compressionThreshold;
+        dispatcherCount_ = dispatcherCount;
+        isByteBufferPoolDirect_ = isByteBufferPoolDirect;
+        maximumMessageLength_ = maximumMessageLength;
+        outputQueueHighWatermark_ = outputQueueHighWatermark;
+        outputQueueLowWatermark_ = outputQueueLowWatermark;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new byte buffer pool based on this configuration.
+     * 
+     * @return A new byte buffer pool.
+     */
+    ByteBufferPool createByteBufferPool()
+    {
+        return new ByteBufferPool( byteBufferPoolCapacities_, isByteBufferPoolDirect_, byteBufferPoolMemory_ );
+    }
+
+    /**
+     * Gets the capacities of the size classes managed by the transport layer
+     * byte buffer pool.
+     * 
+     * @return The capacities in bytes of the size classes managed by the
+     *         transport layer byte buffer pool. The returned array is a copy
+     *         and may be modified by the caller.
+     */
+    public int[] getByteBufferPoolCapacities()
+    {
+        return Arrays.copyOf( byteBufferPoolCapacities_, byteBufferPoolCapacities_.length );
+    }
+
+    /**
+     * Gets the maximum amount of memory the transport layer byte buffer pool
+     * may retain.
+     * 
+     * <p>
+     * Byte buffers returned to the pool in excess of this amount are released
+     * for garbage collection.
+     * </p>
+     * 
+     * @return The maximum amount of memory in bytes the transport layer byte
+     *         buffer pool may retain.
+     */
+    public int getByteBufferPoolMemory()
+    {
+        return byteBufferPoolMemory_;
+    }
+
+    /**
+     * Gets the minimum length of a message body the transport layer will
+     * attempt to compress.
+     * 
+     * <p>
+     * Message bodies are only compressed for service peers that support
+     * compressed messages. Compressing short message bodies rarely reduces
+     * their length enough to be worth the effort.
+     * </p>
+     * 
+     * @return The minimum length in bytes of a message body the transport
+     *         layer will attempt to compress.
+     */
+    public int getCompressionThreshold()
+    {
+        return compressionThreshold_;
+    }
+
+    /**
+     * Gets the number of dispatchers among which the transport layer
+     * distributes its connections.
+     * 
+     * <p>
+     * Each dispatcher selects events on its own thread and owns its own byte
+     * buffer pool. A transport layer that accepts many connections may use
+     * one dispatcher per available processor.
+     * </p>
+     * 
+     * @return The number of dispatchers among which the transport layer
+     *         distributes its connections.
+     */
+    public int getDispatcherCount()
+    {
+        return dispatcherCount_;
+    }
+
+    /**
+     * Gets the maximum length of a message body the transport layer will
+     * accept from a peer.
+     * 
+     * <p>
+     * Messages whose body exceeds the maximum length of a single message
+     * envelope are transferred in fragments and reassembled by the receiver.
+     * This value bounds the memory a peer can force the receiver to allocate
+     * for such a message.
+     * </p>
+     * 
+     * @return The maximum length in bytes of a message body the transport
+     *         layer will accept from a peer.
+     */
+    public int getMaximumMessageLength()
+    {
+        return maximumMessageLength_;
+    }
+
+    /**
+     * Gets the number of bytes waiting to be sent to a service peer above
+     * which the output queue of the service is considered congested.
+     * 
+     * <p>
+     * The service is notified when its output queue becomes congested so it
+     * may stop sending messages that will be superseded before they can be
+     * delivered to a slow peer.
+     * </p>
+     * 
+     * @return The number of bytes waiting to be sent to a service peer above
+     *         which the output queue of the service is considered congested.
+     */
+    public int getOutputQueueHighWatermark()
+    {
+        return outputQueueHighWatermark_;
+    }
+
+    /**
+     * Gets the number of bytes waiting to be sent to a service peer at or
+     * below which a congested output queue of the service is no longer
+     * considered congested.
+     * 
+     * @return The number of bytes waiting to be sent to a service peer at or
+     *         below which a congested output queue of the service is no longer
+     *         considered congested.
+     */
+    public int getOutputQueueLowWatermark()
+    {
+        return outputQueueLowWatermark_;
+    }
+
+    /**
+     * Indicates the transport layer byte buffer pool creates direct byte
+     * buffers.
+     * 
+     * @return {@code true} if the transport layer byte buffer pool creates
+     *         direct byte buffers; {@code false} if it creates heap byte
+     *         buffers.
+     */
+    public boolean isByteBufferPoolDirect()
+    {
+        return isByteBufferPoolDirect_;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * TcpTransportLayerConfigurationBuilder.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 9:20:05 AM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.tcp;
+
+import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
+import java.util.Arrays;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A factory for creating instances of {@link TcpTransportLayerConfiguration}.
+ */
+@NotThreadSafe
+public final class TcpTransportLayerConfigurationBuilder
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The default capacities in bytes of the size classes managed by the
+     * transport layer byte buffer pool.
+     */
+    private static final int[] DEFAULT_BYTE_BUFFER_POOL_CAPACITIES = new int[] {
+        4 * 1024, //
+        16 * 1024, //
+        64 * 1024
+    };
+
+    /**
+     * The default maximum amount of memory in bytes the transport layer byte
+     * buffer pool may retain.
+     */
+    private static final int DEFAULT_BYTE_BUFFER_POOL_MEMORY = 4 * 1024 * 1024;
+
+    /**
+     * The default minimum length in bytes of a message body the transport
+     * layer will attempt to compress.
+     */
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    /**
+     * The default number of dispatchers among which the transport layer
+     * distributes its connections.
+     */
+    private static final int DEFAULT_DISPATCHER_COUNT = 1;
+
+    /**
+     * The default maximum length in bytes of a message body the transport
+     * layer will accept from a peer.
+     */
+    private static final int DEFAULT_MAXIMUM_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The default number of bytes waiting to be sent to a service peer above
+     * which the output queue of the service is considered congested.
+     */
+    private static final int DEFAULT_OUTPUT_QUEUE_HIGH_WATERMARK = 1024 * 1024;
+
+    /**
+     * The default number of bytes waiting to be sent to a service peer at or
+     * below which a congested output queue of the service is no longer
+     * considered congested.
+     */
+    private static final int DEFAULT_OUTPUT_QUEUE_LOW_WATERMARK = 256 * 1024;
+
+    /**
+     * The capacities in bytes of the size classes managed by the transport
+     * layer byte buffer pool.
+     */
+    private int[] byteBufferPoolCapacities_;
+
+    /**
+     * The maximum amount of memory in bytes the transport layer byte buffer
+     * pool may retain.
+     */
+    private int byteBufferPoolMemory_;
+
+    /**
+     * The minimum length in bytes of a message body the transport layer will
+     * attempt to compress.
+     */
+    private int compressionThreshold_;
+
+    /**
+     * The number of dispatchers among which the transport layer distributes
+     * its connections.
+     */
+    private int dispatcherCount_;
+
+    /**
+     * Indicates the transport layer byte buffer pool creates direct byte
+     * buffers.
+     */
+    private boolean isByteBufferPoolDirect_;
+
+    /**
+     * The maximum length in bytes of a message body the transport layer will
+     * accept from a peer.
+     */
+    private int maximumMessageLength_;
+
+    /**
+     * The number of bytes waiting to be sent to a service peer above which
+     * the output queue of the service is considered congested.
+     */
+    private int outputQueueHighWatermark_;
+
+    /**
+     * The number of bytes waiting to be sent to a service peer at or below
+     * which a congested output queue of the service is no longer considered
+     * congested.
+     */
+    private int outputQueueLowWatermark_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the
+     * {@code TcpTransportLayerConfigurationBuilder} class.
+     */
+    public TcpTransportLayerConfigurationBuilder()
+    {
+        byteBufferPoolCapacities_ = DEFAULT_BYTE_BUFFER_POOL_CAPACITIES;
+        byteBufferPoolMemory_ = DEFAULT_BYTE_BUFFER_POOL_MEMORY;
+        compressionThreshold_ = DEFAULT_COMPRESSION_THRESHOLD;
+        dispatcherCount_ = DEFAULT_DISPATCHER_COUNT;
+        isByteBufferPoolDirect_ = true;
+        maximumMessageLength_ = DEFAULT_MAXIMUM_MESSAGE_LENGTH;
+        outputQueueHighWatermark_ = DEFAULT_OUTPUT_QUEUE_HIGH_WATERMARK;
+        outputQueueLowWatermark_ = DEFAULT_OUTPUT_QUEUE_LOW_WATERMARK;
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Sets the capacities of the size classes managed by the transport layer
+     * byte buffer pool.
+     * 
+     * @param byteBufferPoolCapacities
+     *        The capacities in bytes of the size classes managed by the
+     *        transport layer byte buffer pool.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code byteBufferPoolCapacities} is empty or contains a value
+     *         that is not positive.
+     */
+    public TcpTransportLayerConfigurationBuilder setByteBufferPoolCapacities(
+        final int... byteBufferPoolCapacities )
+    {
+        assertArgumentLegal( byteBufferPoolCapacities.length > 0, "byteBufferPoolCapacities" ); //$NON-NLS-1$
+        for( final int byteBufferPoolCapacity : byteBufferPoolCapacities )
+        {
+            assertArgumentLegal( byteBufferPoolCapacity > 0, "byteBufferPoolCapacities" ); //$NON-NLS-1$
+        }
+
+        byteBufferPoolCapacities_ = Arrays.copyOf( byteBufferPoolCapacities, byteBufferPoolCapacities.length );
+
+        return this;
+    }
+
+    /**
+     * Sets a value indicating the transport layer byte buffer pool creates
+     * direct byte buffers.
+     * 
+     * @param isByteBufferPoolDirect
+     *        {@code true} if the transport layer byte buffer pool creates
+     *        direct byte buffers; {@code false} if it creates heap byte
+     *        buffers.
+     * 
+     * @return A reference to this builder.
+     */
+    public TcpTransportLayerConfigurationBuilder setByteBufferPoolDirect(
+        final boolean isByteBufferPoolDirect )
+    {
+        isByteBufferPoolDirect_ = isByteBufferPoolDirect;
+
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of memory the transport layer byte buffer pool
+     * may retain.
+     * 
+     * @param byteBufferPoolMemory
+     *        The maximum amount of memory in bytes the transport layer byte
+     *        buffer pool may retain.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code byteBufferPoolMemory} is not positive.
+     */
+    public TcpTransportLayerConfigurationBuilder setByteBufferPoolMemory(
+        final int byteBufferPoolMemory )
+    {
+        assertArgumentLegal( byteBufferPoolMemory > 0, "byteBufferPoolMemory" ); //$NON-NLS-1$
+
+        byteBufferPoolMemory_ = byteBufferPoolMemory;
+
+        return this;
+    }
+
+    /**
+     * Sets the minimum length of a message body the transport layer will
+     * attempt to compress.
+     * 
+     * @param compressionThreshold
+     *        The minimum length in bytes of a message body the transport layer
+     *        will attempt to compress.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code compressionThreshold} is not positive.
+     */
+    public TcpTransportLayerConfigurationBuilder setCompressionThreshold(
+        final int compressionThreshold )
+    {
+        assertArgumentLegal( compressionThreshold > 0, "compressionThreshold" ); //$NON-NLS-1$
+
+        compressionThreshold_ = compressionThreshold;
+
+        return this;
+    }
+
+    /**
+     * Sets the number of dispatchers among which the transport layer
+     * distributes its connections.
+     * 
+     * @param dispatcherCount
+     *        The number of dispatchers among which the transport layer
+     *        distributes its connections.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code dispatcherCount} is not positive.
+     */
+    public TcpTransportLayerConfigurationBuilder setDispatcherCount(
+        final int dispatcherCount )
+    {
+        assertArgumentLegal( dispatcherCount > 0, "dispatcherCount" ); //$NON-NLS-1$
+
+        dispatcherCount_ = dispatcherCount;
+
+        return this;
+    }
+
+    /**
+     * Sets the maximum length of a message body the transport layer will
+     * accept from a peer.
+     * 
+     * @param maximumMessageLength
+     *        The maximum length in bytes of a message body the transport layer
+     *        will accept from a peer.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code maximumMessageLength} is not positive.
+     */
+    public TcpTransportLayerConfigurationBuilder setMaximumMessageLength(
+        final int maximumMessageLength )
+    {
+        assertArgumentLegal( maximumMessageLength > 0, "maximumMessageLength" ); //$NON-NLS-1$
+
+        maximumMessageLength_ = maximumMessageLength;
+
+        return this;
+    }
+
+    /**
+     * Sets the watermarks that determine when the output queue of a service
+     * is considered congested.
+     * 
+     * @param outputQueueLowWatermark
+     *        The number of bytes waiting to be sent to a service peer at or
+     *        below which a congested output queue of the service is no longer
+     *        considered congested.
+     * @param outputQueueHighWatermark
+     *        The number of bytes waiting to be sent to a service peer above
+     *        which the output queue of the service is considered congested.
+     * 
+     * @return A reference to this builder.
+     * 
+     * @throws java.lang.IllegalArgumentException
+     *         If {@code outputQueueLowWatermark} is negative or if
+     *         {@code outputQueueHighWatermark} is not greater than
+     *         {@code outputQueueLowWatermark}.
+     */
+    public TcpTransportLayerConfigurationBuilder setOutputQueueWatermarks(
+        final int outputQueueLowWatermark,
+        final int outputQueueHighWatermark )
+    {
+        assertArgumentLegal( outputQueueLowWatermark >= 0, "outputQueueLowWatermark" ); //$NON-NLS-1$
+        assertArgumentLegal( outputQueueHighWatermark > outputQueueLowWatermark, "outputQueueHighWatermark" ); //$NON-NLS-1$
+
+        outputQueueHighWatermark_ = outputQueueHighWatermark;
+        outputQueueLowWatermark_ = outputQueueLowWatermark;
+
+        return this;
+    }
+
+    /**
+     * Creates a new TCP transport layer configuration based on the state of
+     * this builder.
+     * 
+     * @return A new TCP transport layer configuration.
+     */
+    public TcpTransportLayerConfiguration toTcpTransportLayerConfiguration()
+    {
+        return new TcpTransportLayerConfiguration( byteBufferPoolCapacities_, isByteBufferPoolDirect_, byteBufferPoolMemory_, maximumMessageLength_, dispatcherCount_, outputQueueLowWatermark_, outputQueueHighWatermark_, compressionThreshold_ );
+    }
+}
@@ -34,15 +34,38 @@ import org.gamegineer.table.internal.net.impl.transport.TransportException;
 public final class TcpTransportLayerFactory
     implements ITransportLayerFactory
 {
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The configuration of transport layers created by the factory. */
+    private final TcpTransportLayerConfiguration configuration_;
+
+
     // ======================================================================
     // Constructors
     // ======================================================================
 
     /**
-     * Initializes a new instance of the {@code TcpTransportLayerFactory}.
+     * Initializes a new instance of the {@code TcpTransportLayerFactory} using
+     * the default transport layer configuration.
      */
     public TcpTransportLayerFactory()
     {
+        this( new TcpTransportLayerConfigurationBuilder().toTcpTransportLayerConfiguration() );
+    }
+
+    /**
+     * Initializes a new instance of the {@code TcpTransportLayerFactory} using
+     * the specified transport layer configuration.
+     * 
+     * @param configuration
+     *        The configuration of transport layers created by the factory.
+     */
+    public TcpTransportLayerFactory(
+        final TcpTransportLayerConfiguration configuration )
+    {
+        configuration_ = configuration;
     }
 
 
@@ -58,7 +81,7 @@ public final class TcpTransportLayerFactory
         final ITransportLayerContext context )
         throws TransportException
     {
-        return createTransportLayer( new ActiveTransportLayer.Factory(), context );
+        return createTransportLayer( new ActiveTransportLayer.Factory( configuration_ ), context );
     }
 
     /*
@@ -69,7 +92,7 @@ public final class TcpTransportLayerFactory
         final ITransportLayerContext context )
         throws TransportException
     {
-        return createTransportLayer( new PassiveTransportLayer.Factory(), context );
+        return createTransportLayer( new PassiveTransportLayer.Factory( configuration_ ), context );
     }
 
     /**
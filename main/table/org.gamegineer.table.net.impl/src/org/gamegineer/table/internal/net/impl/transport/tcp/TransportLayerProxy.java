@@ -31,6 +31,7 @@ import org.gamegineer.common.core.util.concurrent.SynchronousFuture;
 import org.gamegineer.common.core.util.concurrent.TaskUtils;
 import org.gamegineer.table.internal.net.impl.Activator;
 import org.gamegineer.table.internal.net.impl.transport.ITransportLayer;
+import org.gamegineer.table.internal.net.impl.transport.ITransportMetrics;
 import org.gamegineer.table.internal.net.impl.transport.TransportException;
 
 /**
@@ -224,4 +225,13 @@ final class TransportLayerProxy
             throw TaskUtils.launderThrowable( cause );
         }
     }
+
+    /*
+     * @see org.gamegineer.table.internal.net.impl.transport.ITransportLayer#getMetrics()
+     */
+    @Override
+    public ITransportMetrics getMetrics()
+    {
+        return actualTransportLayer_.getMetrics();
+    }
 }
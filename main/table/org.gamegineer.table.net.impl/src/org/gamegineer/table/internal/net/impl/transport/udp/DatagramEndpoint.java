@@ -0,0 +1,291 @@
+/*
+ * DatagramEndpoint.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 1:15:27 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.udp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.logging.Level;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.table.internal.net.impl.Debug;
+import org.gamegineer.table.internal.net.impl.Loggers;
+import org.gamegineer.table.internal.net.impl.transport.TransportException;
+
+/**
+ * An endpoint that sends and receives unreliable datagrams over UDP.
+ * 
+ * <p>
+ * Datagrams may be lost, duplicated, or delivered out of order. Each datagram
+ * received by the endpoint is passed to the endpoint handler on a dedicated
+ * daemon receiver thread.
+ * </p>
+ */
+@ThreadSafe
+public final class DatagramEndpoint
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /**
+     * The maximum length of a datagram in bytes.
+     * 
+     * <p>
+     * Datagrams no longer than this length fit within the minimum IPv4
+     * reassembly buffer size and so are not subject to fragmentation loss.
+     * </p>
+     */
+    public static final int MAXIMUM_DATAGRAM_LENGTH = 508;
+
+    /** The datagram channel. */
+    private final DatagramChannel channel_;
+
+    /** The endpoint handler. */
+    private final IDatagramHandler handler_;
+
+    /** The receiver thread. */
+    private final Thread receiverThread_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code DatagramEndpoint} class.
+     * 
+     * @param channel
+     *        The bound datagram channel.
+     * @param handler
+     *        The endpoint handler.
+     */
+    private DatagramEndpoint(
+        final DatagramChannel channel,
+        final IDatagramHandler handler )
+    {
+        channel_ = channel;
+        handler_ = handler;
+        receiverThread_ = new Thread( new Runnable()
+        {
+            @Override
+            @SuppressWarnings( "synthetic-access" )
+            public void run()
+            {
+                receive();
+            }
+        }, NonNlsMessages.DatagramEndpoint_receiverThread_name );
+        receiverThread_.setDaemon( true );
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Closes the endpoint.
+     * 
+     * <p>
+     * This method waits for the receiver thread to exit unless it is invoked
+     * on the receiver thread. This method does nothing if the endpoint is
+     * already closed.
+     * </p>
+     */
+    public void close()
+    {
+        try
+        {
+            channel_.close();
+        }
+        catch( final IOException e )
+        {
+            Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.DatagramEndpoint_close_ioError, e );
+        }
+
+        if( Thread.currentThread() != receiverThread_ )
+        {
+            try
+            {
+                receiverThread_.join();
+            }
+            catch( @SuppressWarnings( "unused" ) final InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gets the local port to which the endpoint is bound.
+     * 
+     * @return The local port to which the endpoint is bound or 0 if the
+     *         endpoint is closed.
+     */
+    public int getLocalPort()
+    {
+        return channel_.socket().getLocalPort();
+    }
+
+    /**
+     * Opens a new datagram endpoint bound to the specified local address.
+     * 
+     * @param hostName
+     *        The local host name to which the endpoint will be bound or
+     *        {@code null} to bind the endpoint to the wildcard address.
+     * @param port
+     *        The local port to which the endpoint will be bound or 0 to bind
+     *        the endpoint to an ephemeral port.
+     * @param handler
+     *        The endpoint handler.
+     * 
+     * @return A new datagram endpoint.
+     * 
+     * @throws org.gamegineer.table.internal.net.impl.transport.TransportException
+     *         If the endpoint cannot be opened.
+     */
+    public static DatagramEndpoint open(
+        final @Nullable String hostName,
+        final int port,
+        final IDatagramHandler handler )
+        throws TransportException
+    {
+        final InetSocketAddress address = (hostName != null) ? new InetSocketAddress( hostName, port ) : new InetSocketAddress( port );
+        if( address.isUnresolved() )
+        {
+            throw new TransportException( NonNlsMessages.DatagramEndpoint_open_addressUnresolved );
+        }
+
+        final DatagramChannel channel;
+        try
+        {
+            channel = DatagramChannel.open();
+        }
+        catch( final IOException e )
+        {
+            throw new TransportException( e );
+        }
+
+        try
+        {
+            channel.bind( address );
+        }
+        catch( final IOException e )
+        {
+            try
+            {
+                channel.close();
+            }
+            catch( @SuppressWarnings( "unused" ) final IOException e2 )
+            {
+                // ignore
+            }
+
+            throw new TransportException( e );
+        }
+
+        final DatagramEndpoint endpoint = new DatagramEndpoint( channel, handler );
+        endpoint.receiverThread_.start();
+        return endpoint;
+    }
+
+    /**
+     * Receives datagrams until the endpoint is closed.
+     * 
+     * <p>
+     * This method is invoked on the receiver thread.
+     * </p>
+     */
+    private void receive()
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate( MAXIMUM_DATAGRAM_LENGTH );
+        while( true )
+        {
+            buffer.clear();
+            final SocketAddress sourceAddress;
+            try
+            {
+                sourceAddress = channel_.receive( buffer );
+            }
+            catch( @SuppressWarnings( "unused" ) final ClosedChannelException e )
+            {
+                return;
+            }
+            catch( final IOException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.DatagramEndpoint_receive_ioError, e );
+                return;
+            }
+
+            if( sourceAddress == null )
+            {
+                continue;
+            }
+
+            buffer.flip();
+            try
+            {
+                handler_.datagramReceived( sourceAddress, buffer );
+            }
+            catch( final RuntimeException e )
+            {
+                Loggers.getDefaultLogger().log( Level.SEVERE, NonNlsMessages.DatagramEndpoint_receive_handlerError, e );
+            }
+        }
+    }
+
+    /**
+     * Sends the specified datagram to the specified address.
+     * 
+     * <p>
+     * Delivery is not guaranteed. Datagrams that cannot be sent are silently
+     * discarded.
+     * </p>
+     * 
+     * @param datagram
+     *        The datagram; the remaining bytes of the buffer are sent. The
+     *        buffer must not be longer than {@link #MAXIMUM_DATAGRAM_LENGTH}.
+     * @param targetAddress
+     *        The address of the datagram recipient.
+     * 
+     * @return {@code true} if the datagram was sent; otherwise {@code false}.
+     */
+    public boolean send(
+        final ByteBuffer datagram,
+        final SocketAddress targetAddress )
+    {
+        assert datagram.remaining() <= MAXIMUM_DATAGRAM_LENGTH;
+
+        try
+        {
+            return channel_.send( datagram, targetAddress ) > 0;
+        }
+        catch( final IOException e )
+        {
+            Debug.getDefault().trace( Debug.OPTION_DEFAULT, String.format( "Failed to send datagram to '%s' (%s)", targetAddress, e ) ); //$NON-NLS-1$
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * IDatagramHandler.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 1:13:51 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.udp;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * A handler of datagrams received by a datagram endpoint.
+ * 
+ * <p>
+ * Methods of this interface are invoked on the receiver thread of the datagram
+ * endpoint. Implementations must not block.
+ * </p>
+ */
+public interface IDatagramHandler
+{
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Invoked when a datagram has been received.
+     * 
+     * @param sourceAddress
+     *        The address of the datagram sender.
+     * @param datagram
+     *        The datagram; the buffer position is zero and its limit is the
+     *        length of the datagram. The buffer is reused for subsequent
+     *        datagrams after this method returns.
+     */
+    public void datagramReceived(
+        SocketAddress sourceAddress,
+        ByteBuffer datagram );
+}
@@ -0,0 +1,74 @@
+/*
+ * NonNlsMessages.java
+ * Copyright 2008-2015 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 1:16:02 PM.
+ */
+
+package org.gamegineer.table.internal.net.impl.transport.udp;
+
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * A utility class to manage non-localized messages for the package.
+ */
+@ThreadSafe
+final class NonNlsMessages
+    extends NLS
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    // --- DatagramEndpoint -------------------------------------------------
+
+    /** An I/O error occurred while closing the datagram channel. */
+    public static String DatagramEndpoint_close_ioError = ""; //$NON-NLS-1$
+
+    /** The local address could not be resolved. */
+    public static String DatagramEndpoint_open_addressUnresolved = ""; //$NON-NLS-1$
+
+    /** The endpoint handler threw an unexpected exception. */
+    public static String DatagramEndpoint_receive_handlerError = ""; //$NON-NLS-1$
+
+    /** An I/O error occurred while receiving a datagram. */
+    public static String DatagramEndpoint_receive_ioError = ""; //$NON-NLS-1$
+
+    /** The name of the receiver thread. */
+    public static String DatagramEndpoint_receiverThread_name = ""; //$NON-NLS-1$
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes the {@code NonNlsMessages} class.
+     */
+    static
+    {
+        NLS.initializeMessages( NonNlsMessages.class.getName(), NonNlsMessages.class );
+    }
+
+    /**
+     * Initializes a new instance of the {@code NonNlsMessages} class.
+     */
+    private NonNlsMessages()
+    {
+    }
+}
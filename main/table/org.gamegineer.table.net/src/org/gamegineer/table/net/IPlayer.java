@@ -48,6 +48,44 @@ public interface IPlayer
      */
     public Set<PlayerRole> getRoles();
 
+    /**
+     * Gets the smoothed round-trip time between the player and the table
+     * network host.
+     * 
+     * <p>
+     * The round-trip time of a remote player is as last reported by the table
+     * network host. The round-trip time of the player hosting the table network
+     * is always zero.
+     * </p>
+     * 
+     * <p>
+     * The default implementation returns {@code -1}.
+     * </p>
+     * 
+     * @return The smoothed round-trip time in nanoseconds or {@code -1} if the
+     *         round-trip time has not been measured.
+     */
+    public default long getRoundTripTime()
+    {
+        return -1L;
+    }
+
+    /**
+     * Gets the smoothed variation (jitter) of the round-trip time between the
+     * player and the table network host.
+     * 
+     * <p>
+     * The default implementation returns {@code -1}.
+     * </p>
+     * 
+     * @return The smoothed variation of the round-trip time in nanoseconds or
+     *         {@code -1} if the round-trip time has not been measured.
+     */
+    public default long getRoundTripTimeVariation()
+    {
+        return -1L;
+    }
+
     /**
      * Indicates the player has the specified role.
      * 
@@ -35,6 +35,18 @@ public final class TableNetworkConfiguration
     // Fields
     // ======================================================================
 
+    /**
+     * The interval, in milliseconds, between heartbeats sent to each remote
+     * node.
+     */
+    private final long heartbeatInterval_;
+
+    /**
+     * The time, in milliseconds, to wait for a heartbeat response before a
+     * remote node is considered unresponsive.
+     */
+    private final long heartbeatTimeout_;
+
     /** The name of the table network host. */
     private final String hostName_;
 
@@ -55,6 +67,32 @@ public final class TableNetworkConfiguration
     // Constructors
     // ======================================================================
 
+    /**
+     * Initializes a new instance of the {@code TableNetworkConfiguration} class
+     * using the default heartbeat settings.
+     * 
+     * @param hostName
+     *        The name of the table network host.
+     * @param port
+     *        The port of the table network host.
+     * @param password
+     *        The password used to authenticate connections to the table
+     *        network.
+     * @param localPlayerName
+     *        The name of the local player.
+     * @param localTable
+     *        The local table to attach to the table network.
+     */
+    public TableNetworkConfiguration(
+        final String hostName,
+        final int port,
+        final SecureString password,
+        final String localPlayerName,
+        final ITable localTable )
+    {
+        this( hostName, port, password, localPlayerName, localTable, TableNetworkConstants.DEFAULT_HEARTBEAT_INTERVAL, TableNetworkConstants.DEFAULT_HEARTBEAT_TIMEOUT );
+    }
+
     /**
      * Initializes a new instance of the {@code TableNetworkConfiguration}
      * class.
@@ -70,14 +108,26 @@ public final class TableNetworkConfiguration
      *        The name of the local player.
      * @param localTable
      *        The local table to attach to the table network.
+     * @param heartbeatInterval
+     *        The interval, in milliseconds, between heartbeats sent to each
+     *        remote node; a value less than or equal to zero disables
+     *        heartbeats.
+     * @param heartbeatTimeout
+     *        The time, in milliseconds, to wait for a heartbeat response before
+     *        a remote node is considered unresponsive; a value less than or
+     *        equal to zero disables the timeout.
      */
     public TableNetworkConfiguration(
         final String hostName,
         final int port,
         final SecureString password,
         final String localPlayerName,
-        final ITable localTable )
+        final ITable localTable,
+        final long heartbeatInterval,
+        final long heartbeatTimeout )
     {
+        heartbeatInterval_ = heartbeatInterval;
+        heartbeatTimeout_ = heartbeatTimeout;
         hostName_ = hostName;
         localPlayerName_ = localPlayerName;
         localTable_ = localTable;
@@ -90,6 +140,36 @@ public final class TableNetworkConfiguration
     // Methods
     // ======================================================================
 
+    /**
+     * Gets the interval between heartbeats sent to each remote node.
+     * 
+     * <p>
+     * Heartbeats are used to measure the round-trip time to each remote node
+     * and to detect remote nodes that have stopped responding.
+     * </p>
+     * 
+     * @return The interval, in milliseconds, between heartbeats sent to each
+     *         remote node; a value less than or equal to zero indicates
+     *         heartbeats are disabled.
+     */
+    public long getHeartbeatInterval()
+    {
+        return heartbeatInterval_;
+    }
+
+    /**
+     * Gets the time to wait for a heartbeat response before a remote node is
+     * considered unresponsive.
+     * 
+     * @return The time, in milliseconds, to wait for a heartbeat response
+     *         before a remote node is considered unresponsive; a value less
+     *         than or equal to zero indicates the timeout is disabled.
+     */
+    public long getHeartbeatTimeout()
+    {
+        return heartbeatTimeout_;
+    }
+
     /**
      * Gets the name of the table network host.
      * 
@@ -35,6 +35,18 @@ public final class TableNetworkConfigurationBuilder
     // Fields
     // ======================================================================
 
+    /**
+     * The interval, in milliseconds, between heartbeats sent to each remote
+     * node.
+     */
+    private long heartbeatInterval_;
+
+    /**
+     * The time, in milliseconds, to wait for a heartbeat response before a
+     * remote node is considered unresponsive.
+     */
+    private long heartbeatTimeout_;
+
     /** The name of the table network host. */
     private String hostName_;
 
@@ -65,6 +77,8 @@ public final class TableNetworkConfigurationBuilder
     public TableNetworkConfigurationBuilder(
         final ITable localTable )
     {
+        heartbeatInterval_ = TableNetworkConstants.DEFAULT_HEARTBEAT_INTERVAL;
+        heartbeatTimeout_ = TableNetworkConstants.DEFAULT_HEARTBEAT_TIMEOUT;
         hostName_ = "localhost"; //$NON-NLS-1$
         localPlayerName_ = "Player"; //$NON-NLS-1$
         localTable_ = localTable;
@@ -77,6 +91,43 @@ public final class TableNetworkConfigurationBuilder
     // Methods
     // ======================================================================
 
+    /**
+     * Sets the interval between heartbeats sent to each remote node.
+     * 
+     * @param heartbeatInterval
+     *        The interval, in milliseconds, between heartbeats sent to each
+     *        remote node; a value less than or equal to zero disables
+     *        heartbeats.
+     * 
+     * @return A reference to this builder.
+     */
+    public TableNetworkConfigurationBuilder setHeartbeatInterval(
+        final long heartbeatInterval )
+    {
+        heartbeatInterval_ = heartbeatInterval;
+
+        return this;
+    }
+
+    /**
+     * Sets the time to wait for a heartbeat response before a remote node is
+     * considered unresponsive.
+     * 
+     * @param heartbeatTimeout
+     *        The time, in milliseconds, to wait for a heartbeat response before
+     *        a remote node is considered unresponsive; a value less than or
+     *        equal to zero disables the timeout.
+     * 
+     * @return A reference to this builder.
+     */
+    public TableNetworkConfigurationBuilder setHeartbeatTimeout(
+        final long heartbeatTimeout )
+    {
+        heartbeatTimeout_ = heartbeatTimeout;
+
+        return this;
+    }
+
     /**
      * Sets the name of the table network host.
      * 
@@ -149,6 +200,6 @@ public final class TableNetworkConfigurationBuilder
      */
     public TableNetworkConfiguration toTableNetworkConfiguration()
     {
-        return new TableNetworkConfiguration( hostName_, port_, password_, localPlayerName_, localTable_ );
+        return new TableNetworkConfiguration( hostName_, port_, password_, localPlayerName_, localTable_, heartbeatInterval_, heartbeatTimeout_ );
     }
 }
@@ -33,6 +33,18 @@ public final class TableNetworkConstants
     // Fields
     // ======================================================================
 
+    /**
+     * The default interval, in milliseconds, between heartbeats sent to each
+     * remote node.
+     */
+    public static final long DEFAULT_HEARTBEAT_INTERVAL = 5000L;
+
+    /**
+     * The default time, in milliseconds, to wait for a heartbeat response
+     * before a remote node is considered unresponsive.
+     */
+    public static final long DEFAULT_HEARTBEAT_TIMEOUT = 15000L;
+
     /** The default table network port. */
     public static final int DEFAULT_PORT = 52112;
 
@@ -78,10 +78,11 @@ public final class ComponentPathProxy
     public ComponentPathProxy(
         final ComponentPath componentPath )
     {
-        indexes_ = componentPath.toList().stream() //
-            .filter( path -> !path.equals( ComponentPath.ROOT ) ) //
-            .mapToInt( ComponentPath::getIndex ) //
-            .toArray();
+        indexes_ = new int[ componentPath.getIndexCount() ];
+        for( int position = 0; position < indexes_.length; ++position )
+        {
+            indexes_[ position ] = componentPath.getIndex( position );
+        }
     }
 
 
@@ -0,0 +1,279 @@
+/*
+ * TableFileFormatTest.java
+ * Copyright 2008-2017 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 8:02:37 PM.
+ */
+
+package org.gamegineer.table.internal.ui.impl.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import org.gamegineer.common.persistence.serializable.ObjectStreams;
+import org.gamegineer.table.core.ComponentOrientation;
+import org.gamegineer.table.core.IComponent;
+import org.gamegineer.table.core.IContainer;
+import org.gamegineer.table.core.ITable;
+import org.gamegineer.table.core.ITableEnvironment;
+import org.gamegineer.table.core.SingleThreadedTableEnvironmentContext;
+import org.gamegineer.table.core.test.TestComponents;
+import org.gamegineer.table.core.test.TestContainerLayouts;
+import org.gamegineer.table.core.test.TestTableEnvironments;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A fixture for testing the {@link TableFileFormat} class.
+ */
+public final class TableFileFormatTest
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The table environment for use in the fixture. */
+    private Optional<ITableEnvironment> tableEnvironment_;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TableFileFormatTest} class.
+     */
+    public TableFileFormatTest()
+    {
+        tableEnvironment_ = Optional.empty();
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Creates a new table populated with a hierarchy of components.
+     * 
+     * @return A new table.
+     */
+    private ITable createPopulatedTable()
+    {
+        final ITableEnvironment tableEnvironment = getTableEnvironment();
+        final ITable table = tableEnvironment.createTable();
+        final IContainer container = TestComponents.createUniqueContainer( tableEnvironment );
+        container.setLayout( TestContainerLayouts.createHorizontalContainerLayout() );
+        container.setLocation( new Point( -50, 75 ) );
+        final IComponent component = TestComponents.createUniqueComponent( tableEnvironment );
+        final ComponentOrientation[] orientations = component.getSupportedOrientations().toArray( new ComponentOrientation[ 0 ] );
+        component.setOrientation( orientations[ orientations.length - 1 ] );
+        container.addComponents( Arrays.asList( component, TestComponents.createUniqueComponent( tableEnvironment ) ) );
+        final IComponent tabletopComponent = TestComponents.createUniqueComponent( tableEnvironment );
+        tabletopComponent.setLocation( new Point( 1000, 2000 ) );
+        table.getTabletop().addComponents( Arrays.asList( container, tabletopComponent ) );
+        return table;
+    }
+
+    /**
+     * Gets the table environment for use in the fixture.
+     * 
+     * @return The table environment for use in the fixture.
+     */
+    private ITableEnvironment getTableEnvironment()
+    {
+        return tableEnvironment_.get();
+    }
+
+    /**
+     * Sets up the test fixture.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Before
+    public void setUp()
+        throws Exception
+    {
+        tableEnvironment_ = Optional.of( TestTableEnvironments.createTableEnvironment( new SingleThreadedTableEnvironmentContext() ) );
+    }
+
+    /**
+     * Writes the specified table to a byte array using the table file format.
+     * 
+     * @param table
+     *        The table.
+     * 
+     * @return The byte array.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    private static byte[] writeTable(
+        final ITable table )
+        throws Exception
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        table.getTableEnvironment().getLock().lock();
+        try
+        {
+            TableFileFormat.writeTable( outputStream, table );
+        }
+        finally
+        {
+            table.getTableEnvironment().getLock().unlock();
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Ensures the {@link TableFileFormat#hasSignature} method returns
+     * {@code true} when passed a stream containing a table file.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testHasSignature_TableFile()
+        throws Exception
+    {
+        final InputStream inputStream = new BufferedInputStream( new ByteArrayInputStream( writeTable( createPopulatedTable() ) ) );
+
+        assertTrue( TableFileFormat.hasSignature( inputStream ) );
+    }
+
+    /**
+     * Ensures the {@link TableFileFormat#hasSignature} method returns
+     * {@code false} when passed a stream containing a table memento and does
+     * not change the stream position.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testHasSignature_TableMemento()
+        throws Exception
+    {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try( final ObjectOutputStream objectOutputStream = ObjectStreams.createPlatformObjectOutputStream( outputStream ) )
+        {
+            objectOutputStream.writeObject( getTableEnvironment().createTable().createMemento() );
+        }
+        final byte[] bytes = outputStream.toByteArray();
+        final InputStream inputStream = new BufferedInputStream( new ByteArrayInputStream( bytes ) );
+
+        final boolean hasSignature = TableFileFormat.hasSignature( inputStream );
+
+        assertFalse( hasSignature );
+        assertEquals( bytes[ 0 ] & 0xFF, inputStream.read() );
+    }
+
+    /**
+     * Ensures the {@link TableFileFormat#readTable} method throws an exception
+     * and does not modify the table when the stream is truncated.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testReadTable_Truncated()
+        throws Exception
+    {
+        final byte[] bytes = writeTable( createPopulatedTable() );
+        final ITable table = getTableEnvironment().createTable();
+        final IComponent component = TestComponents.createUniqueComponent( getTableEnvironment() );
+        table.getTabletop().addComponent( component );
+
+        try
+        {
+            TableFileFormat.readTable( new ByteArrayInputStream( Arrays.copyOf( bytes, bytes.length - 1 ) ), table );
+            fail( "expected IOException" ); //$NON-NLS-1$
+        }
+        catch( final IOException e )
+        {
+            assertEquals( Arrays.asList( component ), table.getTabletop().getComponents() );
+        }
+    }
+
+    /**
+     * Ensures the {@link TableFileFormat#readTable} method throws an exception
+     * when the format version is not supported.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test( expected = IOException.class )
+    public void testReadTable_UnsupportedVersion()
+        throws Exception
+    {
+        final byte[] bytes = writeTable( createPopulatedTable() );
+        bytes[ 7 ] = (byte)(TableFileFormat.CURRENT_VERSION + 1);
+
+        TableFileFormat.readTable( new ByteArrayInputStream( bytes ), getTableEnvironment().createTable() );
+    }
+
+    /**
+     * Ensures a table written using the {@link TableFileFormat#writeTable}
+     * method is restored by the {@link TableFileFormat#readTable} method.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWriteTable_ReadTable_RoundTrip()
+        throws Exception
+    {
+        final ITable expectedTable = createPopulatedTable();
+        final ITable actualTable = getTableEnvironment().createTable();
+        actualTable.getTabletop().addComponent( TestComponents.createUniqueComponent( getTableEnvironment() ) );
+
+        TableFileFormat.readTable( new ByteArrayInputStream( writeTable( expectedTable ) ), actualTable );
+
+        assertEquals( expectedTable.createMemento(), actualTable.createMemento() );
+    }
+
+    /**
+     * Ensures the {@link TableFileFormat#writeTable} method writes a table
+     * file that is smaller than the equivalent table memento.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testWriteTable_SmallerThanTableMemento()
+        throws Exception
+    {
+        final ITable table = createPopulatedTable();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try( final ObjectOutputStream objectOutputStream = ObjectStreams.createPlatformObjectOutputStream( outputStream ) )
+        {
+            objectOutputStream.writeObject( table.createMemento() );
+        }
+
+        assertTrue( (writeTable( table ).length * 2) < outputStream.size() );
+    }
+}
@@ -30,7 +30,9 @@ import static org.junit.Assert.assertTrue;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -39,10 +41,13 @@ import java.util.Optional;
 import org.easymock.EasyMock;
 import org.easymock.IMocksControl;
 import org.eclipse.jdt.annotation.NonNull;
+import org.gamegineer.common.persistence.serializable.ObjectStreams;
 import org.gamegineer.table.core.ComponentPath;
 import org.gamegineer.table.core.ComponentStrategyId;
 import org.gamegineer.table.core.IComponent;
 import org.gamegineer.table.core.IContainer;
+import org.gamegineer.table.core.ITable;
+import org.gamegineer.table.core.ITableEnvironment;
 import org.gamegineer.table.core.SingleThreadedTableEnvironmentContext;
 import org.gamegineer.table.core.test.TestTableEnvironments;
 import org.gamegineer.table.net.test.TestTableNetworks;
@@ -1100,6 +1105,32 @@ public final class TableModelTest
         niceMocksControl.verify();
     }
 
+    /**
+     * Ensures the {@link TableModel#open(File)} method opens a file written
+     * using the table memento format.
+     * 
+     * @throws java.lang.Exception
+     *         If an error occurs.
+     */
+    @Test
+    public void testOpenFromFile_TableMementoFormat()
+        throws Exception
+    {
+        final TableModel tableModel = getTableModel();
+        final ITableEnvironment tableEnvironment = getTableEnvironmentModel().getTableEnvironment();
+        final ITable table = tableEnvironment.createTable();
+        table.getTabletop().addComponent( org.gamegineer.table.core.test.TestComponents.createUniqueComponent( tableEnvironment ) );
+        final File file = createTemporaryFile();
+        try( final ObjectOutputStream outputStream = ObjectStreams.createPlatformObjectOutputStream( new FileOutputStream( file ) ) )
+        {
+            outputStream.writeObject( table.createMemento() );
+        }
+
+        tableModel.open( file );
+
+        assertEquals( table.createMemento(), tableModel.getTable().createMemento() );
+    }
+
     /**
      * Ensures a table model focus changed event is fired if the component model
      * with the focus is removed from the table model.
@@ -292,9 +292,12 @@ public final class ContainerModel
     /**
      * Gets the component model in this container model at the specified path.
      * 
-     * @param paths
-     *        The collection of constituent component paths of the overall
-     *        component path; must not be empty.
+     * @param path
+     *        The overall component path.
+     * @param position
+     *        The position within the overall component path of the index of
+     *        the component model in this container model; must be less than
+     *        {@code path.getIndexCount()}.
      * 
      * @return The component model in this container model at the specified path
      *         or {@code null} if no component model exists at the specified
@@ -302,22 +305,22 @@ public final class ContainerModel
      */
     @GuardedBy( "getLock()" )
     @Nullable ComponentModel getComponentModel(
-        final List<ComponentPath> paths )
+        final ComponentPath path,
+        final int position )
     {
-        assert !paths.isEmpty();
+        assert position < path.getIndexCount();
         assert getLock().isHeldByCurrentThread();
 
-        final ComponentPath path = paths.get( 0 );
-        final ComponentModel componentModel = getComponentModel( path.getIndex() );
+        final ComponentModel componentModel = getComponentModel( path.getIndex( position ) );
         if( componentModel != null )
         {
-            if( paths.size() == 1 )
+            if( position == (path.getIndexCount() - 1) )
             {
                 return componentModel;
             }
             else if( componentModel instanceof ContainerModel )
             {
-                return ((ContainerModel)componentModel).getComponentModel( paths.subList( 1, paths.size() ) );
+                return ((ContainerModel)componentModel).getComponentModel( path, position + 1 );
             }
         }
 
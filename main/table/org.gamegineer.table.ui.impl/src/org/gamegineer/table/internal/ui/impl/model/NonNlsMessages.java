@@ -144,6 +144,35 @@ final class NonNlsMessages
     /** The table was created by a different table environment. */
     public static String TableEnvironmentModel_createTableModel_tableCreatedByDifferentTableEnvironment = ""; //$NON-NLS-1$
 
+    // --- TableFileFormat --------------------------------------------------
+
+    /** The component memento does not contain a required attribute. */
+    public static String TableFileFormat_componentMemento_missingAttribute = ""; //$NON-NLS-1$
+
+    /** The component record kind is illegal. */
+    public static String TableFileFormat_readComponentRecord_illegalRecordKind = ""; //$NON-NLS-1$
+
+    /** The count is illegal. */
+    public static String TableFileFormat_readCount_illegalCount = ""; //$NON-NLS-1$
+
+    /** The component does not support the orientation. */
+    public static String TableFileFormat_readOrientation_unsupportedOrientation = ""; //$NON-NLS-1$
+
+    /** The string table index is illegal. */
+    public static String TableFileFormat_readString_illegalIndex = ""; //$NON-NLS-1$
+
+    /** The table file signature is illegal. */
+    public static String TableFileFormat_readTable_illegalSignature = ""; //$NON-NLS-1$
+
+    /** The tabletop record is not a container record. */
+    public static String TableFileFormat_readTable_illegalTabletop = ""; //$NON-NLS-1$
+
+    /** The table file contains data after the tabletop record. */
+    public static String TableFileFormat_readTable_trailingData = ""; //$NON-NLS-1$
+
+    /** The table file version is not supported. */
+    public static String TableFileFormat_readTable_unsupportedVersion = ""; //$NON-NLS-1$
+
     // --- TableModel -------------------------------------------------------
 
     /** The table model listener is already registered. */
@@ -152,8 +181,8 @@ final class NonNlsMessages
     /** The version control extension is not available. */
     public static String TableModel_getTableRevisionNumber_versionControlNotAvailable = ""; //$NON-NLS-1$
 
-    /** An error occurred while reading the table memento. */
-    public static String TableModel_readTableMemento_error = ""; //$NON-NLS-1$
+    /** An error occurred while reading the table. */
+    public static String TableModel_readTable_error = ""; //$NON-NLS-1$
 
     /** The table model listener is not registered. */
     public static String TableModel_removeTableModelListener_listener_notRegistered = ""; //$NON-NLS-1$
@@ -197,8 +226,8 @@ final class NonNlsMessages
      */
     public static String TableModel_tableModelOriginOffsetChanged_unexpectedException = ""; //$NON-NLS-1$
 
-    /** An error occurred while writing the table memento. */
-    public static String TableModel_writeTableMemento_error = ""; //$NON-NLS-1$
+    /** An error occurred while writing the table. */
+    public static String TableModel_writeTable_error = ""; //$NON-NLS-1$
 
 
     // ======================================================================
@@ -225,37 +254,120 @@ final class NonNlsMessages
     // Methods
     // ======================================================================
 
+    // --- TableFileFormat --------------------------------------------------
+
+    /**
+     * Gets the formatted message indicating the component record kind is
+     * illegal.
+     * 
+     * @param recordKind
+     *        The component record kind.
+     * 
+     * @return The formatted message indicating the component record kind is
+     *         illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String TableFileFormat_readComponentRecord_illegalRecordKind(
+        final int recordKind )
+    {
+        return bind( TableFileFormat_readComponentRecord_illegalRecordKind, recordKind );
+    }
+
+    /**
+     * Gets the formatted message indicating the count is illegal.
+     * 
+     * @param count
+     *        The count.
+     * 
+     * @return The formatted message indicating the count is illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String TableFileFormat_readCount_illegalCount(
+        final int count )
+    {
+        return bind( TableFileFormat_readCount_illegalCount, count );
+    }
+
+    /**
+     * Gets the formatted message indicating the component does not support the
+     * orientation.
+     * 
+     * @param orientationName
+     *        The name of the orientation.
+     * 
+     * @return The formatted message indicating the component does not support
+     *         the orientation.
+     */
+    static String TableFileFormat_readOrientation_unsupportedOrientation(
+        final String orientationName )
+    {
+        return bind( TableFileFormat_readOrientation_unsupportedOrientation, orientationName );
+    }
+
+    /**
+     * Gets the formatted message indicating the string table index is illegal.
+     * 
+     * @param index
+     *        The string table index.
+     * 
+     * @return The formatted message indicating the string table index is
+     *         illegal.
+     */
+    @SuppressWarnings( "boxing" )
+    static String TableFileFormat_readString_illegalIndex(
+        final int index )
+    {
+        return bind( TableFileFormat_readString_illegalIndex, index );
+    }
+
+    /**
+     * Gets the formatted message indicating the table file version is not
+     * supported.
+     * 
+     * @param version
+     *        The table file version.
+     * 
+     * @return The formatted message indicating the table file version is not
+     *         supported.
+     */
+    @SuppressWarnings( "boxing" )
+    static String TableFileFormat_readTable_unsupportedVersion(
+        final int version )
+    {
+        return bind( TableFileFormat_readTable_unsupportedVersion, version );
+    }
+
     // --- TableModel -------------------------------------------------------
 
     /**
      * Gets the formatted message indicating an error occurred while reading the
-     * table memento.
+     * table.
      * 
      * @param file
-     *        The file from which the table memento is read.
+     *        The file from which the table is read.
      * 
      * @return The formatted message indicating an error occurred while reading
-     *         the table memento.
+     *         the table.
      */
-    static String TableModel_readTableMemento_error(
+    static String TableModel_readTable_error(
         final File file )
     {
-        return bind( TableModel_readTableMemento_error, file.getAbsolutePath() );
+        return bind( TableModel_readTable_error, file.getAbsolutePath() );
     }
 
     /**
      * Gets the formatted message indicating an error occurred while writing the
-     * table memento.
+     * table.
      * 
      * @param file
-     *        The file to which the table memento is written.
+     *        The file to which the table is written.
      * 
      * @return The formatted message indicating an error occurred while writing
-     *         the table memento.
+     *         the table.
      */
-    static String TableModel_writeTableMemento_error(
+    static String TableModel_writeTable_error(
         final File file )
     {
-        return bind( TableModel_writeTableMemento_error, file.getAbsolutePath() );
+        return bind( TableModel_writeTable_error, file.getAbsolutePath() );
     }
 }
@@ -0,0 +1,1037 @@
+/*
+ * TableFileFormat.java
+ * Copyright 2008-2017 Gamegineer contributors and others.
+ * All rights reserved.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Created on Oct 17, 2026 at 7:41:08 PM.
+ */
+
+package org.gamegineer.table.internal.ui.impl.model;
+
+import java.awt.Point;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.NotThreadSafe;
+import net.jcip.annotations.ThreadSafe;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gamegineer.common.core.util.memento.IMementoVisitor;
+import org.gamegineer.common.core.util.memento.MementoException;
+import org.gamegineer.table.core.ComponentOrientation;
+import org.gamegineer.table.core.ComponentStrategyId;
+import org.gamegineer.table.core.ComponentStrategyRegistry;
+import org.gamegineer.table.core.ComponentSurfaceDesign;
+import org.gamegineer.table.core.ComponentSurfaceDesignId;
+import org.gamegineer.table.core.ComponentSurfaceDesignRegistry;
+import org.gamegineer.table.core.ContainerLayoutId;
+import org.gamegineer.table.core.ContainerLayoutRegistry;
+import org.gamegineer.table.core.IComponent;
+import org.gamegineer.table.core.IContainer;
+import org.gamegineer.table.core.ITable;
+import org.gamegineer.table.core.ITableEnvironment;
+import org.gamegineer.table.core.NoSuchComponentStrategyException;
+import org.gamegineer.table.core.NoSuchComponentSurfaceDesignException;
+import org.gamegineer.table.core.NoSuchContainerLayoutException;
+import org.gamegineer.table.core.TableMementoAttributeNames;
+
+/**
+ * A collection of methods for reading and writing tables using the binary
+ * table file format.
+ * 
+ * <p>
+ * A table file begins with a header consisting of a signature, a format
+ * version, and a table of every string referenced by the file (component
+ * strategy identifiers, component surface design identifiers, container
+ * layout identifiers, and component orientation names). The header is
+ * followed by one record for each component in the table in tree order,
+ * beginning with the tabletop. The records of the child components of a
+ * container follow the container record and are terminated by an end of
+ * components record, which is followed by the container layout. Each record
+ * refers to strings by their index in the string table.
+ * </p>
+ * 
+ * <p>
+ * Unlike the table memento format, tables are written by visiting the table
+ * memento and read directly into a new component hierarchy without building an
+ * intermediate memento.
+ * </p>
+ */
+@ThreadSafe
+final class TableFileFormat
+{
+    // ======================================================================
+    // Fields
+    // ======================================================================
+
+    /** The record kind that identifies a component. */
+    private static final int COMPONENT_RECORD_KIND = 0;
+
+    /** The record kind that identifies a container. */
+    private static final int CONTAINER_RECORD_KIND = 1;
+
+    /** The current format version. */
+    static final int CURRENT_VERSION = 1;
+
+    /** The record kind that terminates the child components of a container. */
+    private static final int END_OF_COMPONENTS_RECORD_KIND = 2;
+
+    /**
+     * The signature that begins every table file ({@code GTBL}). The signature
+     * cannot be confused with the stream header of a Java serialization stream.
+     */
+    static final int SIGNATURE = 0x4754424C;
+
+
+    // ======================================================================
+    // Constructors
+    // ======================================================================
+
+    /**
+     * Initializes a new instance of the {@code TableFileFormat} class.
+     */
+    private TableFileFormat()
+    {
+    }
+
+
+    // ======================================================================
+    // Methods
+    // ======================================================================
+
+    /**
+     * Indicates the specified stream is positioned at the beginning of a table
+     * file.
+     * 
+     * <p>
+     * The stream position is not changed by this method.
+     * </p>
+     * 
+     * @param inputStream
+     *        The input stream; must support the {@code mark} and {@code reset}
+     *        methods.
+     * 
+     * @return {@code true} if the specified stream is positioned at the
+     *         beginning of a table file; otherwise {@code false}.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs.
+     */
+    static boolean hasSignature(
+        final InputStream inputStream )
+        throws IOException
+    {
+        assert inputStream.markSupported();
+
+        inputStream.mark( 4 );
+        try
+        {
+            int signature = 0;
+            for( int index = 0; index < 4; ++index )
+            {
+                final int value = inputStream.read();
+                if( value == -1 )
+                {
+                    return false;
+                }
+
+                signature = (signature << 8) | value;
+            }
+
+            return signature == SIGNATURE;
+        }
+        finally
+        {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * Reads the state of a component from the specified stream into the
+     * specified component.
+     * 
+     * @param inputStream
+     *        The input stream.
+     * @param strings
+     *        The string table.
+     * @param component
+     *        The component that will receive the state read from the stream.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs or the stream is malformed.
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the stream does not represent a valid state for the
+     *         component.
+     */
+    private static void readComponent(
+        final DataInputStream inputStream,
+        final String[] strings,
+        final IComponent component )
+        throws IOException, MementoException
+    {
+        component.setLocation( new Point( inputStream.readInt(), inputStream.readInt() ) );
+        component.setOrigin( new Point( inputStream.readInt(), inputStream.readInt() ) );
+        component.setOrientation( readOrientation( inputStream, strings, component ) );
+
+        final int surfaceDesignCount = readCount( inputStream );
+        final Map<ComponentOrientation, ComponentSurfaceDesign> surfaceDesigns = new IdentityHashMap<>( surfaceDesignCount );
+        try
+        {
+            for( int index = 0; index < surfaceDesignCount; ++index )
+            {
+                final ComponentOrientation orientation = readOrientation( inputStream, strings, component );
+                surfaceDesigns.put( orientation, ComponentSurfaceDesignRegistry.getComponentSurfaceDesign( ComponentSurfaceDesignId.fromString( readString( inputStream, strings ) ) ) );
+            }
+        }
+        catch( final NoSuchComponentSurfaceDesignException e )
+        {
+            throw new MementoException( e );
+        }
+        component.setSurfaceDesigns( surfaceDesigns );
+
+        if( component instanceof IContainer )
+        {
+            final IContainer container = (IContainer)component;
+            final List<IComponent> components = new ArrayList<>();
+            for( int recordKind = inputStream.readUnsignedByte(); recordKind != END_OF_COMPONENTS_RECORD_KIND; recordKind = inputStream.readUnsignedByte() )
+            {
+                components.add( readComponentRecord( inputStream, recordKind, strings, container.getTableEnvironment() ) );
+            }
+
+            try
+            {
+                container.setLayout( ContainerLayoutRegistry.getContainerLayout( ContainerLayoutId.fromString( readString( inputStream, strings ) ) ) );
+            }
+            catch( final NoSuchContainerLayoutException e )
+            {
+                throw new MementoException( e );
+            }
+            container.addComponents( components );
+        }
+    }
+
+    /**
+     * Reads the remainder of a component record from the specified stream.
+     * 
+     * @param inputStream
+     *        The input stream.
+     * @param recordKind
+     *        The record kind that was read from the stream.
+     * @param strings
+     *        The string table.
+     * @param tableEnvironment
+     *        The table environment used to create the component.
+     * 
+     * @return A new component whose state was read from the stream.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs or the stream is malformed.
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the stream does not represent a valid component.
+     */
+    private static IComponent readComponentRecord(
+        final DataInputStream inputStream,
+        final int recordKind,
+        final String[] strings,
+        final ITableEnvironment tableEnvironment )
+        throws IOException, MementoException
+    {
+        final ComponentStrategyId strategyId = ComponentStrategyId.fromString( readString( inputStream, strings ) );
+        final IComponent component;
+        try
+        {
+            switch( recordKind )
+            {
+                case COMPONENT_RECORD_KIND:
+                    component = tableEnvironment.createComponent( ComponentStrategyRegistry.getComponentStrategy( strategyId ) );
+                    break;
+
+                case CONTAINER_RECORD_KIND:
+                    component = tableEnvironment.createContainer( ComponentStrategyRegistry.getContainerStrategy( strategyId ) );
+                    break;
+
+                default:
+                    throw new IOException( NonNlsMessages.TableFileFormat_readComponentRecord_illegalRecordKind( recordKind ) );
+            }
+        }
+        catch( final NoSuchComponentStrategyException e )
+        {
+            throw new MementoException( e );
+        }
+
+        readComponent( inputStream, strings, component );
+        return component;
+    }
+
+    /**
+     * Reads a count from the specified stream.
+     * 
+     * @param inputStream
+     *        The input stream.
+     * 
+     * @return The count.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs or the count is negative.
+     */
+    private static int readCount(
+        final DataInputStream inputStream )
+        throws IOException
+    {
+        final int count = inputStream.readInt();
+        if( count < 0 )
+        {
+            throw new IOException( NonNlsMessages.TableFileFormat_readCount_illegalCount( count ) );
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads a component orientation from the specified stream.
+     * 
+     * <p>
+     * Orientations are stored by name and resolved against the orientations
+     * supported by the component so that the orientation types need not be
+     * accessible to this bundle.
+     * </p>
+     * 
+     * @param inputStream
+     *        The input stream.
+     * @param strings
+     *        The string table.
+     * @param component
+     *        The component that supports the orientation.
+     * 
+     * @return The component orientation.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs or the stream is malformed.
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the component does not support the orientation.
+     */
+    private static ComponentOrientation readOrientation(
+        final DataInputStream inputStream,
+        final String[] strings,
+        final IComponent component )
+        throws IOException, MementoException
+    {
+        final String name = readString( inputStream, strings );
+        for( final ComponentOrientation orientation : component.getSupportedOrientations() )
+        {
+            if( orientation.name().equals( name ) )
+            {
+                return orientation;
+            }
+        }
+
+        throw new MementoException( NonNlsMessages.TableFileFormat_readOrientation_unsupportedOrientation( name ) );
+    }
+
+    /**
+     * Reads a string reference from the specified stream.
+     * 
+     * @param inputStream
+     *        The input stream.
+     * @param strings
+     *        The string table.
+     * 
+     * @return The referenced string.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs or the reference is illegal.
+     */
+    private static String readString(
+        final DataInputStream inputStream,
+        final String[] strings )
+        throws IOException
+    {
+        final int index = inputStream.readInt();
+        if( (index < 0) || (index >= strings.length) )
+        {
+            throw new IOException( NonNlsMessages.TableFileFormat_readString_illegalIndex( index ) );
+        }
+
+        return strings[ index ];
+    }
+
+    /**
+     * Reads a table from the specified stream into the specified table.
+     * 
+     * <p>
+     * The table is not modified if the stream cannot be read.
+     * </p>
+     * 
+     * @param inputStream
+     *        The input stream; it is not closed.
+     * @param table
+     *        The table that will receive the state read from the stream.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs or the stream is malformed.
+     * @throws org.gamegineer.common.core.util.memento.MementoException
+     *         If the stream does not represent a valid table.
+     */
+    static void readTable(
+        final InputStream inputStream,
+        final ITable table )
+        throws IOException, MementoException
+    {
+        final DataInputStream dataInputStream = new DataInputStream( inputStream );
+        if( dataInputStream.readInt() != SIGNATURE )
+        {
+            throw new IOException( NonNlsMessages.TableFileFormat_readTable_illegalSignature );
+        }
+
+        final int version = dataInputStream.readInt();
+        if( version != CURRENT_VERSION )
+        {
+            throw new IOException( NonNlsMessages.TableFileFormat_readTable_unsupportedVersion( version ) );
+        }
+
+        final String[] strings = new String[ readCount( dataInputStream ) ];
+        for( int index = 0; index < strings.length; ++index )
+        {
+            strings[ index ] = dataInputStream.readUTF();
+        }
+
+        // The tabletop strategy is fixed by the table and is not restored
+        if( dataInputStream.readUnsignedByte() != CONTAINER_RECORD_KIND )
+        {
+            throw new IOException( NonNlsMessages.TableFileFormat_readTable_illegalTabletop );
+        }
+        readString( dataInputStream, strings );
+
+        final ITableEnvironment tableEnvironment = table.getTableEnvironment();
+        final IContainer tabletop = table.getTabletop();
+        final IContainer newTabletop = tableEnvironment.createContainer( tabletop.getStrategy() );
+        readComponent( dataInputStream, strings, newTabletop );
+        if( dataInputStream.read() != -1 )
+        {
+            throw new IOException( NonNlsMessages.TableFileFormat_readTable_trailingData );
+        }
+
+        tableEnvironment.getLock().lock();
+        try
+        {
+            table.runBatch( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    tabletop.removeAllComponents();
+                    tabletop.setLocation( newTabletop.getLocation() );
+                    tabletop.setOrigin( newTabletop.getOrigin() );
+                    tabletop.setOrientation( newTabletop.getOrientation() );
+                    tabletop.setSurfaceDesigns( newTabletop.getSurfaceDesigns() );
+                    tabletop.setLayout( newTabletop.getLayout() );
+                    tabletop.addComponents( newTabletop.removeAllComponents() );
+                }
+            } );
+        }
+        finally
+        {
+            tableEnvironment.getLock().unlock();
+        }
+    }
+
+
+    /**
+     * Writes the specified table to the specified stream.
+     * 
+     * <p>
+     * The table is written by visiting its memento twice: once to build the
+     * string table and once to write the component records.
+     * </p>
+     * 
+     * @param outputStream
+     *        The output stream; it is flushed but not closed.
+     * @param table
+     *        The table.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs.
+     */
+    @GuardedBy( "table.getTableEnvironment().getLock()" )
+    static void writeTable(
+        final OutputStream outputStream,
+        final ITable table )
+        throws IOException
+    {
+        assert table.getTableEnvironment().getLock().isHeldByCurrentThread();
+
+        final DataOutputStream dataOutputStream = new DataOutputStream( outputStream );
+        try
+        {
+            final StringTableBuilder stringTableBuilder = new StringTableBuilder();
+            table.acceptMementoVisitor( stringTableBuilder );
+            final Map<String, Integer> strings = stringTableBuilder.getStrings();
+
+            dataOutputStream.writeInt( SIGNATURE );
+            dataOutputStream.writeInt( CURRENT_VERSION );
+            dataOutputStream.writeInt( strings.size() );
+            for( final String string : strings.keySet() )
+            {
+                dataOutputStream.writeUTF( string );
+            }
+            table.acceptMementoVisitor( new ComponentRecordWriter( dataOutputStream, strings ) );
+        }
+        catch( final MementoException e )
+        {
+            final Throwable cause = e.getCause();
+            if( cause instanceof IOException )
+            {
+                throw (IOException)cause;
+            }
+
+            throw new IOException( e );
+        }
+        dataOutputStream.flush();
+    }
+
+
+    // ======================================================================
+    // Nested Types
+    // ======================================================================
+
+    /**
+     * A memento visitor that writes a component record for each component
+     * memento it visits.
+     * 
+     * <p>
+     * The record header of a component is written once the kind of the
+     * component is known: when the list of child components of a container
+     * begins or when the memento of a component ends. The layout of a
+     * container is written after its child component records. This writer
+     * depends on the order of events documented by
+     * {@link IContainer#acceptMementoVisitor(IMementoVisitor)}.
+     * </p>
+     */
+    @NotThreadSafe
+    private static final class ComponentRecordWriter
+        implements IMementoVisitor
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The output stream. */
+        private final DataOutputStream outputStream_;
+
+        /** The records of the mementos being visited. */
+        private final Deque<ComponentRecord> records_;
+
+        /**
+         * The string table. The key is the string; the value is the index of
+         * the string in the string table.
+         */
+        private final Map<String, Integer> strings_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code ComponentRecordWriter}
+         * class.
+         * 
+         * @param outputStream
+         *        The output stream.
+         * @param strings
+         *        The string table. The key is the string; the value is the
+         *        index of the string in the string table.
+         */
+        ComponentRecordWriter(
+            final DataOutputStream outputStream,
+            final Map<String, Integer> strings )
+        {
+            outputStream_ = outputStream;
+            records_ = new ArrayDeque<>();
+            strings_ = strings;
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMemento()
+         */
+        @Override
+        public void beginMemento()
+        {
+            records_.push( new ComponentRecord() );
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoAttribute(java.lang.String)
+         */
+        @Override
+        public void beginMementoAttribute(
+            @SuppressWarnings( "unused" )
+            final String name )
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoListAttribute(java.lang.String)
+         */
+        @Override
+        public void beginMementoListAttribute(
+            final String name )
+            throws MementoException
+        {
+            if( TableMementoAttributeNames.CONTAINER_COMPONENTS.equals( name ) )
+            {
+                writeRecordHeader( getRecord(), CONTAINER_RECORD_KIND );
+            }
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMemento()
+         */
+        @Override
+        public void endMemento()
+            throws MementoException
+        {
+            final ComponentRecord record = records_.pop();
+            if( record.strategyId == null )
+            {
+                return;
+            }
+
+            if( !record.isHeaderWritten )
+            {
+                writeRecordHeader( record, COMPONENT_RECORD_KIND );
+                return;
+            }
+
+            try
+            {
+                outputStream_.writeByte( END_OF_COMPONENTS_RECORD_KIND );
+                writeString( getAttributeValue( record.layoutId ).toString() );
+            }
+            catch( final IOException e )
+            {
+                throw new MementoException( e );
+            }
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoAttribute()
+         */
+        @Override
+        public void endMementoAttribute()
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoListAttribute()
+         */
+        @Override
+        public void endMementoListAttribute()
+        {
+            // do nothing
+        }
+
+        /**
+         * Gets the specified attribute value of a component memento.
+         * 
+         * @param <T>
+         *        The type of the attribute value.
+         * 
+         * @param value
+         *        The attribute value; may be {@code null}.
+         * 
+         * @return The attribute value.
+         * 
+         * @throws org.gamegineer.common.core.util.memento.MementoException
+         *         If {@code value} is {@code null}.
+         */
+        private static <T> T getAttributeValue(
+            final @Nullable T value )
+            throws MementoException
+        {
+            if( value == null )
+            {
+                throw new MementoException( NonNlsMessages.TableFileFormat_componentMemento_missingAttribute );
+            }
+
+            return value;
+        }
+
+        /**
+         * Gets the record of the memento being visited.
+         * 
+         * @return The record of the memento being visited.
+         */
+        private ComponentRecord getRecord()
+        {
+            final ComponentRecord record = records_.peek();
+            assert record != null;
+            return record;
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#visitAttribute(java.lang.String, java.lang.Object)
+         */
+        @Override
+        public void visitAttribute(
+            final String name,
+            final @Nullable Object value )
+            throws MementoException
+        {
+            final ComponentRecord record = getRecord();
+            try
+            {
+                switch( name )
+                {
+                    case TableMementoAttributeNames.CONTAINER_LAYOUT_ID:
+                        record.layoutId = (ContainerLayoutId)value;
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_LOCATION:
+                        record.location = (Point)value;
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_ORIENTATION:
+                        record.orientation = (ComponentOrientation)value;
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_ORIGIN:
+                        record.origin = (Point)value;
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_STRATEGY_ID:
+                        record.strategyId = (ComponentStrategyId)value;
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_SURFACE_DESIGN_IDS:
+                        record.surfaceDesignIds = (Map<?, ?>)value;
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+            catch( final ClassCastException e )
+            {
+                throw new MementoException( e );
+            }
+        }
+
+        /**
+         * Writes the header of the specified component record to the stream.
+         * 
+         * @param record
+         *        The component record.
+         * @param recordKind
+         *        The record kind.
+         * 
+         * @throws org.gamegineer.common.core.util.memento.MementoException
+         *         If an I/O error occurs or the record is incomplete.
+         */
+        private void writeRecordHeader(
+            final ComponentRecord record,
+            final int recordKind )
+            throws MementoException
+        {
+            assert !record.isHeaderWritten;
+
+            record.isHeaderWritten = true;
+            try
+            {
+                outputStream_.writeByte( recordKind );
+                writeString( getAttributeValue( record.strategyId ).toString() );
+                final Point location = getAttributeValue( record.location );
+                outputStream_.writeInt( location.x );
+                outputStream_.writeInt( location.y );
+                final Point origin = getAttributeValue( record.origin );
+                outputStream_.writeInt( origin.x );
+                outputStream_.writeInt( origin.y );
+                writeString( getAttributeValue( record.orientation ).name() );
+
+                final Map<?, ?> surfaceDesignIds = getAttributeValue( record.surfaceDesignIds );
+                outputStream_.writeInt( surfaceDesignIds.size() );
+                for( final Map.Entry<?, ?> entry : surfaceDesignIds.entrySet() )
+                {
+                    writeString( ((ComponentOrientation)entry.getKey()).name() );
+                    writeString( entry.getValue().toString() );
+                }
+            }
+            catch( final IOException | ClassCastException e )
+            {
+                throw new MementoException( e );
+            }
+        }
+
+        /**
+         * Writes a reference to the specified string to the stream.
+         * 
+         * @param string
+         *        The string.
+         * 
+         * @throws java.io.IOException
+         *         If an I/O error occurs.
+         */
+        private void writeString(
+            final String string )
+            throws IOException
+        {
+            final Integer index = strings_.get( string );
+            assert index != null;
+            outputStream_.writeInt( index.intValue() );
+        }
+    }
+
+    /**
+     * The attributes of a component memento that are written to a component
+     * record.
+     */
+    @NotThreadSafe
+    private static final class ComponentRecord
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /** The container layout identifier or {@code null} if not visited. */
+        @Nullable
+        ContainerLayoutId layoutId;
+
+        /** The component location or {@code null} if not visited. */
+        @Nullable
+        Point location;
+
+        /** The component orientation or {@code null} if not visited. */
+        @Nullable
+        ComponentOrientation orientation;
+
+        /** The component origin or {@code null} if not visited. */
+        @Nullable
+        Point origin;
+
+        /** Indicates the record header has been written. */
+        boolean isHeaderWritten;
+
+        /**
+         * The component strategy identifier or {@code null} if not visited. A
+         * memento that does not have a component strategy identifier is not a
+         * component memento.
+         */
+        @Nullable
+        ComponentStrategyId strategyId;
+
+        /**
+         * The component surface design identifiers or {@code null} if not
+         * visited.
+         */
+        @Nullable
+        Map<?, ?> surfaceDesignIds;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code ComponentRecord} class.
+         */
+        ComponentRecord()
+        {
+        }
+    }
+
+    /**
+     * A memento visitor that builds the string table of a table file.
+     */
+    @NotThreadSafe
+    private static final class StringTableBuilder
+        implements IMementoVisitor
+    {
+        // ==================================================================
+        // Fields
+        // ==================================================================
+
+        /**
+         * The string table. The key is the string; the value is the index of
+         * the string in the string table.
+         */
+        private final Map<String, Integer> strings_;
+
+
+        // ==================================================================
+        // Constructors
+        // ==================================================================
+
+        /**
+         * Initializes a new instance of the {@code StringTableBuilder} class.
+         */
+        StringTableBuilder()
+        {
+            strings_ = new LinkedHashMap<>();
+        }
+
+
+        // ==================================================================
+        // Methods
+        // ==================================================================
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMemento()
+         */
+        @Override
+        public void beginMemento()
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoAttribute(java.lang.String)
+         */
+        @Override
+        public void beginMementoAttribute(
+            @SuppressWarnings( "unused" )
+            final String name )
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#beginMementoListAttribute(java.lang.String)
+         */
+        @Override
+        public void beginMementoListAttribute(
+            @SuppressWarnings( "unused" )
+            final String name )
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMemento()
+         */
+        @Override
+        public void endMemento()
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoAttribute()
+         */
+        @Override
+        public void endMementoAttribute()
+        {
+            // do nothing
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#endMementoListAttribute()
+         */
+        @Override
+        public void endMementoListAttribute()
+        {
+            // do nothing
+        }
+
+        /**
+         * Gets the string table.
+         * 
+         * @return The string table. The key is the string; the value is the
+         *         index of the string in the string table.
+         */
+        Map<String, Integer> getStrings()
+        {
+            return strings_;
+        }
+
+        /**
+         * Adds the specified string to the string table if it is not already
+         * present.
+         * 
+         * @param string
+         *        The string.
+         */
+        @SuppressWarnings( "boxing" )
+        private void internString(
+            final String string )
+        {
+            if( !strings_.containsKey( string ) )
+            {
+                strings_.put( string, strings_.size() );
+            }
+        }
+
+        /*
+         * @see org.gamegineer.common.core.util.memento.IMementoVisitor#visitAttribute(java.lang.String, java.lang.Object)
+         */
+        @Override
+        public void visitAttribute(
+            final String name,
+            final @Nullable Object value )
+            throws MementoException
+        {
+            if( value == null )
+            {
+                return;
+            }
+
+            try
+            {
+                switch( name )
+                {
+                    case TableMementoAttributeNames.CONTAINER_LAYOUT_ID:
+                    case TableMementoAttributeNames.COMPONENT_STRATEGY_ID:
+                        internString( value.toString() );
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_ORIENTATION:
+                        internString( ((ComponentOrientation)value).name() );
+                        break;
+
+                    case TableMementoAttributeNames.COMPONENT_SURFACE_DESIGN_IDS:
+                        for( final Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet() )
+                        {
+                            internString( ((ComponentOrientation)entry.getKey()).name() );
+                            internString( entry.getValue().toString() );
+                        }
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+            catch( final ClassCastException e )
+            {
+                throw new MementoException( e );
+            }
+        }
+    }
+}
@@ -24,12 +24,15 @@ package org.gamegineer.table.internal.ui.impl.model;
 import static org.gamegineer.common.core.runtime.Assert.assertArgumentLegal;
 import java.awt.Dimension;
 import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -355,12 +358,7 @@ public final class TableModel
     public @Nullable ComponentModel getComponentModel(
         final ComponentPath path )
     {
-        final List<ComponentPath> paths = path.toList();
-        if( !TABLETOP_MODEL_PATH.equals( paths.get( 0 ) ) )
-        {
-            return null;
-        }
-        else if( paths.size() == 1 )
+        if( TABLETOP_MODEL_PATH.equals( path ) )
         {
             return tabletopModel_;
         }
@@ -368,7 +366,7 @@ public final class TableModel
         getLock().lock();
         try
         {
-            return tabletopModel_.getComponentModel( paths.subList( 1, paths.size() ) );
+            return tabletopModel_.getComponentModel( path, 0 );
         }
         finally
         {
@@ -802,7 +800,7 @@ public final class TableModel
         getLock().lock();
         try
         {
-            setTableMemento( table_, file );
+            readTable( table_, file );
 
             committedTableRevisionNumber_ = getTableRevisionNumber();
             file_ = file;
@@ -832,33 +830,76 @@ public final class TableModel
     }
 
     /**
-     * Reads a table memento from the specified file.
+     * Reads a table from the specified file and uses it to set the state of the
+     * specified table.
      * 
-     * @param file
-     *        The file from which the table memento will be read.
+     * <p>
+     * The file may have been written using either the binary table file format
+     * or the table memento format. The format is detected from the content of
+     * the file.
+     * </p>
      * 
-     * @return The table memento that was read from the specified file.
+     * @param table
+     *        The table that will receive the state read from the file.
+     * @param file
+     *        The file from which the table will be read.
      * 
      * @throws org.gamegineer.table.internal.ui.impl.model.ModelException
-     *         If an error occurs while reading the file.
+     *         If an error occurs while reading the file or setting the state
+     *         of the table.
      */
-    private static Object readTableMemento(
+    private static void readTable(
+        final ITable table,
         final File file )
         throws ModelException
     {
-        try( final ObjectInputStream inputStream = ObjectStreams.createPlatformObjectInputStream( new FileInputStream( file ) ) )
+        try( final InputStream inputStream = new BufferedInputStream( new FileInputStream( file ) ) )
         {
-            final Object tableMemento = inputStream.readObject();
-            assert tableMemento != null;
-            return tableMemento;
+            if( TableFileFormat.hasSignature( inputStream ) )
+            {
+                TableFileFormat.readTable( inputStream, table );
+            }
+            else
+            {
+                table.setMemento( readTableMemento( inputStream ) );
+            }
         }
         catch( final ClassNotFoundException e )
         {
-            throw new ModelException( NonNlsMessages.TableModel_readTableMemento_error( file ), e );
+            throw new ModelException( NonNlsMessages.TableModel_readTable_error( file ), e );
         }
         catch( final IOException e )
         {
-            throw new ModelException( NonNlsMessages.TableModel_readTableMemento_error( file ), e );
+            throw new ModelException( NonNlsMessages.TableModel_readTable_error( file ), e );
+        }
+        catch( final MementoException e )
+        {
+            throw new ModelException( NonNlsMessages.TableModel_setTableMemento_error, e );
+        }
+    }
+
+    /**
+     * Reads a table memento from the specified stream.
+     * 
+     * @param inputStream
+     *        The input stream from which the table memento will be read.
+     * 
+     * @return The table memento that was read from the specified stream.
+     * 
+     * @throws java.io.IOException
+     *         If an I/O error occurs.
+     * @throws java.lang.ClassNotFoundException
+     *         If the class of a serialized object cannot be found.
+     */
+    private static Object readTableMemento(
+        final InputStream inputStream )
+        throws IOException, ClassNotFoundException
+    {
+        try( final ObjectInputStream objectInputStream = ObjectStreams.createPlatformObjectInputStream( inputStream ) )
+        {
+            final Object tableMemento = objectInputStream.readObject();
+            assert tableMemento != null;
+            return tableMemento;
         }
     }
 
@@ -893,7 +934,7 @@ public final class TableModel
         getLock().lock();
         try
         {
-            writeTableMemento( file, table_.createMemento() );
+            writeTable( file, table_ );
 
             committedTableRevisionNumber_ = getTableRevisionNumber();
             file_ = file;
@@ -1072,55 +1113,29 @@ public final class TableModel
     }
 
     /**
-     * Reads a table memento from the specified file and uses it to set the
-     * state of the specified table.
+     * Writes the specified table to the specified file using the binary table
+     * file format.
      * 
-     * @param table
-     *        The table that will receive the memento.
      * @param file
-     *        The file from which the table memento will be read.
-     * 
-     * @throws org.gamegineer.table.internal.ui.impl.model.ModelException
-     *         If an error occurs while reading the file or setting the memento.
-     */
-    private static void setTableMemento(
-        final ITable table,
-        final File file )
-        throws ModelException
-    {
-        try
-        {
-            table.setMemento( readTableMemento( file ) );
-        }
-        catch( final MementoException e )
-        {
-            throw new ModelException( NonNlsMessages.TableModel_setTableMemento_error, e );
-        }
-    }
-
-    /**
-     * Writes the specified table memento to the specified file.
-     * 
-     * @param file
-     *        The file to which the table memento will be written.
-     * @param memento
-     *        The table memento to be written.
+     *        The file to which the table will be written.
+     * @param table
+     *        The table to be written.
      * 
      * @throws org.gamegineer.table.internal.ui.impl.model.ModelException
      *         If an error occurs while writing the file.
      */
-    private static void writeTableMemento(
+    private static void writeTable(
         final File file,
-        final Object memento )
+        final ITable table )
         throws ModelException
     {
-        try( final ObjectOutputStream outputStream = ObjectStreams.createPlatformObjectOutputStream( new FileOutputStream( file ) ) )
+        try( final OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( file ) ) )
         {
-            outputStream.writeObject( memento );
+            TableFileFormat.writeTable( outputStream, table );
         }
         catch( final IOException e )
         {
-            throw new ModelException( NonNlsMessages.TableModel_writeTableMemento_error( file ), e );
+            throw new ModelException( NonNlsMessages.TableModel_writeTable_error( file ), e );
         }
     }
 